@@ -171,7 +171,8 @@ public class CompileRunner {
     public void buildProject(String sourceDir, String outputDir, String jarFile) {
         try {
             com.novalang.compiler.compiler.IncrementalCompiler incrementalCompiler =
-                    new com.novalang.compiler.compiler.IncrementalCompiler(new NovaIrCompiler());
+                    new com.novalang.compiler.compiler.IncrementalCompiler(
+                            NovaIrCompiler::new, Runtime.getRuntime().availableProcessors());
 
             Map<String, byte[]> results = incrementalCompiler.compileProject(
                     new File(sourceDir), new File(outputDir));
@@ -9,13 +9,23 @@ import java.util.*;
 /**
  * 编译缓存，用于增量编译
  *
- * <p>记录每个源文件的内容哈希和生成的类名，用于判断文件是否需要重新编译。</p>
+ * <p>记录每个源文件的内容哈希和生成的类名，用于判断文件是否需要重新编译；
+ * 另记录修改时间/大小（跳过未改动文件的哈希计算）、文件声明的顶层符号、它依赖的其他源文件
+ * 以及编译时没有任何文件声明的引用名，供 {@link IncrementalCompiler} 把变更传播到依赖方。</p>
  */
 public class CompileCache {
     /** 文件路径 -> 上次编译的内容哈希 */
     private final Map<String, String> fileHashes = new HashMap<String, String>();
     /** 文件路径 -> 生成的类名列表 */
     private final Map<String, List<String>> fileOutputs = new HashMap<String, List<String>>();
+    /** 文件路径 -> {修改时间, 大小} */
+    private final Map<String, long[]> fileStats = new HashMap<String, long[]>();
+    /** 文件路径 -> 声明的顶层符号 */
+    private final Map<String, Set<String>> fileSymbols = new HashMap<String, Set<String>>();
+    /** 文件路径 -> 依赖的源文件路径 */
+    private final Map<String, Set<String>> fileDependencies = new HashMap<String, Set<String>>();
+    /** 文件路径 -> 引用到但没有文件声明的名称 */
+    private final Map<String, Set<String>> fileUnresolved = new HashMap<String, Set<String>>();
 
     /**
      * 检查文件是否有变化
@@ -33,6 +43,62 @@ public class CompileCache {
         fileOutputs.put(filePath, new ArrayList<String>(classNames));
     }
 
+    /**
+     * 修改时间与大小是否与上次编译时一致（一致即可认为内容未变，无需读取文件）
+     */
+    public boolean matchesStat(String filePath, long lastModified, long size) {
+        long[] stat = fileStats.get(filePath);
+        return stat != null && stat[0] == lastModified && stat[1] == size && fileHashes.containsKey(filePath);
+    }
+
+    /**
+     * 记录文件的修改时间与大小
+     */
+    public void updateStat(String filePath, long lastModified, long size) {
+        fileStats.put(filePath, new long[]{lastModified, size});
+    }
+
+    /**
+     * 记录文件声明的顶层符号、依赖的源文件以及尚未解析的引用名
+     */
+    public void updateDependencies(String filePath, Set<String> declaredSymbols, Set<String> dependencies,
+                                   Set<String> unresolved) {
+        fileSymbols.put(filePath, new HashSet<String>(declaredSymbols));
+        fileDependencies.put(filePath, new HashSet<String>(dependencies));
+        fileUnresolved.put(filePath, new HashSet<String>(unresolved));
+    }
+
+    /**
+     * 是否记录了依赖信息（旧格式缓存没有）
+     */
+    public boolean hasDependencyInfo(String filePath) {
+        return fileDependencies.containsKey(filePath);
+    }
+
+    /**
+     * 获取文件声明的顶层符号
+     */
+    public Set<String> getDeclaredSymbols(String filePath) {
+        Set<String> symbols = fileSymbols.get(filePath);
+        return symbols != null ? symbols : Collections.<String>emptySet();
+    }
+
+    /**
+     * 获取文件依赖的源文件路径
+     */
+    public Set<String> getDependencies(String filePath) {
+        Set<String> deps = fileDependencies.get(filePath);
+        return deps != null ? deps : Collections.<String>emptySet();
+    }
+
+    /**
+     * 获取文件引用到、但上次编译时没有任何文件声明的名称
+     */
+    public Set<String> getUnresolvedSymbols(String filePath) {
+        Set<String> names = fileUnresolved.get(filePath);
+        return names != null ? names : Collections.<String>emptySet();
+    }
+
     /**
      * 获取文件上次生成的类名列表
      */
@@ -54,6 +120,10 @@ public class CompileCache {
     public void remove(String filePath) {
         fileHashes.remove(filePath);
         fileOutputs.remove(filePath);
+        fileStats.remove(filePath);
+        fileSymbols.remove(filePath);
+        fileDependencies.remove(filePath);
+        fileUnresolved.remove(filePath);
     }
 
     /**
@@ -69,8 +139,13 @@ public class CompileCache {
                 String hash = entry.getValue();
                 List<String> classes = fileOutputs.get(filePath);
                 String classesStr = classes != null ? join(classes, ",") : "";
-                // 格式: filePath\thash\tclass1,class2,...
-                writer.println(filePath + "\t" + hash + "\t" + classesStr);
+                long[] stat = fileStats.get(filePath);
+                String statStr = stat != null ? stat[0] + "\t" + stat[1] : "0\t-1";
+                // 格式: filePath\thash\tclass1,class2,...\tmtime\tsize\tsym1,sym2,...\tdep1|dep2|...\tname1,name2,...
+                writer.println(filePath + "\t" + hash + "\t" + classesStr + "\t" + statStr
+                        + "\t" + join(new ArrayList<String>(getDeclaredSymbols(filePath)), ",")
+                        + "\t" + join(new ArrayList<String>(getDependencies(filePath)), "|")
+                        + "\t" + join(new ArrayList<String>(getUnresolvedSymbols(filePath)), ","));
             }
         } finally {
             writer.close();
@@ -91,18 +166,35 @@ public class CompileCache {
                     new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8));
             String line;
             while ((line = reader.readLine()) != null) {
-                String[] parts = line.split("\t", 3);
+                String[] parts = line.split("\t", -1);
                 if (parts.length >= 2) {
                     String filePath = parts[0];
                     String hash = parts[1];
                     List<String> classes = new ArrayList<String>();
-                    if (parts.length == 3 && !parts[2].isEmpty()) {
+                    if (parts.length >= 3 && !parts[2].isEmpty()) {
                         for (String cls : parts[2].split(",")) {
                             classes.add(cls.trim());
                         }
                     }
                     cache.fileHashes.put(filePath, hash);
                     cache.fileOutputs.put(filePath, classes);
+                    // 旧格式只有前三列，缺失的统计与依赖信息视为未知
+                    if (parts.length >= 7) {
+                        try {
+                            cache.fileStats.put(filePath,
+                                    new long[]{Long.parseLong(parts[3]), Long.parseLong(parts[4])});
+                        } catch (NumberFormatException ignored) {
+                            // 统计信息损坏时退化为哈希比较
+                        }
+                        cache.fileSymbols.put(filePath, splitToSet(parts[5], ","));
+                        cache.fileDependencies.put(filePath, splitToSet(parts[6], "\\|"));
+                    }
+                    // 缺少未解析名称列的缓存视为没有依赖信息，下次重新编译一次
+                    if (parts.length >= 8) {
+                        cache.fileUnresolved.put(filePath, splitToSet(parts[7], ","));
+                    } else {
+                        cache.fileDependencies.remove(filePath);
+                    }
                 }
             }
         } catch (IOException e) {
@@ -155,6 +247,16 @@ public class CompileCache {
         }
     }
 
+    private static Set<String> splitToSet(String value, String separatorRegex) {
+        Set<String> result = new HashSet<String>();
+        if (!value.isEmpty()) {
+            for (String item : value.split(separatorRegex)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
     private static String join(List<String> list, String separator) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < list.size(); i++) {
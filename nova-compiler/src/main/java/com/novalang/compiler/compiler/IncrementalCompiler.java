@@ -4,27 +4,76 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * 增量编译器
  *
- * <p>通过缓存文件哈希值，只重新编译有变化的源文件。</p>
+ * <p>通过缓存文件哈希值，只重新编译有变化的源文件及其依赖方：</p>
+ * <ol>
+ *   <li>修改时间与大小都未变的文件直接视为未变化，不读取内容；否则比较内容哈希</li>
+ *   <li>依据上次编译记录的依赖图（import 声明 + 引用到的其他文件的顶层符号），
+ *       把变化（含删除）传播到所有传递依赖方；上次没有文件声明的引用名和找不到的 import 也被记录，
+ *       之后新增或修改的文件声明了它们时，引用方同样重新编译</li>
+ *   <li>需要编译的文件互不依赖编译顺序，在 work-stealing 线程池上并行编译</li>
+ * </ol>
  *
- * <p><b>已知限制</b>：当前仅基于单文件内容哈希判断是否重新编译，
- * 不追踪跨文件依赖（import 关系）。如果 A 导入 B，B 发生变更，
- * A 不会自动重新编译。需要完整重编译时，请删除缓存目录 ({@value CACHE_DIR})。</p>
- *
- * @implNote 未来可通过解析 import 声明构建依赖图，实现变更时自动传播重编译
+ * <p>依赖由词法扫描得出，是保守近似：同名符号会产生多余的依赖边，只导致多编译。
+ * 需要完整重编译时，请删除缓存目录 ({@value CACHE_DIR})。</p>
  */
 public class IncrementalCompiler {
     private static final String CACHE_DIR = ".nova-cache";
     private static final String CACHE_FILE = "compile.cache";
 
-    private final NovaCompilerApi compiler;
+    private final Supplier<? extends NovaCompilerApi> compilerFactory;
+    private final int parallelism;
     private CompileCache cache;
 
-    public IncrementalCompiler(NovaCompilerApi compiler) {
-        this.compiler = compiler;
+    /**
+     * 单线程编译，所有文件共用同一个编译器实例
+     */
+    public IncrementalCompiler(final NovaCompilerApi compiler) {
+        this(new Supplier<NovaCompilerApi>() {
+            @Override
+            public NovaCompilerApi get() {
+                return compiler;
+            }
+        }, 1);
+    }
+
+    /**
+     * 并行编译，每个工作线程通过 {@code compilerFactory} 创建自己的编译器实例
+     *
+     * @param compilerFactory 编译器工厂
+     * @param parallelism     并行度（≤ 1 时在调用线程上顺序编译）
+     */
+    public IncrementalCompiler(Supplier<? extends NovaCompilerApi> compilerFactory, int parallelism) {
+        this.compilerFactory = compilerFactory;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /** 单个源文件在本次编译中的状态 */
+    private static final class SourceState {
+        final File file;
+        final String path;
+        long lastModified;
+        long size;
+        /** 内容哈希，未读取（修改时间与大小均未变）时为 null */
+        String hash;
+        boolean changed;
+        boolean dirty;
+        Map<String, byte[]> classes;
+        SourceSymbols symbols;
+        Exception error;
+
+        SourceState(File file) {
+            this.file = file;
+            this.path = file.getAbsolutePath();
+        }
     }
 
     /**
@@ -34,7 +83,7 @@ public class IncrementalCompiler {
      * @param outputDir 输出目录
      * @return 所有生成的类（类名 -> 字节码）
      */
-    public Map<String, byte[]> compileProject(File sourceDir, File outputDir) throws IOException {
+    public Map<String, byte[]> compileProject(File sourceDir, final File outputDir) throws IOException {
         if (!sourceDir.exists() || !sourceDir.isDirectory()) {
             throw new IOException("源码目录不存在: " + sourceDir.getAbsolutePath());
         }
@@ -48,64 +97,103 @@ public class IncrementalCompiler {
         // 扫描所有 .nova 文件
         List<File> sourceFiles = new ArrayList<File>();
         scanNovaFiles(sourceDir, sourceFiles);
+        final List<SourceState> states = new ArrayList<SourceState>(sourceFiles.size());
+        Map<String, SourceState> byPath = new HashMap<String, SourceState>();
+        for (File file : sourceFiles) {
+            SourceState state = new SourceState(file);
+            states.add(state);
+            byPath.put(state.path, state);
+        }
 
-        Map<String, byte[]> allClasses = new HashMap<String, byte[]>();
-        List<String> failedFiles = new ArrayList<String>();
-        Set<String> currentSourcePaths = new HashSet<String>();
-        int compiledCount = 0;
-        int skippedCount = 0;
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            // 1. 检测变化：先比较修改时间与大小，不一致时才读取并哈希
+            List<Callable<Void>> checks = new ArrayList<Callable<Void>>();
+            for (final SourceState state : states) {
+                checks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        detectChange(state);
+                        return null;
+                    }
+                });
+            }
+            runAll(pool, checks);
 
-        for (File file : sourceFiles) {
-            String filePath = file.getAbsolutePath();
-            currentSourcePaths.add(filePath);
-            byte[] sourceBytes = Files.readAllBytes(file.toPath());
-            String hash = CompileCache.computeHashFromBytes(sourceBytes);
+            // 2. 沿依赖图的反向边传播：变化或被删除文件的所有传递依赖方都需要重新编译
+            Set<String> deletedPaths = new HashSet<String>();
+            for (String cachedPath : cache.getAllFilePaths()) {
+                if (!byPath.containsKey(cachedPath)) deletedPaths.add(cachedPath);
+            }
+            markDirty(states, byPath, deletedPaths);
 
-            if (cache.isChanged(filePath, hash)) {
-                // 需要重新编译
-                try {
-                    String source = new String(sourceBytes, StandardCharsets.UTF_8);
-                    sourceBytes = null; // 释放原始字节
-                    Map<String, byte[]> classes = compiler.compile(source, file.getName());
-                    allClasses.putAll(classes);
-
-                    // 保存 .class 文件
-                    for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
-                        saveClass(outputDir, entry.getKey(), entry.getValue());
+            // 3. 并行编译需要重新编译的文件，其余文件从 outputDir 加载已有 .class
+            final ThreadLocal<NovaCompilerApi> compilers = new ThreadLocal<NovaCompilerApi>();
+            List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (final SourceState state : states) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        if (state.dirty) {
+                            NovaCompilerApi compiler = compilers.get();
+                            if (compiler == null) {
+                                compiler = compilerFactory.get();
+                                compilers.set(compiler);
+                            }
+                            compile(state, compiler, outputDir);
+                        } else {
+                            state.classes = loadClasses(state.path, outputDir);
+                        }
+                        return null;
                     }
+                });
+            }
+            runAll(pool, tasks);
 
-                    // 更新缓存
-                    cache.update(filePath, hash, new ArrayList<String>(classes.keySet()));
-                    compiledCount++;
-                    System.out.println("  编译: " + file.getName());
-                } catch (Exception e) {
-                    System.err.println("  编译失败: " + file.getName() + " - " + e.getMessage());
-                    failedFiles.add(file.getName());
-                }
-            } else {
-                // 文件未变化，从 outputDir 加载已有 .class
-                for (String className : cache.getOutputClasses(filePath)) {
+            // 清理已删除源文件的缓存和旧 .class
+            for (String deletedPath : deletedPaths) {
+                for (String className : cache.getOutputClasses(deletedPath)) {
                     File classFile = new File(outputDir,
                             className.replace('.', File.separatorChar) + ".class");
                     if (classFile.exists()) {
-                        allClasses.put(className, Files.readAllBytes(classFile.toPath()));
+                        classFile.delete();
                     }
                 }
-                skippedCount++;
+                cache.remove(deletedPath);
             }
+        } finally {
+            if (pool != null) pool.shutdown();
         }
 
-        // 清理已删除源文件的缓存和旧 .class
-        for (String cachedPath : cache.getAllFilePaths()) {
-            if (!currentSourcePaths.contains(cachedPath)) {
-                for (String className : cache.getOutputClasses(cachedPath)) {
-                    File classFile = new File(outputDir,
-                            className.replace('.', File.separatorChar) + ".class");
-                    if (classFile.exists()) {
-                        classFile.delete();
-                    }
+        // 4. 按源文件顺序汇总结果、输出日志并更新缓存
+        Map<String, byte[]> allClasses = new HashMap<String, byte[]>();
+        List<String> failedFiles = new ArrayList<String>();
+        int compiledCount = 0;
+        int skippedCount = 0;
+        Map<String, Set<String>> declarations = symbolTable(states);
+        for (SourceState state : states) {
+            if (!state.dirty) {
+                allClasses.putAll(state.classes);
+                if (state.hash != null) {
+                    // 内容未变但修改时间变了：记录新的时间，下次不再读取
+                    cache.updateStat(state.path, state.lastModified, state.size);
                 }
-                cache.remove(cachedPath);
+                skippedCount++;
+            } else if (state.error != null) {
+                System.err.println("  编译失败: " + state.file.getName() + " - " + state.error.getMessage());
+                failedFiles.add(state.file.getName());
+                // 可能只是因依赖变化而编译失败，内容本身未变：丢弃缓存条目，下次必定重新编译
+                cache.remove(state.path);
+            } else {
+                allClasses.putAll(state.classes);
+                cache.update(state.path, state.hash, new ArrayList<String>(state.classes.keySet()));
+                cache.updateStat(state.path, state.lastModified, state.size);
+                Set<String> unresolved = new HashSet<String>();
+                cache.updateDependencies(state.path, state.symbols.declared,
+                        resolveDependencies(state, sourceDir, byPath.keySet(), declarations, unresolved),
+                        unresolved);
+                compiledCount++;
+                System.out.println("  编译: " + state.file.getName());
             }
         }
 
@@ -122,6 +210,207 @@ public class IncrementalCompiler {
         return allClasses;
     }
 
+    private void detectChange(SourceState state) throws IOException {
+        state.lastModified = state.file.lastModified();
+        state.size = state.file.length();
+        if (cache.matchesStat(state.path, state.lastModified, state.size)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(state.file.toPath());
+        state.hash = CompileCache.computeHashFromBytes(bytes);
+        // 旧格式缓存没有依赖信息，重新编译一次以建立依赖图
+        state.changed = cache.isChanged(state.path, state.hash) || !cache.hasDependencyInfo(state.path);
+        if (state.changed) {
+            // 传播前需要知道变化文件新声明的符号
+            state.symbols = SourceSymbols.scan(new String(bytes, StandardCharsets.UTF_8), state.file.getName());
+        }
+    }
+
+    /**
+     * 把变化的文件、引用了变化文件新声明符号的文件，以及依赖变化（或已删除）文件的所有文件标记为需要编译
+     */
+    private void markDirty(List<SourceState> states, Map<String, SourceState> byPath, Set<String> deletedPaths) {
+        Map<String, List<String>> dependents = new HashMap<String, List<String>>();
+        Map<String, List<String>> waiting = new HashMap<String, List<String>>();
+        for (SourceState state : states) {
+            for (String dep : cache.getDependencies(state.path)) {
+                addEdge(dependents, dep, state.path);
+            }
+            for (String name : cache.getUnresolvedSymbols(state.path)) {
+                addEdge(waiting, name, state.path);
+            }
+        }
+        Deque<String> worklist = new ArrayDeque<String>(deletedPaths);
+        for (SourceState state : states) {
+            if (state.changed) {
+                state.dirty = true;
+                worklist.add(state.path);
+            }
+        }
+        for (SourceState state : states) {
+            if (!state.changed || state.symbols == null) continue;
+            for (String symbol : state.symbols.declared) {
+                List<String> users = waiting.get(symbol);
+                if (users == null) continue;
+                for (String user : users) {
+                    SourceState userState = byPath.get(user);
+                    if (!userState.dirty) {
+                        userState.dirty = true;
+                        worklist.add(user);
+                    }
+                }
+            }
+        }
+        while (!worklist.isEmpty()) {
+            List<String> users = dependents.get(worklist.poll());
+            if (users == null) continue;
+            for (String user : users) {
+                SourceState state = byPath.get(user);
+                if (!state.dirty) {
+                    state.dirty = true;
+                    worklist.add(user);
+                }
+            }
+        }
+    }
+
+    private static void addEdge(Map<String, List<String>> edges, String from, String to) {
+        List<String> list = edges.get(from);
+        if (list == null) {
+            list = new ArrayList<String>();
+            edges.put(from, list);
+        }
+        list.add(to);
+    }
+
+    private void compile(SourceState state, NovaCompilerApi compiler, File outputDir) {
+        try {
+            byte[] sourceBytes = Files.readAllBytes(state.file.toPath());
+            if (state.hash == null) {
+                state.hash = CompileCache.computeHashFromBytes(sourceBytes);
+            }
+            String source = new String(sourceBytes, StandardCharsets.UTF_8);
+            sourceBytes = null; // 释放原始字节
+            Map<String, byte[]> classes = compiler.compile(source, state.file.getName());
+
+            // 保存 .class 文件
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                saveClass(outputDir, entry.getKey(), entry.getValue());
+            }
+            if (state.symbols == null) {
+                state.symbols = SourceSymbols.scan(source, state.file.getName());
+            }
+            state.classes = classes;
+        } catch (Exception e) {
+            state.error = e;
+        }
+    }
+
+    /**
+     * 从 outputDir 加载文件上次生成的 .class
+     */
+    private Map<String, byte[]> loadClasses(String filePath, File outputDir) throws IOException {
+        Map<String, byte[]> classes = new HashMap<String, byte[]>();
+        for (String className : cache.getOutputClasses(filePath)) {
+            File classFile = new File(outputDir,
+                    className.replace('.', File.separatorChar) + ".class");
+            if (classFile.exists()) {
+                classes.put(className, Files.readAllBytes(classFile.toPath()));
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 顶层符号 -> 声明它的文件；未重新编译的文件沿用缓存中的声明
+     */
+    private Map<String, Set<String>> symbolTable(List<SourceState> states) {
+        Map<String, Set<String>> table = new HashMap<String, Set<String>>();
+        for (SourceState state : states) {
+            if (state.dirty && state.symbols == null) continue;
+            Set<String> declared = state.symbols != null
+                    ? state.symbols.declared : cache.getDeclaredSymbols(state.path);
+            for (String symbol : declared) {
+                Set<String> files = table.get(symbol);
+                if (files == null) {
+                    files = new HashSet<String>();
+                    table.put(symbol, files);
+                }
+                files.add(state.path);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 文件依赖的其他源文件：import 的模块（相对本文件目录或源码根目录）以及声明了其引用符号的文件。
+     *
+     * <p>找不到的 import 依赖全部候选路径（文件之后出现时作为变化文件传播过来）；
+     * 没有任何文件声明的引用名放入 {@code unresolved}。</p>
+     */
+    private Set<String> resolveDependencies(SourceState state, File sourceDir, Set<String> sourcePaths,
+                                            Map<String, Set<String>> declarations, Set<String> unresolved) {
+        Set<String> deps = new HashSet<String>();
+        for (String module : state.symbols.imports) {
+            File[] candidates = {
+                    new File(state.file.getParentFile(), module),
+                    new File(sourceDir, module)
+            };
+            List<String> paths = new ArrayList<String>(candidates.length);
+            boolean found = false;
+            for (File candidate : candidates) {
+                String path = candidate.getAbsoluteFile().toPath().normalize().toString();
+                paths.add(path);
+                if (sourcePaths.contains(path)) {
+                    deps.add(path);
+                    found = true;
+                }
+            }
+            if (!found) deps.addAll(paths);
+        }
+        for (String name : state.symbols.referenced) {
+            Set<String> files = declarations.get(name);
+            if (files != null) {
+                deps.addAll(files);
+            } else {
+                unresolved.add(name);
+            }
+        }
+        deps.remove(state.path);
+        return deps;
+    }
+
+    /**
+     * 执行全部任务：有线程池时并行，否则在当前线程依次执行
+     */
+    private static void runAll(ForkJoinPool pool, List<Callable<Void>> tasks) throws IOException {
+        if (pool == null) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+            return;
+        }
+        List<Future<Void>> futures = pool.invokeAll(tasks);
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("编译被中断");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw new IOException(cause);
+            }
+        }
+    }
+
     /**
      * 递归扫描 .nova 文件
      */
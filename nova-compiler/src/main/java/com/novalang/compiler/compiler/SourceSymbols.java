@@ -0,0 +1,118 @@
+package com.novalang.compiler.compiler;
+
+import com.novalang.compiler.lexer.Lexer;
+import com.novalang.compiler.lexer.Token;
+import com.novalang.compiler.lexer.TokenType;
+
+import java.io.File;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 源文件的依赖摘要：顶层声明的符号、引用到的标识符、导入的 Nova 模块。
+ *
+ * <p>只做词法扫描（不解析），供 {@link IncrementalCompiler} 构建文件间依赖图。
+ * 结果是保守的近似：多算的依赖只会导致多编译，不会漏编。</p>
+ */
+final class SourceSymbols {
+
+    private static final Pattern WORD = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /** 顶层 class / interface / object / enum / typealias / fun 名 */
+    final Set<String> declared = new HashSet<String>();
+    /** 出现过的全部标识符（含字符串模板内的） */
+    final Set<String> referenced = new HashSet<String>();
+    /** 导入的 Nova 模块，相对导入方所在目录的路径（如 {@code models/user.nova}） */
+    final Set<String> imports = new HashSet<String>();
+
+    private SourceSymbols() {
+    }
+
+    static SourceSymbols scan(String source, String fileName) {
+        SourceSymbols result = new SourceSymbols();
+        List<Token> tokens;
+        try {
+            tokens = new Lexer(source, fileName).scanTokens();
+        } catch (RuntimeException e) {
+            // 词法错误的文件本身会编译失败，依赖按空处理
+            return result;
+        }
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token t = tokens.get(i);
+            switch (t.getType()) {
+                case LBRACE:
+                    depth++;
+                    break;
+                case RBRACE:
+                    depth--;
+                    break;
+                case IDENTIFIER:
+                    result.referenced.add(t.getLexeme());
+                    break;
+                case STRING_LITERAL:
+                case MULTILINE_STRING:
+                    if (t.getLexeme().indexOf('$') >= 0) {
+                        Matcher m = WORD.matcher(t.getLexeme());
+                        while (m.find()) result.referenced.add(m.group());
+                    }
+                    break;
+                case KW_IMPORT:
+                    i = scanImport(tokens, i + 1, result.imports) - 1;
+                    break;
+                case KW_CLASS:
+                case KW_INTERFACE:
+                case KW_OBJECT:
+                case KW_TYPEALIAS:
+                    if (depth == 0 && i + 1 < tokens.size() && tokens.get(i + 1).is(TokenType.IDENTIFIER)) {
+                        result.declared.add(tokens.get(i + 1).getLexeme());
+                    }
+                    break;
+                case KW_FUN:
+                    if (depth == 0) {
+                        // fun <T> Recv.name(...)：左括号前最后一个标识符是函数名
+                        String name = null;
+                        for (int j = i + 1; j < tokens.size(); j++) {
+                            Token n = tokens.get(j);
+                            if (n.is(TokenType.LPAREN) || n.is(TokenType.NEWLINE) || n.is(TokenType.LBRACE)) break;
+                            if (n.is(TokenType.IDENTIFIER)) name = n.getLexeme();
+                        }
+                        if (name != null) result.declared.add(name);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /** import a.b.C / import a.b.* → a/b.nova；import "x.nova" → x.nova；Java 导入忽略 */
+    private static int scanImport(List<Token> tokens, int i, Set<String> imports) {
+        if (i < tokens.size() && tokens.get(i).is(TokenType.STRING_LITERAL)) {
+            imports.add(String.valueOf(tokens.get(i).getLiteral()));
+            return i + 1;
+        }
+        boolean java = i + 1 < tokens.size() && tokens.get(i).is(TokenType.IDENTIFIER)
+                && "java".equals(tokens.get(i).getLexeme()) && tokens.get(i + 1).is(TokenType.IDENTIFIER);
+        List<String> parts = new ArrayList<String>();
+        int j = i;
+        for (; j < tokens.size(); j++) {
+            Token t = tokens.get(j);
+            if (t.is(TokenType.NEWLINE) || t.is(TokenType.SEMICOLON) || t.is(TokenType.EOF)
+                    || t.is(TokenType.KW_AS)) break;
+            if (t.is(TokenType.MUL)) parts.add("*");
+            else if (!t.is(TokenType.DOT) && !t.is(TokenType.KW_STATIC)) parts.add(t.getLexeme());
+        }
+        if (!java && parts.size() >= 2) {
+            StringBuilder path = new StringBuilder();
+            for (int k = 0; k < parts.size() - 1; k++) {
+                if (k > 0) path.append(File.separatorChar);
+                path.append(parts.get(k));
+            }
+            imports.add(path.append(".nova").toString());
+        }
+        return j;
+    }
+}
@@ -132,6 +132,22 @@ public class Lexer {
         this(source, "<input>");
     }
 
+    /**
+     * 从源码中间位置开始扫描（增量重解析使用）。
+     *
+     * <p>offset 必须位于 Token 边界（不在字符串、注释内部），line/column 为该位置的 1-based 行列；
+     * 产出的 Token 位置与从头扫描完全一致。</p>
+     */
+    public static Lexer startingAt(String source, String fileName, int offset, int line, int column) {
+        Lexer lexer = new Lexer(source, fileName);
+        lexer.start = offset;
+        lexer.current = offset;
+        lexer.line = line;
+        lexer.column = column;
+        lexer.lineStart = offset - (column - 1);
+        return lexer;
+    }
+
     /** 获取源码（用于错误报告） */
     public String getSource() {
         return source;
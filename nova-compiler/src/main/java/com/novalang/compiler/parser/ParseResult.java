@@ -1,5 +1,6 @@
 package com.novalang.compiler.parser;
 
+import com.novalang.compiler.ast.decl.Declaration;
 import com.novalang.compiler.ast.decl.Program;
 import com.novalang.compiler.ast.stmt.Statement;
 
@@ -13,15 +14,22 @@ public final class ParseResult {
     private final Program program;
     private final List<ParseError> errors;
     private final List<Statement> topLevelStatements;
+    private final List<TopLevelItem> topLevelItems;
 
     public ParseResult(Program program, List<ParseError> errors) {
         this(program, errors, Collections.emptyList());
     }
 
     public ParseResult(Program program, List<ParseError> errors, List<Statement> topLevelStatements) {
+        this(program, errors, topLevelStatements, Collections.emptyList());
+    }
+
+    public ParseResult(Program program, List<ParseError> errors, List<Statement> topLevelStatements,
+                       List<TopLevelItem> topLevelItems) {
         this.program = program;
         this.errors = errors;
         this.topLevelStatements = topLevelStatements;
+        this.topLevelItems = topLevelItems;
     }
 
     public Program getProgram() {
@@ -40,4 +48,57 @@ public final class ParseResult {
     public List<Statement> getTopLevelStatements() {
         return topLevelStatements;
     }
+
+    /** 按源码顺序排列的顶层条目（仅由 parseTolerant 填充，供增量重解析定位可复用前缀） */
+    public List<TopLevelItem> getTopLevelItems() {
+        return topLevelItems;
+    }
+
+    /**
+     * 一次顶层解析尝试：起始 Token 位置、结束边界（下一个 Token 的偏移）及产出的节点。
+     * 解析失败的条目两个节点均为 null，对应错误保留在 {@link #getErrors()} 中。
+     */
+    public static final class TopLevelItem {
+        private final int offset;
+        private final int line;
+        private final int column;
+        private final int endOffset;
+        private final Declaration declaration;
+        private final Statement statement;
+
+        public TopLevelItem(int offset, int line, int column, int endOffset,
+                            Declaration declaration, Statement statement) {
+            this.offset = offset;
+            this.line = line;
+            this.column = column;
+            this.endOffset = endOffset;
+            this.declaration = declaration;
+            this.statement = statement;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        /** 条目之后第一个 Token 的偏移（含条目后的空白与注释） */
+        public int getEndOffset() {
+            return endOffset;
+        }
+
+        public Declaration getDeclaration() {
+            return declaration;
+        }
+
+        public Statement getStatement() {
+            return statement;
+        }
+    }
 }
@@ -535,16 +535,23 @@ public class Parser {
         // 声明和语句
         List<Declaration> declarations = new ArrayList<Declaration>();
         List<Statement> topLevelStatements = new ArrayList<Statement>();
+        List<ParseResult.TopLevelItem> items = new ArrayList<ParseResult.TopLevelItem>();
         while (!isAtEnd()) {
             skipSeparators();
             if (isAtEnd()) break;
+            Token itemStart = current;
+            Declaration decl = null;
+            Statement stmt = null;
             try {
                 if (isDeclarationStart()) {
-                    declarations.add(parseDeclaration());
+                    decl = parseDeclaration();
+                    declarations.add(decl);
                 } else {
-                    Statement stmt = parseStatement();
+                    stmt = parseStatement();
                     if (stmt instanceof DeclarationStmt) {
-                        declarations.add(((DeclarationStmt) stmt).getDeclaration());
+                        decl = ((DeclarationStmt) stmt).getDeclaration();
+                        stmt = null;
+                        declarations.add(decl);
                     } else {
                         topLevelStatements.add(stmt);
                     }
@@ -556,12 +563,14 @@ public class Parser {
                 errors.add(new ParseError(e.getMessage() != null ? e.getMessage() : e.getClass().getName(), current));
                 synchronize();
             }
+            items.add(new ParseResult.TopLevelItem(itemStart.getOffset(), itemStart.getLine(),
+                    itemStart.getColumn(), current.getOffset(), decl, stmt));
         }
 
         Program program = new Program(loc, fileAnnotations, packageDecl, imports, declarations);
         lexer.releaseSource(); // 容错解析完成，释放源码字符串
         tolerantMode = previousTolerantMode;
-        return new ParseResult(program, errors, topLevelStatements);
+        return new ParseResult(program, errors, topLevelStatements, items);
     }
 
     /**
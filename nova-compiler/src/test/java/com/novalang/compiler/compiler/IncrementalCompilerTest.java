@@ -0,0 +1,145 @@
+package com.novalang.compiler.compiler;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 增量编译测试：修改时间预检、依赖传播与并行编译
+ */
+@DisplayName("增量编译")
+class IncrementalCompilerTest {
+
+    @TempDir
+    Path root;
+
+    /** 记录被编译文件名的假编译器：每个文件生成一个以文件名命名的类 */
+    private final Set<String> compiled = ConcurrentHashMap.newKeySet();
+
+    private IncrementalCompiler newCompiler() {
+        return new IncrementalCompiler(() -> (source, fileName) -> {
+            compiled.add(fileName);
+            Map<String, byte[]> classes = new HashMap<>();
+            classes.put("gen." + fileName.replace(".nova", ""), source.getBytes(StandardCharsets.UTF_8));
+            return classes;
+        }, 4);
+    }
+
+    private File src() {
+        return root.resolve("src").toFile();
+    }
+
+    private File out() {
+        return root.resolve("out").toFile();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = root.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        long previous = Files.exists(file) ? file.toFile().lastModified() : 0;
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        // 保证修改时间一定变化（部分文件系统精度为秒）
+        file.toFile().setLastModified(Math.max(previous + 2000, System.currentTimeMillis()));
+    }
+
+    private Map<String, byte[]> build() throws IOException {
+        compiled.clear();
+        return newCompiler().compileProject(src(), out());
+    }
+
+    @BeforeEach
+    void project() throws IOException {
+        write("lib.nova", "fun helper(x: Int) = x + 1\nclass Point(val x: Int)");
+        write("user.nova", "println(helper(1))");
+        write("shape.nova", "fun area(p: Point) = p.x * p.x");
+        write("models/account.nova", "class User(val name: String)");
+        write("app.nova", "import models.account.User\nprintln(User(\"a\").name)");
+        write("other.nova", "println(\"${1 + 2}\")");
+    }
+
+    @Test
+    @DisplayName("未修改的项目不重新编译任何文件")
+    void unchangedRebuildCompilesNothing() throws IOException {
+        Map<String, byte[]> first = build();
+        assertEquals(6, compiled.size());
+        assertEquals(6, first.size());
+
+        Map<String, byte[]> second = build();
+        assertTrue(compiled.isEmpty(), "应全部命中缓存: " + compiled);
+        assertEquals(first.keySet(), second.keySet());
+    }
+
+    @Test
+    @DisplayName("内容不变只改修改时间时不重新编译")
+    void touchWithoutChange() throws IOException {
+        build();
+        write("lib.nova", "fun helper(x: Int) = x + 1\nclass Point(val x: Int)");
+        build();
+        assertTrue(compiled.isEmpty(), "内容未变不应重新编译: " + compiled);
+    }
+
+    @Test
+    @DisplayName("修改被引用的顶层符号所在文件时重新编译其依赖方")
+    void symbolDependentsRecompiled() throws IOException {
+        build();
+        write("lib.nova", "fun helper(x: Int) = x + 2\nclass Point(val x: Int)");
+        build();
+        assertEquals(new HashSet<>(Arrays.asList("lib.nova", "user.nova", "shape.nova")), compiled);
+    }
+
+    @Test
+    @DisplayName("修改被 import 的模块时重新编译导入方")
+    void importDependentsRecompiled() throws IOException {
+        build();
+        write("models/account.nova", "class User(val name: String, val age: Int = 0)");
+        build();
+        assertEquals(new HashSet<>(Arrays.asList("account.nova", "app.nova")), compiled);
+    }
+
+    @Test
+    @DisplayName("删除文件时重新编译依赖方并清理其输出")
+    void deletedDependencyInvalidatesDependents() throws IOException {
+        build();
+        Files.delete(root.resolve("src/shape.nova"));
+        Files.delete(root.resolve("src/lib.nova"));
+        Map<String, byte[]> result = build();
+        assertEquals(Collections.singleton("user.nova"), compiled);
+        assertFalse(result.containsKey("gen.lib"));
+        assertFalse(new File(out(), "gen/lib.class").exists());
+    }
+
+    @Test
+    @DisplayName("引用方先编译、声明文件后加入时重新编译引用方")
+    void declarationAddedLaterRecompilesUsers() throws IOException {
+        write("greet.nova", "println(shout(\"hi\"))");
+        build();
+        write("strings.nova", "fun shout(s: String) = s.uppercase()");
+        build();
+        assertEquals(new HashSet<>(Arrays.asList("strings.nova", "greet.nova")), compiled);
+
+        build();
+        assertTrue(compiled.isEmpty(), "应全部命中缓存: " + compiled);
+        write("strings.nova", "fun shout(s: String) = s.uppercase() + \"!\"");
+        build();
+        assertEquals(new HashSet<>(Arrays.asList("strings.nova", "greet.nova")), compiled);
+    }
+
+    @Test
+    @DisplayName("import 的模块后加入时重新编译导入方")
+    void importedModuleAddedLater() throws IOException {
+        write("report.nova", "import \"util/format.nova\"\nprintln(1)");
+        build();
+        write("util/format.nova", "val WIDTH = 80");
+        build();
+        assertEquals(new HashSet<>(Arrays.asList("format.nova", "report.nova")), compiled);
+    }
+}
@@ -70,6 +70,20 @@ public class NovaIrCompiler implements NovaCompilerApi {
         pipeline.setStrictSemanticMode(strict);
     }
 
+    /**
+     * 织入函数调用/对象分配的执行预算计费（安全策略设置了调用或分配上限时开启）。
+     */
+    public void setResourceBudgetChecks(boolean enabled) {
+        pipeline.setResourceBudgetChecks(enabled);
+    }
+
+    /**
+     * Int 运算溢出时抛 {@link ArithmeticException} 而不是回绕（解释器分层编译时开启）。
+     */
+    public void setExactIntArithmetic(boolean enabled) {
+        pipeline.setExactIntArithmetic(enabled);
+    }
+
     /**
      * 设置 relocate 前缀。
      * 当运行时包被 shadow relocate 时（如 {@code relocate("com.novalang.", "com.foo.novalang.")}），
@@ -133,13 +147,26 @@ public class NovaIrCompiler implements NovaCompilerApi {
      * @return 加载的类（类名 → Class 对象）
      */
     public Map<String, Class<?>> compileAndLoad(String source, String fileName) {
-        Map<String, byte[]> classes = compile(source, fileName);
+        return loadClasses(compileForLoading(source, fileName));
+    }
 
-        if (relocatePrefix != null) {
-            classes = remapBytecode(classes);
-        }
+    /**
+     * 编译并按 relocate 前缀重映射，得到可直接交给 {@link #loadClasses} 的字节码
+     * （供持久化编译缓存保存）。
+     */
+    public Map<String, byte[]> compileForLoading(String source, String fileName) {
+        Map<String, byte[]> classes = compile(source, fileName);
+        return relocatePrefix != null ? remapBytecode(classes) : classes;
+    }
 
-        // 先快照类名列表，因为 findClass() 中 remove() 会修改 classes map
+    /**
+     * 用独立的类加载器定义一组字节码。
+     *
+     * @return 加载的类（类名 → Class 对象）
+     */
+    public static Map<String, Class<?>> loadClasses(Map<String, byte[]> bytecode) {
+        // 复制一份：findClass() 中 remove() 会修改 classes map
+        Map<String, byte[]> classes = new HashMap<>(bytecode);
         List<String> classNames = new ArrayList<>(classes.keySet());
         NovaClassLoader loader = new NovaClassLoader(classes);
 
@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -33,11 +34,43 @@ public class MirCodeGenerator {
     private Map<String, String> currentFieldDescs = new HashMap<>();
     /** 当前方法中使用 ILOAD/ISTORE 的 int 局部变量集合 */
     private Set<Integer> intLocals = new HashSet<>();
+    /**
+     * 当前方法中使用 LLOAD/LSTORE 的 long 局部变量 → 独立 JVM 槽位。
+     * long/double 占两个 JVM 槽，不能原地复用 MIR 槽位，统一分配到帧尾之后。
+     */
+    private Map<Integer, Integer> longLocals = new HashMap<>();
+    /** 当前方法中使用 DLOAD/DSTORE 的 double 局部变量 → 独立 JVM 槽位 */
+    private Map<Integer, Integer> doubleLocals = new HashMap<>();
     private final Set<Integer> stringLocals = new HashSet<>();
     /** 当前方法的 JVM 描述符（用于判断返回值类型） */
     private String currentMethodDesc;
     /** 当前方法已发射的最后一行号（避免重复 visitLineNumber） */
     private int lastEmittedLine;
+    /** 是否织入函数调用/对象分配的预算计费（安全策略设置了调用或分配上限时开启） */
+    private boolean resourceBudgetChecks;
+    /** Int 运算溢出时抛 ArithmeticException 而不是回绕（分层编译用，溢出后回到解释器） */
+    private boolean exactIntArithmetic;
+    /** 当前方法中保存 ExecutionBudget 的 JVM 槽位，-1 表示尚未加载 */
+    private int budgetLocal = -1;
+
+    private static final String EXECUTION_BUDGET = "com/novalang/runtime/ExecutionBudget";
+    private static final String SCRIPT_CONTEXT_OWNER = "com/novalang/runtime/NovaScriptContext";
+
+    /**
+     * 开启后每个方法入口计一次调用、每次对象/数组/集合创建计一次分配。
+     * 循环回边检查始终织入，不受此开关影响。
+     */
+    public void setResourceBudgetChecks(boolean enabled) {
+        this.resourceBudgetChecks = enabled;
+    }
+
+    /**
+     * 开启后 Int 的 + - * / 和位移按 long 计算，结果超出 Int 范围时抛 {@link ArithmeticException}。
+     * 解释器在同样情况下把结果提升为 Long，编译代码借此放弃本次调用、交回解释器执行。
+     */
+    public void setExactIntArithmetic(boolean enabled) {
+        this.exactIntArithmetic = enabled;
+    }
 
     /**
      * 从 MIR 模块生成字节码。
@@ -291,38 +324,36 @@ public class MirCodeGenerator {
 
         mv.visitCode();
         this.lastEmittedLine = -1;
+        this.budgetLocal = -1;
 
-        // 识别可使用 ILOAD/ISTORE 的 int 局部变量
+        // 识别可使用 ILOAD/ISTORE 的 int 局部变量，以及 long/double 原始类型局部变量
         this.intLocals = identifyIntLocals(func, isStatic);
+        this.longLocals = assignWideSlots(func, desc, isStatic,
+                identifyWideLocals(func, isStatic, MirType.Kind.LONG),
+                identifyWideLocals(func, isStatic, MirType.Kind.DOUBLE));
         this.stringLocals.clear();
 
-        // INT 参数入口拆箱：identifyIntLocals 已验证参数的所有写入均为 int 安全操作
+        // 参数入口：原始类型参数按描述符从 JVM 槽位搬到 MIR 槽位（或宽类型槽位），
+        // Object 参数按需拆箱。identifyIntLocals/identifyWideLocals 已验证参数的所有写入均类型安全
         // 主构造器（无委托）可安全拆箱，次级构造器（有委托）参数可能在 this() 前使用
         boolean canUnboxParams = !"<clinit>".equals(func.getName())
                 && (!"<init>".equals(func.getName()) || !func.hasDelegation());
         {
             int slotOffset = isStatic ? 0 : 1;
             if (canUnboxParams) {
-                boolean hasNativeDesc = func.getOverrideDescriptor() != null;
+                Type[] argTypes = Type.getArgumentTypes(desc);
+                int jvmSlot = slotOffset;
                 for (int i = 0; i < func.getParams().size(); i++) {
-                    int slot = slotOffset + i;
-                    if (intLocals.contains(slot)) {
-                        if (hasNativeDesc) {
-                            // 原始类型描述符：参数已经是 int，无需拆箱
-                        } else {
-                            // Object 参数 → 拆箱为 JVM int，后续直接 ILOAD
-                            mv.visitVarInsn(ALOAD, slot);
-                            mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
-                            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number",
-                                    "intValue", "()I", false);
-                            mv.visitVarInsn(ISTORE, slot);
-                        }
-                    }
+                    Type argType = i < argTypes.length ? argTypes[i] : Type.getType(Object.class);
+                    emitParamEntry(mv, argType, jvmSlot, slotOffset + i);
+                    jvmSlot += argType.getSize();
                 }
             } else {
-                // 参数未拆箱，仍为 Object，从 intLocals 中移除参数 slot
+                // 参数未拆箱，仍为 Object，从原始类型集合中移除参数 slot
                 for (int i = 0; i < func.getParams().size(); i++) {
                     intLocals.remove(slotOffset + i);
+                    longLocals.remove(slotOffset + i);
+                    doubleLocals.remove(slotOffset + i);
                 }
             }
         }
@@ -420,6 +451,17 @@ public class MirCodeGenerator {
             catchHandlerLocals.put(entry.handlerBlock, entry.exceptionLocal);
         }
 
+        // 执行预算：方法入口取一次存入局部变量，回边/调用/分配检查不再访问 ThreadLocal
+        if (hasBackEdge(func) || resourceBudgetChecks) {
+            budgetLocal = budgetSlot(func, desc);
+            mv.visitMethodInsn(INVOKESTATIC, EXECUTION_BUDGET, "active",
+                    "()L" + EXECUTION_BUDGET + ";", false);
+            mv.visitVarInsn(ASTORE, budgetLocal);
+            if (resourceBudgetChecks && !"<clinit>".equals(func.getName())) {
+                emitBudgetCharge(mv, "enterCall");
+            }
+        }
+
         // 预初始化所有非参数局部变量，确保 JVM 验证器在所有控制流路径上都能看到已初始化的 local
         {
             int paramCount = func.getParams().size() + (isStatic ? 0 : 1);
@@ -429,6 +471,12 @@ public class MirCodeGenerator {
                 if (intLocals.contains(idx)) {
                     mv.visitInsn(ICONST_0);
                     mv.visitVarInsn(ISTORE, idx);
+                } else if (longLocals.containsKey(idx)) {
+                    mv.visitInsn(LCONST_0);
+                    mv.visitVarInsn(LSTORE, longLocals.get(idx));
+                } else if (doubleLocals.containsKey(idx)) {
+                    mv.visitInsn(DCONST_0);
+                    mv.visitVarInsn(DSTORE, doubleLocals.get(idx));
                 } else {
                     mv.visitInsn(ACONST_NULL);
                     mv.visitVarInsn(ASTORE, idx);
@@ -562,8 +610,7 @@ public class MirCodeGenerator {
         mv.visitInsn(IADD);
         storeIntLocalValue(mv, plan.counterLocal);
         // 循环回边安全检查
-        mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaSecurityPolicy",
-                "checkLoop", "()V", false);
+        emitBudgetCharge(mv, "tickLoop");
         emitStringAccumLoopCondition(mv, plan, bodyLabel, exitLabel);
 
         mv.visitLabel(exitLabel);
@@ -659,6 +706,9 @@ public class MirCodeGenerator {
             mv.visitLineNumber(loc.getLine(), lineLabel);
             lastEmittedLine = loc.getLine();
         }
+        if (resourceBudgetChecks && isAllocation(inst.getOp())) {
+            emitBudgetCharge(mv, "allocate");
+        }
         switch (inst.getOp()) {
             case CONST_INT: {
                 int value = (Integer) inst.getExtra();
@@ -673,9 +723,7 @@ public class MirCodeGenerator {
             }
             case CONST_LONG: {
                 mv.visitLdcInsn((Long) inst.getExtra());
-                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", "valueOf",
-                        "(J)Ljava/lang/Long;", false);
-                mv.visitVarInsn(ASTORE, inst.getDest());
+                storeLong(mv, inst.getDest());
                 break;
             }
             case CONST_FLOAT: {
@@ -687,9 +735,7 @@ public class MirCodeGenerator {
             }
             case CONST_DOUBLE: {
                 mv.visitLdcInsn((Double) inst.getExtra());
-                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf",
-                        "(D)Ljava/lang/Double;", false);
-                mv.visitVarInsn(ASTORE, inst.getDest());
+                storeDouble(mv, inst.getDest());
                 break;
             }
             case CONST_STRING: {
@@ -730,9 +776,14 @@ public class MirCodeGenerator {
                 if (intLocals.contains(dest)) {
                     loadInt(mv, src);
                     mv.visitVarInsn(ISTORE, dest);
-                } else if (intLocals.contains(src)) {
-                    mv.visitVarInsn(ILOAD, src);
-                    boxInt(mv);
+                } else if (longLocals.containsKey(dest)) {
+                    unboxLong(mv, src);
+                    mv.visitVarInsn(LSTORE, longLocals.get(dest));
+                } else if (doubleLocals.containsKey(dest)) {
+                    unboxDouble(mv, src);
+                    mv.visitVarInsn(DSTORE, doubleLocals.get(dest));
+                } else if (intLocals.contains(src) || isWideLocal(src)) {
+                    loadObject(mv, src);
                     mv.visitVarInsn(ASTORE, dest);
                 } else {
                     mv.visitVarInsn(ALOAD, src);
@@ -802,8 +853,7 @@ public class MirCodeGenerator {
                             ? objType.getClassName() : null;
                     if (gfOwner != null && gfOwner.contains("$Lambda$") && !hasField(gfOwner, fieldName)) {
                         mv.visitLdcInsn(fieldName);
-                        mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaScriptContext",
-                                "get", "(Ljava/lang/String;)Ljava/lang/Object;", false);
+                        emitBindingAccess(mv, "get", "(Ljava/lang/String;)Ljava/lang/Object;");
                         mv.visitVarInsn(ASTORE, inst.getDest());
                         break;
                     }
@@ -857,8 +907,7 @@ public class MirCodeGenerator {
                 if (owner.contains("$Lambda$") && !hasField(owner, fieldName)) {
                     mv.visitLdcInsn(fieldName);
                     loadObject(mv, value);
-                    mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaScriptContext",
-                            "set", "(Ljava/lang/String;Ljava/lang/Object;)V", false);
+                    emitBindingAccess(mv, "set", "(Ljava/lang/String;Ljava/lang/Object;)V");
                     break;
                 }
                 String fieldDesc = lookupFieldDesc(owner, fieldName);
@@ -1022,13 +1071,7 @@ public class MirCodeGenerator {
 
                 // 存储结果（void 方法不存储）
                 if (inst.getDest() >= 0 && !descriptor.endsWith(")V")) {
-                    String retType = descriptor.substring(descriptor.indexOf(')') + 1);
-                    if ("I".equals(retType) && intLocals.contains(inst.getDest())) {
-                        mv.visitVarInsn(ISTORE, inst.getDest());
-                    } else {
-                        boxReturnIfPrimitive(mv, descriptor);
-                        mv.visitVarInsn(ASTORE, inst.getDest());
-                    }
+                    storeInvokeResult(mv, descriptor, inst.getDest());
                 }
                 break;
             }
@@ -1106,17 +1149,14 @@ public class MirCodeGenerator {
                     loadAndUnboxParams(mv, inst.getOperands(), 0, descriptor);
                 }
 
-                mv.visitMethodInsn(INVOKESTATIC, owner, methodName, descriptor, false);
+                if (SCRIPT_CONTEXT_OWNER.equals(owner) && isBindingAccess(methodName)) {
+                    emitBindingAccess(mv, methodName, descriptor);
+                } else {
+                    mv.visitMethodInsn(INVOKESTATIC, owner, methodName, descriptor, false);
+                }
 
                 if (inst.getDest() >= 0 && !descriptor.endsWith(")V")) {
-                    String retType = descriptor.substring(descriptor.indexOf(')') + 1);
-                    if ("I".equals(retType) && intLocals.contains(inst.getDest())) {
-                        // int 返回值直接 ISTORE
-                        mv.visitVarInsn(ISTORE, inst.getDest());
-                    } else {
-                        boxReturnIfPrimitive(mv, descriptor);
-                        mv.visitVarInsn(ASTORE, inst.getDest());
-                    }
+                    storeInvokeResult(mv, descriptor, inst.getDest());
                 }
                 break;
             }
@@ -1151,13 +1191,7 @@ public class MirCodeGenerator {
                 mv.visitMethodInsn(INVOKEINTERFACE, owner, methodName, descriptor, true);
 
                 if (inst.getDest() >= 0 && !descriptor.endsWith(")V")) {
-                    String retType = descriptor.substring(descriptor.indexOf(')') + 1);
-                    if ("I".equals(retType) && intLocals.contains(inst.getDest())) {
-                        mv.visitVarInsn(ISTORE, inst.getDest());
-                    } else {
-                        boxReturnIfPrimitive(mv, descriptor);
-                        mv.visitVarInsn(ASTORE, inst.getDest());
-                    }
+                    storeInvokeResult(mv, descriptor, inst.getDest());
                 }
                 break;
             }
@@ -1316,7 +1350,20 @@ public class MirCodeGenerator {
                     }
                     break;
                 }
-                if (isMapType(targetOwner)) {
+                if (inst.inBounds && isListType(targetOwner)) {
+                    // 下标已证明在 [0, size) 内：直接 List.get，无负索引归一化
+                    loadObject(mv, target);
+                    mv.visitTypeInsn(CHECKCAST, "java/util/List");
+                    loadInt(mv, index);
+                    mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get",
+                            "(I)Ljava/lang/Object;", true);
+                } else if (inst.inBounds && !isMapType(targetOwner) && !"java/lang/String".equals(targetOwner)) {
+                    // 下标已证明在 [0, size) 内、目标类型未知：int 下标直读，不装箱、不经 Map/Range 分派
+                    loadObject(mv, target);
+                    loadInt(mv, index);
+                    mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaCollections", "getIndexInBounds",
+                            "(Ljava/lang/Object;I)Ljava/lang/Object;", false);
+                } else if (isMapType(targetOwner)) {
                     // Map.get(key)
                     loadObject(mv, target);
                     mv.visitTypeInsn(CHECKCAST, "java/util/Map");
@@ -1487,8 +1534,8 @@ public class MirCodeGenerator {
                 unboxDouble(mv, left);
                 unboxDouble(mv, right);
                 emitArithOp(mv, op, DADD, DSUB, DMUL, DDIV, DREM);
-                boxDouble(mv);
-                break;
+                storeDouble(mv, dest);
+                return;
             case FLOAT:
                 unboxFloat(mv, left);
                 unboxFloat(mv, right);
@@ -1525,9 +1572,17 @@ public class MirCodeGenerator {
                         break;
                     default: mv.visitInsn(LADD); break;
                 }
-                boxLong(mv);
-                break;
+                storeLong(mv, dest);
+                return;
             default: // INT
+                if (exactIntArithmetic && emitExactIntOp(mv, op, left, right)) {
+                    if (intLocals.contains(dest)) {
+                        mv.visitVarInsn(ISTORE, dest);
+                        return;
+                    }
+                    boxInt(mv);
+                    break;
+                }
                 loadInt(mv, left);
                 loadInt(mv, right);
                 switch (op) {
@@ -1554,6 +1609,31 @@ public class MirCodeGenerator {
         mv.visitVarInsn(ASTORE, dest);
     }
 
+    /**
+     * 可能超出 Int 范围的运算按 long 计算后经 {@code Math.toIntExact} 收窄（与解释器的 long 通道一致），
+     * 栈顶留下 int 结果；其余运算返回 false，由调用方按普通 Int 指令生成。
+     */
+    private boolean emitExactIntOp(MethodVisitor mv, BinaryOp op, int left, int right) {
+        int longOp;
+        switch (op) {
+            case ADD: longOp = LADD; break;
+            case SUB: longOp = LSUB; break;
+            case MUL: longOp = LMUL; break;
+            case DIV: longOp = LDIV; break;
+            case SHL: longOp = LSHL; break;
+            case SHR: longOp = LSHR; break;
+            default: return false;
+        }
+        loadInt(mv, left);
+        mv.visitInsn(I2L);
+        loadInt(mv, right);
+        // long 位移量是 int 类型，按 long 取低 6 位，与解释器 long 位移一致
+        if (longOp != LSHL && longOp != LSHR) mv.visitInsn(I2L);
+        mv.visitInsn(longOp);
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "toIntExact", "(J)I", false);
+        return true;
+    }
+
     /**
      * 发出浮点/双精度算术指令（ADD/SUB/MUL/DIV/MOD 通用）。
      * 位运算对浮点无意义，降级为 NOP + ADD。
@@ -1779,8 +1859,7 @@ public class MirCodeGenerator {
                     case DOUBLE:
                         unboxDouble(mv, operand);
                         mv.visitInsn(DNEG);
-                        boxDouble(mv);
-                        mv.visitVarInsn(ASTORE, dest);
+                        storeDouble(mv, dest);
                         break;
                     case FLOAT:
                         unboxFloat(mv, operand);
@@ -1791,8 +1870,7 @@ public class MirCodeGenerator {
                     case LONG:
                         unboxLong(mv, operand);
                         mv.visitInsn(LNEG);
-                        boxLong(mv);
-                        mv.visitVarInsn(ASTORE, dest);
+                        storeLong(mv, dest);
                         break;
                     default:
                         loadInt(mv, operand);
@@ -1827,8 +1905,7 @@ public class MirCodeGenerator {
                     unboxLong(mv, operand);
                     mv.visitLdcInsn(-1L);
                     mv.visitInsn(LXOR);
-                    boxLong(mv);
-                    mv.visitVarInsn(ASTORE, dest);
+                    storeLong(mv, dest);
                 } else {
                     loadInt(mv, operand);
                     mv.visitInsn(ICONST_M1);
@@ -1890,15 +1967,13 @@ public class MirCodeGenerator {
             int target = ((MirTerminator.Goto) term).getTargetBlockId();
             // 回边检测：跳转目标 block ID <= 当前 block ID → 循环回边，织入安全检查
             if (target <= currentBlockId) {
-                mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaSecurityPolicy",
-                        "checkLoop", "()V", false);
+                emitBudgetCharge(mv, "tickLoop");
             }
             mv.visitJumpInsn(GOTO, blockLabels.get(target));
         } else if (term instanceof MirTerminator.TailCall) {
             int target = ((MirTerminator.TailCall) term).getEntryBlockId();
             // 尾递归回跳也需要安全检查
-            mv.visitMethodInsn(INVOKESTATIC, "com/novalang/runtime/NovaSecurityPolicy",
-                    "checkLoop", "()V", false);
+            emitBudgetCharge(mv, "tickLoop");
             mv.visitJumpInsn(GOTO, blockLabels.get(target));
         } else if (term instanceof MirTerminator.Branch) {
             MirTerminator.Branch branch = (MirTerminator.Branch) term;
@@ -1934,10 +2009,7 @@ public class MirCodeGenerator {
                     }
                     mv.visitInsn(IRETURN);
                 } else if ("J".equals(retType)) {
-                    loadObject(mv, value);
-                    mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
-                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number",
-                            "longValue", "()J", false);
+                    unboxLong(mv, value);
                     mv.visitInsn(LRETURN);
                 } else if ("F".equals(retType)) {
                     loadObject(mv, value);
@@ -1946,10 +2018,7 @@ public class MirCodeGenerator {
                             "floatValue", "()F", false);
                     mv.visitInsn(FRETURN);
                 } else if ("D".equals(retType)) {
-                    loadObject(mv, value);
-                    mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
-                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number",
-                            "doubleValue", "()D", false);
+                    unboxDouble(mv, value);
                     mv.visitInsn(DRETURN);
                 } else {
                     loadObject(mv, value);
@@ -1979,8 +2048,14 @@ public class MirCodeGenerator {
                     "<init>", "(Ljava/lang/Object;)V", false);
             mv.visitInsn(ATHROW);
         } else if (term instanceof MirTerminator.Switch) {
-            // Switch → equals 链：逐个比较 case key，跳转到对应 block
             MirTerminator.Switch sw = (MirTerminator.Switch) term;
+            SwitchTable table = sw.getTable() != null ? sw.getTable()
+                    : SwitchTable.build(sw.getCases(), sw.getDefaultBlock(), null, null);
+            if (table != null) {
+                generateTableSwitch(mv, sw.getKey(), table, blockLabels);
+                return;
+            }
+            // 混合类型 key → equals 链：逐个比较 case key，跳转到对应 block
             // null 安全：先检查 key 是否为 null
             Label nullLabel = null;
             for (Map.Entry<Object, Integer> entry : sw.getCases().entrySet()) {
@@ -2011,6 +2086,10 @@ public class MirCodeGenerator {
                     mv.visitLdcInsn(caseKey);
                     mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf",
                             "(I)Ljava/lang/Integer;", false);
+                } else if (caseKey instanceof Character) {
+                    pushInt(mv, (Character) caseKey);
+                    mv.visitMethodInsn(INVOKESTATIC, "java/lang/Character", "valueOf",
+                            "(C)Ljava/lang/Character;", false);
                 } else {
                     mv.visitLdcInsn(caseKey.toString());
                 }
@@ -2024,6 +2103,81 @@ public class MirCodeGenerator {
         }
     }
 
+    /**
+     * 跳转表 Switch：整数/字符 key 生成 tableswitch / lookupswitch；
+     * 字符串 key 先对 hashCode 做 lookupswitch 再 equals 校验；
+     * 枚举 key 读取 $ordinal 后 tableswitch，非该枚举实例回退到名称哈希。
+     */
+    private void generateTableSwitch(MethodVisitor mv, int key, SwitchTable table,
+                                     Map<Integer, Label> blockLabels) {
+        Label defaultLabel = blockLabels.get(table.defaultBlock);
+        if (table.isIntKeyed()) {
+            if (table.kind != SwitchTable.Kind.CHAR && intLocals.contains(key)) {
+                mv.visitVarInsn(ILOAD, key);
+            } else {
+                String box = table.kind == SwitchTable.Kind.CHAR ? "java/lang/Character" : "java/lang/Integer";
+                loadObject(mv, key);
+                mv.visitTypeInsn(INSTANCEOF, box);
+                mv.visitJumpInsn(IFEQ, defaultLabel);
+                loadObject(mv, key);
+                mv.visitTypeInsn(CHECKCAST, box);
+                if (table.kind == SwitchTable.Kind.CHAR) {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, box, "charValue", "()C", false);
+                } else {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, box, "intValue", "()I", false);
+                }
+            }
+            if (table.dense != null) {
+                Label[] labels = new Label[table.dense.length];
+                for (int i = 0; i < labels.length; i++) labels[i] = blockLabels.get(table.dense[i]);
+                mv.visitTableSwitchInsn(table.low, table.low + labels.length - 1, defaultLabel, labels);
+            } else {
+                Label[] labels = new Label[table.keys.length];
+                for (int i = 0; i < labels.length; i++) labels[i] = blockLabels.get(table.targets[i]);
+                mv.visitLookupSwitchInsn(defaultLabel, table.keys, labels);
+            }
+            return;
+        }
+
+        // null 不匹配任何 case
+        loadObject(mv, key);
+        mv.visitJumpInsn(IFNULL, defaultLabel);
+        Map<String, String> enumFields = table.enumClass != null ? allFieldDescs.get(table.enumClass) : null;
+        if (enumFields != null && enumFields.containsKey("$ordinal")) {
+            Label notEnum = new Label();
+            loadObject(mv, key);
+            mv.visitTypeInsn(INSTANCEOF, table.enumClass);
+            mv.visitJumpInsn(IFEQ, notEnum);
+            loadObject(mv, key);
+            mv.visitTypeInsn(CHECKCAST, table.enumClass);
+            mv.visitFieldInsn(GETFIELD, table.enumClass, "$ordinal", enumFields.get("$ordinal"));
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Integer");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I", false);
+            Label[] labels = new Label[table.ordinalTargets.length];
+            for (int i = 0; i < labels.length; i++) labels[i] = blockLabels.get(table.ordinalTargets[i]);
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+            mv.visitLabel(notEnum);
+        }
+        // 与原 equals 链一致：对 key.toString() 比较（枚举实例的 toString 即条目名）
+        Label[] hashLabels = new Label[table.hashes.length];
+        for (int i = 0; i < hashLabels.length; i++) hashLabels[i] = new Label();
+        loadObject(mv, key);
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Object", "toString", "()Ljava/lang/String;", false);
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "hashCode", "()I", false);
+        mv.visitLookupSwitchInsn(defaultLabel, table.hashes, hashLabels);
+        for (int i = 0; i < hashLabels.length; i++) {
+            mv.visitLabel(hashLabels[i]);
+            for (int j = 0; j < table.hashKeys[i].length; j++) {
+                loadObject(mv, key);
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Object", "toString", "()Ljava/lang/String;", false);
+                mv.visitLdcInsn(table.hashKeys[i][j]);
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                mv.visitJumpInsn(IFNE, blockLabels.get(table.hashTargets[i][j]));
+            }
+            mv.visitJumpInsn(GOTO, defaultLabel);
+        }
+    }
+
     /**
      * 分支-比较融合：直接生成 IF_ICMPxx 跳转，跳过中间 Boolean 装箱。
      * fusedConstants: 可内联的 CONST_INT (local → value)，对应指令已跳过生成。
@@ -2329,20 +2483,294 @@ public class MirCodeGenerator {
         return false;
     }
 
+    /**
+     * 识别可使用原始 long/double 槽位的局部变量（kind 为 LONG 或 DOUBLE）。
+     * 与 identifyIntLocals 相同：所有写入都必须产生该原始类型，否则保持装箱。
+     */
+    private Set<Integer> identifyWideLocals(MirFunction func, boolean isStatic, MirType.Kind kind) {
+        Set<Integer> candidates = new HashSet<>();
+        for (MirLocal local : func.getLocals()) {
+            if (local.getType().getKind() == kind) {
+                candidates.add(local.getIndex());
+            }
+        }
+        int slotOffset = isStatic ? 0 : 1;
+        for (int i = 0; i < func.getParams().size(); i++) {
+            if (func.getParams().get(i).getType().getKind() == kind) {
+                candidates.add(slotOffset + i);
+            }
+        }
+        if (candidates.isEmpty()) return candidates;
+
+        Set<Integer> disqualified = new HashSet<>();
+        for (BasicBlock block : func.getBlocks()) {
+            for (MirInst inst : block.getInstructions()) {
+                int dest = inst.getDest();
+                if (dest < 0 || !candidates.contains(dest)) continue;
+                boolean ok;
+                switch (inst.getOp()) {
+                    case CONST_LONG:
+                        ok = kind == MirType.Kind.LONG;
+                        break;
+                    case CONST_DOUBLE:
+                        ok = kind == MirType.Kind.DOUBLE;
+                        break;
+                    case MOVE:
+                        ok = getLocalType(func, inst.operand(0)).getKind() == kind;
+                        break;
+                    case BINARY: {
+                        BinaryOp bop = inst.extraAs();
+                        ok = isArithmeticOp(bop, kind)
+                                && isPrimitiveNumeric(getLocalType(func, inst.operand(0)))
+                                && isPrimitiveNumeric(getLocalType(func, inst.operand(1)))
+                                && resolveNumericKind(func, inst.operand(0), inst.operand(1)) == kind;
+                        break;
+                    }
+                    case UNARY: {
+                        UnaryOp uop = inst.extraAs();
+                        ok = (uop == UnaryOp.NEG || (uop == UnaryOp.BNOT && kind == MirType.Kind.LONG))
+                                && getLocalType(func, inst.operand(0)).getKind() == kind;
+                        break;
+                    }
+                    case INVOKE_STATIC:
+                    case INVOKE_VIRTUAL:
+                    case INVOKE_INTERFACE:
+                        ok = kind == MirType.Kind.LONG
+                                ? "J".equals(invokeReturnDesc(inst))
+                                : "D".equals(invokeReturnDesc(inst));
+                        break;
+                    default:
+                        ok = false;
+                        break;
+                }
+                if (!ok) disqualified.add(dest);
+            }
+        }
+        candidates.removeAll(disqualified);
+        return candidates;
+    }
+
+    private static boolean isArithmeticOp(BinaryOp op, MirType.Kind kind) {
+        switch (op) {
+            case ADD: case SUB: case MUL: case DIV: case MOD:
+                return true;
+            case BAND: case BOR: case BXOR: case SHL: case SHR: case USHR:
+                return kind == MirType.Kind.LONG;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isPrimitiveNumeric(MirType type) {
+        MirType.Kind k = type.getKind();
+        return k == MirType.Kind.INT || k == MirType.Kind.LONG || k == MirType.Kind.DOUBLE;
+    }
+
+    /** 直接调用指令的返回描述符；命名参数、Lambda 动态分派等运行时路径返回 null */
+    private static String invokeReturnDesc(MirInst inst) {
+        String extra = (String) inst.getExtra();
+        if (extra == null || extra.contains(";named:")) return null;
+        String[] parts = extra.split("\\|", 3);
+        if (parts.length < 3 || parts[0].contains("$Lambda$")) return null;
+        return parts[2].substring(parts[2].indexOf(')') + 1);
+    }
+
+    // ========== 执行预算 ==========
+
+    /** 是否存在需要织入循环检查的回边（与 generateTerminator / 字符串累加快路径的判定一致） */
+    private static boolean hasBackEdge(MirFunction func) {
+        for (BasicBlock block : func.getBlocks()) {
+            MirTerminator term = block.getTerminator();
+            if (term instanceof MirTerminator.TailCall) return true;
+            if (term instanceof MirTerminator.Goto
+                    && ((MirTerminator.Goto) term).getTargetBlockId() <= block.getId()) {
+                return true;
+            }
+        }
+        return StringAccumLoopPlan.detect(func) != null;
+    }
+
+    private static boolean isAllocation(MirOp op) {
+        return op == MirOp.NEW_OBJECT || op == MirOp.NEW_ARRAY || op == MirOp.NEW_COLLECTION;
+    }
+
+    /** 预算局部变量槽位：位于 MIR 帧、参数区以及 long/double 槽位之后 */
+    private int budgetSlot(MirFunction func, String desc) {
+        int slot = Math.max(func.getFrameSize() + 1, Type.getArgumentsAndReturnSizes(desc) >> 2);
+        for (int wide : longLocals.values()) slot = Math.max(slot, wide + 2);
+        for (int wide : doubleLocals.values()) slot = Math.max(slot, wide + 2);
+        return slot;
+    }
+
+    /**
+     * 对方法的预算局部变量调用计费方法；预算为 null（不受限）时跳过。
+     * 构造器委托参数等在预算加载前发射的分配走静态入口。
+     */
+    private void emitBudgetCharge(MethodVisitor mv, String method) {
+        if (budgetLocal < 0) {
+            if ("allocate".equals(method)) {
+                mv.visitMethodInsn(INVOKESTATIC, EXECUTION_BUDGET, "chargeAllocation", "()V", false);
+            }
+            return;
+        }
+        Label skip = new Label();
+        mv.visitVarInsn(ALOAD, budgetLocal);
+        mv.visitJumpInsn(IFNULL, skip);
+        mv.visitVarInsn(ALOAD, budgetLocal);
+        mv.visitMethodInsn(INVOKEVIRTUAL, EXECUTION_BUDGET, method, "()V", false);
+        mv.visitLabel(skip);
+    }
+
+    /**
+     * 为 long/double 局部变量分配独立 JVM 槽位（每个占 2 槽），位于 MIR 帧和参数区之后。
+     * 返回 long 映射，double 映射写入 {@link #doubleLocals}。
+     */
+    private Map<Integer, Integer> assignWideSlots(MirFunction func, String desc, boolean isStatic,
+                                                  Set<Integer> longs, Set<Integer> doubles) {
+        Map<Integer, Integer> longMap = new HashMap<>();
+        Map<Integer, Integer> doubleMap = new HashMap<>();
+        this.doubleLocals = doubleMap;
+        if (longs.isEmpty() && doubles.isEmpty()) return longMap;
+        int argSlots = (Type.getArgumentsAndReturnSizes(desc) >> 2) - (isStatic ? 0 : 1);
+        int next = Math.max(func.getFrameSize() + 1, (isStatic ? 0 : 1) + argSlots);
+        for (int local : new TreeSet<>(longs)) {
+            longMap.put(local, next);
+            next += 2;
+        }
+        for (int local : new TreeSet<>(doubles)) {
+            doubleMap.put(local, next);
+            next += 2;
+        }
+        return longMap;
+    }
+
+    private boolean isWideLocal(int local) {
+        return longLocals.containsKey(local) || doubleLocals.containsKey(local);
+    }
+
+    /**
+     * 方法入口：将 JVM 参数槽中的值搬入 MIR 局部变量的存储位置。
+     * 原始类型参数（类型化描述符）占用的 JVM 槽位与 MIR 槽位可能错开，按递增顺序搬运不会覆盖未读参数。
+     */
+    private void emitParamEntry(MethodVisitor mv, Type argType, int jvmSlot, int local) {
+        switch (argType.getSort()) {
+            case Type.INT:
+                mv.visitVarInsn(ILOAD, jvmSlot);
+                if (intLocals.contains(local)) {
+                    if (jvmSlot != local) mv.visitVarInsn(ISTORE, local);
+                    else mv.visitInsn(POP);
+                } else {
+                    boxInt(mv);
+                    mv.visitVarInsn(ASTORE, local);
+                }
+                break;
+            case Type.BOOLEAN:
+                mv.visitVarInsn(ILOAD, jvmSlot);
+                boxBoolean(mv);
+                mv.visitVarInsn(ASTORE, local);
+                break;
+            case Type.LONG:
+                mv.visitVarInsn(LLOAD, jvmSlot);
+                storeLong(mv, local);
+                break;
+            case Type.DOUBLE:
+                mv.visitVarInsn(DLOAD, jvmSlot);
+                storeDouble(mv, local);
+                break;
+            case Type.FLOAT:
+                mv.visitVarInsn(FLOAD, jvmSlot);
+                boxFloat(mv);
+                mv.visitVarInsn(ASTORE, local);
+                break;
+            default:
+                if (jvmSlot != local) {
+                    mv.visitVarInsn(ALOAD, jvmSlot);
+                    mv.visitVarInsn(ASTORE, local);
+                }
+                if (intLocals.contains(local)) {
+                    // Object 参数 → 拆箱为 JVM int，后续直接 ILOAD
+                    mv.visitVarInsn(ALOAD, local);
+                    mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "intValue", "()I", false);
+                    mv.visitVarInsn(ISTORE, local);
+                } else if (longLocals.containsKey(local)) {
+                    mv.visitVarInsn(ALOAD, local);
+                    mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "longValue", "()J", false);
+                    mv.visitVarInsn(LSTORE, longLocals.get(local));
+                } else if (doubleLocals.containsKey(local)) {
+                    mv.visitVarInsn(ALOAD, local);
+                    mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+                    mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "doubleValue", "()D", false);
+                    mv.visitVarInsn(DSTORE, doubleLocals.get(local));
+                }
+                break;
+        }
+    }
+
+    /** 存储栈顶 long：long 局部变量直接 LSTORE，否则装箱 ASTORE */
+    private void storeLong(MethodVisitor mv, int local) {
+        Integer slot = longLocals.get(local);
+        if (slot != null) {
+            mv.visitVarInsn(LSTORE, slot);
+        } else {
+            boxLong(mv);
+            mv.visitVarInsn(ASTORE, local);
+        }
+    }
+
+    /** 存储栈顶 double：double 局部变量直接 DSTORE，否则装箱 ASTORE */
+    private void storeDouble(MethodVisitor mv, int local) {
+        Integer slot = doubleLocals.get(local);
+        if (slot != null) {
+            mv.visitVarInsn(DSTORE, slot);
+        } else {
+            boxDouble(mv);
+            mv.visitVarInsn(ASTORE, local);
+        }
+    }
+
+    /** 存储方法调用结果：原始返回值优先写入对应的原始类型局部变量 */
+    private void storeInvokeResult(MethodVisitor mv, String descriptor, int dest) {
+        String retType = descriptor.substring(descriptor.indexOf(')') + 1);
+        if ("I".equals(retType) && intLocals.contains(dest)) {
+            mv.visitVarInsn(ISTORE, dest);
+        } else if ("J".equals(retType)) {
+            storeLong(mv, dest);
+        } else if ("D".equals(retType)) {
+            storeDouble(mv, dest);
+        } else {
+            boxReturnIfPrimitive(mv, descriptor);
+            mv.visitVarInsn(ASTORE, dest);
+        }
+    }
+
     /** 将局部变量作为 JVM int 加载到栈顶（int 局部变量直接 ILOAD，否则 ALOAD+拆箱） */
     private void loadInt(MethodVisitor mv, int local) {
         if (intLocals.contains(local)) {
             mv.visitVarInsn(ILOAD, local);
+        } else if (longLocals.containsKey(local)) {
+            mv.visitVarInsn(LLOAD, longLocals.get(local));
+            mv.visitInsn(L2I);
+        } else if (doubleLocals.containsKey(local)) {
+            mv.visitVarInsn(DLOAD, doubleLocals.get(local));
+            mv.visitInsn(D2I);
         } else {
             unboxInt(mv, local);
         }
     }
 
-    /** 将局部变量作为 Object 加载到栈顶（int 局部变量 ILOAD+装箱，否则 ALOAD） */
+    /** 将局部变量作为 Object 加载到栈顶（原始类型局部变量加载+装箱，否则 ALOAD） */
     private void loadObject(MethodVisitor mv, int local) {
         if (intLocals.contains(local)) {
             mv.visitVarInsn(ILOAD, local);
             boxInt(mv);
+        } else if (longLocals.containsKey(local)) {
+            mv.visitVarInsn(LLOAD, longLocals.get(local));
+            boxLong(mv);
+        } else if (doubleLocals.containsKey(local)) {
+            mv.visitVarInsn(DLOAD, doubleLocals.get(local));
+            boxDouble(mv);
         } else {
             mv.visitVarInsn(ALOAD, local);
         }
@@ -2352,8 +2780,8 @@ public class MirCodeGenerator {
 
     /** 从局部变量加载并拆箱为 JVM int（兼容 null/Boolean/Number） */
     private void unboxInt(MethodVisitor mv, int local) {
-        if (intLocals.contains(local)) {
-            mv.visitVarInsn(ILOAD, local);
+        if (intLocals.contains(local) || isWideLocal(local)) {
+            loadInt(mv, local);
         } else {
             mv.visitVarInsn(ALOAD, local);
             Label done = new Label();
@@ -2446,6 +2874,11 @@ public class MirCodeGenerator {
         if (intLocals.contains(local)) {
             mv.visitVarInsn(ILOAD, local);
             mv.visitInsn(I2L);
+        } else if (longLocals.containsKey(local)) {
+            mv.visitVarInsn(LLOAD, longLocals.get(local));
+        } else if (doubleLocals.containsKey(local)) {
+            mv.visitVarInsn(DLOAD, doubleLocals.get(local));
+            mv.visitInsn(D2L);
         } else {
             mv.visitVarInsn(ALOAD, local);
             mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
@@ -2458,6 +2891,12 @@ public class MirCodeGenerator {
         if (intLocals.contains(local)) {
             mv.visitVarInsn(ILOAD, local);
             mv.visitInsn(I2F);
+        } else if (longLocals.containsKey(local)) {
+            mv.visitVarInsn(LLOAD, longLocals.get(local));
+            mv.visitInsn(L2F);
+        } else if (doubleLocals.containsKey(local)) {
+            mv.visitVarInsn(DLOAD, doubleLocals.get(local));
+            mv.visitInsn(D2F);
         } else {
             mv.visitVarInsn(ALOAD, local);
             mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
@@ -2470,6 +2909,11 @@ public class MirCodeGenerator {
         if (intLocals.contains(local)) {
             mv.visitVarInsn(ILOAD, local);
             mv.visitInsn(I2D);
+        } else if (longLocals.containsKey(local)) {
+            mv.visitVarInsn(LLOAD, longLocals.get(local));
+            mv.visitInsn(L2D);
+        } else if (doubleLocals.containsKey(local)) {
+            mv.visitVarInsn(DLOAD, doubleLocals.get(local));
         } else {
             mv.visitVarInsn(ALOAD, local);
             mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
@@ -2625,6 +3069,24 @@ public class MirCodeGenerator {
                 && ((MirTerminator.Return) block.getTerminator()).getValueLocal() < 0;
     }
 
+    private static boolean isBindingAccess(String methodName) {
+        return "get".equals(methodName) || "set".equals(methodName)
+                || "defineVal".equals(methodName) || "defineVar".equals(methodName);
+    }
+
+    /**
+     * 脚本绑定读写：发射 invokedynamic（NovaBootstrap.bootstrapBinding），
+     * 调用点首次执行时把变量名解析为槽位，之后按槽位访问 NovaScriptContext 的绑定。
+     * 栈上参数与对应的 NovaScriptContext 静态方法相同。
+     */
+    private void emitBindingAccess(MethodVisitor mv, String methodName, String descriptor) {
+        Handle bsm = new Handle(H_INVOKESTATIC,
+                "com/novalang/runtime/NovaBootstrap", "bootstrapBinding",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;",
+                false);
+        mv.visitInvokeDynamicInsn(methodName, descriptor, bsm);
+    }
+
     /**
      * 加载方法参数，根据描述符中的参数类型自动拆箱原始类型。
      * @param startIdx operands 中参数开始的索引（virtual/interface 为 1，static 为 0）
@@ -2644,8 +3106,20 @@ public class MirCodeGenerator {
                         unboxForType(mv, paramTypes[paramIdx]);
                     }
                 }
+            } else if (isWideLocal(operands[i]) && paramIdx < paramTypes.length) {
+                // long/double 局部变量：按目标参数类型直接转换，避免装箱
+                switch (paramTypes[paramIdx].getSort()) {
+                    case Type.INT: loadInt(mv, operands[i]); break;
+                    case Type.LONG: unboxLong(mv, operands[i]); break;
+                    case Type.DOUBLE: unboxDouble(mv, operands[i]); break;
+                    case Type.FLOAT: unboxFloat(mv, operands[i]); break;
+                    default:
+                        loadObject(mv, operands[i]);
+                        unboxForType(mv, paramTypes[paramIdx]);
+                        break;
+                }
             } else {
-                mv.visitVarInsn(ALOAD, operands[i]);
+                loadObject(mv, operands[i]);
                 if (paramIdx < paramTypes.length) {
                     unboxForType(mv, paramTypes[paramIdx]);
                 }
@@ -2875,7 +3349,10 @@ public class MirCodeGenerator {
                     blkLabels.put(block.getId(), new Label());
                 }
                 this.intLocals = identifyIntLocals(mirClinit, true);
+                this.longLocals = new HashMap<>();
+                this.doubleLocals = new HashMap<>();
                 this.stringLocals.clear();
+                this.budgetLocal = -1;
                 for (BasicBlock block : mirClinit.getBlocks()) {
                     mv.visitLabel(blkLabels.get(block.getId()));
                     for (MirInst inst : block.getInstructions()) {
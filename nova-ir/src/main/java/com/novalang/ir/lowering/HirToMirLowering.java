@@ -384,7 +384,7 @@ public class HirToMirLowering {
                 HirFunction hf = (HirFunction) decl;
                 if (!hf.isExtensionFunction()) {
                     topLevelFunctionNames.add(decl.getName());
-                    topLevelFuncDescs.put(decl.getName(), buildHirMethodDescriptor(hf));
+                    topLevelFuncDescs.put(decl.getName(), buildTopLevelMethodDescriptor(hf));
                     topLevelFunctionDecls.put(decl.getName(), hf);
                 }
             } else if (decl instanceof HirClass) {
@@ -1870,7 +1870,7 @@ public class HirToMirLowering {
     }
 
     /**
-     * 提取编译期常量 key（枚举条目名/int/string 字面量）。
+     * 提取编译期常量 key（枚举条目名/int/char/string 字面量）。
      */
     private Object extractConstantKey(Expression expr) {
         if (expr instanceof MemberExpr) {
@@ -1883,13 +1883,14 @@ public class HirToMirLowering {
         if (expr instanceof Literal) {
             Literal lit = (Literal) expr;
             if (lit.getKind() == LiteralKind.INT) return lit.getValue();
+            if (lit.getKind() == LiteralKind.CHAR) return lit.getValue();
             if (lit.getKind() == LiteralKind.STRING) return lit.getValue();
         }
         return null;
     }
 
     /**
-     * 生成 Switch MIR：subject 求值一次，各 case 走 HashMap O(1) 查找。
+     * 生成 Switch MIR：subject 求值一次，各 case 走 HashMap 查找（管线末尾由 SwitchSpecialization 换成跳转表）。
      */
     private int lowerAsSwitch(Expression subject, List<Object[]> cases,
                               Expression elseExpr, MirBuilder builder, SourceLocation loc) {
@@ -1992,9 +1993,33 @@ public class HirToMirLowering {
         if (node.getIterable() instanceof RangeExpr) {
             return lowerForRange(node, (RangeExpr) node.getIterable(), builder);
         }
+        // for (i in a until b)：两端都是 Int 时与 a..<b 相同
+        if (isIntUntilCall(node.getIterable()) && node.getEntries().size() == 1
+                && !node.getEntries().get(0).isNameBased()
+                && node.getEntries().get(0).getLocalName() != null) {
+            HirCall call = (HirCall) node.getIterable();
+            int start = lowerExpr(((MemberExpr) call.getCallee()).getTarget(), builder);
+            int end = lowerExpr(call.getArgs().get(0), builder);
+            Expression endExpr = call.getArgs().get(0);
+            if (isNonNullInt(endExpr.getType())
+                    || builder.getFunction().getLocals().get(end).getType().getKind() == MirType.Kind.INT) {
+                return lowerCountedFor(node, start, end, true, null, builder);
+            }
+            // 右端不是 Int（如 Double 需截断）：保持 until() 的语义
+            int range = builder.emitInvokeStatic(
+                    "com/novalang/runtime/stdlib/NumberExtensions|until|(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                    new int[]{start, end}, MirType.ofObject("java/lang/Object"), loc);
+            return lowerForIterable(node, range, builder);
+        }
 
-        // 通用路径：NovaCollections.toIterable() 桥接 + Iterator 接口
-        int iterable = lowerExpr(node.getIterable(), builder);
+        return lowerForIterable(node, lowerExpr(node.getIterable(), builder), builder);
+    }
+
+    /**
+     * 通用 for-in：NovaCollections.toIterable() 桥接 + Iterator 接口
+     */
+    private int lowerForIterable(ForStmt node, int iterable, MirBuilder builder) {
+        SourceLocation loc = node.getLocation();
         int iterableObj = builder.emitInvokeStatic(
                 "com/novalang/runtime/NovaCollections|toIterable|(Ljava/lang/Object;)Ljava/lang/Iterable;",
                 new int[]{iterable}, MirType.ofObject("java/lang/Iterable"), loc);
@@ -2077,11 +2102,38 @@ public class HirToMirLowering {
      * for (i in start..end) → 计数器循环（无需 iterator）
      */
     private int lowerForRange(ForStmt node, RangeExpr range, MirBuilder builder) {
-        SourceLocation loc = node.getLocation();
-
         // 计算 start 和 end
         int start = lowerExpr(range.getStart(), builder);
         int end = lowerExpr(range.getEnd(), builder);
+        return lowerCountedFor(node, start, end, range.isEndExclusive(),
+                range.hasStep() ? range.getStep() : null, builder);
+    }
+
+    /**
+     * {@code a until b} 中缀调用，两端静态类型都是非空 Int 且未被用户扩展函数覆盖
+     */
+    private boolean isIntUntilCall(Expression expr) {
+        if (!(expr instanceof HirCall)) return false;
+        HirCall call = (HirCall) expr;
+        if (!(call.getCallee() instanceof MemberExpr) || call.getArgs().size() != 1
+                || call.hasNamedArgs() || call.hasSpread() || extensionMethods.containsKey("until")) {
+            return false;
+        }
+        MemberExpr callee = (MemberExpr) call.getCallee();
+        return "until".equals(callee.getMember()) && isNonNullInt(callee.getTarget().getType());
+    }
+
+    private static boolean isNonNullInt(HirType type) {
+        return type instanceof PrimitiveType && !type.isNullable()
+                && ((PrimitiveType) type).getKind() == PrimitiveType.Kind.INT;
+    }
+
+    /**
+     * 计数器循环：loopVar 从 start 开始，每次加 step（默认 1），直到 {@code < end}（exclusive）或 {@code <= end} 不成立
+     */
+    private int lowerCountedFor(ForStmt node, int start, int end, boolean exclusive, Expression step,
+                                MirBuilder builder) {
+        SourceLocation loc = node.getLocation();
 
         // 创建循环变量（INT 类型，避免装箱开销）
         String varName = node.getEntries().get(0).getLocalName();
@@ -2096,7 +2148,7 @@ public class HirToMirLowering {
 
         // header: check loopVar <= end (inclusive) 或 < end (exclusive)
         builder.switchToBlock(headerBlock);
-        BinaryOp cmpOp = range.isEndExclusive() ? BinaryOp.LT : BinaryOp.LE;
+        BinaryOp cmpOp = exclusive ? BinaryOp.LT : BinaryOp.LE;
         int cond = builder.emitBinary(cmpOp, loopVar, end, MirType.ofBoolean(), loc);
         builder.emitBranch(cond, bodyBlock.getId(), exitBlock.getId(), loc);
 
@@ -2121,8 +2173,8 @@ public class HirToMirLowering {
         // 递增循环变量（支持 step）
         builder.switchToBlock(incrBlock);
         int stepVal;
-        if (range.hasStep()) {
-            stepVal = lowerExpr(range.getStep(), builder);
+        if (step != null) {
+            stepVal = lowerExpr(step, builder);
         } else {
             stepVal = builder.emitConstInt(1, loc);
         }
@@ -3398,7 +3450,8 @@ public class HirToMirLowering {
 
         BinaryOp op = mapBinaryOp(expr.getOperator());
         MirType resultType = hirTypeToMir(expr.getType());
-        // 当结果类型为泛型 Object 且两个操作数均为 INT 时，推导结果为 INT
+        // 当结果类型为泛型 Object 且两个操作数均为 INT 时，推导结果为 INT；
+        // 算术运算的操作数均为 INT/LONG/DOUBLE 时，推导为较宽的数值类型
         if (resultType.getKind() == MirType.Kind.OBJECT
                 && "java/lang/Object".equals(resultType.getClassName())) {
             List<MirLocal> locals = builder.getFunction().getLocals();
@@ -3407,11 +3460,25 @@ public class HirToMirLowering {
             if (lt != null && rt != null && lt.getKind() == MirType.Kind.INT
                     && rt.getKind() == MirType.Kind.INT) {
                 resultType = MirType.ofInt();
+            } else if (lt != null && rt != null && isArithmetic(op)
+                    && isWidenableNumeric(lt) && isWidenableNumeric(rt)) {
+                resultType = lt.getKind() == MirType.Kind.DOUBLE || rt.getKind() == MirType.Kind.DOUBLE
+                        ? MirType.ofDouble() : MirType.ofLong();
             }
         }
         return builder.emitBinary(op, left, right, resultType, expr.getLocation());
     }
 
+    private static boolean isArithmetic(BinaryOp op) {
+        return op == BinaryOp.ADD || op == BinaryOp.SUB || op == BinaryOp.MUL
+                || op == BinaryOp.DIV || op == BinaryOp.MOD;
+    }
+
+    private static boolean isWidenableNumeric(MirType type) {
+        MirType.Kind k = type.getKind();
+        return k == MirType.Kind.INT || k == MirType.Kind.LONG || k == MirType.Kind.DOUBLE;
+    }
+
     private static String getOperatorMethodName(BinaryExpr.BinaryOp op) {
         switch (op) {
             case ADD: return "plus";
@@ -4815,6 +4882,10 @@ public class HirToMirLowering {
                     String desc = buildJavaMethodDescriptor(m);
                     String retDesc = desc.substring(desc.indexOf(')') + 1);
                     MirType retType = descriptorToMirType(retDesc);
+                    if (cls.isInterface()) {
+                        return builder.emitInvokeInterfaceDesc(target, m.getName(), new int[0],
+                                owner, desc, retType, expr.getLocation());
+                    }
                     return builder.emitInvokeVirtualDesc(target, m.getName(), new int[0],
                             owner, desc, retType, expr.getLocation());
                 }
@@ -5665,6 +5736,17 @@ public class HirToMirLowering {
      * 原始类型参数/返回值使用 I/J/D/F/Z，引用类型使用 Ljava/lang/Object;。
      */
     private String buildHirMethodDescriptor(HirFunction func) {
+        return buildHirMethodType(func).toJvmDescriptorIntOnly();
+    }
+
+    /**
+     * 顶层函数描述符：INT/LONG/DOUBLE/BOOLEAN 参数均使用原始类型（静态方法不参与覆写，可完全类型化）。
+     */
+    private String buildTopLevelMethodDescriptor(HirFunction func) {
+        return buildHirMethodType(func).toJvmDescriptorPrimitive();
+    }
+
+    private MethodDescriptor buildHirMethodType(HirFunction func) {
         List<MirType> paramTypes = new ArrayList<>();
         for (HirParam p : func.getParams()) {
             // vararg 参数运行时是 List，描述符用 Object
@@ -5683,7 +5765,7 @@ public class HirToMirLowering {
         } else {
             ret = MirType.ofVoid();
         }
-        return MethodDescriptor.of(paramTypes, ret).toJvmDescriptorIntOnly();
+        return MethodDescriptor.of(paramTypes, ret);
     }
 
     /**
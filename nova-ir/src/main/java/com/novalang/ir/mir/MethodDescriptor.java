@@ -117,6 +117,34 @@ public final class MethodDescriptor {
         return sb.toString();
     }
 
+    /**
+     * 生成类型化 JVM 方法描述符：INT/LONG/DOUBLE/BOOLEAN 参数使用原始描述符，其余使用 Object；
+     * 返回值规则同 {@link #toJvmDescriptorIntOnly()}。用于顶层函数（静态、不参与覆写）。
+     */
+    public String toJvmDescriptorPrimitive() {
+        StringBuilder sb = new StringBuilder("(");
+        for (MirType pt : paramTypes) {
+            switch (pt.getKind()) {
+                case INT: case LONG: case DOUBLE: case BOOLEAN:
+                    sb.append(pt.getDescriptor());
+                    break;
+                default:
+                    sb.append(OBJECT_DESC);
+                    break;
+            }
+        }
+        sb.append(')');
+        MirType.Kind retKind = returnType.getKind();
+        if (retKind == MirType.Kind.VOID) {
+            sb.append(VOID_DESC);
+        } else if (returnType.isPrimitive()) {
+            sb.append(returnType.getDescriptor());
+        } else {
+            sb.append(OBJECT_DESC);
+        }
+        return sb.toString();
+    }
+
     /**
      * 生成全 Object 参数的描述符，返回类型根据 MirType 决定（VOID→V，否则→Object）。
      * 对应 MirCodeGenerator.buildMethodDescriptor() 的逻辑。
@@ -3,12 +3,9 @@ package com.novalang.ir.mir;
 import com.novalang.compiler.ast.Modifier;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -44,10 +41,12 @@ public class MirFunction {
     private List<com.novalang.ir.hir.HirAnnotation> hirAnnotations = Collections.emptyList();
     /** 是否缓存（@memoize） */
     private boolean memoized;
-    /** ????? */
-    private transient Map<Object, Object> memoCache;
-    /** int ??? memo cache??? HashMap ???? */
-    private transient IntMemoCache intMemoCache;
+    /** @memoized 结果缓存（由运行时创建；子解释器共享同一 MirFunction 时共享缓存） */
+    private transient volatile MemoStore memoStore;
+    /** 分层执行状态（由运行时挂载：调用计数与编译后的入口），null 表示不参与分层 */
+    private transient volatile Object tierState;
+    /** 链接后的紧凑执行形式（由解释器惰性构建），块/指令被修改后随 blockArr 一起失效 */
+    private transient volatile Object linkedCode;
 
     /** try-catch 异常表条目 */
     public static class TryCatchEntry {
@@ -116,150 +115,40 @@ public class MirFunction {
 
     public boolean isMemoized() { return memoized; }
     public void setMemoized(boolean memoized) { this.memoized = memoized; }
-    /** @memoized 缓存上限 */
-    private static final int MEMO_MAX_SIZE = 4096;
-
-    public Map<Object, Object> getMemoCache() {
-        if (memoCache == null) {
-            // synchronizedMap 包装：access-order LinkedHashMap 的 get() 会修改链表，
-            // 子解释器共享 MirFunction 时需要线程安全保护
-            memoCache = java.util.Collections.synchronizedMap(
-                new LinkedHashMap<Object, Object>(64, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
-                        return size() > MEMO_MAX_SIZE;
-                    }
-                });
-        }
-        return memoCache;
-    }
-    public Object getIntMemoized(int key) {
-        return intMemoCache != null ? intMemoCache.get(key) : null;
-    }
-    public void putIntMemoized(int key, Object value) {
-        if (value == null) return;
-        if (intMemoCache == null) intMemoCache = new IntMemoCache();
-        intMemoCache.put(key, value);
-    }
-    public void clearMemoCaches() {
-        if (memoCache != null) memoCache.clear();
-        if (intMemoCache != null) intMemoCache.clear();
-    }
-
-    private static final class IntMemoCache {
-        private static final int DENSE_MIN = 0;
-        private static final int DENSE_MAX = 1024;
-        private static final int DENSE_SIZE = DENSE_MAX - DENSE_MIN + 1;
-
-        private final Object[] denseValues = new Object[DENSE_SIZE];
-        private final int[] denseTouched = new int[DENSE_SIZE];
-        private int denseTouchedCount;
-
-        private int[] overflowKeys = new int[16];
-        private Object[] overflowValues = new Object[16];
-        private int[] overflowTouched = new int[16];
-        private int overflowTouchedCount;
-        private int overflowSize;
-
-        Object get(int key) {
-            if (key >= DENSE_MIN && key <= DENSE_MAX) {
-                return denseValues[key - DENSE_MIN];
-            }
-            Object[] values = overflowValues;
-            int mask = values.length - 1;
-            int slot = mix(key) & mask;
-            while (true) {
-                Object value = values[slot];
-                if (value == null) {
-                    return null;
-                }
-                if (overflowKeys[slot] == key) {
-                    return value;
-                }
-                slot = (slot + 1) & mask;
-            }
-        }
-
-        void put(int key, Object value) {
-            if (key >= DENSE_MIN && key <= DENSE_MAX) {
-                int idx = key - DENSE_MIN;
-                if (denseValues[idx] == null) {
-                    denseTouched[denseTouchedCount++] = idx;
+    /**
+     * @memoized 缓存的运行时实现。nova-ir 只负责持有和清空，具体结构（容量、淘汰策略、统计）由运行时决定。
+     */
+    public interface MemoStore {
+        void clear();
+    }
+
+    public MemoStore getMemoStore() { return memoStore; }
+
+    /** 获取缓存，不存在时用 factory 创建；并发首次调用时只有一个实例生效 */
+    public MemoStore getOrCreateMemoStore(java.util.function.Supplier<? extends MemoStore> factory) {
+        MemoStore store = memoStore;
+        if (store == null) {
+            synchronized (this) {
+                store = memoStore;
+                if (store == null) {
+                    store = factory.get();
+                    memoStore = store;
                 }
-                denseValues[idx] = value;
-                return;
             }
-            ensureOverflowCapacity();
-            insertOverflow(key, value);
-        }
-
-        void clear() {
-            for (int i = 0; i < denseTouchedCount; i++) {
-                denseValues[denseTouched[i]] = null;
-            }
-            denseTouchedCount = 0;
-            for (int i = 0; i < overflowTouchedCount; i++) {
-                overflowValues[overflowTouched[i]] = null;
-            }
-            overflowTouchedCount = 0;
-            overflowSize = 0;
         }
+        return store;
+    }
 
-        private void ensureOverflowCapacity() {
-            if ((overflowSize + 1) * 2 < overflowValues.length) {
-                return;
-            }
-            int[] oldKeys = overflowKeys;
-            Object[] oldValues = overflowValues;
-            int[] oldTouched = overflowTouched;
-            int oldTouchedCount = overflowTouchedCount;
-            overflowKeys = new int[oldValues.length << 1];
-            overflowValues = new Object[oldValues.length << 1];
-            overflowTouched = new int[overflowValues.length];
-            overflowTouchedCount = 0;
-            overflowSize = 0;
-            for (int i = 0; i < oldTouchedCount; i++) {
-                int slot = oldTouched[i];
-                Object value = oldValues[slot];
-                if (value != null) {
-                    insertOverflow(oldKeys[slot], value);
-                }
-            }
-        }
+    public void clearMemoCaches() {
+        MemoStore store = memoStore;
+        if (store != null) store.clear();
+    }
 
-        private void insertOverflow(int key, Object value) {
-            int mask = overflowValues.length - 1;
-            int slot = mix(key) & mask;
-            while (true) {
-                Object existing = overflowValues[slot];
-                if (existing == null) {
-                    overflowKeys[slot] = key;
-                    overflowValues[slot] = value;
-                    if (overflowTouchedCount == overflowTouched.length) {
-                        overflowTouched = Arrays.copyOf(overflowTouched, overflowTouched.length << 1);
-                    }
-                    overflowTouched[overflowTouchedCount++] = slot;
-                    overflowSize++;
-                    return;
-                }
-                if (overflowKeys[slot] == key) {
-                    overflowValues[slot] = value;
-                    return;
-                }
-                slot = (slot + 1) & mask;
-            }
-        }
+    public Object getTierState() { return tierState; }
+    public void setTierState(Object state) { this.tierState = state; }
 
-        private static int mix(int key) {
-            int h = key;
-            h ^= (h >>> 16);
-            h *= 0x7feb352d;
-            h ^= (h >>> 15);
-            h *= 0x846ca68b;
-            h ^= (h >>> 16);
-            return h;
-        }
-    }
+    public Object getLinkedCode() { return linkedCode; }
+    public void setLinkedCode(Object code) { this.linkedCode = code; }
 
     public BasicBlock getEntryBlock() {
         return blocks.isEmpty() ? null : blocks.get(0);
@@ -287,6 +176,7 @@ public class MirFunction {
     public void resetBlockArr() {
         this.blockArr = null;
         this.frameSize = -1;
+        this.linkedCode = null;
     }
 
     private void buildBlockArr() {
@@ -26,6 +26,9 @@ public class MirInst {
     /** 特殊标记类型（仅 INVOKE_STATIC 使用，0 = 普通调用） */
     public byte specialKind;
 
+    /** INDEX_GET 下标已证明落在 [0, size) 内（{@code BoundsCheckElimination} 设置） */
+    public boolean inBounds;
+
     /** CONST_INT 预拆箱值，避免运行时 Integer → int 拆箱 */
     public int extraInt;
 
@@ -70,6 +73,7 @@ public class MirInst {
             }
         }
         if (extra != null) sb.append(" [").append(extra).append(']');
+        if (inBounds) sb.append(" inBounds");
         return sb.toString();
     }
 }
@@ -123,6 +123,8 @@ public abstract class MirTerminator {
         private final int key;
         private final Map<Object, Integer> cases;
         private final int defaultBlock;
+        /** 预计算跳转表，由 SwitchSpecialization 在管线末尾填入（null = 通用 HashMap 查找） */
+        private SwitchTable table;
 
         public Switch(SourceLocation location, int key, Map<Object, Integer> cases, int defaultBlock) {
             super(location);
@@ -134,10 +136,13 @@ public abstract class MirTerminator {
         public int getKey() { return key; }
         public Map<Object, Integer> getCases() { return cases; }
         public int getDefaultBlock() { return defaultBlock; }
+        public SwitchTable getTable() { return table; }
+        public void setTable(SwitchTable table) { this.table = table; }
 
         @Override
         public String toString() {
-            return "switch %" + key + " cases=" + cases.size() + " default=B" + defaultBlock;
+            return "switch %" + key + " cases=" + cases.size() + " default=B" + defaultBlock
+                    + (table != null ? " table=" + table : "");
         }
     }
 
@@ -0,0 +1,255 @@
+package com.novalang.ir.mir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link MirTerminator.Switch} 的预计算跳转表。
+ *
+ * <p>按 case key 的种类分类：</p>
+ * <ul>
+ *   <li>DENSE_INT：整数 key 足够稠密，数组下标直接取目标块（字节码 tableswitch）</li>
+ *   <li>SPARSE_INT：整数 key 稀疏，有序 key 上二分查找（字节码 lookupswitch）</li>
+ *   <li>CHAR：字符 key，按码点走与整数相同的稠密/稀疏表</li>
+ *   <li>ENUM：枚举条目名且能唯一对应到模块内某个枚举类，按 ordinal 下标取目标块，
+ *       其余值回退到名称哈希表</li>
+ *   <li>STRING：字符串 key，字符串哈希上的完美哈希 + equals 校验</li>
+ * </ul>
+ *
+ * <p>查表结果与原 {@code cases} 映射的语义完全一致，未命中时返回默认块。</p>
+ */
+public final class SwitchTable {
+
+    public enum Kind {
+        DENSE_INT,
+        SPARSE_INT,
+        CHAR,
+        ENUM,
+        STRING
+    }
+
+    /** 完美哈希表最多放大到 key 数的倍数 */
+    private static final int MAX_HASH_SCALE = 8;
+
+    public final Kind kind;
+    public final int defaultBlock;
+
+    /** 整数 / 字符：有序 key 与对应目标块 */
+    public final int[] keys;
+    public final int[] targets;
+    /** 稠密表：下标 = key - low（未命中填默认块）；稀疏时为 null */
+    public final int low;
+    public final int[] dense;
+
+    /** 字符串 / 枚举名：互不相同的哈希值（升序），及每个哈希值下的 key 与目标块 */
+    public final int[] hashes;
+    public final String[][] hashKeys;
+    public final int[][] hashTargets;
+    /** 完美哈希槽：下标 = spread(hash) & (长度 - 1)；找不到无冲突尺寸时为 null */
+    private final String[] slotKeys;
+    private final int[] slotTargets;
+
+    /** 枚举：类名、按 ordinal 排列的条目名及目标块 */
+    public final String enumClass;
+    public final String[] enumNames;
+    public final int[] ordinalTargets;
+
+    private SwitchTable(Kind kind, int defaultBlock, int[] keys, int[] targets, int low, int[] dense,
+                        int[] hashes, String[][] hashKeys, int[][] hashTargets,
+                        String[] slotKeys, int[] slotTargets,
+                        String enumClass, String[] enumNames, int[] ordinalTargets) {
+        this.kind = kind;
+        this.defaultBlock = defaultBlock;
+        this.keys = keys;
+        this.targets = targets;
+        this.low = low;
+        this.dense = dense;
+        this.hashes = hashes;
+        this.hashKeys = hashKeys;
+        this.hashTargets = hashTargets;
+        this.slotKeys = slotKeys;
+        this.slotTargets = slotTargets;
+        this.enumClass = enumClass;
+        this.enumNames = enumNames;
+        this.ordinalTargets = ordinalTargets;
+    }
+
+    /**
+     * 为 case 映射构建跳转表。
+     *
+     * @param enumClass 枚举 switch 对应的枚举类（无则为 null）
+     * @param enumNames 该枚举按 ordinal 排列的条目名（无则为 null）
+     * @return key 类型混杂或含 null 时返回 null（保留通用查找）
+     */
+    public static SwitchTable build(Map<Object, Integer> cases, int defaultBlock,
+                                    String enumClass, String[] enumNames) {
+        if (cases.isEmpty()) return null;
+        Class<?> keyType = null;
+        for (Object key : cases.keySet()) {
+            if (key == null) return null;
+            if (keyType == null) keyType = key.getClass();
+            else if (keyType != key.getClass()) return null;
+        }
+        if (keyType == Integer.class || keyType == Character.class) {
+            return buildInt(cases, defaultBlock, keyType == Character.class);
+        }
+        if (keyType == String.class) {
+            return buildString(cases, defaultBlock, enumClass, enumNames);
+        }
+        return null;
+    }
+
+    private static SwitchTable buildInt(Map<Object, Integer> cases, int defaultBlock, boolean chars) {
+        TreeMap<Integer, Integer> sorted = new TreeMap<>();
+        for (Map.Entry<Object, Integer> e : cases.entrySet()) {
+            Object key = e.getKey();
+            sorted.put(chars ? (int) (Character) key : (Integer) key, e.getValue());
+        }
+        int n = sorted.size();
+        int[] keys = new int[n];
+        int[] targets = new int[n];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> e : sorted.entrySet()) {
+            keys[i] = e.getKey();
+            targets[i] = e.getValue();
+            i++;
+        }
+        int low = keys[0];
+        int[] dense = null;
+        if (isDense(low, keys[n - 1], n)) {
+            dense = new int[keys[n - 1] - low + 1];
+            Arrays.fill(dense, defaultBlock);
+            for (int k = 0; k < n; k++) dense[keys[k] - low] = targets[k];
+        }
+        Kind kind = chars ? Kind.CHAR : dense != null ? Kind.DENSE_INT : Kind.SPARSE_INT;
+        return new SwitchTable(kind, defaultBlock, keys, targets, low, dense,
+                null, null, null, null, null, null, null, null);
+    }
+
+    /** 与 javac 相同的 tableswitch / lookupswitch 代价估算 */
+    private static boolean isDense(int low, int high, int n) {
+        long tableSpace = 4 + ((long) high - low + 1);
+        long tableTime = 3;
+        long lookupSpace = 3 + 2L * n;
+        long lookupTime = n;
+        return tableSpace + 3 * tableTime <= lookupSpace + 3 * lookupTime;
+    }
+
+    private static SwitchTable buildString(Map<Object, Integer> cases, int defaultBlock,
+                                           String enumClass, String[] enumNames) {
+        TreeMap<Integer, List<Map.Entry<Object, Integer>>> byHash = new TreeMap<>();
+        for (Map.Entry<Object, Integer> e : cases.entrySet()) {
+            byHash.computeIfAbsent(e.getKey().hashCode(), h -> new ArrayList<>()).add(e);
+        }
+        int m = byHash.size();
+        int[] hashes = new int[m];
+        String[][] hashKeys = new String[m][];
+        int[][] hashTargets = new int[m][];
+        int i = 0;
+        for (Map.Entry<Integer, List<Map.Entry<Object, Integer>>> bucket : byHash.entrySet()) {
+            List<Map.Entry<Object, Integer>> entries = bucket.getValue();
+            hashes[i] = bucket.getKey();
+            hashKeys[i] = new String[entries.size()];
+            hashTargets[i] = new int[entries.size()];
+            for (int j = 0; j < entries.size(); j++) {
+                hashKeys[i][j] = (String) entries.get(j).getKey();
+                hashTargets[i][j] = entries.get(j).getValue();
+            }
+            i++;
+        }
+
+        // 完美哈希：最小的 2 的幂尺寸，使所有 key 落在不同槽
+        String[] slotKeys = null;
+        int[] slotTargets = null;
+        if (m == cases.size()) {
+            int n = cases.size();
+            for (int size = Integer.highestOneBit(Math.max(n * 2 - 1, 1)) << 1;
+                 size <= MAX_HASH_SCALE * Math.max(n, 2) && slotKeys == null; size <<= 1) {
+                String[] sk = new String[size];
+                int[] st = new int[size];
+                boolean ok = true;
+                for (Map.Entry<Object, Integer> e : cases.entrySet()) {
+                    String key = (String) e.getKey();
+                    int slot = spread(key.hashCode()) & (size - 1);
+                    if (sk[slot] != null) {
+                        ok = false;
+                        break;
+                    }
+                    sk[slot] = key;
+                    st[slot] = e.getValue();
+                }
+                if (ok) {
+                    slotKeys = sk;
+                    slotTargets = st;
+                }
+            }
+        }
+
+        int[] ordinalTargets = null;
+        if (enumClass != null && enumNames != null) {
+            ordinalTargets = new int[enumNames.length];
+            for (int ord = 0; ord < enumNames.length; ord++) {
+                Integer target = cases.get(enumNames[ord]);
+                ordinalTargets[ord] = target != null ? target : defaultBlock;
+            }
+        }
+        return new SwitchTable(ordinalTargets != null ? Kind.ENUM : Kind.STRING, defaultBlock,
+                null, null, 0, null, hashes, hashKeys, hashTargets, slotKeys, slotTargets,
+                ordinalTargets != null ? enumClass : null, ordinalTargets != null ? enumNames : null,
+                ordinalTargets);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    public boolean isIntKeyed() {
+        return kind == Kind.DENSE_INT || kind == Kind.SPARSE_INT || kind == Kind.CHAR;
+    }
+
+    /** 整数 / 字符 key 的目标块 */
+    public int intTarget(int key) {
+        if (dense != null) {
+            int i = key - low;
+            return i >= 0 && i < dense.length ? dense[i] : defaultBlock;
+        }
+        int i = Arrays.binarySearch(keys, key);
+        return i >= 0 ? targets[i] : defaultBlock;
+    }
+
+    /** 字符串 key（或枚举条目名）的目标块 */
+    public int stringTarget(String key) {
+        int h = key.hashCode();
+        if (slotKeys != null) {
+            int slot = spread(h) & (slotKeys.length - 1);
+            String candidate = slotKeys[slot];
+            return candidate != null && candidate.equals(key) ? slotTargets[slot] : defaultBlock;
+        }
+        int i = Arrays.binarySearch(hashes, h);
+        if (i < 0) return defaultBlock;
+        String[] bucket = hashKeys[i];
+        for (int j = 0; j < bucket.length; j++) {
+            if (bucket[j].equals(key)) return hashTargets[i][j];
+        }
+        return defaultBlock;
+    }
+
+    /**
+     * 枚举条目的目标块：ordinal 处的条目名一致时直接按下标取，否则按名称查找。
+     */
+    public int enumTarget(int ordinal, String name) {
+        if (ordinalTargets != null && ordinal >= 0 && ordinal < enumNames.length
+                && enumNames[ordinal].equals(name)) {
+            return ordinalTargets[ordinal];
+        }
+        return stringTarget(name);
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase();
+    }
+}
@@ -15,12 +15,18 @@ import com.novalang.ir.pass.hir.HirConstantFolding;
 import com.novalang.ir.pass.hir.HirDeadCodeElimination;
 import com.novalang.ir.pass.hir.HirInlineExpansion;
 import com.novalang.ir.pass.mir.BlockMerging;
+import com.novalang.ir.pass.mir.BoundsCheckElimination;
 import com.novalang.ir.pass.mir.DeadBlockElimination;
+import com.novalang.ir.pass.mir.EscapeAnalysis;
+import com.novalang.ir.pass.mir.GlobalValueNumbering;
 import com.novalang.ir.pass.mir.LoopDeadStoreElimination;
 import com.novalang.ir.pass.mir.LoopInvariantCodeMotion;
 import com.novalang.ir.pass.mir.StrengthReduction;
+import com.novalang.ir.pass.mir.MirInlining;
 import com.novalang.ir.pass.mir.MirLocalCSE;
 import com.novalang.ir.pass.mir.MirPeepholeOptimization;
+import com.novalang.ir.pass.mir.SparseConditionalConstantPropagation;
+import com.novalang.ir.pass.mir.SwitchSpecialization;
 import com.novalang.ir.pass.mir.TailCallElimination;
 
 import com.novalang.compiler.analysis.AnalysisResult;
@@ -49,6 +55,10 @@ public class PassPipeline {
     private boolean enableSemanticAnalysis = false;
     /** strict 模式：ERROR 级诊断抛异常中止 */
     private boolean strictSemanticMode = false;
+    /** 字节码中织入调用/分配预算计费（开启时跳过内联与逃逸分析，保证每次调用/分配都被计数） */
+    private boolean resourceBudgetChecks = false;
+    /** Int 运算溢出时抛异常而不回绕（分层编译用） */
+    private boolean exactIntArithmetic = false;
 
     public void setScriptMode(boolean scriptMode) {
         this.scriptMode = scriptMode;
@@ -66,6 +76,14 @@ public class PassPipeline {
         this.strictSemanticMode = strict;
     }
 
+    public void setResourceBudgetChecks(boolean enabled) {
+        this.resourceBudgetChecks = enabled;
+    }
+
+    public void setExactIntArithmetic(boolean enabled) {
+        this.exactIntArithmetic = enabled;
+    }
+
     public PassPipeline() {
     }
 
@@ -80,6 +98,10 @@ public class PassPipeline {
         pipeline.addHirPass(new HirDeadCodeElimination());
         // MIR P0
         pipeline.addMirPass(new DeadBlockElimination());
+        pipeline.addMirPass(new MirInlining());
+        pipeline.addMirPass(new EscapeAnalysis());
+        pipeline.addMirPass(new SparseConditionalConstantPropagation());
+        pipeline.addMirPass(new GlobalValueNumbering());
         pipeline.addMirPass(new LoopInvariantCodeMotion());
         pipeline.addMirPass(new LoopDeadStoreElimination());
         pipeline.addMirPass(new TailCallElimination());
@@ -88,6 +110,8 @@ public class PassPipeline {
         pipeline.addMirPass(new MirPeepholeOptimization());
         pipeline.addMirPass(new BlockMerging());
         pipeline.addMirPass(new DeadBlockElimination());  // 清理合并后的不可达块
+        pipeline.addMirPass(new BoundsCheckElimination());
+        pipeline.addMirPass(new SwitchSpecialization());  // 跳转表引用最终块 ID，必须最后
         return pipeline;
     }
 
@@ -155,9 +179,7 @@ public class PassPipeline {
         hir = null; // 释放 HIR，减少内存峰值
 
         // 4. MIR 优化
-        for (MirPass pass : mirPasses) {
-            mir = pass.run(mir);
-        }
+        mir = runMirPasses(mir);
 
         // MIR dump（设置 NOVA_DUMP_MIR=1 环境变量启用）
         if ("1".equals(System.getenv("NOVA_DUMP_MIR"))) {
@@ -167,7 +189,10 @@ public class PassPipeline {
         }
 
         // 5. MIR → 字节码
-        return new MirCodeGenerator().generate(mir);
+        MirCodeGenerator generator = new MirCodeGenerator();
+        generator.setResourceBudgetChecks(resourceBudgetChecks);
+        generator.setExactIntArithmetic(exactIntArithmetic);
+        return generator.generate(mir);
     }
 
     /**
@@ -302,7 +327,16 @@ public class PassPipeline {
         MirModule mir = lowering.lower(hir);
         anonymousClassCounterBase = lowering.getAnonymousClassCounter();
         hir = null; // 释放 HIR
+        return runMirPasses(mir);
+    }
+
+    private MirModule runMirPasses(MirModule mir) {
         for (MirPass pass : mirPasses) {
+            // 内联只服务解释器：字节码后端的小方法由 JVM 内联，且局部变量类型推断以调用边界为前提；
+            // 调用预算按真实调用计费，内联会让被展开的调用不再计数
+            if (pass instanceof MirInlining && (!interpreterMode || resourceBudgetChecks)) continue;
+            // 分配预算同理：标量替换掉的分配不再计数
+            if (pass instanceof EscapeAnalysis && resourceBudgetChecks) continue;
             mir = pass.run(mir);
         }
         return mir;
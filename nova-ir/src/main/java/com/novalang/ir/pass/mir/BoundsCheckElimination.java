@@ -0,0 +1,294 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * 下标越界检查消除（Bounds-Check Elimination），基于 {@link MirSsa}。
+ * <p>
+ * 对每条 INDEX_GET 证明下标 {@code i} 满足 {@code 0 <= i < size(target)} 时置
+ * {@link MirInst#inBounds}，解释器与字节码生成器据此走无负下标归一化、无类型分派的直读路径：
+ * <ul>
+ *   <li>上界：沿支配树向上找从唯一前驱进入的分支边，条件为 {@code i < n} / {@code i <= n - 1}
+ *       （或其在 else 边上的否定 {@code i >= n} / {@code i > n - 1}），且 {@code n} 是对同一
+ *       target 调用 {@code size}/{@code length} 的结果</li>
+ *   <li>下界：归纳变量的范围分析 —— 非负常量、非负值的 MOVE、{@code +1} 递增
+ *       （递增点被 {@code i < x} 支配，不会溢出），循环头 phi 的所有入边都非负</li>
+ * </ul>
+ * 典型命中 {@code for (i in 0..<list.size)} / {@code for (i in 0 until arr.size)} 以及同形的 while 循环。
+ * 标记只是性能提示：直读路径仍由 Java 自身的数组/List 检查兜底，循环内缩短集合不会读到越界数据。
+ * <p>
+ * 标记字段不随指令复制传播，必须在所有会重建 INDEX_GET 的 pass 之后运行。
+ */
+public class BoundsCheckElimination implements MirPass {
+
+    @Override
+    public String getName() {
+        return "BoundsCheckElimination";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        for (MirClass cls : module.getClasses()) {
+            for (MirFunction method : cls.getMethods()) optimizeFunction(method);
+        }
+        for (MirFunction func : module.getTopLevelFunctions()) optimizeFunction(func);
+        return module;
+    }
+
+    private void optimizeFunction(MirFunction func) {
+        if (!hasIndexGet(func)) return;
+        MirSsa ssa = MirSsa.build(func);
+        if (ssa == null) return;
+        Analysis analysis = new Analysis(ssa);
+        for (int b = 0; b < ssa.getBlockCount(); b++) {
+            List<MirInst> insts = ssa.block(b).getInstructions();
+            for (int k = 0; k < insts.size(); k++) {
+                MirInst inst = insts.get(k);
+                if (inst.getOp() != MirOp.INDEX_GET || inst.inBounds) continue;
+                int[] uses = ssa.uses(b, k);
+                int target = analysis.canon(uses[0]);
+                int index = analysis.canon(uses[1]);
+                if (analysis.belowLength(b, index, target) && analysis.nonNegative(index)) {
+                    inst.inBounds = true;
+                }
+            }
+        }
+    }
+
+    private static boolean hasIndexGet(MirFunction func) {
+        for (BasicBlock block : func.getBlocks()) {
+            for (MirInst inst : block.getInstructions()) {
+                if (inst.getOp() == MirOp.INDEX_GET) return true;
+            }
+        }
+        return false;
+    }
+
+    /** 支配分支边上成立的比较：left op right */
+    private static final class Fact {
+        final BinaryOp op;
+        final int left;
+        final int right;
+
+        Fact(BinaryOp op, int left, int right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class Analysis {
+        final MirSsa ssa;
+        /** 块索引 → 从唯一前驱分支边进入时成立的事实（null = 无） */
+        final Fact[] edgeFacts;
+        /** 非负性缓存：0 未知 / 2 是 / 3 否 */
+        final byte[] nonNeg;
+
+        Analysis(MirSsa ssa) {
+            this.ssa = ssa;
+            this.edgeFacts = new Fact[ssa.getBlockCount()];
+            this.nonNeg = new byte[ssa.getValueCount()];
+            for (int b = 0; b < ssa.getBlockCount(); b++) edgeFacts[b] = edgeFact(b);
+        }
+
+        /** 穿过 MOVE 链找到值的来源 */
+        int canon(int v) {
+            for (int guard = 0; guard < 64; guard++) {
+                MirInst def = ssa.valueInst(v);
+                if (def == null || def.getOp() != MirOp.MOVE) return v;
+                v = ssa.uses(ssa.valueBlock(v), ssa.valueIndex(v))[0];
+            }
+            return v;
+        }
+
+        private Fact edgeFact(int b) {
+            int[] preds = ssa.preds(b);
+            if (preds.length != 1 || preds[0] == MirSsa.START) return null;
+            int p = preds[0];
+            MirTerminator term = ssa.block(p).getTerminator();
+            if (!(term instanceof MirTerminator.Branch)) return null;
+            MirTerminator.Branch br = (MirTerminator.Branch) term;
+            int id = ssa.block(b).getId();
+            if (br.getThenBlock() == br.getElseBlock()) return null;
+            boolean taken = br.getThenBlock() == id;
+            if (!taken && br.getElseBlock() != id) return null;
+
+            BinaryOp op;
+            int left, right;
+            int[] termUses = ssa.termUses(p);
+            if (br.getFusedCmpOp() != null) {
+                op = br.getFusedCmpOp();
+                left = termUses[0];
+                right = termUses[1];
+            } else {
+                MirInst cmp = ssa.valueInst(canon(termUses[0]));
+                if (cmp == null || cmp.getOp() != MirOp.BINARY || !(cmp.getExtra() instanceof BinaryOp)) return null;
+                int cv = canon(termUses[0]);
+                int[] cmpUses = ssa.uses(ssa.valueBlock(cv), ssa.valueIndex(cv));
+                op = (BinaryOp) cmp.getExtra();
+                left = cmpUses[0];
+                right = cmpUses[1];
+            }
+            if (!taken) op = negate(op);
+            if (op == null) return null;
+            // 统一成 left < right 或 left <= right
+            if (op == BinaryOp.GT) return new Fact(BinaryOp.LT, canon(right), canon(left));
+            if (op == BinaryOp.GE) return new Fact(BinaryOp.LE, canon(right), canon(left));
+            if (op == BinaryOp.LT || op == BinaryOp.LE) return new Fact(op, canon(left), canon(right));
+            return null;
+        }
+
+        private static BinaryOp negate(BinaryOp op) {
+            switch (op) {
+                case LT: return BinaryOp.GE;
+                case LE: return BinaryOp.GT;
+                case GT: return BinaryOp.LE;
+                case GE: return BinaryOp.LT;
+                default: return null;
+            }
+        }
+
+        /** 在块 b 处是否有支配事实 index < size(target) */
+        boolean belowLength(int b, int index, int target) {
+            for (int d = b; d >= 0; d = ssa.idom(d)) {
+                Fact f = edgeFacts[d];
+                if (f != null && f.left == index) {
+                    if (f.op == BinaryOp.LT && isLength(f.right, target)) return true;
+                    if (f.op == BinaryOp.LE && isLengthMinusOne(f.right, target)) return true;
+                }
+                if (d == 0) break;
+            }
+            return false;
+        }
+
+        /**
+         * 在块 b 处是否有支配事实 value < 某个 Int 局部变量或长度，或 value <= 长度 - 1（用于证明 +1 不溢出）
+         */
+        boolean boundedAbove(int b, int value) {
+            for (int d = b; d >= 0; d = ssa.idom(d)) {
+                Fact f = edgeFacts[d];
+                if (f != null && f.left == value) {
+                    if (f.op == BinaryOp.LT && (isInt(f.right) || isLength(f.right, -1))) return true;
+                    if (f.op == BinaryOp.LE && isLengthMinusOne(f.right, -1)) return true;
+                }
+                if (d == 0) break;
+            }
+            return false;
+        }
+
+        private boolean isInt(int v) {
+            int local = ssa.valueLocal(v);
+            List<MirLocal> locals = ssa.getFunction().getLocals();
+            return local >= 0 && local < locals.size()
+                    && locals.get(local).getType().getKind() == MirType.Kind.INT;
+        }
+
+        /** v 是否为 target 的 size/length（target < 0 时为任意接收者） */
+        private boolean isLength(int v, int target) {
+            MirInst def = ssa.valueInst(v);
+            if (def == null) return false;
+            int receiver;
+            switch (def.getOp()) {
+                case INVOKE_VIRTUAL:
+                case INVOKE_INTERFACE: {
+                    if (def.getOperands().length != 1 || !(def.getExtra() instanceof String)) return false;
+                    String[] parts = ((String) def.getExtra()).split("\\|");
+                    if (parts.length < 3 || !"()I".equals(parts[2])) return false;
+                    if (!"size".equals(parts[1]) && !"length".equals(parts[1])) return false;
+                    break;
+                }
+                case INVOKE_DYNAMIC: {
+                    if (def.getOperands().length != 1 || !(def.getExtra() instanceof InvokeDynamicInfo)) return false;
+                    InvokeDynamicInfo info = (InvokeDynamicInfo) def.getExtra();
+                    if (!"bootstrapGetMember".equals(info.bootstrapMethod)) return false;
+                    if (!"size".equals(info.methodName) && !"length".equals(info.methodName)) return false;
+                    break;
+                }
+                case GET_FIELD: {
+                    if (def.getOperands().length != 1) return false;
+                    if (!"size".equals(def.getExtra()) && !"length".equals(def.getExtra())) return false;
+                    break;
+                }
+                default:
+                    return false;
+            }
+            receiver = ssa.uses(ssa.valueBlock(v), ssa.valueIndex(v))[0];
+            return target < 0 || canon(receiver) == target;
+        }
+
+        private boolean isLengthMinusOne(int v, int target) {
+            MirInst def = ssa.valueInst(v);
+            if (def == null || def.getOp() != MirOp.BINARY || def.getExtra() != BinaryOp.SUB) return false;
+            int[] uses = ssa.uses(ssa.valueBlock(v), ssa.valueIndex(v));
+            Integer c = intConst(canon(uses[1]));
+            return c != null && c == 1 && isLength(canon(uses[0]), target);
+        }
+
+        private Integer intConst(int v) {
+            MirInst def = ssa.valueInst(v);
+            if (def == null || def.getOp() != MirOp.CONST_INT || !(def.getExtra() instanceof Integer)) return null;
+            return (Integer) def.getExtra();
+        }
+
+        /**
+         * 值是否非负。循环 phi 的回边参数依赖 phi 自身，按乐观假设（进行中视为成立）求解；
+         * 只有顶层查询的结论写入缓存，避免缓存依赖于未证实假设的中间结果。
+         */
+        boolean nonNegative(int v) {
+            if (nonNeg[v] == 2) return true;
+            if (nonNeg[v] == 3) return false;
+            boolean result = visit(v, new BitSet());
+            nonNeg[v] = result ? (byte) 2 : (byte) 3;
+            return result;
+        }
+
+        private boolean visit(int v, BitSet inProgress) {
+            if (nonNeg[v] == 2 || inProgress.get(v)) return true;
+            if (nonNeg[v] == 3 || inProgress.cardinality() > 64) return false;
+            inProgress.set(v);
+            boolean result = computeNonNegative(v, inProgress);
+            inProgress.clear(v);
+            return result;
+        }
+
+        private boolean computeNonNegative(int v, BitSet inProgress) {
+            switch (ssa.valueKind(v)) {
+                case MirSsa.VALUE_PHI: {
+                    int block = ssa.valueBlock(v);
+                    MirSsa.Phi phi = ssa.phis(block)[ssa.valueIndex(v)];
+                    for (int arg : phi.args) {
+                        if (arg < 0 || !visit(canon(arg), inProgress)) return false;
+                    }
+                    return true;
+                }
+                case MirSsa.VALUE_INST: {
+                    MirInst def = ssa.valueInst(v);
+                    int[] uses = ssa.uses(ssa.valueBlock(v), ssa.valueIndex(v));
+                    switch (def.getOp()) {
+                        case CONST_INT: {
+                            Integer c = intConst(v);
+                            return c != null && c >= 0;
+                        }
+                        case MOVE:
+                            return visit(canon(uses[0]), inProgress);
+                        case BINARY: {
+                            if (def.getExtra() != BinaryOp.ADD) return false;
+                            int a = canon(uses[0]), b = canon(uses[1]);
+                            Integer ca = intConst(a), cb = intConst(b);
+                            // x + 1：x 非负且在递增点被 x < n 支配（n 为 Int，故 x + 1 不溢出）
+                            int x = cb != null && cb == 1 ? a : ca != null && ca == 1 ? b : -1;
+                            return x >= 0 && boundedAbove(ssa.valueBlock(v), x) && visit(x, inProgress);
+                        }
+                        default:
+                            return false;
+                    }
+                }
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -31,7 +31,8 @@ public class DeadBlockElimination implements MirPass {
         return module;
     }
 
-    private void eliminateDeadBlocks(MirFunction func) {
+    /** 删除单个函数中从入口不可达的块（其它 pass 改写终结指令后复用） */
+    static void eliminateDeadBlocks(MirFunction func) {
         List<BasicBlock> blocks = func.getBlocks();
         if (blocks.size() <= 1) return;
 
@@ -98,7 +99,7 @@ public class DeadBlockElimination implements MirPass {
         blocks.removeIf(block -> !reachable.contains(block.getId()));
     }
 
-    private List<Integer> getSuccessors(MirTerminator term) {
+    private static List<Integer> getSuccessors(MirTerminator term) {
         if (term == null) return Collections.emptyList();
 
         if (term instanceof MirTerminator.Goto) {
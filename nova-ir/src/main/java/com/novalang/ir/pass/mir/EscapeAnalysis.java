@@ -0,0 +1,715 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.compiler.ast.Modifier;
+import com.novalang.compiler.ast.SourceLocation;
+import com.novalang.ir.hir.ClassKind;
+import com.novalang.ir.hir.HirAnnotation;
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * MIR 逃逸分析与标量替换。
+ * <p>
+ * 在 {@link MirSsa} 视图上找出引用从不离开当前函数的临时对象，把对象拆成每个字段一个局部变量，
+ * 分配与字段读写都变成局部变量之间的 MOVE：
+ * <pre>
+ *   %p = NEW_OBJECT %a, %b [Pt]            %ex = MOVE %a; %ey = MOVE %b
+ *   %t = GET_FIELD %p [x]           →      %t = MOVE %ex
+ *   SET_FIELD %p, %v [y]                   %ey = MOVE %v
+ * </pre>
+ * 可替换的分配：
+ * <ul>
+ *   <li>模块内 final 类（含 Lambda 类）的 NEW_OBJECT：无父类/接口，构造器只把参数或常量写入字段</li>
+ *   <li>内置 Pair / Triple（{@code a to b}、{@code Pair(a, b)}）与 {@code listOf(...)} 创建的元组/列表</li>
+ *   <li>列表字面量 {@code [a, b]}（ArrayList 分配后紧跟的 add 序列）</li>
+ * </ul>
+ * 对象引用只允许出现在字段读写、getter / componentN / 常量下标取值以及复制到其他局部变量的 MOVE 中；
+ * 作为调用实参、返回值、存入其他对象、参与比较或经过 phi 汇合都视为逃逸，保留原分配。
+ * 对象上的方法调用需先由 {@link MirInlining} 展开，展开后只剩字段访问。
+ * <p>
+ * 含 try-catch 的函数与构造器不处理；main 中的具名局部变量执行结束后会导出为全局变量，也视为逃逸。
+ * 开启分配预算计费时由 PassPipeline 跳过本 pass，保证每次分配都被计数。
+ */
+public class EscapeAnalysis implements MirPass {
+
+    /** 单个对象可拆分的字段数上限 */
+    static final int MAX_FIELDS = 8;
+
+    static final String LAMBDA_MARKER = "$Lambda$";
+    private static final String PAIR_OWNER = "com/novalang/runtime/NovaPair";
+    private static final String COLLECTIONS_OWNER = "com/novalang/runtime/NovaCollections";
+    private static final String ARRAY_LIST = "java/util/ArrayList";
+    private static final String BOOTSTRAP_STATIC_INVOKE = "bootstrapStaticInvoke";
+    private static final String BOOTSTRAP_GET_MEMBER = "bootstrapGetMember";
+
+    private static final String[] PAIR_FIELDS = {"first", "second"};
+    private static final String[] TRIPLE_FIELDS = {"first", "second", "third"};
+    private static final String[] TUPLE_GETTERS = {"getFirst", "getSecond", "getThird"};
+
+    /** 读取的是元素个数而非字段 */
+    private static final int SIZE_READ = Integer.MIN_VALUE;
+
+    @Override
+    public String getName() {
+        return "EscapeAnalysis";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        Map<String, Layout> layouts = classLayouts(module);
+        Set<String> moduleNames = new HashSet<>();
+        for (MirFunction f : module.getTopLevelFunctions()) moduleNames.add(f.getName());
+        for (MirClass c : module.getClasses()) moduleNames.add(c.getName());
+
+        for (MirFunction func : module.getTopLevelFunctions()) {
+            new FunctionScope(func, null, "main".equals(func.getName()), layouts, moduleNames).run();
+        }
+        for (MirClass cls : module.getClasses()) {
+            for (MirFunction method : cls.getMethods()) {
+                if (method.getName().startsWith("<")) continue;
+                new FunctionScope(method, cls.getName(), false, layouts, moduleNames).run();
+            }
+        }
+        return module;
+    }
+
+    // ============ 字段布局 ============
+
+    /** 可标量替换对象的字段布局 */
+    static final class Layout {
+        /** 所属类名（内置元组/列表为 null） */
+        final String owner;
+        /** 构造参数个数 */
+        final int arity;
+        final String[] fields;
+        final MirType[] types;
+        /** 可被 SET_FIELD 写入 */
+        final boolean[] mutable;
+        /** private / protected：只有所属类自己的方法可以访问 */
+        final boolean[] hidden;
+        /** 字段初值来源：分配指令的操作数下标，-1 表示取 init 中的常量 */
+        final int[] argIndex;
+        final MirInst[] init;
+        /** componentK → 字段下标（不支持解构时为 null） */
+        final int[] components;
+        /** 支持常量下标 INDEX_GET 与 size */
+        final boolean indexable;
+
+        private Layout(String owner, int arity, String[] fields, MirType[] types, boolean[] mutable,
+                       boolean[] hidden, int[] argIndex, MirInst[] init, int[] components, boolean indexable) {
+            this.owner = owner;
+            this.arity = arity;
+            this.fields = fields;
+            this.types = types;
+            this.mutable = mutable;
+            this.hidden = hidden;
+            this.argIndex = argIndex;
+            this.init = init;
+            this.components = components;
+            this.indexable = indexable;
+        }
+
+        /** 由分配指令的操作数依次初始化、只读的元组或列表 */
+        static Layout sequence(String[] fields, boolean indexable) {
+            int n = fields.length;
+            MirType[] types = new MirType[n];
+            int[] argIndex = new int[n];
+            for (int i = 0; i < n; i++) {
+                types[i] = MirType.ofObject("java/lang/Object");
+                argIndex[i] = i;
+            }
+            return new Layout(null, n, fields, types, new boolean[n], new boolean[n], argIndex,
+                    new MirInst[n], argIndex.clone(), indexable);
+        }
+
+        static Layout list(int size) {
+            String[] fields = new String[size];
+            for (int i = 0; i < size; i++) fields[i] = String.valueOf(i);
+            return sequence(fields, true);
+        }
+
+        int fieldIndex(String name) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(name)) return i;
+            }
+            return -1;
+        }
+    }
+
+    /** 模块内每个可替换类的字段布局（MirInlining 据此判断被内联函数中的分配不会出错） */
+    static Map<String, Layout> classLayouts(MirModule module) {
+        Map<String, Layout> result = new HashMap<>();
+        for (MirClass cls : module.getClasses()) {
+            Layout layout = classLayout(cls);
+            if (layout != null) result.put(cls.getName(), layout);
+        }
+        return result;
+    }
+
+    private static Layout classLayout(MirClass cls) {
+        Set<Modifier> mods = cls.getModifiers();
+        if (cls.getKind() != ClassKind.CLASS || mods.contains(Modifier.OPEN)
+                || mods.contains(Modifier.ABSTRACT) || mods.contains(Modifier.SEALED)) return null;
+        boolean lambda = cls.getName().contains(LAMBDA_MARKER);
+        String superClass = cls.getSuperClass();
+        if (superClass != null && !"java/lang/Object".equals(superClass)) return null;
+        if (!lambda && !cls.getInterfaces().isEmpty()) return null;
+        boolean data = false;
+        if (cls.getHirAnnotations() != null) {
+            for (HirAnnotation ann : cls.getHirAnnotations()) {
+                if (!"data".equals(ann.getName())) return null;
+                data = true;
+            }
+        }
+        List<MirField> fieldList = cls.getFields();
+        int n = fieldList.size();
+        if (n > MAX_FIELDS) return null;
+        for (MirField f : fieldList) {
+            if (f.hasCustomGetter() || f.hasCustomSetter()) return null;
+        }
+
+        MirFunction ctor = null;
+        Set<String> methodNames = new HashSet<>();
+        for (MirFunction m : cls.getMethods()) {
+            String name = m.getName();
+            if ("<clinit>".equals(name)) return null;
+            if ("<init>".equals(name)) {
+                if (ctor != null) return null;
+                ctor = m;
+            }
+            methodNames.add(name);
+        }
+        if (ctor == null || ctor.hasDelegation() || ctor.hasSuperInitArgs()) return null;
+        if (ctor.getBlocks().size() != 1 || !ctor.getTryCatchEntries().isEmpty()) return null;
+        int arity = ctor.getParams().size();
+        for (MirParam p : ctor.getParams()) {
+            if (p.hasDefault()) return null;
+        }
+        BasicBlock body = ctor.getBlocks().get(0);
+        if (body.getTerminator() == null || body.getTerminator().kind != MirTerminator.KIND_RETURN) return null;
+
+        String[] fields = new String[n];
+        MirType[] types = new MirType[n];
+        boolean[] mutable = new boolean[n];
+        boolean[] hidden = new boolean[n];
+        int[] argIndex = new int[n];
+        MirInst[] init = new MirInst[n];
+        boolean[] assigned = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            MirField f = fieldList.get(i);
+            fields[i] = f.getName();
+            types[i] = f.getType();
+            mutable[i] = !f.getModifiers().contains(Modifier.FINAL);
+            hidden[i] = f.getModifiers().contains(Modifier.PRIVATE) || f.getModifiers().contains(Modifier.PROTECTED);
+        }
+
+        // 构造器体：局部变量 0 = this，1..arity = 参数；只允许常量与 this.field = 参数/常量
+        Map<Integer, MirInst> consts = new HashMap<>();
+        for (MirInst inst : body.getInstructions()) {
+            MirOp op = inst.getOp();
+            if (isConst(op)) {
+                if (inst.getDest() <= arity) return null;
+                consts.put(inst.getDest(), inst);
+                continue;
+            }
+            if (op != MirOp.SET_FIELD || inst.operand(0) != 0 || !(inst.getExtra() instanceof String)) return null;
+            int fi = indexOf(fields, (String) inst.getExtra());
+            if (fi < 0 || assigned[fi]) return null;
+            int src = inst.operand(1);
+            if (src >= 1 && src <= arity) {
+                argIndex[fi] = src - 1;
+            } else if (consts.containsKey(src)) {
+                argIndex[fi] = -1;
+                init[fi] = consts.get(src);
+            } else {
+                return null;
+            }
+            assigned[fi] = true;
+        }
+        for (boolean a : assigned) {
+            if (!a) return null;
+        }
+
+        int[] components = null;
+        if (data) {
+            components = new int[arity];
+            for (int k = 0; k < arity; k++) {
+                components[k] = -1;
+                for (int i = 0; i < n; i++) {
+                    if (argIndex[i] == k) components[k] = i;
+                }
+                if (components[k] < 0 || methodNames.contains("component" + (k + 1))) {
+                    components = null;
+                    break;
+                }
+            }
+        }
+        return new Layout(cls.getName(), arity, fields, types, mutable, hidden, argIndex, init, components, false);
+    }
+
+    private static boolean isConst(MirOp op) {
+        switch (op) {
+            case CONST_INT: case CONST_LONG: case CONST_FLOAT: case CONST_DOUBLE:
+            case CONST_STRING: case CONST_BOOL: case CONST_CHAR: case CONST_NULL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    // ============ 单个函数 ============
+
+    /** 一个候选分配及其全部引用点 */
+    private static final class Candidate {
+        final MirInst alloc;
+        /** 列表字面量：分配后依次执行的 add */
+        final boolean builder;
+        Layout layout;
+        final List<MirInst> appends = new ArrayList<>();
+        /** 字段读取指令 → 字段下标（SIZE_READ 表示取元素个数） */
+        final Map<MirInst, Integer> reads = new IdentityHashMap<>();
+        /** 下标待元素个数确定后再校验的读取（列表字面量） */
+        final Map<MirInst, Integer> indexedReads = new IdentityHashMap<>();
+        final Map<MirInst, Integer> writes = new IdentityHashMap<>();
+        final Set<MirInst> aliases = Collections.newSetFromMap(new IdentityHashMap<MirInst, Boolean>());
+
+        Candidate(MirInst alloc, Layout layout, boolean builder) {
+            this.alloc = alloc;
+            this.layout = layout;
+            this.builder = builder;
+        }
+
+        boolean claimed(MirInst inst) {
+            return inst == alloc || reads.containsKey(inst) || indexedReads.containsKey(inst)
+                    || writes.containsKey(inst) || aliases.contains(inst) || appends.contains(inst);
+        }
+    }
+
+    private static final class FunctionScope {
+        final MirFunction func;
+        /** 当前函数所属类（顶层函数为 null），决定能否访问 private 字段 */
+        final String ownerClass;
+        /** main 的具名局部变量会被导出 */
+        final boolean exportsNamed;
+        final Map<String, Layout> layouts;
+        final Set<String> moduleNames;
+        MirSsa ssa;
+        /** 每个 SSA 值的引用点：block << 40 | index << 16 | operand */
+        long[][] sites;
+        /** 被终结指令或 phi 使用的值 */
+        BitSet escaping;
+
+        FunctionScope(MirFunction func, String ownerClass, boolean exportsNamed,
+                      Map<String, Layout> layouts, Set<String> moduleNames) {
+            this.func = func;
+            this.ownerClass = ownerClass;
+            this.exportsNamed = exportsNamed;
+            this.layouts = layouts;
+            this.moduleNames = moduleNames;
+        }
+
+        void run() {
+            if (!hasAllocation()) return;
+            ssa = MirSsa.build(func);
+            if (ssa == null) return;
+            indexUses();
+
+            List<Candidate> accepted = new ArrayList<>();
+            Set<MirInst> claimed = Collections.newSetFromMap(new IdentityHashMap<MirInst, Boolean>());
+            for (int b = 0; b < ssa.getBlockCount(); b++) {
+                List<MirInst> insts = ssa.block(b).getInstructions();
+                for (int k = 0; k < insts.size(); k++) {
+                    Candidate c = recognize(insts.get(k));
+                    if (c == null || !analyze(c, b, k)) continue;
+                    if (overlaps(c, claimed)) continue;
+                    claim(c, claimed);
+                    accepted.add(c);
+                }
+            }
+            if (accepted.isEmpty()) return;
+            Map<MirInst, List<MirInst>> replacements = new IdentityHashMap<>();
+            for (Candidate c : accepted) rewrite(c, replacements);
+            for (BasicBlock block : func.getBlocks()) {
+                List<MirInst> insts = block.getInstructions();
+                boolean touched = false;
+                for (MirInst inst : insts) {
+                    if (replacements.containsKey(inst)) {
+                        touched = true;
+                        break;
+                    }
+                }
+                if (!touched) continue;
+                List<MirInst> out = new ArrayList<>(insts.size());
+                for (MirInst inst : insts) {
+                    List<MirInst> r = replacements.get(inst);
+                    if (r == null) out.add(inst);
+                    else out.addAll(r);
+                }
+                insts.clear();
+                insts.addAll(out);
+            }
+        }
+
+        private boolean hasAllocation() {
+            for (BasicBlock b : func.getBlocks()) {
+                for (MirInst inst : b.getInstructions()) {
+                    switch (inst.getOp()) {
+                        case NEW_OBJECT: case INVOKE_STATIC: case INVOKE_DYNAMIC:
+                            return true;
+                        default:
+                            break;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void indexUses() {
+            int valueCount = ssa.getValueCount();
+            int[] counts = new int[valueCount];
+            escaping = new BitSet(valueCount);
+            int blocks = ssa.getBlockCount();
+            BitSet used = new BitSet(valueCount);
+            for (int b = 0; b < blocks; b++) {
+                int size = ssa.block(b).getInstructions().size();
+                for (int k = 0; k < size; k++) {
+                    for (int v : ssa.uses(b, k)) {
+                        if (v >= 0) {
+                            counts[v]++;
+                            used.set(v);
+                        }
+                    }
+                }
+                for (int v : ssa.termUses(b)) {
+                    if (v >= 0) {
+                        escaping.set(v);
+                        used.set(v);
+                    }
+                }
+            }
+            // 半剪枝 SSA 会在循环头放置无人使用的 phi；只有活跃 phi 的参数才算汇合逃逸
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int b = 0; b < blocks; b++) {
+                    for (MirSsa.Phi phi : ssa.phis(b)) {
+                        if (!used.get(phi.value)) continue;
+                        for (int v : phi.args) {
+                            if (v >= 0 && !escaping.get(v)) {
+                                escaping.set(v);
+                                used.set(v);
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+            sites = new long[valueCount][];
+            for (int v = 0; v < valueCount; v++) sites[v] = new long[counts[v]];
+            Arrays.fill(counts, 0);
+            for (int b = 0; b < blocks; b++) {
+                int size = ssa.block(b).getInstructions().size();
+                for (int k = 0; k < size; k++) {
+                    int[] uses = ssa.uses(b, k);
+                    for (int j = 0; j < uses.length; j++) {
+                        int v = uses[j];
+                        if (v >= 0) sites[v][counts[v]++] = ((long) b << 40) | ((long) k << 16) | j;
+                    }
+                }
+            }
+        }
+
+        /** 指令是可替换的分配时返回候选 */
+        private Candidate recognize(MirInst inst) {
+            int[] ops = inst.getOperands();
+            int argc = ops != null ? ops.length : 0;
+            Object extra = inst.getExtra();
+            if (inst.getDest() < 0) return null;
+            switch (inst.getOp()) {
+                case NEW_OBJECT: {
+                    if (!(extra instanceof String)) return null;
+                    if (ARRAY_LIST.equals(extra) && argc == 0) return new Candidate(inst, null, true);
+                    Layout layout = layouts.get(extra);
+                    return layout != null && layout.arity == argc ? new Candidate(inst, layout, false) : null;
+                }
+                case INVOKE_STATIC:
+                    if (inst.specialKind == MirInst.SK_NORMAL && extra instanceof String
+                            && ((String) extra).startsWith(PAIR_OWNER + "|of|") && argc == 2) {
+                        return new Candidate(inst, Layout.sequence(PAIR_FIELDS, false), false);
+                    }
+                    return null;
+                case INVOKE_DYNAMIC: {
+                    if (!(extra instanceof InvokeDynamicInfo)) return null;
+                    InvokeDynamicInfo info = (InvokeDynamicInfo) extra;
+                    if (!BOOTSTRAP_STATIC_INVOKE.equals(info.bootstrapMethod)
+                            || moduleNames.contains(info.methodName)) return null;
+                    if ("Pair".equals(info.methodName) && argc == 2) {
+                        return new Candidate(inst, Layout.sequence(PAIR_FIELDS, false), false);
+                    }
+                    if ("Triple".equals(info.methodName) && argc == 3) {
+                        return new Candidate(inst, Layout.sequence(TRIPLE_FIELDS, false), false);
+                    }
+                    if ("listOf".equals(info.methodName) && argc > 0 && argc <= MAX_FIELDS) {
+                        return new Candidate(inst, Layout.list(argc), false);
+                    }
+                    return null;
+                }
+                default:
+                    return null;
+            }
+        }
+
+        /** 收集对象引用的全部使用点；出现任何逃逸用法时返回 false */
+        private boolean analyze(Candidate c, int allocBlock, int allocIndex) {
+            Deque<Integer> work = new ArrayDeque<>();
+            BitSet group = new BitSet();
+            int root = ssa.def(allocBlock, allocIndex);
+            if (root < 0) return false;
+            group.set(root);
+            work.add(root);
+            int lastAppend = allocIndex;
+            int firstOtherUse = Integer.MAX_VALUE;
+            while (!work.isEmpty()) {
+                int v = work.poll();
+                if (escaping.get(v)) return false;
+                if (exportsNamed && !func.getLocals().get(ssa.valueLocal(v)).getName().startsWith("$")) return false;
+                for (long site : sites[v]) {
+                    int b = (int) (site >>> 40);
+                    int k = (int) ((site >>> 16) & 0xFFFFFF);
+                    int j = (int) (site & 0xFFFF);
+                    MirInst inst = ssa.block(b).getInstructions().get(k);
+                    // 合法的使用点都只引用对象一次
+                    if (c.claimed(inst)) return false;
+                    if (c.builder && isAppend(inst, j)) {
+                        if (v != root || b != allocBlock || k < allocIndex) return false;
+                        c.appends.add(inst);
+                        lastAppend = Math.max(lastAppend, k);
+                        continue;
+                    }
+                    if (b == allocBlock) firstOtherUse = Math.min(firstOtherUse, k);
+                    if (inst.getOp() == MirOp.MOVE) {
+                        int d = ssa.def(b, k);
+                        if (d < 0) return false;
+                        c.aliases.add(inst);
+                        group.set(d);
+                        work.add(d);
+                        continue;
+                    }
+                    if (!classify(c, inst, b, k, j)) return false;
+                }
+            }
+            if (c.builder) {
+                // add 必须全部发生在其他使用之前，元素个数才是确定的
+                if (c.appends.isEmpty() || c.appends.size() > MAX_FIELDS || firstOtherUse < lastAppend) return false;
+                c.appends.sort(Comparator.comparingInt(inst -> indexIn(allocBlock, inst)));
+                c.layout = Layout.list(c.appends.size());
+            }
+            int n = c.layout.fields.length;
+            for (Map.Entry<MirInst, Integer> e : c.indexedReads.entrySet()) {
+                int idx = e.getValue();
+                if (idx != SIZE_READ && (idx < 0 || idx >= n)) return false;
+                c.reads.put(e.getKey(), idx);
+            }
+            c.indexedReads.clear();
+            return true;
+        }
+
+        private int indexIn(int block, MirInst inst) {
+            List<MirInst> insts = ssa.block(block).getInstructions();
+            for (int i = 0; i < insts.size(); i++) {
+                if (insts.get(i) == inst) return i;
+            }
+            return -1;
+        }
+
+        private boolean isAppend(MirInst inst, int operand) {
+            if (inst.getOp() != MirOp.INVOKE_VIRTUAL || operand != 0 || inst.getOperands().length != 2) return false;
+            Object extra = inst.getExtra();
+            return extra instanceof String && ((String) extra).startsWith(ARRAY_LIST + "|add|");
+        }
+
+        /** 对象作为第 operand 个操作数出现在 inst 中：可识别的字段访问返回 true 并记录 */
+        private boolean classify(Candidate c, MirInst inst, int b, int k, int operand) {
+            if (operand != 0) return false;
+            Layout layout = c.layout;
+            int[] ops = inst.getOperands();
+            Object extra = inst.getExtra();
+            switch (inst.getOp()) {
+                case GET_FIELD: {
+                    if (layout == null || !(extra instanceof String)) return false;
+                    int f = layout.fieldIndex((String) extra);
+                    if (f < 0 || !accessible(layout, f)) return false;
+                    c.reads.put(inst, f);
+                    return true;
+                }
+                case SET_FIELD: {
+                    if (layout == null || !(extra instanceof String) || ops.length != 2) return false;
+                    int f = layout.fieldIndex((String) extra);
+                    if (f < 0 || !layout.mutable[f] || !accessible(layout, f)) return false;
+                    c.writes.put(inst, f);
+                    return true;
+                }
+                case INVOKE_DYNAMIC: {
+                    if (layout == null || ops.length != 1 || !(extra instanceof InvokeDynamicInfo)) return false;
+                    InvokeDynamicInfo info = (InvokeDynamicInfo) extra;
+                    if (!BOOTSTRAP_GET_MEMBER.equals(info.bootstrapMethod)) return false;
+                    int f = layout.fieldIndex(info.methodName);
+                    if (f < 0 || !accessible(layout, f)) return false;
+                    c.reads.put(inst, f);
+                    return true;
+                }
+                case INVOKE_VIRTUAL: {
+                    if (ops.length != 1 || inst.specialKind != MirInst.SK_NORMAL || !(extra instanceof String)) return false;
+                    String[] parts = ((String) extra).split("\\|");
+                    if (parts.length < 2) return false;
+                    String owner = parts[0];
+                    String name = parts[1];
+                    if (c.builder) {
+                        if (!ARRAY_LIST.equals(owner) || !"size".equals(name)) return false;
+                        c.indexedReads.put(inst, SIZE_READ);
+                        return true;
+                    }
+                    if (layout.owner == null && PAIR_OWNER.equals(owner)) {
+                        int g = indexOf(TUPLE_GETTERS, name);
+                        if (g >= 0 && g < layout.fields.length && !layout.indexable) {
+                            c.reads.put(inst, g);
+                            return true;
+                        }
+                    }
+                    boolean ownerMatches = layout.owner != null ? layout.owner.equals(owner) : PAIR_OWNER.equals(owner);
+                    if (!ownerMatches || layout.components == null || !name.startsWith("component")) return false;
+                    int comp;
+                    try {
+                        comp = Integer.parseInt(name.substring("component".length()));
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                    if (comp < 1 || comp > layout.components.length) return false;
+                    c.reads.put(inst, layout.components[comp - 1]);
+                    return true;
+                }
+                case INVOKE_STATIC: {
+                    if (ops.length != 2 || inst.specialKind != MirInst.SK_NORMAL || !(extra instanceof String)
+                            || !((String) extra).startsWith(COLLECTIONS_OWNER + "|componentN|")) return false;
+                    Integer comp = constInt(b, k, 1);
+                    if (comp == null || comp < 1) return false;
+                    if (c.builder) {
+                        c.indexedReads.put(inst, comp - 1);
+                        return true;
+                    }
+                    if (layout.components == null || comp > layout.components.length) return false;
+                    c.reads.put(inst, layout.components[comp - 1]);
+                    return true;
+                }
+                case INDEX_GET: {
+                    if (ops.length != 2 || !(c.builder || layout.indexable)) return false;
+                    Integer idx = constInt(b, k, 1);
+                    if (idx == null) return false;
+                    c.indexedReads.put(inst, idx);
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        }
+
+        private boolean accessible(Layout layout, int field) {
+            return !layout.hidden[field] || (ownerClass != null && ownerClass.equals(layout.owner));
+        }
+
+        /** 第 operand 个操作数在此处的值来自 CONST_INT 时返回该常量 */
+        private Integer constInt(int b, int k, int operand) {
+            int v = ssa.uses(b, k)[operand];
+            if (v < 0 || ssa.valueKind(v) != MirSsa.VALUE_INST) return null;
+            MirInst def = ssa.valueInst(v);
+            return def.getOp() == MirOp.CONST_INT && def.getExtra() instanceof Integer ? (Integer) def.getExtra() : null;
+        }
+
+        private boolean overlaps(Candidate c, Set<MirInst> claimed) {
+            if (claimed.contains(c.alloc)) return true;
+            for (MirInst inst : c.reads.keySet()) if (claimed.contains(inst)) return true;
+            for (MirInst inst : c.writes.keySet()) if (claimed.contains(inst)) return true;
+            for (MirInst inst : c.aliases) if (claimed.contains(inst)) return true;
+            for (MirInst inst : c.appends) if (claimed.contains(inst)) return true;
+            return false;
+        }
+
+        private void claim(Candidate c, Set<MirInst> claimed) {
+            claimed.add(c.alloc);
+            claimed.addAll(c.reads.keySet());
+            claimed.addAll(c.writes.keySet());
+            claimed.addAll(c.aliases);
+            claimed.addAll(c.appends);
+        }
+
+        // ============ 改写 ============
+
+        private void rewrite(Candidate c, Map<MirInst, List<MirInst>> replacements) {
+            Layout layout = c.layout;
+            int n = layout.fields.length;
+            int[] slots = new int[n];
+            for (int i = 0; i < n; i++) {
+                slots[i] = func.newLocal("$esc_" + layout.fields[i], layout.types[i]);
+            }
+
+            MirInst alloc = c.alloc;
+            SourceLocation loc = alloc.getLocation();
+            List<MirInst> init = new ArrayList<>(n);
+            if (c.builder) {
+                for (int i = 0; i < n; i++) {
+                    MirInst add = c.appends.get(i);
+                    List<MirInst> r = new ArrayList<>(2);
+                    r.add(move(slots[i], add.operand(1), add.getLocation()));
+                    if (add.getDest() >= 0) {
+                        r.add(new MirInst(MirOp.CONST_BOOL, add.getDest(), null, true, add.getLocation()));
+                    }
+                    replacements.put(add, r);
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    if (layout.argIndex[i] >= 0) {
+                        init.add(move(slots[i], alloc.operand(layout.argIndex[i]), loc));
+                    } else {
+                        MirInst k = layout.init[i];
+                        init.add(new MirInst(k.getOp(), slots[i], k.getOperands(), k.getExtra(), loc));
+                    }
+                }
+            }
+            replacements.put(alloc, init);
+
+            for (Map.Entry<MirInst, Integer> e : c.reads.entrySet()) {
+                MirInst inst = e.getKey();
+                int dest = inst.getDest();
+                if (dest < 0) {
+                    replacements.put(inst, Collections.<MirInst>emptyList());
+                } else if (e.getValue() == SIZE_READ) {
+                    replacements.put(inst, Collections.singletonList(
+                            new MirInst(MirOp.CONST_INT, dest, null, n, inst.getLocation())));
+                } else {
+                    replacements.put(inst, Collections.singletonList(move(dest, slots[e.getValue()], inst.getLocation())));
+                }
+            }
+            for (Map.Entry<MirInst, Integer> e : c.writes.entrySet()) {
+                MirInst inst = e.getKey();
+                replacements.put(inst, Collections.singletonList(
+                        move(slots[e.getValue()], inst.operand(1), inst.getLocation())));
+            }
+            for (MirInst alias : c.aliases) {
+                replacements.put(alias, Collections.<MirInst>emptyList());
+            }
+        }
+
+        private static MirInst move(int dest, int src, SourceLocation loc) {
+            return new MirInst(MirOp.MOVE, dest, new int[]{src}, null, loc);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * 全局值编号（支配树作用域的 hash-based GVN），基于 {@link MirSsa}。
+ * <p>
+ * 沿支配树先序遍历，为每个 SSA 值分配值号：纯运算（常量、原始类型/字符串上的
+ * BINARY / UNARY、TYPE_CHECK）按 (操作, 附加数据, 结果类型, 操作数值号) 查表，
+ * MOVE 继承源值号，所有实参值号相同的 phi 继承该值号。命中支配者中已计算的等价值时：
+ * <ul>
+ *   <li>临时变量（{@code $} 开头）的读取点改读持有该值的原槽位，原计算随后由窥孔 DCE 删除</li>
+ *   <li>无法全部改读时，将计算本身替换为 MOVE</li>
+ *   <li>分支条件的值号若已被支配它的分支判定（从唯一前驱的 then/else 边进入），直接改写为 Goto</li>
+ * </ul>
+ * 改读前检查目标槽位在该点仍持有 leader 版本且类型描述符一致，保证退出 SSA 无需复制。
+ * 与 LICM 互补：循环不变量外提由 LICM 负责，这里消除跨分支、跨 when 臂的重复判断与计算。
+ */
+public class GlobalValueNumbering implements MirPass {
+
+    @Override
+    public String getName() {
+        return "GlobalValueNumbering";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        for (MirClass cls : module.getClasses()) {
+            for (MirFunction method : cls.getMethods()) optimizeFunction(method);
+        }
+        for (MirFunction func : module.getTopLevelFunctions()) optimizeFunction(func);
+        return module;
+    }
+
+    private void optimizeFunction(MirFunction func) {
+        if (func.hasDelegation() || func.hasSuperInitArgs()) return;
+        MirSsa ssa = MirSsa.build(func);
+        if (ssa == null) return;
+        if (new Numbering(ssa).run()) {
+            DeadBlockElimination.eliminateDeadBlocks(func);
+            func.resetBlockArr();
+        }
+    }
+
+    /** 值号表键 */
+    static final class ExprKey {
+        final MirOp op;
+        final Object extra;
+        final String type;
+        final int[] operands;
+
+        ExprKey(MirOp op, Object extra, String type, int[] operands) {
+            this.op = op;
+            this.extra = extra;
+            this.type = type;
+            this.operands = operands;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((op.hashCode() * 31 + Objects.hashCode(extra)) * 31 + type.hashCode()) * 31
+                    + Arrays.hashCode(operands);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ExprKey)) return false;
+            ExprKey k = (ExprKey) o;
+            return op == k.op && Objects.equals(extra, k.extra) && type.equals(k.type)
+                    && Arrays.equals(operands, k.operands);
+        }
+    }
+
+    private static final class Numbering {
+        final MirSsa ssa;
+        final MirFunction func;
+        final List<MirLocal> locals;
+        /** SSA 值 → 值号 */
+        final int[] vn;
+        /** 值号 → 首个定义它的 SSA 值（-1 表示只来自分支谓词的合成值号） */
+        int[] leader;
+        int vnCount;
+        final Map<ExprKey, Integer> table = new HashMap<>();
+        /** 值号 → 已知布尔结果（支配它的分支边确定） */
+        final Map<Integer, Boolean> known = new HashMap<>();
+        /** 当前遍历点各槽位持有的 SSA 版本 */
+        final int[] current;
+        boolean changed;
+
+        Numbering(MirSsa ssa) {
+            this.ssa = ssa;
+            this.func = ssa.getFunction();
+            this.locals = func.getLocals();
+            int vc = ssa.getValueCount();
+            vn = new int[vc];
+            Arrays.fill(vn, -1);
+            leader = new int[vc + 16];
+            current = new int[ssa.getLocalCount()];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = i;
+                vn[i] = newVn(i);
+            }
+        }
+
+        private int newVn(int value) {
+            if (vnCount == leader.length) leader = Arrays.copyOf(leader, vnCount * 2);
+            leader[vnCount] = value;
+            return vnCount++;
+        }
+
+        boolean run() {
+            // 显式栈的支配树先序遍历；每帧记录进入时的撤销点
+            Deque<int[]> stack = new ArrayDeque<>();
+            List<Object[]> undo = new ArrayList<>();
+            stack.push(new int[]{0, -1, 0});
+            while (!stack.isEmpty()) {
+                int[] frame = stack.peek();
+                int b = frame[0];
+                if (frame[1] < 0) {
+                    frame[1] = 0;
+                    frame[2] = undo.size();
+                    enterPredicate(b, undo);
+                    visitBlock(b, undo);
+                }
+                if (frame[1] < ssa.domChildren(b).length) {
+                    stack.push(new int[]{ssa.domChildren(b)[frame[1]++], -1, 0});
+                } else {
+                    stack.pop();
+                    while (undo.size() > frame[2]) {
+                        Object[] u = undo.remove(undo.size() - 1);
+                        if (u[0] instanceof ExprKey) table.remove(u[0]);
+                        else if (u[0] == known) known.remove(u[1]);
+                        else current[(Integer) u[0]] = (Integer) u[1];
+                    }
+                }
+            }
+            return changed;
+        }
+
+        /** 从唯一前驱的条件分支边进入：该分支条件的值号在本子树内已知 */
+        private void enterPredicate(int b, List<Object[]> undo) {
+            int[] preds = ssa.preds(b);
+            if (preds.length != 1 || preds[0] == MirSsa.START) return;
+            int p = preds[0];
+            MirTerminator term = ssa.block(p).getTerminator();
+            if (!(term instanceof MirTerminator.Branch)) return;
+            MirTerminator.Branch br = (MirTerminator.Branch) term;
+            if (br.getThenBlock() == br.getElseBlock()) return;
+            Integer cond = branchVn(p, br, false);
+            if (cond == null || known.containsKey(cond)) return;
+            known.put(cond, ssa.block(b).getId() == br.getThenBlock());
+            undo.add(new Object[]{known, cond});
+        }
+
+        private void visitBlock(int b, List<Object[]> undo) {
+            for (MirSsa.Phi phi : ssa.phis(b)) {
+                int same = -1;
+                boolean congruent = true;
+                for (int a : phi.args) {
+                    int avn = vn[a];
+                    if (avn < 0 || (same >= 0 && avn != same)) {
+                        congruent = false;
+                        break;
+                    }
+                    same = avn;
+                }
+                vn[phi.value] = congruent && same >= 0 && leader[same] >= 0
+                        && sameType(ssa.valueLocal(leader[same]), phi.local) ? same : newVn(phi.value);
+                setCurrent(phi.local, phi.value, undo);
+            }
+
+            List<MirInst> insts = ssa.block(b).getInstructions();
+            for (int k = 0; k < insts.size(); k++) {
+                int[] uses = ssa.uses(b, k);
+                MirInst inst = rewriteOperands(insts.get(k), uses);
+                insts.set(k, inst);
+                int d = ssa.def(b, k);
+                if (d < 0) continue;
+                int dest = inst.getDest();
+                if (inst.getOp() == MirOp.MOVE && uses[0] >= 0 && sameType(inst.operand(0), dest)) {
+                    vn[d] = vn[uses[0]];
+                } else {
+                    ExprKey key = keyOf(inst, uses);
+                    Integer hit = key != null ? table.get(key) : null;
+                    if (hit != null && leader[hit] < 0) {
+                        // 分支谓词登记的合成值号：首个真实计算成为 leader
+                        vn[d] = hit;
+                        leader[hit] = d;
+                    } else if (hit != null) {
+                        vn[d] = hit;
+                        replaceWithMove(insts, k, inst, hit);
+                    } else {
+                        vn[d] = newVn(d);
+                        if (key != null) {
+                            table.put(key, vn[d]);
+                            undo.add(new Object[]{key});
+                        }
+                    }
+                }
+                setCurrent(dest, d, undo);
+            }
+
+            BasicBlock block = ssa.block(b);
+            MirTerminator term = block.getTerminator();
+            if (term instanceof MirTerminator.Branch) {
+                MirTerminator.Branch br = (MirTerminator.Branch) term;
+                Integer cond = branchVn(b, br, true);
+                Boolean decided = cond != null ? known.get(cond) : null;
+                if (decided != null) {
+                    block.setTerminator(new MirTerminator.Goto(term.getLocation(),
+                            decided ? br.getThenBlock() : br.getElseBlock()));
+                    changed = true;
+                } else if (br.getFusedCmpOp() == null) {
+                    int c = redirect(br.getCondition(), ssa.termUses(b)[0]);
+                    if (c != br.getCondition()) {
+                        block.setTerminator(new MirTerminator.Branch(term.getLocation(), c,
+                                br.getThenBlock(), br.getElseBlock()));
+                        changed = true;
+                    }
+                }
+            } else if (term instanceof MirTerminator.Return) {
+                int v = ((MirTerminator.Return) term).getValueLocal();
+                if (v >= 0) {
+                    int r = redirect(v, ssa.termUses(b)[0]);
+                    if (r != v) {
+                        block.setTerminator(new MirTerminator.Return(term.getLocation(), r));
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 分支条件的值号。融合比较分支按等价 BINARY 查表；create 为 true 时未命中则
+         * 登记一个合成值号，使支配范围内后续相同比较与其共享判定。
+         */
+        private Integer branchVn(int b, MirTerminator.Branch br, boolean create) {
+            int[] tu = ssa.termUses(b);
+            if (br.getFusedCmpOp() == null) {
+                return tu[0] >= 0 && vn[tu[0]] >= 0 ? vn[tu[0]] : null;
+            }
+            if (tu[0] < 0 || tu[1] < 0 || vn[tu[0]] < 0 || vn[tu[1]] < 0) return null;
+            if (!isPrimitiveOrString(br.getFusedLeft()) || !isPrimitiveOrString(br.getFusedRight())) return null;
+            ExprKey key = new ExprKey(MirOp.BINARY, br.getFusedCmpOp(), "Z", new int[]{vn[tu[0]], vn[tu[1]]});
+            Integer hit = table.get(key);
+            if (hit == null && create) {
+                hit = newVn(-1);
+                table.put(key, hit);
+            }
+            return hit;
+        }
+
+        private ExprKey keyOf(MirInst inst, int[] uses) {
+            int[] ops = inst.getOperands();
+            MirOp op = inst.getOp();
+            switch (op) {
+                case CONST_INT:
+                case CONST_LONG:
+                case CONST_FLOAT:
+                case CONST_DOUBLE:
+                case CONST_BOOL:
+                case CONST_CHAR:
+                case CONST_STRING:
+                case CONST_NULL:
+                    return new ExprKey(op, inst.getExtra(), typeOf(inst.getDest()), new int[0]);
+                case MOVE:
+                    return uses[0] >= 0 ? new ExprKey(op, null, typeOf(inst.getDest()), new int[]{vn[uses[0]]}) : null;
+                case BINARY: {
+                    if (!(inst.getExtra() instanceof BinaryOp) || ops == null || ops.length != 2) return null;
+                    if (!isPrimitiveOrString(ops[0]) || !isPrimitiveOrString(ops[1])) return null;
+                    if (uses[0] < 0 || uses[1] < 0) return null;
+                    BinaryOp bop = (BinaryOp) inst.getExtra();
+                    return new ExprKey(op, bop, isComparison(bop) ? "Z" : typeOf(inst.getDest()),
+                            new int[]{vn[uses[0]], vn[uses[1]]});
+                }
+                case UNARY:
+                    if (ops == null || ops.length != 1 || uses[0] < 0 || !isPrimitiveOrString(ops[0])) return null;
+                    return new ExprKey(op, inst.getExtra(), typeOf(inst.getDest()), new int[]{vn[uses[0]]});
+                case TYPE_CHECK:
+                    if (ops == null || ops.length != 1 || uses[0] < 0) return null;
+                    return new ExprKey(op, inst.getExtra(), "Z", new int[]{vn[uses[0]]});
+                default:
+                    return null;
+            }
+        }
+
+        /** 命中已有值号：若 leader 槽位在此仍持有 leader 版本，计算改为 MOVE（常量与 MOVE 本身不替换） */
+        private void replaceWithMove(List<MirInst> insts, int k, MirInst inst, int hit) {
+            if (inst.getOp() == MirOp.MOVE || inst.getOp().name().startsWith("CONST_")) return;
+            int lv = leader[hit];
+            int src = ssa.valueLocal(lv);
+            if (src == inst.getDest() || current[src] != lv || !sameType(src, inst.getDest())) return;
+            insts.set(k, new MirInst(MirOp.MOVE, inst.getDest(), new int[]{src}, null, inst.getLocation()));
+            changed = true;
+        }
+
+        /** 指令读取的临时变量若有等价 leader 仍在槽位中，改读 leader 槽位（操作数数组可能被共享，复制后替换） */
+        private MirInst rewriteOperands(MirInst inst, int[] uses) {
+            int[] ops = inst.getOperands();
+            if (ops == null) return inst;
+            int[] out = null;
+            for (int i = 0; i < ops.length; i++) {
+                if (uses[i] < 0) continue;
+                int r = redirect(ops[i], uses[i]);
+                if (r != ops[i]) {
+                    if (out == null) out = ops.clone();
+                    out[i] = r;
+                }
+            }
+            if (out == null) return inst;
+            changed = true;
+            MirInst copy = new MirInst(inst.getOp(), inst.getDest(), out, inst.getExtra(), inst.getLocation());
+            copy.specialKind = inst.specialKind;
+            return copy;
+        }
+
+        private int redirect(int local, int value) {
+            if (!isTemp(local) || vn[value] < 0) return local;
+            int lv = leader[vn[value]];
+            if (lv < 0 || lv == value) return local;
+            int src = ssa.valueLocal(lv);
+            if (src == local || current[src] != lv || !sameType(src, local)) return local;
+            return src;
+        }
+
+        private void setCurrent(int local, int value, List<Object[]> undo) {
+            undo.add(new Object[]{local, current[local]});
+            current[local] = value;
+        }
+
+        private boolean isTemp(int local) {
+            return local >= 0 && local < locals.size() && locals.get(local).getName().startsWith("$");
+        }
+
+        private String typeOf(int local) {
+            return local >= 0 && local < locals.size() ? locals.get(local).getType().getDescriptor() : "?";
+        }
+
+        private boolean sameType(int a, int b) {
+            String ta = typeOf(a);
+            return !"?".equals(ta) && ta.equals(typeOf(b));
+        }
+
+        private boolean isPrimitiveOrString(int local) {
+            if (local < 0 || local >= locals.size()) return false;
+            MirType t = locals.get(local).getType();
+            return t.isPrimitive()
+                    || (t.getKind() == MirType.Kind.OBJECT && "java/lang/String".equals(t.getClassName()));
+        }
+    }
+
+    private static boolean isComparison(BinaryOp op) {
+        switch (op) {
+            case EQ: case NE: case LT: case LE: case GT: case GE:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
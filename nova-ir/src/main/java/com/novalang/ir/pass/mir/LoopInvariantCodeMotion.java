@@ -11,6 +11,11 @@ import java.util.*;
  * 识别循环中不依赖循环变量的纯计算指令，将其提升到循环前的 pre-header 块中，
  * 避免在每次迭代中重复计算。
  * <p>
+ * 循环体只读不写（无调用、字段/下标写入等副作用）时，额外提升读取内存的不变量：
+ * 集合/字符串的 {@code size()} / {@code length()} / {@code isEmpty()}、数组长度以及不变下标的 INDEX_GET。
+ * 这些指令可能抛异常（空接收者、越界），只从循环头提升 —— 循环头在每次进入循环时必然执行，
+ * 提前执行不会引入原本不存在的异常。{@code java/lang/Math} 的静态方法无副作用且不抛异常，按纯计算处理。
+ * <p>
  * 内部使用数组索引 + BitSet 替代 HashMap/HashSet，消除 Integer 装箱开销。
  */
 public class LoopInvariantCodeMotion implements MirPass {
@@ -227,6 +232,17 @@ public class LoopInvariantCodeMotion implements MirPass {
         // 2. 循环体内定义的所有局部变量
         Set<Integer> loopDefs = defCount.keySet();
 
+        // 只读循环：可以提升循环头中的内存读取
+        boolean readOnly = true;
+        for (int idx = body.nextSetBit(0); idx >= 0 && readOnly; idx = body.nextSetBit(idx + 1)) {
+            for (MirInst inst : blocks.get(idx).getInstructions()) {
+                if (!isPure(inst) && !isReadOnly(inst)) {
+                    readOnly = false;
+                    break;
+                }
+            }
+        }
+
         // 3. 迭代标记不变量（fixed-point）
         Set<MirInst> invariants = new LinkedHashSet<>();
         Set<Integer> invariantDests = new HashSet<>();
@@ -234,9 +250,10 @@ public class LoopInvariantCodeMotion implements MirPass {
         while (changed) {
             changed = false;
             for (int idx = body.nextSetBit(0); idx >= 0; idx = body.nextSetBit(idx + 1)) {
+                boolean hoistReads = readOnly && idx == loop.headerIdx;
                 for (MirInst inst : blocks.get(idx).getInstructions()) {
                     if (invariants.contains(inst)) continue;
-                    if (!isPure(inst.getOp())) continue;
+                    if (!isPure(inst) && !(hoistReads && isReadOnly(inst))) continue;
                     if (inst.getDest() < 0) continue;
 
                     Integer count = defCount.get(inst.getDest());
@@ -290,6 +307,42 @@ public class LoopInvariantCodeMotion implements MirPass {
         return true;
     }
 
+    private boolean isPure(MirInst inst) {
+        if (inst.getOp() == MirOp.INVOKE_STATIC) {
+            return inst.getExtra() instanceof String && ((String) inst.getExtra()).startsWith("java/lang/Math|");
+        }
+        return isPure(inst.getOp());
+    }
+
+    /**
+     * 只读取内存、无副作用的指令（可能抛异常）
+     */
+    private boolean isReadOnly(MirInst inst) {
+        switch (inst.getOp()) {
+            case INDEX_GET:
+                return true;
+            case GET_FIELD:
+                // 数组长度
+                return "length".equals(inst.getExtra()) || "size".equals(inst.getExtra());
+            case INVOKE_VIRTUAL:
+            case INVOKE_INTERFACE: {
+                if (inst.getOperands().length != 1 || !(inst.getExtra() instanceof String)) return false;
+                String extra = (String) inst.getExtra();
+                int bar = extra.indexOf('|');
+                if (bar < 0 || !PURE_ACCESSOR_OWNERS.contains(extra.substring(0, bar))) return false;
+                String rest = extra.substring(bar + 1);
+                return rest.equals("size|()I") || rest.equals("length|()I") || rest.equals("isEmpty|()Z");
+            }
+            default:
+                return false;
+        }
+    }
+
+    /** size/length/isEmpty 无副作用的 JDK 类型 */
+    private static final Set<String> PURE_ACCESSOR_OWNERS = new HashSet<>(Arrays.asList(
+            "java/util/List", "java/util/ArrayList", "java/util/Collection", "java/util/Set",
+            "java/util/Map", "java/lang/String", "java/lang/CharSequence"));
+
     private boolean isPure(MirOp op) {
         switch (op) {
             case CONST_INT:
@@ -0,0 +1,722 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.compiler.ast.Modifier;
+import com.novalang.compiler.ast.SourceLocation;
+import com.novalang.ir.hir.ClassKind;
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * MIR 函数内联。
+ * <p>
+ * 把小的模块内顶层函数（INVOKE_STATIC "$Module|name|desc"）以及 final 类上静态类型
+ * 确定的实例方法（INVOKE_VIRTUAL "Class|name|desc"，接收者局部变量类型即该类）
+ * 的函数体复制到调用点，省去调用栈压入/弹出与栈帧分配。
+ * <p>
+ * 转换前：
+ * <pre>
+ *   B: ...前半段
+ *      %d = INVOKE_STATIC %a0, %a1 ["$Module|f|desc"]
+ *      ...后半段
+ *      terminator
+ * </pre>
+ * 转换后：
+ * <pre>
+ *   B:    ...前半段
+ *         %p0' = MOVE %a0; %p1' = MOVE %a1     // 实参写入被内联函数的参数副本
+ *         goto E'
+ *   E'..: 被内联函数的块副本（局部变量/块 ID 重映射），return %v → %d = MOVE %v'; goto C
+ *   C:    ...后半段
+ *         terminator
+ * </pre>
+ * <p>
+ * 启发式：
+ * <ul>
+ *   <li>大小预算：循环内的调用点（热点）允许 {@link #HOT_BUDGET} 条指令，其余 {@link #COLD_BUDGET} 条；
+ *       单个调用方累计增长不超过 {@link #MAX_CALLER_GROWTH} 条</li>
+ *   <li>递归保护：不把函数内联进自身；只展开一层（被内联的函数体取自本 pass 开始前的快照，
+ *       副本中的调用不再继续展开），递归与互相递归都不会无限膨胀</li>
+ *   <li>异常表：含 try-catch 的函数不内联；位于调用方 try 区间内的调用点不内联
+ *       （新块不在原区间的块 ID / 块顺序范围内）</li>
+ *   <li>调用栈：只内联不会抛出运行时错误的函数体（getter、基本类型的算术/比较、常量、字段读写、
+ *       可标量替换类的分配），出错时解释器调用栈与原先一致；读取参数字段的函数只在该实参
+ *       确定是新分配对象（非空、类型确切）的调用点展开，展开后对象交给 {@link EscapeAnalysis} 拆分</li>
+ *   <li>源码位置：复制的指令保留被内联函数中的原始位置，参数/返回值 MOVE 使用调用点位置</li>
+ * </ul>
+ * 只内联到顶层函数中（访问上下文与被内联的顶层函数相同）；没有运行期类型剖面，虚调用只处理
+ * 静态可证明单态的情形。
+ */
+public class MirInlining implements MirPass {
+
+    /** 非循环调用点的被内联函数指令上限 */
+    static final int COLD_BUDGET = 12;
+    /** 循环内调用点的被内联函数指令上限 */
+    static final int HOT_BUDGET = 40;
+    /** 单个调用方累计增长的指令上限 */
+    static final int MAX_CALLER_GROWTH = 400;
+
+    private static final String MODULE_MARKER = "$Module";
+    /** freshArguments 中类名的后缀：该分配的构造实参都是基本类型 */
+    private static final String PRIMITIVE_ARGS = "#primitive";
+
+    @Override
+    public String getName() {
+        return "MirInlining";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        Map<String, EscapeAnalysis.Layout> layouts = EscapeAnalysis.classLayouts(module);
+        Map<String, Template> functions = new HashMap<>();
+        Set<String> overloaded = new HashSet<>();
+        for (MirFunction func : module.getTopLevelFunctions()) {
+            if (functions.containsKey(func.getName())) overloaded.add(func.getName());
+            Template t = Template.of(func, null, layouts);
+            functions.put(func.getName(), t);
+        }
+        for (String name : overloaded) functions.put(name, null);
+
+        Map<String, Template> methods = new HashMap<>();
+        for (MirClass cls : module.getClasses()) {
+            if (!isFinalClass(cls)) continue;
+            Set<String> seen = new HashSet<>();
+            for (MirFunction m : cls.getMethods()) {
+                String key = cls.getName() + "|" + m.getName();
+                if (!seen.add(m.getName())) {
+                    methods.put(key, null);
+                    continue;
+                }
+                methods.put(key, Template.of(m, cls, layouts));
+            }
+        }
+
+        for (MirFunction func : module.getTopLevelFunctions()) {
+            inlineCalls(func, functions, methods, layouts);
+        }
+        return module;
+    }
+
+    private static boolean isFinalClass(MirClass cls) {
+        Set<Modifier> mods = cls.getModifiers();
+        return cls.getKind() == ClassKind.CLASS
+                && !mods.contains(Modifier.OPEN) && !mods.contains(Modifier.ABSTRACT)
+                && !mods.contains(Modifier.SEALED);
+    }
+
+    // ============ 调用方改写 ============
+
+    private void inlineCalls(MirFunction caller, Map<String, Template> functions, Map<String, Template> methods,
+                             Map<String, EscapeAnalysis.Layout> layouts) {
+        List<BasicBlock> blocks = caller.getBlocks();
+        if (blocks.isEmpty()) return;
+        Set<Integer> hot = loopBlocks(caller);
+        Set<Integer> guarded = tryGuardedBlocks(caller);
+        Map<MirInst, String[]> fresh = freshArguments(caller, layouts);
+        Set<Integer> copies = new HashSet<>();
+        int nextId = 0;
+        for (BasicBlock b : blocks) nextId = Math.max(nextId, b.getId() + 1);
+        int growth = 0;
+
+        for (int bi = 0; bi < blocks.size(); bi++) {
+            BasicBlock block = blocks.get(bi);
+            if (copies.contains(block.getId()) || guarded.contains(block.getId())) continue;
+            List<MirInst> insts = block.getInstructions();
+            for (int k = 0; k < insts.size(); k++) {
+                MirInst call = insts.get(k);
+                Template callee = resolve(caller, call, functions, methods, fresh);
+                if (callee == null) continue;
+                int budget = hot.contains(block.getId()) ? HOT_BUDGET : COLD_BUDGET;
+                if (callee.size > budget || growth + callee.size > MAX_CALLER_GROWTH) continue;
+
+                List<BasicBlock> inserted = expand(caller, block, k, call, callee, nextId);
+                nextId += callee.idSpan + 1;
+                growth += callee.size;
+                for (int j = 0; j < inserted.size() - 1; j++) copies.add(inserted.get(j).getId());
+                BasicBlock cont = inserted.get(inserted.size() - 1);
+                if (hot.contains(block.getId())) hot.add(cont.getId());
+                blocks.addAll(bi + 1, inserted);
+                // 原块已在调用点截断，继续扫描续块
+                break;
+            }
+        }
+        if (!copies.isEmpty()) caller.resetBlockArr();
+    }
+
+    /** 调用指令可内联时返回被调函数快照 */
+    private Template resolve(MirFunction caller, MirInst call, Map<String, Template> functions,
+                             Map<String, Template> methods, Map<MirInst, String[]> fresh) {
+        MirOp op = call.getOp();
+        if (op != MirOp.INVOKE_STATIC && op != MirOp.INVOKE_VIRTUAL) return null;
+        if (call.specialKind != MirInst.SK_NORMAL || !(call.getExtra() instanceof String)) return null;
+        String extra = (String) call.getExtra();
+        if (extra.contains(";named:")) return null;
+        int p1 = extra.indexOf('|');
+        int p2 = p1 < 0 ? -1 : extra.indexOf('|', p1 + 1);
+        if (p2 < 0) return null;
+        String owner = extra.substring(0, p1);
+        String name = extra.substring(p1 + 1, p2);
+
+        Template t;
+        int[] args = call.getOperands();
+        if (op == MirOp.INVOKE_STATIC) {
+            if (!owner.equals(MODULE_MARKER) && !owner.endsWith(MODULE_MARKER)) return null;
+            t = functions.get(name);
+        } else {
+            if (args.length == 0) return null;
+            MirType recv = caller.getLocals().get(args[0]).getType();
+            if (recv.getKind() != MirType.Kind.OBJECT || !owner.equals(recv.getClassName())) return null;
+            t = methods.get(owner + "|" + name);
+        }
+        if (t == null || !t.eligible || t.function == caller) return null;
+        if (args.length != t.argTypes.length) return null;
+        String[] freshArgs = fresh.get(call);
+        for (int i = 0; i < args.length; i++) {
+            if (!assignable(caller.getLocals().get(args[i]).getType(), t.argTypes[i])) return null;
+            if (t.freshArgs[i] && (freshArgs == null || freshArgs[i] == null
+                    || !t.argTypes[i].getClassName().equals(freshClass(freshArgs[i])))) return null;
+            if (t.primitiveFieldArgs[i] && !freshArgs[i].endsWith(PRIMITIVE_ARGS)) return null;
+            if (t.primitiveArgs[i] && !caller.getLocals().get(args[i]).getType().isPrimitive()) return null;
+        }
+        return t;
+    }
+
+    /**
+     * 在 block 的第 k 条指令处展开被调函数，返回需插入到 block 之后的块（副本块 + 续块，续块在最后）。
+     */
+    private List<BasicBlock> expand(MirFunction caller, BasicBlock block, int k, MirInst call,
+                                    Template callee, int base) {
+        SourceLocation loc = call.getLocation();
+        int[] localMap = new int[callee.locals.size()];
+        for (MirLocal l : callee.locals) {
+            localMap[l.getIndex()] = caller.newLocal("$inl_" + l.getName(), l.getType());
+        }
+        BasicBlock cont = new BasicBlock(base + callee.idSpan);
+        List<MirInst> insts = block.getInstructions();
+        List<MirInst> tail = new ArrayList<>(insts.subList(k + 1, insts.size()));
+        insts.subList(k, insts.size()).clear();
+        cont.getInstructions().addAll(tail);
+        cont.setTerminator(block.getTerminator());
+
+        int[] args = call.getOperands();
+        for (int i = 0; i < args.length; i++) {
+            insts.add(new MirInst(MirOp.MOVE, localMap[i], new int[]{args[i]}, callee.argTypes[i], loc));
+        }
+        block.setTerminator(new MirTerminator.Goto(loc, base + callee.entryId));
+
+        List<BasicBlock> out = new ArrayList<>(callee.blocks.size() + 1);
+        for (BlockSnapshot src : callee.blocks) {
+            BasicBlock copy = new BasicBlock(base + src.id);
+            for (MirInst inst : src.instructions) {
+                copy.getInstructions().add(remap(inst, localMap));
+            }
+            MirTerminator term = src.terminator;
+            if (term instanceof MirTerminator.Return) {
+                int v = ((MirTerminator.Return) term).getValueLocal();
+                if (call.getDest() >= 0) {
+                    copy.getInstructions().add(new MirInst(MirOp.MOVE, call.getDest(),
+                            new int[]{localMap[v]}, caller.getLocals().get(call.getDest()).getType(), loc));
+                }
+                copy.setTerminator(new MirTerminator.Goto(term.getLocation(), cont.getId()));
+            } else {
+                copy.setTerminator(remap(term, localMap, base));
+            }
+            out.add(copy);
+        }
+        out.add(cont);
+        return out;
+    }
+
+    private static MirInst remap(MirInst inst, int[] localMap) {
+        int[] ops = inst.getOperands();
+        int[] mapped = null;
+        if (ops != null) {
+            mapped = new int[ops.length];
+            for (int i = 0; i < ops.length; i++) mapped[i] = localMap[ops[i]];
+        }
+        int dest = inst.getDest() >= 0 ? localMap[inst.getDest()] : inst.getDest();
+        MirInst copy = new MirInst(inst.getOp(), dest, mapped, inst.getExtra(), inst.getLocation());
+        copy.specialKind = inst.specialKind;
+        return copy;
+    }
+
+    private static MirTerminator remap(MirTerminator term, int[] localMap, int base) {
+        SourceLocation loc = term.getLocation();
+        switch (term.kind) {
+            case MirTerminator.KIND_GOTO:
+                return new MirTerminator.Goto(loc, base + ((MirTerminator.Goto) term).getTargetBlockId());
+            case MirTerminator.KIND_BRANCH: {
+                MirTerminator.Branch br = (MirTerminator.Branch) term;
+                MirTerminator.Branch copy = new MirTerminator.Branch(loc,
+                        br.getCondition() >= 0 ? localMap[br.getCondition()] : br.getCondition(),
+                        base + br.getThenBlock(), base + br.getElseBlock());
+                if (br.getFusedCmpOp() != null) {
+                    copy.setFusedCmp(br.getFusedCmpOp(), localMap[br.getFusedLeft()], localMap[br.getFusedRight()]);
+                }
+                return copy;
+            }
+            case MirTerminator.KIND_SWITCH: {
+                MirTerminator.Switch sw = (MirTerminator.Switch) term;
+                Map<Object, Integer> cases = new LinkedHashMap<>();
+                for (Map.Entry<Object, Integer> e : sw.getCases().entrySet()) {
+                    cases.put(e.getKey(), base + e.getValue());
+                }
+                return new MirTerminator.Switch(loc, localMap[sw.getKey()], cases, base + sw.getDefaultBlock());
+            }
+            default:
+                return new MirTerminator.Unreachable(loc);
+        }
+    }
+
+    private static boolean sameType(MirType a, MirType b) {
+        return a.getDescriptor().equals(b.getDescriptor());
+    }
+
+    /** 实参可直接写入形参副本：类型相同，或形参是 Object（调用时本来就按 Object 传递） */
+    private static boolean assignable(MirType arg, MirType param) {
+        return sameType(arg, param)
+                || (param.getKind() == MirType.Kind.OBJECT && "java/lang/Object".equals(param.getClassName()));
+    }
+
+    /**
+     * 调用指令 → 每个实参确定引用的新分配对象所属类（NEW_OBJECT 直接产生或经 MOVE/phi 传递，
+     * 所有到达定义都是同一可替换类的分配；不确定为 null）。构造实参都是基本类型时类名带 {@link #PRIMITIVE_ARGS} 后缀。
+     */
+    private static Map<MirInst, String[]> freshArguments(MirFunction caller,
+                                                         Map<String, EscapeAnalysis.Layout> layouts) {
+        boolean allocates = false;
+        for (BasicBlock b : caller.getBlocks()) {
+            for (MirInst inst : b.getInstructions()) {
+                if (inst.getOp() == MirOp.NEW_OBJECT && layouts.containsKey(inst.getExtra())) allocates = true;
+            }
+        }
+        if (!allocates) return Collections.emptyMap();
+        MirSsa ssa = MirSsa.build(caller);
+        if (ssa == null) return Collections.emptyMap();
+
+        // 乐观迭代：MOVE/phi 初始为 UNKNOWN，其余非分配值为 null
+        final String unknown = "";
+        int count = ssa.getValueCount();
+        String[] cls = new String[count];
+        for (int v = 0; v < count; v++) {
+            if (ssa.valueKind(v) == MirSsa.VALUE_PHI) {
+                cls[v] = unknown;
+            } else if (ssa.valueKind(v) == MirSsa.VALUE_INST) {
+                MirInst def = ssa.valueInst(v);
+                if (def.getOp() == MirOp.MOVE) cls[v] = unknown;
+                else if (def.getOp() == MirOp.NEW_OBJECT && layouts.containsKey(def.getExtra())) {
+                    cls[v] = def.getExtra() + (primitiveOperands(caller, def) ? PRIMITIVE_ARGS : "");
+                }
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = 0; b < ssa.getBlockCount(); b++) {
+                for (MirSsa.Phi phi : ssa.phis(b)) {
+                    String merged = unknown;
+                    for (int a : phi.args) merged = meet(merged, a < 0 ? null : cls[a], unknown);
+                    if (!Objects.equals(merged, cls[phi.value])) {
+                        cls[phi.value] = merged;
+                        changed = true;
+                    }
+                }
+                List<MirInst> insts = ssa.block(b).getInstructions();
+                for (int k = 0; k < insts.size(); k++) {
+                    if (insts.get(k).getOp() != MirOp.MOVE) continue;
+                    int d = ssa.def(b, k);
+                    int src = ssa.uses(b, k)[0];
+                    String value = src < 0 ? null : cls[src];
+                    if (d >= 0 && !Objects.equals(value, cls[d])) {
+                        cls[d] = value;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        Map<MirInst, String[]> result = new IdentityHashMap<>();
+        for (int b = 0; b < ssa.getBlockCount(); b++) {
+            List<MirInst> insts = ssa.block(b).getInstructions();
+            for (int k = 0; k < insts.size(); k++) {
+                MirOp op = insts.get(k).getOp();
+                if (op != MirOp.INVOKE_STATIC && op != MirOp.INVOKE_VIRTUAL) continue;
+                int[] uses = ssa.uses(b, k);
+                String[] args = null;
+                for (int i = 0; i < uses.length; i++) {
+                    String c = uses[i] < 0 ? null : cls[uses[i]];
+                    if (c == null || c.equals(unknown)) continue;
+                    if (args == null) args = new String[uses.length];
+                    args[i] = c;
+                }
+                if (args != null) result.put(insts.get(k), args);
+            }
+        }
+        return result;
+    }
+
+    /** 分配的构造实参都是基本类型局部变量 */
+    private static boolean primitiveOperands(MirFunction caller, MirInst alloc) {
+        int[] ops = alloc.getOperands();
+        if (ops == null) return true;
+        for (int op : ops) {
+            if (!caller.getLocals().get(op).getType().isPrimitive()) return false;
+        }
+        return true;
+    }
+
+    /** freshArguments 结果中的类名（去掉构造实参标记） */
+    private static String freshClass(String fresh) {
+        return fresh.endsWith(PRIMITIVE_ARGS) ? fresh.substring(0, fresh.length() - PRIMITIVE_ARGS.length()) : fresh;
+    }
+
+    private static String meet(String a, String b, String unknown) {
+        if (a == null || b == null) return null;
+        if (a.equals(unknown)) return b;
+        if (b.equals(unknown)) return a;
+        if (a.equals(b)) return a;
+        // 同一类但构造实参标记不同：仍是该类的新分配对象，只是不再保证实参为基本类型
+        String cls = freshClass(a);
+        return cls.equals(freshClass(b)) ? cls : null;
+    }
+
+    // ============ 控制流辅助 ============
+
+    /** 位于某个环上的块（调用点热度的静态估计） */
+    private static Set<Integer> loopBlocks(MirFunction func) {
+        Map<Integer, int[]> succ = new HashMap<>();
+        for (BasicBlock b : func.getBlocks()) succ.put(b.getId(), successors(b.getTerminator()));
+        Set<Integer> result = new HashSet<>();
+        for (BasicBlock b : func.getBlocks()) {
+            int start = b.getId();
+            Deque<Integer> work = new ArrayDeque<>();
+            Set<Integer> seen = new HashSet<>();
+            for (int s : succ.get(start)) work.add(s);
+            while (!work.isEmpty()) {
+                int id = work.poll();
+                if (id == start) {
+                    result.add(start);
+                    break;
+                }
+                if (!seen.add(id)) continue;
+                int[] next = succ.get(id);
+                if (next != null) for (int s : next) work.add(s);
+            }
+        }
+        return result;
+    }
+
+    /** 落在调用方任一 try 区间内的块（按块 ID 区间和块列表顺序两种口径取并集） */
+    private static Set<Integer> tryGuardedBlocks(MirFunction func) {
+        Set<Integer> result = new HashSet<>();
+        List<BasicBlock> blocks = func.getBlocks();
+        for (MirFunction.TryCatchEntry e : func.getTryCatchEntries()) {
+            boolean inRange = false;
+            for (BasicBlock b : blocks) {
+                if (b.getId() == e.tryStartBlock) inRange = true;
+                if (b.getId() == e.tryEndBlock) inRange = false;
+                if (inRange || (b.getId() >= e.tryStartBlock && b.getId() < e.tryEndBlock)) {
+                    result.add(b.getId());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int[] successors(MirTerminator term) {
+        if (term == null) return new int[0];
+        switch (term.kind) {
+            case MirTerminator.KIND_GOTO:
+                return new int[]{((MirTerminator.Goto) term).getTargetBlockId()};
+            case MirTerminator.KIND_BRANCH:
+                return new int[]{((MirTerminator.Branch) term).getThenBlock(),
+                        ((MirTerminator.Branch) term).getElseBlock()};
+            case MirTerminator.KIND_TAIL_CALL:
+                return new int[]{((MirTerminator.TailCall) term).getEntryBlockId()};
+            case MirTerminator.KIND_SWITCH: {
+                MirTerminator.Switch sw = (MirTerminator.Switch) term;
+                int[] out = new int[sw.getCases().size() + 1];
+                int i = 0;
+                for (int target : sw.getCases().values()) out[i++] = target;
+                out[i] = sw.getDefaultBlock();
+                return out;
+            }
+            default:
+                return new int[0];
+        }
+    }
+
+    // ============ 被调函数快照 ============
+
+    private static final class BlockSnapshot {
+        final int id;
+        final List<MirInst> instructions;
+        final MirTerminator terminator;
+
+        BlockSnapshot(BasicBlock block) {
+            this.id = block.getId();
+            this.instructions = new ArrayList<>(block.getInstructions());
+            this.terminator = block.getTerminator();
+        }
+    }
+
+    /** pass 开始前的被调函数体（后续把其他函数内联进它时不影响快照） */
+    private static final class Template {
+        final MirFunction function;
+        final boolean eligible;
+        final List<BlockSnapshot> blocks = new ArrayList<>();
+        final List<MirLocal> locals;
+        final MirType[] argTypes;
+        /** 函数体读取了这些参数的字段：调用点实参必须是对应类的新分配对象 */
+        final boolean[] freshArgs;
+        /** 函数体把这些参数的对象类型字段当作基本类型运算：调用点的分配实参必须都是基本类型 */
+        final boolean[] primitiveFieldArgs;
+        /** 声明为对象类型、按基本类型使用的参数：调用点实参必须是基本类型 */
+        final boolean[] primitiveArgs;
+        final int entryId;
+        /** 块 ID 跨度（副本块 ID = base + 原 ID，续块 ID = base + idSpan） */
+        final int idSpan;
+        /** 指令数（含终结指令） */
+        final int size;
+        /** 值必为基本类型的局部变量（资格检查期间使用） */
+        private Set<Integer> primitive;
+
+        private Template(MirFunction function, MirClass owner, Map<String, EscapeAnalysis.Layout> layouts) {
+            this.function = function;
+            this.locals = new ArrayList<>(function.getLocals());
+            int span = 0;
+            int count = 0;
+            for (BasicBlock b : function.getBlocks()) {
+                blocks.add(new BlockSnapshot(b));
+                span = Math.max(span, b.getId() + 1);
+                count += b.getInstructions().size() + 1;
+            }
+            this.idSpan = span;
+            this.size = count;
+            this.entryId = blocks.isEmpty() ? -1 : blocks.get(0).id;
+            int offset = owner != null ? 1 : 0;
+            this.argTypes = new MirType[function.getParams().size() + offset];
+            if (owner != null) argTypes[0] = MirType.ofObject(owner.getName());
+            for (int i = 0; i < function.getParams().size(); i++) {
+                argTypes[i + offset] = function.getParams().get(i).getType();
+            }
+            this.freshArgs = new boolean[argTypes.length];
+            this.primitiveFieldArgs = new boolean[argTypes.length];
+            this.primitiveArgs = new boolean[argTypes.length];
+            this.eligible = checkEligible(owner, layouts);
+        }
+
+        static Template of(MirFunction function, MirClass owner, Map<String, EscapeAnalysis.Layout> layouts) {
+            return new Template(function, owner, layouts);
+        }
+
+        private boolean checkEligible(MirClass owner, Map<String, EscapeAnalysis.Layout> layouts) {
+            MirFunction f = function;
+            String name = f.getName();
+            if (blocks.isEmpty() || name.startsWith("<") || name.equals("main")) return false;
+            if (!f.getTypeParams().isEmpty() || f.isMemoized() || !f.getHirAnnotations().isEmpty()) return false;
+            if (!f.getTryCatchEntries().isEmpty()) return false;
+            if (f.getReturnType().getKind() == MirType.Kind.VOID) return false;
+            if (f.getModifiers().contains(Modifier.ABSTRACT) || f.getModifiers().contains(Modifier.OPEN)) return false;
+            for (MirParam p : f.getParams()) {
+                if (p.hasDefault()) return false;
+            }
+            if (locals.size() < argTypes.length) return false;
+            for (int i = 0; i < argTypes.length; i++) {
+                if (!sameType(locals.get(i).getType(), argTypes[i])) return false;
+            }
+            Set<Integer> written = new HashSet<>();
+            for (BlockSnapshot b : blocks) {
+                for (MirInst inst : b.instructions) written.add(inst.getDest());
+            }
+            primitive = primitiveLocals(owner, layouts, null);
+            if (bodyAllowed(owner, layouts, written)) return true;
+            // 再假定对象类型的参数与不可变字段（如 Lambda 的擦除参数与捕获）为基本类型，由调用点的实参验证
+            Set<Integer> assumed = new HashSet<>();
+            primitive = primitiveLocals(owner, layouts, assumed);
+            for (int i = owner != null ? 1 : 0; i < argTypes.length; i++) {
+                if (!argTypes[i].isPrimitive() && !written.contains(i)) {
+                    primitive.add(i);
+                    primitiveArgs[i] = true;
+                }
+            }
+            if (!bodyAllowed(owner, layouts, written)) return false;
+            for (int obj : assumed) {
+                freshArgs[obj] = true;
+                primitiveFieldArgs[obj] = true;
+            }
+            return true;
+        }
+
+        private boolean bodyAllowed(MirClass owner, Map<String, EscapeAnalysis.Layout> layouts, Set<Integer> written) {
+            for (BlockSnapshot b : blocks) {
+                for (MirInst inst : b.instructions) {
+                    if (!allowed(inst, owner, layouts, written)) return false;
+                }
+                MirTerminator term = b.terminator;
+                if (term == null || term.kind == MirTerminator.KIND_TAIL_CALL
+                        || term.kind == MirTerminator.KIND_THROW) return false;
+                if (term.kind == MirTerminator.KIND_RETURN
+                        && ((MirTerminator.Return) term).getValueLocal() < 0) return false;
+            }
+            return true;
+        }
+
+        /**
+         * 指令语义与执行位置无关且不会抛出运行时错误：不依赖 this 的访问上下文、闭包捕获或特殊调用标记；
+         * 含调用、一般分配、索引、强转、除法的函数体保留真实调用，出错时调用栈中仍有该函数。
+         * 一元/二元运算只接受基本类型操作数：对象操作数会走运算符重载或字符串转换，可能抛错。
+         */
+        private boolean allowed(MirInst inst, MirClass owner, Map<String, EscapeAnalysis.Layout> layouts,
+                                Set<Integer> written) {
+            Object extra = inst.getExtra();
+            switch (inst.getOp()) {
+                case CONST_INT: case CONST_LONG: case CONST_FLOAT: case CONST_DOUBLE:
+                case CONST_STRING: case CONST_BOOL: case CONST_CHAR: case CONST_NULL:
+                case MOVE: case TYPE_CHECK:
+                    return true;
+                case UNARY:
+                    return primitiveOperands(inst);
+                case BINARY:
+                    return extra != BinaryOp.DIV && extra != BinaryOp.MOD && primitiveOperands(inst);
+                case GET_STATIC:
+                case SET_STATIC:
+                    // 类方法内的静态访问可能依赖类上下文
+                    return owner == null;
+                case NEW_OBJECT: {
+                    // 构造器只做字段赋值的类，分配不会出错
+                    EscapeAnalysis.Layout layout = extra instanceof String ? layouts.get(extra) : null;
+                    int argc = inst.getOperands() != null ? inst.getOperands().length : 0;
+                    return layout != null && layout.arity == argc;
+                }
+                case GET_FIELD:
+                case SET_FIELD: {
+                    if (!(extra instanceof String)) return false;
+                    int obj = inst.operand(0);
+                    if (owner == null || obj != 0) {
+                        // 读取参数的公开字段：要求调用点实参是该类的新分配对象（见 freshArgs）
+                        if (inst.getOp() != MirOp.GET_FIELD || obj >= argTypes.length || written.contains(obj)) return false;
+                        MirType type = argTypes[obj];
+                        EscapeAnalysis.Layout layout = type.getKind() == MirType.Kind.OBJECT
+                                ? layouts.get(type.getClassName()) : null;
+                        int f = layout != null ? layout.fieldIndex((String) extra) : -1;
+                        if (f < 0 || layout.hidden[f]) return false;
+                        freshArgs[obj] = true;
+                        return true;
+                    }
+                    // 只允许方法访问自身非私有、无自定义访问器的字段（this 非空）
+                    for (MirField field : owner.getFields()) {
+                        if (field.getName().equals(extra)) {
+                            Set<Modifier> mods = field.getModifiers();
+                            return !mods.contains(Modifier.PRIVATE) && !mods.contains(Modifier.PROTECTED)
+                                    && !field.hasCustomGetter() && !field.hasCustomSetter();
+                        }
+                    }
+                    return false;
+                }
+                default:
+                    return false;
+            }
+        }
+
+        private boolean primitiveOperands(MirInst inst) {
+            return primitiveOperands(inst, primitive);
+        }
+
+        private boolean primitiveOperands(MirInst inst, Set<Integer> known) {
+            int[] ops = inst.getOperands();
+            if (ops == null) return false;
+            for (int op : ops) {
+                if (op < 0 || op >= locals.size()) return false;
+                if (!locals.get(op).getType().isPrimitive() && !known.contains(op)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * 值必为基本类型的局部变量：声明为基本类型，或每个定义都产生基本类型值
+         * （基本类型常量、基本类型字段读取、基本类型操作数的运算与 MOVE）。字段读取的临时变量声明为 Object，需要按此推断。
+         *
+         * @param assumed 非 null 时把不可变的对象类型字段也视为基本类型，并记录其所属参数下标
+         */
+        private Set<Integer> primitiveLocals(MirClass owner, Map<String, EscapeAnalysis.Layout> layouts,
+                                             Set<Integer> assumed) {
+            Set<Integer> candidates = new HashSet<>();
+            Set<Integer> rejected = new HashSet<>();
+            for (BlockSnapshot b : blocks) {
+                for (MirInst inst : b.instructions) {
+                    int dest = inst.getDest();
+                    if (dest < 0) continue;
+                    if (producesPrimitive(inst, owner, layouts, assumed)) candidates.add(dest);
+                    else rejected.add(dest);
+                }
+            }
+            candidates.removeAll(rejected);
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (BlockSnapshot b : blocks) {
+                    for (MirInst inst : b.instructions) {
+                        MirOp op = inst.getOp();
+                        if ((op == MirOp.BINARY || op == MirOp.UNARY || op == MirOp.MOVE)
+                                && candidates.contains(inst.getDest()) && !primitiveOperands(inst, candidates)) {
+                            candidates.remove(inst.getDest());
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private boolean producesPrimitive(MirInst inst, MirClass owner, Map<String, EscapeAnalysis.Layout> layouts,
+                                          Set<Integer> assumed) {
+            switch (inst.getOp()) {
+                case CONST_INT: case CONST_LONG: case CONST_FLOAT: case CONST_DOUBLE:
+                case CONST_BOOL: case CONST_CHAR:
+                case BINARY: case UNARY: case MOVE:
+                    return true;
+                case GET_FIELD: {
+                    MirType type = fieldType(inst, owner, layouts);
+                    if (type != null && type.isPrimitive()) return true;
+                    if (assumed == null || !immutableField(inst, layouts)) return false;
+                    assumed.add(inst.operand(0));
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * 字段只由构造实参初始化、之后不再写入：val 字段，或 Lambda 的捕获字段
+         * （源码无法访问；被修改的捕获变量经数组单元共享，字段本身不变）
+         */
+        private boolean immutableField(MirInst inst, Map<String, EscapeAnalysis.Layout> layouts) {
+            int obj = inst.operand(0);
+            if (obj >= argTypes.length || argTypes[obj].getKind() != MirType.Kind.OBJECT) return false;
+            String cls = argTypes[obj].getClassName();
+            EscapeAnalysis.Layout layout = layouts.get(cls);
+            int f = layout != null ? layout.fieldIndex((String) inst.getExtra()) : -1;
+            if (f < 0 || layout.argIndex[f] < 0) return false;
+            return !layout.mutable[f] || cls.contains(EscapeAnalysis.LAMBDA_MARKER);
+        }
+
+        private MirType fieldType(MirInst inst, MirClass owner, Map<String, EscapeAnalysis.Layout> layouts) {
+            Object name = inst.getExtra();
+            int obj = inst.getOperands() != null && inst.getOperands().length > 0 ? inst.operand(0) : -1;
+            if (!(name instanceof String) || obj < 0) return null;
+            if (owner != null && obj == 0) {
+                for (MirField field : owner.getFields()) {
+                    if (field.getName().equals(name)) return field.getType();
+                }
+                return null;
+            }
+            if (obj >= argTypes.length || argTypes[obj].getKind() != MirType.Kind.OBJECT) return null;
+            EscapeAnalysis.Layout layout = layouts.get(argTypes[obj].getClassName());
+            int f = layout != null ? layout.fieldIndex((String) name) : -1;
+            return f >= 0 ? layout.types[f] : null;
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.ir.mir.*;
+
+import java.util.*;
+
+/**
+ * MirFunction 的 SSA 视图：支配树、phi 节点与每个读写点的版本号。
+ *
+ * <p>不重写局部变量槽位，而是为每次定义分配一个值编号（version），phi 放在迭代支配边界上
+ * （semi-pruned：只为跨块活跃的变量放置）。同一槽位的所有版本共享原槽位，即 conventional SSA：
+ * 只要变换保证"读点处槽位当前持有的就是目标版本"，退出 SSA 就是丢弃
+ * 版本标注，无需插入复制，MirInterpreter / MirCodeGenerator 都不感知 phi。</p>
+ *
+ * <p>值编号 {@code 0..localCount-1} 是各槽位的入口值（参数或未初始化），其后依次为指令定义与 phi。
+ * 只覆盖从入口可达的块；入口块额外带一个虚拟前驱 {@link #START}（入口值从这里流入），
+ * 因此尾递归回跳到入口的函数同样能在入口块放置 phi。</p>
+ */
+public final class MirSsa {
+
+    /** 虚拟起点前驱 */
+    public static final int START = -1;
+
+    public static final int VALUE_ENTRY = 0;
+    public static final int VALUE_INST = 1;
+    public static final int VALUE_PHI = 2;
+
+    /** 块数 × 槽位数超过此值时不构建（超大生成代码） */
+    private static final long MAX_WORK = 4_000_000L;
+
+    /** phi 节点：args 与所在块的 preds 一一对应 */
+    public static final class Phi {
+        public final int local;
+        public final int value;
+        public final int[] args;
+
+        Phi(int local, int value, int predCount) {
+            this.local = local;
+            this.value = value;
+            this.args = new int[predCount];
+        }
+    }
+
+    private final MirFunction function;
+    private final int localCount;
+    /** 内部序号（逆后序，0 = 入口）→ 块 */
+    private final BasicBlock[] order;
+    /** blockId → 内部序号，-1 表示不可达 */
+    private final int[] indexOfId;
+    private final int[][] succs;
+    private final int[][] preds;
+    private final int[] idom;
+    private final int[][] domChildren;
+
+    private final Phi[][] phis;
+    private final int[][] defs;
+    private final int[][][] uses;
+    private final int[][] termUses;
+
+    private int valueCount;
+    private int[] valueKind;
+    private int[] valueLocal;
+    private int[] valueBlock;
+    private int[] valueIndex;
+
+    private MirSsa(MirFunction function, int localCount, BasicBlock[] order, int[] indexOfId,
+                   int[][] succs, int[][] preds) {
+        this.function = function;
+        this.localCount = localCount;
+        this.order = order;
+        this.indexOfId = indexOfId;
+        this.succs = succs;
+        this.preds = preds;
+        int n = order.length;
+        this.idom = new int[n];
+        this.domChildren = new int[n][];
+        this.phis = new Phi[n][];
+        this.defs = new int[n][];
+        this.uses = new int[n][][];
+        this.termUses = new int[n][];
+        int capacity = localCount + 16;
+        valueKind = new int[capacity];
+        valueLocal = new int[capacity];
+        valueBlock = new int[capacity];
+        valueIndex = new int[capacity];
+        for (int i = 0; i < localCount; i++) {
+            valueKind[i] = VALUE_ENTRY;
+            valueLocal[i] = i;
+            valueBlock[i] = START;
+            valueIndex[i] = -1;
+        }
+        valueCount = localCount;
+    }
+
+    /**
+     * 构建 SSA 视图。含 try-catch 的函数（异常边让 handler 在块中间观察到任意版本）
+     * 以及超大函数返回 null。
+     */
+    public static MirSsa build(MirFunction function) {
+        List<BasicBlock> blocks = function.getBlocks();
+        if (blocks.isEmpty() || !function.getTryCatchEntries().isEmpty()) return null;
+
+        int maxId = 0;
+        for (BasicBlock b : blocks) maxId = Math.max(maxId, b.getId());
+        BasicBlock[] byId = new BasicBlock[maxId + 1];
+        for (BasicBlock b : blocks) byId[b.getId()] = b;
+
+        // 逆后序（迭代 DFS）
+        List<BasicBlock> post = new ArrayList<>();
+        boolean[] visited = new boolean[maxId + 1];
+        Deque<int[]> stack = new ArrayDeque<>();
+        BasicBlock entry = blocks.get(0);
+        visited[entry.getId()] = true;
+        stack.push(new int[]{entry.getId(), 0});
+        while (!stack.isEmpty()) {
+            int[] top = stack.peek();
+            int[] s = successorIds(byId[top[0]].getTerminator());
+            if (top[1] < s.length) {
+                int next = s[top[1]++];
+                if (next >= 0 && next <= maxId && byId[next] != null && !visited[next]) {
+                    visited[next] = true;
+                    stack.push(new int[]{next, 0});
+                }
+            } else {
+                stack.pop();
+                post.add(byId[top[0]]);
+            }
+        }
+        int n = post.size();
+        BasicBlock[] order = new BasicBlock[n];
+        int[] indexOfId = new int[maxId + 1];
+        Arrays.fill(indexOfId, -1);
+        for (int i = 0; i < n; i++) {
+            order[i] = post.get(n - 1 - i);
+            indexOfId[order[i].getId()] = i;
+        }
+
+        int localCount = computeLocalCount(function);
+        if ((long) n * Math.max(localCount, 1) > MAX_WORK) return null;
+
+        int[][] succs = new int[n][];
+        List<List<Integer>> predLists = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) predLists.add(new ArrayList<>(2));
+        predLists.get(0).add(START);
+        for (int i = 0; i < n; i++) {
+            int[] ids = successorIds(order[i].getTerminator());
+            int[] out = new int[ids.length];
+            int count = 0;
+            for (int id : ids) {
+                int s = id >= 0 && id <= maxId ? indexOfId[id] : -1;
+                if (s < 0) continue;
+                boolean dup = false;
+                for (int k = 0; k < count; k++) if (out[k] == s) { dup = true; break; }
+                if (dup) continue;
+                out[count++] = s;
+                predLists.get(s).add(i);
+            }
+            succs[i] = Arrays.copyOf(out, count);
+        }
+        int[][] preds = new int[n][];
+        for (int i = 0; i < n; i++) {
+            List<Integer> p = predLists.get(i);
+            preds[i] = new int[p.size()];
+            for (int k = 0; k < p.size(); k++) preds[i][k] = p.get(k);
+        }
+
+        MirSsa ssa = new MirSsa(function, localCount, order, indexOfId, succs, preds);
+        ssa.computeDominators();
+        ssa.placePhis();
+        ssa.rename();
+        return ssa;
+    }
+
+    // ========== 查询 ==========
+
+    public MirFunction getFunction() { return function; }
+    public int getLocalCount() { return localCount; }
+    public int getBlockCount() { return order.length; }
+    public BasicBlock block(int index) { return order[index]; }
+
+    /** blockId → 内部序号，不可达块返回 -1 */
+    public int indexOf(int blockId) {
+        return blockId >= 0 && blockId < indexOfId.length ? indexOfId[blockId] : -1;
+    }
+
+    public int[] succs(int index) { return succs[index]; }
+    /** 前驱（入口块的第一个前驱是 {@link #START}） */
+    public int[] preds(int index) { return preds[index]; }
+    /** 直接支配者，入口块返回 {@link #START} */
+    public int idom(int index) { return idom[index]; }
+    public int[] domChildren(int index) { return domChildren[index]; }
+
+    public boolean dominates(int a, int b) {
+        while (b > a) b = idom[b];
+        return a == b;
+    }
+
+    public Phi[] phis(int index) { return phis[index]; }
+    /** 第 k 条指令定义的值，无 dest 为 -1 */
+    public int def(int index, int k) { return defs[index][k]; }
+    /** 第 k 条指令各操作数读到的值 */
+    public int[] uses(int index, int k) { return uses[index][k]; }
+    /** 终结指令读到的值，顺序同 {@link #terminatorLocals} */
+    public int[] termUses(int index) { return termUses[index]; }
+
+    public int getValueCount() { return valueCount; }
+    public int valueKind(int v) { return valueKind[v]; }
+    public int valueLocal(int v) { return valueLocal[v]; }
+    /** 定义所在块（入口值为 {@link #START}） */
+    public int valueBlock(int v) { return valueBlock[v]; }
+    /** 指令序号或 phi 序号 */
+    public int valueIndex(int v) { return valueIndex[v]; }
+
+    /** 定义值 v 的指令，非指令定义返回 null */
+    public MirInst valueInst(int v) {
+        return valueKind[v] == VALUE_INST
+                ? order[valueBlock[v]].getInstructions().get(valueIndex[v]) : null;
+    }
+
+    /** 终结指令读取的局部变量（融合比较分支只读 left/right） */
+    public static int[] terminatorLocals(MirTerminator term) {
+        if (term == null) return new int[0];
+        switch (term.kind) {
+            case MirTerminator.KIND_BRANCH: {
+                MirTerminator.Branch br = (MirTerminator.Branch) term;
+                return br.getFusedCmpOp() != null
+                        ? new int[]{br.getFusedLeft(), br.getFusedRight()}
+                        : new int[]{br.getCondition()};
+            }
+            case MirTerminator.KIND_RETURN: {
+                int v = ((MirTerminator.Return) term).getValueLocal();
+                return v >= 0 ? new int[]{v} : new int[0];
+            }
+            case MirTerminator.KIND_SWITCH:
+                return new int[]{((MirTerminator.Switch) term).getKey()};
+            case MirTerminator.KIND_THROW:
+                return new int[]{((MirTerminator.Throw) term).getExceptionLocal()};
+            default:
+                return new int[0];
+        }
+    }
+
+    /** 终结指令的后继 blockId（可能重复） */
+    public static int[] successorIds(MirTerminator term) {
+        if (term == null) return new int[0];
+        switch (term.kind) {
+            case MirTerminator.KIND_GOTO:
+                return new int[]{((MirTerminator.Goto) term).getTargetBlockId()};
+            case MirTerminator.KIND_BRANCH: {
+                MirTerminator.Branch br = (MirTerminator.Branch) term;
+                return new int[]{br.getThenBlock(), br.getElseBlock()};
+            }
+            case MirTerminator.KIND_TAIL_CALL:
+                return new int[]{((MirTerminator.TailCall) term).getEntryBlockId()};
+            case MirTerminator.KIND_SWITCH: {
+                MirTerminator.Switch sw = (MirTerminator.Switch) term;
+                int[] out = new int[sw.getCases().size() + 1];
+                int i = 0;
+                for (int target : sw.getCases().values()) out[i++] = target;
+                out[i] = sw.getDefaultBlock();
+                return out;
+            }
+            default:
+                return new int[0];
+        }
+    }
+
+    private static int computeLocalCount(MirFunction func) {
+        int max = func.getLocals().size();
+        for (BasicBlock block : func.getBlocks()) {
+            for (MirInst inst : block.getInstructions()) {
+                if (inst.getDest() >= max) max = inst.getDest() + 1;
+                if (inst.getOperands() != null) {
+                    for (int op : inst.getOperands()) if (op >= max) max = op + 1;
+                }
+            }
+            for (int l : terminatorLocals(block.getTerminator())) if (l >= max) max = l + 1;
+        }
+        return max;
+    }
+
+    // ========== 构建 ==========
+
+    /** Cooper-Harvey-Kennedy 迭代支配者算法（内部序号即逆后序） */
+    private void computeDominators() {
+        int n = order.length;
+        Arrays.fill(idom, -2);
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = 1; b < n; b++) {
+                int newIdom = -2;
+                for (int p : preds[b]) {
+                    if (p < 0 || idom[p] == -2) continue;
+                    newIdom = newIdom == -2 ? p : intersect(p, newIdom);
+                }
+                if (idom[b] != newIdom) {
+                    idom[b] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+        idom[0] = START;
+        int[] childCount = new int[n];
+        for (int b = 1; b < n; b++) childCount[idom[b]]++;
+        for (int b = 0; b < n; b++) domChildren[b] = new int[childCount[b]];
+        Arrays.fill(childCount, 0);
+        for (int b = 1; b < n; b++) domChildren[idom[b]][childCount[idom[b]]++] = b;
+    }
+
+    private int intersect(int a, int b) {
+        while (a != b) {
+            while (a > b) a = idom[a];
+            while (b > a) b = idom[b];
+        }
+        return a;
+    }
+
+    private void placePhis() {
+        int n = order.length;
+        // 支配边界（idom[入口] = START，回到入口的边使入口进入自身边界）
+        List<Set<Integer>> df = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) df.add(new LinkedHashSet<>());
+        for (int b = 0; b < n; b++) {
+            if (preds[b].length < 2) continue;
+            for (int p : preds[b]) {
+                int runner = p;
+                while (runner != START && runner != idom[b]) {
+                    df.get(runner).add(b);
+                    runner = idom[runner];
+                }
+            }
+        }
+
+        // semi-pruned：只考虑在某块中"先读后写"的槽位
+        boolean[] global = new boolean[localCount];
+        List<List<Integer>> defSites = new ArrayList<>(localCount);
+        for (int i = 0; i < localCount; i++) defSites.add(null);
+        boolean[] killed = new boolean[localCount];
+        for (int b = 0; b < n; b++) {
+            Arrays.fill(killed, false);
+            for (MirInst inst : order[b].getInstructions()) {
+                int[] ops = inst.getOperands();
+                if (ops != null) {
+                    for (int op : ops) if (op >= 0 && !killed[op]) global[op] = true;
+                }
+                int d = inst.getDest();
+                if (d >= 0) {
+                    killed[d] = true;
+                    List<Integer> sites = defSites.get(d);
+                    if (sites == null) defSites.set(d, sites = new ArrayList<>());
+                    if (sites.isEmpty() || sites.get(sites.size() - 1) != b) sites.add(b);
+                }
+            }
+            for (int l : terminatorLocals(order[b].getTerminator())) {
+                if (l >= 0 && !killed[l]) global[l] = true;
+            }
+        }
+
+        List<List<Phi>> placed = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) placed.add(new ArrayList<>());
+        int[] hasPhi = new int[n];
+        int[] inWork = new int[n];
+        Arrays.fill(hasPhi, -1);
+        Arrays.fill(inWork, -1);
+        Deque<Integer> work = new ArrayDeque<>();
+        for (int local = 0; local < localCount; local++) {
+            List<Integer> sites = defSites.get(local);
+            if (!global[local] || sites == null) continue;
+            for (int b : sites) {
+                inWork[b] = local;
+                work.add(b);
+            }
+            while (!work.isEmpty()) {
+                int b = work.poll();
+                for (int d : df.get(b)) {
+                    if (hasPhi[d] == local) continue;
+                    hasPhi[d] = local;
+                    placed.get(d).add(new Phi(local, newValue(VALUE_PHI, local, d, placed.get(d).size()),
+                            preds[d].length));
+                    if (inWork[d] != local) {
+                        inWork[d] = local;
+                        work.add(d);
+                    }
+                }
+            }
+        }
+        for (int b = 0; b < n; b++) phis[b] = placed.get(b).toArray(new Phi[0]);
+    }
+
+    /** 沿支配树先序遍历为每个读写点分配版本（显式栈，避免深支配树递归溢出） */
+    private void rename() {
+        int[] current = new int[localCount];
+        for (int i = 0; i < localCount; i++) current[i] = i;
+        // 撤销日志：(local, 旧值) 对
+        int[] undo = new int[64];
+        int undoSize = 0;
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, -1, 0});
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            int b = frame[0];
+            if (frame[1] < 0) {
+                frame[1] = 0;
+                frame[2] = undoSize;
+                for (Phi phi : phis[b]) {
+                    if (undoSize + 2 > undo.length) undo = Arrays.copyOf(undo, undo.length * 2);
+                    undo[undoSize++] = phi.local;
+                    undo[undoSize++] = current[phi.local];
+                    current[phi.local] = phi.value;
+                }
+                List<MirInst> insts = order[b].getInstructions();
+                defs[b] = new int[insts.size()];
+                uses[b] = new int[insts.size()][];
+                for (int k = 0; k < insts.size(); k++) {
+                    MirInst inst = insts.get(k);
+                    int[] ops = inst.getOperands();
+                    int[] u = new int[ops != null ? ops.length : 0];
+                    for (int i = 0; i < u.length; i++) u[i] = ops[i] >= 0 ? current[ops[i]] : -1;
+                    uses[b][k] = u;
+                    int d = inst.getDest();
+                    if (d >= 0) {
+                        int v = newValue(VALUE_INST, d, b, k);
+                        defs[b][k] = v;
+                        if (undoSize + 2 > undo.length) undo = Arrays.copyOf(undo, undo.length * 2);
+                        undo[undoSize++] = d;
+                        undo[undoSize++] = current[d];
+                        current[d] = v;
+                    } else {
+                        defs[b][k] = -1;
+                    }
+                }
+                int[] tl = terminatorLocals(order[b].getTerminator());
+                int[] tu = new int[tl.length];
+                for (int i = 0; i < tl.length; i++) tu[i] = tl[i] >= 0 ? current[tl[i]] : -1;
+                termUses[b] = tu;
+                for (int s : succs[b]) {
+                    int slot = indexOfPred(s, b);
+                    for (Phi phi : phis[s]) phi.args[slot] = current[phi.local];
+                }
+                if (b == 0) {
+                    for (Phi phi : phis[0]) phi.args[0] = phi.local;
+                }
+            }
+            if (frame[1] < domChildren[b].length) {
+                stack.push(new int[]{domChildren[b][frame[1]++], -1, 0});
+            } else {
+                stack.pop();
+                while (undoSize > frame[2]) {
+                    int old = undo[--undoSize];
+                    int local = undo[--undoSize];
+                    current[local] = old;
+                }
+            }
+        }
+    }
+
+    private int indexOfPred(int block, int pred) {
+        int[] p = preds[block];
+        for (int i = 0; i < p.length; i++) if (p[i] == pred) return i;
+        throw new IllegalStateException("B" + order[pred].getId() + " 不是 B" + order[block].getId() + " 的前驱");
+    }
+
+    private int newValue(int kind, int local, int block, int index) {
+        if (valueCount == valueKind.length) {
+            int cap = valueCount * 2;
+            valueKind = Arrays.copyOf(valueKind, cap);
+            valueLocal = Arrays.copyOf(valueLocal, cap);
+            valueBlock = Arrays.copyOf(valueBlock, cap);
+            valueIndex = Arrays.copyOf(valueIndex, cap);
+        }
+        valueKind[valueCount] = kind;
+        valueLocal[valueCount] = local;
+        valueBlock[valueCount] = block;
+        valueIndex[valueCount] = index;
+        return valueCount++;
+    }
+}
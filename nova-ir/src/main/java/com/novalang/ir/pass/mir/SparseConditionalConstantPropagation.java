@@ -0,0 +1,482 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * 稀疏条件常量传播（Wegman-Zadeck SCCP），基于 {@link MirSsa}。
+ * <p>
+ * 在 SSA 值上做 TOP / 常量 / BOTTOM 格传播，同时只沿"可执行"的 CFG 边推进：
+ * 条件恒定的分支只有一侧可执行，不可执行前驱流入 phi 的值被忽略，
+ * 因此能穿过 if / when 折叠出跨块常量，并证明某些 when 分支不可达。
+ * <ul>
+ *   <li>结果为常量的 MOVE / BINARY / UNARY 改写为 CONST_*</li>
+ *   <li>只有一条可执行出边的 Branch / Switch 改写为 Goto</li>
+ *   <li>改写后从入口不可达的块随即删除（后续 pass 假定不存在悬空块）</li>
+ * </ul>
+ * 常量只在与槽位声明类型一致时成立（Int↔Integer、Long↔Long、Double↔Double、
+ * Boolean↔Boolean、String↔String），避免跨类型 MOVE 在两个后端中装箱/拓宽语义不同。
+ * 含 try-catch 的函数与带委托/超类参数的构造器跳过。
+ */
+public class SparseConditionalConstantPropagation implements MirPass {
+
+    private static final byte TOP = 0;
+    private static final byte CONST = 1;
+    private static final byte BOTTOM = 2;
+
+    // 使用点编码：类型 | 块序号 | 序号
+    private static final int SITE_INST = 0;
+    private static final int SITE_PHI = 1;
+    private static final int SITE_TERM = 2;
+
+    @Override
+    public String getName() {
+        return "SparseConditionalConstantPropagation";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        for (MirClass cls : module.getClasses()) {
+            for (MirFunction method : cls.getMethods()) optimizeFunction(method);
+        }
+        for (MirFunction func : module.getTopLevelFunctions()) optimizeFunction(func);
+        return module;
+    }
+
+    private void optimizeFunction(MirFunction func) {
+        if (func.hasDelegation() || func.hasSuperInitArgs()) return;
+        MirSsa ssa = MirSsa.build(func);
+        if (ssa == null) return;
+        new Solver(ssa).solveAndRewrite();
+    }
+
+    private static final class Solver {
+        final MirSsa ssa;
+        final MirFunction func;
+        final int n;
+        final byte[] state;
+        final Object[] value;
+        final boolean[] blockExec;
+        /** 每条出边（与 ssa.succs 对齐）是否可执行 */
+        final boolean[][] edgeExec;
+        final long[][] users;
+        final Deque<Integer> ssaWork = new ArrayDeque<>();
+        final Deque<int[]> flowWork = new ArrayDeque<>();
+
+        Solver(MirSsa ssa) {
+            this.ssa = ssa;
+            this.func = ssa.getFunction();
+            this.n = ssa.getBlockCount();
+            int vc = ssa.getValueCount();
+            state = new byte[vc];
+            value = new Object[vc];
+            for (int v = 0; v < ssa.getLocalCount(); v++) state[v] = BOTTOM;
+            blockExec = new boolean[n];
+            edgeExec = new boolean[n][];
+            for (int b = 0; b < n; b++) edgeExec[b] = new boolean[ssa.succs(b).length];
+            users = buildUsers();
+        }
+
+        private long[][] buildUsers() {
+            int vc = ssa.getValueCount();
+            int[] count = new int[vc];
+            for (int b = 0; b < n; b++) {
+                for (MirSsa.Phi phi : ssa.phis(b)) for (int a : phi.args) count[a]++;
+                int insts = ssa.block(b).getInstructions().size();
+                for (int k = 0; k < insts; k++) for (int u : ssa.uses(b, k)) if (u >= 0) count[u]++;
+                for (int u : ssa.termUses(b)) if (u >= 0) count[u]++;
+            }
+            long[][] out = new long[vc][];
+            for (int v = 0; v < vc; v++) out[v] = new long[count[v]];
+            Arrays.fill(count, 0);
+            for (int b = 0; b < n; b++) {
+                MirSsa.Phi[] phis = ssa.phis(b);
+                for (int i = 0; i < phis.length; i++) {
+                    for (int a : phis[i].args) out[a][count[a]++] = site(SITE_PHI, b, i);
+                }
+                int insts = ssa.block(b).getInstructions().size();
+                for (int k = 0; k < insts; k++) {
+                    for (int u : ssa.uses(b, k)) if (u >= 0) out[u][count[u]++] = site(SITE_INST, b, k);
+                }
+                for (int u : ssa.termUses(b)) if (u >= 0) out[u][count[u]++] = site(SITE_TERM, b, 0);
+            }
+            return out;
+        }
+
+        private static long site(int kind, int block, int index) {
+            return ((long) kind << 60) | ((long) block << 30) | index;
+        }
+
+        void solveAndRewrite() {
+            flowWork.add(new int[]{MirSsa.START, 0});
+            while (!flowWork.isEmpty() || !ssaWork.isEmpty()) {
+                while (!flowWork.isEmpty()) {
+                    int[] edge = flowWork.poll();
+                    int to = edge[1];
+                    boolean first = !blockExec[to];
+                    blockExec[to] = true;
+                    MirSsa.Phi[] phis = ssa.phis(to);
+                    for (int i = 0; i < phis.length; i++) visitPhi(to, i);
+                    if (first) {
+                        int insts = ssa.block(to).getInstructions().size();
+                        for (int k = 0; k < insts; k++) visitInst(to, k);
+                        visitTerminator(to);
+                    }
+                }
+                while (!ssaWork.isEmpty()) {
+                    int v = ssaWork.poll();
+                    for (long s : users[v]) {
+                        int kind = (int) (s >>> 60);
+                        int b = (int) ((s >>> 30) & 0x3FFFFFFF);
+                        int idx = (int) (s & 0x3FFFFFFF);
+                        if (!blockExec[b]) continue;
+                        if (kind == SITE_PHI) visitPhi(b, idx);
+                        else if (kind == SITE_INST) visitInst(b, idx);
+                        else visitTerminator(b);
+                    }
+                }
+            }
+            rewrite();
+        }
+
+        // ---- 格操作 ----
+
+        private void lower(int v, byte newState, Object c) {
+            if (state[v] == BOTTOM || newState == TOP) return;
+            if (state[v] == CONST) {
+                if (newState == CONST && c.equals(value[v])) return;
+                newState = BOTTOM;
+                c = null;
+            }
+            state[v] = newState;
+            value[v] = c;
+            ssaWork.add(v);
+        }
+
+        /** 常量只在与 dest 槽位声明类型一致时成立 */
+        private void lowerTyped(int v, Object c) {
+            if (c != null && matchesLocalType(func, ssa.valueLocal(v), c)) lower(v, CONST, c);
+            else lower(v, BOTTOM, null);
+        }
+
+        private boolean edgeExecutable(int pred, int to) {
+            if (pred == MirSsa.START) return true;
+            int[] s = ssa.succs(pred);
+            for (int i = 0; i < s.length; i++) if (s[i] == to) return edgeExec[pred][i];
+            return false;
+        }
+
+        private void markEdge(int from, int to) {
+            int[] s = ssa.succs(from);
+            for (int i = 0; i < s.length; i++) {
+                if (s[i] == to && !edgeExec[from][i]) {
+                    edgeExec[from][i] = true;
+                    flowWork.add(new int[]{from, to});
+                }
+            }
+        }
+
+        private void markAllEdges(int from) {
+            for (int s : ssa.succs(from)) markEdge(from, s);
+        }
+
+        // ---- 求值 ----
+
+        private void visitPhi(int b, int i) {
+            MirSsa.Phi phi = ssa.phis(b)[i];
+            if (state[phi.value] == BOTTOM) return;
+            int[] preds = ssa.preds(b);
+            Object c = null;
+            boolean any = false;
+            for (int p = 0; p < preds.length; p++) {
+                if (!edgeExecutable(preds[p], b)) continue;
+                int a = phi.args[p];
+                if (state[a] == TOP) continue;
+                if (state[a] == BOTTOM) {
+                    lower(phi.value, BOTTOM, null);
+                    return;
+                }
+                if (any && !c.equals(value[a])) {
+                    lower(phi.value, BOTTOM, null);
+                    return;
+                }
+                c = value[a];
+                any = true;
+            }
+            if (any) lower(phi.value, CONST, c);
+        }
+
+        private void visitInst(int b, int k) {
+            int d = ssa.def(b, k);
+            if (d < 0 || state[d] == BOTTOM) return;
+            MirInst inst = ssa.block(b).getInstructions().get(k);
+            int[] u = ssa.uses(b, k);
+            switch (inst.getOp()) {
+                case CONST_INT:
+                case CONST_LONG:
+                case CONST_DOUBLE:
+                case CONST_BOOL:
+                case CONST_STRING:
+                    lowerTyped(d, inst.getExtra());
+                    return;
+                case MOVE: {
+                    int s = u[0];
+                    if (s < 0 || state[s] == BOTTOM) lower(d, BOTTOM, null);
+                    else if (state[s] == CONST) lowerTyped(d, value[s]);
+                    return;
+                }
+                case BINARY: {
+                    if (!(inst.getExtra() instanceof BinaryOp) || u.length < 2 || u[0] < 0 || u[1] < 0) break;
+                    if (state[u[0]] == BOTTOM || state[u[1]] == BOTTOM) break;
+                    if (state[u[0]] == TOP || state[u[1]] == TOP) return;
+                    lowerTyped(d, foldBinary((BinaryOp) inst.getExtra(), value[u[0]], value[u[1]]));
+                    return;
+                }
+                case UNARY: {
+                    if (!(inst.getExtra() instanceof UnaryOp) || u.length < 1 || u[0] < 0) break;
+                    if (state[u[0]] == BOTTOM) break;
+                    if (state[u[0]] == TOP) return;
+                    lowerTyped(d, foldUnary((UnaryOp) inst.getExtra(), value[u[0]]));
+                    return;
+                }
+                default:
+                    break;
+            }
+            lower(d, BOTTOM, null);
+        }
+
+        private void visitTerminator(int b) {
+            MirTerminator term = ssa.block(b).getTerminator();
+            if (term == null) return;
+            int[] u = ssa.termUses(b);
+            switch (term.kind) {
+                case MirTerminator.KIND_BRANCH: {
+                    MirTerminator.Branch br = (MirTerminator.Branch) term;
+                    Object cond;
+                    if (br.getFusedCmpOp() != null) {
+                        if (u[0] < 0 || u[1] < 0 || state[u[0]] == BOTTOM || state[u[1]] == BOTTOM) {
+                            markAllEdges(b);
+                            return;
+                        }
+                        if (state[u[0]] == TOP || state[u[1]] == TOP) return;
+                        cond = foldBinary(br.getFusedCmpOp(), value[u[0]], value[u[1]]);
+                    } else {
+                        if (u[0] < 0 || state[u[0]] == BOTTOM) {
+                            markAllEdges(b);
+                            return;
+                        }
+                        if (state[u[0]] == TOP) return;
+                        cond = value[u[0]];
+                    }
+                    if (cond instanceof Boolean) {
+                        markEdge(b, ssa.indexOf((Boolean) cond ? br.getThenBlock() : br.getElseBlock()));
+                    } else {
+                        markAllEdges(b);
+                    }
+                    return;
+                }
+                case MirTerminator.KIND_SWITCH: {
+                    int key = u[0];
+                    if (key < 0 || state[key] == BOTTOM) {
+                        markAllEdges(b);
+                        return;
+                    }
+                    if (state[key] == TOP) return;
+                    Integer target = switchTarget((MirTerminator.Switch) term, value[key]);
+                    if (target != null) markEdge(b, ssa.indexOf(target));
+                    else markAllEdges(b);
+                    return;
+                }
+                default:
+                    markAllEdges(b);
+            }
+        }
+
+        // ---- 改写 ----
+
+        private void rewrite() {
+            boolean changed = false;
+            for (int b = 0; b < n; b++) {
+                if (!blockExec[b]) continue;
+                BasicBlock block = ssa.block(b);
+                List<MirInst> insts = block.getInstructions();
+                for (int k = 0; k < insts.size(); k++) {
+                    MirInst inst = insts.get(k);
+                    MirOp op = inst.getOp();
+                    if (op != MirOp.MOVE && op != MirOp.BINARY && op != MirOp.UNARY) continue;
+                    int d = ssa.def(b, k);
+                    if (d < 0 || state[d] != CONST) continue;
+                    insts.set(k, constInst(inst.getDest(), value[d], inst));
+                    changed = true;
+                }
+                MirTerminator term = block.getTerminator();
+                if (term != null && (term.kind == MirTerminator.KIND_BRANCH || term.kind == MirTerminator.KIND_SWITCH)) {
+                    int[] succs = ssa.succs(b);
+                    int live = -1, liveCount = 0;
+                    for (int i = 0; i < succs.length; i++) {
+                        if (edgeExec[b][i]) {
+                            live = succs[i];
+                            liveCount++;
+                        }
+                    }
+                    if (liveCount == 1 && succs.length > 1) {
+                        block.setTerminator(new MirTerminator.Goto(term.getLocation(), ssa.block(live).getId()));
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                DeadBlockElimination.eliminateDeadBlocks(func);
+                func.resetBlockArr();
+            }
+        }
+    }
+
+    // ========== 折叠规则（与解释器快速路径 / JVM 原始运算语义一致） ==========
+
+    static boolean matchesLocalType(MirFunction func, int local, Object c) {
+        List<MirLocal> locals = func.getLocals();
+        if (local < 0 || local >= locals.size()) return false;
+        MirType type = locals.get(local).getType();
+        switch (type.getKind()) {
+            case INT: return c instanceof Integer;
+            case LONG: return c instanceof Long;
+            case DOUBLE: return c instanceof Double;
+            case BOOLEAN: return c instanceof Boolean;
+            case OBJECT: return c instanceof String && "java/lang/String".equals(type.getClassName());
+            default: return false;
+        }
+    }
+
+    static MirInst constInst(int dest, Object c, MirInst origin) {
+        MirOp op;
+        if (c instanceof Integer) op = MirOp.CONST_INT;
+        else if (c instanceof Long) op = MirOp.CONST_LONG;
+        else if (c instanceof Double) op = MirOp.CONST_DOUBLE;
+        else if (c instanceof Boolean) op = MirOp.CONST_BOOL;
+        else op = MirOp.CONST_STRING;
+        return new MirInst(op, dest, null, c, origin.getLocation());
+    }
+
+    static Integer switchTarget(MirTerminator.Switch sw, Object key) {
+        if (!(key instanceof Integer) && !(key instanceof String)) return null;
+        for (Object caseKey : sw.getCases().keySet()) {
+            if (caseKey == null || caseKey.getClass() != key.getClass()) return null;
+        }
+        Integer target = sw.getCases().get(key);
+        return target != null ? target : sw.getDefaultBlock();
+    }
+
+    static Object foldBinary(BinaryOp op, Object a, Object b) {
+        if (a instanceof Integer && b instanceof Integer) {
+            int x = (Integer) a, y = (Integer) b;
+            // 解释器把超出范围的 Int 结果提升为 Long，字节码则回绕：溢出时不折叠，保留运行时语义
+            switch (op) {
+                case ADD: return fitsInt((long) x + y);
+                case SUB: return fitsInt((long) x - y);
+                case MUL: return fitsInt((long) x * y);
+                case DIV: return y != 0 ? fitsInt((long) x / y) : null;
+                case MOD: return y != 0 ? x % y : null;
+                case BAND: return x & y;
+                case BOR: return x | y;
+                case BXOR: return x ^ y;
+                case SHL: return y >= 0 && y < 32 ? fitsInt((long) x << y) : null;
+                case SHR: return y >= 0 && y < 32 ? x >> y : null;
+                case USHR: return x >>> y;
+                case EQ: return x == y;
+                case NE: return x != y;
+                case LT: return x < y;
+                case LE: return x <= y;
+                case GT: return x > y;
+                case GE: return x >= y;
+                default: return null;
+            }
+        }
+        if (a instanceof Long && b instanceof Long) {
+            long x = (Long) a, y = (Long) b;
+            switch (op) {
+                case ADD: return x + y;
+                case SUB: return x - y;
+                case MUL: return x * y;
+                case DIV: return y != 0 ? x / y : null;
+                case MOD: return y != 0 ? x % y : null;
+                case BAND: return x & y;
+                case BOR: return x | y;
+                case BXOR: return x ^ y;
+                case EQ: return x == y;
+                case NE: return x != y;
+                case LT: return x < y;
+                case LE: return x <= y;
+                case GT: return x > y;
+                case GE: return x >= y;
+                default: return null;
+            }
+        }
+        if (a instanceof Double && b instanceof Double) {
+            double x = (Double) a, y = (Double) b;
+            switch (op) {
+                case ADD: return x + y;
+                case SUB: return x - y;
+                case MUL: return x * y;
+                default:
+                    break;
+            }
+            // 比较：NaN 与 ±0.0 在 equals/compareTo 与 IEEE 之间语义不同，不折叠
+            if (Double.isNaN(x) || Double.isNaN(y) || x == 0.0 || y == 0.0) return null;
+            switch (op) {
+                case EQ: return x == y;
+                case NE: return x != y;
+                case LT: return x < y;
+                case LE: return x <= y;
+                case GT: return x > y;
+                case GE: return x >= y;
+                default: return null;
+            }
+        }
+        if (a instanceof Boolean && b instanceof Boolean) {
+            boolean x = (Boolean) a, y = (Boolean) b;
+            switch (op) {
+                case AND: return x && y;
+                case OR: return x || y;
+                case EQ: return x == y;
+                case NE: return x != y;
+                default: return null;
+            }
+        }
+        if (a instanceof String && b instanceof String) {
+            switch (op) {
+                case EQ: return a.equals(b);
+                case NE: return !a.equals(b);
+                default: return null;
+            }
+        }
+        return null;
+    }
+
+    /** long 结果在 Int 范围内时返回 Integer，否则返回 null（不折叠） */
+    private static Integer fitsInt(long value) {
+        return value == (int) value ? (int) value : null;
+    }
+
+    static Object foldUnary(UnaryOp op, Object a) {
+        switch (op) {
+            case NEG:
+                if (a instanceof Integer) return (Integer) a != Integer.MIN_VALUE ? -(Integer) a : null;
+                if (a instanceof Long) return -(Long) a;
+                if (a instanceof Double) return -(Double) a;
+                return null;
+            case POS:
+                return a instanceof Integer || a instanceof Long || a instanceof Double ? a : null;
+            case NOT:
+                return a instanceof Boolean ? !(Boolean) a : null;
+            case BNOT:
+                if (a instanceof Integer) return ~(Integer) a;
+                if (a instanceof Long) return ~(Long) a;
+                return null;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.novalang.ir.pass.mir;
+
+import com.novalang.ir.hir.ClassKind;
+import com.novalang.ir.mir.*;
+import com.novalang.ir.pass.MirPass;
+
+import java.util.*;
+
+/**
+ * Switch 特化：为每个 {@link MirTerminator.Switch} 预计算 {@link SwitchTable}。
+ *
+ * <p>整数/字符 key 按稠密度选数组下标或有序二分，字符串 key 用哈希完美哈希，
+ * 枚举 when 额外生成按 ordinal 下标的跳转表。解释器与字节码生成器直接使用该表，
+ * 不再对 key 装箱后走 HashMap。</p>
+ *
+ * <p>跳转表只引用块 ID 与 case 映射，必须在管线末尾（所有改写 CFG 的 pass 之后）运行。</p>
+ */
+public class SwitchSpecialization implements MirPass {
+
+    @Override
+    public String getName() {
+        return "SwitchSpecialization";
+    }
+
+    @Override
+    public MirModule run(MirModule module) {
+        Map<String, String[]> enums = enumEntries(module);
+        for (MirClass cls : module.getClasses()) {
+            for (MirFunction method : cls.getMethods()) {
+                specialize(method, enums);
+            }
+        }
+        for (MirFunction func : module.getTopLevelFunctions()) {
+            specialize(func, enums);
+        }
+        return module;
+    }
+
+    private void specialize(MirFunction func, Map<String, String[]> enums) {
+        for (BasicBlock block : func.getBlocks()) {
+            if (!(block.getTerminator() instanceof MirTerminator.Switch)) continue;
+            MirTerminator.Switch sw = (MirTerminator.Switch) block.getTerminator();
+            String enumClass = matchEnum(sw.getCases().keySet(), enums);
+            sw.setTable(SwitchTable.build(sw.getCases(), sw.getDefaultBlock(),
+                    enumClass, enumClass != null ? enums.get(enumClass) : null));
+        }
+    }
+
+    /** case key 全为字符串且恰好是一个枚举类条目名的子集时返回该枚举类 */
+    private static String matchEnum(Set<Object> keys, Map<String, String[]> enums) {
+        String match = null;
+        for (Map.Entry<String, String[]> e : enums.entrySet()) {
+            Set<String> names = new HashSet<>(Arrays.asList(e.getValue()));
+            boolean all = true;
+            for (Object key : keys) {
+                if (!(key instanceof String) || !names.contains(key)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (!all) continue;
+            if (match != null) return null;
+            match = e.getKey();
+        }
+        return match;
+    }
+
+    /**
+     * 从枚举类的 {@code <clinit>} 还原 ordinal → 条目名：
+     * 每个条目实例依次写入常量 {@code $name} 与 {@code $ordinal}。
+     */
+    private static Map<String, String[]> enumEntries(MirModule module) {
+        Map<String, String[]> result = new HashMap<>();
+        for (MirClass cls : module.getClasses()) {
+            if (cls.getKind() != ClassKind.ENUM) continue;
+            for (MirFunction m : cls.getMethods()) {
+                if (!"<clinit>".equals(m.getName())) continue;
+                String[] names = ordinalNames(m);
+                if (names != null) result.put(cls.getName(), names);
+            }
+        }
+        return result;
+    }
+
+    private static String[] ordinalNames(MirFunction clinit) {
+        Map<Integer, Object> consts = new HashMap<>();
+        Map<Integer, String> nameOf = new HashMap<>();
+        Map<Integer, Integer> ordinalOf = new HashMap<>();
+        for (BasicBlock block : clinit.getBlocks()) {
+            for (MirInst inst : block.getInstructions()) {
+                MirOp op = inst.getOp();
+                if (op == MirOp.CONST_STRING || op == MirOp.CONST_INT) {
+                    consts.put(inst.getDest(), inst.getExtra());
+                } else if (op == MirOp.SET_FIELD && inst.getOperands().length == 2) {
+                    Object value = consts.get(inst.operand(1));
+                    if ("$name".equals(inst.getExtra()) && value instanceof String) {
+                        nameOf.put(inst.operand(0), (String) value);
+                    } else if ("$ordinal".equals(inst.getExtra()) && value instanceof Integer) {
+                        ordinalOf.put(inst.operand(0), (Integer) value);
+                    }
+                }
+            }
+        }
+        if (nameOf.isEmpty() || nameOf.size() != ordinalOf.size()) return null;
+        String[] names = new String[nameOf.size()];
+        for (Map.Entry<Integer, String> e : nameOf.entrySet()) {
+            Integer ordinal = ordinalOf.get(e.getKey());
+            if (ordinal == null || ordinal < 0 || ordinal >= names.length || names[ordinal] != null) return null;
+            names[ordinal] = e.getValue();
+        }
+        return names;
+    }
+}
@@ -1,5 +1,6 @@
 package com.novalang.ir;
 
+import com.novalang.ir.mir.*;
 import com.novalang.ir.pass.PassPipeline;
 import com.novalang.compiler.ast.decl.Program;
 import com.novalang.compiler.lexer.Lexer;
@@ -217,6 +218,88 @@ class IrPipelineIntegrationTest {
         }
     }
 
+    // ============ SSA 常量传播 (SparseConditionalConstantPropagation) ============
+
+    @Nested
+    @DisplayName("SSA 常量传播")
+    class Sccp {
+
+        /** 解释器模式管线优化后，run 函数中指定二元运算的剩余条数 */
+        private int binariesAfterMir(String code, BinaryOp op) {
+            PassPipeline pipeline = PassPipeline.createDefault();
+            pipeline.setInterpreterMode(true);
+            Program program = new Parser(new Lexer(code, "test.nova"), "test.nova").parse();
+            MirModule module = pipeline.executeToMir(program);
+            int n = 0;
+            for (MirClass cls : module.getClasses()) {
+                for (MirFunction f : cls.getMethods()) {
+                    if (!f.getName().equals("run")) continue;
+                    for (BasicBlock b : f.getBlocks()) {
+                        for (MirInst inst : b.getInstructions()) {
+                            if (inst.getOp() == MirOp.BINARY && inst.getExtra() == op) n++;
+                        }
+                    }
+                }
+            }
+            return n;
+        }
+
+        @Test
+        @DisplayName("不溢出的 Int 运算折叠为常量")
+        void testInRangeFolded() throws Exception {
+            String code = wrap("val a = 6\nval b = a * 7\nreturn b");
+            assertEquals(0, binariesAfterMir(code, BinaryOp.MUL));
+            assertEquals(42, compileAndRun(code));
+        }
+
+        @Test
+        @DisplayName("溢出的 Int 乘法不折叠")
+        void testOverflowingMultiplyKept() throws Exception {
+            String code = wrap("val a = 50000\nval b = a * 100000\nreturn b");
+            assertEquals(1, binariesAfterMir(code, BinaryOp.MUL));
+            assertEquals(50000 * 100000, compileAndRun(code));
+        }
+
+        @Test
+        @DisplayName("分支内溢出的 Int 加法不折叠")
+        void testOverflowingAddKept() throws Exception {
+            String code = wrap("var s = 2000000000\nif (s > 0) { s = s + 2000000000 }\nreturn s");
+            assertEquals(1, binariesAfterMir(code, BinaryOp.ADD));
+            assertEquals(2000000000 + 2000000000, compileAndRun(code));
+        }
+    }
+
+    // ============ 逃逸分析 (EscapeAnalysis) ============
+
+    @Nested
+    @DisplayName("逃逸分析")
+    class Escape {
+
+        @Test
+        @DisplayName("局部对象、Pair 解构与列表字面量拆成局部变量（结果一致）")
+        void testScalarReplacement() throws Exception {
+            Map<String, Class<?>> loaded = compiler.compileAndLoad(
+                "class Pt(val x: Int, var y: Int)\n" +
+                "object Test {\n  fun run(): Any {\n" +
+                "    val p = Pt(3, 4)\n" +
+                "    p.y = p.y + 1\n" +
+                "    val (a, b) = Pair(p.x, p.y)\n" +
+                "    val l = [a, b]\n" +
+                "    return l[0] * 10 + l[1] + l.size\n" +
+                "  }\n}", "test.nova");
+            Object inst = loaded.get("Test").getField("INSTANCE").get(null);
+            Method m = loaded.get("Test").getDeclaredMethod("run");
+            m.setAccessible(true);
+            assertEquals(37, m.invoke(inst));
+        }
+
+        @Test
+        @DisplayName("返回的对象保留分配")
+        void testEscapingObject() throws Exception {
+            assertEquals("(1, 2)", String.valueOf(compileAndRun(wrap("val p = Pair(1, 2)\nreturn p"))));
+        }
+    }
+
     // ============ Peephole (MirPeepholeOptimization) ============
 
     @Nested
@@ -14,6 +14,8 @@ import java.util.logging.Logger;
  *
  * <p>管理当前打开的文档内容，支持 LSP 的 textDocument/didOpen、didChange、didClose。</p>
  * <p>同时维护 AST + 语义分析结果缓存，didChange 使用 debounce 避免频繁重分析。</p>
+ * <p>文档文本以 piece table 保存，增量变更不复制整篇文本；变更后保留上次分析结果并记录最小编辑偏移，
+ * 重分析时复用编辑点之前的顶层 AST，只重新解析其后的部分（见 {@link NovaAnalysisSupport#reparse}）。</p>
  */
 public class DocumentManager {
     private static final Logger LOG = Logger.getLogger(DocumentManager.class.getName());
@@ -21,11 +23,8 @@ public class DocumentManager {
     /** debounce 延迟（毫秒） */
     private static final long DEBOUNCE_MS = 200;
 
-    /** URI -> 文档内容 */
-    private final Map<String, String> documents = new ConcurrentHashMap<>();
-
-    /** URI -> 缓存的分析结果 */
-    private final Map<String, CachedAnalysis> analysisCache = new ConcurrentHashMap<>();
+    /** URI -> 文档状态 */
+    private final Map<String, DocumentState> documents = new ConcurrentHashMap<>();
 
     /** URI -> 待执行的 debounce 任务 */
     private final Map<String, ScheduledFuture<?>> pendingAnalysis = new ConcurrentHashMap<>();
@@ -33,9 +32,6 @@ public class DocumentManager {
     /** 文档版本计数器（全局递增） */
     private final AtomicLong versionCounter = new AtomicLong(0);
 
-    /** URI -> 当前版本号（用于防止关闭/更新后旧回调回写） */
-    private final Map<String, Long> documentVersions = new ConcurrentHashMap<>();
-
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
         Thread t = new Thread(r, "nova-lsp-analyzer");
         t.setDaemon(true);
@@ -65,24 +61,61 @@ public class DocumentManager {
         }
     }
 
+    /**
+     * 单个文档的状态。文本与版本由对象锁保护；analysisLock 串行化同一文档的分析，
+     * 分析期间不持有对象锁，编辑不会被长时间阻塞。
+     */
+    private static final class DocumentState {
+        final Object analysisLock = new Object();
+        final DocumentText text;
+        /** 当前版本号（用于防止关闭/更新后旧回调回写） */
+        long version;
+        /** 最近一次分析结果（可能落后于当前文本，作为增量分析的基础） */
+        CachedAnalysis analysis;
+        /** analysis 对应的版本 */
+        long analyzedVersion = -1;
+        /** analysis 之后最小的编辑起点偏移，此前的文本与 analysis 一致 */
+        int dirtyStart = Integer.MAX_VALUE;
+
+        DocumentState(String content, long version) {
+            this.text = new DocumentText(content);
+            this.version = version;
+        }
+
+        void markDirty(int offset) {
+            if (offset < dirtyStart) dirtyStart = offset;
+        }
+    }
+
     /**
      * 打开文档（立即分析，无 debounce）
      */
     public void open(String uri, String content) {
-        documents.put(uri, content);
-        documentVersions.put(uri, versionCounter.incrementAndGet());
-        reanalyze(uri, content);
+        DocumentState state = new DocumentState(content, versionCounter.incrementAndGet());
+        documents.put(uri, state);
+        analyze(uri, state);
     }
 
     /**
      * 更新文档内容（debounce 延迟分析）
      */
     public void change(String uri, String content) {
-        documents.put(uri, content);
-        analysisCache.remove(uri); // 立即清除旧缓存，避免 inlayHint 等用到过期 AST
-        long version = versionCounter.incrementAndGet();
-        documentVersions.put(uri, version);
-        scheduleReanalyze(uri, content, version);
+        DocumentState state = documents.get(uri);
+        if (state == null) {
+            state = new DocumentState(content, versionCounter.incrementAndGet());
+            documents.put(uri, state);
+        } else {
+            synchronized (state) {
+                String current = state.text.toString();
+                int prefix = commonPrefixLength(current, content);
+                if (prefix < current.length() || prefix < content.length()) {
+                    state.text.replace(prefix, current.length(), content.substring(prefix));
+                    state.markDirty(prefix);
+                }
+                state.version = versionCounter.incrementAndGet();
+            }
+        }
+        scheduleReanalyze(uri, state);
     }
 
     /**
@@ -97,49 +130,39 @@ public class DocumentManager {
      */
     public void applyIncrementalChange(String uri, int startLine, int startChar,
                                         int endLine, int endChar, String text) {
-        String current = documents.get(uri);
-        if (current == null) return;
-
-        // 计算偏移量
-        int startOffset = lineCharToOffset(current, startLine, startChar);
-        int endOffset = lineCharToOffset(current, endLine, endChar);
-
-        if (startOffset < 0) startOffset = 0;
-        if (endOffset < 0) endOffset = current.length();
-        if (startOffset > current.length()) startOffset = current.length();
-        if (endOffset > current.length()) endOffset = current.length();
-
-        String newContent = current.substring(0, startOffset) + text + current.substring(endOffset);
-        documents.put(uri, newContent);
-        analysisCache.remove(uri); // 立即清除旧缓存，避免 inlayHint 等用到过期 AST
-
-        long version = versionCounter.incrementAndGet();
-        documentVersions.put(uri, version);
-        scheduleReanalyze(uri, newContent, version);
+        DocumentState state = documents.get(uri);
+        if (state == null) return;
+
+        synchronized (state) {
+            DocumentText document = state.text;
+            int length = document.length();
+            int startOffset = document.offsetOf(startLine, startChar);
+            int endOffset = document.offsetOf(endLine, endChar);
+
+            if (startOffset < 0) startOffset = 0;
+            if (endOffset < 0) endOffset = length;
+            if (startOffset > length) startOffset = length;
+            if (endOffset > length) endOffset = length;
+
+            document.replace(startOffset, endOffset, text);
+            state.markDirty(startOffset);
+            state.version = versionCounter.incrementAndGet();
+        }
+        scheduleReanalyze(uri, state);
     }
 
-    /**
-     * 将行列位置（0-based）转换为字符偏移量
-     */
-    private static int lineCharToOffset(String content, int line, int character) {
-        int offset = 0;
-        int currentLine = 0;
-        while (currentLine < line && offset < content.length()) {
-            if (content.charAt(offset) == '\n') {
-                currentLine++;
-            }
-            offset++;
-        }
-        return offset + character;
+    private static int commonPrefixLength(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) i++;
+        return i;
     }
 
     /**
      * 关闭文档
      */
     public void close(String uri) {
-        documentVersions.remove(uri);
         documents.remove(uri);
-        analysisCache.remove(uri);
         ScheduledFuture<?> pending = pendingAnalysis.remove(uri);
         if (pending != null) pending.cancel(false);
     }
@@ -155,14 +178,19 @@ public class DocumentManager {
      * 获取文档内容
      */
     public String getContent(String uri) {
-        return documents.get(uri);
+        DocumentState state = documents.get(uri);
+        if (state == null) return null;
+        synchronized (state) {
+            return state.text.toString();
+        }
     }
 
     /**
-     * 获取缓存的分析结果
+     * 获取当前文本的分析结果；文档在 debounce 期间被修改时立即增量分析
      */
     public CachedAnalysis getAnalysis(String uri) {
-        return analysisCache.get(uri);
+        DocumentState state = documents.get(uri);
+        return state != null ? analyze(uri, state) : null;
     }
 
     /**
@@ -193,20 +221,26 @@ public class DocumentManager {
 
     /**
      * 带 debounce 的延迟分析
-     *
-     * @param version 调度时的文档版本，回调时校验是否过期
      */
-    private void scheduleReanalyze(String uri, String content, long version) {
+    private void scheduleReanalyze(String uri, DocumentState state) {
+        long version;
+        synchronized (state) {
+            version = state.version;
+        }
         ScheduledFuture<?> prev = pendingAnalysis.remove(uri);
         if (prev != null) prev.cancel(false);
 
         ScheduledFuture<?> future = scheduler.schedule(() -> {
             pendingAnalysis.remove(uri);
             // 版本校验：文档已关闭或已有更新则跳过
-            Long currentVersion = documentVersions.get(uri);
-            if (currentVersion == null || currentVersion != version) return;
+            if (documents.get(uri) != state) return;
+            String content;
+            synchronized (state) {
+                if (state.version != version) return;
+                content = state.text.toString();
+            }
 
-            reanalyze(uri, content);
+            analyze(uri, state);
             AnalysisCallback cb = analysisCallback;
             if (cb != null) {
                 cb.onAnalysisComplete(uri, content);
@@ -216,19 +250,36 @@ public class DocumentManager {
     }
 
     /**
-     * 执行容错解析 + 语义分析并缓存结果
+     * 执行容错解析 + 语义分析并缓存结果（已是最新时直接返回缓存）
      */
-    private void reanalyze(String uri, String content) {
-        try {
-            CachedAnalysis cached = NovaAnalysisSupport.analyze(uri, content);
-            if (cached != null) {
-                analysisCache.put(uri, cached);
-            } else {
-                analysisCache.remove(uri);
+    private CachedAnalysis analyze(String uri, DocumentState state) {
+        synchronized (state.analysisLock) {
+            long version;
+            String content;
+            CachedAnalysis previous;
+            int dirtyStart;
+            synchronized (state) {
+                if (state.analyzedVersion == state.version) return state.analysis;
+                version = state.version;
+                content = state.text.toString();
+                previous = state.analysis;
+                dirtyStart = state.dirtyStart;
+                // 之后的编辑相对本次快照记录
+                state.dirtyStart = Integer.MAX_VALUE;
+            }
+
+            CachedAnalysis cached;
+            try {
+                cached = NovaAnalysisSupport.analyze(uri, content, previous, dirtyStart);
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "分析文档失败: " + uri, e);
+                cached = null;
+            }
+            synchronized (state) {
+                state.analysis = cached;
+                state.analyzedVersion = version;
             }
-        } catch (Exception e) {
-            LOG.log(Level.WARNING, "分析文档失败: " + uri, e);
-            analysisCache.remove(uri);
+            return cached;
         }
     }
 }
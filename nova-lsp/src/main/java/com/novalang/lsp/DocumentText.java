@@ -0,0 +1,146 @@
+package com.novalang.lsp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文档文本（piece table）
+ *
+ * <p>原始内容与追加缓冲区都只追加不修改，编辑只拆分/替换片段，
+ * 连续的 didChange 不再每次复制整篇文本。每个片段记录自身包含的换行数，
+ * 行列到偏移的换算按片段跳行，只在目标行所在片段内逐字符扫描。</p>
+ *
+ * <p>{@link #toString()} 物化后缓存文本并把片段表压缩为单个片段，片段数因此只随
+ * 两次分析之间的编辑次数增长。非线程安全，由 {@link DocumentManager} 加锁访问。</p>
+ */
+final class DocumentText {
+
+    private String original;
+    private final StringBuilder added = new StringBuilder();
+    private final List<Piece> pieces = new ArrayList<Piece>();
+    private int length;
+    /** 物化后的文本缓存，编辑后失效 */
+    private String text;
+
+    DocumentText(String content) {
+        reset(content);
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * 替换 [start, end) 区间（越界时截断到文档范围）
+     */
+    void replace(int start, int end, String insert) {
+        start = Math.max(0, Math.min(start, length));
+        end = Math.max(start, Math.min(end, length));
+        // 先拆分起点再拆分终点：终点的拆分只会插入到起点片段之后，不影响已得到的下标
+        int first = split(start);
+        int last = split(end);
+        pieces.subList(first, last).clear();
+        if (insert != null && !insert.isEmpty()) {
+            int bufferStart = added.length();
+            added.append(insert);
+            pieces.add(first, new Piece(true, bufferStart, insert.length(),
+                    countNewlines(added, bufferStart, insert.length())));
+            length += insert.length();
+        }
+        length -= end - start;
+        text = null;
+    }
+
+    /**
+     * 将行列位置（0-based）转换为字符偏移量；行超出文档时从文末开始计算，与逐字符扫描结果一致
+     */
+    int offsetOf(int line, int character) {
+        int offset = 0;
+        int remaining = line;
+        for (Piece piece : pieces) {
+            if (remaining > 0 && piece.newlines < remaining) {
+                remaining -= piece.newlines;
+                offset += piece.length;
+                continue;
+            }
+            CharSequence buffer = buffer(piece);
+            int i = 0;
+            while (remaining > 0) {
+                if (buffer.charAt(piece.start + i) == '\n') remaining--;
+                i++;
+            }
+            return offset + i + character;
+        }
+        return offset + character;
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder(length);
+            for (Piece piece : pieces) {
+                sb.append(buffer(piece), piece.start, piece.start + piece.length);
+            }
+            result = sb.toString();
+            reset(result);
+        }
+        return result;
+    }
+
+    private void reset(String content) {
+        original = content;
+        added.setLength(0);
+        pieces.clear();
+        if (!content.isEmpty()) {
+            pieces.add(new Piece(false, 0, content.length(), countNewlines(content, 0, content.length())));
+        }
+        length = content.length();
+        text = content;
+    }
+
+    /** 在 offset 处拆分片段，返回从 offset 开始的片段下标 */
+    private int split(int offset) {
+        int pos = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            if (pos == offset) return i;
+            Piece piece = pieces.get(i);
+            if (offset < pos + piece.length) {
+                int head = offset - pos;
+                int headNewlines = countNewlines(buffer(piece), piece.start, head);
+                pieces.set(i, new Piece(piece.added, piece.start, head, headNewlines));
+                pieces.add(i + 1, new Piece(piece.added, piece.start + head, piece.length - head,
+                        piece.newlines - headNewlines));
+                return i + 1;
+            }
+            pos += piece.length;
+        }
+        return pieces.size();
+    }
+
+    private CharSequence buffer(Piece piece) {
+        return piece.added ? added : original;
+    }
+
+    private static int countNewlines(CharSequence s, int start, int count) {
+        int n = 0;
+        for (int i = start, end = start + count; i < end; i++) {
+            if (s.charAt(i) == '\n') n++;
+        }
+        return n;
+    }
+
+    private static final class Piece {
+        final boolean added;
+        final int start;
+        final int length;
+        final int newlines;
+
+        Piece(boolean added, int start, int length, int newlines) {
+            this.added = added;
+            this.start = start;
+            this.length = length;
+            this.newlines = newlines;
+        }
+    }
+}
@@ -2,11 +2,17 @@ package com.novalang.lsp;
 
 import com.novalang.compiler.analysis.AnalysisResult;
 import com.novalang.compiler.analysis.SemanticAnalyzer;
+import com.novalang.compiler.ast.decl.Declaration;
 import com.novalang.compiler.ast.decl.Program;
+import com.novalang.compiler.ast.stmt.Statement;
 import com.novalang.compiler.lexer.Lexer;
+import com.novalang.compiler.parser.ParseError;
 import com.novalang.compiler.parser.ParseResult;
 import com.novalang.compiler.parser.Parser;
 
+import java.util.ArrayList;
+import java.util.List;
+
 final class NovaAnalysisSupport {
 
     private NovaAnalysisSupport() {}
@@ -19,15 +25,95 @@ final class NovaAnalysisSupport {
         String fileName = DocumentManager.getFileName(uri);
         Lexer lexer = new Lexer(content, fileName);
         Parser parser = new Parser(lexer, fileName);
-        ParseResult parseResult = parser.parseTolerant();
+        return analyzeParsed(parser.parseTolerant());
+    }
+
+    /**
+     * 基于上次分析结果增量分析：dirtyStart 之前未变化的顶层条目直接复用 AST，
+     * 只从编辑位置附近的条目起重新词法/语法分析，再对合并后的程序做语义分析。
+     *
+     * @param previous   上次分析结果（可为 null，此时全量分析）
+     * @param dirtyStart 自上次分析以来最小的编辑起点偏移（该偏移之前的文本未变化）
+     */
+    static DocumentManager.CachedAnalysis analyze(String uri, String content,
+                                                  DocumentManager.CachedAnalysis previous, int dirtyStart) {
+        if (content == null) {
+            return null;
+        }
+        ParseResult parseResult = previous != null
+                ? reparse(DocumentManager.getFileName(uri), content, previous.parseResult, dirtyStart)
+                : null;
+        return parseResult != null ? analyzeParsed(parseResult) : analyze(uri, content);
+    }
 
+    private static DocumentManager.CachedAnalysis analyzeParsed(ParseResult parseResult) {
         SemanticAnalyzer analyzer = new SemanticAnalyzer();
         AnalysisResult analysisResult = analyzer.analyze(
                 parseResult.getProgram(), parseResult.getTopLevelStatements());
-
         return new DocumentManager.CachedAnalysis(parseResult, analysisResult);
     }
 
+    /**
+     * 从第一个受编辑影响的顶层条目前一条开始重新解析到文件末尾，并与未变化的前缀合并。
+     * AST 节点携带绝对位置，因此编辑点之后的条目必须重新解析；无法安全增量时返回 null（由调用方全量解析）。
+     */
+    static ParseResult reparse(String fileName, String content, ParseResult previous, int dirtyStart) {
+        // infix 声明会改变其后表达式的解析方式，前缀与后缀不再独立
+        if (previous == null || content.contains("infix")) {
+            return null;
+        }
+        for (ParseError error : previous.getErrors()) {
+            if (error.getToken() == null) return null;
+        }
+
+        // 结束边界不晚于编辑点的条目未受影响；再退回一条，覆盖解析前一条目时对后续 Token 的前瞻
+        List<ParseResult.TopLevelItem> items = previous.getTopLevelItems();
+        int unchanged = 0;
+        while (unchanged < items.size() && items.get(unchanged).getEndOffset() <= dirtyStart) {
+            unchanged++;
+        }
+        int resume = unchanged - 1;
+        if (resume <= 0) {
+            return null; // 编辑位于文件头或第一个条目
+        }
+
+        ParseResult.TopLevelItem from = items.get(resume);
+        Lexer lexer = Lexer.startingAt(content, fileName, from.getOffset(), from.getLine(), from.getColumn());
+        ParseResult region = new Parser(lexer, fileName).parseTolerant();
+        Program regionProgram = region.getProgram();
+        if (regionProgram.getPackageDecl() != null || !regionProgram.getImports().isEmpty()
+                || !regionProgram.getFileAnnotations().isEmpty()) {
+            return null; // 文件头结构出现在编辑区域内
+        }
+
+        List<Declaration> declarations = new ArrayList<Declaration>();
+        List<Statement> statements = new ArrayList<Statement>();
+        List<ParseResult.TopLevelItem> mergedItems = new ArrayList<ParseResult.TopLevelItem>(items.subList(0, resume));
+        for (ParseResult.TopLevelItem item : mergedItems) {
+            if (item.getDeclaration() != null) declarations.add(item.getDeclaration());
+            if (item.getStatement() != null) statements.add(item.getStatement());
+        }
+        declarations.addAll(regionProgram.getDeclarations());
+        statements.addAll(region.getTopLevelStatements());
+        mergedItems.addAll(region.getTopLevelItems());
+
+        List<ParseError> errors = new ArrayList<ParseError>();
+        for (ParseError error : previous.getErrors()) {
+            int offset = error.getToken().getOffset();
+            if (offset >= from.getOffset()) continue;
+            // 错误消息附带出错行源码，该行延伸进重解析区域时消息可能已过期
+            int lineEnd = content.indexOf('\n', offset);
+            if (lineEnd < 0 || lineEnd >= from.getOffset()) return null;
+            errors.add(error);
+        }
+        errors.addAll(region.getErrors());
+
+        Program old = previous.getProgram();
+        Program program = new Program(old.getLocation(), old.getFileAnnotations(), old.getPackageDecl(),
+                old.getImports(), declarations);
+        return new ParseResult(program, errors, statements, mergedItems);
+    }
+
     static String packageName(DocumentManager.CachedAnalysis cached) {
         if (cached == null || cached.parseResult == null) {
             return "";
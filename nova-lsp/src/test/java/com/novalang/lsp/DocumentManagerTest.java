@@ -1,9 +1,13 @@
 package com.novalang.lsp;
 
+import com.novalang.compiler.ast.decl.Declaration;
+import com.novalang.compiler.parser.ParseResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("DocumentManager 测试")
@@ -69,4 +73,63 @@ class DocumentManagerTest {
         assertThat(manager.isOpen("file:///a.nova")).isFalse();
         assertThat(manager.isOpen("file:///b.nova")).isTrue();
     }
+
+    @Test
+    @DisplayName("增量变更按行列替换文本")
+    void testIncrementalChange() {
+        manager.open("file:///test.nova", "val x = 1\nval y = 2\n");
+        manager.applyIncrementalChange("file:///test.nova", 1, 4, 1, 5, "total");
+        manager.applyIncrementalChange("file:///test.nova", 0, 8, 0, 9, "10");
+        manager.applyIncrementalChange("file:///test.nova", 2, 0, 2, 0, "val z = 3");
+        assertThat(manager.getContent("file:///test.nova"))
+                .isEqualTo("val x = 10\nval total = 2\nval z = 3");
+    }
+
+    @Test
+    @DisplayName("编辑点之前的声明复用 AST，之后重新解析且位置与全量解析一致")
+    void testIncrementalReparseReusesPrefix() {
+        String uri = "file:///inc.nova";
+        String source = "package demo\n\n"
+                + "fun a(): Int = 1\n\n"
+                + "fun b(): Int = 2\n\n"
+                + "class C {\n    fun c(): Int = 3\n}\n\n"
+                + "fun d(): Int = 4\n";
+        manager.open(uri, source);
+        List<Declaration> before = manager.getAnalysis(uri).parseResult.getProgram().getDeclarations();
+        assertThat(before).hasSize(4);
+
+        // 在 class C 内部插入一行
+        manager.applyIncrementalChange(uri, 7, 0, 7, 0, "    val extra = 0\n");
+        ParseResult incremental = manager.getAnalysis(uri).parseResult;
+        List<Declaration> after = incremental.getProgram().getDeclarations();
+        assertThat(after).hasSize(4);
+        assertThat(after.get(0)).isSameAs(before.get(0));
+        assertThat(after.get(3)).isNotSameAs(before.get(3));
+        assertThat(NovaAnalysisSupport.packageName(incremental.getProgram())).isEqualTo("demo");
+
+        ParseResult full = NovaAnalysisSupport.analyze(uri, manager.getContent(uri)).parseResult;
+        List<Declaration> expected = full.getProgram().getDeclarations();
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(after.get(i).getName()).isEqualTo(expected.get(i).getName());
+            assertThat(after.get(i).getLocation().getOffset()).isEqualTo(expected.get(i).getLocation().getOffset());
+            assertThat(after.get(i).getLocation().getLine()).isEqualTo(expected.get(i).getLocation().getLine());
+        }
+    }
+
+    @Test
+    @DisplayName("增量重解析保留编辑点之前的语法错误并更新之后的错误")
+    void testIncrementalReparseErrors() {
+        String uri = "file:///err.nova";
+        manager.open(uri, "fun a( = 1\n\nfun b(): Int = 2\n\nfun c(): Int = 3\n\nfun d(): Int = 4\n");
+        assertThat(manager.getAnalysis(uri).parseResult.getErrors()).hasSize(1);
+
+        manager.applyIncrementalChange(uri, 6, 15, 6, 16, "(");
+        ParseResult incremental = manager.getAnalysis(uri).parseResult;
+        ParseResult full = NovaAnalysisSupport.analyze(uri, manager.getContent(uri)).parseResult;
+        assertThat(incremental.getErrors()).hasSize(full.getErrors().size());
+        for (int i = 0; i < full.getErrors().size(); i++) {
+            assertThat(incremental.getErrors().get(i).getLine()).isEqualTo(full.getErrors().get(i).getLine());
+            assertThat(incremental.getErrors().get(i).getColumn()).isEqualTo(full.getErrors().get(i).getColumn());
+        }
+    }
 }
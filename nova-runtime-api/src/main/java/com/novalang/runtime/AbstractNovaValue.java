@@ -49,80 +49,106 @@ public abstract class AbstractNovaValue implements NovaValue {
     /**
      * 将 Java 值转换为 NovaValue
      *
+     * <p>按运行时类经 {@link #CONVERTERS} 分派。List / Map 不复制：包装为以宿主集合为存储的
+     * NovaList / NovaMap（读取时转换、写入穿透），{@link NovaListView} / {@link NovaMapView}
+     * 取回其委托的原值。需要独立副本时使用 {@link #fromJavaCopy(Object)}。</p>
+     *
      * @param javaValue Java 对象
      * @return 对应的 NovaValue
      * @throws NovaException 如果无法转换
      */
-    @SuppressWarnings("unchecked")
     public static NovaValue fromJava(Object javaValue) {
         if (javaValue == null) {
             return NovaNull.NULL;
         }
-        if (javaValue instanceof NovaValue) {
-            return (NovaValue) javaValue;
-        }
-        if (javaValue instanceof Integer) {
-            return NovaInt.of((Integer) javaValue);
-        }
-        if (javaValue instanceof Long) {
-            return NovaLong.of((Long) javaValue);
-        }
-        if (javaValue instanceof Double) {
-            return NovaDouble.of((Double) javaValue);
-        }
-        if (javaValue instanceof Float) {
-            return NovaFloat.of((Float) javaValue);
-        }
-        if (javaValue instanceof Boolean) {
-            return NovaBoolean.of((Boolean) javaValue);
-        }
-        if (javaValue instanceof String) {
-            return NovaString.of((String) javaValue);
-        }
-        if (javaValue instanceof Character) {
-            return NovaChar.of((Character) javaValue);
-        }
-        if (javaValue instanceof int[]) {
-            return new NovaArray(NovaArray.ElementType.INT, javaValue, ((int[]) javaValue).length);
-        }
-        if (javaValue instanceof long[]) {
-            return new NovaArray(NovaArray.ElementType.LONG, javaValue, ((long[]) javaValue).length);
-        }
-        if (javaValue instanceof double[]) {
-            return new NovaArray(NovaArray.ElementType.DOUBLE, javaValue, ((double[]) javaValue).length);
-        }
-        if (javaValue instanceof float[]) {
-            return new NovaArray(NovaArray.ElementType.FLOAT, javaValue, ((float[]) javaValue).length);
-        }
-        if (javaValue instanceof boolean[]) {
-            return new NovaArray(NovaArray.ElementType.BOOLEAN, javaValue, ((boolean[]) javaValue).length);
-        }
-        if (javaValue instanceof char[]) {
-            return new NovaArray(NovaArray.ElementType.CHAR, javaValue, ((char[]) javaValue).length);
-        }
-        if (javaValue instanceof String[]) {
-            return new NovaArray(NovaArray.ElementType.STRING, javaValue, ((String[]) javaValue).length);
-        }
-        if (javaValue instanceof Object[]) {
-            return new NovaArray(NovaArray.ElementType.OBJECT, javaValue, ((Object[]) javaValue).length);
+        return CONVERTERS.get(javaValue.getClass()).apply(javaValue);
+    }
+
+    /**
+     * 将 Java 值深复制为 NovaValue：List / Map（含嵌套）复制为独立的 NovaList / NovaMap，
+     * 其余同 {@link #fromJava(Object)}。
+     */
+    public static NovaValue fromJavaCopy(Object javaValue) {
+        if (javaValue instanceof NovaList.View || javaValue instanceof NovaMap.View || javaValue instanceof NovaValue) {
+            return fromJava(javaValue);
         }
         if (javaValue instanceof List) {
             NovaList list = new NovaList();
             for (Object item : (List<?>) javaValue) {
-                list.add(fromJava(item));
+                list.add(fromJavaCopy(item));
             }
             return list;
         }
         if (javaValue instanceof Map) {
             NovaMap map = new NovaMap();
             for (Map.Entry<?, ?> entry : ((Map<?, ?>) javaValue).entrySet()) {
-                map.put(fromJava(entry.getKey()), fromJava(entry.getValue()));
+                map.put(fromJavaCopy(entry.getKey()), fromJavaCopy(entry.getValue()));
             }
             return map;
         }
-        // 回退转换器（由 Interpreter 注册为 NovaExternalObject::new）
-        if (fallbackConverter != null) {
-            return fallbackConverter.apply(javaValue);
+        return fromJava(javaValue);
+    }
+
+    /**
+     * 将 NovaValue 深复制为 Java 值：NovaList / NovaMap（含嵌套）复制为独立的 ArrayList / LinkedHashMap，
+     * 其余同 {@link NovaValue#toJavaValue()}。
+     */
+    public static Object toJavaCopy(NovaValue value) {
+        if (value instanceof NovaList) return ((NovaList) value).toJavaCopy();
+        if (value instanceof NovaMap) return ((NovaMap) value).toJavaCopy();
+        return value.toJavaValue();
+    }
+
+    /**
+     * 写入 Java 集合视图的元素值：{@link NovaValue#keepsIdentityInJava()} 的值原样保留，其余 toJavaValue()。
+     */
+    public static Object toJavaElement(NovaValue value) {
+        return value.keepsIdentityInJava() ? value : value.toJavaValue();
+    }
+
+    /** 按运行时类缓存的转换函数（替代逐个 instanceof 判断） */
+    private static final ClassValue<Function<Object, NovaValue>> CONVERTERS =
+            new ClassValue<Function<Object, NovaValue>>() {
+                @Override
+                protected Function<Object, NovaValue> computeValue(Class<?> type) {
+                    return converterFor(type);
+                }
+            };
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, NovaValue> converterFor(Class<?> type) {
+        if (NovaValue.class.isAssignableFrom(type)) return v -> (NovaValue) v;
+        if (type == Integer.class) return v -> NovaInt.of((Integer) v);
+        if (type == Long.class) return v -> NovaLong.of((Long) v);
+        if (type == Double.class) return v -> NovaDouble.of((Double) v);
+        if (type == Float.class) return v -> NovaFloat.of((Float) v);
+        if (type == Boolean.class) return v -> NovaBoolean.of((Boolean) v);
+        if (type == String.class) return v -> NovaString.of((String) v);
+        if (type == Character.class) return v -> NovaChar.of((Character) v);
+        if (type == int[].class) return v -> new NovaArray(NovaArray.ElementType.INT, v, ((int[]) v).length);
+        if (type == long[].class) return v -> new NovaArray(NovaArray.ElementType.LONG, v, ((long[]) v).length);
+        if (type == double[].class) return v -> new NovaArray(NovaArray.ElementType.DOUBLE, v, ((double[]) v).length);
+        if (type == float[].class) return v -> new NovaArray(NovaArray.ElementType.FLOAT, v, ((float[]) v).length);
+        if (type == boolean[].class) {
+            return v -> new NovaArray(NovaArray.ElementType.BOOLEAN, v, ((boolean[]) v).length);
+        }
+        if (type == char[].class) return v -> new NovaArray(NovaArray.ElementType.CHAR, v, ((char[]) v).length);
+        if (type == String[].class) return v -> new NovaArray(NovaArray.ElementType.STRING, v, ((String[]) v).length);
+        if (Object[].class.isAssignableFrom(type)) {
+            return v -> new NovaArray(NovaArray.ElementType.OBJECT, v, ((Object[]) v).length);
+        }
+        if (NovaList.View.class.isAssignableFrom(type)) return v -> ((NovaList.View) v).novaList();
+        if (List.class.isAssignableFrom(type)) return v -> NovaList.wrap((List<?>) v);
+        if (NovaMap.View.class.isAssignableFrom(type)) return v -> ((NovaMap.View) v).novaMap();
+        if (Map.class.isAssignableFrom(type)) return v -> NovaMap.wrap((Map<?, ?>) v);
+        return AbstractNovaValue::convertFallback;
+    }
+
+    /** 回退转换器（由 Interpreter 注册为 NovaExternalObject::new）；每次调用时读取，注册可晚于首次转换 */
+    private static NovaValue convertFallback(Object javaValue) {
+        Function<Object, NovaValue> converter = fallbackConverter;
+        if (converter != null) {
+            return converter.apply(javaValue);
         }
         throw new NovaException("Cannot convert Java object to NovaValue: " + javaValue.getClass().getName());
     }
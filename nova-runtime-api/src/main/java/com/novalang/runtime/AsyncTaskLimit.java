@@ -0,0 +1,46 @@
+package com.novalang.runtime;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 活跃异步任务计数（全局共享）
+ *
+ * <p>{@code async { }} 与并行集合操作的 worker 分块共用同一个计数器，
+ * 受 {@link NovaSecurityPolicy#getMaxAsyncTasks()} 限制（0 表示不限，但仍计数）。</p>
+ */
+public final class AsyncTaskLimit {
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    private AsyncTaskLimit() {}
+
+    /** 申请一个名额；超过上限时返回 false */
+    public static boolean tryAcquire(int maxTasks) {
+        return acquireUpTo(maxTasks, 1) == 1;
+    }
+
+    /** 最多申请 wanted 个名额，返回实际获得的数量（可能为 0） */
+    public static int acquireUpTo(int maxTasks, int wanted) {
+        if (wanted <= 0) return 0;
+        if (maxTasks <= 0) {
+            ACTIVE.addAndGet(wanted);
+            return wanted;
+        }
+        for (;;) {
+            int current = ACTIVE.get();
+            int granted = Math.min(wanted, maxTasks - current);
+            if (granted <= 0) return 0;
+            if (ACTIVE.compareAndSet(current, current + granted)) return granted;
+        }
+    }
+
+    /** 任务结束，归还一个名额 */
+    public static void release() {
+        ACTIVE.decrementAndGet();
+    }
+
+    /** 当前活跃任务数 */
+    public static int active() {
+        return ACTIVE.get();
+    }
+}
@@ -0,0 +1,62 @@
+package com.novalang.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 绑定布局：全局变量名 → 槽位编号。
+ *
+ * <p>每个 {@link BindingSlots} 上下文拥有自己的布局（{@link BindingSlots#copy()} 得到的副本与源共用），
+ * 槽位在布局内只追加不回收，布局随上下文一起回收，不会因其他上下文出现过的变量名增长。</p>
+ *
+ * <p>同一份字节码可以在不同上下文中执行，槽位编号只在所属布局内有效：
+ * 调用点通过 {@link BindingSite} 缓存 (布局, 槽位)，以布局引用相等为 guard，换了上下文时重新解析。</p>
+ */
+public final class BindingLayout {
+
+    private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+    /** 槽位 → 名称；先写元素再发布 size，读端按 size 上界访问 */
+    private volatile String[] names = new String[16];
+    private volatile int size;
+
+    /** 返回名称对应的槽位，首次出现时分配新槽位 */
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : intern(name);
+    }
+
+    /** 查找已分配的槽位（不分配），未出现过返回 -1 */
+    public int find(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : -1;
+    }
+
+    /** 槽位对应的名称 */
+    public String nameAt(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("binding slot " + slot + " (layout size " + size + ")");
+        }
+        return names[slot];
+    }
+
+    /** 已分配的槽位数 */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int intern(String name) {
+        Integer existing = slots.get(name);
+        if (existing != null) return existing;
+        int slot = size;
+        String[] current = names;
+        if (slot == current.length) {
+            String[] grown = new String[current.length * 2];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+        current[slot] = name;
+        names = current;
+        size = slot + 1;
+        slots.put(name, slot);
+        return slot;
+    }
+}
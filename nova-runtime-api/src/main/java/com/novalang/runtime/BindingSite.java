@@ -0,0 +1,68 @@
+package com.novalang.runtime;
+
+/**
+ * 绑定访问点：变量名 + 最近解析到的若干 (布局, 槽位)。
+ *
+ * <p>字节码的 invokedynamic 调用点和解释器的 $Module 字段指令各持有一个实例。
+ * 槽位只在所属 {@link BindingLayout} 内有效，访问前以布局引用相等为 guard。
+ * 同一份编译结果常在多个存活上下文间交替执行，因此缓存最多 {@value #MAX_LINKS} 个布局（多态内联缓存），
+ * 未命中时重新解析并插到最前，超出上限淘汰最久未解析的一项。
+ * 缓存是不可变数组，整体替换，多线程共享同一访问点时不会读到混合状态。</p>
+ */
+public final class BindingSite {
+
+    /** 每个访问点缓存的布局上限 */
+    static final int MAX_LINKS = 4;
+
+    private static final Link[] EMPTY = new Link[0];
+
+    private final String name;
+    private volatile Link[] links = EMPTY;
+
+    public BindingSite(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 名称在 layout 中的槽位。
+     *
+     * @param allocate 名称未出现过时是否分配新槽位；为 false 时返回 -1
+     */
+    public int slotIn(BindingLayout layout, boolean allocate) {
+        Link[] cached = links;
+        for (Link l : cached) {
+            if (l.layout == layout) return l.slot;
+        }
+        int slot = allocate ? layout.slotOf(name) : layout.find(name);
+        if (slot >= 0) {
+            int keep = Math.min(cached.length, MAX_LINKS - 1);
+            Link[] next = new Link[keep + 1];
+            next[0] = new Link(layout, slot);
+            System.arraycopy(cached, 0, next, 1, keep);
+            links = next;
+        }
+        return slot;
+    }
+
+    /** layout 是否已在缓存中（测试用） */
+    boolean isLinked(BindingLayout layout) {
+        for (Link l : links) {
+            if (l.layout == layout) return true;
+        }
+        return false;
+    }
+
+    private static final class Link {
+        final BindingLayout layout;
+        final int slot;
+
+        Link(BindingLayout layout, int slot) {
+            this.layout = layout;
+            this.slot = slot;
+        }
+    }
+}
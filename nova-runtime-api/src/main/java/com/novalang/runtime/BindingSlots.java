@@ -0,0 +1,305 @@
+package com.novalang.runtime;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 按 {@link BindingLayout} 槽位存储的全局绑定。
+ *
+ * <p>值按槽位分页存放，页一经分配不再移动，扩容只复制页表，并发写入不会因扩容丢失。
+ * 已链接的调用点通过 {@link #getAt}/{@link #putAt} 直接访问槽位；
+ * 宿主侧仍可按 {@link Map} 使用（按名称查布局后访问同一槽位）。</p>
+ *
+ * <p>与 NovaScriptContext 旧的 ConcurrentHashMap 一致，单个槽位的读写不加锁；
+ * 允许 null 值（内部以 {@link #NULL} 占位，与"未绑定"区分）。</p>
+ */
+public final class BindingSlots extends AbstractMap<String, Object> {
+
+    /** null 值占位（槽位为 Java null 表示未绑定） */
+    static final Object NULL = new Object();
+
+    private static final int PAGE_BITS = 6;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final BindingLayout layout;
+    private volatile Object[][] pages;
+    private EntrySet entrySet;
+
+    /** 新上下文：使用独立的空布局 */
+    public BindingSlots() {
+        this.layout = new BindingLayout();
+        this.pages = new Object[1][];
+    }
+
+    private BindingSlots(BindingLayout layout, Object[][] pages) {
+        this.layout = layout;
+        this.pages = pages;
+    }
+
+    public BindingLayout layout() {
+        return layout;
+    }
+
+    // ── 槽位访问 ──
+
+    /** 读取槽位值；未绑定或值为 null 时返回 null */
+    public Object getAt(int slot) {
+        Object raw = rawAt(slot);
+        return raw == NULL ? null : raw;
+    }
+
+    /** 写入槽位值 */
+    public void putAt(int slot, Object value) {
+        pageFor(slot)[slot & PAGE_MASK] = value != null ? value : NULL;
+    }
+
+    /** 按调用点读取：名称未在本布局出现过时视为未绑定 */
+    public Object getAt(BindingSite site) {
+        return getAt(site.slotIn(layout, false));
+    }
+
+    /** 按调用点写入：名称首次出现时在本布局分配槽位 */
+    public void putAt(BindingSite site, Object value) {
+        putAt(site.slotIn(layout, true), value);
+    }
+
+    /** 槽位是否已绑定（含 null 值） */
+    public boolean containsAt(int slot) {
+        return rawAt(slot) != null;
+    }
+
+    /** 原始槽位值：null 表示未绑定，{@link #NULL} 表示绑定为 null */
+    Object rawAt(int slot) {
+        if (slot < 0) return null;
+        Object[][] p = pages;
+        int pageIndex = slot >>> PAGE_BITS;
+        if (pageIndex >= p.length) return null;
+        Object[] page = p[pageIndex];
+        return page != null ? page[slot & PAGE_MASK] : null;
+    }
+
+    private Object[] pageFor(int slot) {
+        Object[][] p = pages;
+        int pageIndex = slot >>> PAGE_BITS;
+        if (pageIndex < p.length) {
+            Object[] page = p[pageIndex];
+            if (page != null) return page;
+        }
+        return allocatePage(pageIndex);
+    }
+
+    private synchronized Object[] allocatePage(int pageIndex) {
+        Object[][] p = pages;
+        if (pageIndex >= p.length) {
+            Object[][] grown = new Object[Math.max(p.length * 2, pageIndex + 1)][];
+            System.arraycopy(p, 0, grown, 0, p.length);
+            p = grown;
+        }
+        Object[] page = p[pageIndex];
+        if (page == null) {
+            page = new Object[PAGE_SIZE];
+            p[pageIndex] = page;
+        }
+        pages = p;
+        return page;
+    }
+
+    // ── 批量操作 ──
+
+    /** 按页复制出独立副本（拷贝模式执行使用，不经过名称查找） */
+    public BindingSlots copy() {
+        Object[][] p = pages;
+        Object[][] copied = new Object[p.length][];
+        for (int i = 0; i < p.length; i++) {
+            if (p[i] != null) copied[i] = p[i].clone();
+        }
+        return new BindingSlots(layout, copied);
+    }
+
+    /**
+     * 把 source 中已绑定的槽位写入本实例（source 未绑定的槽位保持不变）。
+     * 共用布局时按页复制，否则按名称逐个写入。
+     */
+    public void putAllSlots(BindingSlots source) {
+        if (source.layout != layout) {
+            for (Entry<String, Object> e : source.entrySet()) {
+                put(e.getKey(), e.getValue());
+            }
+            return;
+        }
+        Object[][] p = source.pages;
+        for (int i = 0; i < p.length; i++) {
+            Object[] page = p[i];
+            if (page == null) continue;
+            for (int j = 0; j < PAGE_SIZE; j++) {
+                Object value = page[j];
+                if (value != null) {
+                    pageFor((i << PAGE_BITS) | j)[j] = value;
+                }
+            }
+        }
+    }
+
+    // ── Map 视图 ──
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) return null;
+        int slot = layout.find((String) key);
+        return slot >= 0 ? getAt(slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) return false;
+        int slot = layout.find((String) key);
+        return slot >= 0 && containsAt(slot);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = layout.slotOf(key);
+        Object[] page = pageFor(slot);
+        Object previous = page[slot & PAGE_MASK];
+        page[slot & PAGE_MASK] = value != null ? value : NULL;
+        return previous == NULL ? null : previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (m instanceof BindingSlots) {
+            putAllSlots((BindingSlots) m);
+        } else {
+            super.putAll(m);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) return null;
+        int slot = layout.find((String) key);
+        if (slot < 0) return null;
+        Object previous = rawAt(slot);
+        if (previous == null) return null;
+        pageFor(slot)[slot & PAGE_MASK] = null;
+        return previous == NULL ? null : previous;
+    }
+
+    @Override
+    public void clear() {
+        Object[][] p = pages;
+        for (Object[] page : p) {
+            if (page != null) Arrays.fill(page, null);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        EntrySet es = entrySet;
+        if (es == null) {
+            es = new EntrySet();
+            entrySet = es;
+        }
+        return es;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            int limit = layout.size();
+            for (int slot = 0; slot < limit; slot++) {
+                if (rawAt(slot) != null) count++;
+            }
+            return count;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final int limit = layout.size();
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int from) {
+            int slot = from;
+            while (slot < limit && rawAt(slot) == null) slot++;
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < limit;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next >= limit) throw new NoSuchElementException();
+            last = next;
+            next = advance(next + 1);
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException();
+            pageFor(last)[last & PAGE_MASK] = null;
+            last = -1;
+        }
+    }
+
+    /** 写穿条目：setValue 直接写回槽位 */
+    private final class SlotEntry implements Entry<String, Object> {
+        private final int slot;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return layout.nameAt(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return getAt(slot);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = getAt(slot);
+            putAt(slot, value);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.novalang.runtime;
+
+/**
+ * 预解析的脚本函数句柄，由 {@code Nova.bind} / {@code CompiledNova.bind} 返回。
+ *
+ * <p>函数名只在绑定时查找一次；按元数特化的子接口 {@link BoundFunction0} ~ {@link BoundFunction8}
+ * 以固定参数调用，不构造参数数组，适合宿主高频回调（onTick / onEvent 等）。</p>
+ *
+ * <pre>
+ * BoundFunction2 onEvent = nova.bind("onEvent", 2);
+ * for (Event e : events) {
+ *     onEvent.invoke(e.type(), e.payload());
+ * }
+ * </pre>
+ *
+ * <p>句柄持有绑定时解析到的函数：脚本之后重新定义同名函数不影响已有句柄，需要时重新 bind。</p>
+ */
+public interface BoundFunction {
+
+    /** 最大特化元数（与 Function0 ~ Function8 一致） */
+    int MAX_ARITY = 8;
+
+    /** 绑定的函数名 */
+    String getName();
+
+    /** 绑定的参数个数 */
+    int getArity();
+
+    /**
+     * 按位置调用的目标：前 {@link #getArity()} 个参数有效，其余位置为 null。
+     * 由解释器 / 字节码两种执行模式各自实现，负责参数转换和执行上下文。
+     */
+    interface Target {
+        Object invoke(Object a0, Object a1, Object a2, Object a3,
+                      Object a4, Object a5, Object a6, Object a7);
+    }
+
+    /**
+     * 为目标创建按元数特化的句柄。
+     *
+     * @throws IllegalArgumentException arity 超出 0 ~ {@link #MAX_ARITY}
+     */
+    static BoundFunction of(String name, int arity, Target target) {
+        return BoundFunctions.of(name, arity, target);
+    }
+}
@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 无参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction0 extends BoundFunction, Function0<Object> {
+}
@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 单参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction1 extends BoundFunction, Function1<Object, Object> {
+}
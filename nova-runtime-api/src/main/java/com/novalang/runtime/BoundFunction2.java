@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 双参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction2 extends BoundFunction, Function2<Object, Object, Object> {
+}
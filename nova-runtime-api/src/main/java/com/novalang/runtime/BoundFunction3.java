@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 三参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction3 extends BoundFunction, Function3<Object, Object, Object, Object> {
+}
@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 四参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction4 extends BoundFunction, Function4<Object, Object, Object, Object, Object> {
+}
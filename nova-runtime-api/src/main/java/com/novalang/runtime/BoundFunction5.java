@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 五参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction5 extends BoundFunction, Function5<Object, Object, Object, Object, Object, Object> {
+}
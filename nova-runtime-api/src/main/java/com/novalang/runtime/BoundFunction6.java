@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 六参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction6 extends BoundFunction, Function6<Object, Object, Object, Object, Object, Object, Object> {
+}
@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 七参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction7 extends BoundFunction, Function7<Object, Object, Object, Object, Object, Object, Object, Object> {
+}
@@ -0,0 +1,9 @@
+package com.novalang.runtime;
+
+/**
+ * 八参数的预解析脚本函数句柄。
+ *
+ * @see BoundFunction
+ */
+public interface BoundFunction8 extends BoundFunction, Function8<Object, Object, Object, Object, Object, Object, Object, Object, Object> {
+}
@@ -0,0 +1,152 @@
+package com.novalang.runtime;
+
+/**
+ * {@link BoundFunction} 的按元数适配器：把固定参数的 invoke 转发到 {@link BoundFunction.Target}，
+ * 未使用的位置填 null，不分配参数数组。
+ */
+final class BoundFunctions {
+
+    private BoundFunctions() {}
+
+    static BoundFunction of(String name, int arity, BoundFunction.Target target) {
+        switch (arity) {
+            case 0: return new Of0(name, target);
+            case 1: return new Of1(name, target);
+            case 2: return new Of2(name, target);
+            case 3: return new Of3(name, target);
+            case 4: return new Of4(name, target);
+            case 5: return new Of5(name, target);
+            case 6: return new Of6(name, target);
+            case 7: return new Of7(name, target);
+            case 8: return new Of8(name, target);
+            default:
+                throw new IllegalArgumentException("arity must be 0.." + BoundFunction.MAX_ARITY + ", got " + arity);
+        }
+    }
+
+    private abstract static class Base implements BoundFunction {
+        private final String name;
+        private final int arity;
+        final BoundFunction.Target target;
+
+        Base(String name, int arity, BoundFunction.Target target) {
+            this.name = name;
+            this.arity = arity;
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getArity() {
+            return arity;
+        }
+
+        @Override
+        public String toString() {
+            return "<bound fun " + name + "/" + arity + ">";
+        }
+    }
+
+    private static final class Of0 extends Base implements BoundFunction0 {
+        Of0(String name, BoundFunction.Target target) {
+            super(name, 0, target);
+        }
+
+        @Override
+        public Object invoke() {
+            return target.invoke(null, null, null, null, null, null, null, null);
+        }
+    }
+
+    private static final class Of1 extends Base implements BoundFunction1 {
+        Of1(String name, BoundFunction.Target target) {
+            super(name, 1, target);
+        }
+
+        @Override
+        public Object invoke(Object a0) {
+            return target.invoke(a0, null, null, null, null, null, null, null);
+        }
+    }
+
+    private static final class Of2 extends Base implements BoundFunction2 {
+        Of2(String name, BoundFunction.Target target) {
+            super(name, 2, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1) {
+            return target.invoke(a0, a1, null, null, null, null, null, null);
+        }
+    }
+
+    private static final class Of3 extends Base implements BoundFunction3 {
+        Of3(String name, BoundFunction.Target target) {
+            super(name, 3, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2) {
+            return target.invoke(a0, a1, a2, null, null, null, null, null);
+        }
+    }
+
+    private static final class Of4 extends Base implements BoundFunction4 {
+        Of4(String name, BoundFunction.Target target) {
+            super(name, 4, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3) {
+            return target.invoke(a0, a1, a2, a3, null, null, null, null);
+        }
+    }
+
+    private static final class Of5 extends Base implements BoundFunction5 {
+        Of5(String name, BoundFunction.Target target) {
+            super(name, 5, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3, Object a4) {
+            return target.invoke(a0, a1, a2, a3, a4, null, null, null);
+        }
+    }
+
+    private static final class Of6 extends Base implements BoundFunction6 {
+        Of6(String name, BoundFunction.Target target) {
+            super(name, 6, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5) {
+            return target.invoke(a0, a1, a2, a3, a4, a5, null, null);
+        }
+    }
+
+    private static final class Of7 extends Base implements BoundFunction7 {
+        Of7(String name, BoundFunction.Target target) {
+            super(name, 7, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6) {
+            return target.invoke(a0, a1, a2, a3, a4, a5, a6, null);
+        }
+    }
+
+    private static final class Of8 extends Base implements BoundFunction8 {
+        Of8(String name, BoundFunction.Target target) {
+            super(name, 8, target);
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7) {
+            return target.invoke(a0, a1, a2, a3, a4, a5, a6, a7);
+        }
+    }
+}
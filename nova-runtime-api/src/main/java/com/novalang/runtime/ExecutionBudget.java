@@ -0,0 +1,347 @@
+package com.novalang.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单次执行的资源预算
+ *
+ * <p>每次执行入口（解释器 eval、CompiledNova.run）按 {@link NovaSecurityPolicy} 创建一个新实例并绑定到执行线程。
+ * 计数器是普通字段，只由执行线程访问；多个脚本即使共用同一个策略对象，也各自消耗自己的预算，互不争用。</p>
+ *
+ * <ul>
+ *   <li>循环：回边调用 {@link #tickLoop()}，快路径只递减一个燃料计数。燃料按窗口发放，
+ *       窗口耗尽（迭代上限，或设置了超时时每 {@value #DEFAULT_CLOCK_INTERVAL} 次）才进入慢路径读取时钟</li>
+ *   <li>调用：{@link #enterCall()} 按函数调用次数计费，同样按窗口检查超时</li>
+ *   <li>分配：{@link #allocate()} 按对象/数组/集合创建次数计费</li>
+ * </ul>
+ *
+ * <p>编译模式下，需要检查的方法在入口处通过 {@link #active()} 取一次预算存入局部变量，
+ * 之后的回边、调用、分配检查都直接调用实例方法，不再访问 ThreadLocal。
+ * 策略为 UNRESTRICTED 或未设置任何限制时 {@link #active()} 返回 null，生成代码只剩一次判空。</p>
+ *
+ * <p>并行集合操作通过 {@link #openParallel()} 把剩余额度移入共享池，每个分块的预算按窗口从池中领取，
+ * 各分块合计不超过父预算的剩余额度；并行区结束后剩余额度归还父预算。</p>
+ *
+ * <p>时钟检查间隔可通过系统属性 {@code novalang.budget.clockInterval} 调整。</p>
+ */
+public final class ExecutionBudget {
+
+    public static final String CLOCK_INTERVAL_PROPERTY = "novalang.budget.clockInterval";
+
+    private static final int DEFAULT_CLOCK_INTERVAL = 1024;
+
+    /** 两次读取时钟之间允许的最大回边/调用次数 */
+    static final int CLOCK_INTERVAL = readClockInterval();
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final ThreadLocal<ExecutionBudget> CURRENT = new ThreadLocal<>();
+
+    private final NovaSecurityPolicy policy;
+    private final long maxLoopIterations;
+    private final long maxCalls;
+    private final long maxAllocations;
+    private final long maxExecutionTimeMs;
+    private final long startNanos;
+    private final long timeoutNanos;
+    private final boolean timed;
+    private final boolean limited;
+    /** 并行区 worker 的额度来源；null 表示使用自身计数器 */
+    private final ParallelRegion region;
+
+    // 每个计数器：fuel 为当前窗口剩余次数，reserve 为窗口之外仍允许的次数（UNLIMITED 表示不限）
+    private long loopFuel;
+    private long loopReserve;
+    private long callFuel;
+    private long callReserve;
+    private long allocationFuel;
+    private long allocationReserve;
+
+    public ExecutionBudget(NovaSecurityPolicy policy) {
+        this(policy, System.nanoTime());
+    }
+
+    private ExecutionBudget(NovaSecurityPolicy policy, long startNanos) {
+        this(policy, startNanos, null);
+    }
+
+    private ExecutionBudget(NovaSecurityPolicy policy, long startNanos, ParallelRegion region) {
+        this.policy = policy;
+        this.region = region;
+        boolean enforced = policy != null && policy.getLevel() != NovaSecurityPolicy.Level.UNRESTRICTED;
+        this.maxLoopIterations = enforced ? policy.getMaxLoopIterations() : 0;
+        this.maxCalls = enforced ? policy.getMaxCalls() : 0;
+        this.maxAllocations = enforced ? policy.getMaxAllocations() : 0;
+        this.maxExecutionTimeMs = enforced ? policy.getMaxExecutionTimeMs() : 0;
+        this.startNanos = startNanos;
+        this.timeoutNanos = maxExecutionTimeMs * 1_000_000L;
+        this.timed = maxExecutionTimeMs > 0;
+        this.limited = timed || maxLoopIterations > 0 || maxCalls > 0 || maxAllocations > 0;
+
+        this.loopReserve = maxLoopIterations > 0 ? maxLoopIterations : UNLIMITED;
+        this.loopFuel = takeWindow(loopReserve, timed);
+        if (loopReserve != UNLIMITED) loopReserve -= loopFuel;
+        this.callReserve = maxCalls > 0 ? maxCalls : UNLIMITED;
+        this.callFuel = takeWindow(callReserve, timed);
+        if (callReserve != UNLIMITED) callReserve -= callFuel;
+        this.allocationReserve = maxAllocations > 0 ? maxAllocations : UNLIMITED;
+        this.allocationFuel = allocationReserve;
+        if (allocationReserve != UNLIMITED) allocationReserve = 0;
+        if (region != null) {
+            // worker 不持有自身额度，首次计费即进入慢路径从共享池领取窗口
+            loopFuel = loopReserve = callFuel = callReserve = allocationFuel = allocationReserve = 0;
+        }
+    }
+
+    /**
+     * 子执行（外部线程回调使用的子解释器）的预算：限制相同，计数独立，共享同一个截止时间。
+     */
+    public ExecutionBudget forChild() {
+        return new ExecutionBudget(policy, startNanos);
+    }
+
+    // ============ 线程绑定 ============
+
+    /** 为当前线程开始一次新的执行：按策略创建预算并绑定 */
+    public static ExecutionBudget begin(NovaSecurityPolicy policy) {
+        ExecutionBudget budget = new ExecutionBudget(policy);
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /** 绑定已有预算（null 表示解除绑定） */
+    public static void bind(ExecutionBudget budget) {
+        if (budget == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(budget);
+        }
+    }
+
+    /** 当前线程绑定的预算（可能为不受限预算） */
+    public static ExecutionBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前线程需要检查的预算；未绑定或不受限时返回 null。
+     * 编译模式在方法入口调用一次。
+     */
+    public static ExecutionBudget active() {
+        ExecutionBudget budget = CURRENT.get();
+        return budget != null && budget.limited ? budget : null;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** 对当前线程的预算记一次分配（编译模式在方法预算局部变量尚未就绪时使用） */
+    public static void chargeAllocation() {
+        ExecutionBudget budget = active();
+        if (budget != null) budget.allocate();
+    }
+
+    // ============ 计费 ============
+
+    /** 循环回边 */
+    public void tickLoop() {
+        if (--loopFuel < 0) {
+            loopWindowExhausted();
+        }
+    }
+
+    /** 函数调用 */
+    public void enterCall() {
+        if (--callFuel < 0) {
+            callWindowExhausted();
+        }
+    }
+
+    /** 对象/数组/集合分配 */
+    public void allocate() {
+        if (--allocationFuel < 0) {
+            allocationWindowExhausted();
+        }
+    }
+
+    private void allocationWindowExhausted() {
+        long window = region != null ? ParallelRegion.draw(region.allocations, CLOCK_INTERVAL) : 0;
+        if (window <= 0) {
+            allocationFuel = 0;
+            throw NovaSecurityPolicy.denied("Maximum allocations exceeded (" + maxAllocations + ")");
+        }
+        allocationFuel = window - 1;
+    }
+
+    private void loopWindowExhausted() {
+        checkDeadline();
+        if (region != null) {
+            long window = ParallelRegion.draw(region.loops, CLOCK_INTERVAL);
+            if (window <= 0) {
+                loopFuel = 0;
+                throw NovaSecurityPolicy.denied("Maximum loop iterations exceeded (" + maxLoopIterations + ")");
+            }
+            loopFuel = window - 1;
+            return;
+        }
+        if (loopReserve <= 0) {
+            loopFuel = 0;
+            throw NovaSecurityPolicy.denied("Maximum loop iterations exceeded (" + maxLoopIterations + ")");
+        }
+        long window = takeWindow(loopReserve, timed);
+        if (loopReserve != UNLIMITED) loopReserve -= window;
+        loopFuel = window - 1;
+    }
+
+    private void callWindowExhausted() {
+        checkDeadline();
+        if (region != null) {
+            long window = ParallelRegion.draw(region.calls, CLOCK_INTERVAL);
+            if (window <= 0) {
+                callFuel = 0;
+                throw NovaSecurityPolicy.denied("Maximum function calls exceeded (" + maxCalls + ")");
+            }
+            callFuel = window - 1;
+            return;
+        }
+        if (callReserve <= 0) {
+            callFuel = 0;
+            throw NovaSecurityPolicy.denied("Maximum function calls exceeded (" + maxCalls + ")");
+        }
+        long window = takeWindow(callReserve, timed);
+        if (callReserve != UNLIMITED) callReserve -= window;
+        callFuel = window - 1;
+    }
+
+    /** 立即检查是否超时（慢路径或宿主主动调用） */
+    public void checkDeadline() {
+        if (timed && System.nanoTime() - startNanos > timeoutNanos) {
+            throw NovaSecurityPolicy.denied("Execution timeout exceeded (" + maxExecutionTimeMs + "ms)");
+        }
+    }
+
+    private static long takeWindow(long reserve, boolean timed) {
+        return timed ? Math.min(reserve, CLOCK_INTERVAL) : reserve;
+    }
+
+    // ============ 并行区 ============
+
+    /**
+     * 开始并行区：把本预算的剩余额度移入共享池（在发起并行操作的线程调用）。
+     * 并行区内本预算不再计费，所有分块（包括调用线程执行的分块）都使用 {@link ParallelRegion#newWorker()}。
+     * worker 预算上再次打开并行区时直接共用同一个池。
+     */
+    public ParallelRegion openParallel() {
+        if (region != null) {
+            region.release(this);
+            return new ParallelRegion(this, region.loops, region.calls, region.allocations, false);
+        }
+        AtomicLong loops = new AtomicLong(maxLoopIterations > 0 ? loopReserve + Math.max(loopFuel, 0) : UNLIMITED);
+        AtomicLong calls = new AtomicLong(maxCalls > 0 ? callReserve + Math.max(callFuel, 0) : UNLIMITED);
+        AtomicLong allocations = new AtomicLong(maxAllocations > 0 ? Math.max(allocationFuel, 0) : UNLIMITED);
+        if (maxLoopIterations > 0) loopFuel = loopReserve = 0;
+        if (maxCalls > 0) callFuel = callReserve = 0;
+        if (maxAllocations > 0) allocationFuel = 0;
+        return new ParallelRegion(this, loops, calls, allocations, true);
+    }
+
+    /**
+     * 并行区的共享额度。计数器为原子变量，worker 每次领取一个窗口（至多 {@value #DEFAULT_CLOCK_INTERVAL} 次），
+     * 结束时退回未用完的部分，因此各分块合计消耗与串行执行一致。
+     */
+    public static final class ParallelRegion {
+        private final ExecutionBudget owner;
+        final AtomicLong loops;
+        final AtomicLong calls;
+        final AtomicLong allocations;
+        private final boolean restoresOwner;
+
+        ParallelRegion(ExecutionBudget owner, AtomicLong loops, AtomicLong calls, AtomicLong allocations,
+                       boolean restoresOwner) {
+            this.owner = owner;
+            this.loops = loops;
+            this.calls = calls;
+            this.allocations = allocations;
+            this.restoresOwner = restoresOwner;
+        }
+
+        /** 为一个分块创建从共享池计费的预算（限制与截止时间同父预算） */
+        public ExecutionBudget newWorker() {
+            return new ExecutionBudget(owner.policy, owner.startNanos, this);
+        }
+
+        /** 分块结束：退回 worker 尚未用完的窗口 */
+        public void release(ExecutionBudget worker) {
+            refund(loops, worker.loopFuel);
+            refund(calls, worker.callFuel);
+            refund(allocations, worker.allocationFuel);
+            worker.loopFuel = worker.callFuel = worker.allocationFuel = 0;
+        }
+
+        /** 所有分块结束后在打开线程调用：剩余额度归还父预算 */
+        public void close() {
+            if (!restoresOwner) return;
+            ExecutionBudget b = owner;
+            if (b.maxLoopIterations > 0) b.loopReserve = loops.get();
+            if (b.maxCalls > 0) b.callReserve = calls.get();
+            if (b.maxAllocations > 0) b.allocationFuel = allocations.get();
+        }
+
+        static long draw(AtomicLong source, long window) {
+            for (;;) {
+                long left = source.get();
+                if (left == UNLIMITED) return window;
+                long take = Math.min(left, window);
+                if (take <= 0 || source.compareAndSet(left, left - take)) return take;
+            }
+        }
+
+        private static void refund(AtomicLong target, long unused) {
+            if (unused <= 0) return;
+            for (;;) {
+                long left = target.get();
+                if (left == UNLIMITED || target.compareAndSet(left, left + unused)) return;
+            }
+        }
+    }
+
+    // ============ 查询 ============
+
+    public NovaSecurityPolicy getPolicy() {
+        return policy;
+    }
+
+    /** 是否有任何需要检查的限制 */
+    public boolean isLimited() {
+        return limited;
+    }
+
+    /** 已消耗的循环迭代次数（仅在设置了迭代上限时精确） */
+    public long getLoopIterations() {
+        return maxLoopIterations > 0 ? maxLoopIterations - loopReserve - Math.max(loopFuel, 0) : 0;
+    }
+
+    /** 已消耗的函数调用次数（仅在设置了调用上限时精确） */
+    public long getCalls() {
+        return maxCalls > 0 ? maxCalls - callReserve - Math.max(callFuel, 0) : 0;
+    }
+
+    /** 已消耗的分配次数（仅在设置了分配上限时精确） */
+    public long getAllocations() {
+        return maxAllocations > 0 ? maxAllocations - allocationFuel : 0;
+    }
+
+    private static int readClockInterval() {
+        String value = System.getProperty(CLOCK_INTERVAL_PROPERTY);
+        if (value != null) {
+            try {
+                int parsed = Integer.parseInt(value.trim());
+                if (parsed > 0) return parsed;
+            } catch (NumberFormatException ignored) {
+                // 非法值回退默认
+            }
+        }
+        return DEFAULT_CLOCK_INTERVAL;
+    }
+}
@@ -142,6 +142,18 @@ public interface ExecutionContext {
      */
     ExecutionContext createChild();
 
+    /**
+     * 创建使用指定执行预算计费的子执行上下文（并行集合操作的 worker 分块使用）
+     *
+     * <p>默认实现忽略 budget，等同于 {@link #createChild()}。</p>
+     *
+     * @param budget 子上下文的执行预算（可为 null）
+     * @return 新的子执行上下文
+     */
+    default ExecutionContext createChild(ExecutionBudget budget) {
+        return createChild();
+    }
+
     /**
      * 执行绑定方法
      *
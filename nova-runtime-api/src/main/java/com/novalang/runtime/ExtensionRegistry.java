@@ -208,6 +208,21 @@ public final class ExtensionRegistry {
         }
     }
 
+    /**
+     * 复制注册表：类型与方法名映射独立，注册项按引用共享
+     */
+    public ExtensionRegistry copy() {
+        ExtensionRegistry copy = new ExtensionRegistry();
+        for (Map.Entry<Class<?>, Map<String, List<RegisteredExtension>>> e : extensions.entrySet()) {
+            Map<String, List<RegisteredExtension>> methods = new ConcurrentHashMap<>();
+            for (Map.Entry<String, List<RegisteredExtension>> m : e.getValue().entrySet()) {
+                methods.put(m.getKey(), new CopyOnWriteArrayList<>(m.getValue()));
+            }
+            copy.extensions.put(e.getKey(), methods);
+        }
+        return copy;
+    }
+
     /**
      * 清空所有注册
      */
@@ -0,0 +1,93 @@
+package com.novalang.runtime;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 宿主 java.util.List 的 NovaValue 视图，作为 {@link NovaList#wrap(List)} 的通用存储。
+ *
+ * <p>读取时按 {@link AbstractNovaValue#fromJava(Object)} 转换元素，写入按
+ * {@link AbstractNovaValue#toJavaElement(NovaValue)} 转换后直接写回宿主列表，不复制元素。
+ * 宿主列表不可变时写入抛出其自身的 UnsupportedOperationException。</p>
+ *
+ * <p>只有宿主列表本身支持随机访问时视图才实现 {@link RandomAccess}（由 {@link #of(List)} 选择子类），
+ * 按该标记选择下标遍历的调用方不会对 LinkedList 等宿主逐个 get。</p>
+ */
+class HostList extends AbstractList<NovaValue> {
+
+    @SuppressWarnings("rawtypes")
+    final List host;
+
+    private HostList(List<?> host) {
+        this.host = host;
+    }
+
+    static HostList of(List<?> host) {
+        return host instanceof RandomAccess ? new RandomAccessHostList(host) : new HostList(host);
+    }
+
+    @Override
+    public NovaValue get(int index) {
+        return AbstractNovaValue.fromJava(host.get(index));
+    }
+
+    @Override
+    public int size() {
+        return host.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NovaValue set(int index, NovaValue element) {
+        return AbstractNovaValue.fromJava(host.set(index, AbstractNovaValue.toJavaElement(element)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void add(int index, NovaValue element) {
+        host.add(index, AbstractNovaValue.toJavaElement(element));
+        modCount++;
+    }
+
+    @Override
+    public NovaValue remove(int index) {
+        modCount++;
+        return AbstractNovaValue.fromJava(host.remove(index));
+    }
+
+    @Override
+    public void clear() {
+        host.clear();
+        modCount++;
+    }
+
+    /** 顺序遍历走宿主迭代器（宿主为 LinkedList 等非随机访问列表时避免逐个 get） */
+    @Override
+    public Iterator<NovaValue> iterator() {
+        final Iterator<?> it = host.iterator();
+        return new Iterator<NovaValue>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public NovaValue next() {
+                return AbstractNovaValue.fromJava(it.next());
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    private static final class RandomAccessHostList extends HostList implements RandomAccess {
+        RandomAccessHostList(List<?> host) {
+            super(host);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.novalang.runtime;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 宿主 java.util.Map 的 NovaValue 视图，作为 {@link NovaMap#wrap(Map)} 的条目存储。
+ *
+ * <p>键值在访问时转换（键按 {@link AbstractNovaValue#toJavaElement(NovaValue)} 映射回宿主键；
+ * 宿主映射本身以 NovaValue 为键时按原键查找），写入直接作用于宿主映射，不复制条目。</p>
+ */
+final class HostMap extends AbstractMap<NovaValue, NovaValue> {
+
+    @SuppressWarnings("rawtypes")
+    final Map host;
+
+    HostMap(Map<?, ?> host) {
+        this.host = host;
+    }
+
+    @Override
+    public NovaValue get(Object key) {
+        Object hostKey = toHostKey(key);
+        Object value = host.get(hostKey);
+        if (value == null) {
+            return host.containsKey(hostKey) ? NovaNull.NULL : null;
+        }
+        return AbstractNovaValue.fromJava(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NovaValue put(NovaValue key, NovaValue value) {
+        Object old = host.put(toHostKey(key), AbstractNovaValue.toJavaElement(value));
+        return old != null ? AbstractNovaValue.fromJava(old) : null;
+    }
+
+    @Override
+    public NovaValue remove(Object key) {
+        Object hostKey = toHostKey(key);
+        if (!host.containsKey(hostKey)) return null;
+        return AbstractNovaValue.fromJava(host.remove(hostKey));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return host.containsKey(toHostKey(key));
+    }
+
+    @Override
+    public int size() {
+        return host.size();
+    }
+
+    @Override
+    public void clear() {
+        host.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<NovaValue, NovaValue>> entrySet() {
+        return new AbstractSet<Map.Entry<NovaValue, NovaValue>>() {
+            @Override
+            public Iterator<Map.Entry<NovaValue, NovaValue>> iterator() {
+                @SuppressWarnings("unchecked")
+                final Iterator<Map.Entry<Object, Object>> it = host.entrySet().iterator();
+                return new Iterator<Map.Entry<NovaValue, NovaValue>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<NovaValue, NovaValue> next() {
+                        final Map.Entry<Object, Object> e = it.next();
+                        return new SimpleEntry<NovaValue, NovaValue>(
+                                AbstractNovaValue.fromJava(e.getKey()), AbstractNovaValue.fromJava(e.getValue())) {
+                            @Override
+                            public NovaValue setValue(NovaValue value) {
+                                super.setValue(value);
+                                return AbstractNovaValue.fromJava(e.setValue(AbstractNovaValue.toJavaElement(value)));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return host.size();
+            }
+        };
+    }
+
+    /** 宿主键：转换后的 Java 值；宿主映射中只存在 NovaValue 原键时用原键 */
+    private Object toHostKey(Object key) {
+        if (!(key instanceof NovaValue)) return key;
+        Object javaKey = AbstractNovaValue.toJavaElement((NovaValue) key);
+        if (javaKey != key && !host.containsKey(javaKey) && host.containsKey(key)) return key;
+        return javaKey;
+    }
+}
@@ -18,4 +18,7 @@ public class LoopSignal extends RuntimeException {
 
     /** continue 信号：跳过当前迭代，继续下一次 */
     public static final LoopSignal CONTINUE = new LoopSignal();
+
+    /** stop 信号：惰性序列的下游已满足，终止 sequence { } 生产者（HOF 不应拦截，须继续上抛） */
+    public static final LoopSignal STOP = new LoopSignal();
 }
@@ -3,6 +3,12 @@ package com.novalang.runtime;
 import com.novalang.runtime.stdlib.StdlibRegistry;
 
 import java.lang.invoke.*;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 
 /**
@@ -12,45 +18,127 @@ import java.util.function.Function;
  * JVM 在首次遇到 invokedynamic 时调用 bootstrap 方法创建 CallSite，
  * 后续调用直接通过 CallSite 内的 MethodHandle 分派（可被 JIT 内联）。
  *
- * <p>分派策略：单态内联缓存 (monomorphic inline cache)。
+ * <p>分派策略：有界多态内联缓存 (polymorphic inline cache) + 超多态回退。
  * <ul>
- *   <li>首次调用：解析 receiver 类型 → 绑定直接 MethodHandle → 安装 class guard</li>
- *   <li>类型命中：直接走缓存的 MethodHandle（O(1)，可 JIT 内联）</li>
- *   <li>类型未命中：退化到 NovaDynamic.invokeN 全路径分派</li>
+ *   <li>首次调用：解析 receiver 类型 → 绑定直接 MethodHandle → 安装 class guard（单态）</li>
+ *   <li>类型未命中且 guard 链深度 &lt; {@link #getPolymorphicDepth()}：在链头追加新 guard（多态）</li>
+ *   <li>guard 链达到上限：切换为超多态状态，改用每个 site 独立的 {@link ClassValue} 分派表，
+ *       不再增长 guard 链</li>
+ *   <li>无法解析直接 handle 的类型（NovaMap / script 扩展等）：缓存为 NovaDynamic 全路径 handle</li>
  * </ul>
+ *
+ * <p>每个 site 统计未命中 / 状态迁移次数；命中计数需通过系统属性
+ * {@code novalang.indy.stats=true} 开启（避免热路径上的共享写）。</p>
  */
 public final class NovaBootstrap {
 
     private NovaBootstrap() {}
 
+    private static final String PIC_DEPTH_PROPERTY = "novalang.indy.picDepth";
+    private static final String STATS_PROPERTY = "novalang.indy.stats";
+    private static final int DEFAULT_PIC_DEPTH = 4;
+
+    /** guard 链最大深度，超过后切换到超多态分派 */
+    private static volatile int polymorphicDepth = readPicDepth();
+    /** 是否统计命中次数（命中路径上有额外写操作，默认关闭） */
+    private static final boolean COUNT_HITS = "true".equalsIgnoreCase(System.getProperty(STATS_PROPERTY));
+
+    /** 已创建的 site（弱引用，仅供统计查询） */
+    private static final ConcurrentLinkedQueue<WeakReference<InlineCacheCallSite>> SITES =
+            new ConcurrentLinkedQueue<>();
+
     private static final MethodHandle INVOKE_FALLBACK;
     private static final MethodHandle GET_MEMBER_FALLBACK;
     private static final MethodHandle SET_MEMBER_FALLBACK;
     private static final MethodHandle STATIC_INVOKE_FALLBACK;
     private static final MethodHandle CLASS_CHECK;
+    private static final MethodHandle INVOKE_GENERIC;
+    private static final MethodHandle GET_MEMBER_GENERIC;
+    private static final MethodHandle SET_MEMBER_GENERIC;
+    private static final MethodHandle SELECT_MEGAMORPHIC;
+    private static final MethodHandle COUNT_HIT;
+    private static final MethodHandle BINDING_GET_LINK;
+    private static final MethodHandle BINDING_SET_LINK;
+    private static final MethodHandle BINDING_GET_BOUND;
+    private static final MethodHandle BINDING_SET_BOUND;
+    private static final MethodHandle BINDING_GET_BY_NAME;
+    private static final MethodHandle BINDING_SET_BY_NAME;
+    private static final MethodHandle SAME_NAME;
 
     static {
         try {
             MethodHandles.Lookup lookup = MethodHandles.lookup();
             INVOKE_FALLBACK = lookup.findStatic(NovaBootstrap.class, "invokeFallback",
                     MethodType.methodType(Object.class,
-                            MutableCallSite.class, String.class, Object[].class));
+                            InlineCacheCallSite.class, String.class, Object[].class));
             GET_MEMBER_FALLBACK = lookup.findStatic(NovaBootstrap.class, "getMemberFallback",
                     MethodType.methodType(Object.class,
-                            MutableCallSite.class, String.class, Object.class));
+                            InlineCacheCallSite.class, String.class, Object.class));
             SET_MEMBER_FALLBACK = lookup.findStatic(NovaBootstrap.class, "setMemberFallback",
                     MethodType.methodType(void.class,
-                            MutableCallSite.class, String.class, Object.class, Object.class));
+                            InlineCacheCallSite.class, String.class, Object.class, Object.class));
             STATIC_INVOKE_FALLBACK = lookup.findStatic(NovaBootstrap.class, "staticInvokeFallback",
                     MethodType.methodType(Object.class,
                             MutableCallSite.class, String.class, Object[].class));
             CLASS_CHECK = lookup.findStatic(NovaBootstrap.class, "classCheck",
                     MethodType.methodType(boolean.class, Class.class, Object.class));
+            INVOKE_GENERIC = lookup.findStatic(NovaBootstrap.class, "invokeGeneric",
+                    MethodType.methodType(Object.class, String.class, Object[].class));
+            GET_MEMBER_GENERIC = lookup.findStatic(NovaDynamic.class, "getMember",
+                    MethodType.methodType(Object.class, Object.class, String.class));
+            SET_MEMBER_GENERIC = lookup.findStatic(NovaDynamic.class, "setMember",
+                    MethodType.methodType(void.class, Object.class, String.class, Object.class));
+            SELECT_MEGAMORPHIC = lookup.findStatic(NovaBootstrap.class, "selectMegamorphic",
+                    MethodType.methodType(MethodHandle.class, InlineCacheCallSite.class, Object.class));
+            COUNT_HIT = lookup.findVirtual(InlineCacheCallSite.class, "countHit",
+                    MethodType.methodType(void.class));
+            BINDING_GET_LINK = lookup.findStatic(NovaBootstrap.class, "bindingGetLink",
+                    MethodType.methodType(Object.class, MutableCallSite.class, String.class));
+            BINDING_SET_LINK = lookup.findStatic(NovaBootstrap.class, "bindingSetLink",
+                    MethodType.methodType(void.class, MutableCallSite.class, String.class, Object.class));
+            BINDING_GET_BOUND = lookup.findStatic(NovaScriptContext.class, "getBound",
+                    MethodType.methodType(Object.class, BindingSite.class));
+            BINDING_SET_BOUND = lookup.findStatic(NovaScriptContext.class, "setBound",
+                    MethodType.methodType(void.class, BindingSite.class, Object.class));
+            BINDING_GET_BY_NAME = lookup.findStatic(NovaScriptContext.class, "get",
+                    MethodType.methodType(Object.class, String.class));
+            BINDING_SET_BY_NAME = lookup.findStatic(NovaScriptContext.class, "set",
+                    MethodType.methodType(void.class, String.class, Object.class));
+            SAME_NAME = lookup.findStatic(NovaBootstrap.class, "sameName",
+                    MethodType.methodType(boolean.class, String.class, String.class));
         } catch (ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    private static int readPicDepth() {
+        String value = System.getProperty(PIC_DEPTH_PROPERTY);
+        if (value != null) {
+            try {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException ignored) {
+                // 非法值回退默认
+            }
+        }
+        return DEFAULT_PIC_DEPTH;
+    }
+
+    /** 当前多态内联缓存深度上限 */
+    public static int getPolymorphicDepth() {
+        return polymorphicDepth;
+    }
+
+    /**
+     * 设置多态内联缓存深度上限（对之后发生未命中的 site 生效）。
+     * 0 表示首次未命中即进入超多态分派。
+     */
+    public static void setPolymorphicDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Polymorphic inline cache depth must be >= 0: " + depth);
+        }
+        polymorphicDepth = depth;
+    }
+
     // ---- 实例方法调用 ----
 
     /**
@@ -60,21 +148,24 @@ public final class NovaBootstrap {
     public static CallSite bootstrapInvoke(MethodHandles.Lookup lookup,
                                             String methodName,
                                             MethodType type) {
-        MutableCallSite site = new MutableCallSite(type);
+        InlineCacheCallSite site = new InlineCacheCallSite(type, SiteKind.INVOKE, methodName);
         // 初始 target: 收集所有参数 → invokeFallback(site, methodName, Object[] args)
         // args[0] = receiver, args[1..] = method args
         MethodHandle fallback = MethodHandles.insertArguments(INVOKE_FALLBACK, 0, site, methodName)
                 .asCollector(Object[].class, type.parameterCount())
                 .asType(type);
-        site.setTarget(fallback);
+        site.initialize(fallback,
+                MethodHandles.insertArguments(INVOKE_GENERIC, 0, methodName)
+                        .asCollector(Object[].class, type.parameterCount())
+                        .asType(type));
         return site;
     }
 
     /**
      * fallback：首次调用或类型未命中时执行。
-     * 尝试解析直接 MethodHandle 并安装 guard；失败则退化到 NovaDynamic.invokeMethod。
+     * 尝试解析直接 MethodHandle 并安装 guard；失败则安装 NovaDynamic.invokeMethod 全路径 guard。
      */
-    private static Object invokeFallback(MutableCallSite site, String methodName,
+    private static Object invokeFallback(InlineCacheCallSite site, String methodName,
                                           Object[] allArgs) throws Throwable {
         Object receiver = allArgs[0];
         if (receiver == null) {
@@ -87,12 +178,13 @@ public final class NovaBootstrap {
 
         Class<?> receiverClass = receiver.getClass();
 
-        // 安全策略检查（仅 fallback 首次调用时执行，内联缓存命中后不再经过此路径）
+        // 安全策略检查（仅 fallback 路径执行，内联缓存命中后不再经过此路径）
         NovaSecurityPolicy.checkClass(receiverClass.getName());
         NovaSecurityPolicy.checkMethod(receiverClass.getName(), methodName);
 
         // 尝试解析直接 MethodHandle
         MethodHandle resolved = NovaDynamic.resolveForCallSite(receiverClass, methodName, arity, methodArgs);
+        boolean penetrated = false;
 
         // NovaJavaClass 穿透：解析底层 Java 类的静态方法并安装缓存
         // （NovaExternalObject 的实例方法由 NovaDynamic.invokeMethod 精确匹配，不穿透）
@@ -102,6 +194,7 @@ public final class NovaBootstrap {
                 resolved = NovaDynamic.resolveStaticForCallSite((Class<?>) javaVal, methodName, arity, methodArgs);
                 if (resolved != null) {
                     allArgs[0] = javaVal; // MethodHandle 期望 Class 对象而非 NovaJavaClass
+                    penetrated = true;
                 }
             }
         }
@@ -109,31 +202,23 @@ public final class NovaBootstrap {
         if (resolved != null) {
             // SAM 适配后的参数回写到 allArgs（resolveMethod 内部可能已做 Proxy 包装）
             System.arraycopy(methodArgs, 0, allArgs, 1, methodArgs.length);
-
-            // 安装单态内联缓存: guard(classCheck) → resolved ; else → currentTarget (fallback)
-            MethodHandle adaptedResolved = resolved.asType(site.type());
-
-            // classGuard: (Object) → boolean，仅检测第一个参数（receiver）
-            MethodHandle classGuard = MethodHandles.insertArguments(CLASS_CHECK, 0, receiverClass);
-            // 扩展到完整参数列表（drop 多余参数），使其与 target/fallback 签名一致
-            if (site.type().parameterCount() > 1) {
-                Class<?>[] extraTypes = new Class<?>[site.type().parameterCount() - 1];
-                System.arraycopy(site.type().parameterArray(), 1, extraTypes, 0, extraTypes.length);
-                classGuard = MethodHandles.dropArguments(classGuard, 1, extraTypes);
-            }
-
-            MethodHandle guard = MethodHandles.guardWithTest(
-                    classGuard,
-                    adaptedResolved,
-                    site.getTarget() // fallback
-            );
-            site.setTarget(guard);
+            // 穿透结果依赖具体 Java 类而非 receiver 类型，超多态表中只记录全路径
+            site.relink(receiverClass, resolved.asType(site.type()), !penetrated);
 
             // 执行本次调用
             return resolved.invokeWithArguments(allArgs);
         }
 
-        // 无法解析直接 handle（NovaMap / script extension 等）→ 走 NovaDynamic 全路径
+        // 无法解析直接 handle（NovaMap / script extension 等）→ 缓存全路径并执行
+        site.relink(receiverClass, null, true);
+        return NovaDynamic.invokeMethod(receiver, methodName, methodArgs);
+    }
+
+    /** 全路径实例调用: allArgs[0] = receiver */
+    private static Object invokeGeneric(String methodName, Object[] allArgs) {
+        Object receiver = allArgs[0];
+        Object[] methodArgs = new Object[allArgs.length - 1];
+        System.arraycopy(allArgs, 1, methodArgs, 0, methodArgs.length);
         return NovaDynamic.invokeMethod(receiver, methodName, methodArgs);
     }
 
@@ -146,14 +231,15 @@ public final class NovaBootstrap {
     public static CallSite bootstrapGetMember(MethodHandles.Lookup lookup,
                                                String memberName,
                                                MethodType type) {
-        MutableCallSite site = new MutableCallSite(type);
+        InlineCacheCallSite site = new InlineCacheCallSite(type, SiteKind.GET_MEMBER, memberName);
         MethodHandle fallback = MethodHandles.insertArguments(GET_MEMBER_FALLBACK, 0, site, memberName)
                 .asType(type);
-        site.setTarget(fallback);
+        site.initialize(fallback,
+                MethodHandles.insertArguments(GET_MEMBER_GENERIC, 1, memberName).asType(type));
         return site;
     }
 
-    private static Object getMemberFallback(MutableCallSite site, String memberName,
+    private static Object getMemberFallback(InlineCacheCallSite site, String memberName,
                                              Object target) throws Throwable {
         if (target == null) {
             throw NovaErrors.nullRef(memberName);
@@ -167,18 +253,12 @@ public final class NovaBootstrap {
         MethodHandle getter = NovaDynamic.resolveGetterForCallSite(clazz, memberName);
 
         if (getter != null) {
-            MethodHandle adaptedGetter = getter.asType(site.type());
-            MethodHandle guard = MethodHandles.guardWithTest(
-                    MethodHandles.insertArguments(CLASS_CHECK, 0, clazz)
-                            .asType(MethodType.methodType(boolean.class, site.type().parameterArray()[0])),
-                    adaptedGetter,
-                    site.getTarget()
-            );
-            site.setTarget(guard);
+            site.relink(clazz, getter.asType(site.type()), true);
             return getter.invoke(target);
         }
 
         // 退化到全路径
+        site.relink(clazz, null, true);
         return NovaDynamic.getMember(target, memberName);
     }
 
@@ -189,14 +269,15 @@ public final class NovaBootstrap {
     public static CallSite bootstrapSetMember(MethodHandles.Lookup lookup,
                                                String memberName,
                                                MethodType type) {
-        MutableCallSite site = new MutableCallSite(type);
+        InlineCacheCallSite site = new InlineCacheCallSite(type, SiteKind.SET_MEMBER, memberName);
         MethodHandle fallback = MethodHandles.insertArguments(SET_MEMBER_FALLBACK, 0, site, memberName)
                 .asType(type);
-        site.setTarget(fallback);
+        site.initialize(fallback,
+                MethodHandles.insertArguments(SET_MEMBER_GENERIC, 1, memberName).asType(type));
         return site;
     }
 
-    private static void setMemberFallback(MutableCallSite site, String memberName,
+    private static void setMemberFallback(InlineCacheCallSite site, String memberName,
                                            Object target, Object value) throws Throwable {
         if (target == null) {
             throw NovaErrors.nullSet(memberName);
@@ -210,21 +291,13 @@ public final class NovaBootstrap {
         MethodHandle setter = NovaDynamic.resolveSetterForCallSite(clazz, memberName);
 
         if (setter != null) {
-            MethodHandle adaptedSetter = setter.asType(site.type());
-            // classGuard: (Object) → boolean，扩展到 (Object, Object) → boolean
-            MethodHandle classGuard = MethodHandles.insertArguments(CLASS_CHECK, 0, clazz);
-            classGuard = MethodHandles.dropArguments(classGuard, 1, Object.class);
-            MethodHandle guard = MethodHandles.guardWithTest(
-                    classGuard,
-                    adaptedSetter,
-                    site.getTarget()
-            );
-            site.setTarget(guard);
+            site.relink(clazz, setter.asType(site.type()), true);
             setter.invoke(target, value);
             return;
         }
 
         // 退化到全路径
+        site.relink(clazz, null, true);
         NovaDynamic.setMember(target, memberName, value);
     }
 
@@ -279,6 +352,49 @@ public final class NovaBootstrap {
         return NovaScriptContext.call(funcName, args);
     }
 
+    // ---- 脚本绑定访问 ----
+
+    /**
+     * NovaScriptContext 绑定读写的 bootstrap。
+     * invokedynamic 名称为 get / set / defineVal / defineVar，签名与对应静态方法相同：
+     * {@code (String)Object} 或 {@code (String, Object)void}。
+     *
+     * <p>首次执行时为变量名创建 {@link BindingSite} 并固化到 site，之后以名称引用相等为 guard
+     * 经访问点读写：槽位按当前上下文的布局解析，布局不同（换了上下文）时访问点自行重新解析。
+     * 名称不是同一常量时退回按名称访问。</p>
+     */
+    public static CallSite bootstrapBinding(MethodHandles.Lookup lookup,
+                                            String op,
+                                            MethodType type) {
+        MutableCallSite site = new MutableCallSite(type);
+        MethodHandle link = "get".equals(op) ? BINDING_GET_LINK : BINDING_SET_LINK;
+        site.setTarget(MethodHandles.insertArguments(link, 0, site).asType(type));
+        return site;
+    }
+
+    private static Object bindingGetLink(MutableCallSite site, String name) {
+        BindingSite binding = new BindingSite(name);
+        MethodHandle linked = MethodHandles.dropArguments(
+                MethodHandles.insertArguments(BINDING_GET_BOUND, 0, binding), 0, String.class);
+        MethodHandle test = MethodHandles.insertArguments(SAME_NAME, 0, name);
+        site.setTarget(MethodHandles.guardWithTest(test, linked, BINDING_GET_BY_NAME).asType(site.type()));
+        return NovaScriptContext.getBound(binding);
+    }
+
+    private static void bindingSetLink(MutableCallSite site, String name, Object value) {
+        BindingSite binding = new BindingSite(name);
+        MethodHandle linked = MethodHandles.dropArguments(
+                MethodHandles.insertArguments(BINDING_SET_BOUND, 0, binding), 0, String.class);
+        MethodHandle test = MethodHandles.dropArguments(
+                MethodHandles.insertArguments(SAME_NAME, 0, name), 1, Object.class);
+        site.setTarget(MethodHandles.guardWithTest(test, linked, BINDING_SET_BY_NAME).asType(site.type()));
+        NovaScriptContext.setBound(binding, value);
+    }
+
+    private static boolean sameName(String expected, String actual) {
+        return expected == actual;
+    }
+
     // ---- 辅助方法 ----
 
     /**
@@ -287,4 +403,225 @@ public final class NovaBootstrap {
     private static boolean classCheck(Class<?> expected, Object receiver) {
         return receiver != null && receiver.getClass() == expected;
     }
+
+    /**
+     * 超多态分派：按 receiver 类型查 site 的 ClassValue 分派表。
+     * 表中尚无条目时返回 fallback（解析后回填分派表）。
+     */
+    private static MethodHandle selectMegamorphic(InlineCacheCallSite site, Object receiver) {
+        if (receiver == null) {
+            return site.fallback;
+        }
+        MethodHandle handle = site.megamorphicTable.get(receiver.getClass()).handle;
+        if (handle == null) {
+            return site.fallback;
+        }
+        if (COUNT_HITS) {
+            site.hits++;
+        }
+        return handle;
+    }
+
+    // ---- 统计 ----
+
+    /**
+     * 返回当前存活的实例调用 / 属性访问 site 的统计快照。
+     */
+    public static List<CallSiteStats> getCallSiteStats() {
+        List<CallSiteStats> result = new ArrayList<>();
+        Iterator<WeakReference<InlineCacheCallSite>> it = SITES.iterator();
+        while (it.hasNext()) {
+            InlineCacheCallSite site = it.next().get();
+            if (site == null) {
+                it.remove();
+                continue;
+            }
+            result.add(site.snapshot());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** site 类型 */
+    public enum SiteKind {
+        INVOKE, GET_MEMBER, SET_MEMBER
+    }
+
+    /** 内联缓存状态 */
+    public enum CacheState {
+        /** 尚未执行 */
+        UNINITIALIZED,
+        /** 单个 guard */
+        MONOMORPHIC,
+        /** guard 链（深度不超过上限） */
+        POLYMORPHIC,
+        /** ClassValue 分派表 */
+        MEGAMORPHIC
+    }
+
+    /**
+     * 单个 site 的统计快照。
+     */
+    public static final class CallSiteStats {
+        private final SiteKind kind;
+        private final String name;
+        private final CacheState state;
+        private final int depth;
+        private final long hits;
+        private final long misses;
+        private final long transitions;
+
+        CallSiteStats(SiteKind kind, String name, CacheState state, int depth,
+                      long hits, long misses, long transitions) {
+            this.kind = kind;
+            this.name = name;
+            this.state = state;
+            this.depth = depth;
+            this.hits = hits;
+            this.misses = misses;
+            this.transitions = transitions;
+        }
+
+        public SiteKind getKind() { return kind; }
+        public String getName() { return name; }
+        public CacheState getState() { return state; }
+        /** guard 链当前深度（超多态状态下为切换前的深度） */
+        public int getDepth() { return depth; }
+        /** 缓存命中次数（仅在 novalang.indy.stats=true 时统计） */
+        public long getHits() { return hits; }
+        /** 进入 fallback 解析的次数 */
+        public long getMisses() { return misses; }
+        /** 状态迁移次数（UNINITIALIZED → MONO → POLY → MEGA） */
+        public long getTransitions() { return transitions; }
+
+        @Override
+        public String toString() {
+            return kind + " " + name + " [" + state + ", depth=" + depth
+                    + ", hits=" + hits + ", misses=" + misses + ", transitions=" + transitions + "]";
+        }
+    }
+
+    /**
+     * 带有界多态内联缓存的 CallSite。
+     * 所有重链接都在 fallback（冷路径）中加锁完成；命中路径无锁。
+     */
+    static final class InlineCacheCallSite extends MutableCallSite {
+        final SiteKind kind;
+        final String name;
+        /** 初始 fallback：解析 + relink */
+        MethodHandle fallback;
+        /** 全路径分派（无法解析直接 handle 时使用） */
+        MethodHandle generic;
+        final MegamorphicTable megamorphicTable = new MegamorphicTable();
+
+        private CacheState state = CacheState.UNINITIALIZED;
+        private final List<Class<?>> cachedClasses = new ArrayList<>();
+        private final List<MethodHandle> cachedHandles = new ArrayList<>();
+        /** 命中计数存在数据竞争，仅作观测用途 */
+        long hits;
+        private long misses;
+        private long transitions;
+
+        InlineCacheCallSite(MethodType type, SiteKind kind, String name) {
+            super(type);
+            this.kind = kind;
+            this.name = name;
+        }
+
+        void initialize(MethodHandle fallback, MethodHandle generic) {
+            this.fallback = fallback;
+            this.generic = generic;
+            setTarget(fallback);
+            SITES.add(new WeakReference<>(this));
+        }
+
+        @SuppressWarnings("unused") // 通过 COUNT_HIT MethodHandle 调用
+        void countHit() {
+            hits++;
+        }
+
+        /**
+         * 为 receiverClass 安装解析结果。
+         *
+         * @param handle      已适配到 site.type() 的直接 handle；null 表示使用全路径
+         * @param shareable   结果是否只依赖 receiver 类型（可写入超多态分派表）
+         */
+        synchronized void relink(Class<?> receiverClass, MethodHandle handle, boolean shareable) {
+            misses++;
+            MethodHandle target = handle != null ? handle : generic;
+            if (state == CacheState.MEGAMORPHIC) {
+                megamorphicTable.get(receiverClass).handle = shareable ? target : generic;
+                return;
+            }
+            if (cachedClasses.contains(receiverClass)) {
+                return; // 并发 fallback 已安装
+            }
+            if (cachedClasses.size() >= polymorphicDepth) {
+                becomeMegamorphic();
+                megamorphicTable.get(receiverClass).handle = shareable ? target : generic;
+                return;
+            }
+            cachedClasses.add(receiverClass);
+            cachedHandles.add(shareable ? target : generic);
+            MethodHandle guarded = MethodHandles.guardWithTest(classGuard(receiverClass), countHits(target), getTarget());
+            setTarget(guarded);
+            transitionTo(cachedClasses.size() == 1 ? CacheState.MONOMORPHIC : CacheState.POLYMORPHIC);
+        }
+
+        private void becomeMegamorphic() {
+            for (int i = 0; i < cachedClasses.size(); i++) {
+                megamorphicTable.get(cachedClasses.get(i)).handle = cachedHandles.get(i);
+            }
+            cachedHandles.clear();
+            MethodType type = type();
+            MethodHandle selector = MethodHandles.insertArguments(SELECT_MEGAMORPHIC, 0, this)
+                    .asType(MethodType.methodType(MethodHandle.class, type.parameterType(0)));
+            setTarget(MethodHandles.foldArguments(MethodHandles.exactInvoker(type), selector));
+            transitionTo(CacheState.MEGAMORPHIC);
+        }
+
+        private void transitionTo(CacheState next) {
+            if (state != next) {
+                state = next;
+                transitions++;
+            }
+        }
+
+        /** classGuard: (receiver, rest...) → boolean，仅检测第一个参数 */
+        private MethodHandle classGuard(Class<?> receiverClass) {
+            MethodType type = type();
+            MethodHandle guard = MethodHandles.insertArguments(CLASS_CHECK, 0, receiverClass)
+                    .asType(MethodType.methodType(boolean.class, type.parameterType(0)));
+            if (type.parameterCount() > 1) {
+                guard = MethodHandles.dropArguments(guard, 1,
+                        type.parameterList().subList(1, type.parameterCount()));
+            }
+            return guard;
+        }
+
+        private MethodHandle countHits(MethodHandle target) {
+            if (!COUNT_HITS) {
+                return target;
+            }
+            return MethodHandles.foldArguments(target, COUNT_HIT.bindTo(this));
+        }
+
+        synchronized CallSiteStats snapshot() {
+            return new CallSiteStats(kind, name, state, cachedClasses.size(), hits, misses, transitions);
+        }
+    }
+
+    /**
+     * 超多态分派表：receiver 类型 → 已解析 handle。
+     * 条目由 ClassValue 懒创建，handle 在首次 fallback 解析后回填。
+     */
+    static final class MegamorphicTable extends ClassValue<MegamorphicEntry> {
+        @Override
+        protected MegamorphicEntry computeValue(Class<?> type) {
+            return new MegamorphicEntry();
+        }
+    }
+
+    static final class MegamorphicEntry {
+        volatile MethodHandle handle;
+    }
 }
@@ -43,10 +43,11 @@ public class NovaCollections {
 
     /**
      * 将任意集合类型转为 Iterable，供 for-in 循环使用。
-     * Map → entrySet(), Iterable 直接返回。
+     * Map → entrySet(), Sequence → 按需拉取, Iterable 直接返回。
      */
     public static Iterable<?> toIterable(Object value) {
         if (value instanceof Iterable) return (Iterable<?>) value;
+        if (value instanceof NovaSequence) return ((NovaSequence) value)::iterator;
         if (value instanceof java.util.Map) return ((java.util.Map<?, ?>) value).entrySet();
         if (value instanceof String) {
             String s = (String) value;
@@ -55,7 +56,7 @@ public class NovaCollections {
             return chars;
         }
         throw NovaErrors.typeMismatch(value == null ? "null" : value.getClass().getSimpleName(), "Iterable",
-                "for-in 需要可迭代类型（List、Set、Map、String、Range）");
+                "for-in 需要可迭代类型（List、Set、Map、String、Range、Sequence）");
     }
 
     /**
@@ -96,6 +97,17 @@ public class NovaCollections {
                 "[] 操作需要 List、Array、String 或 Map 类型");
     }
 
+    /**
+     * 已证明 {@code 0 <= index < size} 的索引取值（编译器消除越界检查后的入口）：
+     * List / 对象数组 / int 数组直读，不做负索引归一化与 Map/Range 分派；其余类型按原语义处理。
+     */
+    public static Object getIndexInBounds(Object target, int index) {
+        if (target instanceof List) return ((List<?>) target).get(index);
+        if (target instanceof Object[]) return ((Object[]) target)[index];
+        if (target instanceof int[]) return ((int[]) target)[index];
+        return getIndex(target, (Object) index);
+    }
+
     /**
      * 运行时动态索引取值：Map → get(key)，其余委托给 int 版本。
      * 当编译器无法静态推断目标类型时（owner=java/lang/Object），使用此重载。
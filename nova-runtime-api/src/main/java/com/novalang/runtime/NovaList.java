@@ -1,7 +1,9 @@
 package com.novalang.runtime;
 
+import com.novalang.runtime.NovaArray.ElementType;
 import com.novalang.runtime.NovaException.ErrorKind;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -9,28 +11,219 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 /**
  * Nova List 值（可变列表）
+ * <p>
+ * 存储自适应：元素全部为 Int / Long / Double 时直接存放在 {@code int[]} / {@code long[]} / {@code double[]} 中，
+ * 不为每个元素创建包装对象；插入类型不一致的元素时一次性转换为通用的 {@code List<NovaValue>} 存储，之后不再回退。
+ * 空列表的存储类型由第一个元素决定。
+ * <p>
+ * 宿主边界不复制：{@link #wrap(List)} 以宿主列表为通用存储（读取时转换元素、写入穿透），
+ * {@link #toJavaValue()} 返回委托到本列表的 {@link NovaListView}；需要快照时使用 {@link #toJavaCopy()}。
  */
 public final class NovaList extends AbstractNovaValue implements NovaContainer {
 
-    private final List<NovaValue> elements;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /** INT / LONG / DOUBLE 为原始存储，OBJECT 为通用存储，null 表示尚未确定（空列表） */
+    private ElementType storage;
+    private Object raw;          // int[] / long[] / double[]
+    private int size;            // 原始存储的元素个数
+    private List<NovaValue> elements;
 
     public NovaList() {
-        this.elements = new ArrayList<NovaValue>();
     }
 
     public NovaList(NovaValue[] values) {
-        this.elements = new ArrayList<NovaValue>(Arrays.asList(values));
+        this(Arrays.asList(values));
     }
 
     public NovaList(List<NovaValue> values) {
-        this.elements = new ArrayList<NovaValue>(values);
+        ElementType type = values.isEmpty() ? null : primitiveTypeOf(values.get(0));
+        for (int i = 1; type != null && i < values.size(); i++) {
+            if (primitiveTypeOf(values.get(i)) != type) type = null;
+        }
+        if (type == null) {
+            if (!values.isEmpty()) {
+                this.storage = ElementType.OBJECT;
+                this.elements = new ArrayList<NovaValue>(values);
+            }
+            return;
+        }
+        int n = values.size();
+        this.storage = type;
+        this.size = n;
+        switch (type) {
+            case INT: {
+                int[] a = new int[n];
+                for (int i = 0; i < n; i++) a[i] = ((NovaInt) values.get(i)).getValue();
+                raw = a;
+                break;
+            }
+            case LONG: {
+                long[] a = new long[n];
+                for (int i = 0; i < n; i++) a[i] = ((NovaLong) values.get(i)).getValue();
+                raw = a;
+                break;
+            }
+            default: {
+                double[] a = new double[n];
+                for (int i = 0; i < n; i++) a[i] = ((NovaDouble) values.get(i)).getValue();
+                raw = a;
+                break;
+            }
+        }
     }
 
+    private NovaList(ElementType storage, Object raw, int size) {
+        this.storage = size == 0 ? null : storage;
+        this.raw = raw;
+        this.size = size;
+    }
+
+    /**
+     * 以宿主列表为存储的 NovaList（零复制）：元素在读取时转换，写入直接作用于宿主列表。
+     * 存储固定为通用存储，不会转为原始数组。
+     */
+    public static NovaList wrap(List<?> host) {
+        NovaList list = new NovaList();
+        list.storage = ElementType.OBJECT;
+        list.elements = HostList.of(host);
+        return list;
+    }
+
+    /** 包装 int 数组的前 size 个元素（数组由列表接管，调用方不再修改） */
+    public static NovaList ofInts(int[] values, int size) {
+        return new NovaList(ElementType.INT, values, size);
+    }
+
+    /** 包装 long 数组的前 size 个元素（数组由列表接管，调用方不再修改） */
+    public static NovaList ofLongs(long[] values, int size) {
+        return new NovaList(ElementType.LONG, values, size);
+    }
+
+    /** 包装 double 数组的前 size 个元素（数组由列表接管，调用方不再修改） */
+    public static NovaList ofDoubles(double[] values, int size) {
+        return new NovaList(ElementType.DOUBLE, values, size);
+    }
+
+    /**
+     * 元素列表。通用存储直接返回底层列表；原始存储返回委托到本列表的可变视图，
+     * 读取时装箱，写入类型不一致的元素时本列表转换为通用存储。
+     */
     public List<NovaValue> getElements() {
-        return elements;
+        if (storage == ElementType.OBJECT) return elements;
+        return new ElementsView();
+    }
+
+    /**
+     * 委托到 NovaList 的 java.util.List 视图（如解释器传给 stdlib 的列表参数）。
+     * stdlib 通过它取回原列表，对原始存储直接读取底层数组。
+     */
+    public interface View {
+        NovaList novaList();
+    }
+
+    /** 当前存储类型：INT / LONG / DOUBLE 表示原始数组存储，其余（含空列表）为 OBJECT */
+    public ElementType getStorageType() {
+        return storage == null ? ElementType.OBJECT : storage;
+    }
+
+    /** 原始存储的底层数组（int[] / long[] / double[]，有效长度为 {@link #size()}）；通用存储返回 null */
+    public Object getRawArray() {
+        return isPrimitive() ? raw : null;
+    }
+
+    private boolean isPrimitive() {
+        return storage != null && storage != ElementType.OBJECT;
+    }
+
+    private static ElementType primitiveTypeOf(NovaValue value) {
+        if (value instanceof NovaInt) return ElementType.INT;
+        if (value instanceof NovaDouble) return ElementType.DOUBLE;
+        if (value instanceof NovaLong) return ElementType.LONG;
+        return null;
+    }
+
+    /** 原始存储下第 i 个元素（调用方保证 0 <= i < size） */
+    private NovaValue box(int i) {
+        switch (storage) {
+            case INT:  return NovaInt.of(((int[]) raw)[i]);
+            case LONG: return NovaLong.of(((long[]) raw)[i]);
+            default:   return NovaDouble.of(((double[]) raw)[i]);
+        }
+    }
+
+    /** 下标 i 的元素（不处理负索引，调用方保证范围） */
+    private NovaValue elementAt(int i) {
+        return storage == ElementType.OBJECT ? elements.get(i) : box(i);
+    }
+
+    /** 转为通用存储 */
+    private void generalize() {
+        List<NovaValue> list = new ArrayList<NovaValue>(Math.max(size, DEFAULT_CAPACITY));
+        if (isPrimitive()) {
+            for (int i = 0; i < size; i++) list.add(box(i));
+        }
+        elements = list;
+        storage = ElementType.OBJECT;
+        raw = null;
+        size = 0;
+    }
+
+    /** 准备写入 value：空列表按其类型选择存储；与原始存储类型不一致时转为通用存储 */
+    private void prepareFor(NovaValue value) {
+        if (storage == ElementType.OBJECT) return;
+        ElementType type = primitiveTypeOf(value);
+        if (storage == null) {
+            if (type == null) {
+                generalize();
+                return;
+            }
+            storage = type;
+            raw = type == ElementType.INT ? new int[DEFAULT_CAPACITY]
+                    : type == ElementType.LONG ? (Object) new long[DEFAULT_CAPACITY]
+                    : new double[DEFAULT_CAPACITY];
+            size = 0;
+        } else if (type != storage) {
+            generalize();
+        }
+    }
+
+    private void ensureCapacity(int min) {
+        int capacity = storage == ElementType.INT ? ((int[]) raw).length
+                : storage == ElementType.LONG ? ((long[]) raw).length
+                : ((double[]) raw).length;
+        if (min <= capacity) return;
+        int newCapacity = Math.max(min, capacity + (capacity >> 1) + 1);
+        switch (storage) {
+            case INT:  raw = Arrays.copyOf((int[]) raw, newCapacity); break;
+            case LONG: raw = Arrays.copyOf((long[]) raw, newCapacity); break;
+            default:   raw = Arrays.copyOf((double[]) raw, newCapacity); break;
+        }
+    }
+
+    /** 原始存储下写入 value（调用方已通过 prepareFor 保证类型一致） */
+    private void store(int i, NovaValue value) {
+        switch (storage) {
+            case INT:  ((int[]) raw)[i] = ((NovaInt) value).getValue(); break;
+            case LONG: ((long[]) raw)[i] = ((NovaLong) value).getValue(); break;
+            default:   ((double[]) raw)[i] = ((NovaDouble) value).getValue(); break;
+        }
+    }
+
+    private int checkIndex(int index) {
+        int n = size();
+        if (index < 0) {
+            index = n + index;  // 支持负索引
+        }
+        if (index < 0 || index >= n) {
+            throw new NovaException("List index out of bounds: " + index);
+        }
+        return index;
     }
 
     @Override
@@ -43,11 +236,19 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
         return "List";
     }
 
+    /** 宿主列表包装返回原宿主列表，其余返回委托到本列表的视图（不复制） */
     @Override
     public Object toJavaValue() {
-        List<Object> result = new ArrayList<Object>();
-        for (NovaValue v : elements) {
-            result.add(v.toJavaValue());
+        if (elements instanceof HostList) return ((HostList) elements).host;
+        return new NovaListView(this);
+    }
+
+    /** 深复制为独立的 ArrayList（嵌套的列表/映射同样复制），之后与本列表互不影响 */
+    public List<Object> toJavaCopy() {
+        int n = size();
+        List<Object> result = new ArrayList<Object>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(AbstractNovaValue.toJavaCopy(elementAt(i)));
         }
         return result;
     }
@@ -60,9 +261,10 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < elements.size(); i++) {
+        int n = size();
+        for (int i = 0; i < n; i++) {
             if (i > 0) sb.append(", ");
-            sb.append(elements.get(i).toString());
+            sb.append(elementAt(i).toString());
         }
         sb.append("]");
         return sb.toString();
@@ -73,9 +275,26 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
         if (other == null) return false;
         if (!(other instanceof NovaList)) return false;
         NovaList otherList = (NovaList) other;
-        if (this.elements.size() != otherList.elements.size()) return false;
-        for (int i = 0; i < elements.size(); i++) {
-            if (!this.elements.get(i).equals(otherList.elements.get(i))) {
+        int n = size();
+        if (n != otherList.size()) return false;
+        if (isPrimitive() && storage == otherList.storage) {
+            switch (storage) {
+                case INT:
+                    for (int i = 0; i < n; i++) {
+                        if (((int[]) raw)[i] != ((int[]) otherList.raw)[i]) return false;
+                    }
+                    return true;
+                case LONG:
+                    for (int i = 0; i < n; i++) {
+                        if (((long[]) raw)[i] != ((long[]) otherList.raw)[i]) return false;
+                    }
+                    return true;
+                default:
+                    break;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!this.elementAt(i).equals(otherList.elementAt(i))) {
                 return false;
             }
         }
@@ -85,98 +304,150 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
     @Override
     public int hashCode() {
         int h = 1;
-        for (NovaValue e : elements) {
-            h = 31 * h + e.hashCode();
+        int n = size();
+        for (int i = 0; i < n; i++) {
+            h = 31 * h + elementAt(i).hashCode();
         }
         return h;
     }
 
     @Override
     public Iterator<NovaValue> iterator() {
-        return elements.iterator();
+        if (storage == ElementType.OBJECT) return elements.iterator();
+        return new Iterator<NovaValue>() {
+            private int cursor;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @Override
+            public NovaValue next() {
+                if (cursor >= size()) throw new NoSuchElementException();
+                last = cursor;
+                return elementAt(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                removeAt(last);
+                cursor = last;
+                last = -1;
+            }
+        };
     }
 
     @Override
     public NovaValue componentN(int n) {
-        if (n < 1 || n > elements.size()) {
+        int count = size();
+        if (n < 1 || n > count) {
             throw new IndexOutOfBoundsException(
-                    "component" + n + " out of range for List of size " + elements.size());
+                    "component" + n + " out of range for List of size " + count);
         }
-        return elements.get(n - 1);
+        return elementAt(n - 1);
     }
 
     // ============ 列表操作 ============
 
     public int size() {
-        return elements.size();
+        return storage == ElementType.OBJECT ? elements.size() : size;
     }
 
     public boolean isEmpty() {
-        return elements.isEmpty();
+        return size() == 0;
     }
 
     public NovaValue get(int index) {
-        if (index < 0) {
-            index = elements.size() + index;  // 支持负索引
-        }
-        if (index < 0 || index >= elements.size()) {
-            throw new NovaException("List index out of bounds: " + index);
-        }
-        return elements.get(index);
+        return elementAt(checkIndex(index));
     }
 
     public void set(int index, NovaValue value) {
-        if (index < 0) {
-            index = elements.size() + index;
+        index = checkIndex(index);
+        prepareFor(value);
+        if (storage == ElementType.OBJECT) {
+            elements.set(index, value);
+        } else {
+            store(index, value);
         }
-        if (index < 0 || index >= elements.size()) {
-            throw new NovaException("List index out of bounds: " + index);
-        }
-        elements.set(index, value);
     }
 
     public void add(NovaValue value) {
-        elements.add(value);
+        prepareFor(value);
+        if (storage == ElementType.OBJECT) {
+            elements.add(value);
+            return;
+        }
+        ensureCapacity(size + 1);
+        store(size++, value);
     }
 
     public void add(int index, NovaValue value) {
-        elements.add(index, value);
+        addAt(index, value);
     }
 
     public void addAt(int index, NovaValue value) {
-        elements.add(index, value);
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        prepareFor(value);
+        if (storage == ElementType.OBJECT) {
+            elements.add(index, value);
+            return;
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(raw, index, raw, index + 1, size - index);
+        store(index, value);
+        size++;
     }
 
     public NovaValue removeAt(int index) {
-        if (index < 0) {
-            index = elements.size() + index;
-        }
-        if (index < 0 || index >= elements.size()) {
-            throw new NovaException("List index out of bounds: " + index);
+        index = checkIndex(index);
+        if (storage == ElementType.OBJECT) {
+            return elements.remove(index);
         }
-        return elements.remove(index);
+        NovaValue removed = box(index);
+        System.arraycopy(raw, index + 1, raw, index, size - index - 1);
+        size--;
+        return removed;
     }
 
     public boolean remove(NovaValue value) {
-        return elements.remove(value);
+        if (storage == ElementType.OBJECT) {
+            return elements.remove(value);
+        }
+        int index = indexOf(value);
+        if (index < 0) return false;
+        removeAt(index);
+        return true;
     }
 
     public void clear() {
-        elements.clear();
+        if (storage == ElementType.OBJECT) {
+            elements.clear();
+        } else {
+            size = 0;
+        }
     }
 
     public boolean contains(NovaValue value) {
-        for (NovaValue elem : elements) {
-            if (elem.equals(value)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(value) >= 0;
     }
 
     public int indexOf(NovaValue value) {
-        for (int i = 0; i < elements.size(); i++) {
-            if (elements.get(i).equals(value)) {
+        if (storage == ElementType.INT && value instanceof NovaInt) {
+            int target = ((NovaInt) value).getValue();
+            int[] a = (int[]) raw;
+            for (int i = 0; i < size; i++) {
+                if (a[i] == target) return i;
+            }
+            return -1;
+        }
+        int n = size();
+        for (int i = 0; i < n; i++) {
+            if (elementAt(i).equals(value)) {
                 return i;
             }
         }
@@ -184,43 +455,71 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
     }
 
     public NovaValue first() {
-        if (elements.isEmpty()) {
+        if (isEmpty()) {
             throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "列表为空，无法获取 first()");
         }
-        return elements.get(0);
+        return elementAt(0);
     }
 
     public NovaValue last() {
-        if (elements.isEmpty()) {
+        if (isEmpty()) {
             throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "列表为空，无法获取 last()");
         }
-        return elements.get(elements.size() - 1);
+        return elementAt(size() - 1);
     }
 
     public NovaList slice(int start, int end) {
-        if (start < 0) start = elements.size() + start;
-        if (end < 0) end = elements.size() + end;
-        start = Math.max(0, Math.min(start, elements.size()));
-        end = Math.max(start, Math.min(end, elements.size()));
-        return new NovaList(elements.subList(start, end));
+        int n = size();
+        if (start < 0) start = n + start;
+        if (end < 0) end = n + end;
+        start = Math.max(0, Math.min(start, n));
+        end = Math.max(start, Math.min(end, n));
+        if (isPrimitive()) {
+            return new NovaList(storage, copyRaw(start, end), end - start);
+        }
+        return new NovaList(storage == null ? Collections.<NovaValue>emptyList() : elements.subList(start, end));
     }
 
     public NovaList concat(NovaList other) {
-        NovaList result = new NovaList(this.elements);
-        result.elements.addAll(other.elements);
+        if (isPrimitive() && storage == other.storage) {
+            Object joined = copyRaw(0, size + other.size);
+            System.arraycopy(other.raw, 0, joined, size, other.size);
+            return new NovaList(storage, joined, size + other.size);
+        }
+        NovaList result = new NovaList(this.getElements());
+        for (NovaValue v : other) {
+            result.add(v);
+        }
         return result;
     }
 
     public NovaList reversed() {
-        List<NovaValue> reversed = new ArrayList<NovaValue>(elements.size());
-        for (int i = elements.size() - 1; i >= 0; i--) {
-            reversed.add(elements.get(i));
+        int n = size();
+        if (isPrimitive()) {
+            Object copy = copyRaw(0, n);
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                swap(copy, i, j);
+            }
+            return new NovaList(storage, copy, n);
+        }
+        List<NovaValue> reversed = new ArrayList<NovaValue>(n);
+        for (int i = n - 1; i >= 0; i--) {
+            reversed.add(elementAt(i));
         }
         return new NovaList(reversed);
     }
 
     public NovaList sorted() {
-        List<NovaValue> copy = new ArrayList<NovaValue>(elements);
+        if (isPrimitive()) {
+            Object copy = copyRaw(0, size);
+            switch (storage) {
+                case INT:  Arrays.sort((int[]) copy); break;
+                case LONG: Arrays.sort((long[]) copy); break;
+                default:   Arrays.sort((double[]) copy); break;
+            }
+            return new NovaList(storage, copy, size);
+        }
+        List<NovaValue> copy = new ArrayList<NovaValue>(getElements());
         Collections.sort(copy, new Comparator<NovaValue>() {
             @Override
             public int compare(NovaValue a, NovaValue b) {
@@ -235,7 +534,7 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
 
     public NovaList distinct() {
         LinkedHashSet<NovaValue> seen = new LinkedHashSet<NovaValue>();
-        for (NovaValue elem : elements) {
+        for (NovaValue elem : this) {
             seen.add(elem);
         }
         return new NovaList(new ArrayList<NovaValue>(seen));
@@ -243,10 +542,84 @@ public final class NovaList extends AbstractNovaValue implements NovaContainer {
 
     public NovaString joinToString(String separator) {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < elements.size(); i++) {
+        int n = size();
+        for (int i = 0; i < n; i++) {
             if (i > 0) sb.append(separator);
-            sb.append(elements.get(i).asString());
+            sb.append(elementAt(i).asString());
         }
         return NovaString.of(sb.toString());
     }
+
+    // ============ 原始存储辅助 ============
+
+    /** 复制原始存储 [from, to)，新数组长度至少为 to - from */
+    private Object copyRaw(int from, int to) {
+        switch (storage) {
+            case INT:  return Arrays.copyOfRange((int[]) raw, from, Math.max(to, from));
+            case LONG: return Arrays.copyOfRange((long[]) raw, from, Math.max(to, from));
+            default:   return Arrays.copyOfRange((double[]) raw, from, Math.max(to, from));
+        }
+    }
+
+    private void swap(Object array, int i, int j) {
+        switch (storage) {
+            case INT: {
+                int[] a = (int[]) array;
+                int t = a[i]; a[i] = a[j]; a[j] = t;
+                break;
+            }
+            case LONG: {
+                long[] a = (long[]) array;
+                long t = a[i]; a[i] = a[j]; a[j] = t;
+                break;
+            }
+            default: {
+                double[] a = (double[]) array;
+                double t = a[i]; a[i] = a[j]; a[j] = t;
+                break;
+            }
+        }
+    }
+
+    /** 原始存储的 List 视图：读取装箱，写入经由 NovaList 方法（必要时转为通用存储） */
+    private final class ElementsView extends AbstractList<NovaValue> implements RandomAccess {
+        @Override
+        public NovaValue get(int index) {
+            if (index < 0 || index >= NovaList.this.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + NovaList.this.size());
+            }
+            return elementAt(index);
+        }
+
+        @Override
+        public int size() {
+            return NovaList.this.size();
+        }
+
+        @Override
+        public NovaValue set(int index, NovaValue element) {
+            NovaValue old = get(index);
+            NovaList.this.set(index, element);
+            return old;
+        }
+
+        @Override
+        public void add(int index, NovaValue element) {
+            NovaList.this.addAt(index, element);
+            modCount++;
+        }
+
+        @Override
+        public NovaValue remove(int index) {
+            get(index);
+            modCount++;
+            return NovaList.this.removeAt(index);
+        }
+
+        @Override
+        public void clear() {
+            NovaList.this.clear();
+            modCount++;
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.novalang.runtime;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * NovaList 的 java.util.List 视图，委托到原始 NovaList。
+ *
+ * <p>读取时逐元素转换，写入穿透到原始列表，不复制元素。用于两处：</p>
+ * <ul>
+ *   <li>{@link NovaList#toJavaValue()}：脚本返回给宿主的列表，元素按 toJavaValue() 转换</li>
+ *   <li>StdlibRegistry 扩展方法调用（preserveObjects = true）：脚本对象、Pair 等
+ *       {@link NovaValue#keepsIdentityInJava()} 的元素原样返回</li>
+ * </ul>
+ */
+public final class NovaListView extends AbstractList<Object> implements NovaList.View, RandomAccess {
+
+    final NovaList delegate;
+    private final boolean preserveObjects;
+
+    public NovaListView(NovaList delegate) {
+        this(delegate, false);
+    }
+
+    public NovaListView(NovaList delegate, boolean preserveObjects) {
+        this.delegate = delegate;
+        this.preserveObjects = preserveObjects;
+    }
+
+    @Override
+    public NovaList novaList() {
+        return delegate;
+    }
+
+    @Override
+    public Object get(int index) {
+        return elemToJava(delegate.get(index));
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        NovaValue old = delegate.get(index);
+        delegate.set(index, AbstractNovaValue.fromJava(element));
+        return elemToJava(old);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        delegate.addAt(index, AbstractNovaValue.fromJava(element));
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        modCount++;
+        return elemToJava(delegate.removeAt(index));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        modCount++;
+    }
+
+    private Object elemToJava(NovaValue v) {
+        return preserveObjects ? AbstractNovaValue.toJavaElement(v) : v.toJavaValue();
+    }
+}
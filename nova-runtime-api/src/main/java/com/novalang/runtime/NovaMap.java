@@ -7,6 +7,9 @@ import java.util.Set;
 
 /**
  * Nova Map 值（有序映射）
+ *
+ * <p>宿主边界不复制：{@link #wrap(Map)} 以宿主映射为条目存储，{@link #toJavaValue()} 返回
+ * 委托到本映射的 {@link NovaMapView}；需要快照时使用 {@link #toJavaCopy()}。</p>
  */
 public final class NovaMap extends AbstractNovaValue implements NovaContainer {
 
@@ -20,6 +23,24 @@ public final class NovaMap extends AbstractNovaValue implements NovaContainer {
         this.entries = new LinkedHashMap<NovaValue, NovaValue>(entries);
     }
 
+    private NovaMap(HostMap host) {
+        this.entries = host;
+    }
+
+    /**
+     * 以宿主映射为存储的 NovaMap（零复制）：键值在访问时转换，写入直接作用于宿主映射。
+     */
+    public static NovaMap wrap(Map<?, ?> host) {
+        return new NovaMap(new HostMap(host));
+    }
+
+    /**
+     * 委托到 NovaMap 的 java.util.Map 视图，{@link AbstractNovaValue#fromJava(Object)} 据此取回原映射。
+     */
+    public interface View {
+        NovaMap novaMap();
+    }
+
     public Map<NovaValue, NovaValue> getEntries() {
         return entries;
     }
@@ -34,11 +55,18 @@ public final class NovaMap extends AbstractNovaValue implements NovaContainer {
         return "Map";
     }
 
+    /** 宿主映射包装返回原宿主映射，其余返回委托到本映射的视图（不复制） */
     @Override
     public Object toJavaValue() {
+        if (entries instanceof HostMap) return ((HostMap) entries).host;
+        return new NovaMapView(this);
+    }
+
+    /** 深复制为独立的 LinkedHashMap（嵌套的列表/映射同样复制），之后与本映射互不影响 */
+    public Map<Object, Object> toJavaCopy() {
         Map<Object, Object> result = new LinkedHashMap<Object, Object>();
         for (Map.Entry<NovaValue, NovaValue> entry : entries.entrySet()) {
-            result.put(entry.getKey().toJavaValue(), entry.getValue().toJavaValue());
+            result.put(AbstractNovaValue.toJavaCopy(entry.getKey()), AbstractNovaValue.toJavaCopy(entry.getValue()));
         }
         return result;
     }
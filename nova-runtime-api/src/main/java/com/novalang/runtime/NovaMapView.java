@@ -1,5 +1,4 @@
-package com.novalang.runtime.interpreter;
-import com.novalang.runtime.*;
+package com.novalang.runtime;
 
 import java.util.AbstractMap;
 import java.util.AbstractSet;
@@ -9,14 +8,28 @@ import java.util.Set;
 
 /**
  * NovaMap 的 java.util.Map 视图，委托到原始 NovaMap。
- * 用于 StdlibRegistry 扩展方法调用时保持可变操作穿透到原始映射。
+ *
+ * <p>键值在访问时转换，写入穿透到原始映射，不复制条目。与 {@link NovaListView} 相同，
+ * 宿主边界（{@link NovaMap#toJavaValue()}）按 toJavaValue() 转换，
+ * StdlibRegistry 扩展方法调用（preserveObjects = true）保留脚本对象。</p>
  */
-final class NovaMapView extends AbstractMap<Object, Object> {
+public final class NovaMapView extends AbstractMap<Object, Object> implements NovaMap.View {
 
     final NovaMap delegate;
+    private final boolean preserveObjects;
 
-    NovaMapView(NovaMap delegate) {
+    public NovaMapView(NovaMap delegate) {
+        this(delegate, false);
+    }
+
+    public NovaMapView(NovaMap delegate, boolean preserveObjects) {
         this.delegate = delegate;
+        this.preserveObjects = preserveObjects;
+    }
+
+    @Override
+    public NovaMap novaMap() {
+        return delegate;
     }
 
     @Override
@@ -27,7 +40,6 @@ final class NovaMapView extends AbstractMap<Object, Object> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Object put(Object key, Object value) {
         NovaValue nKey = AbstractNovaValue.fromJava(key);
         NovaValue old = delegate.get(nKey);
@@ -72,10 +84,19 @@ final class NovaMapView extends AbstractMap<Object, Object> {
 
                     @Override
                     public Map.Entry<Object, Object> next() {
-                        Map.Entry<NovaValue, NovaValue> e = it.next();
-                        return new SimpleEntry<>(
-                                elemToJava(e.getKey()),
-                                elemToJava(e.getValue()));
+                        final Map.Entry<NovaValue, NovaValue> e = it.next();
+                        return new SimpleEntry<Object, Object>(elemToJava(e.getKey()), elemToJava(e.getValue())) {
+                            @Override
+                            public Object setValue(Object value) {
+                                super.setValue(value);
+                                return elemToJava(e.setValue(AbstractNovaValue.fromJava(value)));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
                     }
                 };
             }
@@ -87,7 +108,7 @@ final class NovaMapView extends AbstractMap<Object, Object> {
         };
     }
 
-    private static Object elemToJava(NovaValue v) {
-        return v instanceof NovaObject ? v : v.toJavaValue();
+    private Object elemToJava(NovaValue v) {
+        return preserveObjects ? AbstractNovaValue.toJavaElement(v) : v.toJavaValue();
     }
 }
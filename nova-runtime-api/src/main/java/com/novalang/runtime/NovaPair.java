@@ -62,6 +62,11 @@ public final class NovaPair extends AbstractNovaValue {
         return "Pair";
     }
 
+    @Override
+    public boolean keepsIdentityInJava() {
+        return true;
+    }
+
     @Override
     public Object toJavaValue() {
         Object f = first instanceof NovaValue ? ((NovaValue) first).toJavaValue() : first;
@@ -334,6 +334,8 @@ public final class NovaRuntime {
         private final Object value;
         private final Class<?>[] paramTypes;
         private final Class<?> returnType;
+        /** 注册时解析的调用形态：FunctionN 为 N，NativeFunction 为 SHAPE_NATIVE，无法识别为 SHAPE_UNKNOWN */
+        private final int shape;
         private volatile Object[] publishedBridgeEntry;
 
         /** 函数条目 */
@@ -348,6 +350,7 @@ public final class NovaRuntime {
             this.value = null;
             this.paramTypes = paramTypes;
             this.returnType = returnType;
+            this.shape = resolveShape(function);
         }
 
         /** 变量条目 */
@@ -361,6 +364,7 @@ public final class NovaRuntime {
             this.value = value;
             this.paramTypes = new Class<?>[0];
             this.returnType = value != null ? value.getClass() : Object.class;
+            this.shape = SHAPE_UNKNOWN;
         }
 
         public String getName() { return name; }
@@ -385,21 +389,35 @@ public final class NovaRuntime {
         public Object invoke(Object... args) {
             if (!isFunction) return value;
             try {
-                if (function instanceof NativeFunction) {
-                    return ((NativeFunction) function).invoke(args);
+                // 按注册时解析的形态直接分派，参数不足用 null 补齐
+                switch (shape) {
+                    case SHAPE_NATIVE:
+                        return ((NativeFunction) function).invoke(args);
+                    case 0:
+                        return ((Function0) function).invoke();
+                    case 1:
+                        return ((Function1) function).invoke(arg(args, 0));
+                    case 2:
+                        return ((Function2) function).invoke(arg(args, 0), arg(args, 1));
+                    case 3:
+                        return ((Function3) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2));
+                    case 4:
+                        return ((Function4) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+                    case 5:
+                        return ((Function5) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3),
+                                arg(args, 4));
+                    case 6:
+                        return ((Function6) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3),
+                                arg(args, 4), arg(args, 5));
+                    case 7:
+                        return ((Function7) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3),
+                                arg(args, 4), arg(args, 5), arg(args, 6));
+                    case 8:
+                        return ((Function8) function).invoke(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3),
+                                arg(args, 4), arg(args, 5), arg(args, 6), arg(args, 7));
+                    default:
+                        break;
                 }
-                // 按 FunctionN 类型匹配，参数不足用 null 补齐
-                Object a0 = args.length > 0 ? args[0] : null;
-                Object a1 = args.length > 1 ? args[1] : null;
-                Object a2 = args.length > 2 ? args[2] : null;
-                Object a3 = args.length > 3 ? args[3] : null;
-                Object a4 = args.length > 4 ? args[4] : null;
-                if (function instanceof Function0) return ((Function0) function).invoke();
-                if (function instanceof Function1) return ((Function1) function).invoke(a0);
-                if (function instanceof Function2) return ((Function2) function).invoke(a0, a1);
-                if (function instanceof Function3) return ((Function3) function).invoke(a0, a1, a2);
-                if (function instanceof Function4) return ((Function4) function).invoke(a0, a1, a2, a3);
-                if (function instanceof Function5) return ((Function5) function).invoke(a0, a1, a2, a3, a4);
             } catch (NovaException e) {
                 throw e; // Nova 异常原样传播
             } catch (Exception e) {
@@ -414,6 +432,27 @@ public final class NovaRuntime {
                     + (source != null ? " [来源: " + source + "]" : ""));
         }
 
+        private static Object arg(Object[] args, int index) {
+            return index < args.length ? args[index] : null;
+        }
+
+        private static final int SHAPE_NATIVE = -1;
+        private static final int SHAPE_UNKNOWN = -2;
+
+        private static int resolveShape(Object function) {
+            if (function instanceof NativeFunction) return SHAPE_NATIVE;
+            if (function instanceof Function0) return 0;
+            if (function instanceof Function1) return 1;
+            if (function instanceof Function2) return 2;
+            if (function instanceof Function3) return 3;
+            if (function instanceof Function4) return 4;
+            if (function instanceof Function5) return 5;
+            if (function instanceof Function6) return 6;
+            if (function instanceof Function7) return 7;
+            if (function instanceof Function8) return 8;
+            return SHAPE_UNKNOWN;
+        }
+
         private String resolveFunctionType() {
             if (function instanceof Function0) return "无参函数";
             if (function instanceof Function1) return "单参函数";
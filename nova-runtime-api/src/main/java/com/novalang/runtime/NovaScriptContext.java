@@ -5,7 +5,6 @@ import com.novalang.runtime.stdlib.NovaScopeFunctions;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JSR-223 脚本模式的运行时上下文。
@@ -18,14 +17,25 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * <p>使用 ThreadLocal 保证线程安全，由 {@code NovaCompiledScript.eval()} 管理生命周期。
  * 并发函数（launch/parallel）通过 {@link #current()} 捕获后手动传播到 worker 线程。</p>
+ *
+ * <p>绑定默认存放在 {@link BindingSlots} 中。字节码里的 get/set 经 invokedynamic
+ * （{@link NovaBootstrap#bootstrapBinding}）链接到 {@link #getBound}/{@link #setBound}，
+ * 槽位按上下文自己的布局解析并缓存在调用点；零拷贝模式传入普通 Map 时仍按名称访问。</p>
  */
 public class NovaScriptContext {
 
     private static final ThreadLocal<NovaScriptContext> CURRENT = new ThreadLocal<>();
 
-    private Map<String, Object> bindings = new ConcurrentHashMap<>();
+    private Map<String, Object> bindings;
+    /** bindings 为 {@link BindingSlots} 时的同一实例，已链接调用点按槽位访问 */
+    private BindingSlots slots;
     private ExtensionRegistry extensionRegistry;
 
+    private NovaScriptContext(Map<String, Object> bindings) {
+        this.bindings = bindings;
+        this.slots = bindings instanceof BindingSlots ? (BindingSlots) bindings : null;
+    }
+
     /** 获取当前线程的上下文（用于并发传播） */
     public static NovaScriptContext current() {
         return CURRENT.get();
@@ -44,13 +54,18 @@ public class NovaScriptContext {
      * 初始化当前线程的脚本上下文（拷贝模式）
      */
     public static void init(Map<String, Object> initialBindings) {
-        NovaScriptContext ctx = new NovaScriptContext();
-        if (initialBindings != null) {
-            for (Map.Entry<String, Object> e : initialBindings.entrySet()) {
-                ctx.bindings.put(e.getKey(), e.getValue() != null ? e.getValue() : NULL_SENTINEL);
+        BindingSlots copy;
+        if (initialBindings instanceof BindingSlots) {
+            copy = ((BindingSlots) initialBindings).copy();
+        } else {
+            copy = new BindingSlots();
+            if (initialBindings != null) {
+                for (Map.Entry<String, Object> e : initialBindings.entrySet()) {
+                    copy.put(e.getKey(), e.getValue());
+                }
             }
         }
-        CURRENT.set(ctx);
+        CURRENT.set(new NovaScriptContext(copy));
     }
 
     /**
@@ -66,9 +81,17 @@ public class NovaScriptContext {
      * </pre>
      */
     public static void initDirect(Map<String, Object> liveMap) {
-        NovaScriptContext ctx = new NovaScriptContext();
-        ctx.bindings = liveMap;
-        CURRENT.set(ctx);
+        CURRENT.set(new NovaScriptContext(liveMap));
+    }
+
+    /**
+     * 创建零拷贝上下文但不安装到当前线程。
+     * <p>预绑定的函数句柄复用同一实例，每次调用只通过 {@link #setCurrent} 切换，不再逐次新建上下文。</p>
+     */
+    public static NovaScriptContext direct(Map<String, Object> liveMap, ExtensionRegistry extensionRegistry) {
+        NovaScriptContext ctx = new NovaScriptContext(liveMap);
+        ctx.extensionRegistry = extensionRegistry;
+        return ctx;
     }
 
     /**
@@ -77,9 +100,34 @@ public class NovaScriptContext {
     public static Object get(String name) {
         NovaScriptContext ctx = CURRENT.get();
         if (ctx != null) {
-            Object val = ctx.bindings.get(name);
+            Object val;
+            if (ctx.slots != null) {
+                int slot = ctx.slots.layout().find(name);
+                val = slot >= 0 ? ctx.slots.rawAt(slot) : null;
+            } else {
+                val = ctx.bindings.get(name);
+            }
             if (val != null) return val == NULL_SENTINEL ? null : val;
         }
+        return resolveUnbound(name);
+    }
+
+    /**
+     * 按访问点读取绑定变量（已链接的 invokedynamic 调用点使用，槽位按当前上下文的布局解析）
+     */
+    public static Object getBound(BindingSite site) {
+        NovaScriptContext ctx = CURRENT.get();
+        if (ctx != null) {
+            Object val = ctx.slots != null
+                    ? ctx.slots.rawAt(site.slotIn(ctx.slots.layout(), false))
+                    : ctx.bindings.get(site.name());
+            if (val != null) return val == NULL_SENTINEL ? null : val;
+        }
+        return resolveUnbound(site.name());
+    }
+
+    /** 绑定中不存在时的回退：scope receiver 成员 → shared() 全局注册表 */
+    private static Object resolveUnbound(String name) {
         // scope receiver 字段读取（receiver.block() 内裸字段访问）
         Object scopeReceiver = NovaScopeFunctions.getScopeReceiver();
         if (scopeReceiver != null) {
@@ -97,12 +145,12 @@ public class NovaScriptContext {
         return null;
     }
 
+    /** 绑定值为 null 的占位（与 BindingSlots 共用；零拷贝传入的 ConcurrentHashMap 也不接受 null value） */
+    private static final Object NULL_SENTINEL = BindingSlots.NULL;
+
     /**
      * 写入绑定变量（编译后的字节码调用此方法）
      */
-    /** ConcurrentHashMap 不接受 null value，用 sentinel 占位 */
-    private static final Object NULL_SENTINEL = new Object();
-
     public static void set(String name, Object value) {
         // scope receiver 字段写入（receiver.block() 内裸字段赋值）
         Object scopeReceiver = NovaScopeFunctions.getScopeReceiver();
@@ -120,6 +168,29 @@ public class NovaScriptContext {
         }
     }
 
+    /**
+     * 按访问点写入绑定变量（已链接的 invokedynamic 调用点使用）
+     */
+    public static void setBound(BindingSite site, Object value) {
+        Object scopeReceiver = NovaScopeFunctions.getScopeReceiver();
+        if (scopeReceiver != null) {
+            try {
+                NovaDynamic.setMember(scopeReceiver, site.name(), value);
+                return;
+            } catch (Exception ignored) {
+                // receiver 上没有此字段 → 写到 bindings
+            }
+        }
+        NovaScriptContext ctx = CURRENT.get();
+        if (ctx != null) {
+            if (ctx.slots != null) {
+                ctx.slots.putAt(site, value);
+            } else {
+                ctx.bindings.put(site.name(), value != null ? value : NULL_SENTINEL);
+            }
+        }
+    }
+
     /**
      * 声明不可变变量（编译后的字节码对 val 声明调用此方法）
      */
@@ -147,6 +218,20 @@ public class NovaScriptContext {
         return result;
     }
 
+    /**
+     * 把当前上下文的绑定写回 target（拷贝模式执行结束时调用）。
+     * <p>两端都是 {@link BindingSlots} 时按槽位逐页复制，不经过名称查找。</p>
+     */
+    public static void exportTo(Map<String, Object> target) {
+        NovaScriptContext ctx = CURRENT.get();
+        if (ctx == null) return;
+        if (ctx.slots != null && target instanceof BindingSlots) {
+            ((BindingSlots) target).putAllSlots(ctx.slots);
+        } else {
+            target.putAll(getAll());
+        }
+    }
+
     /**
      * 运行时函数分派（编译模式：未解析的函数调用通过此方法在绑定中查找并调用）
      *
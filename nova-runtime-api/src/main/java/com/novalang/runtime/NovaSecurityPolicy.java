@@ -1,16 +1,16 @@
 package com.novalang.runtime;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 安全策略配置类
  *
  * <p>控制 NovaLang 解释器和编译模式的安全行为，限制 Java 互操作、资源使用等。</p>
  *
- * <p>编译模式通过 ThreadLocal + 静态检查方法实现安全拦截：</p>
+ * <p>循环、调用、分配和超时限制由每次执行独立的 {@link ExecutionBudget} 计数，策略对象本身不可变，
+ * 可被多个并发执行共享。编译模式通过 ThreadLocal + 静态检查方法实现安全拦截：</p>
  * <ul>
- *   <li>{@link #checkLoop()} — 循环回边检查（MirCodeGenerator 织入）</li>
+ *   <li>{@link ExecutionBudget#tickLoop()} — 循环回边检查（MirCodeGenerator 织入）</li>
  *   <li>{@link #checkClass(String)} — 类访问检查（NovaBootstrap 调用）</li>
  *   <li>{@link #checkMethod(String, String)} — 方法黑名单检查（NovaBootstrap 调用）</li>
  * </ul>
@@ -56,10 +56,8 @@ public final class NovaSecurityPolicy {
     private final int maxRecursionDepth;     // 0=无限制
     private final long maxLoopIterations;    // 0=无限制
     private final int maxAsyncTasks;         // 0=无限制
-
-    // --- 编译模式运行时状态（per-policy 实例） ---
-    private final AtomicLong loopCounter = new AtomicLong(0);
-    private volatile long startNanos;
+    private final long maxCalls;             // 0=无限制
+    private final long maxAllocations;       // 0=无限制
 
     private NovaSecurityPolicy(Builder builder) {
         this.level = builder.level;
@@ -78,44 +76,48 @@ public final class NovaSecurityPolicy {
         this.maxRecursionDepth = builder.maxRecursionDepth;
         this.maxLoopIterations = builder.maxLoopIterations;
         this.maxAsyncTasks = builder.maxAsyncTasks;
+        this.maxCalls = builder.maxCalls;
+        this.maxAllocations = builder.maxAllocations;
     }
 
     // ============ ThreadLocal 上下文（编译模式用） ============
 
-    private static final ThreadLocal<NovaSecurityPolicy> CURRENT = new ThreadLocal<>();
-
-    /** 设置当前线程的安全策略（执行入口调用） */
+    /** 设置当前线程的安全策略，并为其开始一份新的执行预算（执行入口调用） */
     public static void setCurrent(NovaSecurityPolicy policy) {
-        CURRENT.set(policy);
+        if (policy == null) {
+            ExecutionBudget.clear();
+        } else {
+            ExecutionBudget.begin(policy);
+        }
     }
 
     /** 获取当前线程的安全策略 */
     public static NovaSecurityPolicy current() {
-        return CURRENT.get();
+        ExecutionBudget budget = ExecutionBudget.current();
+        return budget != null ? budget.getPolicy() : null;
     }
 
     /** 清除当前线程的安全策略（执行结束时调用） */
     public static void clearCurrent() {
-        CURRENT.remove();
+        ExecutionBudget.clear();
     }
 
     // ============ 编译模式静态检查入口 ============
 
     /**
-     * 循环回边检查（MirCodeGenerator 在回边处织入调用）。
-     * UNRESTRICTED 或无策略时立即返回，零开销。
+     * 循环回边检查：对当前线程的执行预算计一次迭代。
+     * 生成代码改为在方法入口取一次 {@link ExecutionBudget#active()} 后直接调用 {@link ExecutionBudget#tickLoop()}。
      */
     public static void checkLoop() {
-        NovaSecurityPolicy p = CURRENT.get();
-        if (p == null || p.level == Level.UNRESTRICTED) return;
-        p.doCheckLoop();
+        ExecutionBudget budget = ExecutionBudget.active();
+        if (budget != null) budget.tickLoop();
     }
 
     /**
      * 类访问检查（NovaBootstrap fallback 调用）。
      */
     public static void checkClass(String className) {
-        NovaSecurityPolicy p = CURRENT.get();
+        NovaSecurityPolicy p = current();
         if (p == null || p.level == Level.UNRESTRICTED) return;
         if (!p.isClassAllowed(className)) {
             throw denied("Cannot access class: " + className);
@@ -126,33 +128,20 @@ public final class NovaSecurityPolicy {
      * 方法黑名单检查（NovaBootstrap fallback 调用）。
      */
     public static void checkMethod(String className, String methodName) {
-        NovaSecurityPolicy p = CURRENT.get();
+        NovaSecurityPolicy p = current();
         if (p == null || p.level == Level.UNRESTRICTED) return;
         if (!p.isMethodAllowed(className, methodName)) {
             throw denied("Cannot call method: " + className + "." + methodName);
         }
     }
 
-    /** 重置运行时计数器（每次执行前调用） */
+    /**
+     * 重置运行时计数器：当前线程正在使用本策略时，为其开始一份新的执行预算。
+     * 计数状态已移入 {@link ExecutionBudget}，执行入口直接调用 {@link ExecutionBudget#begin} 即可。
+     */
     public void resetCounters() {
-        loopCounter.set(0);
-        startNanos = System.nanoTime();
-    }
-
-    private void doCheckLoop() {
-        // 迭代计数检查
-        if (maxLoopIterations > 0) {
-            long count = loopCounter.incrementAndGet();
-            if (count > maxLoopIterations) {
-                throw denied("Maximum loop iterations exceeded (" + maxLoopIterations + ")");
-            }
-        }
-        // 执行时间检查
-        if (maxExecutionTimeMs > 0 && startNanos > 0) {
-            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
-            if (elapsedMs > maxExecutionTimeMs) {
-                throw denied("Execution timeout exceeded (" + maxExecutionTimeMs + "ms)");
-            }
+        if (current() == this) {
+            ExecutionBudget.begin(this);
         }
     }
 
@@ -333,6 +322,14 @@ public final class NovaSecurityPolicy {
         return maxAsyncTasks;
     }
 
+    public long getMaxCalls() {
+        return maxCalls;
+    }
+
+    public long getMaxAllocations() {
+        return maxAllocations;
+    }
+
     // ============ 错误工厂 ============
 
     /** 创建安全拒绝异常 */
@@ -359,6 +356,8 @@ public final class NovaSecurityPolicy {
         private int maxRecursionDepth = 0;
         private long maxLoopIterations = 0;
         private int maxAsyncTasks = 0;
+        private long maxCalls = 0;
+        private long maxAllocations = 0;
 
         Builder(Level level) {
             this.level = level;
@@ -439,6 +438,18 @@ public final class NovaSecurityPolicy {
             return this;
         }
 
+        /** 单次执行允许的函数调用总次数（0=无限制） */
+        public Builder maxCalls(long max) {
+            this.maxCalls = max;
+            return this;
+        }
+
+        /** 单次执行允许的对象/数组/集合创建总次数（0=无限制） */
+        public Builder maxAllocations(long max) {
+            this.maxAllocations = max;
+            return this;
+        }
+
         public NovaSecurityPolicy build() {
             return new NovaSecurityPolicy(this);
         }
@@ -0,0 +1,174 @@
+package com.novalang.runtime;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Nova 惰性序列（Sequence）
+ *
+ * <p>由一个元素源和若干中间阶段组成。中间操作（map / filter / take …）只是把新阶段接到链上，
+ * 不产生中间集合；终端操作（toList / first / count …）执行时，所有阶段组合成一条接收器链，
+ * 源的每个元素在一次遍历中依次穿过全部阶段。接收器返回 false 即表示下游已满足，
+ * 源立即停止推送，因此 {@code take(10)} 之类的短路终端只会计算所需的元素。</p>
+ *
+ * <p>序列可重复遍历：每次终端操作都会重新驱动源，有状态阶段（take / distinct / chunked …）
+ * 的状态在 {@link Stage#wrap(Sink)} 时为该次遍历单独创建。</p>
+ *
+ * <p>元素以 Java 值表示（与编译路径的 List 元素一致），解释器中的 NovaObject 等保持原对象。</p>
+ */
+@NovaType(name = "Sequence", description = "惰性序列，中间操作融合为单趟遍历")
+public final class NovaSequence extends AbstractNovaValue {
+
+    /** 元素接收器 */
+    public interface Sink {
+        /**
+         * 接收一个元素。
+         *
+         * @return false 表示不再需要后续元素
+         */
+        boolean accept(Object value);
+
+        /** 上游元素已全部送达（源耗尽，或截断阶段判定结束），用于输出 chunked/windowed 等的尾部 */
+        default void end() {}
+    }
+
+    /** 中间阶段：为一次遍历创建本阶段的接收器 */
+    @FunctionalInterface
+    public interface Stage {
+        Sink wrap(Sink downstream);
+    }
+
+    /** 元素源 */
+    public interface Source {
+        /**
+         * 依次推送全部元素。
+         *
+         * @return true 表示源已耗尽；false 表示被接收器提前终止
+         */
+        boolean push(Sink sink);
+
+        /** 拉取式迭代（for-in 使用），默认先推送到缓冲区 */
+        default Iterator<Object> iterator() {
+            List<Object> buffer = new ArrayList<>();
+            push(value -> {
+                buffer.add(value);
+                return true;
+            });
+            return buffer.iterator();
+        }
+    }
+
+    private final Source source;
+    private final Stage stage;
+
+    public NovaSequence(Source source) {
+        this(source, null);
+    }
+
+    private NovaSequence(Source source, Stage stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    /** 在链尾追加一个中间阶段，返回新序列（原序列不变） */
+    public NovaSequence then(Stage next) {
+        Stage prev = stage;
+        if (prev == null) {
+            return new NovaSequence(source, next);
+        }
+        return new NovaSequence(source, downstream -> prev.wrap(next.wrap(downstream)));
+    }
+
+    /**
+     * 驱动整条链，把元素推送给终端接收器。
+     *
+     * @return true 表示所有元素都已送达；false 表示被提前终止
+     */
+    public boolean drive(Sink terminal) {
+        Sink head = stage != null ? stage.wrap(terminal) : terminal;
+        if (source.push(head)) {
+            head.end();
+            return true;
+        }
+        return false;
+    }
+
+    /** 拉取式迭代：按需从源取元素送入阶段链 */
+    public Iterator<Object> iterator() {
+        if (stage == null) {
+            return source.iterator();
+        }
+        return new StagedIterator(source.iterator(), stage);
+    }
+
+    // ============ NovaValue ============
+
+    @Override
+    public String getTypeName() {
+        return "Sequence";
+    }
+
+    @Override
+    public String getNovaTypeName() {
+        return "Sequence";
+    }
+
+    @Override
+    public Object toJavaValue() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Sequence";
+    }
+
+    // ============ 拉取适配 ============
+
+    /** 从上游迭代器逐个取元素推入阶段链，链的输出暂存在缓冲区 */
+    private static final class StagedIterator implements Iterator<Object> {
+        private final Iterator<Object> upstream;
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        private final Sink head;
+        private boolean done;
+
+        StagedIterator(Iterator<Object> upstream, Stage stage) {
+            this.upstream = upstream;
+            // ArrayDeque 不接受 null，用占位符代替
+            this.head = stage.wrap(value -> {
+                buffer.add(value == null ? NullSlot.INSTANCE : value);
+                return true;
+            });
+        }
+
+        private void fill() {
+            while (buffer.isEmpty() && !done) {
+                if (upstream.hasNext()) {
+                    if (!head.accept(upstream.next())) done = true;
+                } else {
+                    done = true;
+                    head.end();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public Object next() {
+            fill();
+            if (buffer.isEmpty()) throw new NoSuchElementException();
+            Object value = buffer.poll();
+            return value == NullSlot.INSTANCE ? null : value;
+        }
+    }
+
+    private enum NullSlot { INSTANCE }
+}
@@ -232,6 +232,16 @@ public interface NovaValue {
         return false;
     }
 
+    /**
+     * 写入 Java 集合视图时是否保留 NovaValue 本身。
+     * toJavaValue() 有损（如脚本对象转为 Map）的类型返回 true，读回时仍是同一个值。
+     *
+     * @return 如果应保留原值返回 true
+     */
+    default boolean keepsIdentityInJava() {
+        return false;
+    }
+
     // ============ 解构支持 ============
 
     /**
@@ -1,5 +1,10 @@
 package com.novalang.runtime;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
@@ -9,6 +14,10 @@ import java.lang.reflect.Proxy;
  *
  * <p>将 Nova 的 FunctionN / NovaCallable lambda 自动转换为 Java 函数式接口（Comparator/Consumer/Function 等）。
  * 编译路径和解释路径共用。</p>
+ *
+ * <p>每个接口经 {@link LambdaMetafactory} 生成一次实现类（缓存在 ClassValue 中），SAM 方法直接调用
+ * {@link SamInvoker} 的按元数入口；接口对本类的 ClassLoader 不可见、非 public 或参数超过
+ * {@link SamInvoker#MAX_ARITY} 时回退到 Proxy。</p>
  */
 public final class SamAdapter {
 
@@ -30,6 +39,28 @@ public final class SamAdapter {
         }
     };
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /** 生成式适配器工厂：(SamInvoker)Object，接口无法生成时为 null */
+    private static final ClassValue<MethodHandle> generatedCV = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> cls) {
+            Method sam = findSamMethod(cls);
+            if (sam == null || sam.getParameterCount() > SamInvoker.MAX_ARITY || !isGeneratable(cls)) return null;
+            try {
+                MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+                MethodHandle impl = LOOKUP.findVirtual(SamInvoker.class, "invoke" + sam.getParameterCount(),
+                        MethodType.genericMethodType(sam.getParameterCount()));
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, sam.getName(),
+                        MethodType.methodType(cls, SamInvoker.class), samType, impl, samType);
+                return site.getTarget().asType(MethodType.methodType(Object.class, SamInvoker.class));
+            } catch (Throwable e) {
+                // 模块未导出、签名无法适配等：回退到 Proxy
+                return null;
+            }
+        }
+    };
+
     /** Object 方法名集合（避免 try-catch 异常开销） */
     private static final java.util.Set<String> OBJECT_METHOD_NAMES = new java.util.HashSet<>();
     static {
@@ -71,7 +102,7 @@ public final class SamAdapter {
      *
      * @param interfaceClass 目标函数式接口（如 Comparator.class）
      * @param lambda Nova lambda 对象（FunctionN 或 NovaCallable）
-     * @return Proxy 实例，实现指定接口
+     * @return 实现指定接口的适配器实例
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static Object adapt(Class<?> interfaceClass, Object lambda) {
@@ -79,6 +110,8 @@ public final class SamAdapter {
         if (sam == null) {
             throw new IllegalArgumentException("Not a functional interface: " + interfaceClass.getName());
         }
+        Object generated = generate(interfaceClass, new LambdaInvoker(lambda));
+        if (generated != null) return generated;
 
         return Proxy.newProxyInstance(
                 interfaceClass.getClassLoader(),
@@ -204,6 +237,77 @@ public final class SamAdapter {
         return arg;
     }
 
+    // ========== 生成式适配器 ==========
+
+    /**
+     * 以生成的实现类把 invoker 适配为函数式接口；接口无法生成时返回 null，由调用方回退到 Proxy。
+     */
+    public static Object generate(Class<?> interfaceClass, SamInvoker invoker) {
+        MethodHandle factory = generatedCV.get(interfaceClass);
+        if (factory == null) return null;
+        try {
+            return (Object) factory.invokeExact(invoker);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw NovaErrors.wrap("SAM 适配器创建失败", t);
+        }
+    }
+
+    /** 生成的类定义在本类的 ClassLoader 中：接口须为 public 且从这里按名解析到同一个 Class */
+    private static boolean isGeneratable(Class<?> cls) {
+        if (!Modifier.isPublic(cls.getModifiers())) return false;
+        ClassLoader own = SamAdapter.class.getClassLoader();
+        try {
+            return Class.forName(cls.getName(), false, own) == cls;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /** 编译路径 lambda（FunctionN / NovaCallable）的按元数调用目标 */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class LambdaInvoker extends SamInvoker {
+        private final Object lambda;
+
+        LambdaInvoker(Object lambda) {
+            this.lambda = lambda;
+        }
+
+        @Override
+        public Object invoke0() {
+            if (lambda instanceof Function0) return toJava(((Function0) lambda).invoke());
+            return invokeLambda(lambda, new Object[0]);
+        }
+
+        @Override
+        public Object invoke1(Object a0) {
+            if (lambda instanceof Function1) return toJava(((Function1) lambda).invoke(a0));
+            return invokeLambda(lambda, new Object[]{a0});
+        }
+
+        @Override
+        public Object invoke2(Object a0, Object a1) {
+            if (lambda instanceof Function2) return toJava(((Function2) lambda).invoke(a0, a1));
+            return invokeLambda(lambda, new Object[]{a0, a1});
+        }
+
+        @Override
+        public Object invoke3(Object a0, Object a1, Object a2) {
+            if (lambda instanceof Function3) return toJava(((Function3) lambda).invoke(a0, a1, a2));
+            return invokeLambda(lambda, new Object[]{a0, a1, a2});
+        }
+
+        @Override
+        public String toString() {
+            return lambda.toString();
+        }
+
+        private static Object toJava(Object result) {
+            return result instanceof NovaValue ? ((NovaValue) result).toJavaValue() : result;
+        }
+    }
+
     // ========== 内部实现 ==========
 
     private static Method findSamMethod(Class<?> clazz) {
@@ -0,0 +1,25 @@
+package com.novalang.runtime;
+
+/**
+ * 生成式 SAM 适配器的调用目标。
+ *
+ * <p>{@link SamAdapter} 为每个函数式接口生成一次实现类，其 SAM 方法按参数个数直接调用
+ * 对应的 {@code invokeN}：基本类型参数装箱为 Object，返回值按接口声明的返回类型转换（void 丢弃）。
+ * 调用路径上没有 {@code Object[]} 参数数组，也没有反射 {@code Method} 分派。</p>
+ *
+ * <p>编译路径由 {@link SamAdapter} 包装 FunctionN / NovaCallable；解释路径由解释器提供自己的实现，
+ * 直接进入 MIR 函数帧。</p>
+ */
+public abstract class SamInvoker {
+
+    /** 生成式适配器支持的最大参数个数，超出时回退到 Proxy */
+    public static final int MAX_ARITY = 3;
+
+    public abstract Object invoke0();
+
+    public abstract Object invoke1(Object a0);
+
+    public abstract Object invoke2(Object a0, Object a1);
+
+    public abstract Object invoke3(Object a0, Object a1, Object a2);
+}
@@ -285,5 +285,73 @@ public final class StdlibContractMetadata {
         registerMemberContract("Map", "all", "map.all");
         registerMemberContract("Map", "none", "map.none");
         registerMemberContract("Map", "count", "map.count");
+
+        registerFunctionContract("generateSequence", "sequence.generateSequence");
+        registerMemberContract("List", "asSequence", "list.asSequence");
+        registerMemberContract("Set", "asSequence", "set.asSequence");
+        registerMemberContract("Range", "asSequence", "range.asSequence");
+        registerMemberContract("Sequence", "map", "sequence.map");
+        registerMemberContract("Sequence", "filter", "sequence.filter");
+        registerMemberContract("Sequence", "filterNot", "sequence.filterNot");
+        registerMemberContract("Sequence", "mapIndexed", "sequence.mapIndexed");
+        registerMemberContract("Sequence", "filterIndexed", "sequence.filterIndexed");
+        registerMemberContract("Sequence", "mapNotNull", "sequence.mapNotNull");
+        registerMemberContract("Sequence", "flatMap", "sequence.flatMap");
+        registerMemberContract("Sequence", "take", "sequence.take");
+        registerMemberContract("Sequence", "drop", "sequence.drop");
+        registerMemberContract("Sequence", "takeWhile", "sequence.takeWhile");
+        registerMemberContract("Sequence", "dropWhile", "sequence.dropWhile");
+        registerMemberContract("Sequence", "distinct", "sequence.distinct");
+        registerMemberContract("Sequence", "sorted", "sequence.sorted");
+        registerMemberContract("Sequence", "sortedDescending", "sequence.sortedDescending");
+        registerMemberContract("Sequence", "sortedBy", "sequence.sortedBy");
+        registerMemberContract("Sequence", "chunked", "sequence.chunked");
+        registerMemberContract("Sequence", "withIndex", "sequence.withIndex");
+        registerMemberContract("Sequence", "onEach", "sequence.onEach");
+        registerMemberContract("Sequence", "forEach", "sequence.forEach");
+        registerMemberContract("Sequence", "forEachIndexed", "sequence.forEachIndexed");
+        registerMemberContract("Sequence", "find", "sequence.find");
+        registerMemberContract("Sequence", "first", "sequence.first");
+        registerMemberContract("Sequence", "firstOrNull", "sequence.firstOrNull");
+        registerMemberContract("Sequence", "last", "sequence.last");
+        registerMemberContract("Sequence", "lastOrNull", "sequence.lastOrNull");
+        registerMemberContract("Sequence", "any", "sequence.any");
+        registerMemberContract("Sequence", "all", "sequence.all");
+        registerMemberContract("Sequence", "none", "sequence.none");
+        registerMemberContract("Sequence", "count", "sequence.count");
+        registerMemberContract("Sequence", "fold", "sequence.fold");
+        registerMemberContract("Sequence", "reduce", "sequence.reduce");
+        registerMemberContract("Sequence", "joinToString", "sequence.joinToString");
+        registerMemberContract("Sequence", "contains", "sequence.contains");
+        registerMemberContract("Sequence", "indexOf", "sequence.indexOf");
+        registerMemberContract("Sequence", "groupBy", "sequence.groupBy");
+        registerMemberContract("Sequence", "associateBy", "sequence.associateBy");
+        registerMemberContract("Sequence", "toSet", "sequence.toSet");
+        registerMemberContract("Sequence", "toMutableList", "sequence.toMutableList");
+        registerMemberContract("Sequence", "sum", "sequence.sum");
+        registerMemberContract("Sequence", "average", "sequence.average");
+        registerMemberContract("Sequence", "maxOrNull", "sequence.maxOrNull");
+        registerMemberContract("Sequence", "minOrNull", "sequence.minOrNull");
+        registerMemberContract("Sequence", "sumBy", "sequence.sumBy");
+        registerMemberContract("Sequence", "toList", "sequence.toList");
+
+        registerMemberContract("List", "parallelMap", "list.parallelMap");
+        registerMemberContract("List", "parallelFilter", "list.parallelFilter");
+        registerMemberContract("List", "parallelForEach", "list.parallelForEach");
+        registerMemberContract("List", "parallelReduce", "list.parallelReduce");
+        registerMemberContract("List", "parallelFold", "list.parallelFold");
+        registerMemberContract("List", "parallelGroupBy", "list.parallelGroupBy");
+        registerMemberContract("Range", "parallelMap", "range.parallelMap");
+        registerMemberContract("Range", "parallelFilter", "range.parallelFilter");
+        registerMemberContract("Range", "parallelForEach", "range.parallelForEach");
+        registerMemberContract("Range", "parallelReduce", "range.parallelReduce");
+        registerMemberContract("Range", "parallelFold", "range.parallelFold");
+        registerMemberContract("Range", "parallelGroupBy", "range.parallelGroupBy");
+        registerMemberContract("Sequence", "parallelMap", "sequence.parallelMap");
+        registerMemberContract("Sequence", "parallelFilter", "sequence.parallelFilter");
+        registerMemberContract("Sequence", "parallelForEach", "sequence.parallelForEach");
+        registerMemberContract("Sequence", "parallelReduce", "sequence.parallelReduce");
+        registerMemberContract("Sequence", "parallelFold", "sequence.parallelFold");
+        registerMemberContract("Sequence", "parallelGroupBy", "sequence.parallelGroupBy");
     }
 }
@@ -0,0 +1,17 @@
+package com.novalang.runtime;
+
+/**
+ * 绑定到单一执行上下文、不能跨线程共享的可调用对象（如解释器 lambda 的 Function 桥接）。
+ * <p>
+ * 并行集合操作在把 lambda 交给 worker 线程前调用 {@link #forWorker(ExecutionContext)}，
+ * 让每个 worker 使用各自的子上下文执行同一个 lambda。
+ */
+public interface ThreadConfined {
+
+    /**
+     * 返回绑定到 worker 上下文的副本。
+     *
+     * @param workerContext 为该 worker 创建的子执行上下文（编译路径下可能为 null）
+     */
+    Object forWorker(ExecutionContext workerContext);
+}
@@ -22,6 +22,8 @@ public final class StdlibContracts {
         registerMapContracts();
         registerRangeContracts();
         registerArrayContracts();
+        registerSequenceContracts();
+        registerParallelContracts();
     }
 
     private StdlibContracts() {}
@@ -580,6 +582,452 @@ public final class StdlibContracts {
                 .build());
     }
 
+    private static void registerSequenceContracts() {
+        register(NovaContract.member("list.asSequence")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("List", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("set.asSequence")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Set", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("range.asSequence")
+                .receiver(TypeExpr.concrete("Range"))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.concrete("Int")))
+                .build());
+
+        register(NovaContract.function("sequence.generateSequence")
+                .typeParam("T")
+                .valueArg("seed", TypeExpr.typeVar("T"))
+                .lambdaArg("next",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.map")
+                .typeParams("T", "R")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("transform",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.typeVar("R"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("R"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("R")))
+                .tag(COLLECTION_MAP)
+                .build());
+
+        register(NovaContract.member("sequence.filter")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.filterNot")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.mapIndexed")
+                .typeParams("T", "R")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("transform",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("R"), TypeExpr.concrete("Int"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("R")))
+                .tag(COLLECTION_MAP, SUPPORTS_BI_LAMBDA)
+                .build());
+
+        register(NovaContract.member("sequence.filterIndexed")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.concrete("Int"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER, SUPPORTS_BI_LAMBDA)
+                .build());
+
+        register(NovaContract.member("sequence.mapNotNull")
+                .typeParams("T", "R")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("transform",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.nullable(TypeExpr.typeVar("R")), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.nullable(TypeExpr.typeVar("R")), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.nonNull(TypeExpr.typeVar("R"))))
+                .tag(COLLECTION_MAP, COLLECTION_MAP_NOT_NULL)
+                .build());
+
+        register(NovaContract.member("sequence.flatMap")
+                .typeParams("T", "U")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("transform",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("List", TypeExpr.typeVar("U")), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("List", TypeExpr.typeVar("U")), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("U")))
+                .constraint(ConstraintExpr.lambdaReturnsCollection())
+                .tag(COLLECTION_FLATMAP)
+                .build());
+
+        register(NovaContract.member("sequence.take")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("count", TypeExpr.concrete("Int"))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.drop")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("count", TypeExpr.concrete("Int"))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.takeWhile")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.dropWhile")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.distinct")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.sorted")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.sortedDescending")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.sortedBy")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("selector",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.chunked")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("size", TypeExpr.concrete("Int"))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.concrete("List", TypeExpr.typeVar("T"))))
+                .build());
+
+        register(NovaContract.member("sequence.withIndex")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("List",
+                        TypeExpr.concrete("Pair", TypeExpr.concrete("Int"), TypeExpr.typeVar("T"))))
+                .build());
+
+        register(NovaContract.member("sequence.forEach")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("action",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Unit"))
+                .build());
+
+        register(NovaContract.member("sequence.forEachIndexed")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("action",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), TypeExpr.concrete("Int"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Unit"))
+                .tag(SUPPORTS_BI_LAMBDA)
+                .build());
+
+        register(NovaContract.member("sequence.find")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.nullable(TypeExpr.typeVar("T")))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.first")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.typeVar("T"))
+                .build());
+
+        register(NovaContract.member("sequence.firstOrNull")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.nullable(TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.last")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.typeVar("T"))
+                .build());
+
+        register(NovaContract.member("sequence.lastOrNull")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.nullable(TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.any")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Boolean"))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.all")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Boolean"))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.none")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Boolean"))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.count")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Int"))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member("sequence.fold")
+                .typeParams("T", "A")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("initial", TypeExpr.typeVar("A"))
+                .lambdaArg("operation",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("A"), TypeExpr.typeVar("A"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.typeVar("A"))
+                .build());
+
+        register(NovaContract.member("sequence.reduce")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("operation",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("T"), TypeExpr.typeVar("T"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.typeVar("T"))
+                .build());
+
+        register(NovaContract.member("sequence.joinToString")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("separator", TypeExpr.concrete("String"))
+                .returns(TypeExpr.concrete("String"))
+                .build());
+
+        register(NovaContract.member("sequence.contains")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("value", TypeExpr.typeVar("T"))
+                .returns(TypeExpr.concrete("Boolean"))
+                .build());
+
+        register(NovaContract.member("sequence.indexOf")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .valueArg("value", TypeExpr.typeVar("T"))
+                .returns(TypeExpr.concrete("Int"))
+                .build());
+
+        register(NovaContract.member("sequence.groupBy")
+                .typeParams("T", "K")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("keySelector",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.typeVar("K"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("K"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Map", TypeExpr.typeVar("K"),
+                        TypeExpr.concrete("List", TypeExpr.typeVar("T"))))
+                .build());
+
+        register(NovaContract.member("sequence.associateBy")
+                .typeParams("T", "K")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("keySelector",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.typeVar("K"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("K"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Map", TypeExpr.typeVar("K"), TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.toSet")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Set", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.toMutableList")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("List", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.sum")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Number"))
+                .build());
+
+        register(NovaContract.member("sequence.average")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Double"))
+                .build());
+
+        register(NovaContract.member("sequence.maxOrNull")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.nullable(TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.minOrNull")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.nullable(TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.sumBy")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("selector",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Number"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Number"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Number"))
+                .build());
+
+        register(NovaContract.member("sequence.onEach")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .lambdaArg("action",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .build());
+
+        register(NovaContract.member("sequence.toList")
+                .typeParam("T")
+                .receiver(TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")))
+                .returns(TypeExpr.concrete("List", TypeExpr.typeVar("T")))
+                .build());
+    }
+
+    private static void registerParallelContracts() {
+        registerParallelContracts("list", TypeExpr.concrete("List", TypeExpr.typeVar("T")), TypeExpr.typeVar("T"), "T");
+        registerParallelContracts("range", TypeExpr.concrete("Range"), TypeExpr.concrete("Int"));
+        registerParallelContracts("sequence", TypeExpr.concrete("Sequence", TypeExpr.typeVar("T")), TypeExpr.typeVar("T"), "T");
+    }
+
+    /** 三种接收者的 parallelXxx 签名一致，仅接收者与元素类型不同 */
+    private static void registerParallelContracts(String prefix, TypeExpr receiver, TypeExpr element,
+                                                  String... elementTypeParams) {
+        register(NovaContract.member(prefix + ".parallelMap")
+                .typeParams(elementTypeParams).typeParam("R")
+                .receiver(receiver)
+                .lambdaArg("transform",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.typeVar("R"), element),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("R"), element))
+                .returns(TypeExpr.concrete("List", TypeExpr.typeVar("R")))
+                .tag(COLLECTION_MAP)
+                .build());
+
+        register(NovaContract.member(prefix + ".parallelFilter")
+                .typeParams(elementTypeParams)
+                .receiver(receiver)
+                .lambdaArg("predicate",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Boolean"), element),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Boolean"), element))
+                .returns(TypeExpr.concrete("List", element))
+                .tag(COLLECTION_FILTER)
+                .build());
+
+        register(NovaContract.member(prefix + ".parallelForEach")
+                .typeParams(elementTypeParams)
+                .receiver(receiver)
+                .lambdaArg("action",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.concrete("Any"), element),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.concrete("Any"), element))
+                .returns(TypeExpr.concrete("Unit"))
+                .build());
+
+        register(NovaContract.member(prefix + ".parallelReduce")
+                .typeParams(elementTypeParams)
+                .receiver(receiver)
+                .lambdaArg("operation",
+                        NovaContract.variant(EXPLICIT_PARAMS, element, element, element))
+                .returns(element)
+                .build());
+
+        register(NovaContract.member(prefix + ".parallelFold")
+                .typeParams(elementTypeParams).typeParam("A")
+                .receiver(receiver)
+                .valueArg("initial", TypeExpr.typeVar("A"))
+                .lambdaArg("operation",
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("A"), TypeExpr.typeVar("A"), element))
+                .returns(TypeExpr.typeVar("A"))
+                .build());
+
+        register(NovaContract.member(prefix + ".parallelGroupBy")
+                .typeParams(elementTypeParams).typeParam("K")
+                .receiver(receiver)
+                .lambdaArg("keySelector",
+                        NovaContract.variant(IMPLICIT_IT, TypeExpr.typeVar("K"), element),
+                        NovaContract.variant(EXPLICIT_PARAMS, TypeExpr.typeVar("K"), element))
+                .returns(TypeExpr.concrete("Map", TypeExpr.typeVar("K"), TypeExpr.concrete("List", element)))
+                .build());
+    }
+
     private static void registerArrayContracts() {
         register(NovaContract.member("array.size")
                 .typeParam("T")
@@ -333,15 +333,15 @@ public final class HostBindingRegistry {
         }
 
         public FunctionBuilder invoke0(Supplier<?> supplier) {
-            return invoke(args -> supplier.get());
+            return invoke(new Fixed0(supplier));
         }
 
         public FunctionBuilder invoke1(Function<Object, ?> fn) {
-            return invoke(args -> fn.apply(args.length > 0 ? args[0] : null));
+            return invoke(new Fixed1(fn));
         }
 
         public FunctionBuilder invoke2(BiFunction<Object, Object, ?> fn) {
-            return invoke(args -> fn.apply(args.length > 0 ? args[0] : null, args.length > 1 ? args[1] : null));
+            return invoke(new Fixed2(fn));
         }
 
         /**
@@ -351,7 +351,7 @@ public final class HostBindingRegistry {
          * @param fn         函数实现
          */
         public <R> FunctionBuilder invoke0(Class<R> returnType, Supplier<R> fn) {
-            return invoke(args -> fn.get());
+            return invoke(new Fixed0(fn));
         }
 
         /**
@@ -365,10 +365,7 @@ public final class HostBindingRegistry {
          * @param fn 函数实现
          */
         public <T1, R> FunctionBuilder invoke1(Class<T1> t1, Function1<T1, R> fn) {
-            return invoke(args -> {
-                T1 a0 = NovaValueConversions.convertArg(args.length > 0 ? args[0] : null, t1);
-                return fn.invoke(a0);
-            });
+            return invoke(new Fixed1(a0 -> fn.invoke(NovaValueConversions.convertArg(a0, t1))));
         }
 
         /**
@@ -383,11 +380,8 @@ public final class HostBindingRegistry {
          * @param fn 函数实现
          */
         public <T1, T2, R> FunctionBuilder invoke2(Class<T1> t1, Class<T2> t2, Function2<T1, T2, R> fn) {
-            return invoke(args -> {
-                T1 a0 = NovaValueConversions.convertArg(args.length > 0 ? args[0] : null, t1);
-                T2 a1 = NovaValueConversions.convertArg(args.length > 1 ? args[1] : null, t2);
-                return fn.invoke(a0, a1);
-            });
+            return invoke(new Fixed2((a0, a1) -> fn.invoke(
+                    NovaValueConversions.convertArg(a0, t1), NovaValueConversions.convertArg(a1, t2))));
         }
 
         /**
@@ -400,12 +394,8 @@ public final class HostBindingRegistry {
          */
         public <T1, T2, T3, R> FunctionBuilder invoke3(Class<T1> t1, Class<T2> t2, Class<T3> t3,
                                                          Function3<T1, T2, T3, R> fn) {
-            return invoke(args -> {
-                T1 a0 = NovaValueConversions.convertArg(args.length > 0 ? args[0] : null, t1);
-                T2 a1 = NovaValueConversions.convertArg(args.length > 1 ? args[1] : null, t2);
-                T3 a2 = NovaValueConversions.convertArg(args.length > 2 ? args[2] : null, t3);
-                return fn.invoke(a0, a1, a2);
-            });
+            return invoke(new Fixed3((a0, a1, a2) -> fn.invoke(NovaValueConversions.convertArg(a0, t1),
+                    NovaValueConversions.convertArg(a1, t2), NovaValueConversions.convertArg(a2, t3))));
         }
 
         private HostFunctionDescriptor build() {
@@ -479,4 +469,82 @@ public final class HostBindingRegistry {
             return this;
         }
     }
+
+    // ── 固定参数的宿主函数调用形态：安装器按元数直接调用 invokeN，通用入口按位补 null ──
+
+    private static Object arg(Object[] args, int index) {
+        return index < args.length ? args[index] : null;
+    }
+
+    private static final class Fixed0 implements HostFunctionInvoker {
+        private final Supplier<?> fn;
+
+        Fixed0(Supplier<?> fn) {
+            this.fn = fn;
+        }
+
+        @Override
+        public Object invoke(Object... args) {
+            return fn.get();
+        }
+
+        @Override
+        public Object invoke0() {
+            return fn.get();
+        }
+    }
+
+    private static final class Fixed1 implements HostFunctionInvoker {
+        private final Function<Object, ?> fn;
+
+        Fixed1(Function<Object, ?> fn) {
+            this.fn = fn;
+        }
+
+        @Override
+        public Object invoke(Object... args) {
+            return fn.apply(arg(args, 0));
+        }
+
+        @Override
+        public Object invoke1(Object a0) {
+            return fn.apply(a0);
+        }
+    }
+
+    private static final class Fixed2 implements HostFunctionInvoker {
+        private final BiFunction<Object, Object, ?> fn;
+
+        Fixed2(BiFunction<Object, Object, ?> fn) {
+            this.fn = fn;
+        }
+
+        @Override
+        public Object invoke(Object... args) {
+            return fn.apply(arg(args, 0), arg(args, 1));
+        }
+
+        @Override
+        public Object invoke2(Object a0, Object a1) {
+            return fn.apply(a0, a1);
+        }
+    }
+
+    private static final class Fixed3 implements HostFunctionInvoker {
+        private final Function3<Object, Object, Object, ?> fn;
+
+        Fixed3(Function3<Object, Object, Object, ?> fn) {
+            this.fn = fn;
+        }
+
+        @Override
+        public Object invoke(Object... args) {
+            return fn.invoke(arg(args, 0), arg(args, 1), arg(args, 2));
+        }
+
+        @Override
+        public Object invoke3(Object a0, Object a1, Object a2) {
+            return fn.invoke(a0, a1, a2);
+        }
+    }
 }
@@ -1,6 +1,28 @@
 package com.novalang.runtime.host;
 
+/**
+ * 宿主函数调用入口。
+ *
+ * <p>{@link #invoke(Object...)} 为通用形态；固定参数的宿主函数可覆盖 {@code invoke0} ~ {@code invoke3}，
+ * 安装器按声明的参数个数直接调用对应形态，不再为每次调用构造参数数组。</p>
+ */
 @FunctionalInterface
 public interface HostFunctionInvoker {
     Object invoke(Object... args) throws Exception;
+
+    default Object invoke0() throws Exception {
+        return invoke();
+    }
+
+    default Object invoke1(Object a0) throws Exception {
+        return invoke(a0);
+    }
+
+    default Object invoke2(Object a0, Object a1) throws Exception {
+        return invoke(a0, a1);
+    }
+
+    default Object invoke3(Object a0, Object a1, Object a2) throws Exception {
+        return invoke(a0, a1, a2);
+    }
 }
@@ -2,6 +2,7 @@ package com.novalang.runtime.stdlib;
 
 import com.novalang.runtime.NovaDynamic;
 import com.novalang.runtime.NovaResult;
+import com.novalang.runtime.NovaSequence;
 import com.novalang.runtime.stdlib.internal.CollectionLambdaOps;
 
 import java.util.ArrayList;
@@ -16,7 +17,8 @@ import java.util.Map;
  * Lambda 实现 Function1/Function2 接口时直接调用，否则回退反射。
  * </p>
  * <p>
- * 同时支持 Map 类型：当目标对象是 Map 时委托给 MapExtensions。
+ * 同时支持 Map 类型：当目标对象是 Map 时委托给 MapExtensions；
+ * 惰性序列委托给 SequenceExtensions（追加阶段而非立即求值）。
  * </p>
  */
 public final class CollectionOps {
@@ -34,6 +36,9 @@ public final class CollectionOps {
     }
 
     public static Object filter(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.filter(listObj, lambda);
+        }
         if (listObj instanceof Map) {
             return MapExtensions.filter(listObj, lambda);
         }
@@ -41,6 +46,9 @@ public final class CollectionOps {
     }
 
     public static Object map(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.map(listObj, lambda);
+        }
         if (listObj instanceof Map) {
             return MapExtensions.map(listObj, lambda);
         }
@@ -53,6 +61,9 @@ public final class CollectionOps {
     }
 
     public static Object forEach(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.forEach(listObj, lambda);
+        }
         if (listObj instanceof Map) {
             return MapExtensions.forEach(listObj, lambda);
         }
@@ -60,6 +71,9 @@ public final class CollectionOps {
     }
 
     public static Object find(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.find(listObj, lambda);
+        }
         if (!(listObj instanceof List) && !(listObj instanceof Collection)) {
             return NovaDynamic.invoke1(listObj, "find", lambda);
         }
@@ -67,10 +81,16 @@ public final class CollectionOps {
     }
 
     public static Object mapNotNull(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.mapNotNull(listObj, lambda);
+        }
         return CollectionLambdaOps.mapNotNullToList(asIterable(listObj), lambda);
     }
 
     public static Object reduce(Object listObj, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.reduce(listObj, lambda);
+        }
         java.util.Iterator<?> it = asIterable(listObj).iterator();
         if (!it.hasNext()) throw new IllegalArgumentException("Cannot reduce an empty list");
         Object acc = it.next();
@@ -81,6 +101,9 @@ public final class CollectionOps {
     }
 
     public static Object reduce(Object listObj, Object initial, Object lambda) {
+        if (listObj instanceof NovaSequence) {
+            return SequenceExtensions.fold(listObj, initial, lambda);
+        }
         Object acc = initial;
         for (Object item : asIterable(listObj)) {
             acc = invokeLambda2(lambda, acc, item);
@@ -36,6 +36,11 @@ public final class LambdaUtils {
         }
     }
 
+    /** 当前线程的 setAccessible 策略（供 worker 线程继承） */
+    static boolean isAllowSetAccessible() {
+        return TL_ALLOW_SET_ACCESSIBLE.get();
+    }
+
     /** 安全的 setAccessible：策略不允许时静默跳过 */
     public static void trySetAccessible(java.lang.reflect.AccessibleObject ao) {
         if (TL_ALLOW_SET_ACCESSIBLE.get()) {
@@ -177,6 +182,17 @@ public final class LambdaUtils {
                 throw NovaErrors.wrap("lambda 调用失败", t);
             }
         }
+        // 未使用隐式 it 的 lambda 编译为无参 invoke()：忽略参数
+        mh = getInvokeHandle(lambda, 0);
+        if (mh != null) {
+            try {
+                return mh.invoke(lambda);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw NovaErrors.wrap("lambda 调用失败", t);
+            }
+        }
         // 兼容：找任意 invoke
         mh = findAnyInvokeHandle(lambda);
         if (mh != null) {
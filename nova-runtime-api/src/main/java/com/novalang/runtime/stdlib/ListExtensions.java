@@ -5,6 +5,7 @@ import com.novalang.runtime.Function2;
 import com.novalang.runtime.NovaDynamic;
 import com.novalang.runtime.NovaException;
 import com.novalang.runtime.NovaException.ErrorKind;
+import com.novalang.runtime.NovaList;
 import com.novalang.runtime.NovaPair;
 import com.novalang.runtime.NovaRange;
 import com.novalang.runtime.stdlib.internal.CollectionLambdaOps;
@@ -117,6 +118,8 @@ public final class ListExtensions {
 
     @SuppressWarnings("unchecked")
     public static Object sorted(Object list) {
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitive.sorted();
         List<Object> copy = new ArrayList<>((List<?>) list);
         copy.sort((a, b) -> ((Comparable<Object>) a).compareTo(b));
         return copy;
@@ -124,6 +127,8 @@ public final class ListExtensions {
 
     @SuppressWarnings("unchecked")
     public static Object sortedDescending(Object list) {
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitive.sorted().reversed();
         List<Object> copy = new ArrayList<>((List<?>) list);
         copy.sort((a, b) -> ((Comparable<Object>) b).compareTo(a));
         return copy;
@@ -159,6 +164,8 @@ public final class ListExtensions {
     }
 
     public static Object sum(Object list) {
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitiveSum(primitive);
         double sum = 0;
         boolean allInt = true;
         for (Object item : (List<?>) list) {
@@ -173,6 +180,8 @@ public final class ListExtensions {
     public static Object average(Object list) {
         List<?> l = (List<?>) list;
         if (l.isEmpty()) return 0.0;
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return ((Number) primitiveSum(primitive)).doubleValue() / l.size();
         double sum = 0;
         for (Object item : l) {
             if (item instanceof Number) sum += ((Number) item).doubleValue();
@@ -184,6 +193,8 @@ public final class ListExtensions {
     public static Object max(Object list) {
         List<?> l = (List<?>) list;
         if (l.isEmpty()) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "列表为空，无法获取 max", "使用 maxOrNull() 安全获取");
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitiveExtreme(primitive, true);
         return Collections.max((List<? extends Comparable<Object>>) l);
     }
 
@@ -191,6 +202,8 @@ public final class ListExtensions {
     public static Object min(Object list) {
         List<?> l = (List<?>) list;
         if (l.isEmpty()) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "列表为空，无法获取 min", "使用 minOrNull() 安全获取");
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitiveExtreme(primitive, false);
         return Collections.min((List<? extends Comparable<Object>>) l);
     }
 
@@ -198,6 +211,8 @@ public final class ListExtensions {
     public static Object maxOrNull(Object list) {
         List<?> l = (List<?>) list;
         if (l.isEmpty()) return null;
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitiveExtreme(primitive, true);
         return Collections.max((List<? extends Comparable<Object>>) l);
     }
 
@@ -205,6 +220,8 @@ public final class ListExtensions {
     public static Object minOrNull(Object list) {
         List<?> l = (List<?>) list;
         if (l.isEmpty()) return null;
+        NovaList primitive = primitiveList(list);
+        if (primitive != null) return primitiveExtreme(primitive, false);
         return Collections.min((List<? extends Comparable<Object>>) l);
     }
 
@@ -224,6 +241,10 @@ public final class ListExtensions {
         return new ArrayList<>((List<?>) list);
     }
 
+    public static Object asSequence(Object list) {
+        return Sequences.from(list);
+    }
+
     // ========== 单参数方法 ==========
 
     @SuppressWarnings("unchecked")
@@ -336,6 +357,7 @@ public final class ListExtensions {
                 invoke2(action, i, l.get(i));
             } catch (com.novalang.runtime.LoopSignal sig) {
                 if (sig == com.novalang.runtime.LoopSignal.BREAK) break;
+                if (sig == com.novalang.runtime.LoopSignal.STOP) throw sig;
             }
         }
         return null;
@@ -635,6 +657,70 @@ public final class ListExtensions {
 
     // ========== 辅助 ==========
 
+    /** 解释器传入的列表视图背后是原始存储（Int/Long/Double 数组）时返回原列表，否则返回 null */
+    private static NovaList primitiveList(Object list) {
+        if (!(list instanceof NovaList.View)) return null;
+        NovaList nova = ((NovaList.View) list).novaList();
+        return nova.getRawArray() != null ? nova : null;
+    }
+
+    /** 与通用路径一致：Int/Long 列表返回 Int（按 double 累加后截断），Double 列表返回 Double */
+    private static Object primitiveSum(NovaList list) {
+        int n = list.size();
+        switch (list.getStorageType()) {
+            case INT: {
+                int[] a = (int[]) list.getRawArray();
+                long sum = 0;
+                for (int i = 0; i < n; i++) sum += a[i];
+                return (int) (double) sum;
+            }
+            case LONG: {
+                long[] a = (long[]) list.getRawArray();
+                double sum = 0;
+                for (int i = 0; i < n; i++) sum += a[i];
+                return (int) sum;
+            }
+            default: {
+                double[] a = (double[]) list.getRawArray();
+                double sum = 0;
+                for (int i = 0; i < n; i++) sum += a[i];
+                return sum;
+            }
+        }
+    }
+
+    /** 非空原始存储列表的最大值（max=true）或最小值，比较规则与装箱后的 compareTo 相同 */
+    private static Object primitiveExtreme(NovaList list, boolean max) {
+        int n = list.size();
+        switch (list.getStorageType()) {
+            case INT: {
+                int[] a = (int[]) list.getRawArray();
+                int best = a[0];
+                for (int i = 1; i < n; i++) {
+                    if (max ? a[i] > best : a[i] < best) best = a[i];
+                }
+                return best;
+            }
+            case LONG: {
+                long[] a = (long[]) list.getRawArray();
+                long best = a[0];
+                for (int i = 1; i < n; i++) {
+                    if (max ? a[i] > best : a[i] < best) best = a[i];
+                }
+                return best;
+            }
+            default: {
+                double[] a = (double[]) list.getRawArray();
+                double best = a[0];
+                for (int i = 1; i < n; i++) {
+                    int c = Double.compare(a[i], best);
+                    if (max ? c > 0 : c < 0) best = a[i];
+                }
+                return best;
+            }
+        }
+    }
+
     /**
      * 调用单参数 lambda：优先使用 Function1.invoke()（编译器生成的 lambda），
      * 回退到 Function.apply()（解释器包装的 lambda）。
@@ -723,6 +809,36 @@ public final class ListExtensions {
         return -1;
     }
 
+    // ========== 并行操作（按下标分块，结果保持原顺序） ==========
+
+    public static Object parallelMap(Object list, Object transform) {
+        return ParallelOps.map(list, transform);
+    }
+
+    public static Object parallelFilter(Object list, Object predicate) {
+        return ParallelOps.filter(list, predicate);
+    }
+
+    public static Object parallelForEach(Object list, Object action) {
+        return ParallelOps.forEach(list, action);
+    }
+
+    public static Object parallelReduce(Object list, Object operation) {
+        return ParallelOps.reduce(list, operation);
+    }
+
+    public static Object parallelFold(Object list, Object initial, Object operation) {
+        return ParallelOps.fold(list, initial, operation);
+    }
+
+    public static Object parallelFold(Object list, Object initial, Object operation, Object combine) {
+        return ParallelOps.fold(list, initial, operation, combine);
+    }
+
+    public static Object parallelGroupBy(Object list, Object keySelector) {
+        return ParallelOps.groupBy(list, keySelector);
+    }
+
     // ========== 辅助 ==========
 
     /**
@@ -0,0 +1,358 @@
+package com.novalang.runtime.stdlib;
+
+import com.novalang.runtime.AsyncTaskLimit;
+import com.novalang.runtime.ExecutionBudget;
+import com.novalang.runtime.ExecutionContext;
+import com.novalang.runtime.LoopSignal;
+import com.novalang.runtime.NovaErrors;
+import com.novalang.runtime.NovaException;
+import com.novalang.runtime.NovaException.ErrorKind;
+import com.novalang.runtime.NovaRange;
+import com.novalang.runtime.NovaRuntime;
+import com.novalang.runtime.NovaScheduler;
+import com.novalang.runtime.NovaScriptContext;
+import com.novalang.runtime.NovaSequence;
+import com.novalang.runtime.SchedulerHolder;
+import com.novalang.runtime.ThreadConfined;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 并行集合操作：parallelMap / parallelFilter / parallelForEach / parallelReduce / parallelFold / parallelGroupBy。
+ *
+ * <p>元素按下标切成若干连续分块，调用线程处理第一块，其余分块提交到宿主异步执行器
+ * （{@link NovaScheduler#asyncExecutor()}，未配置时为 {@link ForkJoinPool#commonPool()}）。
+ * worker 线程继承调用方的 {@link NovaScriptContext} 与 setAccessible 策略；
+ * 解释器 lambda（{@link ThreadConfined}）在每个分块上绑定独立的子解释器。</p>
+ *
+ * <p>所有分块（包括调用线程执行的第一块）共用调用方执行预算的剩余额度（{@link ExecutionBudget#openParallel()}），
+ * 循环、调用、分配上限按全部分块合计；提交到执行器的分块占用异步任务名额（{@link AsyncTaskLimit}），
+ * 名额不足时减少分块数，没有名额时在调用线程串行执行。</p>
+ *
+ * <p>分块结果按下标顺序合并，因此 map / filter / groupBy 的输出顺序与输入一致；
+ * forEach 的执行顺序不作保证；reduce / fold 按分块归约后再顺序合并，要求操作满足结合律。</p>
+ */
+public final class ParallelOps {
+
+    private ParallelOps() {}
+
+    /** 每个核心的分块数：略多于核数以均衡各块耗时差异 */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /** 对一个分块 [from, to) 执行操作，fn 为绑定到当前 worker 的 lambda */
+    private interface ChunkTask<R> {
+        R run(List<?> items, int from, int to, Object fn, AtomicBoolean cancelled);
+    }
+
+    // ============ 操作 ============
+
+    public static List<Object> map(Object source, Object transform) {
+        List<?> items = items(source);
+        List<Object[]> chunks = runChunks("parallelMap", items, transform, (list, from, to, fn, cancelled) -> {
+            Object[] out = new Object[to - from];
+            for (int i = from; i < to; i++) {
+                out[i - from] = Sequences.call1(fn, element(list.get(i)));
+            }
+            return out;
+        });
+        List<Object> result = new ArrayList<>(items.size());
+        for (Object[] chunk : chunks) {
+            result.addAll(Arrays.asList(chunk));
+        }
+        return result;
+    }
+
+    public static List<Object> filter(Object source, Object predicate) {
+        List<?> items = items(source);
+        List<List<Object>> chunks = runChunks("parallelFilter", items, predicate, (list, from, to, fn, cancelled) -> {
+            List<Object> out = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Object item = element(list.get(i));
+                if (Sequences.isTruthy(Sequences.call1(fn, item))) out.add(item);
+            }
+            return out;
+        });
+        List<Object> result = new ArrayList<>();
+        for (List<Object> chunk : chunks) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    /** break 让所有分块尽快停止，continue 跳过当前元素 */
+    public static Object forEach(Object source, Object action) {
+        runChunks("parallelForEach", items(source), action, (list, from, to, fn, cancelled) -> {
+            for (int i = from; i < to && !cancelled.get(); i++) {
+                try {
+                    Sequences.call1(fn, element(list.get(i)));
+                } catch (LoopSignal sig) {
+                    if (sig == LoopSignal.BREAK) {
+                        cancelled.set(true);
+                    } else if (sig != LoopSignal.CONTINUE) {
+                        throw sig;
+                    }
+                }
+            }
+            return null;
+        });
+        return null;
+    }
+
+    /** 各分块以首元素为初值归约，再按顺序合并分块结果 */
+    public static Object reduce(Object source, Object operation) {
+        List<?> items = items(source);
+        if (items.isEmpty()) {
+            throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "集合为空，无法执行 parallelReduce",
+                    "使用 parallelFold() 并提供初始值");
+        }
+        List<Object> partials = runChunks("parallelReduce", items, operation, (list, from, to, fn, cancelled) -> {
+            Object acc = element(list.get(from));
+            for (int i = from + 1; i < to; i++) {
+                acc = Sequences.call2(fn, acc, element(list.get(i)));
+            }
+            return acc;
+        });
+        return combine(partials, operation);
+    }
+
+    /**
+     * 各分块从 initial 开始折叠，分块结果再用 operation 合并：
+     * initial 必须是 operation 的单位元（如求和时的 0），且 operation 满足结合律。
+     */
+    public static Object fold(Object source, Object initial, Object operation) {
+        return fold(source, initial, operation, operation);
+    }
+
+    /** 折叠类型与元素类型不同时，用 combine 合并各分块的累加值 */
+    public static Object fold(Object source, Object initial, Object operation, Object combine) {
+        List<?> items = items(source);
+        if (items.isEmpty()) return initial;
+        List<Object> partials = runChunks("parallelFold", items, operation, (list, from, to, fn, cancelled) -> {
+            Object acc = initial;
+            for (int i = from; i < to; i++) {
+                acc = Sequences.call2(fn, acc, element(list.get(i)));
+            }
+            return acc;
+        });
+        return combine(partials, combine);
+    }
+
+    /** 键并行计算，分组在调用线程按原顺序完成：键按首次出现排序，组内保持输入顺序 */
+    public static Map<Object, List<Object>> groupBy(Object source, Object keySelector) {
+        List<?> items = items(source);
+        List<Object> keys = map(items, keySelector);
+        Map<Object, List<Object>> result = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            result.computeIfAbsent(keys.get(i), k -> new ArrayList<>()).add(element(items.get(i)));
+        }
+        return result;
+    }
+
+    // ============ 分块调度 ============
+
+    private static Object combine(List<Object> partials, Object operation) {
+        Object acc = partials.get(0);
+        for (int i = 1; i < partials.size(); i++) {
+            acc = Sequences.call2(operation, acc, partials.get(i));
+        }
+        return acc;
+    }
+
+    /**
+     * 切分并执行全部分块，按分块顺序返回各块结果。
+     * 任一分块失败时其余分块不再开始，等待已开始的分块结束后抛出顺序最靠前的异常。
+     */
+    private static <R> List<R> runChunks(String op, List<?> items, Object fn, ChunkTask<R> task) {
+        int size = items.size();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Executor exec = asyncExecutor();
+        int chunks = chunkCount(size, exec);
+        WorkerState state = new WorkerState();
+        int workers = chunks > 1 ? AsyncTaskLimit.acquireUpTo(state.maxAsyncTasks(), chunks - 1) : 0;
+        chunks = workers + 1;
+        if (chunks <= 1) {
+            List<R> single = new ArrayList<>(1);
+            single.add(task.run(items, 0, size, fn, cancelled));
+            return single;
+        }
+
+        ExecutionBudget.ParallelRegion region = state.budget != null ? state.budget.openParallel() : null;
+        try {
+            List<CompletableFuture<R>> futures = new ArrayList<>(chunks - 1);
+            try {
+                for (int c = 1; c < chunks; c++) {
+                    int from = boundary(size, chunks, c);
+                    int to = boundary(size, chunks, c + 1);
+                    Worker worker = state.worker(region, fn);
+                    futures.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return worker.run(() -> cancelled.get() ? null
+                                    : task.run(items, from, to, worker.fn, cancelled));
+                        } finally {
+                            AsyncTaskLimit.release();
+                        }
+                    }, exec));
+                    workers--;
+                }
+            } finally {
+                // 提交失败时归还未使用的名额
+                for (; workers > 0; workers--) AsyncTaskLimit.release();
+            }
+
+            List<R> results = new ArrayList<>(chunks);
+            RuntimeException error = null;
+            try {
+                Worker first = state.worker(region, fn);
+                int end = boundary(size, chunks, 1);
+                results.add(first.run(() -> task.run(items, 0, end, first.fn, cancelled)));
+            } catch (RuntimeException e) {
+                cancelled.set(true);
+                error = e;
+            }
+            for (CompletableFuture<R> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    cancelled.set(true);
+                    if (error == null) error = unwrap(op, e.getCause() != null ? e.getCause() : e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled.set(true);
+                    throw new NovaException(ErrorKind.INTERNAL, op + " 被中断");
+                }
+            }
+            if (error != null) throw error;
+            return results;
+        } finally {
+            if (region != null) region.close();
+        }
+    }
+
+    private static RuntimeException unwrap(String op, Throwable cause) {
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return NovaErrors.wrap(op + " 任务执行失败", cause);
+    }
+
+    private static int chunkCount(int size, Executor exec) {
+        if (size < 2) return 1;
+        int workers = exec instanceof ForkJoinPool
+                ? ((ForkJoinPool) exec).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return Math.min(size, Math.max(2, workers) * CHUNKS_PER_WORKER);
+    }
+
+    /** 第 c 块的起始下标（均匀切分，前 size % chunks 块多一个元素） */
+    private static int boundary(int size, int chunks, int c) {
+        return (int) ((long) size * c / chunks);
+    }
+
+    /** 获取异步执行器：优先宿主异步调度器，回退 ForkJoinPool */
+    private static Executor asyncExecutor() {
+        NovaScheduler sched = SchedulerHolder.get();
+        if (sched != null) {
+            Executor async = sched.asyncExecutor();
+            if (async != null) return async;
+        }
+        return ForkJoinPool.commonPool();
+    }
+
+    /** 调用线程的线程局部状态快照，在 worker 线程上临时安装 */
+    private static final class WorkerState {
+        final NovaScriptContext scriptContext = NovaScriptContext.current();
+        final ExecutionContext parentContext = NovaRuntime.currentContext();
+        final ExecutionBudget budget = ExecutionBudget.current();
+        final boolean allowSetAccessible = LambdaUtils.isAllowSetAccessible();
+
+        int maxAsyncTasks() {
+            return budget != null && budget.getPolicy() != null ? budget.getPolicy().getMaxAsyncTasks() : 0;
+        }
+
+        /** 在调用线程为一个分块准备子上下文、预算与 lambda，worker 只使用自己的那一份 */
+        Worker worker(ExecutionBudget.ParallelRegion region, Object fn) {
+            ExecutionBudget workerBudget = region != null ? region.newWorker() : null;
+            ExecutionContext workerCtx = parentContext != null ? parentContext.createChild(workerBudget) : null;
+            Object workerFn = fn instanceof ThreadConfined ? ((ThreadConfined) fn).forWorker(workerCtx) : fn;
+            return new Worker(this, region, workerBudget, workerCtx, workerFn);
+        }
+    }
+
+    /** 单个分块的执行环境 */
+    private static final class Worker {
+        final WorkerState state;
+        final ExecutionBudget.ParallelRegion region;
+        final ExecutionBudget budget;
+        final ExecutionContext context;
+        final Object fn;
+
+        Worker(WorkerState state, ExecutionBudget.ParallelRegion region, ExecutionBudget budget,
+               ExecutionContext context, Object fn) {
+            this.state = state;
+            this.region = region;
+            this.budget = budget;
+            this.context = context;
+            this.fn = fn;
+        }
+
+        <R> R run(java.util.function.Supplier<R> body) {
+            // 执行器可能直接在调用线程运行任务，因此结束后恢复原值而不是清空
+            NovaScriptContext prevScript = NovaScriptContext.current();
+            ExecutionContext prevCtx = NovaRuntime.currentContext();
+            ExecutionBudget prevBudget = ExecutionBudget.current();
+            boolean prevAllow = LambdaUtils.isAllowSetAccessible();
+            NovaScriptContext.setCurrent(state.scriptContext);
+            NovaRuntime.setCurrentContext(context);
+            ExecutionBudget.bind(budget);
+            LambdaUtils.setAllowSetAccessible(state.allowSetAccessible);
+            try {
+                return body.get();
+            } finally {
+                if (region != null) region.release(budget);
+                NovaScriptContext.setCurrent(prevScript);
+                NovaRuntime.setCurrentContext(prevCtx);
+                ExecutionBudget.bind(prevBudget);
+                LambdaUtils.setAllowSetAccessible(prevAllow);
+            }
+        }
+    }
+
+    // ============ 元素源 ============
+
+    /** List 直接按下标访问；Range / Sequence / 其他 Iterable 先收集为 List */
+    private static List<?> items(Object source) {
+        if (source instanceof List) return (List<?>) source;
+        List<Object> out = new ArrayList<>();
+        if (source instanceof NovaRange) {
+            Iterator<Integer> it = ((NovaRange) source).intIterator();
+            while (it.hasNext()) out.add(it.next());
+            return out;
+        }
+        if (source instanceof NovaSequence) {
+            ((NovaSequence) source).drive(value -> {
+                out.add(value);
+                return true;
+            });
+            return out;
+        }
+        if (source instanceof Iterable) {
+            for (Object item : (Iterable<?>) source) out.add(item);
+            return out;
+        }
+        throw NovaErrors.typeMismatch(source == null ? "null" : source.getClass().getSimpleName(), "Iterable",
+                "并行操作需要 List、Range 或 Sequence");
+    }
+
+    private static Object element(Object value) {
+        return Sequences.element(value);
+    }
+}
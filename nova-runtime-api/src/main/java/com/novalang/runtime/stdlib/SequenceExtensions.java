@@ -0,0 +1,718 @@
+package com.novalang.runtime.stdlib;
+
+import com.novalang.runtime.LoopSignal;
+import com.novalang.runtime.NovaException;
+import com.novalang.runtime.NovaException.ErrorKind;
+import com.novalang.runtime.NovaPair;
+import com.novalang.runtime.NovaSequence;
+import com.novalang.runtime.NovaSequence.Sink;
+
+import java.util.*;
+
+import static com.novalang.runtime.stdlib.Sequences.call1;
+import static com.novalang.runtime.stdlib.Sequences.call2;
+import static com.novalang.runtime.stdlib.Sequences.isTruthy;
+
+/**
+ * Sequence 类型扩展方法。
+ * <p>
+ * 中间操作返回追加了新阶段的序列，不做任何计算；终端操作驱动整条阶段链单趟执行，
+ * first/find/any/take 等在结果确定后立即停止上游。
+ * </p>
+ */
+@Ext("com/novalang/runtime/NovaSequence")
+public final class SequenceExtensions {
+
+    private SequenceExtensions() {}
+
+    // ========== 中间操作 ==========
+
+    public static Object asSequence(Object seq) {
+        return seq;
+    }
+
+    public static Object map(Object seq, Object transform) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                return down.accept(call1(transform, value));
+            }
+        });
+    }
+
+    public static Object mapIndexed(Object seq, Object transform) {
+        return stage(seq, down -> new Chain(down) {
+            private int index;
+
+            @Override
+            public boolean accept(Object value) {
+                return down.accept(call2(transform, index++, value));
+            }
+        });
+    }
+
+    public static Object mapNotNull(Object seq, Object transform) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                Object mapped = call1(transform, value);
+                return mapped == null || down.accept(mapped);
+            }
+        });
+    }
+
+    public static Object filter(Object seq, Object predicate) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                return !isTruthy(call1(predicate, value)) || down.accept(value);
+            }
+        });
+    }
+
+    public static Object filterNot(Object seq, Object predicate) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                return isTruthy(call1(predicate, value)) || down.accept(value);
+            }
+        });
+    }
+
+    public static Object filterIndexed(Object seq, Object predicate) {
+        return stage(seq, down -> new Chain(down) {
+            private int index;
+
+            @Override
+            public boolean accept(Object value) {
+                return !isTruthy(call2(predicate, index++, value)) || down.accept(value);
+            }
+        });
+    }
+
+    public static Object filterNotNull(Object seq) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                return value == null || down.accept(value);
+            }
+        });
+    }
+
+    /** 展开 List/Set/Sequence 结果；其他类型的结果被忽略（与 List.flatMap 一致） */
+    public static Object flatMap(Object seq, Object transform) {
+        return stage(seq, down -> new Chain(down) {
+            private boolean stopped;
+
+            @Override
+            public boolean accept(Object value) {
+                Object mapped = call1(transform, value);
+                if (!(mapped instanceof Iterable || mapped instanceof NovaSequence || mapped instanceof Object[])) {
+                    return true;
+                }
+                Sequences.from(mapped).drive(inner -> {
+                    if (down.accept(inner)) return true;
+                    stopped = true;
+                    return false;
+                });
+                return !stopped;
+            }
+        });
+    }
+
+    public static Object take(Object seq, Object n) {
+        int count = ((Number) n).intValue();
+        if (count < 0) throw new NovaException(ErrorKind.ARGUMENT_MISMATCH, "take 的数量不能为负数: " + count);
+        return stage(seq, down -> new Chain(down) {
+            private int remaining = count;
+            private boolean ended;
+
+            @Override
+            public boolean accept(Object value) {
+                if (remaining <= 0) return finish();
+                remaining--;
+                if (!down.accept(value)) return false;
+                return remaining > 0 || finish();
+            }
+
+            @Override
+            public void end() {
+                if (!ended) down.end();
+            }
+
+            private boolean finish() {
+                ended = true;
+                down.end();
+                return false;
+            }
+        });
+    }
+
+    public static Object drop(Object seq, Object n) {
+        int count = ((Number) n).intValue();
+        if (count < 0) throw new NovaException(ErrorKind.ARGUMENT_MISMATCH, "drop 的数量不能为负数: " + count);
+        return stage(seq, down -> new Chain(down) {
+            private int remaining = count;
+
+            @Override
+            public boolean accept(Object value) {
+                if (remaining > 0) {
+                    remaining--;
+                    return true;
+                }
+                return down.accept(value);
+            }
+        });
+    }
+
+    public static Object takeWhile(Object seq, Object predicate) {
+        return stage(seq, down -> new Chain(down) {
+            private boolean ended;
+
+            @Override
+            public boolean accept(Object value) {
+                if (isTruthy(call1(predicate, value))) return down.accept(value);
+                ended = true;
+                down.end();
+                return false;
+            }
+
+            @Override
+            public void end() {
+                if (!ended) down.end();
+            }
+        });
+    }
+
+    public static Object dropWhile(Object seq, Object predicate) {
+        return stage(seq, down -> new Chain(down) {
+            private boolean dropping = true;
+
+            @Override
+            public boolean accept(Object value) {
+                if (dropping && isTruthy(call1(predicate, value))) return true;
+                dropping = false;
+                return down.accept(value);
+            }
+        });
+    }
+
+    public static Object distinct(Object seq) {
+        return stage(seq, down -> new Chain(down) {
+            private final Set<Object> seen = new HashSet<>();
+
+            @Override
+            public boolean accept(Object value) {
+                return !seen.add(value) || down.accept(value);
+            }
+        });
+    }
+
+    public static Object distinctBy(Object seq, Object selector) {
+        return stage(seq, down -> new Chain(down) {
+            private final Set<Object> seen = new HashSet<>();
+
+            @Override
+            public boolean accept(Object value) {
+                return !seen.add(call1(selector, value)) || down.accept(value);
+            }
+        });
+    }
+
+    public static Object onEach(Object seq, Object action) {
+        return stage(seq, down -> new Chain(down) {
+            @Override
+            public boolean accept(Object value) {
+                call1(action, value);
+                return down.accept(value);
+            }
+        });
+    }
+
+    public static Object withIndex(Object seq) {
+        return stage(seq, down -> new Chain(down) {
+            private int index;
+
+            @Override
+            public boolean accept(Object value) {
+                return down.accept(new NovaPair(index++, value));
+            }
+        });
+    }
+
+    public static Object chunked(Object seq, Object size) {
+        int chunkSize = ((Number) size).intValue();
+        if (chunkSize <= 0) throw new NovaException(ErrorKind.ARGUMENT_MISMATCH, "chunked 的分块大小必须为正数", "传入大于 0 的整数");
+        return stage(seq, down -> new Chain(down) {
+            private List<Object> chunk = new ArrayList<>(chunkSize);
+
+            @Override
+            public boolean accept(Object value) {
+                chunk.add(value);
+                if (chunk.size() < chunkSize) return true;
+                List<Object> full = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                return down.accept(full);
+            }
+
+            @Override
+            public void end() {
+                if (chunk.isEmpty() || down.accept(chunk)) down.end();
+            }
+        });
+    }
+
+    public static Object windowed(Object seq, Object size) {
+        return windowed(seq, size, (Object) 1);
+    }
+
+    public static Object windowed(Object seq, Object size, Object step) {
+        int windowSize = ((Number) size).intValue();
+        int stepVal = ((Number) step).intValue();
+        if (windowSize <= 0 || stepVal <= 0) throw new NovaException(ErrorKind.ARGUMENT_MISMATCH, "windowed 的窗口大小和步长必须为正数");
+        return stage(seq, down -> new Chain(down) {
+            private final ArrayDeque<Object> window = new ArrayDeque<>(windowSize);
+            private int skip;
+
+            @Override
+            public boolean accept(Object value) {
+                if (skip > 0) {
+                    skip--;
+                    return true;
+                }
+                window.add(value);
+                if (window.size() < windowSize) return true;
+                List<Object> snapshot = new ArrayList<>(window);
+                if (stepVal >= windowSize) {
+                    window.clear();
+                    skip = stepVal - windowSize;
+                } else {
+                    for (int i = 0; i < stepVal; i++) window.poll();
+                }
+                return down.accept(snapshot);
+            }
+        });
+    }
+
+    /** 排序需要全部元素：在 end 时一次性输出 */
+    public static Object sorted(Object seq) {
+        return sortedWith(seq, null);
+    }
+
+    public static Object sortedDescending(Object seq) {
+        return sortedWith(seq, Collections.reverseOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object sortedBy(Object seq, Object selector) {
+        return sortedWith(seq, (a, b) -> {
+            Comparable<Object> ka = (Comparable<Object>) call1(selector, a);
+            Comparable<Object> kb = (Comparable<Object>) call1(selector, b);
+            return ka.compareTo((Object) kb);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object sortedWith(Object seq, Comparator<Object> comparator) {
+        return stage(seq, down -> new Chain(down) {
+            private final List<Object> buffer = new ArrayList<>();
+
+            @Override
+            public boolean accept(Object value) {
+                buffer.add(value);
+                return true;
+            }
+
+            @Override
+            public void end() {
+                buffer.sort(comparator);
+                for (Object value : buffer) {
+                    if (!down.accept(value)) return;
+                }
+                down.end();
+            }
+        });
+    }
+
+    // ========== 终端操作：收集 ==========
+
+    public static Object toList(Object seq) {
+        List<Object> result = new ArrayList<>();
+        seq(seq).drive(value -> {
+            result.add(value);
+            return true;
+        });
+        return result;
+    }
+
+    public static Object toMutableList(Object seq) {
+        return toList(seq);
+    }
+
+    public static Object toSet(Object seq) {
+        Set<Object> result = new LinkedHashSet<>();
+        seq(seq).drive(value -> {
+            result.add(value);
+            return true;
+        });
+        return result;
+    }
+
+    public static Object groupBy(Object seq, Object keySelector) {
+        Map<Object, List<Object>> result = new LinkedHashMap<>();
+        seq(seq).drive(value -> {
+            result.computeIfAbsent(call1(keySelector, value), ignored -> new ArrayList<>()).add(value);
+            return true;
+        });
+        return result;
+    }
+
+    public static Object associateBy(Object seq, Object keySelector) {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        seq(seq).drive(value -> {
+            result.put(call1(keySelector, value), value);
+            return true;
+        });
+        return result;
+    }
+
+    public static Object joinToString(Object seq) {
+        return joinToString(seq, ", ");
+    }
+
+    public static Object joinToString(Object seq, Object separator) {
+        return joinToString(seq, separator, null, null);
+    }
+
+    public static Object joinToString(Object seq, Object separator, Object prefix) {
+        return joinToString(seq, separator, prefix, null);
+    }
+
+    public static Object joinToString(Object seq, Object separator, Object prefix, Object postfix) {
+        String sep = separator != null ? separator.toString() : ", ";
+        StringBuilder sb = new StringBuilder(prefix != null ? prefix.toString() : "");
+        int[] count = {0};
+        seq(seq).drive(value -> {
+            if (count[0]++ > 0) sb.append(sep);
+            sb.append(value);
+            return true;
+        });
+        if (postfix != null) sb.append(postfix);
+        return sb.toString();
+    }
+
+    // ========== 终端操作：短路 ==========
+
+    public static Object first(Object seq) {
+        Object[] found = findFirst(seq, null);
+        if (found == null) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列为空，无法获取 first", "使用 firstOrNull() 安全获取");
+        return found[0];
+    }
+
+    public static Object first(Object seq, Object predicate) {
+        Object[] found = findFirst(seq, predicate);
+        if (found == null) throw new NovaException(ErrorKind.UNDEFINED, "没有元素匹配谓词条件", "使用 firstOrNull { ... } 安全获取");
+        return found[0];
+    }
+
+    public static Object firstOrNull(Object seq) {
+        Object[] found = findFirst(seq, null);
+        return found != null ? found[0] : null;
+    }
+
+    public static Object firstOrNull(Object seq, Object predicate) {
+        Object[] found = findFirst(seq, predicate);
+        return found != null ? found[0] : null;
+    }
+
+    public static Object find(Object seq, Object predicate) {
+        return firstOrNull(seq, predicate);
+    }
+
+    public static Object last(Object seq) {
+        Object[] found = findLast(seq);
+        if (found == null) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列为空，无法获取 last", "使用 lastOrNull() 安全获取");
+        return found[0];
+    }
+
+    public static Object lastOrNull(Object seq) {
+        Object[] found = findLast(seq);
+        return found != null ? found[0] : null;
+    }
+
+    public static Object elementAt(Object seq, Object index) {
+        int target = ((Number) index).intValue();
+        int[] position = {0};
+        Object[] found = new Object[1];
+        boolean exhausted = target < 0 || seq(seq).drive(value -> {
+            if (position[0]++ < target) return true;
+            found[0] = value;
+            return false;
+        });
+        if (exhausted) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列索引越界: " + target);
+        return found[0];
+    }
+
+    public static Object indexOf(Object seq, Object element) {
+        int[] position = {0};
+        boolean exhausted = seq(seq).drive(value -> {
+            if (Objects.equals(value, element)) return false;
+            position[0]++;
+            return true;
+        });
+        return exhausted ? -1 : position[0];
+    }
+
+    public static Object contains(Object seq, Object element) {
+        return !seq(seq).drive(value -> !Objects.equals(value, element));
+    }
+
+    public static Object any(Object seq) {
+        return !seq(seq).drive(value -> false);
+    }
+
+    public static Object any(Object seq, Object predicate) {
+        return !seq(seq).drive(value -> !isTruthy(call1(predicate, value)));
+    }
+
+    public static Object none(Object seq) {
+        return seq(seq).drive(value -> false);
+    }
+
+    public static Object none(Object seq, Object predicate) {
+        return seq(seq).drive(value -> !isTruthy(call1(predicate, value)));
+    }
+
+    public static Object all(Object seq, Object predicate) {
+        return seq(seq).drive(value -> isTruthy(call1(predicate, value)));
+    }
+
+    // ========== 终端操作：聚合 ==========
+
+    public static Object count(Object seq) {
+        int[] count = {0};
+        seq(seq).drive(value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    public static Object count(Object seq, Object predicate) {
+        int[] count = {0};
+        seq(seq).drive(value -> {
+            if (isTruthy(call1(predicate, value))) count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    public static Object sum(Object seq) {
+        double[] sum = {0};
+        boolean[] allInt = {true};
+        seq(seq).drive(value -> {
+            if (value instanceof Number) {
+                if (value instanceof Double || value instanceof Float) allInt[0] = false;
+                sum[0] += ((Number) value).doubleValue();
+            }
+            return true;
+        });
+        return allInt[0] ? (Object) (int) sum[0] : sum[0];
+    }
+
+    public static Object sumBy(Object seq, Object selector) {
+        long[] sum = {0};
+        seq(seq).drive(value -> {
+            sum[0] += ((Number) call1(selector, value)).longValue();
+            return true;
+        });
+        return sum[0];
+    }
+
+    public static Object sumOf(Object seq, Object selector) {
+        double[] sum = {0};
+        boolean[] allInt = {true};
+        seq(seq).drive(value -> {
+            Object n = call1(selector, value);
+            if (n instanceof Double || n instanceof Float) allInt[0] = false;
+            sum[0] += ((Number) n).doubleValue();
+            return true;
+        });
+        return allInt[0] ? (Object) (int) sum[0] : sum[0];
+    }
+
+    public static Object average(Object seq) {
+        double[] sum = {0};
+        int[] count = {0};
+        seq(seq).drive(value -> {
+            if (value instanceof Number) sum[0] += ((Number) value).doubleValue();
+            count[0]++;
+            return true;
+        });
+        return count[0] == 0 ? 0.0 : sum[0] / count[0];
+    }
+
+    public static Object max(Object seq) {
+        Object[] found = extreme(seq, 1);
+        if (found == null) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列为空，无法获取 max", "使用 maxOrNull() 安全获取");
+        return found[0];
+    }
+
+    public static Object min(Object seq) {
+        Object[] found = extreme(seq, -1);
+        if (found == null) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列为空，无法获取 min", "使用 minOrNull() 安全获取");
+        return found[0];
+    }
+
+    public static Object maxOrNull(Object seq) {
+        Object[] found = extreme(seq, 1);
+        return found != null ? found[0] : null;
+    }
+
+    public static Object minOrNull(Object seq) {
+        Object[] found = extreme(seq, -1);
+        return found != null ? found[0] : null;
+    }
+
+    public static Object fold(Object seq, Object initial, Object operation) {
+        Object[] acc = {initial};
+        seq(seq).drive(value -> {
+            acc[0] = call2(operation, acc[0], value);
+            return true;
+        });
+        return acc[0];
+    }
+
+    public static Object reduce(Object seq, Object operation) {
+        Object[] acc = new Object[1];
+        boolean[] empty = {true};
+        seq(seq).drive(value -> {
+            if (empty[0]) {
+                acc[0] = value;
+                empty[0] = false;
+            } else {
+                acc[0] = call2(operation, acc[0], value);
+            }
+            return true;
+        });
+        if (empty[0]) throw new NovaException(ErrorKind.INDEX_OUT_OF_BOUNDS, "序列为空，无法执行 reduce", "使用 fold() 并提供初始值");
+        return acc[0];
+    }
+
+    public static Object forEach(Object seq, Object action) {
+        seq(seq).drive(value -> {
+            try {
+                call1(action, value);
+            } catch (LoopSignal sig) {
+                if (sig == LoopSignal.BREAK) return false;
+                if (sig == LoopSignal.STOP) throw sig;
+            }
+            return true;
+        });
+        return null;
+    }
+
+    public static Object forEachIndexed(Object seq, Object action) {
+        int[] index = {0};
+        seq(seq).drive(value -> {
+            try {
+                call2(action, index[0]++, value);
+            } catch (LoopSignal sig) {
+                if (sig == LoopSignal.BREAK) return false;
+                if (sig == LoopSignal.STOP) throw sig;
+            }
+            return true;
+        });
+        return null;
+    }
+
+    // ========== 并行操作（先按顺序收集元素，再分块并行） ==========
+
+    public static Object parallelMap(Object seq, Object transform) {
+        return ParallelOps.map(seq, transform);
+    }
+
+    public static Object parallelFilter(Object seq, Object predicate) {
+        return ParallelOps.filter(seq, predicate);
+    }
+
+    public static Object parallelForEach(Object seq, Object action) {
+        return ParallelOps.forEach(seq, action);
+    }
+
+    public static Object parallelReduce(Object seq, Object operation) {
+        return ParallelOps.reduce(seq, operation);
+    }
+
+    public static Object parallelFold(Object seq, Object initial, Object operation) {
+        return ParallelOps.fold(seq, initial, operation);
+    }
+
+    public static Object parallelFold(Object seq, Object initial, Object operation, Object combine) {
+        return ParallelOps.fold(seq, initial, operation, combine);
+    }
+
+    public static Object parallelGroupBy(Object seq, Object keySelector) {
+        return ParallelOps.groupBy(seq, keySelector);
+    }
+
+    // ========== 辅助 ==========
+
+    /** 转发 end 的中间阶段接收器基类 */
+    private abstract static class Chain implements Sink {
+        final Sink down;
+
+        Chain(Sink down) {
+            this.down = down;
+        }
+
+        @Override
+        public void end() {
+            down.end();
+        }
+    }
+
+    private static NovaSequence seq(Object seq) {
+        return (NovaSequence) seq;
+    }
+
+    private static Object stage(Object seq, NovaSequence.Stage stage) {
+        return seq(seq).then(stage);
+    }
+
+    /** 第一个（满足谓词的）元素，装在数组里以区分 null 元素与未找到 */
+    private static Object[] findFirst(Object seq, Object predicate) {
+        Object[] found = new Object[1];
+        boolean exhausted = seq(seq).drive(value -> {
+            if (predicate != null && !isTruthy(call1(predicate, value))) return true;
+            found[0] = value;
+            return false;
+        });
+        return exhausted ? null : found;
+    }
+
+    private static Object[] findLast(Object seq) {
+        Object[] found = new Object[1];
+        boolean[] any = {false};
+        seq(seq).drive(value -> {
+            found[0] = value;
+            any[0] = true;
+            return true;
+        });
+        return any[0] ? found : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object[] extreme(Object seq, int sign) {
+        Object[] found = new Object[1];
+        boolean[] any = {false};
+        seq(seq).drive(value -> {
+            if (!any[0] || ((Comparable<Object>) value).compareTo(found[0]) * sign > 0) {
+                found[0] = value;
+                any[0] = true;
+            }
+            return true;
+        });
+        return any[0] ? found : null;
+    }
+}
@@ -0,0 +1,308 @@
+package com.novalang.runtime.stdlib;
+
+import com.novalang.runtime.AbstractNovaValue;
+import com.novalang.runtime.Function0;
+import com.novalang.runtime.Function1;
+import com.novalang.runtime.Function2;
+import com.novalang.runtime.LoopSignal;
+import com.novalang.runtime.NovaCallable;
+import com.novalang.runtime.NovaChar;
+import com.novalang.runtime.NovaErrors;
+import com.novalang.runtime.NovaException;
+import com.novalang.runtime.NovaException.ErrorKind;
+import com.novalang.runtime.NovaRange;
+import com.novalang.runtime.NovaRuntime;
+import com.novalang.runtime.NovaSequence;
+import com.novalang.runtime.NovaValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * 惰性序列的构造函数与元素源：asSequence / sequenceOf / generateSequence / sequence { yield(...) }。
+ *
+ * <p>{@code sequence { }} 的代码块在终端操作执行时才运行：{@code yield(x)} 把元素直接推给下游接收器，
+ * 下游已满足时抛出 {@link LoopSignal#STOP} 终止代码块，因此无限生产者配合 take/first 也能结束。
+ * for-in 等拉取式遍历会先把代码块的全部输出缓冲下来，无限生产者只能用于终端操作。</p>
+ */
+public final class Sequences {
+
+    private Sequences() {}
+
+    private static final String OWNER = "com/novalang/runtime/stdlib/Sequences";
+    private static final String O_O = "(Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String OO_O = "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String VARARG_DESC = "([Ljava/lang/Object;)Ljava/lang/Object;";
+
+    /** 当前线程正在运行的 sequence { } 代码块（嵌套时形成链） */
+    private static final ThreadLocal<BuilderScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    static void register() {
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "sequenceOf", -1, OWNER, "sequenceOf", VARARG_DESC, Sequences::sequenceOf));
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "emptySequence", 0, OWNER, "emptySequence", "()Ljava/lang/Object;", args -> emptySequence()));
+        // rawNovaArgs：解释器中 NovaObject 等元素保持原对象
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "generateSequence", 2, OWNER, "generateSequence", OO_O,
+            args -> generateSequence(args[0], args[1]), false, true));
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "sequence", 1, OWNER, "sequence", O_O, args -> sequence(args[0]), false, true));
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "yield", 1, OWNER, "yieldValue", O_O, args -> yieldValue(args[0]), false, true));
+        StdlibRegistry.register(new StdlibRegistry.NativeFunctionInfo(
+            "yieldAll", 1, OWNER, "yieldAll", O_O, args -> yieldAll(args[0]), false, true));
+    }
+
+    // ============ 构造（编译器 INVOKESTATIC 直接调用） ============
+
+    public static Object sequenceOf(Object... args) {
+        return of(Arrays.asList(args.clone()));
+    }
+
+    public static Object emptySequence() {
+        return of(Collections.emptyList());
+    }
+
+    /** seed 起，每次对上一个元素调用 next，结果为 null 时结束 */
+    public static Object generateSequence(Object seed, Object next) {
+        Object first = element(seed);
+        return new NovaSequence(new NovaSequence.Source() {
+            @Override
+            public boolean push(NovaSequence.Sink sink) {
+                for (Object value = first; value != null; value = call1(next, value)) {
+                    if (!sink.accept(value)) return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Iterator<Object> iterator() {
+                return new Iterator<Object>() {
+                    private Object value = first;
+                    private boolean computed = true;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!computed) {
+                            value = call1(next, value);
+                            computed = true;
+                        }
+                        return value != null;
+                    }
+
+                    @Override
+                    public Object next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        computed = false;
+                        return value;
+                    }
+                };
+            }
+        });
+    }
+
+    /** sequence { yield(1); yieldAll(list) }：代码块在每次终端操作时运行 */
+    public static Object sequence(Object block) {
+        return new NovaSequence(sink -> {
+            BuilderScope scope = new BuilderScope(sink, CURRENT_SCOPE.get());
+            CURRENT_SCOPE.set(scope);
+            try {
+                call0(block);
+                return true;
+            } catch (LoopSignal sig) {
+                if (sig == LoopSignal.STOP && scope.stopped) return false;
+                throw sig;
+            } finally {
+                CURRENT_SCOPE.set(scope.outer);
+            }
+        });
+    }
+
+    /** Nova 函数 yield；Java 侧避开受限标识符 yield */
+    public static Object yieldValue(Object value) {
+        currentScope("yield").emit(element(value));
+        return null;
+    }
+
+    public static Object yieldAll(Object values) {
+        BuilderScope scope = currentScope("yieldAll");
+        if (!from(values).drive(scope::emit)) {
+            // emit 已标记 stopped，但 drive 吞掉了信号；此处重新抛出以终止代码块
+            throw LoopSignal.STOP;
+        }
+        return null;
+    }
+
+    private static BuilderScope currentScope(String name) {
+        BuilderScope scope = CURRENT_SCOPE.get();
+        if (scope == null) {
+            throw new NovaException(ErrorKind.UNDEFINED, name + " 只能在 sequence { } 代码块中调用",
+                    "使用 sequence { " + name + "(...) } 构建惰性序列");
+        }
+        return scope;
+    }
+
+    /** 一次 sequence { } 运行的上下文 */
+    private static final class BuilderScope {
+        final NovaSequence.Sink sink;
+        final BuilderScope outer;
+        boolean stopped;
+
+        BuilderScope(NovaSequence.Sink sink, BuilderScope outer) {
+            this.sink = sink;
+            this.outer = outer;
+        }
+
+        /** 推给下游；下游代码（lambda）运行期间 yield 归属外层代码块 */
+        boolean emit(Object value) {
+            CURRENT_SCOPE.set(outer);
+            boolean more;
+            try {
+                more = sink.accept(value);
+            } finally {
+                CURRENT_SCOPE.set(this);
+            }
+            if (!more) {
+                stopped = true;
+                throw LoopSignal.STOP;
+            }
+            return true;
+        }
+    }
+
+    // ============ 元素源 ============
+
+    /** 把集合类对象包装为序列（List/Set/Range/Map/数组/序列本身） */
+    public static NovaSequence from(Object source) {
+        if (source instanceof NovaSequence) return (NovaSequence) source;
+        if (source instanceof NovaRange) return ofRange((NovaRange) source);
+        if (source instanceof Map) return of(((Map<?, ?>) source).entrySet());
+        if (source instanceof Object[]) return of(Arrays.asList((Object[]) source));
+        if (source instanceof Iterable) return of((Iterable<?>) source);
+        throw NovaErrors.typeMismatch(source == null ? "null" : source.getClass().getSimpleName(), "Iterable",
+                "asSequence 需要 List、Set、Map、Range 或数组");
+    }
+
+    static NovaSequence of(Iterable<?> items) {
+        if (items instanceof List && items instanceof RandomAccess) {
+            List<?> list = (List<?>) items;
+            return new NovaSequence(new NovaSequence.Source() {
+                @Override
+                public boolean push(NovaSequence.Sink sink) {
+                    for (int i = 0; i < list.size(); i++) {
+                        if (!sink.accept(element(list.get(i)))) return false;
+                    }
+                    return true;
+                }
+
+                @Override
+                public Iterator<Object> iterator() {
+                    return elementIterator(list.iterator());
+                }
+            });
+        }
+        return new NovaSequence(new NovaSequence.Source() {
+            @Override
+            public boolean push(NovaSequence.Sink sink) {
+                for (Object item : items) {
+                    if (!sink.accept(element(item))) return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Iterator<Object> iterator() {
+                return elementIterator(items.iterator());
+            }
+        });
+    }
+
+    private static NovaSequence ofRange(NovaRange range) {
+        return new NovaSequence(new NovaSequence.Source() {
+            @Override
+            public boolean push(NovaSequence.Sink sink) {
+                Iterator<Integer> it = range.intIterator();
+                while (it.hasNext()) {
+                    if (!sink.accept(it.next())) return false;
+                }
+                return true;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Iterator<Object> iterator() {
+                return (Iterator<Object>) (Iterator<?>) range.intIterator();
+            }
+        });
+    }
+
+    private static Iterator<Object> elementIterator(Iterator<?> it) {
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return element(it.next());
+            }
+        };
+    }
+
+    // ============ 元素与 lambda 辅助 ============
+
+    /**
+     * 规范化元素：解释器传入的标量 NovaValue（Int/String/Boolean …）转为 Java 值，
+     * NovaObject/NovaList 等保持原对象，避免 toJavaValue 的有损转换。
+     */
+    static Object element(Object value) {
+        if (value instanceof NovaValue) {
+            NovaValue nv = (NovaValue) value;
+            if (nv.isNull()) return null;
+            if (nv.isNumber() || nv.isString() || nv.isBoolean() || nv instanceof NovaChar) {
+                return nv.toJavaValue();
+            }
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object call0(Object fn) {
+        if (fn instanceof Function0) return ((Function0) fn).invoke();
+        if (fn instanceof NovaCallable) {
+            return element(((NovaCallable) fn).call(NovaRuntime.currentContext(), Collections.emptyList()));
+        }
+        return LambdaUtils.invoke0(fn);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object call1(Object fn, Object arg) {
+        if (fn instanceof Function1) return ((Function1) fn).invoke(arg);
+        if (fn instanceof NovaCallable) {
+            return element(((NovaCallable) fn).call(NovaRuntime.currentContext(),
+                    Collections.singletonList(AbstractNovaValue.fromJava(arg))));
+        }
+        return LambdaUtils.invoke1(fn, arg);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object call2(Object fn, Object arg1, Object arg2) {
+        if (fn instanceof Function2) return ((Function2) fn).invoke(arg1, arg2);
+        if (fn instanceof NovaCallable) {
+            return element(((NovaCallable) fn).call(NovaRuntime.currentContext(),
+                    Arrays.asList(AbstractNovaValue.fromJava(arg1), AbstractNovaValue.fromJava(arg2))));
+        }
+        return LambdaUtils.invoke2(fn, arg1, arg2);
+    }
+
+    static boolean isTruthy(Object value) {
+        return LambdaUtils.isTruthy(value);
+    }
+}
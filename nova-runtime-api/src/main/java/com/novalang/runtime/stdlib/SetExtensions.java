@@ -57,6 +57,10 @@ public final class SetExtensions {
         return new ArrayList<>((Set<?>) set);
     }
 
+    public static Object asSequence(Object set) {
+        return Sequences.from(set);
+    }
+
     // ========== Lambda 方法 ==========
 
     @SuppressWarnings("unchecked")
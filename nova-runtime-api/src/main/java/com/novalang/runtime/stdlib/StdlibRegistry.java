@@ -412,6 +412,7 @@ public final class StdlibRegistry {
         StdlibConversions.register();
         StdlibJavaInterop.register();
         StdlibCore.register();
+        Sequences.register();
         registerExtensionMethods(ListExtensions.class);
         registerExtensionMethods(MapExtensions.class);
         registerExtensionMethods(StringExtensions.class);
@@ -419,5 +420,6 @@ public final class StdlibRegistry {
         registerExtensionMethods(CharExtensions.class);
         registerExtensionMethods(NumberExtensions.class);
         registerExtensionMethods(BooleanExtensions.class);
+        registerExtensionMethods(SequenceExtensions.class);
     }
 }
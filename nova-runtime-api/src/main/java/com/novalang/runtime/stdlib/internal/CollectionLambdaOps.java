@@ -24,6 +24,7 @@ public final class CollectionLambdaOps {
                 invoke1(action, item);
             } catch (com.novalang.runtime.LoopSignal sig) {
                 if (sig == com.novalang.runtime.LoopSignal.BREAK) break;
+                if (sig == com.novalang.runtime.LoopSignal.STOP) throw sig;
             }
         }
         return null;
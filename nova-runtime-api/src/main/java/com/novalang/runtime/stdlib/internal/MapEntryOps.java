@@ -103,6 +103,7 @@ public final class MapEntryOps {
                     invoke2(action, entry.getKey(), entry.getValue());
                 } catch (com.novalang.runtime.LoopSignal sig) {
                     if (sig == com.novalang.runtime.LoopSignal.BREAK) break;
+                    if (sig == com.novalang.runtime.LoopSignal.STOP) throw sig;
                 }
             }
         } else {
@@ -111,6 +112,7 @@ public final class MapEntryOps {
                     invoke1(action, makeEntry(entry.getKey(), entry.getValue()));
                 } catch (com.novalang.runtime.LoopSignal sig) {
                     if (sig == com.novalang.runtime.LoopSignal.BREAK) break;
+                    if (sig == com.novalang.runtime.LoopSignal.STOP) throw sig;
                 }
             }
         }
@@ -64,13 +64,17 @@ public final class RangeOps {
         return (value - start) % step == 0;
     }
 
+    /** 直接填充 int[]，得到原始 Int 存储的列表 */
     public static NovaList toNovaList(NovaRange range) {
-        NovaList list = new NovaList();
-        Iterator<Integer> iterator = intIterator(range);
-        while (iterator.hasNext()) {
-            list.add(NovaInt.of(iterator.next().intValue()));
+        int n = Math.max(size(range), 0);
+        int[] values = new int[n];
+        int step = range.getStep();
+        int current = range.getStart();
+        for (int i = 0; i < n; i++) {
+            values[i] = current;
+            current += step;
         }
-        return list;
+        return NovaList.ofInts(values, n);
     }
 
     public static List<Integer> toIntList(NovaRange range) {
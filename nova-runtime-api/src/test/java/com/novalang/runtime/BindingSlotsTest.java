@@ -0,0 +1,174 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Slot-resolved script bindings")
+class BindingSlotsTest {
+
+    @AfterEach
+    void clearContext() {
+        NovaScriptContext.clear();
+    }
+
+    @Test
+    @DisplayName("map view shares storage with slot access and keeps null values distinct from unbound")
+    void mapViewMatchesSlots() {
+        BindingSlots slots = new BindingSlots();
+        slots.put("bindingSlotsTest.a", 1);
+        slots.put("bindingSlotsTest.nil", null);
+
+        int a = slots.layout().find("bindingSlotsTest.a");
+        int nil = slots.layout().find("bindingSlotsTest.nil");
+        assertThat(slots.getAt(a)).isEqualTo(1);
+        assertThat(slots.containsAt(nil)).isTrue();
+        assertThat(slots.containsKey("bindingSlotsTest.nil")).isTrue();
+        assertThat(slots.get("bindingSlotsTest.nil")).isNull();
+        assertThat(slots.containsKey("bindingSlotsTest.missing")).isFalse();
+
+        slots.putAt(a, 2);
+        Map<String, Object> snapshot = new HashMap<>(slots);
+        assertThat(snapshot).containsEntry("bindingSlotsTest.a", 2).containsKey("bindingSlotsTest.nil");
+        assertThat(snapshot).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("copy is independent and putAllSlots writes back only bound slots")
+    void copyAndWriteBack() {
+        BindingSlots base = new BindingSlots();
+        base.put("bindingSlotsTest.x", "base");
+        base.put("bindingSlotsTest.keep", "kept");
+
+        BindingSlots copy = base.copy();
+        copy.put("bindingSlotsTest.x", "changed");
+        copy.remove("bindingSlotsTest.keep");
+        copy.put("bindingSlotsTest.added", 3);
+        assertThat(base.get("bindingSlotsTest.x")).isEqualTo("base");
+
+        base.putAll(copy);
+        assertThat(base.get("bindingSlotsTest.x")).isEqualTo("changed");
+        assertThat(base.get("bindingSlotsTest.added")).isEqualTo(3);
+        assertThat(base.get("bindingSlotsTest.keep")).isEqualTo("kept");
+    }
+
+    @Test
+    @DisplayName("linked binding call sites read and write the context slots")
+    void linkedCallSitesUseSlots() throws Throwable {
+        Map<String, Object> initial = new HashMap<>();
+        initial.put("bindingSlotsTest.counter", 1);
+        NovaScriptContext.init(initial);
+
+        CallSite getSite = NovaBootstrap.bootstrapBinding(MethodHandles.lookup(), "get",
+                MethodType.methodType(Object.class, String.class));
+        CallSite setSite = NovaBootstrap.bootstrapBinding(MethodHandles.lookup(), "set",
+                MethodType.methodType(void.class, String.class, Object.class));
+        MethodHandle get = getSite.dynamicInvoker();
+        MethodHandle set = setSite.dynamicInvoker();
+
+        String name = "bindingSlotsTest.counter";
+        assertThat(get.invoke(name)).isEqualTo(1);
+        MethodHandle linked = getSite.getTarget();
+        set.invoke(name, 5);
+        assertThat(get.invoke(name)).isEqualTo(5);
+        assertThat(getSite.getTarget()).isSameAs(linked);
+
+        // 非同一常量的名称走按名称访问，结果一致
+        assertThat(get.invoke(new String(name))).isEqualTo(5);
+        set.invoke(name, null);
+        assertThat(get.invoke(name)).isNull();
+
+        Map<String, Object> exported = new HashMap<>();
+        NovaScriptContext.exportTo(exported);
+        assertThat(exported).containsKey(name);
+        assertThat(exported.get(name)).isNull();
+    }
+
+    @Test
+    @DisplayName("each context has its own layout; copies share it")
+    void layoutIsScopedToContext() {
+        BindingSlots first = new BindingSlots();
+        for (int i = 0; i < 100; i++) {
+            first.put("bindingSlotsTest.player_" + i, i);
+        }
+        first.remove("bindingSlotsTest.player_0");
+        assertThat(first.entrySet()).hasSize(99);
+
+        BindingSlots second = new BindingSlots();
+        second.put("bindingSlotsTest.only", 1);
+        assertThat(second.layout()).isNotSameAs(first.layout());
+        assertThat(second.layout().size()).isEqualTo(1);
+        assertThat(second.layout().find("bindingSlotsTest.player_1")).isEqualTo(-1);
+        assertThat(second.copy().layout()).isSameAs(second.layout());
+
+        // 不同布局之间按名称合并
+        second.putAllSlots(first);
+        assertThat(second.get("bindingSlotsTest.player_42")).isEqualTo(42);
+        assertThat(second).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("a linked call site re-resolves its slot when the context layout changes")
+    void linkedCallSiteFollowsContextLayout() throws Throwable {
+        CallSite getSite = NovaBootstrap.bootstrapBinding(MethodHandles.lookup(), "get",
+                MethodType.methodType(Object.class, String.class));
+        CallSite setSite = NovaBootstrap.bootstrapBinding(MethodHandles.lookup(), "set",
+                MethodType.methodType(void.class, String.class, Object.class));
+        MethodHandle get = getSite.dynamicInvoker();
+        MethodHandle set = setSite.dynamicInvoker();
+        String name = "bindingSlotsTest.shared";
+
+        BindingSlots a = new BindingSlots();
+        a.put("bindingSlotsTest.padding", 0);
+        a.put(name, "a");
+        BindingSlots b = new BindingSlots();
+        b.put(name, "b");
+
+        NovaScriptContext.initDirect(a);
+        assertThat(get.invoke(name)).isEqualTo("a");
+        NovaScriptContext.initDirect(b);
+        assertThat(get.invoke(name)).isEqualTo("b");
+        set.invoke(name, "b2");
+        NovaScriptContext.initDirect(a);
+        assertThat(get.invoke(name)).isEqualTo("a");
+
+        assertThat(b.get(name)).isEqualTo("b2");
+        assertThat(b.layout().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a binding site keeps slots for several live layouts at once")
+    void siteCachesSeveralLayouts() {
+        BindingSite site = new BindingSite("bindingSlotsTest.poly");
+        BindingLayout[] layouts = new BindingLayout[BindingSite.MAX_LINKS + 1];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = new BindingLayout();
+            for (int p = 0; p < i; p++) layouts[i].slotOf("bindingSlotsTest.pad_" + p);
+            layouts[i].slotOf("bindingSlotsTest.poly");
+        }
+
+        for (int round = 0; round < 3; round++) {
+            assertThat(site.slotIn(layouts[0], false)).isEqualTo(0);
+            assertThat(site.slotIn(layouts[1], false)).isEqualTo(1);
+        }
+        assertThat(site.isLinked(layouts[0])).isTrue();
+        assertThat(site.isLinked(layouts[1])).isTrue();
+
+        // 超出上限时淘汰最久未解析的布局
+        for (int i = 2; i < layouts.length; i++) {
+            assertThat(site.slotIn(layouts[i], false)).isEqualTo(i);
+        }
+        assertThat(site.isLinked(layouts[0])).isFalse();
+        assertThat(site.isLinked(layouts[layouts.length - 1])).isTrue();
+        assertThat(site.slotIn(layouts[0], false)).isEqualTo(0);
+    }
+}
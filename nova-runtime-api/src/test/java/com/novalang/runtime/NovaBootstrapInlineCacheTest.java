@@ -0,0 +1,116 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NovaBootstrap polymorphic inline cache")
+class NovaBootstrapInlineCacheTest {
+
+    private int savedDepth;
+
+    @BeforeEach
+    void saveDepth() {
+        savedDepth = NovaBootstrap.getPolymorphicDepth();
+    }
+
+    @AfterEach
+    void restoreDepth() {
+        NovaBootstrap.setPolymorphicDepth(savedDepth);
+    }
+
+    private static NovaBootstrap.CallSiteStats statsOf(CallSite site) {
+        return ((NovaBootstrap.InlineCacheCallSite) site).snapshot();
+    }
+
+    @Test
+    @DisplayName("guard chain stops growing after the depth limit and switches to megamorphic dispatch")
+    void switchesToMegamorphicAfterDepthLimit() throws Throwable {
+        NovaBootstrap.setPolymorphicDepth(2);
+        CallSite site = NovaBootstrap.bootstrapInvoke(MethodHandles.lookup(), "size",
+                MethodType.methodType(Object.class, Object.class));
+        MethodHandle invoker = site.dynamicInvoker();
+
+        List<Object> receivers = Arrays.<Object>asList(
+                new ArrayList<>(Arrays.asList(1, 2)),
+                new LinkedList<>(Arrays.asList(1)),
+                new HashSet<>(Arrays.asList(1, 2, 3)),
+                new TreeSet<>(Arrays.asList(1, 2, 3, 4)));
+
+        assertThat(statsOf(site).getState()).isEqualTo(NovaBootstrap.CacheState.UNINITIALIZED);
+        assertThat(invoker.invoke(receivers.get(0))).isEqualTo(2);
+        assertThat(statsOf(site).getState()).isEqualTo(NovaBootstrap.CacheState.MONOMORPHIC);
+        assertThat(invoker.invoke(receivers.get(1))).isEqualTo(1);
+        assertThat(statsOf(site).getState()).isEqualTo(NovaBootstrap.CacheState.POLYMORPHIC);
+        assertThat(invoker.invoke(receivers.get(2))).isEqualTo(3);
+        assertThat(statsOf(site).getState()).isEqualTo(NovaBootstrap.CacheState.MEGAMORPHIC);
+        assertThat(invoker.invoke(receivers.get(3))).isEqualTo(4);
+
+        long missesBefore = statsOf(site).getMisses();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < receivers.size(); i++) {
+                assertThat(invoker.invoke(receivers.get(i))).isEqualTo(((java.util.Collection<?>) receivers.get(i)).size());
+            }
+        }
+        NovaBootstrap.CallSiteStats stats = statsOf(site);
+        assertThat(stats.getMisses()).isEqualTo(missesBefore);
+        assertThat(stats.getDepth()).isEqualTo(2);
+        assertThat(stats.getTransitions()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("member get/set sites use the same bounded cache")
+    void memberSitesAreBounded() throws Throwable {
+        NovaBootstrap.setPolymorphicDepth(1);
+        CallSite getSite = NovaBootstrap.bootstrapGetMember(MethodHandles.lookup(), "value",
+                MethodType.methodType(Object.class, Object.class));
+        CallSite setSite = NovaBootstrap.bootstrapSetMember(MethodHandles.lookup(), "value",
+                MethodType.methodType(void.class, Object.class, Object.class));
+        MethodHandle getter = getSite.dynamicInvoker();
+        MethodHandle setter = setSite.dynamicInvoker();
+
+        BoxA a = new BoxA();
+        BoxB b = new BoxB();
+        BoxC c = new BoxC();
+        for (int i = 0; i < 3; i++) {
+            setter.invoke((Object) a, (Object) ("a" + i));
+            setter.invoke((Object) b, (Object) ("b" + i));
+            setter.invoke((Object) c, (Object) ("c" + i));
+            assertThat(getter.invoke((Object) a)).isEqualTo("a" + i);
+            assertThat(getter.invoke((Object) b)).isEqualTo("b" + i);
+            assertThat(getter.invoke((Object) c)).isEqualTo("c" + i);
+        }
+
+        assertThat(statsOf(getSite).getState()).isEqualTo(NovaBootstrap.CacheState.MEGAMORPHIC);
+        assertThat(statsOf(setSite).getState()).isEqualTo(NovaBootstrap.CacheState.MEGAMORPHIC);
+        assertThat(statsOf(getSite).getMisses()).isEqualTo(3);
+        assertThat(NovaBootstrap.getCallSiteStats()).extracting(NovaBootstrap.CallSiteStats::getName)
+                .contains("value");
+    }
+
+    public static class BoxA {
+        public Object value;
+    }
+
+    public static class BoxB {
+        public Object value;
+    }
+
+    public static class BoxC {
+        public Object value;
+    }
+}
@@ -27,6 +27,8 @@ public final class Environment {
     private Map<String, Integer> keyIndex;  // 延迟分配：变量数 > 阈值时启用哈希索引
     private int builtinCount;
     private boolean replMode = false;
+    /** 槽位布局版本：reset 后槽位编号失效，缓存槽位的调用点据此判断是否需要重新查找 */
+    private int layoutVersion;
 
     /** 变量数超过此阈值时，从线性扫描切换到 HashMap 查找 */
     private static final int HASH_THRESHOLD = 8;
@@ -185,6 +187,7 @@ public final class Environment {
         mutableBits = 0;
         mutableBitsExt = null;
         keyIndex = null;
+        layoutVersion++;
     }
 
     /**
@@ -200,6 +203,7 @@ public final class Environment {
         mutableBits = 0;
         mutableBitsExt = null;
         keyIndex = null;
+        layoutVersion++;
     }
 
     /**
@@ -246,6 +250,20 @@ public final class Environment {
         if (keyIndex == null && size > HASH_THRESHOLD) upgradeToHash();
     }
 
+    /**
+     * 当前作用域内变量的槽位（不查 parent，未定义返回 -1）。
+     * <p>变量只追加不删除，槽位在 {@link #getLayoutVersion()} 不变期间保持有效，
+     * 可配合 {@link #getAtSlot}/{@link #assignAtSlot}（depth = 0）缓存使用。</p>
+     */
+    public int localSlotOf(String name) {
+        return indexOf(name);
+    }
+
+    /** 槽位布局版本（reset / resetForLoop 时递增） */
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
     /**
      * 获取变量值
      */
@@ -441,6 +459,8 @@ public final class Environment {
         copy.keys = Arrays.copyOf(keys, keys.length);
         copy.vals = Arrays.copyOf(vals, vals.length);
         copy.size = size;
+        copy.builtinCount = builtinCount;
+        copy.replMode = replMode;
         copy.mutableBits = mutableBits;
         if (mutableBitsExt != null) copy.mutableBitsExt = mutableBitsExt.clone();
         if (keyIndex != null) copy.keyIndex = new HashMap<>(keyIndex);
@@ -0,0 +1,98 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.MirModule;
+import com.novalang.runtime.CompiledNova;
+import com.novalang.runtime.Nova;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 惰性 Sequence 与即时集合操作的对比：同一条 filter/map/take 管道分别以 List 和 Sequence 执行，
+ * 覆盖解释器（预编译 MIR）与字节码两条路径。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@Threads(1)
+public class SequenceJmhBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PipelineState {
+        @Param({"filter_map_take", "map_first", "filter_count"})
+        public String pipeline;
+
+        @Param({"eager", "sequence"})
+        public String mode;
+
+        @Param({"100000"})
+        public int size;
+
+        String source;
+        Interpreter interpreter;
+        Interpreter.PreparedMirModule preparedMir;
+        CompiledNova compiled;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            String prelude = "val data = (1.." + size + ").toList()\n";
+            source = prelude + pipelineFor(pipeline, "sequence".equals(mode));
+            String expected = String.valueOf(new Interpreter().eval(prelude + pipelineFor(pipeline, false)));
+
+            interpreter = new Interpreter();
+            MirModule mir = interpreter.precompileToMir(source);
+            preparedMir = interpreter.prepareMirForReuse(mir);
+            String interpreted = String.valueOf(interpreter.executePreparedMir(preparedMir));
+            if (!expected.equals(interpreted)) {
+                throw new IllegalStateException("interpreter result mismatch for " + pipeline + "/" + mode
+                        + ": expected=" + expected + ", actual=" + interpreted);
+            }
+
+            compiled = new Nova().compileToBytecode(source, "sequence-bench.nova");
+            String bytecode = String.valueOf(compiled.run());
+            if (!expected.equals(bytecode)) {
+                throw new IllegalStateException("bytecode result mismatch for " + pipeline + "/" + mode
+                        + ": expected=" + expected + ", actual=" + bytecode);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object interpreter(PipelineState state) {
+        return state.interpreter.executePreparedMir(state.preparedMir);
+    }
+
+    @Benchmark
+    public Object compiled(PipelineState state) {
+        return state.compiled.run();
+    }
+
+    private static String pipelineFor(String pipeline, boolean lazy) {
+        String receiver = lazy ? "data.asSequence()" : "data";
+        String collect = lazy ? ".toList()" : "";
+        switch (pipeline) {
+            case "filter_map_take":
+                return receiver + ".filter { it % 3 == 0 }.map { it * 2 }.take(10)" + collect;
+            case "map_first":
+                return receiver + ".map { it * it }.first { it > 2500 }";
+            case "filter_count":
+                return receiver + ".filter { it % 2 == 0 }.map { it + 1 }.count { it % 3 == 0 }";
+            default:
+                throw new IllegalArgumentException("Unknown pipeline: " + pipeline);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.novalang.runtime;
 import com.novalang.runtime.interpreter.MethodHandleCache;
 import com.novalang.runtime.interpreter.NovaNativeFunction;
 import com.novalang.runtime.interpreter.NovaRuntimeException;
+import com.novalang.runtime.interpreter.PreparedProgram;
 import com.novalang.compiler.ast.decl.Program;
 import com.novalang.compiler.lexer.Lexer;
 import com.novalang.compiler.parser.Parser;
@@ -21,7 +22,8 @@ import java.util.Collections;
  *
  * <h3>解释器模式</h3>
  * <p>通过 {@link Nova#compile(String, String)} 创建，与 Nova 实例共享环境，
- * 适合需要共享状态的场景。</p>
+ * 适合需要共享状态的场景。降级后的 MIR 在多次 run() 间复用，
+ * 宿主覆盖脚本函数或其他脚本重置解释器状态时自动重新准备。</p>
  * <pre>
  * Nova nova = new Nova();
  * CompiledNova rule = nova.compile("price * quantity * (1 - discount)", "rule");
@@ -44,23 +46,29 @@ public final class CompiledNova {
     private final String fileName;            // nullable
     private final Nova nova;                 // nullable
     private final Program program;           // nullable, 预解析的 AST
+    /** 降级后的 MIR 与模块准备结果缓存（nullable，仅解释器模式） */
+    private final PreparedProgram prepared;
 
     // ── 字节码模式（独立运行） ──
     private final MethodHandle mainHandle;   // nullable
     private final Map<String, Class<?>> compiledClasses;  // nullable
-    private final Map<String, Object> bindings = new HashMap<>();
+    /** 全局绑定按本实例自己的 BindingLayout 槽位存放；已链接的字节码调用点与 set/get 访问同一槽位 */
+    private final BindingSlots bindings = new BindingSlots();
     private final ExtensionRegistry extensionRegistry;  // nullable
     /** 函数名 → 所属编译类（惰性缓存，避免每次全表扫描） */
     private final Map<String, Class<?>> funcClassCache = new HashMap<>();
+    /** 字节码执行使用的安全策略（nullable，仅在有资源限制时设置）：每次 run/call 开始一份新的执行预算 */
+    private NovaSecurityPolicy securityPolicy;
     /** 脚本级 ClassLoader（编译模式用于 javaClass() 类隔离） */
     private ClassLoader scriptClassLoader;
 
-    /** 解释器模式构造 — 预解析源代码为 AST，run() 时跳过词法分析和解析 */
+    /** 解释器模式构造 — 预解析源代码为 AST，首次 run() 时降级为 MIR 并缓存，后续执行跳过词法分析、解析和降级 */
     CompiledNova(String source, String fileName, Nova nova) {
         this.source = source;
         this.fileName = fileName;
         this.nova = nova;
         this.program = new Parser(new Lexer(source, fileName), fileName).parse();
+        this.prepared = new PreparedProgram(source, fileName, program);
         this.mainHandle = null;
         this.compiledClasses = null;
         this.extensionRegistry = null;
@@ -72,6 +80,7 @@ public final class CompiledNova {
         this.fileName = null;
         this.nova = null;
         this.program = null;
+        this.prepared = null;
         this.compiledClasses = classes;
         this.mainHandle = findMain(classes);
         this.extensionRegistry = extensionRegistry != null ? extensionRegistry : new ExtensionRegistry();
@@ -162,7 +171,7 @@ public final class CompiledNova {
                         funcClassCache.put(funcName, cls);
                     }
                     Object result = MethodHandleCache.getInstance().invokeStatic(cls, funcName, args);
-                    bindings.putAll(NovaScriptContext.getAll());
+                    NovaScriptContext.exportTo(bindings);
                     if (result instanceof NovaValue) {
                         if (((NovaValue) result).isNull()) return null;
                         return ((NovaValue) result).toJavaValue();
@@ -185,7 +194,7 @@ public final class CompiledNova {
             }
             Object result = MethodHandleCache.getInstance().invokeStatic(cls, funcName, args);
             // 回写全局变量（函数内可能修改了 showTime 等全局变量）
-            bindings.putAll(NovaScriptContext.getAll());
+            NovaScriptContext.exportTo(bindings);
             if (result instanceof NovaValue) {
                 if (((NovaValue) result).isNull()) return null;
                 return ((NovaValue) result).toJavaValue();
@@ -259,6 +268,115 @@ public final class CompiledNova {
         }
     }
 
+    /**
+     * 预解析函数为按元数特化的句柄（见 {@link Nova#bind(String, int)}）。
+     *
+     * <p>字节码模式下函数所属类和 MethodHandle 在此解析一次；与 {@link #callDirect} 相同，
+     * 调用时直接以本实例的变量表作为脚本上下文（不拷贝、不回写），上下文对象在句柄内复用。</p>
+     */
+    public <F extends BoundFunction> F bind(String funcName, int arity) {
+        if (nova != null) return nova.bind(funcName, arity);
+        if (arity < 0 || arity > BoundFunction.MAX_ARITY) {
+            throw new IllegalArgumentException("arity must be 0.." + BoundFunction.MAX_ARITY + ", got " + arity);
+        }
+        Class<?> cls = funcClassCache.get(funcName);
+        if (cls == null) {
+            cls = findFuncClass(funcName);
+            funcClassCache.put(funcName, cls);
+        }
+        MethodHandle handle = null;
+        for (java.lang.reflect.Method m : cls.getMethods()) {
+            if (m.getName().equals(funcName) && m.getParameterCount() == arity && !m.isVarArgs()
+                    && java.lang.reflect.Modifier.isStatic(m.getModifiers())) {
+                try {
+                    handle = MethodHandles.publicLookup().unreflect(m)
+                            .asType(MethodType.genericMethodType(arity));
+                } catch (IllegalAccessException e) {
+                    throw new NovaRuntimeException("无法访问函数 '" + funcName + "': " + e.getMessage(), e);
+                }
+                break;
+            }
+        }
+        if (handle == null) {
+            throw new NovaRuntimeException("函数 '" + funcName + "' 没有 " + arity + " 个参数的重载");
+        }
+        @SuppressWarnings("unchecked")
+        F bound = (F) BoundFunction.of(funcName, arity, new CompiledTarget(funcName, arity, handle,
+                NovaScriptContext.direct(bindings, extensionRegistry)));
+        return bound;
+    }
+
+    /** 字节码模式的预绑定调用目标：按元数 invokeExact，执行上下文按调用切换、结束后恢复 */
+    private final class CompiledTarget implements BoundFunction.Target {
+        private final String funcName;
+        private final int arity;
+        private final MethodHandle handle;
+        private final NovaScriptContext context;
+
+        CompiledTarget(String funcName, int arity, MethodHandle handle, NovaScriptContext context) {
+            this.funcName = funcName;
+            this.arity = arity;
+            this.handle = handle;
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(Object a0, Object a1, Object a2, Object a3,
+                             Object a4, Object a5, Object a6, Object a7) {
+            NovaScriptContext previousContext = NovaScriptContext.current();
+            ClassLoader previousScriptClassLoader = com.novalang.runtime.interpreter.JavaInterop.getScriptClassLoader();
+            NovaScriptContext.setCurrent(context);
+            com.novalang.runtime.interpreter.JavaInterop.setScriptClassLoader(scriptClassLoader);
+            ExecutionBudget previousBudget = beginBudget();
+            try {
+                Object result;
+                switch (arity) {
+                    case 0: result = (Object) handle.invokeExact(); break;
+                    case 1: result = (Object) handle.invokeExact(a0); break;
+                    case 2: result = (Object) handle.invokeExact(a0, a1); break;
+                    case 3: result = (Object) handle.invokeExact(a0, a1, a2); break;
+                    case 4: result = (Object) handle.invokeExact(a0, a1, a2, a3); break;
+                    case 5: result = (Object) handle.invokeExact(a0, a1, a2, a3, a4); break;
+                    case 6: result = (Object) handle.invokeExact(a0, a1, a2, a3, a4, a5); break;
+                    case 7: result = (Object) handle.invokeExact(a0, a1, a2, a3, a4, a5, a6); break;
+                    default: result = (Object) handle.invokeExact(a0, a1, a2, a3, a4, a5, a6, a7); break;
+                }
+                if (result instanceof NovaValue) {
+                    if (((NovaValue) result).isNull()) return null;
+                    return ((NovaValue) result).toJavaValue();
+                }
+                return result;
+            } catch (NovaRuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                String msg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                throw new NovaRuntimeException("调用函数 '" + funcName + "' 时出错: " + msg, e);
+            } finally {
+                endBudget(previousBudget);
+                com.novalang.runtime.interpreter.JavaInterop.setScriptClassLoader(previousScriptClassLoader);
+                NovaScriptContext.setCurrent(previousContext);
+            }
+        }
+    }
+
+    void setSecurityPolicy(NovaSecurityPolicy policy) {
+        this.securityPolicy = policy;
+    }
+
+    /** 开始一次字节码执行的预算，返回外层预算以便恢复（支持嵌套调用） */
+    private ExecutionBudget beginBudget() {
+        if (securityPolicy == null) return null;
+        ExecutionBudget previous = ExecutionBudget.current();
+        ExecutionBudget.begin(securityPolicy);
+        return previous;
+    }
+
+    private void endBudget(ExecutionBudget previous) {
+        if (securityPolicy != null) {
+            ExecutionBudget.bind(previous);
+        }
+    }
+
     /** 扫描编译类，查找包含指定函数名的类 */
     @FunctionalInterface
     private interface ThrowingSupplier<T> {
@@ -279,9 +397,11 @@ public final class CompiledNova {
             NovaScriptContext.setExtensionRegistry(extensionRegistry);
         }
         com.novalang.runtime.interpreter.JavaInterop.setScriptClassLoader(scriptClassLoader);
+        ExecutionBudget previousBudget = beginBudget();
         try {
             return action.get();
         } finally {
+            endBudget(previousBudget);
             com.novalang.runtime.interpreter.JavaInterop.setScriptClassLoader(previousScriptClassLoader);
             if (previousContext != null) {
                 NovaScriptContext.setCurrent(previousContext);
@@ -520,7 +640,7 @@ public final class CompiledNova {
     // ── 内部方法 ──
 
     private Object runInterpreted() {
-        NovaValue result = nova.getInterpreter().eval(source, fileName, program);
+        NovaValue result = nova.getInterpreter().eval(prepared);
         if (result == NovaNull.UNIT) return null;
         return result.toJavaValue();
     }
@@ -547,6 +667,7 @@ public final class CompiledNova {
         if (extensionRegistry != null) {
             NovaScriptContext.setExtensionRegistry(extensionRegistry);
         }
+        ExecutionBudget previousBudget = beginBudget();
         try {
             Object result = mainHandle.invoke();
             if (result instanceof NovaValue) {
@@ -559,13 +680,14 @@ public final class CompiledNova {
         } catch (Throwable e) {
             throw NovaErrors.wrap("runDirect 执行失败", e);
         } finally {
+            endBudget(previousBudget);
             NovaScriptContext.setCurrent(prev);
         }
     }
 
     public Object runIsolated(Map<String, Object> executionBindings) {
         if (compiledClasses == null || mainHandle == null) return null;
-        Map<String, Object> localBindings = new HashMap<>(bindings);
+        BindingSlots localBindings = bindings.copy();
         if (executionBindings != null) {
             for (Map.Entry<String, Object> entry : executionBindings.entrySet()) {
                 localBindings.put(entry.getKey(), NativeFunctionAdapter.toBindingValue(entry.getValue()));
@@ -587,7 +709,7 @@ public final class CompiledNova {
             try {
                 return withScriptExecutionContext(executionBindings, true, () -> {
                     Object result = mainHandle.invoke();
-                    executionBindings.putAll(NovaScriptContext.getAll());
+                    NovaScriptContext.exportTo(executionBindings);
                     if (result instanceof NovaValue) {
                         if (((NovaValue) result).isNull()) return null;
                         return ((NovaValue) result).toJavaValue();
@@ -610,7 +732,7 @@ public final class CompiledNova {
         try {
             Object result = mainHandle.invoke();
             // 回写导出变量
-            bindings.putAll(NovaScriptContext.getAll());
+            NovaScriptContext.exportTo(bindings);
             // 将 NovaValue 转为 Java 对象（与解释器模式行为一致）
             if (result instanceof NovaValue) {
                 if (((NovaValue) result).isNull()) return null;
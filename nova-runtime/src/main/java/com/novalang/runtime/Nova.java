@@ -38,7 +38,7 @@ public final class Nova {
      * 编译模式扩展方法注册表。
      * registerExtension 的方法同时写入这里，compileToBytecode 时注入到 CompiledNova。
      */
-    private final ExtensionRegistry extensionRegistry = new ExtensionRegistry();
+    private final ExtensionRegistry extensionRegistry;
 
     /**
      * 供字节码模式使用的值注册表。
@@ -73,6 +73,9 @@ public final class Nova {
      */
     private Map<String, Map<String, Class<?>>> compilationCache;
 
+    /** 持久化编译缓存（可选）：内存缓存未命中时先查磁盘，通过 {@link #enableCompilationCache(java.nio.file.Path)} 开启 */
+    private PersistentCodeCache codeCache;
+
     /** NovaLang 版本号（从 jar manifest 自动读取，开发环境回退 "dev"） */
     public static final String VERSION = resolveVersion();
 
@@ -89,10 +92,47 @@ public final class Nova {
 
     public Nova() {
         this.interpreter = new Interpreter();
+        this.extensionRegistry = new ExtensionRegistry();
     }
 
     public Nova(NovaSecurityPolicy policy) {
         this.interpreter = new Interpreter(policy);
+        this.extensionRegistry = new ExtensionRegistry();
+    }
+
+    /** 复制构造器（{@link #fork()} 使用） */
+    private Nova(Nova template) {
+        this.interpreter = template.interpreter.fork();
+        this.extensionRegistry = template.extensionRegistry.copy();
+        this.valRegistry.putAll(template.valRegistry);
+        for (Map.Entry<String, Map<String, Object>> entry : template.namespaceBindings.entrySet()) {
+            this.namespaceBindings.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        this.preludeSources.addAll(template.preludeSources);
+        this.evaluatedPreludeCount = template.evaluatedPreludeCount;
+        // 编译缓存只保存不可变的已加载类，直接共享
+        this.compilationCache = template.compilationCache;
+        this.codeCache = template.codeCache;
+        this.scriptClassLoader = template.scriptClassLoader;
+    }
+
+    /**
+     * 基于当前实例复制一个独立的 Nova，跳过内置函数和 Java 互操作的重复注册。
+     *
+     * <p>复制出的实例继承当前实例的全部绑定、函数、扩展和预加载脚本，之后双方的修改互不可见
+     * （绑定的 Java 对象按引用共享）。适合预热一个模板实例后按线程或按请求分发，
+     * 见 {@link NovaPool}。复制期间不能有其他线程修改当前实例。</p>
+     *
+     * <pre>
+     * Nova template = new Nova();
+     * template.defineFunction("now", () -&gt; System.currentTimeMillis());
+     * template.eval("fun greet(n) = \"Hello, $n\"");
+     * Nova worker = template.fork();
+     * worker.call("greet", "World");
+     * </pre>
+     */
+    public Nova fork() {
+        return new Nova(this);
     }
 
     // ── 成员名称解析器 ──────────────────────────────────────
@@ -987,10 +1027,42 @@ public final class Nova {
     }
 
     /**
-     * 清空编译缓存。
+     * 启用编译缓存并持久化到磁盘目录 — JVM 重启后相同源码直接加载上次生成的字节码，
+     * 跳过词法/语法/语义分析、lowering 与优化 pass。
+     *
+     * <p>缓存按源码、文件名、编译器版本和影响字节码的配置（资源预算检查、包重定位）区分；
+     * 启动时只映射索引，脚本第一次编译时才读取对应记录。目录可被多个 Nova 实例和进程共享。</p>
+     */
+    public Nova enableCompilationCache(java.nio.file.Path directory) {
+        enableCompilationCache();
+        codeCache = PersistentCodeCache.open(directory);
+        return this;
+    }
+
+    /**
+     * 启用分层执行 — 脚本先由解释器执行，调用频繁的纯计算函数在后台编译为字节码后切换过去。
+     * 适合长期运行、反复调用同一批函数的插件脚本；短脚本不受影响。
+     * 安全策略设置了循环、调用、分配或时间上限时保持纯解释执行。
+     */
+    public Nova enableTieredCompilation() {
+        interpreter.enableTieredCompilation();
+        return this;
+    }
+
+    /**
+     * 启用分层执行，指定晋升阈值（函数调用次数；循环回边按 10 倍阈值计）。
+     */
+    public Nova enableTieredCompilation(int threshold) {
+        interpreter.enableTieredCompilation(threshold);
+        return this;
+    }
+
+    /**
+     * 清空编译缓存（含已开启的持久化缓存文件）。
      */
     public void clearCompilationCache() {
         if (compilationCache != null) compilationCache.clear();
+        if (codeCache != null) codeCache.clear();
     }
 
     public CompiledNova compileToBytecode(String code) {
@@ -1017,17 +1089,46 @@ public final class Nova {
             }
         }
 
+        Map<String, Class<?>> classes = compileClasses(actualCode, actualFileName);
+
+        if (cacheKey != null) {
+            compilationCache.put(cacheKey, classes);
+        }
+        return buildCompiledNova(classes);
+    }
+
+    /**
+     * 编译并加载；开启持久化缓存时优先复用磁盘上的字节码，新编译的结果写回磁盘。
+     * code 须为 {@link #withPreloads} 展开后的源码：磁盘缓存 key 依赖其中内联的导入模块源码。
+     */
+    private Map<String, Class<?>> compileClasses(String code, String fileName) {
+        boolean budget = hasResourceBudget(interpreter.getSecurityPolicy());
+        String diskKey = null;
+        if (codeCache != null) {
+            diskKey = PersistentCodeCache.key(code, fileName, budget);
+            Map<String, byte[]> bytecode = codeCache.get(diskKey);
+            if (bytecode != null) {
+                return NovaIrCompiler.loadClasses(bytecode);
+            }
+        }
+
         NovaIrCompiler compiler = new NovaIrCompiler();
         compiler.setScriptMode(true);
         compiler.setEnableSemanticAnalysis(true);
         compiler.setStrictSemanticMode(true);
+        compiler.setResourceBudgetChecks(budget);
         configureRelocate(compiler);
-        Map<String, Class<?>> classes = compiler.compileAndLoad(actualCode, actualFileName);
-
-        if (cacheKey != null) {
-            compilationCache.put(cacheKey, classes);
+        Map<String, byte[]> bytecode = compiler.compileForLoading(code, fileName);
+        if (diskKey != null) {
+            codeCache.put(diskKey, bytecode);
         }
-        return buildCompiledNova(classes);
+        return NovaIrCompiler.loadClasses(bytecode);
+    }
+
+    /** 策略设置了调用/分配上限时，字节码需要织入对应的计费检查 */
+    private static boolean hasResourceBudget(NovaSecurityPolicy policy) {
+        return policy.getLevel() != NovaSecurityPolicy.Level.UNRESTRICTED
+                && (policy.getMaxCalls() > 0 || policy.getMaxAllocations() > 0);
     }
 
     /** 从已编译的类构建 CompiledNova，注入值注册表和 Java 命名空间 */
@@ -1037,6 +1138,12 @@ public final class Nova {
 
     private CompiledNova buildCompiledNova(Map<String, Class<?>> classes, Map<String, Object> bindingOverlay) {
         CompiledNova compiled = new CompiledNova(classes, extensionRegistry);
+        NovaSecurityPolicy policy = interpreter.getSecurityPolicy();
+        if (policy.getLevel() != NovaSecurityPolicy.Level.UNRESTRICTED
+                && (policy.getMaxLoopIterations() > 0 || policy.getMaxExecutionTimeMs() > 0
+                || hasResourceBudget(policy))) {
+            compiled.setSecurityPolicy(policy);
+        }
         if (scriptClassLoader != null) {
             compiled.setScriptClassLoader(scriptClassLoader);
         }
@@ -1073,12 +1180,7 @@ public final class Nova {
             }
         }
 
-        NovaIrCompiler compiler = new NovaIrCompiler();
-        compiler.setScriptMode(true);
-        compiler.setEnableSemanticAnalysis(true);
-        compiler.setStrictSemanticMode(true);
-        configureRelocate(compiler);
-        Map<String, Class<?>> classes = compiler.compileAndLoad(actualCode, actualFileName);
+        Map<String, Class<?>> classes = compileClasses(actualCode, actualFileName);
 
         if (cacheKey != null) {
             compilationCache.put(cacheKey, classes);
@@ -1185,6 +1287,40 @@ public final class Nova {
         return toJava(result);
     }
 
+    /**
+     * 预解析 Nova 函数为按元数特化的句柄：名称查找只在此处做一次，调用时不构造参数数组。
+     * 适合宿主高频回调；返回类型按 arity 推断为 {@link BoundFunction0} ~ {@link BoundFunction8}。
+     *
+     * <pre>
+     * BoundFunction2 onEvent = nova.bind("onEvent", 2);
+     * onEvent.invoke("click", payload);
+     * </pre>
+     *
+     * @throws NovaRuntimeException 函数未定义或不可调用
+     * @throws IllegalArgumentException arity 超出 0 ~ {@link BoundFunction#MAX_ARITY}
+     */
+    @SuppressWarnings("unchecked")
+    public <F extends BoundFunction> F bind(String funcName, int arity) {
+        ensureInterpreterPreloadsEvaluated();
+        NovaValue val = interpreter.getGlobals().tryGet(funcName);
+        if (val == null) {
+            throw new NovaRuntimeException("Function '" + funcName + "' is not defined");
+        }
+        if (!(val instanceof NovaCallable)) {
+            throw new NovaRuntimeException("'" + funcName + "' is not callable");
+        }
+        return (F) BoundFunction.of(funcName, arity, interpreter.bindTarget((NovaCallable) val, arity));
+    }
+
+    /**
+     * 获取 {@code @memoized} 函数的缓存统计（命中率、条目数、淘汰次数等）。
+     * 函数不存在、未标注 {@code @memoized} 或尚未调用过时返回 null。
+     */
+    public com.novalang.runtime.interpreter.cache.CacheStats getMemoStats(String funcName) {
+        ensureInterpreterPreloadsEvaluated();
+        return interpreter.getMemoStats(funcName);
+    }
+
     // ── 接收者 Lambda / Builder DSL ────────────────────────
 
     /**
@@ -0,0 +1,91 @@
+package com.novalang.runtime;
+
+import java.util.function.Function;
+
+/**
+ * 基于预热模板的 Nova 实例池 — 并发场景下按线程或按请求分发独立的 Nova。
+ *
+ * <p>{@link Nova} 与其解释器是单线程的。池在创建时对模板做一次快照，
+ * 之后通过 {@link Nova#fork()} 复制实例：内置函数、Java 互操作、已注册的函数与扩展直接继承，
+ * 不再重复注册。每个实例的用户状态相互隔离。</p>
+ *
+ * <pre>
+ * Nova template = new Nova();
+ * template.defineFunction("tax", price -&gt; ((Number) price).doubleValue() * 0.1);
+ * template.eval("fun total(p) = p + tax(p)");
+ * NovaPool pool = new NovaPool(template);
+ *
+ * // 按请求：每次一个全新实例
+ * Object a = pool.execute(nova -&gt; nova.call("total", 100));
+ * // 按线程：同一线程复用一个实例，状态跨调用保留
+ * Object b = pool.local().eval("total(200)");
+ * </pre>
+ */
+public final class NovaPool {
+
+    /** 模板快照：只用于复制，从不执行代码，因此可被多个线程同时读取 */
+    private final Nova snapshot;
+
+    private final ThreadLocal<Nova> perThread = new ThreadLocal<>();
+
+    /**
+     * 以给定实例的当前状态为模板创建池。之后对 template 的修改不影响池。
+     */
+    public NovaPool(Nova template) {
+        if (template == null) {
+            throw new IllegalArgumentException("template must not be null");
+        }
+        synchronized (template) {
+            this.snapshot = template.fork();
+        }
+    }
+
+    /**
+     * 获取一个全新的独立实例（按请求使用）。实例不回收，用完直接丢弃。
+     */
+    public Nova acquire() {
+        return snapshot.fork();
+    }
+
+    /**
+     * 获取当前线程专属的实例，首次调用时创建。同一线程内的多次调用共享状态。
+     */
+    public Nova local() {
+        Nova nova = perThread.get();
+        if (nova == null) {
+            nova = snapshot.fork();
+            perThread.set(nova);
+        }
+        return nova;
+    }
+
+    /**
+     * 丢弃当前线程的专属实例（线程池线程归还前调用，避免状态泄漏到下一个任务）。
+     */
+    public void releaseLocal() {
+        Nova nova = perThread.get();
+        if (nova != null) {
+            perThread.remove();
+            nova.getInterpreter().cleanup();
+        }
+    }
+
+    /**
+     * 在一个全新实例上执行操作并返回结果。
+     */
+    public <T> T execute(Function<Nova, T> action) {
+        Nova nova = acquire();
+        try {
+            return action.apply(nova);
+        } finally {
+            nova.getInterpreter().cleanup();
+        }
+    }
+
+    /**
+     * 在一个全新实例上执行 Nova 代码。
+     */
+    public Object eval(String code) {
+        return execute(nova -> nova.eval(code));
+    }
+}
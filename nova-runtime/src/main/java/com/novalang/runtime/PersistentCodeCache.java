@@ -0,0 +1,317 @@
+package com.novalang.runtime;
+
+import com.novalang.runtime.interpreter.NovaRuntimeException;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * 持久化编译缓存 — 把 {@link Nova#compileToBytecode} 生成的类字节码写入磁盘，JVM 重启后直接复用。
+ *
+ * <p>缓存目录下只有一个追加写的文件 {@value #FILE_NAME}：</p>
+ * <pre>
+ * 文件头  magic "NOVC" | 格式版本 | 编译器指纹 (UTF)
+ * 记录    key (SHA-256, 32 字节) | 载荷长度 | CRC32 | 载荷
+ * 载荷    类数量 | (类名 UTF | 字节码长度 | 字节码)*
+ * </pre>
+ *
+ * <p>打开时把文件只读映射进内存，只扫描记录头建立 key → 偏移索引；
+ * 某个脚本第一次被编译时才解码它的记录并校验 CRC。编译器指纹（版本号 + 构建时间）变化时整个文件作废重建。
+ * 读写失败只会退化为重新编译，不影响脚本执行。同一 JVM 内同一目录共享一个实例，
+ * 跨进程追加由文件锁串行化。</p>
+ */
+final class PersistentCodeCache {
+
+    static final String FILE_NAME = "nova-code.cache";
+
+    private static final int MAGIC = 0x4E4F5643; // "NOVC"
+    private static final short FORMAT_VERSION = 1;
+    private static final int KEY_BYTES = 32;
+    private static final int RECORD_HEADER = KEY_BYTES + 8;
+
+    private static final Map<Path, PersistentCodeCache> OPEN = new ConcurrentHashMap<>();
+    private static final String FINGERPRINT = compilerFingerprint();
+
+    private final Path file;
+    /** 启动时映射的已有记录：key → [偏移, 长度, crc] */
+    private final Map<String, long[]> index = new ConcurrentHashMap<>();
+    /** 本进程内新写入的记录 */
+    private final Map<String, Map<String, byte[]>> added = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer mapped;
+
+    private PersistentCodeCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 打开（必要时创建）目录下的缓存文件。
+     */
+    static PersistentCodeCache open(Path directory) {
+        Path dir = directory.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new NovaRuntimeException("Cannot create compilation cache directory: " + dir, e);
+        }
+        return OPEN.computeIfAbsent(dir, PersistentCodeCache::read);
+    }
+
+    /** 不经共享表直接读取缓存文件（相当于新进程启动时的状态） */
+    static PersistentCodeCache read(Path directory) {
+        PersistentCodeCache cache = new PersistentCodeCache(directory.resolve(FILE_NAME));
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * 计算缓存 key：源码、文件名与影响生成字节码的编译配置。
+     *
+     * @param code 已展开导入的完整源码（预加载脚本与 {@code import "..."} 模块的源码已内联），
+     *             被导入模块修改后 key 随之变化，不会命中旧字节码
+     */
+    static String key(String code, String fileName, boolean resourceBudgetChecks) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(FINGERPRINT.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            // 被 shadow relocate 时生成的字节码引用不同的包
+            digest.update(Nova.class.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) (resourceBudgetChecks ? 1 : 0));
+            if (fileName != null) {
+                digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            digest.update(code.getBytes(StandardCharsets.UTF_8));
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 读取缓存的字节码（类名 → 字节码），未命中或记录损坏返回 null。
+     */
+    Map<String, byte[]> get(String key) {
+        Map<String, byte[]> classes = added.get(key);
+        if (classes != null) return classes;
+        long[] entry = index.get(key);
+        MappedByteBuffer buf = mapped;
+        if (entry == null || buf == null) return null;
+        ByteBuffer record = buf.duplicate();
+        record.position((int) entry[0]);
+        record.limit((int) (entry[0] + entry[1]));
+        byte[] payload = new byte[(int) entry[1]];
+        record.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != (int) entry[2]) {
+            index.remove(key);
+            return null;
+        }
+        try {
+            return decode(payload);
+        } catch (IOException e) {
+            index.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * 追加一条记录。写入失败时静默放弃（下次启动重新编译）。
+     */
+    synchronized void put(String key, Map<String, byte[]> classes) {
+        if (added.containsKey(key) || index.containsKey(key)) return;
+        added.put(key, classes);
+        try {
+            byte[] payload = encode(classes);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+            record.put(fromHex(key)).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            record.flip();
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = ch.lock();
+                try {
+                    if (ch.size() == 0) writeHeader(ch);
+                    ch.position(ch.size());
+                    while (record.hasRemaining()) ch.write(record);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException ignored) {
+            // 缓存只是加速手段
+        }
+    }
+
+    /**
+     * 清空缓存文件和内存索引。
+     */
+    synchronized void clear() {
+        index.clear();
+        added.clear();
+        mapped = null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = ch.lock();
+            try {
+                ch.truncate(0);
+                writeHeader(ch);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException ignored) {
+            // 忽略
+        }
+    }
+
+    /** 已缓存的脚本数 */
+    int size() {
+        Set<String> keys = new HashSet<>(index.keySet());
+        keys.addAll(added.keySet());
+        return keys.size();
+    }
+
+    // ── 文件格式 ────────────────────────────────────────
+
+    private void load() {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = ch.lock();
+            try {
+                long size = ch.size();
+                int headerEnd = size > 0 && size <= Integer.MAX_VALUE ? readHeader(ch) : -1;
+                if (headerEnd < 0) {
+                    // 新文件、版本不符或无法映射：重建
+                    ch.truncate(0);
+                    writeHeader(ch);
+                    return;
+                }
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int pos = headerEnd;
+                byte[] key = new byte[KEY_BYTES];
+                while (pos + RECORD_HEADER <= size) {
+                    buf.position(pos);
+                    buf.get(key);
+                    int length = buf.getInt();
+                    int crc = buf.getInt();
+                    long end = (long) pos + RECORD_HEADER + length;
+                    if (length < 0 || end > size) break;
+                    index.put(toHex(key), new long[]{pos + RECORD_HEADER, length, crc});
+                    pos = (int) end;
+                }
+                mapped = buf;
+                if (pos < size) {
+                    // 上次写入中断留下的残缺尾部：截掉，否则之后追加的记录无法被扫描到
+                    try {
+                        ch.truncate(pos);
+                    } catch (IOException ignoredTruncate) {
+                        // 部分平台不允许截断已映射的文件，下次启动再处理
+                    }
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            index.clear();
+            mapped = null;
+        }
+    }
+
+    private static int readHeader(FileChannel ch) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(8);
+        ch.read(head, 0);
+        head.flip();
+        if (head.remaining() < 8 || head.getInt() != MAGIC || head.getShort() != FORMAT_VERSION) return -1;
+        int fpLength = head.getShort() & 0xffff;
+        ByteBuffer fp = ByteBuffer.allocate(fpLength);
+        ch.read(fp, 8);
+        if (fp.hasRemaining()) return -1;
+        String fingerprint = new String(fp.array(), StandardCharsets.UTF_8);
+        return FINGERPRINT.equals(fingerprint) ? 8 + fpLength : -1;
+    }
+
+    private static void writeHeader(FileChannel ch) throws IOException {
+        byte[] fp = FINGERPRINT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer head = ByteBuffer.allocate(8 + fp.length);
+        head.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) fp.length).put(fp);
+        head.flip();
+        ch.position(0);
+        while (head.hasRemaining()) ch.write(head);
+    }
+
+    private static byte[] encode(Map<String, byte[]> classes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(classes.size());
+        for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeInt(e.getValue().length);
+            out.write(e.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, byte[]> decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int count = in.readInt();
+        Map<String, byte[]> classes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            byte[] code = new byte[in.readInt()];
+            in.readFully(code);
+            classes.put(name, code);
+        }
+        return classes;
+    }
+
+    /**
+     * 编译器指纹：发布版用版本号；开发版（"dev"）再加上编译器类所在位置的修改时间，
+     * 避免重新构建后复用旧字节码。
+     */
+    private static String compilerFingerprint() {
+        StringBuilder sb = new StringBuilder(Nova.VERSION);
+        try {
+            URL location = com.novalang.ir.NovaIrCompiler.class.getProtectionDomain().getCodeSource().getLocation();
+            File source = new File(location.toURI());
+            if ("dev".equals(Nova.VERSION)) {
+                File marker = source.isDirectory()
+                        ? new File(source, com.novalang.ir.NovaIrCompiler.class.getName().replace('.', '/') + ".class")
+                        : source;
+                sb.append('@').append(marker.lastModified());
+            }
+        } catch (Exception ignored) {
+            // 无法定位时只用版本号
+        }
+        return sb.toString();
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -69,15 +69,33 @@ public final class HostBindingInstaller {
         }
 
         int arity = function.isVararg() ? -1 : function.getParameters().size();
+        HostFunctionInvoker invoker = function.getInvoker();
         NovaNativeFunction nativeFunction = new NovaNativeFunction(function.getName(), arity, (ctx, args) -> {
             try {
-                Object[] javaArgs = new Object[args.size()];
-                for (int i = 0; i < args.size(); i++) {
-                    NovaValue arg = args.get(i);
-                    javaArgs[i] = arg != null ? arg.toJavaValue() : null;
+                Object result;
+                // 固定参数按元数直接调用，不构造参数数组
+                if (args.size() == arity && arity <= 3) {
+                    switch (arity) {
+                        case 0:
+                            result = invoker.invoke0();
+                            break;
+                        case 1:
+                            result = invoker.invoke1(toJava(args.get(0)));
+                            break;
+                        case 2:
+                            result = invoker.invoke2(toJava(args.get(0)), toJava(args.get(1)));
+                            break;
+                        default:
+                            result = invoker.invoke3(toJava(args.get(0)), toJava(args.get(1)), toJava(args.get(2)));
+                            break;
+                    }
+                } else {
+                    Object[] javaArgs = new Object[args.size()];
+                    for (int i = 0; i < args.size(); i++) {
+                        javaArgs[i] = toJava(args.get(i));
+                    }
+                    result = invoker.invoke(javaArgs);
                 }
-
-                Object result = function.getInvoker().invoke(javaArgs);
                 return result == null ? NovaNull.UNIT : AbstractNovaValue.fromJava(result);
             } catch (Exception e) {
                 throw NovaErrors.wrap("调用宿主函数 '" + function.getName() + "' 失败", e);
@@ -87,6 +105,10 @@ public final class HostBindingInstaller {
         nova.defineVal(function.getName(), nativeFunction);
     }
 
+    private static Object toJava(NovaValue arg) {
+        return arg != null ? arg.toJavaValue() : null;
+    }
+
     private static Object resolveRuntimeValue(Object value, java.util.function.Supplier<?> supplier, String name) {
         if (supplier != null) {
             return supplier.get();
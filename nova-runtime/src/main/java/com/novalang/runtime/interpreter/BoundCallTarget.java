@@ -0,0 +1,76 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.runtime.AbstractNovaValue;
+import com.novalang.runtime.BoundFunction;
+import com.novalang.runtime.NovaCallable;
+import com.novalang.runtime.NovaNull;
+import com.novalang.runtime.NovaValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * 解释模式的预绑定调用目标（{@code Nova.bind} 使用）。
+ *
+ * <p>callable 在绑定时解析；MirCallable 走按元数特化的 call0 ~ call3 直接进入帧，
+ * 其他 callable 与 Nova.call 相同走 call(ctx, args)。外部线程调用时使用与 SAM 回调相同的子 Interpreter。</p>
+ */
+final class BoundCallTarget implements BoundFunction.Target {
+
+    private final Interpreter interpreter;
+    private final NovaCallable callable;
+    private final MirCallable mir;
+    private final int arity;
+
+    BoundCallTarget(Interpreter interpreter, NovaCallable callable, int arity) {
+        this.interpreter = interpreter;
+        this.callable = callable;
+        this.mir = callable instanceof MirCallable ? (MirCallable) callable : null;
+        this.arity = arity;
+    }
+
+    @Override
+    public Object invoke(Object a0, Object a1, Object a2, Object a3,
+                         Object a4, Object a5, Object a6, Object a7) {
+        Interpreter ctx = interpreter.samContext();
+        NovaValue result;
+        switch (arity) {
+            case 0:
+                result = mir != null ? mir.call0(ctx) : callable.call(ctx, Collections.<NovaValue>emptyList());
+                break;
+            case 1: {
+                NovaValue v0 = AbstractNovaValue.fromJava(a0);
+                result = mir != null ? mir.call1(ctx, v0) : callable.call(ctx, Collections.singletonList(v0));
+                break;
+            }
+            case 2: {
+                NovaValue v0 = AbstractNovaValue.fromJava(a0);
+                NovaValue v1 = AbstractNovaValue.fromJava(a1);
+                result = mir != null ? mir.call2(ctx, v0, v1) : callable.call(ctx, Arrays.asList(v0, v1));
+                break;
+            }
+            case 3: {
+                NovaValue v0 = AbstractNovaValue.fromJava(a0);
+                NovaValue v1 = AbstractNovaValue.fromJava(a1);
+                NovaValue v2 = AbstractNovaValue.fromJava(a2);
+                result = mir != null ? mir.call3(ctx, v0, v1, v2) : callable.call(ctx, Arrays.asList(v0, v1, v2));
+                break;
+            }
+            default: {
+                Object[] raw = {a0, a1, a2, a3, a4, a5, a6, a7};
+                NovaValue[] args = new NovaValue[arity];
+                for (int i = 0; i < arity; i++) {
+                    args[i] = AbstractNovaValue.fromJava(raw[i]);
+                }
+                result = callable.call(ctx, Arrays.asList(args));
+                break;
+            }
+        }
+        return result == NovaNull.UNIT ? null : result.toJavaValue();
+    }
+
+    @Override
+    public String toString() {
+        return callable.toString();
+    }
+}
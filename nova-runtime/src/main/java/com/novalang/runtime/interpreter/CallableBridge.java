@@ -16,7 +16,8 @@ import java.util.Map;
  * 解决 StdlibRegistry Java 互操作层中 NovaCallable 的身份丢失问题：
  * 当 lambda 作为参数传递给 List.add 等方法时，经过 NovaListView → fromJava 能保持可调用性。
  */
-class CallableBridge extends AbstractNovaValue implements Function1<Object, Object>, com.novalang.runtime.NovaCallable {
+class CallableBridge extends AbstractNovaValue implements Function1<Object, Object>, com.novalang.runtime.NovaCallable,
+        ThreadConfined {
 
     final com.novalang.runtime.NovaCallable original;
     final Interpreter interp;
@@ -33,6 +34,17 @@ class CallableBridge extends AbstractNovaValue implements Function1<Object, Obje
         return CallableBridge.toJava(result);
     }
 
+    // ---- ThreadConfined (供并行集合操作为每个 worker 绑定子解释器) ----
+
+    @Override
+    public Object forWorker(ExecutionContext workerContext) {
+        return new CallableBridge(original, workerInterpreter(interp, workerContext));
+    }
+
+    static Interpreter workerInterpreter(Interpreter interp, ExecutionContext workerContext) {
+        return workerContext instanceof Interpreter ? (Interpreter) workerContext : (Interpreter) interp.createChild();
+    }
+
     // ---- NovaCallable (供 HirEvaluator 直接调用) ----
 
     @Override
@@ -79,10 +91,16 @@ class CallableBridge extends AbstractNovaValue implements Function1<Object, Obje
         Implicit(com.novalang.runtime.NovaCallable original, Interpreter interp) {
             super(original, interp);
         }
+
+        @Override
+        public Object forWorker(ExecutionContext workerContext) {
+            return new Implicit(original, workerInterpreter(interp, workerContext));
+        }
     }
 
     /** arity-2 桥接（实现 Function2 而非 Function1，因为 andThen 签名冲突不能同时实现） */
-    static final class Arity2 extends AbstractNovaValue implements Function2<Object, Object, Object>, com.novalang.runtime.NovaCallable {
+    static final class Arity2 extends AbstractNovaValue implements Function2<Object, Object, Object>, com.novalang.runtime.NovaCallable,
+            ThreadConfined {
         final com.novalang.runtime.NovaCallable original;
         private final Interpreter interp;
 
@@ -99,6 +117,11 @@ class CallableBridge extends AbstractNovaValue implements Function1<Object, Obje
             return CallableBridge.toJava(original.call(interp, args));
         }
 
+        @Override
+        public Object forWorker(ExecutionContext workerContext) {
+            return new Arity2(original, workerInterpreter(interp, workerContext));
+        }
+
         @Override public String getName() { return original.getName(); }
         @Override public int getArity() { return original.getArity(); }
         @Override public NovaValue call(ExecutionContext ctx, List<NovaValue> args) {
@@ -21,6 +21,22 @@ final class ExtensionRegistry {
     /** Nova 扩展属性注册表（Nova 类型名 -> 属性名 -> getter 表达式） */
     private final Map<String, Map<String, ExtensionProperty>> novaExtensionProperties = new HashMap<>();
 
+    ExtensionRegistry() {
+    }
+
+    /** 复制构造（Interpreter.fork 使用）：外层与内层 Map 独立，注册项按引用共享 */
+    ExtensionRegistry(ExtensionRegistry source) {
+        for (Map.Entry<Class<?>, Map<String, NovaCallable>> e : source.extensionMethods.entrySet()) {
+            extensionMethods.put(e.getKey(), new HashMap<>(e.getValue()));
+        }
+        for (Map.Entry<String, Map<String, NovaCallable>> e : source.novaExtensions.entrySet()) {
+            novaExtensions.put(e.getKey(), new HashMap<>(e.getValue()));
+        }
+        for (Map.Entry<String, Map<String, ExtensionProperty>> e : source.novaExtensionProperties.entrySet()) {
+            novaExtensionProperties.put(e.getKey(), new HashMap<>(e.getValue()));
+        }
+    }
+
     /** HIR 扩展属性：类型名 → { 属性名 → (Expression getter, Environment closure) } */
 
     // ============ 扩展方法 ============
@@ -66,6 +66,12 @@ public class Interpreter implements ExecutionContext {
     final NovaSecurityPolicy securityPolicy;
     /** 安全策略是否有循环/超时限制（快速路径标志，避免虚方法调用） */
     final boolean hasSecurityLimits;
+    /** 是否按函数调用计费（调用次数上限或超时） */
+    final boolean hasCallLimits;
+    /** 是否按对象/数组/集合创建计费 */
+    final boolean hasAllocationLimits;
+    /** 分层执行（热点纯函数晋升为字节码），null 表示关闭 */
+    TieredCompiler tieredCompiler;
 
     /** 当前调用深度（递归检查用） */
     protected int callDepth = 0;
@@ -87,11 +93,8 @@ public class Interpreter implements ExecutionContext {
     /** 外部线程的子 Interpreter 缓存（每个线程一个，避免与主线程共享可变状态） */
     private final ThreadLocal<Interpreter> threadLocalChild = new ThreadLocal<>();
 
-    /** 总循环迭代计数（循环限制用） */
-    protected long totalLoopIterations = 0;
-
-    /** 执行起始时间纳秒（超时检查用） */
-    protected long executionStartNanos = 0;
+    /** 当前执行的资源预算（每次执行入口重建；子解释器使用独立计数） */
+    private ExecutionBudget budget;
 
     /** 兼容 Java 19 以下（getId）和 Java 19+（threadId）的线程 ID 获取 */
     @SuppressWarnings("deprecation")
@@ -166,6 +169,8 @@ public class Interpreter implements ExecutionContext {
     public Interpreter(NovaSecurityPolicy policy) {
         this.securityPolicy = policy;
         this.hasSecurityLimits = policy.getMaxLoopIterations() > 0 || policy.getMaxExecutionTimeMs() > 0;
+        this.hasCallLimits = policy.getMaxCalls() > 0 || policy.getMaxExecutionTimeMs() > 0;
+        this.hasAllocationLimits = policy.getMaxAllocations() > 0;
         this.globals = new Environment();
         this.environment = globals;
         this.extensionRegistry = new ExtensionRegistry();
@@ -194,12 +199,73 @@ public class Interpreter implements ExecutionContext {
         globals.sealBuiltins();
 
         // MIR 编译管线初始化
-        this.mirPipeline = createDefaultPipeline();
+        this.mirPipeline = createDefaultPipeline(securityPolicy);
 
         // 注册 Any 类型扩展函数
         this.extensionRegistry.novaExtensions.put("Any", createAnyMethods());
 
         // 重写 classOf 以支持 HIR 路径
+        installClassOf();
+
+        // Helper 委托对象（放在构造函数末尾，避免 this-escape 警告）
+        this.typeResolver = new TypeResolver(this);
+        this.memberResolver = new MemberResolver(this);
+        this.functionExecutor = new FunctionExecutor(this);
+
+        this.javaInteropHelper = new JavaInteropHelper(this);
+        this.mirInterpreter = new MirInterpreter(this);
+    }
+
+    /**
+     * 复制构造器（供 {@link #fork()} 使用）。
+     * 跳过内置函数/Java 互操作注册；全局绑定表、扩展注册表、已注册的类和函数各复制一份，
+     * 绑定的值按引用共享。执行状态全部独立。
+     */
+    @SuppressWarnings("this-escape")
+    private Interpreter(Interpreter template, Environment forkedGlobals) {
+        this.securityPolicy = template.securityPolicy;
+        this.hasSecurityLimits = template.hasSecurityLimits;
+        this.hasCallLimits = template.hasCallLimits;
+        this.hasAllocationLimits = template.hasAllocationLimits;
+        this.tieredCompiler = template.tieredCompiler;
+        com.novalang.runtime.stdlib.LambdaUtils.setAllowSetAccessible(securityPolicy.isSetAccessibleAllowed());
+        MethodHandleCache.setAllowSetAccessible(securityPolicy.isSetAccessibleAllowed());
+        this.globals = forkedGlobals;
+        this.environment = forkedGlobals;
+        this.replMode = template.replMode;
+        this.extensionRegistry = new ExtensionRegistry(template.extensionRegistry);
+        this.annotationProcessors = new HashMap<String, List<NovaAnnotationProcessor>>();
+        for (Map.Entry<String, List<NovaAnnotationProcessor>> e : template.annotationProcessors.entrySet()) {
+            this.annotationProcessors.put(e.getKey(), new ArrayList<>(e.getValue()));
+        }
+        this.scriptClassLoader = template.scriptClassLoader;
+        this.stdout = template.stdout;
+        this.stderr = template.stderr;
+        this.stdin = template.stdin;
+        this.cliArgs = template.cliArgs;
+        this.scheduler = template.scheduler;
+        if (template.moduleLoader != null) {
+            this.moduleLoader = new ModuleLoader(template.moduleLoader.getBasePath());
+            this.moduleLoader.copyVirtualModulesFrom(template.moduleLoader);
+        }
+        this.hirClassFields.putAll(template.hirClassFields);
+        this.hirClassAnnotations.putAll(template.hirClassAnnotations);
+        this.wildcardJavaImports.addAll(template.wildcardJavaImports);
+        this.mirPipeline = createDefaultPipeline(securityPolicy);
+
+        // classOf 闭包引用所属解释器的 HIR 元数据，需绑定到新实例
+        installClassOf();
+
+        this.typeResolver = new TypeResolver(this, template.typeResolver);
+        this.memberResolver = new MemberResolver(this);
+        this.functionExecutor = new FunctionExecutor(this);
+
+        this.javaInteropHelper = new JavaInteropHelper(this);
+        this.mirInterpreter = new MirInterpreter(this, template.mirInterpreter);
+        this.mirInterpreter.detachModuleStaticFields();
+    }
+
+    private void installClassOf() {
         environment.redefine("classOf", new NovaNativeFunction("classOf", 1, (interp, args) -> {
             NovaValue arg = args.get(0);
             if (arg instanceof NovaClass) return buildHirClassInfo((NovaClass) arg);
@@ -212,14 +278,16 @@ public class Interpreter implements ExecutionContext {
             }
             throw new NovaRuntimeException(NovaException.ErrorKind.TYPE_MISMATCH, "classOf() 需要类或对象参数", null);
         }), false);
+    }
 
-        // Helper 委托对象（放在构造函数末尾，避免 this-escape 警告）
-        this.typeResolver = new TypeResolver(this);
-        this.memberResolver = new MemberResolver(this);
-        this.functionExecutor = new FunctionExecutor(this);
-
-        this.javaInteropHelper = new JavaInteropHelper(this);
-        this.mirInterpreter = new MirInterpreter(this);
+    /**
+     * 基于当前解释器复制一个独立实例，省去内置函数注册、Java 互操作注册和管线构建的开销。
+     *
+     * <p>新实例与当前实例的全局定义、扩展函数、类和函数在复制时刻一致，之后各自的定义互不可见；
+     * 绑定的值对象（如 List、Map、NovaLibrary）按引用共享。复制期间不能有其他线程修改当前实例。</p>
+     */
+    public Interpreter fork() {
+        return new Interpreter(this, globals.copy());
     }
 
     /**
@@ -228,8 +296,17 @@ public class Interpreter implements ExecutionContext {
      * 拥有独立的可变执行状态（environment、callDepth 等）。
      */
     Interpreter(Interpreter parent) {
+        this(parent, parent.budget != null ? parent.budget.forChild() : null);
+    }
+
+    /** 子 Interpreter 构造器：使用指定的执行预算（并行区 worker 从父预算的共享额度计费） */
+    Interpreter(Interpreter parent, ExecutionBudget budget) {
         this.securityPolicy = parent.securityPolicy;
         this.hasSecurityLimits = parent.hasSecurityLimits;
+        this.hasCallLimits = parent.hasCallLimits;
+        this.hasAllocationLimits = parent.hasAllocationLimits;
+        this.tieredCompiler = parent.tieredCompiler;
+        this.budget = budget;
         // 子线程的 ThreadLocal 需独立初始化
         com.novalang.runtime.stdlib.LambdaUtils.setAllowSetAccessible(securityPolicy.isSetAccessibleAllowed());
         MethodHandleCache.setAllowSetAccessible(securityPolicy.isSetAccessibleAllowed());
@@ -241,7 +318,7 @@ public class Interpreter implements ExecutionContext {
         this.stderr = parent.stderr;
         this.stdin = parent.stdin;
         // MIR 管线：子解释器创建独立实例，避免与父线程共享可变状态
-        this.mirPipeline = createDefaultPipeline();
+        this.mirPipeline = createDefaultPipeline(securityPolicy);
         this.hirClassFields.putAll(parent.hirClassFields);
         this.scheduler = parent.scheduler;
 
@@ -341,6 +418,7 @@ public class Interpreter implements ExecutionContext {
             mirPipeline.setScriptMode(true);
             MirModule mir = mirPipeline.executeToMir(program);
             mirInterpreter.resetState();
+            mirInterpreter.setModuleSource(actualSource, fileName);
             mirInterpreter.executeModule(mir);
             return NovaNull.UNIT;
         });
@@ -359,17 +437,29 @@ public class Interpreter implements ExecutionContext {
      * 使用独立的子 Interpreter 避免与主线程竞争可变状态。
      */
     public NovaValue executeSamCallback(NovaCallable callable, List<NovaValue> args) {
+        return callable.call(samContext(), args);
+    }
+
+    /**
+     * SAM 回调的执行上下文：主线程为自身，外部线程为 ThreadLocal 缓存的子 Interpreter。
+     */
+    Interpreter samContext() {
         if (getThreadId(Thread.currentThread()) != ownerThreadId) {
-            // 外部线程：使用 ThreadLocal 缓存的子 Interpreter
             Interpreter child = threadLocalChild.get();
             if (child == null) {
                 child = new Interpreter(this);
                 threadLocalChild.set(child);
             }
-            return callable.call(child, args);
+            return child;
         }
-        // 主线程：直接执行
-        return callable.call(this, args);
+        return this;
+    }
+
+    /**
+     * 宿主预绑定调用目标（Nova.bind 使用）：按元数直接调用 callable，不经过名称查找和参数数组。
+     */
+    public com.novalang.runtime.BoundFunction.Target bindTarget(NovaCallable callable, int arity) {
+        return new BoundCallTarget(this, callable, arity);
     }
 
     /**
@@ -379,6 +469,26 @@ public class Interpreter implements ExecutionContext {
         return securityPolicy;
     }
 
+    /**
+     * 开启分层执行：顶层纯计算函数的调用次数（或循环回边数的 1/10）达到阈值（默认 1000）后，
+     * 在后台编译为 JVM 字节码，之后的调用直接执行编译版本。对之后准备的模块生效。
+     * 安全策略设置了循环、调用、分配或时间上限时不开启，返回 false。
+     */
+    public boolean enableTieredCompilation() {
+        return enableTieredCompilation(TieredCompiler.DEFAULT_THRESHOLD);
+    }
+
+    /** 以指定阈值开启分层执行，见 {@link #enableTieredCompilation()} */
+    public boolean enableTieredCompilation(int threshold) {
+        if (hasSecurityLimits || hasCallLimits || hasAllocationLimits) return false;
+        this.tieredCompiler = new TieredCompiler(threshold);
+        return true;
+    }
+
+    TieredCompiler getTieredCompiler() {
+        return tieredCompiler;
+    }
+
     /**
      * 批量注册带有 @NovaFunc 注解的 public static 方法到全局环境。
      */
@@ -576,6 +686,58 @@ public class Interpreter implements ExecutionContext {
         }
     }
 
+    /**
+     * 执行可复用的预编译程序（解释器模式 CompiledNova 使用）。
+     * 降级与模块准备结果缓存在 {@link PreparedProgram} 中，仅在失效时重建。
+     */
+    public NovaValue eval(PreparedProgram program) {
+        resetExecutionState();
+        try {
+            Set<String> classNames = mirInterpreter.getKnownClassNames();
+            Set<String> interfaceNames = mirInterpreter.getKnownInterfaceNames();
+            if (!program.isLoweringValid(this, classNames.size(), interfaceNames.size())) {
+                String actualSource = expandVirtualImports(program.source, program.fileName);
+                mirPipeline.setScriptMode(true);
+                mirPipeline.setExternalClassNames(classNames);
+                mirPipeline.setExternalInterfaceNames(interfaceNames);
+                program.recordLowering(this, mirPipeline.executeToMir(program.program), actualSource);
+            }
+            this.currentSource = program.expandedSource;
+            this.currentFileName = program.fileName;
+            this.sourceLines = null;
+            MirModule mir = program.mir;
+
+            processFileAnnotations(mir);
+
+            NovaRuntime.setCurrentContext(this);
+            if (scriptClassLoader != null) {
+                JavaInterop.setScriptClassLoader(scriptClassLoader);
+            }
+            try {
+                if (program.canReusePreparation(environment, mirInterpreter.getStateEpoch())) {
+                    mirInterpreter.resetExecutionState();
+                } else {
+                    mirInterpreter.resetState();
+                    mirInterpreter.setModuleSource(program.expandedSource, program.fileName);
+                    MirInterpreter.PreparedModule prepared = mirInterpreter.prepareModule(mir);
+                    program.recordPreparation(prepared, environment, mirInterpreter.getStateEpoch(),
+                            classNames.size(), interfaceNames.size());
+                }
+                return mirInterpreter.executePreparedModule(program.prepared);
+            } finally {
+                JavaInterop.setScriptClassLoader(null);
+                NovaRuntime.clearCurrentContext();
+            }
+        } catch (NovaRuntimeException | ParseException e) {
+            throw e;
+        } catch (Exception e) {
+            NovaRuntimeException wrapped = new NovaRuntimeException(
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+            wrapped.initCause(e);
+            throw wrapped;
+        }
+    }
+
     /**
      * REPL 模式执行（MIR 管线）
      */
@@ -644,15 +806,19 @@ public class Interpreter implements ExecutionContext {
     }
 
     private void resetExecutionState() {
-        this.executionStartNanos = System.nanoTime();
-        this.totalLoopIterations = 0;
         this.callDepth = 0;
         this.callStack.clear();
-        // 设置编译模式安全策略上下文
-        NovaSecurityPolicy.setCurrent(securityPolicy);
-        if (securityPolicy.getLevel() != NovaSecurityPolicy.Level.UNRESTRICTED) {
-            securityPolicy.resetCounters();
+        // 新的执行预算，同时绑定到当前线程供编译模式代码使用
+        this.budget = ExecutionBudget.begin(securityPolicy);
+    }
+
+    /** 当前执行的资源预算（尚未开始执行时按策略惰性创建） */
+    ExecutionBudget budget() {
+        ExecutionBudget b = budget;
+        if (b == null) {
+            b = budget = new ExecutionBudget(securityPolicy);
         }
+        return b;
     }
 
     /** 创建 Any 类型扩展方法（toString/hashCode/equals + 作用域函数） */
@@ -720,13 +886,18 @@ public class Interpreter implements ExecutionContext {
         return a.equals(b) || b.equals(a);
     }
 
-    /** 创建默认 MIR 优化管线（主构造器和子构造器共用） */
-    private static PassPipeline createDefaultPipeline() {
+    /** 创建默认 MIR 优化管线（主构造器和子构造器共用）；限制调用次数时关闭内联，保证按真实调用计数 */
+    private static PassPipeline createDefaultPipeline(NovaSecurityPolicy policy) {
         PassPipeline p = new PassPipeline();
+        p.setResourceBudgetChecks(policy.getMaxCalls() > 0 || policy.getMaxAllocations() > 0);
         p.addHirPass(new HirInlineExpansion());
         p.addHirPass(new HirConstantFolding());
         p.addHirPass(new HirDeadCodeElimination());
         p.addMirPass(new DeadBlockElimination());
+        p.addMirPass(new MirInlining());
+        p.addMirPass(new EscapeAnalysis());
+        p.addMirPass(new SparseConditionalConstantPropagation());
+        p.addMirPass(new GlobalValueNumbering());
         p.addMirPass(new LoopInvariantCodeMotion());
         p.addMirPass(new LoopDeadStoreElimination());
         p.addMirPass(new TailCallElimination());
@@ -735,6 +906,8 @@ public class Interpreter implements ExecutionContext {
         p.addMirPass(new MirPeepholeOptimization());
         p.addMirPass(new BlockMerging());
         p.addMirPass(new DeadBlockElimination());
+        p.addMirPass(new BoundsCheckElimination());
+        p.addMirPass(new SwitchSpecialization());
         p.setEnableSemanticAnalysis(true);
         p.setStrictSemanticMode(true);
         p.setInterpreterMode(true);
@@ -755,6 +928,7 @@ public class Interpreter implements ExecutionContext {
         processFileAnnotations(mir);
 
         mirInterpreter.resetState();
+        mirInterpreter.setModuleSource(currentSource, currentFileName);
         NovaRuntime.setCurrentContext(this);
         if (scriptClassLoader != null) {
             JavaInterop.setScriptClassLoader(scriptClassLoader);
@@ -886,6 +1060,11 @@ public class Interpreter implements ExecutionContext {
         return new Interpreter(this);
     }
 
+    @Override
+    public ExecutionContext createChild(ExecutionBudget budget) {
+        return new Interpreter(this, budget);
+    }
+
     /** ExecutionContext 接口方法：执行绑定方法 */
     @Override
     public NovaValue executeBoundMethod(NovaValue boundMethod, List<NovaValue> args,
@@ -911,22 +1090,7 @@ public class Interpreter implements ExecutionContext {
 
     /** 检查循环/超时安全限制 */
     protected void checkLoopLimits() {
-        long maxIter = securityPolicy.getMaxLoopIterations();
-        if (maxIter > 0) {
-            totalLoopIterations++;
-            if (totalLoopIterations > maxIter) {
-                throw NovaSecurityPolicy.denied(
-                        "Maximum loop iterations exceeded (" + maxIter + ")");
-            }
-        }
-        long maxMs = securityPolicy.getMaxExecutionTimeMs();
-        if (maxMs > 0 && executionStartNanos > 0) {
-            long elapsedMs = (System.nanoTime() - executionStartNanos) / 1_000_000;
-            if (elapsedMs > maxMs) {
-                throw NovaSecurityPolicy.denied(
-                        "Execution timeout exceeded (" + maxMs + "ms)");
-            }
-        }
+        budget().tickLoop();
     }
 
 
@@ -1132,6 +1296,19 @@ public class Interpreter implements ExecutionContext {
         return null;
     }
 
+    /**
+     * 获取 {@code @memoized} 函数的缓存统计。函数不存在、未标注或尚未调用过时返回 null。
+     */
+    public com.novalang.runtime.interpreter.cache.CacheStats getMemoStats(String functionName) {
+        NovaValue func = environment.tryGet(functionName);
+        if (!(func instanceof MirCallable)) return null;
+        com.novalang.ir.mir.MirFunction mirFunc = ((MirCallable) func).getFunction();
+        if (!mirFunc.isMemoized()) return null;
+        com.novalang.ir.mir.MirFunction.MemoStore store = mirFunc.getMemoStore();
+        return store instanceof com.novalang.runtime.interpreter.cache.MemoCache
+                ? ((com.novalang.runtime.interpreter.cache.MemoCache) store).getStats() : null;
+    }
+
     @Override
     public java.util.concurrent.Executor getAsyncExecutor() {
         NovaScheduler sched = getScheduler();
@@ -169,29 +169,4 @@ final class JavaInteropHelper {
         }
         return novaArgs;
     }
-
-    /**
-     * 创建 SAM（Single Abstract Method）代理：将 NovaCallable 包装为 Java 函数式接口实例。
-     */
-    static Object createSamProxy(Class<?> interfaceClass, NovaCallable callable, Interpreter interp) {
-        return java.lang.reflect.Proxy.newProxyInstance(
-                interfaceClass.getClassLoader(),
-                new Class<?>[] { interfaceClass },
-                (proxy, method, args) -> {
-                    if (method.getDeclaringClass() == Object.class) {
-                        if ("toString".equals(method.getName())) return callable.toString();
-                        if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
-                        if ("equals".equals(method.getName())) return proxy == args[0];
-                        return method.invoke(callable, args);
-                    }
-                    List<NovaValue> novaArgs = new ArrayList<>();
-                    if (args != null) {
-                        for (Object arg : args) novaArgs.add(AbstractNovaValue.fromJava(arg));
-                    }
-                    NovaValue result = interp.executeSamCallback(callable, novaArgs);
-                    Class<?> returnType = method.getReturnType();
-                    if (returnType == void.class || returnType == Void.class) return null;
-                    return result != null ? result.toJavaValue() : null;
-                });
-    }
 }
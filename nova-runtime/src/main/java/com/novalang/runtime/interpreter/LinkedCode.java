@@ -0,0 +1,343 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+
+import java.util.Arrays;
+
+/**
+ * MirFunction 的链接形式：所有块展平为一条 int[] 代码流。
+ *
+ * <p>每条记录以操作码开头，操作数内联其后；分支目标在链接时解析为代码偏移（同时携带块 ID，
+ * 供回边检测与异常表查找）。long/double 常量放在旁路常量池 {@link #wide}；需要对象形式的
+ * 指令（调用、字段访问等）以序号引用并行数组 {@link #insts}，其 {@code cache} 槽位在链接时
+ * 已预解析为 {@link MirCallSite}，执行时不再做字符串切分。</p>
+ *
+ * <pre>
+ * CONST_INT    dest value
+ * CONST_LONG   dest k            wide[k]
+ * CONST_DOUBLE dest k            wide[k] = doubleToRawLongBits
+ * CONST_NULL   dest
+ * MOVE         dest src
+ * BINARY       dest left right kind site    kind 见 B_*
+ * INDEX_GET    site
+ * INDEX_SET    site
+ * INVOKE_STATIC  site
+ * INVOKE_VIRTUAL site
+ * INST         site              其余指令，走 executeInst
+ * GOTO         pc id
+ * BRANCH       cond thenPc thenId elsePc elseId
+ * BRANCH_CMP   cmpOp left right thenPc thenId elsePc elseId
+ * GET_FIELD    site
+ * RETURN       local             -1 表示返回 Unit
+ * TAIL_CALL    pc id
+ * TERM         termIndex         Switch / Throw / Unreachable
+ * LOOP_PLAN    planIndex         循环头整体替换为 {@link StringAccumLoopPlan}，执行后直接返回
+ * </pre>
+ *
+ * <p>BINARY / GET_FIELD / INVOKE_VIRTUAL 是可特化的通用记录：执行计数（{@link #heat}）达到阈值后
+ * 由 {@link Quickening} 把操作码就地改写为同长度的 {@code Q_*} 特化形式，类型不符时再改回通用形式。</p>
+ */
+final class LinkedCode {
+
+    static final int CONST_INT = 0;
+    static final int CONST_LONG = 1;
+    static final int CONST_DOUBLE = 2;
+    static final int CONST_NULL = 3;
+    static final int MOVE = 4;
+    static final int BINARY = 5;
+    static final int INDEX_GET = 6;
+    static final int INDEX_SET = 7;
+    static final int INVOKE_STATIC = 8;
+    static final int INVOKE_VIRTUAL = 9;
+    static final int INST = 10;
+    static final int GOTO = 11;
+    static final int BRANCH = 12;
+    static final int BRANCH_CMP = 13;
+    static final int RETURN = 14;
+    static final int TAIL_CALL = 15;
+    static final int TERM = 16;
+    static final int GET_FIELD = 17;
+    static final int LOOP_PLAN = 18;
+
+    // ===== 特化（quickened）形式：记录布局与对应的通用形式相同 =====
+    /** BINARY Int + Int */
+    static final int Q_ADD_II = 19;
+    /** BINARY Int - Int */
+    static final int Q_SUB_II = 20;
+    /** BINARY Int * Int */
+    static final int Q_MUL_II = 21;
+    /** BINARY Int 比较（kind 为 B_LT..B_NE） */
+    static final int Q_CMP_II = 22;
+    /** BINARY Double × Double（kind 为 B_OTHER 以外） */
+    static final int Q_BINARY_DD = 23;
+    /** GET_FIELD 单态槽位读取（同一 NovaClass 的字段下标） */
+    static final int Q_GET_FIELD_SLOT = 24;
+    /** INVOKE_VIRTUAL 单态直接调用（同一 NovaClass 的 MirCallable 方法） */
+    static final int Q_INVOKE_MONO = 25;
+    /** 超级指令：相邻两条 Q_ADD_II */
+    static final int Q_ADD_II_ADD_II = 26;
+    /** 超级指令：Q_ADD_II 后接块末 GOTO（循环计数器递增 + 回跳） */
+    static final int Q_ADD_II_GOTO = 27;
+
+    // BINARY 记录中内联的运算种类（Int×Int 快速路径直接按 int 分派），其余为 B_OTHER
+    static final int B_ADD = 0;
+    static final int B_SUB = 1;
+    static final int B_MUL = 2;
+    static final int B_LT = 3;
+    static final int B_LE = 4;
+    static final int B_GT = 5;
+    static final int B_GE = 6;
+    static final int B_EQ = 7;
+    static final int B_NE = 8;
+    static final int B_OTHER = 9;
+
+    private static final BinaryOp[] BINARY_OPS = BinaryOp.values();
+
+    /** 代码流 */
+    final int[] code;
+    /** long / double 常量池 */
+    final long[] wide;
+    /** 指令对象（按代码顺序），与 {@link #instPcs} 平行 */
+    final MirInst[] insts;
+    /** 每条指令记录的起始偏移（升序），用于异常时反查源码位置 */
+    final int[] instPcs;
+    /** 非直接编码的终结指令 */
+    final MirTerminator[] terms;
+    /** blockId → 块起始偏移，-1 表示不存在 */
+    final int[] blockPcs;
+    /** LOOP_PLAN 引用的循环计划 */
+    final StringAccumLoopPlan[] loopPlans;
+    /** 每条指令的通用形式执行计数（按指令序号） */
+    final int[] heat;
+    /** 每条指令的去特化次数（按指令序号） */
+    final byte[] deopts;
+
+    private LinkedCode(int[] code, long[] wide, MirInst[] insts, int[] instPcs,
+                       MirTerminator[] terms, int[] blockPcs, StringAccumLoopPlan[] loopPlans) {
+        this.code = code;
+        this.wide = wide;
+        this.insts = insts;
+        this.instPcs = instPcs;
+        this.terms = terms;
+        this.blockPcs = blockPcs;
+        this.loopPlans = loopPlans;
+        this.heat = new int[insts.length];
+        this.deopts = new byte[insts.length];
+    }
+
+    static BinaryOp binaryOp(int ordinal) {
+        return BINARY_OPS[ordinal];
+    }
+
+    private static int binaryKind(BinaryOp op) {
+        switch (op) {
+            case ADD: return B_ADD;
+            case SUB: return B_SUB;
+            case MUL: return B_MUL;
+            case LT: return B_LT;
+            case LE: return B_LE;
+            case GT: return B_GT;
+            case GE: return B_GE;
+            case EQ: return B_EQ;
+            case NE: return B_NE;
+            default: return B_OTHER;
+        }
+    }
+
+    /** 起始于该偏移的指令记录对应的 MirInst，终结指令或非记录起点返回 null */
+    MirInst instAt(int pc) {
+        int i = Arrays.binarySearch(instPcs, pc);
+        return i >= 0 ? insts[i] : null;
+    }
+
+    /** 起始于该偏移的指令记录的序号，非记录起点返回 -1 */
+    int siteAt(int pc) {
+        int i = Arrays.binarySearch(instPcs, pc);
+        return i >= 0 ? i : -1;
+    }
+
+    /** 取得（必要时构建并挂载）函数的链接形式 */
+    static LinkedCode of(MirFunction function) {
+        Object cached = function.getLinkedCode();
+        if (cached instanceof LinkedCode) return (LinkedCode) cached;
+        LinkedCode linked = link(function);
+        function.setLinkedCode(linked);
+        return linked;
+    }
+
+    static LinkedCode link(MirFunction function) {
+        BasicBlock[] blockArr = function.getBlockArr();
+        int instCount = 0;
+        int termCount = 0;
+        for (BasicBlock b : blockArr) {
+            if (b == null) continue;
+            instCount += b.getInstArray().length;
+            termCount++;
+        }
+        Builder out = new Builder(instCount * 4 + termCount * 8);
+        MirInst[] insts = new MirInst[instCount];
+        int[] instPcs = new int[instCount];
+        MirTerminator[] terms = new MirTerminator[termCount];
+        int[] blockPcs = new int[blockArr.length];
+        Arrays.fill(blockPcs, -1);
+        long[] wide = new long[8];
+        int wideCount = 0;
+        int instIndex = 0;
+        int termIndex = 0;
+        // 跳转目标在所有块布局完成后回填：记录 (代码位置, 目标块 ID)
+        int[] fixups = new int[16];
+        int fixupCount = 0;
+        StringAccumLoopPlan loopPlan = StringAccumLoopPlan.detect(function);
+        int loopHeader = loopPlan != null ? loopPlan.headerBlockId : -1;
+
+        for (BasicBlock block : blockArr) {
+            if (block == null) continue;
+            blockPcs[block.getId()] = out.size;
+            if (block.getId() == loopHeader) {
+                out.add(LOOP_PLAN, 0);
+            }
+            for (MirInst inst : block.getInstArray()) {
+                int site = instIndex++;
+                insts[site] = inst;
+                instPcs[site] = out.size;
+                int dest = inst.getDest();
+                switch (inst.getOp()) {
+                    case CONST_INT:
+                        out.add(CONST_INT, dest, inst.extraInt);
+                        break;
+                    case CONST_LONG:
+                    case CONST_DOUBLE: {
+                        boolean isLong = inst.getOp() == MirOp.CONST_LONG;
+                        Number n = (Number) inst.getExtra();
+                        if (wideCount == wide.length) wide = Arrays.copyOf(wide, wideCount * 2);
+                        wide[wideCount] = isLong ? n.longValue() : Double.doubleToRawLongBits(n.doubleValue());
+                        out.add(isLong ? CONST_LONG : CONST_DOUBLE, dest, wideCount++);
+                        break;
+                    }
+                    case CONST_NULL:
+                        out.add(CONST_NULL, dest);
+                        break;
+                    case MOVE:
+                        out.add(MOVE, dest, inst.operand(0));
+                        break;
+                    case BINARY:
+                        out.add(BINARY, dest, inst.operand(0), inst.operand(1));
+                        out.add(binaryKind((BinaryOp) inst.getExtra()), site);
+                        break;
+                    case INDEX_GET:
+                        out.add(INDEX_GET, site);
+                        break;
+                    case INDEX_SET:
+                        out.add(INDEX_SET, site);
+                        break;
+                    case GET_FIELD:
+                        out.add(GET_FIELD, site);
+                        break;
+                    case INVOKE_STATIC:
+                        if (inst.specialKind == MirInst.SK_NORMAL && inst.cache == null
+                                && inst.getExtra() instanceof String
+                                && StaticMethodDispatcher.isPlainCallSite((String) inst.getExtra())) {
+                            inst.cache = MirCallSite.parseStatic((String) inst.getExtra());
+                        }
+                        out.add(INVOKE_STATIC, site);
+                        break;
+                    case INVOKE_VIRTUAL:
+                    case INVOKE_INTERFACE:
+                    case INVOKE_SPECIAL:
+                        if (inst.cache == null && inst.getExtra() instanceof String) {
+                            inst.cache = MirCallSite.parseVirtual((String) inst.getExtra());
+                        }
+                        out.add(INVOKE_VIRTUAL, site);
+                        break;
+                    default:
+                        out.add(INST, site);
+                        break;
+                }
+            }
+
+            MirTerminator term = block.getTerminator();
+            if (term == null) {
+                out.add(RETURN, -1);
+                continue;
+            }
+            if (fixupCount + 4 > fixups.length) fixups = Arrays.copyOf(fixups, fixups.length * 2);
+            switch (term.kind) {
+                case MirTerminator.KIND_GOTO: {
+                    int target = ((MirTerminator.Goto) term).getTargetBlockId();
+                    // 穿透：Goto 目标为空指令块 + Branch → 直接内联该 Branch（循环计划头除外）
+                    BasicBlock targetBlock = blockArr[target];
+                    MirTerminator tt = targetBlock.getInstArray().length == 0 && target != loopHeader
+                            ? targetBlock.getTerminator() : null;
+                    if (tt != null && tt.kind == MirTerminator.KIND_BRANCH) {
+                        fixupCount = emitBranch(out, (MirTerminator.Branch) tt, fixups, fixupCount);
+                    } else {
+                        out.add(GOTO);
+                        fixups[fixupCount++] = out.size;
+                        out.add(0, target);
+                    }
+                    break;
+                }
+                case MirTerminator.KIND_BRANCH:
+                    fixupCount = emitBranch(out, (MirTerminator.Branch) term, fixups, fixupCount);
+                    break;
+                case MirTerminator.KIND_RETURN:
+                    out.add(RETURN, ((MirTerminator.Return) term).getValueLocal());
+                    break;
+                case MirTerminator.KIND_TAIL_CALL:
+                    out.add(TAIL_CALL);
+                    fixups[fixupCount++] = out.size;
+                    out.add(0, ((MirTerminator.TailCall) term).getEntryBlockId());
+                    break;
+                default:
+                    terms[termIndex] = term;
+                    out.add(TERM, termIndex++);
+                    break;
+            }
+        }
+
+        int[] code = out.toArray();
+        for (int i = 0; i < fixupCount; i++) {
+            int at = fixups[i];
+            code[at] = blockPcs[code[at + 1]];
+        }
+        return new LinkedCode(code, Arrays.copyOf(wide, wideCount), insts, instPcs,
+                Arrays.copyOf(terms, termIndex), blockPcs,
+                loopPlan != null ? new StringAccumLoopPlan[]{loopPlan} : new StringAccumLoopPlan[0]);
+    }
+
+    private static int emitBranch(Builder out, MirTerminator.Branch br, int[] fixups, int fixupCount) {
+        BinaryOp fused = br.getFusedCmpOp();
+        if (fused != null) {
+            out.add(BRANCH_CMP, fused.ordinal(), br.getFusedLeft(), br.getFusedRight());
+        } else {
+            out.add(BRANCH, br.getCondition());
+        }
+        fixups[fixupCount++] = out.size;
+        out.add(0, br.getThenBlock());
+        fixups[fixupCount++] = out.size;
+        out.add(0, br.getElseBlock());
+        return fixupCount;
+    }
+
+    /** 追加式 int 缓冲 */
+    private static final class Builder {
+        int[] buf;
+        int size;
+
+        Builder(int capacity) {
+            buf = new int[Math.max(capacity, 16)];
+        }
+
+        void add(int... values) {
+            if (size + values.length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + values.length));
+            }
+            System.arraycopy(values, 0, buf, size, values.length);
+            size += values.length;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+}
@@ -550,6 +550,7 @@ final class MemberResolver {
         if (obj instanceof NovaLong) return Long.class;
         if (obj instanceof NovaDouble) return Double.class;
         if (obj instanceof NovaFloat) return Float.class;
+        if (obj instanceof NovaSequence) return NovaSequence.class;
         if (obj instanceof NovaExternalObject) return ((NovaExternalObject) obj).toJavaValue().getClass();
         return null;
     }
@@ -599,10 +600,10 @@ final class MemberResolver {
      */
     private Object toShallowJavaValue(NovaValue receiver) {
         if (receiver instanceof NovaList) {
-            return new NovaListView((NovaList) receiver);
+            return new NovaListView((NovaList) receiver, true);
         }
         if (receiver instanceof NovaMap) {
-            return new NovaMapView((NovaMap) receiver);
+            return new NovaMapView((NovaMap) receiver, true);
         }
         return receiver.toJavaValue();
     }
@@ -620,9 +621,9 @@ final class MemberResolver {
             }
         }
         if (arg instanceof NovaList) {
-            return new NovaListView((NovaList) arg);
+            return new NovaListView((NovaList) arg, true);
         } else if (arg instanceof NovaMap) {
-            return new NovaMapView((NovaMap) arg);
+            return new NovaMapView((NovaMap) arg, true);
         } else if (arg instanceof NovaObject || arg instanceof NovaPair) {
             return arg; // 保持身份，避免 toJavaValue() 有损转换（NovaObject→Map, NovaPair→Object[]）
         } else {
@@ -211,6 +211,45 @@ final class MirCallDispatcher {
         }
     }
 
+    /**
+     * 调用站点的内联缓存是否已解析为单一 NovaClass 上的直接调用（arity ≤ 2 的 MirCallable）。
+     * 供 {@link Quickening} 判断能否改写为 Q_INVOKE_MONO。
+     */
+    boolean isMonomorphic(MirInst inst) {
+        if (!(inst.cache instanceof MirCallSite)) return false;
+        MirCallSite cs = (MirCallSite) inst.cache;
+        return cs.namedInfo == null && cs.cachedClass != null && cs.cachedDirectMethod != null
+                && !cs.scalarizedPlusEligible
+                && (cs.owner == null || !cs.owner.startsWith(MARKER_SUPER));
+    }
+
+    /**
+     * Q_INVOKE_MONO：接收者是缓存类的 NovaObject / ScalarizedNovaObject 时直接调用缓存的方法并返回 true；
+     * 类型不符返回 false（不产生任何副作用），由调用方去特化后走通用路径。
+     */
+    boolean invokeMonomorphic(MirFrame frame, MirInst inst) {
+        MirCallSite cs = (MirCallSite) inst.cache;
+        int[] ops = inst.getOperands();
+        NovaValue receiver = frame.locals[ops[0]];
+        MirCallable method = cs.cachedDirectMethod;
+        NovaClass cls;
+        if (receiver instanceof NovaObject) {
+            cls = ((NovaObject) receiver).getNovaClass();
+        } else if (receiver instanceof ScalarizedNovaObject) {
+            cls = ((ScalarizedNovaObject) receiver).getNovaClass();
+        } else {
+            return false;
+        }
+        if (method == null || cls != cs.cachedClass || cs.scalarizedPlusEligible) {
+            return false;
+        }
+        NovaValue result = bindAndExecuteDirect(receiver, method, frame, ops);
+        if (inst.getDest() >= 0) {
+            frame.locals[inst.getDest()] = result != null ? result : NovaNull.UNIT;
+        }
+        return true;
+    }
+
     // ============ INVOKE_STATIC ============
 
     void executeInvokeStatic(MirFrame frame, MirInst inst) {
@@ -452,6 +491,20 @@ final class MirCallDispatcher {
         return null;
     }
 
+    /**
+     * 惰性序列终端 HOF 快速路径：最后一个参数是 MIR lambda 时帧复用批量执行。
+     *
+     * @return 结果，或 null（非终端操作 / 非 MIR lambda）→ 走 stdlib 桥接
+     */
+    NovaValue tryBatchSequence(NovaSequence seq, String methodName, List<NovaValue> args) {
+        int lambdaIdx = args.size() - 1;
+        if (lambdaIdx < 0) return null;
+        NovaCallable callable = extractCallable(args.get(lambdaIdx));
+        if (!(callable instanceof MirCallable)) return null;
+        NovaValue extra = lambdaIdx > 0 ? args.get(0) : null;
+        return mirInterp.batchExecSequence(seq, methodName, extra, (MirCallable) callable);
+    }
+
     boolean isTruthy(NovaValue value) {
         if (value == null) return false;
         if (value instanceof NovaNull) return !value.isNull();
@@ -22,6 +22,8 @@ import java.util.Map;
  */
 final class MirCallable extends AbstractNovaValue implements com.novalang.runtime.NovaCallable {
 
+    private static final NovaValue[] NO_ARGS = new NovaValue[0];
+
     private final MirInterpreter mirInterp;
     private final MirFunction function;
     private final Map<String, NovaValue> captureFields;
@@ -156,6 +158,84 @@ final class MirCallable extends AbstractNovaValue implements com.novalang.runtim
         return targetMirInterp.executeFunction(function, allArgs);
     }
 
+    /**
+     * 按元数特化的调用（SAM 适配器、宿主预绑定句柄使用）：lambda invoke 以自身为 this 直接进入帧，
+     * 顶层函数按参数个数直接进入帧，均不构造参数列表。
+     */
+    NovaValue call0(Interpreter interpreter) {
+        if (isLambdaInvoke()) return callBoundDirect0(interpreter, this);
+        if (acceptsPlainCall(0)) return callPlain(interpreter, 0, null, null, null);
+        return callDirect(interpreter, new NovaValue[0]);
+    }
+
+    NovaValue call1(Interpreter interpreter, NovaValue a0) {
+        if (isLambdaInvoke()) return callBoundDirect1(interpreter, this, a0);
+        if (acceptsPlainCall(1)) return callPlain(interpreter, 1, a0, null, null);
+        return callDirect(interpreter, new NovaValue[]{a0});
+    }
+
+    NovaValue call2(Interpreter interpreter, NovaValue a0, NovaValue a1) {
+        if (isLambdaInvoke()) return callBoundDirect2(interpreter, this, a0, a1);
+        if (acceptsPlainCall(2)) return callPlain(interpreter, 2, a0, a1, null);
+        return callDirect(interpreter, new NovaValue[]{a0, a1});
+    }
+
+    NovaValue call3(Interpreter interpreter, NovaValue a0, NovaValue a1, NovaValue a2) {
+        if (acceptsPlainCall(3)) return callPlain(interpreter, 3, a0, a1, a2);
+        return call(interpreter, java.util.Arrays.asList(a0, a1, a2));
+    }
+
+    /** 无 this 的普通函数且参数个数与声明一致（无默认参数补齐） */
+    private boolean acceptsPlainCall(int argCount) {
+        if (function.getParams().size() != argCount || function.hasDelegation()) return false;
+        List<MirLocal> locals = function.getLocals();
+        if (!locals.isEmpty() && "this".equals(locals.get(0).getName())) return false;
+        String funcName = function.getName();
+        return !"<init>".equals(funcName) && !"<clinit>".equals(funcName);
+    }
+
+    /** 与 MirInterpreter.fastCall 相同的帧进入方式：调用栈与递归深度记账后按元数进入 executeFunctionN */
+    private NovaValue callPlain(Interpreter interpreter, int argCount, NovaValue a0, NovaValue a1, NovaValue a2) {
+        MirInterpreter targetMirInterp = interpreter.mirInterpreter != null
+                ? interpreter.mirInterpreter : mirInterp;
+        int maxDepth = interpreter.getSecurityPolicy().getMaxRecursionDepth();
+        if (maxDepth > 0 && interpreter.callDepth >= maxDepth) {
+            throw new NovaRuntimeException("Maximum recursion depth exceeded (" + maxDepth + ")");
+        }
+        String funcName = function.getName();
+        interpreter.callStack.push(targetMirInterp.getEmptyMirCallFrame(funcName));
+        interpreter.callDepth++;
+        try {
+            switch (argCount) {
+                case 0:
+                    return targetMirInterp.executeFunction(function, NO_ARGS);
+                case 1:
+                    return targetMirInterp.executeFunction1(function, a0);
+                case 2:
+                    return targetMirInterp.executeFunction2(function, a0, a1);
+                default:
+                    return targetMirInterp.executeFunction3(function, a0, a1, a2);
+            }
+        } catch (NovaRuntimeException e) {
+            if (e.getNovaStackTrace() == null) {
+                interpreter.callStack.pop();
+                List<NovaValue> shown = argCount == 0 ? java.util.Collections.<NovaValue>emptyList()
+                        : java.util.Arrays.asList(a0, a1, a2).subList(0, argCount);
+                interpreter.callStack.push(NovaCallFrame.fromMirCallable(funcName, shown));
+                e.setNovaStackTrace(interpreter.captureStackTraceString());
+            }
+            throw e;
+        } finally {
+            interpreter.callDepth--;
+            interpreter.callStack.pop();
+        }
+    }
+
+    private boolean isLambdaInvoke() {
+        List<MirLocal> locals = function.getLocals();
+        return !locals.isEmpty() && "this".equals(locals.get(0).getName()) && "invoke".equals(function.getName());
+    }
+
     /** 获取捕获变量（供 GET_FIELD 使用） */
     NovaValue callBoundDirect0(Interpreter interpreter, NovaValue receiver) {
         MirInterpreter targetMirInterp = interpreter.mirInterpreter != null
@@ -1,6 +1,7 @@
 package com.novalang.runtime.interpreter;
 
 import com.novalang.ir.mir.MirFunction;
+import com.novalang.runtime.NovaDouble;
 import com.novalang.runtime.NovaInt;
 import com.novalang.runtime.NovaLong;
 import com.novalang.runtime.NovaNull;
@@ -21,6 +22,10 @@ import java.util.Map;
  * 实际值在 {@code rawLocals[i]} 中。热循环中的 CONST_INT/BINARY/MOVE 操作直接在
  * rawLocals 上执行，避免 NovaInt 对象的创建。仅当值需要逃逸（方法调用、字段赋值、
  * 返回等）时才通过 {@code safeGet} 惰性装箱为 NovaInt。</p>
+ *
+ * <p>同样的机制覆盖 Long 和 Double：{@code RAW_LONG_MARKER} 表示 rawLocals[i] 为原始 long，
+ * {@code RAW_DOUBLE_MARKER} 表示 rawLocals[i] 为 {@link Double#doubleToRawLongBits} 编码的 double。
+ * 三种标记共用 rawLocals 槽位，因此 MOVE/参数复制只需无条件复制 rawLocals[i]。</p>
  */
 final class MirFrame {
 
@@ -35,6 +40,22 @@ final class MirFrame {
         @Override public String toString() { return "<raw-int>"; }
     };
 
+    /** 哨兵标记：locals[i] == RAW_LONG_MARKER 表示值为 rawLocals[i] 中的原始 long */
+    static final NovaValue RAW_LONG_MARKER = new NovaValue() {
+        @Override public String getTypeName() { return "RawLong"; }
+        @Override public String getNovaTypeName() { return "Long"; }
+        @Override public Object toJavaValue() { return 0L; }
+        @Override public String toString() { return "<raw-long>"; }
+    };
+
+    /** 哨兵标记：locals[i] == RAW_DOUBLE_MARKER 表示值为 rawLocals[i] 中按位编码的原始 double */
+    static final NovaValue RAW_DOUBLE_MARKER = new NovaValue() {
+        @Override public String getTypeName() { return "RawDouble"; }
+        @Override public String getNovaTypeName() { return "Double"; }
+        @Override public Object toJavaValue() { return 0.0; }
+        @Override public String toString() { return "<raw-double>"; }
+    };
+
     MirFunction function;
     final NovaValue[] locals;
     /** 原始值并行数组，与 locals[] 同尺寸。当 locals[i] == RAW_INT_MARKER 时此值有效。 */
@@ -78,6 +99,12 @@ final class MirFrame {
             }
             return NovaLong.of(raw);
         }
+        if (val == RAW_DOUBLE_MARKER) {
+            return NovaDouble.of(Double.longBitsToDouble(rawLocals[index]));
+        }
+        if (val == RAW_LONG_MARKER) {
+            return NovaLong.of(rawLocals[index]);
+        }
         return val != null ? val : NovaNull.NULL;
     }
 
@@ -94,6 +121,29 @@ final class MirFrame {
             }
             return NovaLong.of(raw);
         }
+        if (val == RAW_DOUBLE_MARKER) {
+            return NovaDouble.of(Double.longBitsToDouble(rawLocals[index]));
+        }
+        if (val == RAW_LONG_MARKER) {
+            return NovaLong.of(rawLocals[index]);
+        }
         return val;
     }
+
+    /** 写入未装箱的 double（不分配 NovaDouble） */
+    void setRawDouble(int index, double value) {
+        rawLocals[index] = Double.doubleToRawLongBits(value);
+        locals[index] = RAW_DOUBLE_MARKER;
+    }
+
+    /** 写入未装箱的 long（不分配 NovaLong） */
+    void setRawLong(int index, long value) {
+        rawLocals[index] = value;
+        locals[index] = RAW_LONG_MARKER;
+    }
+
+    /** 读取 rawLocals 中按位编码的 double（调用方需已确认 locals[index] == RAW_DOUBLE_MARKER） */
+    double rawDouble(int index) {
+        return Double.longBitsToDouble(rawLocals[index]);
+    }
 }
@@ -2,8 +2,11 @@ package com.novalang.runtime.interpreter;
 
 import com.novalang.ir.mir.*;
 import com.novalang.ir.hir.ClassKind;
+import com.novalang.ir.hir.HirAnnotation;
+import com.novalang.compiler.ast.expr.Expression;
 import com.novalang.runtime.*;
 import com.novalang.runtime.types.*;
+import com.novalang.runtime.interpreter.cache.MemoCache;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
@@ -29,6 +32,9 @@ final class MirInterpreter {
     private static final String JAVA_LINKED_HASH_SET = "java/util/LinkedHashSet";
     private static final String JAVA_SYSTEM = "java/lang/System";
 
+    /** LOOP_PLAN 超级指令的执行次数（测试据此确认链接后的循环计划确实被分派） */
+    private static final AtomicLong LOOP_PLAN_HITS = new AtomicLong();
+
     /** GET_STATIC 缓存哨兵：表示已解析但字段/类不存在 */
     private static final Object STATIC_FIELD_MISS = new Object();
 
@@ -47,12 +53,19 @@ final class MirInterpreter {
     private final MirFrame[] framePool = new MirFrame[32];
     private int framePoolTop = 0;
 
+    /** resetState 计数（PreparedProgram 据此判断准备结果是否被其他脚本覆盖） */
+    private int stateEpoch;
+
     /** 缓存的最大递归深度（避免每次调用走虚方法链） */
     private final int cachedMaxRecursionDepth;
 
     /** executeFrame 异常路径设置的 TCE 计数，供 fastCall 读取 */
     int lastTceCount;
 
+    /** 下一次 prepareModule 对应的源码（分层执行编译用），prepareModule 后清空 */
+    private String moduleSource;
+    private String moduleFileName;
+
     /** 模块级注册：函数名 → MirCallable */
     final Map<String, MirCallable> mirFunctions = new HashMap<>();
     /** 模块级注册：类名 → MirClassInfo */
@@ -63,113 +76,6 @@ final class MirInterpreter {
     /** 方法分派器 */
     final MirCallDispatcher callDispatcher;
     private final Map<String, NovaCallFrame> emptyCallFrameCache = new HashMap<>();
-    private static final Object NO_TAIL_INT_LOOP_PLAN = new Object();
-    private static final AtomicLong STRING_ACCUM_LOOP_FAST_HITS = new AtomicLong();
-    private static final AtomicLong STRING_ACCUM_LOOP_PLAN_HITS = new AtomicLong();
-    private static final Object NO_TAIL_INT_LOOP_PLAN3 = new Object();
-    private static final Object NO_STRING_ACCUM_LOOP_PLAN = new Object();
-    private final IdentityHashMap<MirFunction, Object> tailIntLoopPlanCache = new IdentityHashMap<>();
-    private final IdentityHashMap<MirFunction, Object> tailIntLoopPlan3Cache = new IdentityHashMap<>();
-    private final IdentityHashMap<MirFunction, Object> stringAccumLoopPlanCache = new IdentityHashMap<>();
-
-    private static final class TailIntLoopPlan {
-        static final byte ACC_RHS_OLD_COUNTER = 0;
-        static final byte ACC_RHS_NEW_COUNTER = 1;
-        static final byte ACC_RHS_CONST = 2;
-
-        final int entryBlockId;
-        final BinaryOp exitCompareOp;
-        final boolean exitOnTrue;
-        final int stopValue;
-        final int returnLocal;
-        final int counterDelta;
-        final BinaryOp accUpdateOp;
-        final byte accRhsKind;
-        final int accConst;
-
-        TailIntLoopPlan(int entryBlockId, BinaryOp exitCompareOp, boolean exitOnTrue,
-                        int stopValue, int returnLocal, int counterDelta,
-                        BinaryOp accUpdateOp, byte accRhsKind, int accConst) {
-            this.entryBlockId = entryBlockId;
-            this.exitCompareOp = exitCompareOp;
-            this.exitOnTrue = exitOnTrue;
-            this.stopValue = stopValue;
-            this.returnLocal = returnLocal;
-            this.counterDelta = counterDelta;
-            this.accUpdateOp = accUpdateOp;
-            this.accRhsKind = accRhsKind;
-            this.accConst = accConst;
-        }
-    }
-
-    private static final class TailAccSpec {
-        final BinaryOp op;
-        final byte rhsKind;
-        final int rhsConst;
-
-        TailAccSpec(BinaryOp op, byte rhsKind, int rhsConst) {
-            this.op = op;
-            this.rhsKind = rhsKind;
-            this.rhsConst = rhsConst;
-        }
-    }
-
-    private static final class IntExpr {
-        static final byte PARAM = 0;
-        static final byte CONST = 1;
-        static final byte BINARY = 2;
-
-        final byte kind;
-        final int value;
-        final BinaryOp op;
-        final IntExpr left;
-        final IntExpr right;
-
-        private IntExpr(byte kind, int value, BinaryOp op, IntExpr left, IntExpr right) {
-            this.kind = kind;
-            this.value = value;
-            this.op = op;
-            this.left = left;
-            this.right = right;
-        }
-
-        static IntExpr param(int index) {
-            return new IntExpr(PARAM, index, null, null, null);
-        }
-
-        static IntExpr constant(int value) {
-            return new IntExpr(CONST, value, null, null, null);
-        }
-
-        static IntExpr binary(BinaryOp op, IntExpr left, IntExpr right) {
-            return new IntExpr(BINARY, 0, op, left, right);
-        }
-    }
-
-    private static final class TailIntLoopPlan3 {
-        final int entryBlockId;
-        final BinaryOp exitCompareOp;
-        final boolean exitOnTrue;
-        final int stopValue;
-        final int returnLocal;
-        final int counterDelta;
-        final IntExpr update1;
-        final IntExpr update2;
-
-        TailIntLoopPlan3(int entryBlockId, BinaryOp exitCompareOp, boolean exitOnTrue,
-                         int stopValue, int returnLocal, int counterDelta,
-                         IntExpr update1, IntExpr update2) {
-            this.entryBlockId = entryBlockId;
-            this.exitCompareOp = exitCompareOp;
-            this.exitOnTrue = exitOnTrue;
-            this.stopValue = stopValue;
-            this.returnLocal = returnLocal;
-            this.counterDelta = counterDelta;
-            this.update1 = update1;
-            this.update2 = update2;
-        }
-    }
-
     /** MIR 类的注册信息 */
     static final class MirClassInfo {
         final MirClass mirClass;
@@ -198,23 +104,31 @@ final class MirInterpreter {
         this.cachedMaxRecursionDepth = childInterp.getSecurityPolicy().getMaxRecursionDepth();
         this.mirFunctions.putAll(parent.mirFunctions);
         this.mirClasses.putAll(parent.mirClasses);
-        this.moduleStaticFields = parent.moduleStaticFields; // 共享引用（线程安全 ConcurrentHashMap）
+        this.moduleStaticFields = parent.moduleStaticFields; // 共享引用（槽位分页存储，扩容不丢写入）
         this.classRegistrar = new MirClassRegistrar(childInterp, mirClasses, mirFunctions, this, parent.classRegistrar);
         this.callDispatcher = new MirCallDispatcher(childInterp, childInterp.memberResolver, this, mirFunctions, mirClasses);
     }
 
+    /** 模块静态字段改为独立副本（fork 出的解释器使用；子线程解释器仍共享父级引用） */
+    void detachModuleStaticFields() {
+        this.moduleStaticFields = moduleStaticFields.copy();
+    }
+
     /**
      * 重置模块级注册状态（每次 executeModule 前调用）。
      */
     void resetState() {
+        stateEpoch++;
         mirFunctions.clear();
         // 保留 lambda 匿名类（跨 evalRepl 调用的闭包仍需要它们）
         mirClasses.entrySet().removeIf(e -> !e.getKey().contains(MARKER_LAMBDA));
         // moduleStaticFields 跨 eval 持久化（REPL 模式下顶层变量跨调用共享）
         resetExecutionState();
-        tailIntLoopPlanCache.clear();
-        tailIntLoopPlan3Cache.clear();
-        stringAccumLoopPlanCache.clear();
+    }
+
+    /** 模块状态纪元：每次 resetState 递增，用于判断已准备模块是否仍与当前状态一致 */
+    int getStateEpoch() {
+        return stateEpoch;
     }
 
     void resetExecutionState() {
@@ -222,17 +136,12 @@ final class MirInterpreter {
         callDispatcher.resetState();
     }
 
-    static void resetStringAccumLoopFastHits() {
-        STRING_ACCUM_LOOP_FAST_HITS.set(0L);
-        STRING_ACCUM_LOOP_PLAN_HITS.set(0L);
-    }
-
-    static long getStringAccumLoopFastHits() {
-        return STRING_ACCUM_LOOP_FAST_HITS.get();
+    static void resetLoopPlanHits() {
+        LOOP_PLAN_HITS.set(0L);
     }
 
-    static long getStringAccumLoopPlanHits() {
-        return STRING_ACCUM_LOOP_PLAN_HITS.get();
+    static long getLoopPlanHits() {
+        return LOOP_PLAN_HITS.get();
     }
 
     /** 返回所有已注册的 Nova 类/接口名称（供下次 evalRepl 编译使用） */
@@ -282,6 +191,12 @@ final class MirInterpreter {
         }
     }
 
+    /** 记录即将准备的模块源码；未记录源码的模块（如基准测试直接传入的 MIR）不参与分层执行 */
+    void setModuleSource(String source, String fileName) {
+        this.moduleSource = source;
+        this.moduleFileName = fileName;
+    }
+
     PreparedModule prepareModule(MirModule module) {
         for (Map.Entry<String, String> entry : module.getJavaImports().entrySet()) {
             String simpleName = entry.getKey();
@@ -332,6 +247,11 @@ final class MirInterpreter {
                 interp.getEnvironment().defineVal(func.getName(), callable);
             }
         }
+        if (interp.tieredCompiler != null) {
+            interp.tieredCompiler.register(module, moduleSource, moduleFileName);
+        }
+        moduleSource = null;
+        moduleFileName = null;
 
         for (MirModule.NovaImportInfo imp : module.getNovaImports()) {
             String qn = imp.qualifiedName;
@@ -709,9 +629,8 @@ final class MirInterpreter {
                     for (int i = 0; i < ops.length; i++) {
                         int srcIdx = ops[i];
                         calleeFrame.locals[i] = callerFrame.locals[srcIdx];
-                        if (callerFrame.locals[srcIdx] == MirFrame.RAW_INT_MARKER) {
-                            calleeFrame.rawLocals[i] = callerFrame.rawLocals[srcIdx];
-                        }
+                        // raw int/long/double 共用 rawLocals 槽位，无条件复制即可传播
+                        calleeFrame.rawLocals[i] = callerFrame.rawLocals[srcIdx];
                     }
                     return executeFrame(calleeFrame, -1);
             }
@@ -883,6 +802,7 @@ final class MirInterpreter {
                     c.call1(elems.get(i));
                 } catch (LoopSignal sig) {
                     if (sig == LoopSignal.BREAK) break;
+                    if (sig == LoopSignal.STOP) throw sig;
                     // CONTINUE: 跳过当前，继续下一次
                 }
             }
@@ -955,6 +875,7 @@ final class MirInterpreter {
                     c.call2(NovaInt.of(i), elems.get(i));
                 } catch (LoopSignal sig) {
                     if (sig == LoopSignal.BREAK) break;
+                    if (sig == LoopSignal.STOP) throw sig;
                 }
             }
             return NovaNull.UNIT;
@@ -983,6 +904,7 @@ final class MirInterpreter {
                     c.call2(e.getKey(), e.getValue());
                 } catch (LoopSignal sig) {
                     if (sig == LoopSignal.BREAK) break;
+                    if (sig == LoopSignal.STOP) throw sig;
                 }
             }
             return NovaNull.UNIT;
@@ -1100,6 +1022,148 @@ final class MirInterpreter {
         }
     }
 
+    // ==================== Sequence 批量操作 ====================
+
+    /** Sequence 批量操作：驱动序列阶段链，终端 lambda 复用同一帧 */
+    @FunctionalInterface
+    interface SequenceBatchOp {
+        NovaValue exec(NovaSequence seq, BatchCtx c);
+    }
+
+    /** 仅注册终端操作；中间操作只追加阶段，不调用 lambda，走 stdlib 即可 */
+    private static final Map<String, SequenceBatchOp> SEQUENCE_BATCH_OPS = new HashMap<>();
+    static { registerSequenceBatchOps(); }
+
+    private static void registerSequenceBatchOps() {
+        SEQUENCE_BATCH_OPS.put("forEach", (seq, c) -> {
+            seq.drive(v -> {
+                try {
+                    c.call1(AbstractNovaValue.fromJava(v));
+                } catch (LoopSignal sig) {
+                    if (sig == LoopSignal.BREAK) return false;
+                    if (sig == LoopSignal.STOP) throw sig;
+                }
+                return true;
+            });
+            return NovaNull.UNIT;
+        });
+        SEQUENCE_BATCH_OPS.put("forEachIndexed", (seq, c) -> {
+            int[] index = {0};
+            seq.drive(v -> {
+                try {
+                    c.call2(NovaInt.of(index[0]++), AbstractNovaValue.fromJava(v));
+                } catch (LoopSignal sig) {
+                    if (sig == LoopSignal.BREAK) return false;
+                    if (sig == LoopSignal.STOP) throw sig;
+                }
+                return true;
+            });
+            return NovaNull.UNIT;
+        });
+        SEQUENCE_BATCH_OPS.put("any", (seq, c) ->
+                NovaBoolean.of(!seq.drive(v -> !BatchCtx.isTrue(c.call1(AbstractNovaValue.fromJava(v))))));
+        SEQUENCE_BATCH_OPS.put("all", (seq, c) ->
+                NovaBoolean.of(seq.drive(v -> BatchCtx.isTrue(c.call1(AbstractNovaValue.fromJava(v))))));
+        SEQUENCE_BATCH_OPS.put("none", (seq, c) ->
+                NovaBoolean.of(seq.drive(v -> !BatchCtx.isTrue(c.call1(AbstractNovaValue.fromJava(v))))));
+        SEQUENCE_BATCH_OPS.put("find", (seq, c) -> {
+            NovaValue[] found = {NovaNull.NULL};
+            seq.drive(v -> {
+                NovaValue e = AbstractNovaValue.fromJava(v);
+                if (!BatchCtx.isTrue(c.call1(e))) return true;
+                found[0] = e;
+                return false;
+            });
+            return found[0];
+        });
+        SEQUENCE_BATCH_OPS.put("firstOrNull", SEQUENCE_BATCH_OPS.get("find"));
+        SEQUENCE_BATCH_OPS.put("first", (seq, c) -> {
+            NovaValue[] found = new NovaValue[1];
+            seq.drive(v -> {
+                NovaValue e = AbstractNovaValue.fromJava(v);
+                if (!BatchCtx.isTrue(c.call1(e))) return true;
+                found[0] = e;
+                return false;
+            });
+            if (found[0] == null) {
+                throw new NovaRuntimeException(NovaException.ErrorKind.UNDEFINED,
+                        "没有元素匹配谓词条件", "使用 firstOrNull { ... } 安全获取");
+            }
+            return found[0];
+        });
+        SEQUENCE_BATCH_OPS.put("count", (seq, c) -> {
+            int[] cnt = {0};
+            seq.drive(v -> {
+                if (BatchCtx.isTrue(c.call1(AbstractNovaValue.fromJava(v)))) cnt[0]++;
+                return true;
+            });
+            return NovaInt.of(cnt[0]);
+        });
+        SEQUENCE_BATCH_OPS.put("sumBy", (seq, c) -> {
+            long[] sum = {0};
+            seq.drive(v -> {
+                sum[0] += c.call1(AbstractNovaValue.fromJava(v)).asInt();
+                return true;
+            });
+            return NovaInt.of((int) sum[0]);
+        });
+        SEQUENCE_BATCH_OPS.put("fold", (seq, c) -> {
+            NovaValue[] acc = {c.extraArg};
+            seq.drive(v -> {
+                acc[0] = c.call2(acc[0], AbstractNovaValue.fromJava(v));
+                return true;
+            });
+            return acc[0];
+        });
+        SEQUENCE_BATCH_OPS.put("reduce", (seq, c) -> {
+            NovaValue[] acc = {c.extraArg};
+            seq.drive(v -> {
+                NovaValue e = AbstractNovaValue.fromJava(v);
+                acc[0] = acc[0] == null ? e : c.call2(acc[0], e);
+                return true;
+            });
+            if (acc[0] == null) {
+                throw new NovaRuntimeException(NovaException.ErrorKind.INDEX_OUT_OF_BOUNDS,
+                        "序列为空，无法执行 reduce", "使用 fold() 并提供初始值");
+            }
+            return acc[0];
+        });
+    }
+
+    /**
+     * 惰性序列终端 HOF 帧复用批量执行：整条阶段链单趟驱动，终端 lambda 不再经 stdlib 桥接。
+     *
+     * @return 结果，或 null（非已注册的终端操作）
+     */
+    NovaValue batchExecSequence(NovaSequence seq, String methodName, NovaValue extraArg, MirCallable lambda) {
+        SequenceBatchOp op = SEQUENCE_BATCH_OPS.get(methodName);
+        if (op == null) return null;
+
+        MirFunction func = lambda.getFunction();
+        List<MirLocal> funcLocals = func.getLocals();
+        boolean hasThis = !funcLocals.isEmpty() && "this".equals(funcLocals.get(0).getName());
+        int slot = hasThis ? 1 : 0;
+
+        MirFrame frame = acquireFrame(func);
+        if (hasThis) frame.locals[0] = lambda;
+
+        String funcName = func.getName();
+        String displayName = "invoke".equals(funcName) ? "<lambda>" : funcName;
+        interp.callStack.push(getEmptyMirCallFrame(displayName));
+        interp.callDepth++;
+
+        try {
+            return op.exec(seq, new BatchCtx(frame, slot, this, extraArg, func.getParams().size()));
+        } catch (NovaRuntimeException e) {
+            e.setNovaStackTrace(interp.captureStackTraceString());
+            throw e;
+        } finally {
+            interp.callDepth--;
+            interp.callStack.pop();
+            releaseFrame(frame);
+        }
+    }
+
     /**
      * NovaList 高阶方法帧复用批量执行（统一入口）。
      * <p>根据 BATCH_OPS 注册表分派。添加新 HOF 只需注册一行。
@@ -1139,17 +1203,54 @@ final class MirInterpreter {
 
     // ============ 函数执行 ============
 
+    /** 获取函数的 memo 缓存（首次调用时按注解参数和系统属性创建，子解释器共享） */
+    MemoCache memoCacheOf(MirFunction func) {
+        return (MemoCache) func.getOrCreateMemoStore(() -> createMemoCache(func));
+    }
+
+    private MemoCache createMemoCache(MirFunction func) {
+        long maxSize = MemoCache.defaultMaxSize();
+        long ttl = MemoCache.defaultTtlMillis();
+        MemoCache.Eviction eviction = MemoCache.defaultEviction();
+        for (HirAnnotation ann : func.getHirAnnotations()) {
+            if (!"memoized".equals(ann.getName()) && !"memoize".equals(ann.getName())) continue;
+            for (Map.Entry<String, Expression> arg : ann.getArgs().entrySet()) {
+                NovaValue value = MirClassRegistrar.foldExpression(arg.getValue(), interp);
+                switch (arg.getKey()) {
+                    case "maxSize":
+                        if (value.isNumber() && value.asLong() > 0) maxSize = value.asLong();
+                        break;
+                    case "ttl":
+                        if (value.isNumber() && value.asLong() >= 0) ttl = value.asLong();
+                        break;
+                    case "eviction": {
+                        MemoCache.Eviction parsed = MemoCache.parseEviction(value.asString());
+                        if (parsed == null) {
+                            throw new NovaRuntimeException("Unknown @memoized eviction policy: " + value.asString()
+                                    + " (expected \"lru\" or \"tinylfu\")");
+                        }
+                        eviction = parsed;
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+        }
+        return new MemoCache(maxSize, ttl, eviction);
+    }
+
     private NovaValue getMemoizedResult(MirFunction func, MemoKey key) {
         if (!func.isMemoized()) {
             return null;
         }
-        Object cached = func.getMemoCache().get(key);
+        Object cached = memoCacheOf(func).get(key);
         return cached instanceof NovaValue ? (NovaValue) cached : null;
     }
 
     private void putMemoizedResult(MirFunction func, MemoKey key, NovaValue result) {
         if (func.isMemoized() && result != null) {
-            func.getMemoCache().put(key, result);
+            memoCacheOf(func).put(key, result);
         }
     }
 
@@ -1162,13 +1263,13 @@ final class MirInterpreter {
         if (!func.isMemoized() || !isSingleIntFunction(func)) {
             return null;
         }
-        Object cached = func.getIntMemoized(arg);
+        Object cached = memoCacheOf(func).getInt(arg);
         return cached instanceof NovaValue ? (NovaValue) cached : null;
     }
 
     private void putMemoizedIntResult(MirFunction func, int arg, NovaValue result) {
         if (func.isMemoized() && isSingleIntFunction(func) && result != null) {
-            func.putIntMemoized(arg, result);
+            memoCacheOf(func).putInt(arg, result);
         }
     }
 
@@ -1390,372 +1491,6 @@ final class MirInterpreter {
         }
     }
 
-    private boolean isTailIntLoopCandidate(MirFunction func) {
-        return func.getParams().size() == 2
-                && func.getReturnType().getKind() == MirType.Kind.INT
-                && func.getParams().get(0).getType().getKind() == MirType.Kind.INT
-                && func.getParams().get(1).getType().getKind() == MirType.Kind.INT
-                && func.getTryCatchEntries().isEmpty();
-    }
-
-    private TailIntLoopPlan resolveTailIntLoopPlan(MirFunction func, BasicBlock[] blockArr) {
-        Object cached = tailIntLoopPlanCache.get(func);
-        if (cached == NO_TAIL_INT_LOOP_PLAN) {
-            return null;
-        }
-        if (cached instanceof TailIntLoopPlan) {
-            return (TailIntLoopPlan) cached;
-        }
-        TailIntLoopPlan plan = detectTailIntLoopPlan(func, blockArr);
-        tailIntLoopPlanCache.put(func, plan != null ? plan : NO_TAIL_INT_LOOP_PLAN);
-        return plan;
-    }
-
-    private TailIntLoopPlan detectTailIntLoopPlan(MirFunction func, BasicBlock[] blockArr) {
-        if (func.getParams().size() != 2
-                || func.getReturnType().getKind() != MirType.Kind.INT
-                || func.getParams().get(0).getType().getKind() != MirType.Kind.INT
-                || func.getParams().get(1).getType().getKind() != MirType.Kind.INT
-                || !func.getTryCatchEntries().isEmpty()) {
-            return null;
-        }
-        int entryBlockId = func.getBodyStartBlockId() > 0
-                ? func.getBodyStartBlockId()
-                : func.getBlocks().get(0).getId();
-        if (entryBlockId < 0 || entryBlockId >= blockArr.length) {
-            return null;
-        }
-        BasicBlock entryBlock = blockArr[entryBlockId];
-        if (entryBlock == null || !(entryBlock.getTerminator() instanceof MirTerminator.Branch)) {
-            return null;
-        }
-        MirTerminator.Branch branch = (MirTerminator.Branch) entryBlock.getTerminator();
-        BinaryOp exitCompareOp = branch.getFusedCmpOp();
-        if (exitCompareOp == null) {
-            return null;
-        }
-        int constLocal;
-        if (branch.getFusedLeft() == 0) {
-            constLocal = branch.getFusedRight();
-        } else if (branch.getFusedRight() == 0) {
-            constLocal = branch.getFusedLeft();
-            exitCompareOp = reverseCompare(exitCompareOp);
-        } else {
-            return null;
-        }
-        Integer stopValue = findConstInt(entryBlock.getInstArray(), constLocal);
-        if (stopValue == null) {
-            return null;
-        }
-        TailIntLoopPlan plan = buildTailIntLoopPlan(entryBlockId, exitCompareOp, true,
-                stopValue.intValue(), branch.getThenBlock(), branch.getElseBlock(), blockArr);
-        if (plan != null) {
-            return plan;
-        }
-        return buildTailIntLoopPlan(entryBlockId, exitCompareOp, false,
-                stopValue.intValue(), branch.getElseBlock(), branch.getThenBlock(), blockArr);
-    }
-
-    private TailIntLoopPlan buildTailIntLoopPlan(int entryBlockId, BinaryOp exitCompareOp,
-                                                 boolean exitOnTrue, int stopValue,
-                                                 int exitBlockId, int bodyBlockId,
-                                                 BasicBlock[] blockArr) {
-        if (exitBlockId < 0 || exitBlockId >= blockArr.length
-                || bodyBlockId < 0 || bodyBlockId >= blockArr.length) {
-            return null;
-        }
-        BasicBlock exitBlock = blockArr[exitBlockId];
-        BasicBlock bodyBlock = blockArr[bodyBlockId];
-        if (exitBlock == null || bodyBlock == null) {
-            return null;
-        }
-        Integer returnLocal = resolveTailReturnLocal(exitBlock, 1);
-        if (returnLocal == null) {
-            return null;
-        }
-        TailAccSpec accSpec = resolveTailAccSpec(bodyBlock, entryBlockId);
-        if (accSpec == null) {
-            return null;
-        }
-        Integer counterDelta = resolveTailCounterDelta(bodyBlock);
-        if (counterDelta == null) {
-            return null;
-        }
-        return new TailIntLoopPlan(entryBlockId, exitCompareOp, exitOnTrue, stopValue,
-                returnLocal.intValue(), counterDelta.intValue(), accSpec.op,
-                accSpec.rhsKind, accSpec.rhsConst);
-    }
-
-    private Integer resolveTailReturnLocal(BasicBlock exitBlock, int maxParamIndex) {
-        MirTerminator term = exitBlock.getTerminator();
-        if (!(term instanceof MirTerminator.Return)) {
-            return null;
-        }
-        int returnLocal = ((MirTerminator.Return) term).getValueLocal();
-        MirInst[] insts = exitBlock.getInstArray();
-        if (insts.length == 0) {
-            return returnLocal >= 0 && returnLocal <= maxParamIndex ? Integer.valueOf(returnLocal) : null;
-        }
-        if (insts.length == 1 && insts[0].getOp() == MirOp.MOVE && insts[0].getDest() == returnLocal) {
-            int src = insts[0].operand(0);
-            return src >= 0 && src <= maxParamIndex ? Integer.valueOf(src) : null;
-        }
-        return null;
-    }
-
-    private Integer resolveTailCounterDelta(BasicBlock bodyBlock) {
-        MirInst[] insts = bodyBlock.getInstArray();
-        Map<Integer, Integer> constInts = collectConstInts(insts);
-        MirInst counterBinary = findCounterUpdate(insts, constInts);
-        if (counterBinary == null || !writesLocal(insts, counterBinary.getDest(), 0)) {
-            return null;
-        }
-        return extractCounterDelta(counterBinary, constInts);
-    }
-
-    private TailAccSpec resolveTailAccSpec(BasicBlock bodyBlock, int entryBlockId) {
-        MirTerminator term = bodyBlock.getTerminator();
-        if (!(term instanceof MirTerminator.TailCall)
-                || ((MirTerminator.TailCall) term).getEntryBlockId() != entryBlockId) {
-            return null;
-        }
-        MirInst[] insts = bodyBlock.getInstArray();
-        Map<Integer, Integer> constInts = collectConstInts(insts);
-        MirInst counterBinary = findCounterUpdate(insts, constInts);
-        if (counterBinary == null) {
-            return null;
-        }
-        MirInst accBinary = null;
-        for (MirInst inst : insts) {
-            if (inst == counterBinary || inst.getOp() != MirOp.BINARY) {
-                continue;
-            }
-            TailAccSpec spec = extractAccSpec(inst, constInts, counterBinary.getDest());
-            if (spec != null) {
-                if (accBinary != null) {
-                    return null;
-                }
-                accBinary = inst;
-            }
-        }
-        if (accBinary == null || !writesLocal(insts, accBinary.getDest(), 1)) {
-            return null;
-        }
-        TailAccSpec accSpec = extractAccSpec(accBinary, constInts, counterBinary.getDest());
-        if (accSpec == null) {
-            return null;
-        }
-        for (MirInst inst : insts) {
-            MirOp op = inst.getOp();
-            if (op == MirOp.CONST_INT) {
-                continue;
-            }
-            if (inst == counterBinary || inst == accBinary) {
-                continue;
-            }
-            if (op == MirOp.MOVE) {
-                int src = inst.operand(0);
-                if (inst.getDest() == 0 && src == counterBinary.getDest()) {
-                    continue;
-                }
-                if (inst.getDest() == 1 && src == accBinary.getDest()) {
-                    continue;
-                }
-            }
-            return null;
-        }
-        return accSpec;
-    }
-
-    private Map<Integer, Integer> collectConstInts(MirInst[] insts) {
-        Map<Integer, Integer> constInts = new HashMap<Integer, Integer>();
-        for (MirInst inst : insts) {
-            if (inst.getOp() == MirOp.CONST_INT) {
-                constInts.put(Integer.valueOf(inst.getDest()), Integer.valueOf(inst.extraInt));
-            }
-        }
-        return constInts;
-    }
-
-    private MirInst findCounterUpdate(MirInst[] insts, Map<Integer, Integer> constInts) {
-        MirInst counterBinary = null;
-        for (MirInst inst : insts) {
-            if (inst.getOp() != MirOp.BINARY) {
-                continue;
-            }
-            if (extractCounterDelta(inst, constInts) != null) {
-                if (counterBinary != null) {
-                    return null;
-                }
-                counterBinary = inst;
-            }
-        }
-        return counterBinary;
-    }
-
-    private Integer extractCounterDelta(MirInst inst, Map<Integer, Integer> constInts) {
-        BinaryOp op = inst.extraAs();
-        if (op != BinaryOp.ADD && op != BinaryOp.SUB) {
-            return null;
-        }
-        int left = inst.operand(0);
-        int right = inst.operand(1);
-        Integer rightConst = constInts.get(Integer.valueOf(right));
-        if (left == 0 && rightConst != null) {
-            return Integer.valueOf(op == BinaryOp.ADD ? rightConst.intValue() : -rightConst.intValue());
-        }
-        Integer leftConst = constInts.get(Integer.valueOf(left));
-        if (right == 0 && leftConst != null && op == BinaryOp.ADD) {
-            return leftConst;
-        }
-        return null;
-    }
-
-    private TailAccSpec extractAccSpec(MirInst inst, Map<Integer, Integer> constInts, int counterTempLocal) {
-        BinaryOp op = inst.extraAs();
-        if ((op != BinaryOp.ADD && op != BinaryOp.SUB) || inst.operand(0) != 1) {
-            return null;
-        }
-        int rhs = inst.operand(1);
-        if (rhs == 0) {
-            return new TailAccSpec(op, TailIntLoopPlan.ACC_RHS_OLD_COUNTER, 0);
-        }
-        if (rhs == counterTempLocal) {
-            return new TailAccSpec(op, TailIntLoopPlan.ACC_RHS_NEW_COUNTER, 0);
-        }
-        Integer rhsConst = constInts.get(Integer.valueOf(rhs));
-        if (rhsConst != null) {
-            return new TailAccSpec(op, TailIntLoopPlan.ACC_RHS_CONST, rhsConst.intValue());
-        }
-        return null;
-    }
-
-    private boolean writesLocal(MirInst[] insts, int sourceLocal, int targetLocal) {
-        if (sourceLocal == targetLocal) {
-            return true;
-        }
-        for (MirInst inst : insts) {
-            if (inst.getOp() == MirOp.MOVE && inst.getDest() == targetLocal && inst.operand(0) == sourceLocal) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private Integer findConstInt(MirInst[] insts, int local) {
-        for (MirInst inst : insts) {
-            if (inst.getOp() == MirOp.CONST_INT && inst.getDest() == local) {
-                return Integer.valueOf(inst.extraInt);
-            }
-        }
-        return null;
-    }
-
-    private BinaryOp reverseCompare(BinaryOp op) {
-        switch (op) {
-            case LT:
-                return BinaryOp.GT;
-            case GT:
-                return BinaryOp.LT;
-            case LE:
-                return BinaryOp.GE;
-            case GE:
-                return BinaryOp.LE;
-            default:
-                return op;
-        }
-    }
-
-    private NovaValue executeTailIntLoopFast(MirFrame frame, TailIntLoopPlan plan) {
-        NovaValue[] locals = frame.locals;
-        long[] rawLocals = frame.rawLocals;
-
-        long counter;
-        NovaValue counterVal = locals[0];
-        if (counterVal == MirFrame.RAW_INT_MARKER) {
-            counter = rawLocals[0];
-        } else if (counterVal instanceof NovaInt) {
-            counter = ((NovaInt) counterVal).getValue();
-        } else {
-            return null;
-        }
-
-        long acc;
-        NovaValue accVal = locals[1];
-        if (accVal == MirFrame.RAW_INT_MARKER) {
-            acc = rawLocals[1];
-        } else if (accVal instanceof NovaInt) {
-            acc = ((NovaInt) accVal).getValue();
-        } else {
-            return null;
-        }
-
-        int tceCount = frame.tceCount;
-        while (true) {
-            boolean exit = compareTailInt(counter, plan.exitCompareOp, plan.stopValue);
-            if (exit == plan.exitOnTrue) {
-                rawLocals[0] = counter;
-                locals[0] = MirFrame.RAW_INT_MARKER;
-                rawLocals[1] = acc;
-                locals[1] = MirFrame.RAW_INT_MARKER;
-                frame.tceCount = tceCount;
-                long result = plan.returnLocal == 0 ? counter : acc;
-                return result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE
-                        ? NovaInt.of((int) result) : NovaLong.of(result);
-            }
-
-            long nextCounter = counter + plan.counterDelta;
-            long rhs;
-            switch (plan.accRhsKind) {
-                case TailIntLoopPlan.ACC_RHS_NEW_COUNTER:
-                    rhs = nextCounter;
-                    break;
-                case TailIntLoopPlan.ACC_RHS_CONST:
-                    rhs = plan.accConst;
-                    break;
-                default:
-                    rhs = counter;
-                    break;
-            }
-            long nextAcc = applyTailIntBinary(acc, rhs, plan.accUpdateOp);
-
-            counter = nextCounter;
-            acc = nextAcc;
-            rawLocals[0] = counter;
-            locals[0] = MirFrame.RAW_INT_MARKER;
-            rawLocals[1] = acc;
-            locals[1] = MirFrame.RAW_INT_MARKER;
-
-            tceCount++;
-            frame.tceCount = tceCount;
-            if (cachedMaxRecursionDepth > 0 && tceCount >= cachedMaxRecursionDepth) {
-                throw new NovaRuntimeException(
-                    NovaException.ErrorKind.INTERNAL,
-                    "递归深度超过最大限制 (" + cachedMaxRecursionDepth + ")",
-                    "检查是否存在无限递归，或使用尾递归优化");
-            }
-            if (interp.hasSecurityLimits) {
-                interp.checkLoopLimits();
-            }
-        }
-    }
-
-    private StringAccumLoopPlan resolveStringAccumLoopPlan(MirFunction func) {
-        Object cached = stringAccumLoopPlanCache.get(func);
-        if (cached == NO_STRING_ACCUM_LOOP_PLAN) {
-            return null;
-        }
-        if (cached instanceof StringAccumLoopPlan) {
-            return (StringAccumLoopPlan) cached;
-        }
-        StringAccumLoopPlan plan = StringAccumLoopPlan.detect(func);
-        if (plan != null) {
-            STRING_ACCUM_LOOP_PLAN_HITS.incrementAndGet();
-        }
-        stringAccumLoopPlanCache.put(func, plan != null ? plan : NO_STRING_ACCUM_LOOP_PLAN);
-        return plan;
-    }
-
     private int readIntLocal(MirFrame frame, int localIndex) {
         NovaValue slot = frame.locals[localIndex];
         if (slot == MirFrame.RAW_INT_MARKER) {
@@ -1787,7 +1522,6 @@ final class MirInterpreter {
     }
 
     private NovaValue executeStringAccumLoopFast(MirFrame frame, StringAccumLoopPlan plan) {
-        STRING_ACCUM_LOOP_FAST_HITS.incrementAndGet();
         NovaValue currentString = frame.locals[plan.stringLocal];
         String initial;
         if (currentString == null || currentString == NovaNull.NULL) {
@@ -1841,491 +1575,449 @@ final class MirInterpreter {
         return finalString;
     }
 
-    private boolean compareTailInt(long left, BinaryOp op, int right) {
-        switch (op) {
-            case EQ:
-                return left == right;
-            case NE:
-                return left != right;
-            case LT:
-                return left < right;
-            case GT:
-                return left > right;
-            case LE:
-                return left <= right;
-            case GE:
-                return left >= right;
-            default:
-                return false;
+    private NovaValue executeFrame(MirFrame frame, int startBlockId) {
+        BasicBlock[] blockArr = frame.function.getBlockArr();
+        if (blockArr.length == 0) return NovaNull.UNIT;
+        TieredCompiler tiered = interp.tieredCompiler;
+        TieredCompiler.Profile tierProfile = tiered != null && startBlockId < 0
+                ? (TieredCompiler.Profile) frame.function.getTierState() : null;
+        if (tierProfile != null) {
+            NovaValue compiled = tiered.enter(tierProfile, frame);
+            if (compiled != null) return compiled;
         }
-    }
-
-    private long applyTailIntBinary(long left, long right, BinaryOp op) {
-        switch (op) {
-            case ADD:
-                return left + right;
-            case SUB:
-                return left - right;
-            default:
-                throw new NovaRuntimeException(NovaException.ErrorKind.INTERNAL,
-                        "[内部错误] 不支持的整数尾调用操作: " + op, null);
+        if (interp.hasCallLimits) {
+            interp.budget().enterCall();
         }
-    }
 
-    private boolean isTailIntLoopCandidate3(MirFunction func) {
-        return func.getParams().size() == 3
-                && func.getReturnType().getKind() == MirType.Kind.INT
-                && func.getParams().get(0).getType().getKind() == MirType.Kind.INT
-                && func.getParams().get(1).getType().getKind() == MirType.Kind.INT
-                && func.getParams().get(2).getType().getKind() == MirType.Kind.INT
-                && func.getTryCatchEntries().isEmpty();
-    }
-
-    private TailIntLoopPlan3 resolveTailIntLoopPlan3(MirFunction func, BasicBlock[] blockArr) {
-        Object cached = tailIntLoopPlan3Cache.get(func);
-        if (cached == NO_TAIL_INT_LOOP_PLAN3) {
-            return null;
-        }
-        if (cached instanceof TailIntLoopPlan3) {
-            return (TailIntLoopPlan3) cached;
-        }
-        TailIntLoopPlan3 plan = detectTailIntLoopPlan3(func, blockArr);
-        tailIntLoopPlan3Cache.put(func, plan != null ? plan : NO_TAIL_INT_LOOP_PLAN3);
-        return plan;
-    }
+        // entry block = 指定的起始块或第一个块的 ID
+        frame.currentBlockId = startBlockId >= 0 ? startBlockId
+                : frame.function.getBlocks().get(0).getId();
 
-    private TailIntLoopPlan3 detectTailIntLoopPlan3(MirFunction func, BasicBlock[] blockArr) {
-        if (!isTailIntLoopCandidate3(func)) {
-            return null;
-        }
-        int entryBlockId = func.getBodyStartBlockId() > 0
-                ? func.getBodyStartBlockId()
-                : func.getBlocks().get(0).getId();
-        if (entryBlockId < 0 || entryBlockId >= blockArr.length) {
-            return null;
-        }
-        BasicBlock entryBlock = blockArr[entryBlockId];
-        if (entryBlock == null || !(entryBlock.getTerminator() instanceof MirTerminator.Branch)) {
-            return null;
-        }
-        MirTerminator.Branch branch = (MirTerminator.Branch) entryBlock.getTerminator();
-        BinaryOp exitCompareOp = branch.getFusedCmpOp();
-        if (exitCompareOp == null) {
-            return null;
-        }
-        int constLocal;
-        if (branch.getFusedLeft() == 0) {
-            constLocal = branch.getFusedRight();
-        } else if (branch.getFusedRight() == 0) {
-            constLocal = branch.getFusedLeft();
-            exitCompareOp = reverseCompare(exitCompareOp);
-        } else {
-            return null;
-        }
-        Integer stopValue = findConstInt(entryBlock.getInstArray(), constLocal);
-        if (stopValue == null) {
-            return null;
-        }
-        TailIntLoopPlan3 plan = buildTailIntLoopPlan3(entryBlockId, exitCompareOp, true,
-                stopValue.intValue(), branch.getThenBlock(), branch.getElseBlock(), blockArr);
-        if (plan != null) {
-            return plan;
+        List<MirFunction.TryCatchEntry> tryCatches = frame.function.getTryCatchEntries();
+        return executeLinked(frame, LinkedCode.of(frame.function), tryCatches, tiered, tierProfile);
+    }
+
+    /** Switch 求目标块；Throw / Unreachable 直接抛出 */
+    private int executeColdTerminator(MirFrame frame, MirTerminator term) {
+        switch (term.kind) {
+            case MirTerminator.KIND_SWITCH: {
+                MirTerminator.Switch sw = (MirTerminator.Switch) term;
+                SwitchTable table = sw.getTable();
+                if (table != null) {
+                    int target = switchTableTarget(frame, sw.getKey(), table);
+                    if (target >= 0) return target;
+                }
+                NovaValue key = frame.get(sw.getKey());
+                Object keyObj;
+                if (key instanceof NovaEnumEntry) {
+                    keyObj = ((NovaEnumEntry) key).name();
+                } else {
+                    keyObj = unwrapNovaValue(key);
+                }
+                Integer target = sw.getCases().get(keyObj);
+                return target != null ? target : sw.getDefaultBlock();
+            }
+            case MirTerminator.KIND_THROW: {
+                NovaValue ex = frame.get(((MirTerminator.Throw) term).getExceptionLocal());
+                // LoopSignal: non-local break/continue，直接抛出原始信号
+                if (ex instanceof NovaExternalObject) {
+                    Object jv = ex.toJavaValue();
+                    if (jv instanceof LoopSignal) throw (LoopSignal) jv;
+                }
+                throw toRuntimeException(ex);
+            }
+            default: // UNREACHABLE
+                throw new NovaRuntimeException(NovaException.ErrorKind.INTERNAL,
+                        "[内部错误] 执行到了不可达代码", null);
         }
-        return buildTailIntLoopPlan3(entryBlockId, exitCompareOp, false,
-                stopValue.intValue(), branch.getElseBlock(), branch.getThenBlock(), blockArr);
     }
 
-    private TailIntLoopPlan3 buildTailIntLoopPlan3(int entryBlockId, BinaryOp exitCompareOp,
-                                                   boolean exitOnTrue, int stopValue,
-                                                   int exitBlockId, int bodyBlockId,
-                                                   BasicBlock[] blockArr) {
-        if (exitBlockId < 0 || exitBlockId >= blockArr.length
-                || bodyBlockId < 0 || bodyBlockId >= blockArr.length) {
-            return null;
-        }
-        BasicBlock exitBlock = blockArr[exitBlockId];
-        BasicBlock bodyBlock = blockArr[bodyBlockId];
-        if (exitBlock == null || bodyBlock == null) {
-            return null;
-        }
-        Integer returnLocal = resolveTailReturnLocal(exitBlock, 2);
-        if (returnLocal == null) {
-            return null;
-        }
-        MirTerminator term = bodyBlock.getTerminator();
-        if (!(term instanceof MirTerminator.TailCall)
-                || ((MirTerminator.TailCall) term).getEntryBlockId() != entryBlockId) {
-            return null;
-        }
-        Map<Integer, IntExpr> exprs = new HashMap<Integer, IntExpr>();
-        exprs.put(Integer.valueOf(0), IntExpr.param(0));
-        exprs.put(Integer.valueOf(1), IntExpr.param(1));
-        exprs.put(Integer.valueOf(2), IntExpr.param(2));
-        for (MirInst inst : bodyBlock.getInstArray()) {
-            switch (inst.getOp()) {
-                case CONST_INT:
-                    exprs.put(Integer.valueOf(inst.getDest()), IntExpr.constant(inst.extraInt));
-                    break;
-                case MOVE: {
-                    IntExpr src = exprs.get(Integer.valueOf(inst.operand(0)));
-                    if (src == null) {
-                        return null;
+    /**
+     * 跳转表查找：整数 key 直接读原始 int 寄存器，枚举按 ordinal，字符串走完美哈希。
+     * key 类型与表不符时返回 -1，由调用方回退通用查找。
+     */
+    private static int switchTableTarget(MirFrame frame, int k, SwitchTable table) {
+        NovaValue key = frame.locals[k];
+        switch (table.kind) {
+            case DENSE_INT:
+            case SPARSE_INT:
+                if (key == MirFrame.RAW_INT_MARKER) return table.intTarget((int) frame.rawLocals[k]);
+                if (key instanceof NovaInt) return table.intTarget(((NovaInt) key).getValue());
+                return -1;
+            case CHAR:
+                if (key instanceof NovaChar) return table.intTarget(((NovaChar) key).getValue());
+                return -1;
+            default: // ENUM / STRING
+                if (key instanceof NovaEnumEntry) {
+                    NovaEnumEntry entry = (NovaEnumEntry) key;
+                    return table.enumTarget(entry.ordinal(), entry.name());
+                }
+                if (key instanceof NovaString) return table.stringTarget(((NovaString) key).getValue());
+                return -1;
+        }
+    }
+
+    /** INDEX_GET 快速路径：Int 索引读取 List / 原始数组，其余回退 executeIndexGet */
+    private void executeIndexGetFast(MirFrame frame, MirInst inst, NovaValue[] locals, long[] rawLocals) {
+        NovaValue tgt = locals[inst.operand(0)];
+        int ir = inst.operand(1);
+        if (locals[ir] == MirFrame.RAW_INT_MARKER) {
+            int idx = (int) rawLocals[ir];
+            if (inst.inBounds && tgt instanceof NovaArray) {
+                // 下标已证明在 [0, length) 内，数组长度不可变：直读原始存储
+                loadArrayElementInBounds(frame, inst.getDest(), (NovaArray) tgt, idx);
+                return;
+            }
+            if (idx >= 0) {
+                int d = inst.getDest();
+                if (tgt instanceof NovaList) {
+                    NovaList list = (NovaList) tgt;
+                    if (!loadRawListElement(frame, d, list, idx)) {
+                        storeUnboxed(frame, d, list.getElements().get(idx));
                     }
-                    exprs.put(Integer.valueOf(inst.getDest()), src);
-                    break;
+                    return;
                 }
-                case BINARY: {
-                    BinaryOp op = inst.extraAs();
-                    if (op != BinaryOp.ADD && op != BinaryOp.SUB) {
-                        return null;
-                    }
-                    IntExpr left = exprs.get(Integer.valueOf(inst.operand(0)));
-                    IntExpr right = exprs.get(Integer.valueOf(inst.operand(1)));
-                    if (left == null || right == null) {
-                        return null;
-                    }
-                    exprs.put(Integer.valueOf(inst.getDest()), IntExpr.binary(op, left, right));
-                    break;
+                if (tgt instanceof NovaArray && loadRawArrayElement(frame, d, (NovaArray) tgt, idx)) {
+                    return;
                 }
-                default:
-                    return null;
             }
         }
-        IntExpr counterExpr = exprs.get(Integer.valueOf(0));
-        IntExpr update1 = exprs.get(Integer.valueOf(1));
-        IntExpr update2 = exprs.get(Integer.valueOf(2));
-        if (counterExpr == null || update1 == null || update2 == null) {
-            return null;
-        }
-        Integer counterDelta = extractCounterDelta(counterExpr);
-        if (counterDelta == null) {
-            return null;
-        }
-        return new TailIntLoopPlan3(entryBlockId, exitCompareOp, exitOnTrue, stopValue,
-                returnLocal.intValue(), counterDelta.intValue(), update1, update2);
+        executeIndexGet(frame, inst);
     }
 
-    private Integer extractCounterDelta(IntExpr expr) {
-        if (expr == null || expr.kind != IntExpr.BINARY || expr.left == null || expr.right == null) {
-            return null;
-        }
-        if (expr.left.kind == IntExpr.PARAM && expr.left.value == 0 && expr.right.kind == IntExpr.CONST) {
-            return Integer.valueOf(expr.op == BinaryOp.ADD ? expr.right.value
-                    : expr.op == BinaryOp.SUB ? -expr.right.value : 0);
-        }
-        if (expr.op == BinaryOp.ADD && expr.right.kind == IntExpr.PARAM && expr.right.value == 0
-                && expr.left.kind == IntExpr.CONST) {
-            return Integer.valueOf(expr.left.value);
-        }
-        return null;
-    }
-
-    private long evalIntExpr(IntExpr expr, long p0, long p1, long p2) {
-        switch (expr.kind) {
-            case IntExpr.PARAM:
-                switch (expr.value) {
-                    case 0:
-                        return p0;
-                    case 1:
-                        return p1;
-                    default:
-                        return p2;
+    /** INDEX_SET 快速路径：Int 索引写入 int[] 数组 / List，其余回退 executeIndexSet */
+    private void executeIndexSetFast(MirFrame frame, MirInst inst, NovaValue[] locals, long[] rawLocals) {
+        NovaValue tgt = locals[inst.operand(0)];
+        int ir = inst.operand(1);
+        if (locals[ir] == MirFrame.RAW_INT_MARKER) {
+            int idx = (int) rawLocals[ir];
+            if (idx >= 0) {
+                if (tgt instanceof NovaArray
+                        && ((NovaArray) tgt).getElementType() == NovaArray.ElementType.INT) {
+                    int vr = inst.operand(2);
+                    NovaValue vs = locals[vr];
+                    if (vs == MirFrame.RAW_INT_MARKER) {
+                        ((int[]) ((NovaArray) tgt).getRawArray())[idx] = (int) rawLocals[vr];
+                    } else {
+                        ((int[]) ((NovaArray) tgt).getRawArray())[idx] = frame.get(vr).asInt();
+                    }
+                    return;
+                }
+                if (tgt instanceof NovaList) {
+                    ((NovaList) tgt).set(idx, frame.get(inst.operand(2)));
+                    return;
                 }
-            case IntExpr.CONST:
-                return expr.value;
-            case IntExpr.BINARY:
-                return applyTailIntBinary(evalIntExpr(expr.left, p0, p1, p2),
-                        evalIntExpr(expr.right, p0, p1, p2), expr.op);
-            default:
-                throw new NovaRuntimeException(NovaException.ErrorKind.INTERNAL,
-                        "[内部错误] 未知的整数表达式类型: " + expr.kind, null);
-        }
-    }
-
-    private NovaValue executeTailIntLoopFast3(MirFrame frame, TailIntLoopPlan3 plan) {
-        NovaValue[] locals = frame.locals;
-        long[] rawLocals = frame.rawLocals;
-        long p0;
-        long p1;
-        long p2;
-
-        NovaValue v0 = locals[0];
-        if (v0 == MirFrame.RAW_INT_MARKER) p0 = rawLocals[0];
-        else if (v0 instanceof NovaInt) p0 = ((NovaInt) v0).getValue();
-        else return null;
-
-        NovaValue v1 = locals[1];
-        if (v1 == MirFrame.RAW_INT_MARKER) p1 = rawLocals[1];
-        else if (v1 instanceof NovaInt) p1 = ((NovaInt) v1).getValue();
-        else return null;
-
-        NovaValue v2 = locals[2];
-        if (v2 == MirFrame.RAW_INT_MARKER) p2 = rawLocals[2];
-        else if (v2 instanceof NovaInt) p2 = ((NovaInt) v2).getValue();
-        else return null;
-
-        int tceCount = frame.tceCount;
-        while (true) {
-            boolean exit = compareTailInt(p0, plan.exitCompareOp, plan.stopValue);
-            if (exit == plan.exitOnTrue) {
-                rawLocals[0] = p0;
-                rawLocals[1] = p1;
-                rawLocals[2] = p2;
-                locals[0] = MirFrame.RAW_INT_MARKER;
-                locals[1] = MirFrame.RAW_INT_MARKER;
-                locals[2] = MirFrame.RAW_INT_MARKER;
-                frame.tceCount = tceCount;
-                long result;
-                switch (plan.returnLocal) {
-                    case 0: result = p0; break;
-                    case 1: result = p1; break;
-                    default: result = p2; break;
-                }
-                return result >= Integer.MIN_VALUE && result <= Integer.MAX_VALUE
-                        ? NovaInt.of((int) result) : NovaLong.of(result);
-            }
-
-            long next0 = p0 + plan.counterDelta;
-            long next1 = evalIntExpr(plan.update1, p0, p1, p2);
-            long next2 = evalIntExpr(plan.update2, p0, p1, p2);
-            p0 = next0;
-            p1 = next1;
-            p2 = next2;
-            rawLocals[0] = p0;
-            rawLocals[1] = p1;
-            rawLocals[2] = p2;
-            locals[0] = MirFrame.RAW_INT_MARKER;
-            locals[1] = MirFrame.RAW_INT_MARKER;
-            locals[2] = MirFrame.RAW_INT_MARKER;
-
-            tceCount++;
-            frame.tceCount = tceCount;
-            if (cachedMaxRecursionDepth > 0 && tceCount >= cachedMaxRecursionDepth) {
-                throw new NovaRuntimeException(
-                    NovaException.ErrorKind.INTERNAL,
-                    "递归深度超过最大限制 (" + cachedMaxRecursionDepth + ")",
-                    "检查是否存在无限递归，或使用尾递归优化");
-            }
-            if (interp.hasSecurityLimits) {
-                interp.checkLoopLimits();
             }
         }
+        executeIndexSet(frame, inst);
     }
 
-    private NovaValue executeFrame(MirFrame frame, int startBlockId) {
-        BasicBlock[] blockArr = frame.function.getBlockArr();
-        if (blockArr.length == 0) return NovaNull.UNIT;
-
-        // entry block = 指定的起始块或第一个块的 ID
-        frame.currentBlockId = startBlockId >= 0 ? startBlockId
-                : frame.function.getBlocks().get(0).getId();
-
-        List<MirFunction.TryCatchEntry> tryCatches = frame.function.getTryCatchEntries();
-        TailIntLoopPlan tailIntLoopPlan = isTailIntLoopCandidate(frame.function)
-                ? resolveTailIntLoopPlan(frame.function, blockArr) : null;
-        TailIntLoopPlan3 tailIntLoopPlan3 = isTailIntLoopCandidate3(frame.function)
-                ? resolveTailIntLoopPlan3(frame.function, blockArr) : null;
-        StringAccumLoopPlan stringAccumLoopPlan = resolveStringAccumLoopPlan(frame.function);
-
-        int tceCount = 0;  // TCE 尾递归转循环的迭代计数
-        int prevBlockId = -1;
+    /**
+     * 在链接形式（{@link LinkedCode}）上执行函数：单一 int[] 代码流 + 局部 pc，
+     * 块转换只是改写 pc，不再经由 BasicBlock / MirInst[] / MirTerminator 对象。
+     * 语义与块解释循环一致（回边检测、尾调用计数、异常表与源码位置附加）。
+     */
+    private NovaValue executeLinked(MirFrame frame, LinkedCode linked,
+                                    List<MirFunction.TryCatchEntry> tryCatches,
+                                    TieredCompiler tiered, TieredCompiler.Profile tierProfile) {
+        final int[] code = linked.code;
+        final MirInst[] sites = linked.insts;
+        final NovaValue[] locals = frame.locals;
+        final long[] rawLocals = frame.rawLocals;
+        int blockId = frame.currentBlockId;
+        int pc = linked.blockPcs[blockId];
+        int tceCount = 0;
+        int target = -1;
         while (true) {
-            BasicBlock block = blockArr[frame.currentBlockId];
-            MirInst[] insts = block.getInstArray();
-
-            // 回边检测：跳转到 ID <= 当前块的块 → 循环迭代，检查安全限制
-            if (frame.currentBlockId <= prevBlockId && interp.hasSecurityLimits) {
-                interp.checkLoopLimits();
-            }
-
             try {
-                prevBlockId = frame.currentBlockId;
-                NovaValue[] locals = frame.locals;
-                long[] rawLocals = frame.rawLocals;
-                if (tailIntLoopPlan != null && frame.currentBlockId == tailIntLoopPlan.entryBlockId) {
-                    frame.tceCount = tceCount;
-                    NovaValue fusedResult = executeTailIntLoopFast(frame, tailIntLoopPlan);
-                    tceCount = frame.tceCount;
-                    if (fusedResult != null) {
-                        return fusedResult;
-                    }
-                }
-                if (tailIntLoopPlan3 != null && frame.currentBlockId == tailIntLoopPlan3.entryBlockId) {
-                    frame.tceCount = tceCount;
-                    NovaValue fusedResult = executeTailIntLoopFast3(frame, tailIntLoopPlan3);
-                    tceCount = frame.tceCount;
-                    if (fusedResult != null) {
-                        return fusedResult;
-                    }
-                }
-                if (stringAccumLoopPlan != null && frame.currentBlockId == stringAccumLoopPlan.headerBlockId) {
-                    return executeStringAccumLoopFast(frame, stringAccumLoopPlan);
-                }
-                // 执行块内所有指令（热操作码内联，减少方法调用开销）
-                for (frame.pc = 0; frame.pc < insts.length; frame.pc++) {
-                    MirInst inst = insts[frame.pc];
-                    switch (inst.getOp()) {
-                        case CONST_INT:
-                            rawLocals[inst.getDest()] = inst.extraInt;
-                            locals[inst.getDest()] = MirFrame.RAW_INT_MARKER;
+                while (true) {
+                    switch (code[pc]) {
+                        case LinkedCode.CONST_INT:
+                            rawLocals[code[pc + 1]] = code[pc + 2];
+                            locals[code[pc + 1]] = MirFrame.RAW_INT_MARKER;
+                            pc += 3;
+                            continue;
+                        case LinkedCode.CONST_LONG:
+                            frame.setRawLong(code[pc + 1], linked.wide[code[pc + 2]]);
+                            pc += 3;
+                            continue;
+                        case LinkedCode.CONST_DOUBLE:
+                            frame.setRawDouble(code[pc + 1], Double.longBitsToDouble(linked.wide[code[pc + 2]]));
+                            pc += 3;
+                            continue;
+                        case LinkedCode.CONST_NULL:
+                            locals[code[pc + 1]] = NovaNull.NULL;
+                            pc += 2;
                             continue;
-                        case MOVE: {
-                            int src = inst.operand(0);
-                            int dest = inst.getDest();
-                            NovaValue srcVal = locals[src];
-                            locals[dest] = srcVal;
-                            if (srcVal == MirFrame.RAW_INT_MARKER) {
-                                rawLocals[dest] = rawLocals[src];
+                        case LinkedCode.MOVE: {
+                            int dest = code[pc + 1];
+                            int src = code[pc + 2];
+                            locals[dest] = locals[src];
+                            rawLocals[dest] = rawLocals[src];
+                            pc += 3;
+                            continue;
+                        }
+                        case LinkedCode.BINARY: {
+                            if (Quickening.hot(linked, code[pc + 5])) {
+                                Quickening.quickenBinary(linked, pc, locals);
+                                continue; // 以改写后的形式重新分派本条记录
+                            }
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                int dest = code[pc + 1];
+                                long a = rawLocals[l];
+                                long b = rawLocals[r];
+                                switch (code[pc + 4]) {
+                                    case LinkedCode.B_ADD: rawLocals[dest] = a + b; locals[dest] = MirFrame.RAW_INT_MARKER; pc += 6; continue;
+                                    case LinkedCode.B_SUB: rawLocals[dest] = a - b; locals[dest] = MirFrame.RAW_INT_MARKER; pc += 6; continue;
+                                    case LinkedCode.B_MUL: rawLocals[dest] = a * b; locals[dest] = MirFrame.RAW_INT_MARKER; pc += 6; continue;
+                                    case LinkedCode.B_LT: locals[dest] = NovaBoolean.of(a < b); pc += 6; continue;
+                                    case LinkedCode.B_LE: locals[dest] = NovaBoolean.of(a <= b); pc += 6; continue;
+                                    case LinkedCode.B_GT: locals[dest] = NovaBoolean.of(a > b); pc += 6; continue;
+                                    case LinkedCode.B_GE: locals[dest] = NovaBoolean.of(a >= b); pc += 6; continue;
+                                    case LinkedCode.B_EQ: locals[dest] = NovaBoolean.of(a == b); pc += 6; continue;
+                                    case LinkedCode.B_NE: locals[dest] = NovaBoolean.of(a != b); pc += 6; continue;
+                                    default: break;
+                                }
                             }
+                            executeBinaryRawFast(frame, sites[code[pc + 5]], locals, rawLocals);
+                            pc += 6;
                             continue;
                         }
-                        case BINARY:
-                            executeBinaryRawFast(frame, inst, locals, rawLocals);
+                        case LinkedCode.INDEX_GET:
+                            executeIndexGetFast(frame, sites[code[pc + 1]], locals, rawLocals);
+                            pc += 2;
                             continue;
-                        case INDEX_GET: {
-                            NovaValue tgt = locals[inst.operand(0)];
-                            int ir = inst.operand(1);
-                            if (locals[ir] == MirFrame.RAW_INT_MARKER) {
-                                int idx = (int) rawLocals[ir];
-                                if (idx >= 0) {
-                                    int d = inst.getDest();
-                                    if (tgt instanceof NovaList) {
-                                        NovaValue elem = ((NovaList) tgt).getElements().get(idx);
-                                        if (elem instanceof NovaInt) {
-                                            rawLocals[d] = ((NovaInt) elem).getValue();
-                                            locals[d] = MirFrame.RAW_INT_MARKER;
-                                        } else {
-                                            locals[d] = elem;
-                                        }
-                                        continue;
-                                    }
-                                    if (tgt instanceof NovaArray
-                                            && ((NovaArray) tgt).getElementType() == NovaArray.ElementType.INT) {
-                                        rawLocals[d] = ((int[]) ((NovaArray) tgt).getRawArray())[idx];
-                                        locals[d] = MirFrame.RAW_INT_MARKER;
-                                        continue;
-                                    }
+                        case LinkedCode.INDEX_SET:
+                            executeIndexSetFast(frame, sites[code[pc + 1]], locals, rawLocals);
+                            pc += 2;
+                            continue;
+                        case LinkedCode.INVOKE_STATIC:
+                            callDispatcher.executeInvokeStatic(frame, sites[code[pc + 1]]);
+                            pc += 2;
+                            continue;
+                        case LinkedCode.INVOKE_VIRTUAL:
+                            callDispatcher.executeInvokeVirtual(frame, sites[code[pc + 1]]);
+                            if (Quickening.hot(linked, code[pc + 1])) {
+                                Quickening.quickenInvoke(linked, pc, callDispatcher);
+                            }
+                            pc += 2;
+                            continue;
+                        case LinkedCode.GET_FIELD: {
+                            MirInst inst = sites[code[pc + 1]];
+                            NovaValue receiver = locals[inst.operand(0)];
+                            executeGetField(frame, inst);
+                            if (Quickening.hot(linked, code[pc + 1])) {
+                                Quickening.quickenGetField(linked, pc, receiver);
+                            }
+                            pc += 2;
+                            continue;
+                        }
+                        case LinkedCode.INST:
+                            executeInst(frame, sites[code[pc + 1]]);
+                            pc += 2;
+                            continue;
+
+                        // ===== 特化形式：守卫失败时去特化并以通用形式重新分派 =====
+                        case LinkedCode.Q_ADD_II: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                int dest = code[pc + 1];
+                                rawLocals[dest] = rawLocals[l] + rawLocals[r];
+                                locals[dest] = MirFrame.RAW_INT_MARKER;
+                                pc += 6;
+                                continue;
+                            }
+                            Quickening.deopt(linked, pc);
+                            continue;
+                        }
+                        case LinkedCode.Q_SUB_II: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                int dest = code[pc + 1];
+                                rawLocals[dest] = rawLocals[l] - rawLocals[r];
+                                locals[dest] = MirFrame.RAW_INT_MARKER;
+                                pc += 6;
+                                continue;
+                            }
+                            Quickening.deopt(linked, pc);
+                            continue;
+                        }
+                        case LinkedCode.Q_MUL_II: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                int dest = code[pc + 1];
+                                rawLocals[dest] = rawLocals[l] * rawLocals[r];
+                                locals[dest] = MirFrame.RAW_INT_MARKER;
+                                pc += 6;
+                                continue;
+                            }
+                            Quickening.deopt(linked, pc);
+                            continue;
+                        }
+                        case LinkedCode.Q_CMP_II: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                long a = rawLocals[l];
+                                long b = rawLocals[r];
+                                boolean result;
+                                switch (code[pc + 4]) {
+                                    case LinkedCode.B_LT: result = a < b; break;
+                                    case LinkedCode.B_LE: result = a <= b; break;
+                                    case LinkedCode.B_GT: result = a > b; break;
+                                    case LinkedCode.B_GE: result = a >= b; break;
+                                    case LinkedCode.B_EQ: result = a == b; break;
+                                    default: result = a != b; break;
                                 }
+                                locals[code[pc + 1]] = NovaBoolean.of(result);
+                                pc += 6;
+                                continue;
                             }
-                            executeIndexGet(frame, inst);
+                            Quickening.deopt(linked, pc);
                             continue;
                         }
-                        case INDEX_SET: {
-                            NovaValue tgt = locals[inst.operand(0)];
-                            int ir = inst.operand(1);
-                            if (locals[ir] == MirFrame.RAW_INT_MARKER) {
-                                int idx = (int) rawLocals[ir];
-                                if (idx >= 0) {
-                                    if (tgt instanceof NovaArray
-                                            && ((NovaArray) tgt).getElementType() == NovaArray.ElementType.INT) {
-                                        int vr = inst.operand(2);
-                                        NovaValue vs = locals[vr];
-                                        if (vs == MirFrame.RAW_INT_MARKER) {
-                                            ((int[]) ((NovaArray) tgt).getRawArray())[idx] = (int) rawLocals[vr];
-                                        } else {
-                                            ((int[]) ((NovaArray) tgt).getRawArray())[idx] = vs.asInt();
-                                        }
-                                        continue;
-                                    }
-                                    if (tgt instanceof NovaList) {
-                                        ((NovaList) tgt).set(idx, frame.get(inst.operand(2)));
+                        case LinkedCode.Q_BINARY_DD: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_DOUBLE_MARKER && locals[r] == MirFrame.RAW_DOUBLE_MARKER) {
+                                int dest = code[pc + 1];
+                                double a = Double.longBitsToDouble(rawLocals[l]);
+                                double b = Double.longBitsToDouble(rawLocals[r]);
+                                switch (code[pc + 4]) {
+                                    case LinkedCode.B_ADD: frame.setRawDouble(dest, a + b); break;
+                                    case LinkedCode.B_SUB: frame.setRawDouble(dest, a - b); break;
+                                    case LinkedCode.B_MUL: frame.setRawDouble(dest, a * b); break;
+                                    case LinkedCode.B_LT: locals[dest] = NovaBoolean.of(Double.compare(a, b) < 0); break;
+                                    case LinkedCode.B_LE: locals[dest] = NovaBoolean.of(Double.compare(a, b) <= 0); break;
+                                    case LinkedCode.B_GT: locals[dest] = NovaBoolean.of(Double.compare(a, b) > 0); break;
+                                    case LinkedCode.B_GE: locals[dest] = NovaBoolean.of(Double.compare(a, b) >= 0); break;
+                                    case LinkedCode.B_EQ: locals[dest] = NovaBoolean.of(a == b); break;
+                                    default: locals[dest] = NovaBoolean.of(a != b); break;
+                                }
+                                pc += 6;
+                                continue;
+                            }
+                            Quickening.deopt(linked, pc);
+                            continue;
+                        }
+                        case LinkedCode.Q_GET_FIELD_SLOT: {
+                            MirInst inst = sites[code[pc + 1]];
+                            NovaValue receiver = locals[inst.operand(0)];
+                            FieldAccessSite fieldSite = (FieldAccessSite) inst.cache;
+                            if (receiver instanceof NovaObject) {
+                                if (((NovaObject) receiver).getNovaClass() == fieldSite.cachedClass) {
+                                    NovaValue value = ((NovaObject) receiver).getFieldByIndex(fieldSite.fieldIndex);
+                                    if (value != null) {
+                                        locals[inst.getDest()] = value;
+                                        pc += 2;
                                         continue;
                                     }
                                 }
+                            } else if (receiver instanceof ScalarizedNovaObject
+                                    && ((ScalarizedNovaObject) receiver).getNovaClass() == fieldSite.cachedClass) {
+                                ((ScalarizedNovaObject) receiver).exportFieldToFrame(fieldSite.fieldIndex, frame, inst.getDest());
+                                pc += 2;
+                                continue;
                             }
-                            executeIndexSet(frame, inst);
+                            Quickening.deopt(linked, pc);
                             continue;
                         }
-                        case CONST_NULL:
-                            locals[inst.getDest()] = NovaNull.NULL;
+                        case LinkedCode.Q_INVOKE_MONO:
+                            if (callDispatcher.invokeMonomorphic(frame, sites[code[pc + 1]])) {
+                                pc += 2;
+                                continue;
+                            }
+                            Quickening.deopt(linked, pc);
                             continue;
-                        default:
-                            executeInst(frame, inst);
-                    }
-                }
-
-                // 处理终结指令
-                MirTerminator term = block.getTerminator();
-                if (term == null) {
-                    return NovaNull.UNIT;
-                }
 
-                switch (term.kind) {
-                    case MirTerminator.KIND_BRANCH: {
-                        MirTerminator.Branch br = (MirTerminator.Branch) term;
-                        BinaryOp fusedOp = br.getFusedCmpOp();
-                        if (fusedOp != null) {
-                            frame.currentBlockId = compareFusedFast(frame, locals, rawLocals, fusedOp, br.getFusedLeft(), br.getFusedRight())
-                                    ? br.getThenBlock() : br.getElseBlock();
-                        } else {
-                            NovaValue cond = frame.get(br.getCondition());
-                            frame.currentBlockId = isTruthy(cond) ? br.getThenBlock() : br.getElseBlock();
-                        }
-                        break;
-                    }
-                    case MirTerminator.KIND_GOTO: {
-                        int targetId = ((MirTerminator.Goto) term).getTargetBlockId();
-                        if (stringAccumLoopPlan != null && targetId == stringAccumLoopPlan.headerBlockId) {
-                            return executeStringAccumLoopFast(frame, stringAccumLoopPlan);
+                        // ===== 超级指令 =====
+                        case LinkedCode.Q_ADD_II_ADD_II: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] != MirFrame.RAW_INT_MARKER || locals[r] != MirFrame.RAW_INT_MARKER) {
+                                Quickening.deopt(linked, pc);
+                                continue;
+                            }
+                            int dest = code[pc + 1];
+                            rawLocals[dest] = rawLocals[l] + rawLocals[r];
+                            locals[dest] = MirFrame.RAW_INT_MARKER;
+                            pc += 6;
+                            l = code[pc + 2];
+                            r = code[pc + 3];
+                            if (locals[l] == MirFrame.RAW_INT_MARKER && locals[r] == MirFrame.RAW_INT_MARKER) {
+                                dest = code[pc + 1];
+                                rawLocals[dest] = rawLocals[l] + rawLocals[r];
+                                locals[dest] = MirFrame.RAW_INT_MARKER;
+                                pc += 6;
+                            }
+                            continue; // 第二条类型不符时由其自身记录处理
                         }
-                        // 穿透：Goto 目标为空指令块 + Branch → 直接评估 Branch，省一次块转换
-                        BasicBlock targetBlock = blockArr[targetId];
-                        if (targetBlock.getInstArray().length == 0) {
-                            MirTerminator tt = targetBlock.getTerminator();
-                            if (tt != null && tt.kind == MirTerminator.KIND_BRANCH) {
-                                MirTerminator.Branch br = (MirTerminator.Branch) tt;
-                                BinaryOp fop = br.getFusedCmpOp();
-                                if (fop != null) {
-                                    frame.currentBlockId = compareFusedFast(frame, locals, rawLocals, fop, br.getFusedLeft(), br.getFusedRight())
-                                            ? br.getThenBlock() : br.getElseBlock();
-                                } else {
-                                    frame.currentBlockId = isTruthy(frame.get(br.getCondition()))
-                                            ? br.getThenBlock() : br.getElseBlock();
-                                }
-                                break;
+                        case LinkedCode.Q_ADD_II_GOTO: {
+                            int l = code[pc + 2];
+                            int r = code[pc + 3];
+                            if (locals[l] != MirFrame.RAW_INT_MARKER || locals[r] != MirFrame.RAW_INT_MARKER) {
+                                Quickening.deopt(linked, pc);
+                                continue;
                             }
+                            int dest = code[pc + 1];
+                            rawLocals[dest] = rawLocals[l] + rawLocals[r];
+                            locals[dest] = MirFrame.RAW_INT_MARKER;
+                            target = pc + 7; // 跳过 BINARY 记录与 GOTO 操作码，指向 (pc, id)
+                            break;
                         }
-                        frame.currentBlockId = targetId;
-                        break;
-                    }
-                    case MirTerminator.KIND_RETURN: {
-                        int valLocal = ((MirTerminator.Return) term).getValueLocal();
-                        return valLocal >= 0 ? frame.get(valLocal) : NovaNull.UNIT;
-                    }
-                    case MirTerminator.KIND_TAIL_CALL: {
-                        tceCount++;
-                        if (cachedMaxRecursionDepth > 0 && tceCount >= cachedMaxRecursionDepth) {
-                            throw new NovaRuntimeException(
-                                    "Maximum recursion depth exceeded (" + cachedMaxRecursionDepth + ")");
+                        case LinkedCode.LOOP_PLAN:
+                            LOOP_PLAN_HITS.incrementAndGet();
+                            return executeStringAccumLoopFast(frame, linked.loopPlans[code[pc + 1]]);
+
+                        // ===== 终结指令：求出目标偏移后统一在下方做块转换 =====
+                        case LinkedCode.GOTO:
+                            target = pc + 1;
+                            break;
+                        case LinkedCode.BRANCH:
+                            target = isTruthy(frame.get(code[pc + 1])) ? pc + 2 : pc + 4;
+                            break;
+                        case LinkedCode.BRANCH_CMP:
+                            target = compareFusedFast(frame, locals, rawLocals,
+                                    LinkedCode.binaryOp(code[pc + 1]), code[pc + 2], code[pc + 3]) ? pc + 4 : pc + 6;
+                            break;
+                        case LinkedCode.RETURN: {
+                            int valLocal = code[pc + 1];
+                            return valLocal >= 0 ? frame.get(valLocal) : NovaNull.UNIT;
                         }
-                        frame.currentBlockId = ((MirTerminator.TailCall) term).getEntryBlockId();
-                        break;
-                    }
-                    case MirTerminator.KIND_SWITCH: {
-                        MirTerminator.Switch sw = (MirTerminator.Switch) term;
-                        NovaValue key = frame.get(sw.getKey());
-                        Object keyObj;
-                        if (key instanceof NovaEnumEntry) {
-                            keyObj = ((NovaEnumEntry) key).name();
-                        } else {
-                            keyObj = unwrapNovaValue(key);
+                        case LinkedCode.TAIL_CALL:
+                            tceCount++;
+                            if (cachedMaxRecursionDepth > 0 && tceCount >= cachedMaxRecursionDepth) {
+                                throw new NovaRuntimeException(
+                                        "Maximum recursion depth exceeded (" + cachedMaxRecursionDepth + ")");
+                            }
+                            target = pc + 1;
+                            break;
+                        default: { // TERM
+                            int next = executeColdTerminator(frame, linked.terms[code[pc + 1]]);
+                            if (next <= blockId) {
+                                if (interp.hasSecurityLimits) interp.checkLoopLimits();
+                                if (tierProfile != null) tiered.onBackEdge(tierProfile);
+                            }
+                            blockId = next;
+                            frame.currentBlockId = next;
+                            pc = linked.blockPcs[next];
+                            continue;
                         }
-                        Integer target = sw.getCases().get(keyObj);
-                        frame.currentBlockId = target != null ? target : sw.getDefaultBlock();
-                        break;
                     }
-                    case MirTerminator.KIND_THROW: {
-                        NovaValue ex = frame.get(((MirTerminator.Throw) term).getExceptionLocal());
-                        // LoopSignal: non-local break/continue，直接抛出原始信号
-                        if (ex instanceof NovaExternalObject) {
-                            Object jv = ex.toJavaValue();
-                            if (jv instanceof LoopSignal) throw (LoopSignal) jv;
-                        }
-                        throw toRuntimeException(ex);
+                    // 块转换：target 指向 (pc, blockId) 对；回边检测同块解释循环
+                    int nextId = code[target + 1];
+                    if (nextId <= blockId) {
+                        if (interp.hasSecurityLimits) interp.checkLoopLimits();
+                        if (tierProfile != null) tiered.onBackEdge(tierProfile);
                     }
-                    default: // UNREACHABLE
-                        throw new NovaRuntimeException(NovaException.ErrorKind.INTERNAL,
-                                "[内部错误] 执行到了不可达代码", null);
+                    blockId = nextId;
+                    frame.currentBlockId = nextId;
+                    pc = code[target];
                 }
             } catch (LoopSignal sig) {
                 throw sig; // non-local break/continue：直接穿透，不拦截
@@ -2338,16 +2030,19 @@ final class MirInterpreter {
                     nre.initCause(e);
                 }
                 // 从当前指令附加源码位置（仅在异常尚无位置时）
-                if (nre.getLocation() == null && frame.pc >= 0 && frame.pc < insts.length) {
-                    com.novalang.compiler.ast.SourceLocation loc = insts[frame.pc].getLocation();
+                MirInst failed = nre.getLocation() == null ? linked.instAt(pc) : null;
+                if (failed != null) {
+                    com.novalang.compiler.ast.SourceLocation loc = failed.getLocation();
                     if (loc != null && loc.getLine() > 0) {
                         nre.attachLocation(loc, interp.getSourceLine(loc.getLine()));
                     }
                 }
-                MirFunction.TryCatchEntry handler = findMatchingHandler(tryCatches, frame.currentBlockId, e);
+                MirFunction.TryCatchEntry handler = findMatchingHandler(tryCatches, blockId, e);
                 if (handler != null) {
                     frame.locals[handler.exceptionLocal] = wrapException(nre);
-                    frame.currentBlockId = handler.handlerBlock;
+                    blockId = handler.handlerBlock;
+                    frame.currentBlockId = blockId;
+                    pc = linked.blockPcs[blockId];
                     continue;
                 }
                 frame.tceCount = tceCount;
@@ -2367,13 +2062,13 @@ final class MirInterpreter {
                 frame.locals[inst.getDest()] = MirFrame.RAW_INT_MARKER;
                 break;
             case CONST_LONG:
-                frame.locals[inst.getDest()] = NovaLong.of(((Number) inst.getExtra()).longValue());
+                frame.setRawLong(inst.getDest(), ((Number) inst.getExtra()).longValue());
                 break;
             case CONST_FLOAT:
                 frame.locals[inst.getDest()] = NovaFloat.of(((Number) inst.getExtra()).floatValue());
                 break;
             case CONST_DOUBLE:
-                frame.locals[inst.getDest()] = NovaDouble.of(((Number) inst.getExtra()).doubleValue());
+                frame.setRawDouble(inst.getDest(), ((Number) inst.getExtra()).doubleValue());
                 break;
             case CONST_STRING:
                 frame.locals[inst.getDest()] = NovaString.of((String) inst.getExtra());
@@ -2395,11 +2090,8 @@ final class MirInterpreter {
             case MOVE: {
                 int src = inst.operand(0);
                 int dest = inst.getDest();
-                NovaValue srcVal = frame.locals[src];
-                frame.locals[dest] = srcVal;
-                if (srcVal == MirFrame.RAW_INT_MARKER) {
-                    frame.rawLocals[dest] = frame.rawLocals[src];
-                }
+                frame.locals[dest] = frame.locals[src];
+                frame.rawLocals[dest] = frame.rawLocals[src];
                 break;
             }
 
@@ -2413,6 +2105,7 @@ final class MirInterpreter {
 
             // ===== 对象系统 =====
             case NEW_OBJECT:
+                if (interp.hasAllocationLimits) interp.budget().allocate();
                 executeNewObject(frame, inst);
                 break;
             case GET_FIELD:
@@ -2446,9 +2139,11 @@ final class MirInterpreter {
                 executeIndexSet(frame, inst);
                 break;
             case NEW_ARRAY:
+                if (interp.hasAllocationLimits) interp.budget().allocate();
                 executeNewArray(frame, inst);
                 break;
             case NEW_COLLECTION:
+                if (interp.hasAllocationLimits) interp.budget().allocate();
                 executeNewCollection(frame, inst);
                 break;
 
@@ -2517,11 +2212,11 @@ final class MirInterpreter {
         long b;
         if (leftSlot == MirFrame.RAW_INT_MARKER) a = rawLocals[leftIdx];
         else if (leftSlot instanceof NovaInt) a = ((NovaInt) leftSlot).getValue();
-        else { executeBinary(frame, inst); return; }
+        else { executeBinaryWideOrGeneric(frame, inst, leftSlot, rightSlot); return; }
 
         if (rightSlot == MirFrame.RAW_INT_MARKER) b = rawLocals[rightIdx];
         else if (rightSlot instanceof NovaInt) b = ((NovaInt) rightSlot).getValue();
-        else { executeBinary(frame, inst); return; }
+        else { executeBinaryWideOrGeneric(frame, inst, leftSlot, rightSlot); return; }
 
         BinaryOp op = inst.extraAs();
         int dest = inst.getDest();
@@ -2563,9 +2258,232 @@ final class MirInterpreter {
                 default: break;
             }
         }
+        int wide = compareWide(frame, op, leftIdx, rightIdx);
+        if (wide >= 0) {
+            return wide == 1;
+        }
         return compareFused(frame, op, leftIdx, rightIdx);
     }
 
+    // ============ Long / Double 双槽 ============
+
+    private static final int LANE_NONE = 0;
+    private static final int LANE_INT = 1;
+    private static final int LANE_LONG = 2;
+    private static final int LANE_DOUBLE = 3;
+
+    /** 数值通道：raw 标记或已装箱的 Int/Long/Double，其他类型（含 Float）为 LANE_NONE */
+    private static int numericLane(NovaValue slot) {
+        if (slot == MirFrame.RAW_INT_MARKER || slot instanceof NovaInt) return LANE_INT;
+        if (slot == MirFrame.RAW_DOUBLE_MARKER || slot instanceof NovaDouble) return LANE_DOUBLE;
+        if (slot == MirFrame.RAW_LONG_MARKER || slot instanceof NovaLong) return LANE_LONG;
+        return LANE_NONE;
+    }
+
+    private static long laneLong(MirFrame frame, int idx, NovaValue slot) {
+        if (slot == MirFrame.RAW_INT_MARKER || slot == MirFrame.RAW_LONG_MARKER) return frame.rawLocals[idx];
+        if (slot instanceof NovaInt) return ((NovaInt) slot).getValue();
+        return ((NovaLong) slot).getValue();
+    }
+
+    private static double laneDouble(MirFrame frame, int idx, NovaValue slot) {
+        if (slot == MirFrame.RAW_DOUBLE_MARKER) return frame.rawDouble(idx);
+        if (slot == MirFrame.RAW_INT_MARKER || slot == MirFrame.RAW_LONG_MARKER) return frame.rawLocals[idx];
+        if (slot instanceof NovaDouble) return ((NovaDouble) slot).getValue();
+        if (slot instanceof NovaInt) return ((NovaInt) slot).getValue();
+        return ((NovaLong) slot).getValue();
+    }
+
+    private void executeBinaryWideOrGeneric(MirFrame frame, MirInst inst, NovaValue leftSlot, NovaValue rightSlot) {
+        if (!executeBinaryWide(frame, inst, leftSlot, rightSlot)) {
+            executeBinary(frame, inst);
+        }
+    }
+
+    /**
+     * Long/Double 双槽 BINARY：任一操作数为 Long/Double、另一侧为 Int/Long/Double 时，
+     * 按 Double &gt; Long &gt; Int 提升后直接在原始值上运算，算术结果写回 rawLocals（不装箱）。
+     * 语义与 {@link BinaryOps} 一致；除零、位运算类型不匹配等情况返回 false 交给通用路径报错。
+     */
+    private boolean executeBinaryWide(MirFrame frame, MirInst inst, NovaValue leftSlot, NovaValue rightSlot) {
+        int leftLane = numericLane(leftSlot);
+        int rightLane = numericLane(rightSlot);
+        if (leftLane == LANE_NONE || rightLane == LANE_NONE) return false;
+        int lane = Math.max(leftLane, rightLane);
+        if (lane == LANE_INT) return false;
+        int leftIdx = inst.operand(0);
+        int rightIdx = inst.operand(1);
+        int dest = inst.getDest();
+        BinaryOp op = inst.extraAs();
+        if (lane == LANE_DOUBLE) {
+            double a = laneDouble(frame, leftIdx, leftSlot);
+            double b = laneDouble(frame, rightIdx, rightSlot);
+            switch (op) {
+                case ADD: frame.setRawDouble(dest, a + b); return true;
+                case SUB: frame.setRawDouble(dest, a - b); return true;
+                case MUL: frame.setRawDouble(dest, a * b); return true;
+                case DIV: if (b == 0) return false; frame.setRawDouble(dest, a / b); return true;
+                case MOD: if (b == 0) return false; frame.setRawDouble(dest, a % b); return true;
+                case EQ:  frame.locals[dest] = NovaBoolean.of(a == b); return true;
+                case NE:  frame.locals[dest] = NovaBoolean.of(a != b); return true;
+                case LT:  frame.locals[dest] = NovaBoolean.of(Double.compare(a, b) < 0); return true;
+                case GT:  frame.locals[dest] = NovaBoolean.of(Double.compare(a, b) > 0); return true;
+                case LE:  frame.locals[dest] = NovaBoolean.of(Double.compare(a, b) <= 0); return true;
+                case GE:  frame.locals[dest] = NovaBoolean.of(Double.compare(a, b) >= 0); return true;
+                default:  return false;
+            }
+        }
+        long a = laneLong(frame, leftIdx, leftSlot);
+        long b = laneLong(frame, rightIdx, rightSlot);
+        switch (op) {
+            case ADD: frame.setRawLong(dest, a + b); return true;
+            case SUB: frame.setRawLong(dest, a - b); return true;
+            case MUL: frame.setRawLong(dest, a * b); return true;
+            case DIV: if (b == 0) return false; frame.setRawLong(dest, a / b); return true;
+            case MOD: if (b == 0) return false; frame.setRawLong(dest, a % b); return true;
+            case EQ:  frame.locals[dest] = NovaBoolean.of(a == b); return true;
+            case NE:  frame.locals[dest] = NovaBoolean.of(a != b); return true;
+            case LT:  frame.locals[dest] = NovaBoolean.of(a < b); return true;
+            case GT:  frame.locals[dest] = NovaBoolean.of(a > b); return true;
+            case LE:  frame.locals[dest] = NovaBoolean.of(a <= b); return true;
+            case GE:  frame.locals[dest] = NovaBoolean.of(a >= b); return true;
+            case BAND: frame.setRawLong(dest, a & b); return true;
+            case BOR:  frame.setRawLong(dest, a | b); return true;
+            case BXOR: frame.setRawLong(dest, a ^ b); return true;
+            case SHL: if (leftLane != LANE_LONG) return false; frame.setRawLong(dest, a << (int) b); return true;
+            case SHR: if (leftLane != LANE_LONG) return false; frame.setRawLong(dest, a >> (int) b); return true;
+            case USHR: if (leftLane != LANE_LONG) return false; frame.setRawLong(dest, a >>> (int) b); return true;
+            default:  return false;
+        }
+    }
+
+    /**
+     * Long/Double 融合比较：返回 1/0 表示比较结果，-1 表示不适用（交给 compareFused）。
+     */
+    private static int compareWide(MirFrame frame, BinaryOp op, int leftIdx, int rightIdx) {
+        NovaValue leftSlot = frame.locals[leftIdx];
+        NovaValue rightSlot = frame.locals[rightIdx];
+        int leftLane = numericLane(leftSlot);
+        int rightLane = numericLane(rightSlot);
+        if (leftLane == LANE_NONE || rightLane == LANE_NONE) return -1;
+        int lane = Math.max(leftLane, rightLane);
+        if (lane == LANE_INT) return -1;
+        boolean result;
+        if (lane == LANE_DOUBLE) {
+            double a = laneDouble(frame, leftIdx, leftSlot);
+            double b = laneDouble(frame, rightIdx, rightSlot);
+            switch (op) {
+                case EQ: result = a == b; break;
+                case NE: result = a != b; break;
+                case LT: result = Double.compare(a, b) < 0; break;
+                case GT: result = Double.compare(a, b) > 0; break;
+                case LE: result = Double.compare(a, b) <= 0; break;
+                case GE: result = Double.compare(a, b) >= 0; break;
+                default: return -1;
+            }
+        } else {
+            long a = laneLong(frame, leftIdx, leftSlot);
+            long b = laneLong(frame, rightIdx, rightSlot);
+            switch (op) {
+                case EQ: result = a == b; break;
+                case NE: result = a != b; break;
+                case LT: result = a < b; break;
+                case GT: result = a > b; break;
+                case LE: result = a <= b; break;
+                case GE: result = a >= b; break;
+                default: return -1;
+            }
+        }
+        return result ? 1 : 0;
+    }
+
+    /** 将已装箱的数值元素逆装箱写入寄存器（Int/Long/Double → raw 通道，其他原样存储） */
+    private static void storeUnboxed(MirFrame frame, int dest, NovaValue elem) {
+        if (elem instanceof NovaInt) {
+            frame.rawLocals[dest] = ((NovaInt) elem).getValue();
+            frame.locals[dest] = MirFrame.RAW_INT_MARKER;
+        } else if (elem instanceof NovaDouble) {
+            frame.setRawDouble(dest, ((NovaDouble) elem).getValue());
+        } else if (elem instanceof NovaLong) {
+            frame.setRawLong(dest, ((NovaLong) elem).getValue());
+        } else {
+            frame.locals[dest] = elem;
+        }
+    }
+
+    /**
+     * 已证明 {@code 0 <= idx < length} 的数组直读：跳过负索引归一化，原始元素写入 raw 通道。
+     */
+    private static void loadArrayElementInBounds(MirFrame frame, int dest, NovaArray arr, int idx) {
+        switch (arr.getElementType()) {
+            case INT:
+                frame.rawLocals[dest] = ((int[]) arr.getRawArray())[idx];
+                frame.locals[dest] = MirFrame.RAW_INT_MARKER;
+                return;
+            case DOUBLE:
+                frame.setRawDouble(dest, ((double[]) arr.getRawArray())[idx]);
+                return;
+            case LONG:
+                frame.setRawLong(dest, ((long[]) arr.getRawArray())[idx]);
+                return;
+            default:
+                frame.locals[dest] = arr.get(idx);
+        }
+    }
+
+    /**
+     * 原始数组直读：Int/Long/Double 数组元素直接写入 raw 通道，不创建包装对象。
+     * 返回 false 表示元素类型或索引不适用（交给 NovaArray.get 处理负索引与越界报错）。
+     */
+    private static boolean loadRawArrayElement(MirFrame frame, int dest, NovaArray arr, int idx) {
+        if (idx < 0) return false;
+        switch (arr.getElementType()) {
+            case INT: {
+                int[] raw = (int[]) arr.getRawArray();
+                if (idx >= raw.length) return false;
+                frame.rawLocals[dest] = raw[idx];
+                frame.locals[dest] = MirFrame.RAW_INT_MARKER;
+                return true;
+            }
+            case DOUBLE: {
+                double[] raw = (double[]) arr.getRawArray();
+                if (idx >= raw.length) return false;
+                frame.setRawDouble(dest, raw[idx]);
+                return true;
+            }
+            case LONG: {
+                long[] raw = (long[]) arr.getRawArray();
+                if (idx >= raw.length) return false;
+                frame.setRawLong(dest, raw[idx]);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 原始存储列表直读：Int/Long/Double 存储的 NovaList 元素直接写入 raw 通道，不经过装箱视图。
+     * 返回 false 表示通用存储或索引不适用（交给 getElements().get 报越界错误）。
+     */
+    private static boolean loadRawListElement(MirFrame frame, int dest, NovaList list, int idx) {
+        if (idx < 0 || idx >= list.size()) return false;
+        switch (list.getStorageType()) {
+            case INT:
+                frame.rawLocals[dest] = ((int[]) list.getRawArray())[idx];
+                frame.locals[dest] = MirFrame.RAW_INT_MARKER;
+                return true;
+            case DOUBLE:
+                frame.setRawDouble(dest, ((double[]) list.getRawArray())[idx]);
+                return true;
+            case LONG:
+                frame.setRawLong(dest, ((long[]) list.getRawArray())[idx]);
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private void executeBinaryRaw(MirFrame frame, MirInst inst) {
         int leftIdx = inst.operand(0);
         int rightIdx = inst.operand(1);
@@ -2601,11 +2519,11 @@ final class MirInterpreter {
         NovaValue lv = frame.locals[leftIdx], rv = frame.locals[rightIdx];
         if (lv == MirFrame.RAW_INT_MARKER) a = frame.rawLocals[leftIdx];
         else if (lv instanceof NovaInt) a = ((NovaInt) lv).getValue();
-        else { executeBinary(frame, inst); return; }
+        else { executeBinaryWideOrGeneric(frame, inst, lv, rv); return; }
 
         if (rv == MirFrame.RAW_INT_MARKER) b = frame.rawLocals[rightIdx];
         else if (rv instanceof NovaInt) b = ((NovaInt) rv).getValue();
-        else { executeBinary(frame, inst); return; }
+        else { executeBinaryWideOrGeneric(frame, inst, lv, rv); return; }
 
         BinaryOp op = inst.extraAs();
         int dest = inst.getDest();
@@ -3270,8 +3188,8 @@ final class MirInterpreter {
 
     // ============ GET_STATIC / SET_STATIC ============
 
-    /** $Module 顶层静态字段存储（MIR 解释器路径） */
-    private Map<String, NovaValue> moduleStaticFields = new java.util.concurrent.ConcurrentHashMap<>();
+    /** $Module 顶层静态字段存储（MIR 解释器路径）；槽位由 StaticFieldSite 按本存储的布局解析并缓存 */
+    private BindingSlots moduleStaticFields = new BindingSlots();
 
     private void executeGetStatic(MirFrame frame, MirInst inst) {
         // 缓存字符串解析结果
@@ -3283,8 +3201,8 @@ final class MirInterpreter {
             fieldName = site.fieldName;
             // $Module 快速路径（缓存命中）
             if (site.isModule) {
-                NovaValue val = moduleStaticFields.get(fieldName);
-                frame.locals[inst.getDest()] = val != null ? val : NovaNull.NULL;
+                Object val = moduleStaticFields.getAt(site.binding);
+                frame.locals[inst.getDest()] = val != null ? (NovaValue) val : NovaNull.NULL;
                 return;
             }
         } else if (cached instanceof java.lang.invoke.MethodHandle) {
@@ -3314,8 +3232,8 @@ final class MirInterpreter {
 
             // $Module 顶层静态字段
             if (site.isModule) {
-                NovaValue val = moduleStaticFields.get(fieldName);
-                frame.locals[inst.getDest()] = val != null ? val : NovaNull.NULL;
+                Object val = moduleStaticFields.getAt(site.binding);
+                frame.locals[inst.getDest()] = val != null ? (NovaValue) val : NovaNull.NULL;
                 return;
             }
         }
@@ -3415,7 +3333,7 @@ final class MirInterpreter {
 
         // $Module 顶层静态字段
         if (site.isModule) {
-            moduleStaticFields.put(site.fieldName, value);
+            moduleStaticFields.putAt(site.binding, value);
             return;
         }
 
@@ -3450,14 +3368,10 @@ final class MirInterpreter {
                 frame.locals[inst.getDest()] = resolver.performIndex(target, frame.get(idxReg), null);
                 return;
             }
-            NovaValue elem = ((NovaList) target).getElements().get(idx);
-            int dest = inst.getDest();
-            // 逆装箱：NovaInt 元素 → raw 存储，使后续 BINARY 走纯 raw 快速路径
-            if (elem instanceof NovaInt) {
-                frame.rawLocals[dest] = ((NovaInt) elem).getValue();
-                frame.locals[dest] = MirFrame.RAW_INT_MARKER;
-            } else {
-                frame.locals[dest] = elem;
+            // 逆装箱：Int/Long/Double 元素 → raw 存储，使后续 BINARY 走纯 raw 快速路径
+            NovaList list = (NovaList) target;
+            if (!loadRawListElement(frame, inst.getDest(), list, idx)) {
+                storeUnboxed(frame, inst.getDest(), list.getElements().get(idx));
             }
             return;
         }
@@ -3476,10 +3390,7 @@ final class MirInterpreter {
                 return;
             }
             int dest = inst.getDest();
-            if (idx >= 0 && arr.getElementType() == NovaArray.ElementType.INT) {
-                frame.rawLocals[dest] = ((int[]) arr.getRawArray())[idx];
-                frame.locals[dest] = MirFrame.RAW_INT_MARKER;
-            } else {
+            if (!loadRawArrayElement(frame, dest, arr, idx)) {
                 frame.locals[dest] = arr.get(idx);
             }
             return;
@@ -3522,15 +3433,23 @@ final class MirInterpreter {
                         frame.get(inst.operand(2)), null);
                 return;
             }
+            int valReg = inst.operand(2);
+            NovaValue valSlot = frame.locals[valReg];
             if (idx >= 0 && arr.getElementType() == NovaArray.ElementType.INT) {
                 // raw int 直通：跳过 NovaValue 装箱/拆箱
-                int valReg = inst.operand(2);
-                NovaValue valSlot = frame.locals[valReg];
                 if (valSlot == MirFrame.RAW_INT_MARKER) {
                     ((int[]) arr.getRawArray())[idx] = (int) frame.rawLocals[valReg];
                 } else {
-                    ((int[]) arr.getRawArray())[idx] = valSlot.asInt();
-                }
+                    ((int[]) arr.getRawArray())[idx] = frame.get(valReg).asInt();
+                }
+            } else if (idx >= 0 && valSlot == MirFrame.RAW_DOUBLE_MARKER
+                    && arr.getElementType() == NovaArray.ElementType.DOUBLE
+                    && idx < ((double[]) arr.getRawArray()).length) {
+                ((double[]) arr.getRawArray())[idx] = frame.rawDouble(valReg);
+            } else if (idx >= 0 && valSlot == MirFrame.RAW_LONG_MARKER
+                    && arr.getElementType() == NovaArray.ElementType.LONG
+                    && idx < ((long[]) arr.getRawArray()).length) {
+                ((long[]) arr.getRawArray())[idx] = frame.rawLocals[valReg];
             } else {
                 arr.set(idx, frame.get(inst.operand(2)));
             }
@@ -3860,7 +3779,8 @@ final class MirInterpreter {
         }
     }
 
-    private static final class FieldAccessSite {
+    /** GET_FIELD 字段下标内联缓存（{@link Quickening} 据此改写为 Q_GET_FIELD_SLOT） */
+    static final class FieldAccessSite {
         NovaClass cachedClass;
         int fieldIndex = -1;
     }
@@ -3870,11 +3790,14 @@ final class MirInterpreter {
         final String owner;
         final String fieldName;
         final boolean isModule;
+        /** $Module 字段的绑定访问点（非 $Module 字段为 null）；槽位按 moduleStaticFields 的布局解析 */
+        final BindingSite binding;
 
         StaticFieldSite(String owner, String fieldName) {
             this.owner = owner;
             this.fieldName = fieldName;
             this.isModule = owner.endsWith("$Module");
+            this.binding = isModule ? new BindingSite(fieldName) : null;
         }
     }
 
@@ -38,6 +38,10 @@ public final class ModuleLoader {
         this.basePath = basePath;
     }
 
+    public Path getBasePath() {
+        return basePath;
+    }
+
     /** 清空所有已缓存的模块 */
     public void clear() {
         moduleCache.clear();
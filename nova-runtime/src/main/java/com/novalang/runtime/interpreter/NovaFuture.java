@@ -10,7 +10,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 异步计算包装。
@@ -22,9 +21,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 @NovaType(name = "Future", description = "异步计算类型，由 async { } 创建。使用 await 或 .get() 获取结果")
 public final class NovaFuture extends AbstractNovaValue {
 
-    /** 活跃异步任务计数器（全局共享） */
-    private static final AtomicInteger activeTaskCount = new AtomicInteger(0);
-
     private final CompletableFuture<NovaValue> future;
 
     /**
@@ -33,21 +29,15 @@ public final class NovaFuture extends AbstractNovaValue {
      */
     public NovaFuture(com.novalang.runtime.NovaCallable callable, Interpreter parentInterpreter) {
         int maxTasks = parentInterpreter.getSecurityPolicy().getMaxAsyncTasks();
-        if (maxTasks > 0) {
-            int current = activeTaskCount.incrementAndGet();
-            if (current > maxTasks) {
-                activeTaskCount.decrementAndGet();
-                throw new NovaRuntimeException(NovaException.ErrorKind.ACCESS_DENIED, "安全策略拒绝: 异步任务数超过上限 (" + maxTasks + ")", null);
-            }
-        } else {
-            activeTaskCount.incrementAndGet();
+        if (!AsyncTaskLimit.tryAcquire(maxTasks)) {
+            throw new NovaRuntimeException(NovaException.ErrorKind.ACCESS_DENIED, "安全策略拒绝: 异步任务数超过上限 (" + maxTasks + ")", null);
         }
         this.future = CompletableFuture.supplyAsync(() -> {
             try {
                 Interpreter child = new Interpreter(parentInterpreter);
                 return callable.call(child, Collections.emptyList());
             } finally {
-                activeTaskCount.decrementAndGet();
+                AsyncTaskLimit.release();
             }
         });
     }
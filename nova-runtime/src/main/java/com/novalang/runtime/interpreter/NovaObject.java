@@ -64,6 +64,11 @@ public final class NovaObject extends AbstractNovaValue {
         return true;
     }
 
+    @Override
+    public boolean keepsIdentityInJava() {
+        return javaDelegate == null;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
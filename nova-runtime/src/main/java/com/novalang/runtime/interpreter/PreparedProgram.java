@@ -0,0 +1,145 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.compiler.ast.decl.Program;
+import com.novalang.ir.mir.MirClass;
+import com.novalang.ir.mir.MirFunction;
+import com.novalang.ir.mir.MirModule;
+import com.novalang.runtime.NovaValue;
+import com.novalang.runtime.types.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可复用的预编译程序（解释器模式 CompiledNova 使用）。
+ *
+ * <p>首次执行时完成 AST → HIR → MIR 降级和模块准备，后续执行直接复用结果：</p>
+ * <ul>
+ *   <li>降级结果：仅当已知类/接口名集合发生变化时重新降级</li>
+ *   <li>准备结果：其他脚本重置了 MIR 状态，或宿主覆盖了模块绑定的名称（顶层函数、Java 导入）时重新准备</li>
+ * </ul>
+ * <p>含非 lambda 类、静态导入、模块导入或扩展声明的模块每次执行仍重新准备（保持类初始化和注册语义），
+ * 但同样跳过降级。非线程安全，与所属 Interpreter 一样由调用方串行使用。</p>
+ */
+public final class PreparedProgram {
+
+    private static final String MARKER_LAMBDA = "$Lambda$";
+    private static final String MARKER_METHOD_REF = "$MethodRef$";
+
+    final String source;
+    final String fileName;
+    final Program program;
+
+    // ── 降级缓存 ──
+    Interpreter owner;
+    MirModule mir;
+    String expandedSource;
+    int knownClassCount;
+    int knownInterfaceCount;
+    boolean reusablePreparation;
+
+    // ── 准备缓存 ──
+    MirInterpreter.PreparedModule prepared;
+    int preparedEpoch;
+    Environment preparedEnv;
+    String[] boundNames;
+    NovaValue[] boundValues;
+
+    int lowerCount;
+    int prepareCount;
+
+    public PreparedProgram(String source, String fileName, Program program) {
+        this.source = source;
+        this.fileName = fileName;
+        this.program = program;
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    /** 丢弃全部缓存，下次执行重新降级并准备 */
+    public void invalidate() {
+        owner = null;
+        mir = null;
+        expandedSource = null;
+        prepared = null;
+        preparedEnv = null;
+        boundNames = null;
+        boundValues = null;
+    }
+
+    /** 降级结果对指定解释器是否仍然有效 */
+    boolean isLoweringValid(Interpreter interp, int classCount, int interfaceCount) {
+        return mir != null && owner == interp
+                && knownClassCount == classCount && knownInterfaceCount == interfaceCount;
+    }
+
+    void recordLowering(Interpreter interp, MirModule mir, String expandedSource) {
+        this.owner = interp;
+        this.mir = mir;
+        this.expandedSource = expandedSource;
+        this.reusablePreparation = isPreparationReusable(mir);
+        this.prepared = null;
+        this.lowerCount++;
+    }
+
+    /** 准备结果是否可直接复用（跳过 prepareModule） */
+    boolean canReusePreparation(Environment env, int epoch) {
+        if (prepared == null || !reusablePreparation || preparedEpoch != epoch || preparedEnv != env) {
+            return false;
+        }
+        for (int i = 0; i < boundNames.length; i++) {
+            if (env.tryGet(boundNames[i]) != boundValues[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void recordPreparation(MirInterpreter.PreparedModule prepared, Environment env, int epoch,
+                           int classCount, int interfaceCount) {
+        this.prepared = prepared;
+        this.preparedEnv = env;
+        this.preparedEpoch = epoch;
+        // 准备阶段注册了本模块的类，记录注册后的规模，避免下次执行误判为需要重新降级
+        this.knownClassCount = classCount;
+        this.knownInterfaceCount = interfaceCount;
+        this.prepareCount++;
+        if (!reusablePreparation) {
+            return;
+        }
+        List<String> names = new ArrayList<String>();
+        for (MirFunction func : mir.getTopLevelFunctions()) {
+            if (!"main".equals(func.getName())) {
+                names.add(func.getName());
+            }
+        }
+        for (Map.Entry<String, String> entry : mir.getJavaImports().entrySet()) {
+            names.add(entry.getKey());
+        }
+        boundNames = names.toArray(new String[0]);
+        boundValues = new NovaValue[boundNames.length];
+        for (int i = 0; i < boundNames.length; i++) {
+            boundValues[i] = env.tryGet(boundNames[i]);
+        }
+    }
+
+    private static boolean isPreparationReusable(MirModule module) {
+        if (!module.getStaticImports().isEmpty()
+                || !module.getStaticWildcardImports().isEmpty()
+                || !module.getNovaImports().isEmpty()
+                || !module.getExtensionProperties().isEmpty()
+                || !module.getExtensionFunctions().isEmpty()) {
+            return false;
+        }
+        for (MirClass cls : module.getClasses()) {
+            String name = cls.getName();
+            if (!name.contains(MARKER_LAMBDA) && !name.contains(MARKER_METHOD_REF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.MirInst;
+import com.novalang.runtime.NovaValue;
+import com.novalang.runtime.types.NovaClass;
+
+/**
+ * 链接代码流的就地特化（quickening）。
+ *
+ * <p>可特化的通用记录（BINARY / GET_FIELD / INVOKE_VIRTUAL）每执行一次累加 {@link LinkedCode#heat}，
+ * 达到 {@link #THRESHOLD} 时按当时观察到的操作数类型把操作码改写为同长度的 {@code Q_*} 形式，
+ * 之后由解释器直接分派到特化处理。特化形式自带类型守卫，守卫失败时调用 {@link #deopt} 改回通用形式
+ * 并重新执行本条记录；去特化超过 {@link #MAX_DEOPTS} 次的指令视为多态，保持通用形式。</p>
+ *
+ * <p>超级指令从同一份热度剖析中产生：当一条指令被特化时，若它与相邻记录都已稳定在可融合的特化形式
+ * （或后继是块末 GOTO），就把前一条记录改写为融合操作码，一次分派执行两条记录。融合只改写前一条的
+ * 操作码，后一条记录保持原样，因此任一守卫失败都可以退回逐条执行。</p>
+ *
+ * <p>改写只涉及单个 int 槽位，记录布局不变；多个线程共享同一 {@link LinkedCode} 时，
+ * 读到旧形式或新形式都能正确执行。</p>
+ */
+final class Quickening {
+
+    /** 通用形式执行多少次后尝试特化 */
+    static final int THRESHOLD = 16;
+
+    /** 去特化次数上限，超过后不再特化 */
+    static final int MAX_DEOPTS = 4;
+
+    /** BINARY 记录长度：BINARY dest left right kind site */
+    private static final int BINARY_LENGTH = 6;
+
+    private Quickening() {}
+
+    /** 执行计数达到阈值时返回 true（仅触发一次） */
+    static boolean hot(LinkedCode linked, int site) {
+        return ++linked.heat[site] == THRESHOLD;
+    }
+
+    /**
+     * BINARY 特化：两侧都是原始 Int（或都是原始 Double）且运算种类有直接实现时改写。
+     */
+    static void quickenBinary(LinkedCode linked, int pc, NovaValue[] locals) {
+        int[] code = linked.code;
+        NovaValue left = locals[code[pc + 2]];
+        NovaValue right = locals[code[pc + 3]];
+        int kind = code[pc + 4];
+        if (kind == LinkedCode.B_OTHER) return;
+        if (left == MirFrame.RAW_INT_MARKER && right == MirFrame.RAW_INT_MARKER) {
+            switch (kind) {
+                case LinkedCode.B_ADD: code[pc] = LinkedCode.Q_ADD_II; break;
+                case LinkedCode.B_SUB: code[pc] = LinkedCode.Q_SUB_II; break;
+                case LinkedCode.B_MUL: code[pc] = LinkedCode.Q_MUL_II; break;
+                default: code[pc] = LinkedCode.Q_CMP_II; break;
+            }
+            fuse(linked, pc);
+        } else if (left == MirFrame.RAW_DOUBLE_MARKER && right == MirFrame.RAW_DOUBLE_MARKER) {
+            code[pc] = LinkedCode.Q_BINARY_DD;
+        }
+    }
+
+    /**
+     * GET_FIELD 特化：通用路径已把字段下标缓存到 {@code inst.cache}，且接收者
+     * （NovaObject 或 ScalarizedNovaObject）正是缓存的类。
+     */
+    static void quickenGetField(LinkedCode linked, int pc, NovaValue receiver) {
+        MirInst inst = linked.insts[linked.code[pc + 1]];
+        if (!(inst.cache instanceof MirInterpreter.FieldAccessSite)) return;
+        MirInterpreter.FieldAccessSite site = (MirInterpreter.FieldAccessSite) inst.cache;
+        if (site.fieldIndex >= 0 && site.cachedClass != null && site.cachedClass == classOf(receiver)) {
+            linked.code[pc] = LinkedCode.Q_GET_FIELD_SLOT;
+        }
+    }
+
+    private static NovaClass classOf(NovaValue receiver) {
+        if (receiver instanceof NovaObject) return ((NovaObject) receiver).getNovaClass();
+        if (receiver instanceof ScalarizedNovaObject) return ((ScalarizedNovaObject) receiver).getNovaClass();
+        return null;
+    }
+
+    /**
+     * INVOKE_VIRTUAL 特化：调用站点的内联缓存已解析到单一 NovaClass 上的 MirCallable。
+     */
+    static void quickenInvoke(LinkedCode linked, int pc, MirCallDispatcher dispatcher) {
+        MirInst inst = linked.insts[linked.code[pc + 1]];
+        if (dispatcher.isMonomorphic(inst)) {
+            linked.code[pc] = LinkedCode.Q_INVOKE_MONO;
+        }
+    }
+
+    /**
+     * 守卫失败：改回通用形式（拆开以本记录结尾的超级指令），按去特化次数决定是否允许再次特化。
+     */
+    static void deopt(LinkedCode linked, int pc) {
+        int[] code = linked.code;
+        int site = linked.siteAt(pc);
+        code[pc] = genericOf(code[pc]);
+        int prevPc = site > 0 ? linked.instPcs[site - 1] : -1;
+        if (prevPc >= 0 && prevPc + BINARY_LENGTH == pc && code[prevPc] == LinkedCode.Q_ADD_II_ADD_II) {
+            code[prevPc] = LinkedCode.Q_ADD_II;
+        }
+        if (++linked.deopts[site] > MAX_DEOPTS) {
+            linked.deopts[site] = MAX_DEOPTS + 1;
+            linked.heat[site] = THRESHOLD + 1;
+        } else {
+            linked.heat[site] = 0;
+        }
+    }
+
+    private static int genericOf(int op) {
+        switch (op) {
+            case LinkedCode.Q_GET_FIELD_SLOT: return LinkedCode.GET_FIELD;
+            case LinkedCode.Q_INVOKE_MONO: return LinkedCode.INVOKE_VIRTUAL;
+            default: return LinkedCode.BINARY;
+        }
+    }
+
+    /**
+     * 新特化的 Q_ADD_II 与相邻记录融合：前一条也是 Q_ADD_II 时融合前一条，
+     * 后一条是 Q_ADD_II 或块末 GOTO 时融合本条。
+     */
+    private static void fuse(LinkedCode linked, int pc) {
+        int[] code = linked.code;
+        if (code[pc] != LinkedCode.Q_ADD_II) return;
+        int site = code[pc + 5];
+        int prevPc = site > 0 ? linked.instPcs[site - 1] : -1;
+        if (prevPc >= 0 && prevPc + BINARY_LENGTH == pc && code[prevPc] == LinkedCode.Q_ADD_II) {
+            code[prevPc] = LinkedCode.Q_ADD_II_ADD_II;
+            return;
+        }
+        int next = pc + BINARY_LENGTH;
+        if (next >= code.length) return;
+        if (code[next] == LinkedCode.GOTO) {
+            code[pc] = LinkedCode.Q_ADD_II_GOTO;
+        } else if (code[next] == LinkedCode.Q_ADD_II && linked.siteAt(next) == site + 1) {
+            code[pc] = LinkedCode.Q_ADD_II_ADD_II;
+        }
+    }
+}
@@ -3,6 +3,8 @@ import com.novalang.runtime.*;
 
 import com.novalang.runtime.stdlib.Ext;
 import com.novalang.runtime.stdlib.ExtProperty;
+import com.novalang.runtime.stdlib.ParallelOps;
+import com.novalang.runtime.stdlib.Sequences;
 import com.novalang.runtime.stdlib.internal.RangeOps;
 
 import java.util.List;
@@ -56,6 +58,10 @@ public final class RangeExtensions {
         return RangeOps.toNovaList((NovaRange) range);
     }
 
+    public static Object asSequence(Object range) {
+        return Sequences.from(range);
+    }
+
     @SuppressWarnings("unchecked")
     public static Object forEach(Object range, Object action) {
         return RangeOps.forEach((NovaRange) range, (Function<Object, Object>) action);
@@ -70,4 +76,34 @@ public final class RangeExtensions {
     public static Object filter(Object range, Object predicate) {
         return RangeOps.filter((NovaRange) range, (Function<Object, Object>) predicate);
     }
+
+    // ========== 并行操作 ==========
+
+    public static Object parallelMap(Object range, Object transform) {
+        return ParallelOps.map(range, transform);
+    }
+
+    public static Object parallelFilter(Object range, Object predicate) {
+        return ParallelOps.filter(range, predicate);
+    }
+
+    public static Object parallelForEach(Object range, Object action) {
+        return ParallelOps.forEach(range, action);
+    }
+
+    public static Object parallelReduce(Object range, Object operation) {
+        return ParallelOps.reduce(range, operation);
+    }
+
+    public static Object parallelFold(Object range, Object initial, Object operation) {
+        return ParallelOps.fold(range, initial, operation);
+    }
+
+    public static Object parallelFold(Object range, Object initial, Object operation, Object combine) {
+        return ParallelOps.fold(range, initial, operation, combine);
+    }
+
+    public static Object parallelGroupBy(Object range, Object keySelector) {
+        return ParallelOps.groupBy(range, keySelector);
+    }
 }
@@ -2,14 +2,19 @@ package com.novalang.runtime.interpreter;
 import com.novalang.runtime.*;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * SAM (Single Abstract Method) 代理工厂：统一创建 NovaCallable → Java 函数式接口的代理对象。
  *
  * <p>用于 Java 互操作，将 Nova 函数/lambda 转换为 Java 函数式接口（如 Runnable, Consumer, Function 等）。
+ * 优先使用 {@link SamAdapter#generate} 生成的实现类，经 {@link CallableInvoker} 按元数直接调用；
+ * 无法生成时回退到 Proxy。
  */
 public final class SamProxyFactory {
 
@@ -19,6 +24,12 @@ public final class SamProxyFactory {
      * 创建 SAM 接口代理：将 NovaCallable 适配为 Java 函数式接口。
      */
     public static Object create(Class<?> interfaceClass, NovaCallable callable, Interpreter interpreter) {
+        Method sam = SamAdapter.getSamMethod(interfaceClass);
+        if (sam != null) {
+            Object generated = SamAdapter.generate(interfaceClass,
+                    new CallableInvoker(callable, interpreter, sam.getReturnType()));
+            if (generated != null) return generated;
+        }
         // 通用 NovaCallable → SAM 代理
         return Proxy.newProxyInstance(
             interfaceClass.getClassLoader(),
@@ -69,4 +80,64 @@ public final class SamProxyFactory {
             return result.toJavaValue();
         };
     }
+
+    /**
+     * 解释路径的按元数调用目标：MirCallable 直接进入帧，其他 NovaCallable 走 call。
+     * 返回值转换与 Proxy 路径一致（Object 返回类型保留 NovaObject）。
+     */
+    static final class CallableInvoker extends SamInvoker {
+        private final NovaCallable callable;
+        private final Interpreter interpreter;
+        private final boolean keepNovaObject;
+
+        CallableInvoker(NovaCallable callable, Interpreter interpreter, Class<?> returnType) {
+            this.callable = callable;
+            this.interpreter = interpreter;
+            this.keepNovaObject = returnType == Object.class;
+        }
+
+        @Override
+        public Object invoke0() {
+            Interpreter ctx = interpreter.samContext();
+            return toJava(callable instanceof MirCallable
+                    ? ((MirCallable) callable).call0(ctx)
+                    : callable.call(ctx, Collections.<NovaValue>emptyList()));
+        }
+
+        @Override
+        public Object invoke1(Object a0) {
+            Interpreter ctx = interpreter.samContext();
+            NovaValue v0 = AbstractNovaValue.fromJava(a0);
+            return toJava(callable instanceof MirCallable
+                    ? ((MirCallable) callable).call1(ctx, v0)
+                    : callable.call(ctx, Collections.singletonList(v0)));
+        }
+
+        @Override
+        public Object invoke2(Object a0, Object a1) {
+            Interpreter ctx = interpreter.samContext();
+            NovaValue v0 = AbstractNovaValue.fromJava(a0);
+            NovaValue v1 = AbstractNovaValue.fromJava(a1);
+            return toJava(callable instanceof MirCallable
+                    ? ((MirCallable) callable).call2(ctx, v0, v1)
+                    : callable.call(ctx, Arrays.asList(v0, v1)));
+        }
+
+        @Override
+        public Object invoke3(Object a0, Object a1, Object a2) {
+            return toJava(callable.call(interpreter.samContext(), Arrays.asList(
+                    AbstractNovaValue.fromJava(a0), AbstractNovaValue.fromJava(a1), AbstractNovaValue.fromJava(a2))));
+        }
+
+        @Override
+        public String toString() {
+            return callable.toString();
+        }
+
+        private Object toJava(NovaValue result) {
+            if (result == null) return null;
+            if (keepNovaObject && result instanceof NovaObject) return result;
+            return result.toJavaValue();
+        }
+    }
 }
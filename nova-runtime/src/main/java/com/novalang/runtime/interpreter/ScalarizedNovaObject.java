@@ -80,7 +80,7 @@ final class ScalarizedNovaObject extends AbstractNovaValue {
         if (frame.locals[operand] == MirFrame.RAW_INT_MARKER) {
             setRawIntFieldByIndex(index, frame.rawLocals[operand]);
         } else {
-            setFieldByIndex(index, frame.locals[operand]);
+            setFieldByIndex(index, frame.get(operand));
         }
     }
 
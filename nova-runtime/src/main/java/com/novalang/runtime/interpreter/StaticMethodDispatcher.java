@@ -3,6 +3,7 @@ package com.novalang.runtime.interpreter;
 import com.novalang.ir.mir.*;
 import com.novalang.runtime.*;
 import com.novalang.runtime.resolution.MethodNameCanonicalizer;
+import com.novalang.runtime.types.Environment;
 import com.novalang.runtime.types.NovaClass;
 import com.novalang.runtime.interpreter.reflect.NovaClassInfo;
 import com.novalang.runtime.stdlib.StdlibRegistry;
@@ -87,6 +88,11 @@ final class StaticMethodDispatcher {
 
     // ============ INVOKE_STATIC 入口 ============
 
+    /** 调用站点不是特殊标记（可在链接时预解析为 MirCallSite） */
+    static boolean isPlainCallSite(String extra) {
+        return !(extra.length() > 0 && extra.charAt(0) == '$') && !extra.startsWith(MARKER_SCRIPT_CTX);
+    }
+
     void executeInvokeStatic(MirFrame frame, MirInst inst) {
         // 特殊标记快速分派（编译期分类，避免运行时字符串匹配）
         switch (inst.specialKind) {
@@ -208,13 +214,28 @@ final class StaticMethodDispatcher {
 
     /** $ENV|op 或 com/novalang/runtime/NovaScriptContext|op — 环境变量访问 */
     void executeEnvAccess(MirFrame frame, MirInst inst) {
-        String extra = inst.extraAs();
+        Object cached = inst.cache;
+        EnvAccessSite site;
+        if (cached instanceof EnvAccessSite) {
+            site = (EnvAccessSite) cached;
+        } else {
+            site = new EnvAccessSite(inst.extraAs());
+            inst.cache = site;
+        }
         int[] ops = inst.getOperands();
-        if (extra.contains("|get|") && ops != null && ops.length > 0) {
-            // NovaScriptContext.get(name) → Environment.tryGet(name)
+        if (site.op == EnvAccessSite.GET && ops != null && ops.length > 0) {
+            // NovaScriptContext.get(name) → Environment 槽位（已缓存）或 tryGet(name)
             NovaValue nameVal = frame.locals[ops[0]];
             String name = nameVal != null ? nameVal.asString() : null;
-            NovaValue value = name != null ? interp.getEnvironment().tryGet(name) : null;
+            NovaValue value = null;
+            if (name != null) {
+                Environment env = interp.getEnvironment();
+                value = site.read(env, name);
+                if (value == null) {
+                    value = env.tryGet(name);
+                    if (value != null) site.remember(env, name);
+                }
+            }
             // 作用域函数: 从接收者对象读取字段
             if (value == null && name != null && dispatcher.scopeReceiver instanceof NovaObject) {
                 NovaObject obj = (NovaObject) dispatcher.scopeReceiver;
@@ -261,7 +282,7 @@ final class StaticMethodDispatcher {
             if (inst.getDest() >= 0) {
                 frame.locals[inst.getDest()] = value != null ? value : NovaNull.NULL;
             }
-        } else if (extra.contains("|defineVal|") && ops != null && ops.length > 1) {
+        } else if (site.op == EnvAccessSite.DEFINE_VAL && ops != null && ops.length > 1) {
             NovaValue nameVal = frame.locals[ops[0]];
             NovaValue value = frame.get(ops[1]);
             String name = nameVal != null ? nameVal.asString() : null;
@@ -280,7 +301,7 @@ final class StaticMethodDispatcher {
                 }
                 interp.getEnvironment().redefine(name, value, false);
             }
-        } else if (extra.contains("|defineVar|") && ops != null && ops.length > 1) {
+        } else if (site.op == EnvAccessSite.DEFINE_VAR && ops != null && ops.length > 1) {
             NovaValue nameVal = frame.locals[ops[0]];
             NovaValue value = frame.get(ops[1]);
             String name = nameVal != null ? nameVal.asString() : null;
@@ -298,7 +319,7 @@ final class StaticMethodDispatcher {
                 }
                 interp.getEnvironment().redefine(name, value, true);
             }
-        } else if (extra.contains("|set|") && ops != null && ops.length > 1) {
+        } else if (site.op == EnvAccessSite.SET && ops != null && ops.length > 1) {
             NovaValue nameVal = frame.locals[ops[0]];
             NovaValue value = frame.get(ops[1]);
             String name = nameVal != null ? nameVal.asString() : null;
@@ -306,13 +327,85 @@ final class StaticMethodDispatcher {
                 if (dispatcher.scopeReceiver instanceof NovaObject
                         && ((NovaObject) dispatcher.scopeReceiver).hasField(name)) {
                     ((NovaObject) dispatcher.scopeReceiver).setField(name, value);
-                } else if (!interp.getEnvironment().tryAssign(name, value)) {
-                    interp.getEnvironment().redefine(name, value, true);
+                } else {
+                    Environment env = interp.getEnvironment();
+                    if (!site.write(env, name, value)) {
+                        if (!env.tryAssign(name, value)) {
+                            env.redefine(name, value, true);
+                        }
+                        site.remember(env, name);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * 环境访问指令的调用点缓存：操作类型只解析一次；
+     * 变量位于当前作用域时记住其槽位，之后按 (环境, 布局版本, 名称) 校验后直接按槽位读写。
+     */
+    private static final class EnvAccessSite {
+        static final int OTHER = 0;
+        static final int GET = 1;
+        static final int DEFINE_VAL = 2;
+        static final int DEFINE_VAR = 3;
+        static final int SET = 4;
+
+        final int op;
+        /** 最近一次解析到的槽位（不可变快照，整体替换，子线程解释器共享指令时不会读到混合状态） */
+        private EnvSlot slot;
+
+        EnvAccessSite(String extra) {
+            if (extra.contains("|get|")) op = GET;
+            else if (extra.contains("|defineVal|")) op = DEFINE_VAL;
+            else if (extra.contains("|defineVar|")) op = DEFINE_VAR;
+            else if (extra.contains("|set|")) op = SET;
+            else op = OTHER;
+        }
+
+        NovaValue read(Environment env, String name) {
+            EnvSlot s = slot;
+            if (s != null && s.matches(env, name)) {
+                return env.getAtSlot(0, s.index);
+            }
+            return null;
+        }
+
+        boolean write(Environment env, String name, NovaValue value) {
+            EnvSlot s = slot;
+            if (s != null && s.matches(env, name)) {
+                env.assignAtSlot(0, s.index, value);
+                return true;
+            }
+            return false;
+        }
+
+        void remember(Environment env, String name) {
+            int index = env.localSlotOf(name);
+            if (index >= 0) {
+                slot = new EnvSlot(env, env.getLayoutVersion(), name, index);
+            }
+        }
+    }
+
+    private static final class EnvSlot {
+        final Environment env;
+        final int version;
+        final String name;
+        final int index;
+
+        EnvSlot(Environment env, int version, String name, int index) {
+            this.env = env;
+            this.version = version;
+            this.name = name;
+            this.index = index;
+        }
+
+        boolean matches(Environment current, String currentName) {
+            return env == current && version == current.getLayoutVersion() && name.equals(currentName);
+        }
+    }
+
     // ============ 静态方法分派主链 ============
 
     private NovaValue invokeStaticMethod(String owner, String methodName, List<NovaValue> args) {
@@ -670,6 +763,11 @@ final class StaticMethodDispatcher {
                     }
                 }
             }
+            // Sequence 终端 HOF 批量快速路径
+            if (receiver instanceof NovaSequence) {
+                NovaValue r = dispatcher.tryBatchSequence((NovaSequence) receiver, methodName, methodArgs);
+                if (r != null) return r;
+            }
             NovaCallable userExt = interp.findExtension(receiver, methodName);
             if (userExt != null) {
                 return dispatcher.bindAndExecute(receiver, userExt, methodArgs);
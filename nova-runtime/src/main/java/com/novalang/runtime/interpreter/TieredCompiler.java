@@ -0,0 +1,368 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.NovaIrCompiler;
+import com.novalang.ir.mir.BasicBlock;
+import com.novalang.ir.mir.MirFunction;
+import com.novalang.ir.mir.MirInst;
+import com.novalang.ir.mir.MirLocal;
+import com.novalang.ir.mir.MirModule;
+import com.novalang.ir.mir.MirParam;
+import com.novalang.ir.mir.MirTerminator;
+import com.novalang.ir.mir.MirType;
+import com.novalang.runtime.AbstractNovaValue;
+import com.novalang.runtime.NovaBoolean;
+import com.novalang.runtime.NovaDouble;
+import com.novalang.runtime.NovaInt;
+import com.novalang.runtime.NovaLong;
+import com.novalang.runtime.NovaValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分层执行：解释器统计顶层函数的调用次数和循环回边，超过阈值后在后台线程用字节码后端
+ * （{@link NovaIrCompiler}）编译整个模块源码，之后该函数的调用直接进入编译出的静态方法。
+ *
+ * <p>只有纯计算函数参与分层：参数为 Int / Long / Double / Boolean，函数体只包含常量、局部变量、
+ * 算术与比较、分支循环、数值扩展函数（{@code until} / {@code toLong} 等）以及对其他同类函数的调用，
+ * 不读写顶层变量、不创建对象、不捕获异常。这类函数的编译版本与解释执行互不影响，
+ * 编译版本抛出异常时当次调用回到解释器重新执行，报错信息与纯解释模式一致。
+ * 分层编译开启 {@link NovaIrCompiler#setExactIntArithmetic}：Int 运算结果超出范围时编译版本抛异常，
+ * 由解释器重新执行并按解释语义提升为 Long，晋升前后结果相同。</p>
+ *
+ * <p>安全策略设置了循环、调用、分配或时间上限时不启用分层，所有代码仍由解释器计数和检查。</p>
+ */
+final class TieredCompiler {
+
+    /** 默认调用次数阈值；循环回边阈值为其 {@link #BACK_EDGE_FACTOR} 倍 */
+    static final int DEFAULT_THRESHOLD = 1000;
+    private static final int BACK_EDGE_FACTOR = 10;
+
+    private static final String MODULE_OWNER_SUFFIX = "$Module";
+    private static final String NUMBER_EXTENSIONS = "com/novalang/runtime/stdlib/NumberExtensions";
+    private static final String NOVA_COLLECTIONS = "com/novalang/runtime/NovaCollections";
+
+    /** 可在纯函数中调用的接口方法（范围 for 循环降级产生的迭代器调用） */
+    private static final Set<String> PURE_INTERFACE_CALLS = new HashSet<String>(Arrays.asList(
+            "java/lang/Iterable|iterator", "java/util/Iterator|hasNext", "java/util/Iterator|next"));
+
+    private static final ExecutorService COMPILER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "nova-tiered-compiler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int invocationThreshold;
+    private final int backEdgeThreshold;
+    private final AtomicInteger compiledFunctions = new AtomicInteger();
+    private final AtomicLong compiledCalls = new AtomicLong();
+    private volatile Future<?> lastTask;
+
+    TieredCompiler(int threshold) {
+        this.invocationThreshold = Math.max(1, threshold);
+        this.backEdgeThreshold = (int) Math.min(Integer.MAX_VALUE, (long) invocationThreshold * BACK_EDGE_FACTOR);
+    }
+
+    /** 同一模块源码只编译一次，所有晋升的函数共用编译结果 */
+    private static final class ModuleUnit {
+        final String source;
+        final String fileName;
+        Map<String, Class<?>> classes;
+        boolean failed;
+
+        ModuleUnit(String source, String fileName) {
+            this.source = source;
+            this.fileName = fileName;
+        }
+    }
+
+    /** 单个函数的分层状态，挂在 {@link MirFunction#getTierState()} 上 */
+    static final class Profile {
+        final ModuleUnit unit;
+        final String name;
+        final MirType.Kind[] paramKinds;
+        /** 计数允许竞争丢失：只用于估计热度 */
+        int invocations;
+        int backEdges;
+        volatile boolean requested;
+        /** 编译后的入口：(Object[]) → Object；null 表示仍在解释执行 */
+        volatile MethodHandle entry;
+
+        Profile(ModuleUnit unit, String name, MirType.Kind[] paramKinds) {
+            this.unit = unit;
+            this.name = name;
+            this.paramKinds = paramKinds;
+        }
+    }
+
+    // ============ 模块注册 ============
+
+    /**
+     * 分析模块的顶层函数，为纯计算函数挂载分层状态。
+     * 互相调用的函数按不动点收敛：调用了不合格函数的函数也不合格。
+     */
+    void register(MirModule module, String source, String fileName) {
+        if (source == null) return;
+        Map<String, MirFunction> byName = new HashMap<String, MirFunction>();
+        Set<String> overloaded = new HashSet<String>();
+        for (MirFunction func : module.getTopLevelFunctions()) {
+            if ("main".equals(func.getName())) continue;
+            if (byName.put(func.getName(), func) != null) overloaded.add(func.getName());
+        }
+        for (String name : overloaded) byName.remove(name);
+
+        Set<String> eligible = new HashSet<String>();
+        for (Map.Entry<String, MirFunction> e : byName.entrySet()) {
+            if (isCandidate(e.getValue())) eligible.add(e.getKey());
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (java.util.Iterator<String> it = eligible.iterator(); it.hasNext(); ) {
+                if (!isPureBody(byName.get(it.next()), eligible)) {
+                    it.remove();
+                    changed = true;
+                }
+            }
+        }
+        if (eligible.isEmpty()) return;
+
+        ModuleUnit unit = new ModuleUnit(source, fileName != null ? fileName : "<tiered>");
+        for (String name : eligible) {
+            MirFunction func = byName.get(name);
+            List<MirParam> params = func.getParams();
+            MirType.Kind[] kinds = new MirType.Kind[params.size()];
+            for (int i = 0; i < kinds.length; i++) kinds[i] = params.get(i).getType().getKind();
+            func.setTierState(new Profile(unit, name, kinds));
+        }
+    }
+
+    /** 签名层面的条件：无接收者、无默认参数、无泛型、无异常表，参数均为基本数值/布尔类型 */
+    private static boolean isCandidate(MirFunction func) {
+        if (!func.getTypeParams().isEmpty() || !func.getTryCatchEntries().isEmpty()) return false;
+        List<MirLocal> locals = func.getLocals();
+        if (!locals.isEmpty() && "this".equals(locals.get(0).getName())) return false;
+        MirType ret = func.getReturnType();
+        if (ret == null || ret.getKind() == MirType.Kind.VOID) return false;
+        for (MirParam p : func.getParams()) {
+            if (p.hasDefault() || p.getType() == null) return false;
+            switch (p.getType().getKind()) {
+                case INT: case LONG: case DOUBLE: case BOOLEAN:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPureBody(MirFunction func, Set<String> eligible) {
+        for (BasicBlock block : func.getBlocks()) {
+            for (MirInst inst : block.getInstructions()) {
+                if (!isPureInst(inst, eligible)) return false;
+            }
+            MirTerminator term = block.getTerminator();
+            if (term != null && (term.kind == MirTerminator.KIND_THROW || term.kind == MirTerminator.KIND_UNREACHABLE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPureInst(MirInst inst, Set<String> eligible) {
+        switch (inst.getOp()) {
+            case CONST_INT: case CONST_LONG: case CONST_FLOAT: case CONST_DOUBLE:
+            case CONST_BOOL: case CONST_CHAR: case CONST_NULL:
+            case MOVE: case BINARY: case UNARY:
+                return true;
+            case INVOKE_STATIC: {
+                if (inst.specialKind != MirInst.SK_NORMAL || !(inst.getExtra() instanceof String)) return false;
+                String[] parts = ((String) inst.getExtra()).split("\\|");
+                if (parts.length < 2) return false;
+                if (parts[0].endsWith(MODULE_OWNER_SUFFIX)) return eligible.contains(parts[1]);
+                return NUMBER_EXTENSIONS.equals(parts[0])
+                        || (NOVA_COLLECTIONS.equals(parts[0]) && "toIterable".equals(parts[1]));
+            }
+            case INVOKE_INTERFACE: {
+                if (!(inst.getExtra() instanceof String)) return false;
+                String[] parts = ((String) inst.getExtra()).split("\\|");
+                return parts.length >= 2 && PURE_INTERFACE_CALLS.contains(parts[0] + "|" + parts[1]);
+            }
+            default:
+                return false;
+        }
+    }
+
+    // ============ 计数与晋升 ============
+
+    /**
+     * 函数入口：已编译时直接执行编译版本并返回结果；否则计数并返回 null，由解释器继续执行。
+     * 参数取自帧的前 N 个寄存器。
+     */
+    NovaValue enter(Profile profile, MirFrame frame) {
+        MethodHandle entry = profile.entry;
+        if (entry == null) {
+            if (++profile.invocations >= invocationThreshold) requestCompile(profile);
+            return null;
+        }
+        Object[] args = collectArgs(profile.paramKinds, frame);
+        if (args == null) return null;
+        Object result;
+        try {
+            result = (Object) entry.invokeExact(args);
+        } catch (StackOverflowError | RuntimeException e) {
+            // 纯函数：交给解释器重新执行本次调用，得到与解释模式一致的错误
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+        compiledCalls.incrementAndGet();
+        return AbstractNovaValue.fromJava(result);
+    }
+
+    void onBackEdge(Profile profile) {
+        if (++profile.backEdges >= backEdgeThreshold && profile.entry == null) requestCompile(profile);
+    }
+
+    /** 参数类型与编译签名不符（如 Int 参数收到 Long）时返回 null，本次调用留在解释器 */
+    private static Object[] collectArgs(MirType.Kind[] kinds, MirFrame frame) {
+        Object[] args = new Object[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            NovaValue v = frame.locals[i];
+            long raw = frame.rawLocals[i];
+            switch (kinds[i]) {
+                case INT:
+                    if (v == MirFrame.RAW_INT_MARKER) args[i] = (int) raw;
+                    else if (v instanceof NovaInt) args[i] = ((NovaInt) v).getValue();
+                    else return null;
+                    break;
+                case LONG:
+                    if (v == MirFrame.RAW_LONG_MARKER) args[i] = raw;
+                    else if (v instanceof NovaLong) args[i] = ((NovaLong) v).getValue();
+                    else return null;
+                    break;
+                case DOUBLE:
+                    if (v == MirFrame.RAW_DOUBLE_MARKER) args[i] = Double.longBitsToDouble(raw);
+                    else if (v instanceof NovaDouble) args[i] = ((NovaDouble) v).getValue();
+                    else return null;
+                    break;
+                default:
+                    if (v instanceof NovaBoolean) args[i] = ((NovaBoolean) v).getValue();
+                    else return null;
+                    break;
+            }
+        }
+        return args;
+    }
+
+    private void requestCompile(Profile profile) {
+        if (profile.requested) return;
+        synchronized (profile) {
+            if (profile.requested) return;
+            profile.requested = true;
+        }
+        lastTask = COMPILER.submit(() -> compile(profile));
+    }
+
+    /** 后台线程执行；失败时函数保持解释执行，不再重试 */
+    private void compile(Profile profile) {
+        ModuleUnit unit = profile.unit;
+        if (unit.classes == null && !unit.failed) {
+            try {
+                NovaIrCompiler compiler = new NovaIrCompiler();
+                compiler.setScriptMode(true);
+                compiler.setExactIntArithmetic(true);
+                configureRelocate(compiler);
+                unit.classes = compiler.compileAndLoad(unit.source, unit.fileName);
+            } catch (Throwable e) {
+                unit.failed = true;
+            }
+        }
+        if (unit.classes == null) return;
+        MethodHandle handle = findEntry(unit.classes, profile);
+        if (handle != null) {
+            profile.entry = handle;
+            compiledFunctions.incrementAndGet();
+        }
+    }
+
+    private static MethodHandle findEntry(Map<String, Class<?>> classes, Profile profile) {
+        Method found = null;
+        for (Map.Entry<String, Class<?>> e : classes.entrySet()) {
+            if (!e.getKey().endsWith(MODULE_OWNER_SUFFIX)) continue;
+            for (Method m : e.getValue().getDeclaredMethods()) {
+                if (!m.getName().equals(profile.name) || !Modifier.isStatic(m.getModifiers())
+                        || !Modifier.isPublic(m.getModifiers())) continue;
+                if (found != null || !matches(m, profile.paramKinds)) return null;
+                found = m;
+            }
+        }
+        if (found == null || found.getReturnType() == void.class) return null;
+        try {
+            int n = profile.paramKinds.length;
+            return MethodHandles.publicLookup().unreflect(found)
+                    .asType(MethodType.genericMethodType(n))
+                    .asSpreader(Object[].class, n);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(Method m, MirType.Kind[] kinds) {
+        Class<?>[] types = m.getParameterTypes();
+        if (types.length != kinds.length) return false;
+        for (int i = 0; i < kinds.length; i++) {
+            Class<?> expected;
+            switch (kinds[i]) {
+                case INT: expected = int.class; break;
+                case LONG: expected = long.class; break;
+                case DOUBLE: expected = double.class; break;
+                default: expected = boolean.class; break;
+            }
+            if (types[i] != expected) return false;
+        }
+        return true;
+    }
+
+    /** 运行时包被 shadow relocate 时重映射生成字节码的引用（与 Nova.compileToBytecode 一致） */
+    private static void configureRelocate(NovaIrCompiler compiler) {
+        String internalName = TieredCompiler.class.getName().replace('.', '/');
+        int idx = internalName.indexOf("novalang/runtime/");
+        if (idx <= 4) return;
+        compiler.setRelocatePrefix(internalName.substring(0, idx) + "novalang/");
+    }
+
+    // ============ 统计 ============
+
+    /** 已晋升为字节码的函数数 */
+    int getCompiledFunctionCount() {
+        return compiledFunctions.get();
+    }
+
+    /** 经编译版本完成的调用数 */
+    long getCompiledCallCount() {
+        return compiledCalls.get();
+    }
+
+    /** 等待已提交的编译任务完成（测试用） */
+    void awaitPendingCompilations() throws Exception {
+        Future<?> task = lastTask;
+        if (task != null) task.get();
+    }
+}
@@ -264,6 +264,10 @@ final class VirtualMethodDispatcher {
             if (receiver instanceof Iterable) {
                 return new NovaExternalObject(((Iterable<?>) receiver).iterator());
             }
+            // Sequence → 按需拉取，阶段链逐元素执行
+            if (receiver instanceof NovaSequence) {
+                return new NovaExternalObject(((NovaSequence) receiver).iterator());
+            }
             // String → 逐字符迭代
             if (receiver instanceof NovaString) {
                 String s = ((NovaString) receiver).getValue();
@@ -450,6 +454,11 @@ final class VirtualMethodDispatcher {
         NovaCallable userExt = interp.findExtension(receiver, methodName);
         if (userExt != null) return dispatcher.bindAndExecute(receiver, userExt, args);
 
+        if (receiver instanceof NovaSequence) {
+            NovaValue r = dispatcher.tryBatchSequence((NovaSequence) receiver, methodName, args);
+            if (r != null) return r;
+        }
+
         NovaValue stdlibMember = resolver.tryStdlibFallback(receiver, methodName);
         if (stdlibMember instanceof NovaCallable) return ((NovaCallable) stdlibMember).call(interp, args);
 
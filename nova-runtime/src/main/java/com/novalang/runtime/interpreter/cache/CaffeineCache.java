@@ -3,6 +3,8 @@ package com.novalang.runtime.interpreter.cache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 基于 Caffeine 的高性能缓存实现
  *
@@ -29,14 +31,30 @@ public final class CaffeineCache<K, V> implements BoundedCache<K, V> {
      * @param maximumSize 最大条目数
      */
     public CaffeineCache(long maximumSize) {
+        this(maximumSize, 0);
+    }
+
+    /**
+     * 创建带写入过期时间的 Caffeine 缓存
+     *
+     * @param maximumSize 最大条目数
+     * @param expireAfterWriteMillis 写入后过期时间（毫秒），0 表示不过期
+     */
+    public CaffeineCache(long maximumSize, long expireAfterWriteMillis) {
         if (maximumSize <= 0) {
             throw new IllegalArgumentException("maximumSize must be positive");
         }
+        if (expireAfterWriteMillis < 0) {
+            throw new IllegalArgumentException("expireAfterWriteMillis must not be negative");
+        }
         this.maximumSize = maximumSize;
-        this.cache = Caffeine.newBuilder()
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .maximumSize(maximumSize)
-                .recordStats()  // 启用统计（低开销）
-                .build();
+                .recordStats();  // 启用统计（低开销）
+        if (expireAfterWriteMillis > 0) {
+            builder.expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS);
+        }
+        this.cache = builder.build();
     }
 
     @Override
@@ -0,0 +1,176 @@
+package com.novalang.runtime.interpreter.cache;
+
+import com.novalang.ir.mir.MirFunction;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code @memoized} 函数的结果缓存
+ *
+ * <p>通用参数走 {@link BoundedCache}（W-TinyLFU 使用 {@link CaffeineCache}，LRU 使用 {@link SegmentedLruCache}），
+ * 单 Int 参数且 key 落在 [0, 1024] 时走无锁稠密数组快路径。两条路径都可被多个解释器线程同时访问。</p>
+ *
+ * <p>稠密数组的 1025 个槽位计入 maxSize：只有 maxSize 大于槽位数时才启用快路径，
+ * 通用路径容量相应减去槽位数，两条路径合计不超过 maxSize。</p>
+ *
+ * <p>默认配置可通过系统属性调整，单个函数可在注解上覆盖：</p>
+ * <ul>
+ *   <li>{@code novalang.memo.maxSize} / {@code @memoized(maxSize = 1000)}：通用路径最大条目数，默认 4096</li>
+ *   <li>{@code novalang.memo.ttlMs} / {@code @memoized(ttl = 5000)}：写入后过期毫秒数，默认 0（不过期）；
+ *       设置后稠密快路径停用</li>
+ *   <li>{@code novalang.memo.eviction} / {@code @memoized(eviction = "lru")}：{@code tinylfu}（默认）或 {@code lru}</li>
+ * </ul>
+ */
+public final class MemoCache implements MirFunction.MemoStore {
+
+    public enum Eviction { LRU, TINY_LFU }
+
+    public static final String MAX_SIZE_PROPERTY = "novalang.memo.maxSize";
+    public static final String TTL_PROPERTY = "novalang.memo.ttlMs";
+    public static final String EVICTION_PROPERTY = "novalang.memo.eviction";
+
+    private static final long DEFAULT_MAX_SIZE = 4096;
+
+    private static final int DENSE_MAX = 1024;
+    private static final int DENSE_SLOTS = DENSE_MAX + 1;
+
+    private final long maximumSize;
+    private final long ttlMillis;
+    private final Eviction eviction;
+    private final BoundedCache<Object, Object> cache;
+
+    /** 稠密 int 快路径（TTL 启用或 maxSize 不足以容纳全部槽位时为 null） */
+    private final AtomicReferenceArray<Object> dense;
+    private final AtomicInteger denseSize = new AtomicInteger();
+    private final LongAdder denseHits = new LongAdder();
+    private final LongAdder denseMisses = new LongAdder();
+
+    public MemoCache(long maximumSize, long ttlMillis, Eviction eviction) {
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttlMillis;
+        this.eviction = eviction;
+        boolean denseEnabled = ttlMillis <= 0 && maximumSize > DENSE_SLOTS;
+        long generalSize = denseEnabled ? maximumSize - DENSE_SLOTS : maximumSize;
+        this.cache = eviction == Eviction.LRU
+                ? new SegmentedLruCache<>(generalSize, ttlMillis)
+                : new CaffeineCache<>(generalSize, ttlMillis);
+        this.dense = denseEnabled ? new AtomicReferenceArray<>(DENSE_SLOTS) : null;
+    }
+
+    /** 使用系统属性中的默认配置创建 */
+    public static MemoCache withDefaults() {
+        return new MemoCache(defaultMaxSize(), defaultTtlMillis(), defaultEviction());
+    }
+
+    public static long defaultMaxSize() {
+        long value = readLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+        return value > 0 ? value : DEFAULT_MAX_SIZE;
+    }
+
+    public static long defaultTtlMillis() {
+        return Math.max(0, readLong(TTL_PROPERTY, 0));
+    }
+
+    public static Eviction defaultEviction() {
+        Eviction eviction = parseEviction(System.getProperty(EVICTION_PROPERTY));
+        return eviction != null ? eviction : Eviction.TINY_LFU;
+    }
+
+    /** 解析淘汰策略名称，无法识别时返回 null */
+    public static Eviction parseEviction(String name) {
+        if (name == null) return null;
+        switch (name.trim().toLowerCase(Locale.ROOT).replace("-", "").replace("_", "")) {
+            case "lru":
+                return Eviction.LRU;
+            case "tinylfu":
+            case "wtinylfu":
+            case "lfu":
+                return Eviction.TINY_LFU;
+            default:
+                return null;
+        }
+    }
+
+    private static long readLong(String property, long fallback) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException ignored) {
+                // 非法值回退默认
+            }
+        }
+        return fallback;
+    }
+
+    // ============ 读写 ============
+
+    public Object get(Object key) {
+        return cache.get(key);
+    }
+
+    public void put(Object key, Object value) {
+        if (value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    public Object getInt(int key) {
+        AtomicReferenceArray<Object> d = dense;
+        if (d != null && key >= 0 && key <= DENSE_MAX) {
+            Object value = d.get(key);
+            if (value != null) {
+                denseHits.increment();
+            } else {
+                denseMisses.increment();
+            }
+            return value;
+        }
+        return cache.get(key);
+    }
+
+    public void putInt(int key, Object value) {
+        if (value == null) return;
+        AtomicReferenceArray<Object> d = dense;
+        if (d != null && key >= 0 && key <= DENSE_MAX) {
+            if (d.getAndSet(key, value) == null) {
+                denseSize.incrementAndGet();
+            }
+            return;
+        }
+        cache.put(key, value);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+        AtomicReferenceArray<Object> d = dense;
+        if (d != null && denseSize.get() > 0) {
+            for (int i = 0; i <= DENSE_MAX; i++) {
+                if (d.getAndSet(i, null) != null) {
+                    denseSize.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    // ============ 配置与统计 ============
+
+    public long getMaximumSize() { return maximumSize; }
+    public long getTtlMillis() { return ttlMillis; }
+    public Eviction getEviction() { return eviction; }
+
+    /** 合并稠密快路径与通用路径的统计 */
+    public CacheStats getStats() {
+        CacheStats base = cache.getStats();
+        long hits = base.getHitCount() + denseHits.sum();
+        long misses = base.getMissCount() + denseMisses.sum();
+        long total = hits + misses;
+        return new CacheStats(hits, misses, base.getLoadSuccessCount(), base.getLoadFailureCount(),
+                base.getEvictionCount(), total > 0 ? (double) hits / total : 0.0,
+                base.getEstimatedSize() + denseSize.get(), maximumSize);
+    }
+}
@@ -0,0 +1,209 @@
+package com.novalang.runtime.interpreter.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 分段 LRU 缓存实现
+ *
+ * <p>按 key 哈希分为若干段，每段是一个独立加锁的访问顺序 LinkedHashMap。
+ * 命中时只锁定所在段，多线程访问不同 key 时基本无竞争；容量按段均分，淘汰为段内 LRU（整体近似 LRU）。</p>
+ *
+ * <p>可选写入过期时间：过期条目在读取时惰性移除，计入淘汰次数。</p>
+ */
+public final class SegmentedLruCache<K, V> implements BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    /** 每段最少容量：小缓存只用一段，保持精确 LRU */
+    private static final int MIN_SEGMENT_CAPACITY = 32;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadSuccess = new LongAdder();
+    private final LongAdder loadFailure = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SegmentedLruCache(long maximumSize) {
+        this(maximumSize, 0);
+    }
+
+    /**
+     * @param maximumSize 最大条目数
+     * @param expireAfterWriteMillis 写入后过期时间（毫秒），0 表示不过期
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SegmentedLruCache(long maximumSize, long expireAfterWriteMillis) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (expireAfterWriteMillis < 0) {
+            throw new IllegalArgumentException("expireAfterWriteMillis must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWriteMillis * 1_000_000L;
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2L * MIN_SEGMENT_CAPACITY <= maximumSize) {
+            count <<= 1;
+        }
+        this.segmentMask = count - 1;
+        this.segments = (Segment<K, V>[]) new Segment[count];
+        long perSegment = maximumSize / count;
+        long remainder = maximumSize % count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(this, (int) Math.min(Integer.MAX_VALUE, perSegment + (i < remainder ? 1 : 0)));
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    @Override
+    public V get(K key) {
+        V value = segmentFor(key).get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return segmentFor(key).put(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Segment<K, V> segment = segmentFor(key);
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        // 计算在锁外进行，避免长时间持有段锁；并发计算同一 key 时以先写入者为准
+        V computed;
+        try {
+            computed = mappingFunction.apply(key);
+        } catch (RuntimeException | Error e) {
+            loadFailure.increment();
+            throw e;
+        }
+        if (computed == null) {
+            loadFailure.increment();
+            return null;
+        }
+        loadSuccess.increment();
+        V existing = segment.putIfAbsent(key, computed);
+        return existing != null ? existing : computed;
+    }
+
+    @Override
+    public long size() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.size();
+        }
+        return total;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        long total = h + m;
+        return new CacheStats(h, m, loadSuccess.sum(), loadFailure.sum(), evictions.sum(),
+                total > 0 ? (double) h / total : 0.0, size(), maximumSize);
+    }
+
+    private static final class CachedValue<V> {
+        final V value;
+        final long writeNanos;
+
+        CachedValue(V value, long writeNanos) {
+            this.value = value;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final SegmentedLruCache<K, V> owner;
+        private final LinkedHashMap<K, CachedValue<V>> map;
+
+        Segment(SegmentedLruCache<K, V> owner, int capacity) {
+            this.owner = owner;
+            this.map = new LinkedHashMap<K, CachedValue<V>>(Math.min(capacity, 64), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                    if (size() > capacity) {
+                        owner.evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(Object key) {
+            CachedValue<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry)) {
+                map.remove(key);
+                owner.evictions.increment();
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized V put(K key, V value) {
+            CachedValue<V> old = map.put(key, new CachedValue<>(value, stamp()));
+            return old != null && !isExpired(old) ? old.value : null;
+        }
+
+        synchronized V putIfAbsent(K key, V value) {
+            CachedValue<V> old = map.get(key);
+            if (old != null && !isExpired(old)) {
+                return old.value;
+            }
+            map.put(key, new CachedValue<>(value, stamp()));
+            return null;
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        private long stamp() {
+            return owner.expireAfterWriteNanos > 0 ? System.nanoTime() : 0L;
+        }
+
+        private boolean isExpired(CachedValue<V> entry) {
+            return owner.expireAfterWriteNanos > 0
+                    && System.nanoTime() - entry.writeNanos >= owner.expireAfterWriteNanos;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.novalang.runtime;
+
+import com.novalang.runtime.interpreter.NovaRuntimeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nova.bind / CompiledNova.bind：预解析、按元数特化的宿主回调句柄
+ */
+@DisplayName("预绑定函数句柄")
+class BoundFunctionTest {
+
+    @Test
+    @DisplayName("解释模式：绑定顶层函数后重复调用，全局状态累积")
+    void interpreterBoundFunction() {
+        Nova nova = new Nova();
+        nova.eval("var total = 0\nfun onTick(n) { total += n }\nfun onEvent(type, amount) = type + \":\" + amount");
+        BoundFunction1 onTick = nova.bind("onTick", 1);
+        for (int i = 1; i <= 100; i++) {
+            onTick.invoke(i);
+        }
+        assertEquals(5050, ((Number) nova.get("total")).intValue());
+
+        BoundFunction2 onEvent = nova.bind("onEvent", 2);
+        assertEquals("click:3", onEvent.invoke("click", 3));
+        assertEquals("onEvent", onEvent.getName());
+        assertEquals(2, onEvent.getArity());
+    }
+
+    @Test
+    @DisplayName("解释模式：lambda 与高元数函数")
+    void interpreterLambdaAndHighArity() {
+        Nova nova = new Nova();
+        nova.eval("val twice = { x -> x * 2 }\nfun sum5(a, b, c, d, e) = a + b + c + d + e");
+        BoundFunction1 twice = nova.bind("twice", 1);
+        assertEquals(42, twice.invoke(21));
+        BoundFunction5 sum5 = nova.bind("sum5", 5);
+        assertEquals(15, sum5.invoke(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    @DisplayName("字节码模式：绑定编译函数")
+    void bytecodeBoundFunction() {
+        CompiledNova compiled = new Nova().compileToBytecode(
+                "fun add(a, b) = a + b\nfun label(a, b, c, d) = \"\" + a + b + c + d", "bound.nova");
+        BoundFunction2 add = compiled.bind("add", 2);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, ((Number) add.invoke(i, 1)).intValue());
+        }
+        BoundFunction4 label = compiled.bind("label", 4);
+        assertEquals("1234", label.invoke(1, 2, 3, 4));
+    }
+
+    @Test
+    @DisplayName("未定义函数、参数个数不匹配与越界元数")
+    void bindErrors() {
+        Nova nova = new Nova();
+        nova.eval("val x = 1\nfun f() = 1");
+        assertThrows(NovaRuntimeException.class, () -> nova.bind("missing", 0));
+        assertThrows(NovaRuntimeException.class, () -> nova.bind("x", 0));
+        assertThrows(IllegalArgumentException.class, () -> nova.bind("f", 9));
+        CompiledNova compiled = new Nova().compileToBytecode("fun add(a, b) = a + b", "bound-err.nova");
+        assertThrows(NovaRuntimeException.class, () -> compiled.bind("add", 3));
+        assertThrows(IllegalArgumentException.class, () -> compiled.bind("add", 9));
+    }
+}
@@ -60,6 +60,29 @@ class CompiledBytecodeRegressionTest {
         }
     }
 
+    @Test
+    @DisplayName("CompiledNova.callDirect alternating two live contexts reads each context's bindings")
+    void compiledCallDirectAlternatesContexts() {
+        CompiledNova compiled = new Nova().compileToBytecode(
+                "fun describe() = name + \":\" + count",
+                "alternate-contexts.nova");
+        BindingSlots first = new BindingSlots();
+        first.put("padding", 0);
+        first.put("name", "a");
+        first.put("count", 1);
+        BindingSlots second = new BindingSlots();
+        second.put("count", 2);
+        second.put("name", "b");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("a:1", compiled.callDirect("describe", first));
+            assertEquals("b:2", compiled.callDirect("describe", second));
+        }
+        first.put("count", 3);
+        assertEquals("a:3", compiled.callDirect("describe", first));
+        assertEquals("b:2", compiled.callDirect("describe", second));
+    }
+
     @Test
     @DisplayName("CompiledNova.registerExtension should support Function4 receiver extensions")
     void compiledRegisterExtensionShouldSupportFunction4() {
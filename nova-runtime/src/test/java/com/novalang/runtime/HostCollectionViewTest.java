@@ -0,0 +1,101 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 宿主边界的集合视图：fromJava / toJavaValue 不复制，写入穿透；深复制为显式选择
+ */
+@DisplayName("宿主集合零复制视图")
+class HostCollectionViewTest {
+
+    @Test
+    @DisplayName("传入脚本的宿主列表就地读写")
+    void hostListWritesThrough() {
+        List<Object> inventory = new ArrayList<>(Arrays.asList("sword", "shield"));
+        Nova nova = new Nova();
+        nova.defineVal("inventory", inventory);
+        Object size = nova.eval("inventory.add(\"potion\")\ninventory[0] = \"axe\"\ninventory.size()");
+        assertEquals(3, ((Number) size).intValue());
+        assertEquals(Arrays.asList("axe", "shield", "potion"), inventory);
+    }
+
+    @Test
+    @DisplayName("传入脚本的宿主映射就地读写，往返返回同一实例")
+    void hostMapWritesThroughAndRoundTrips() {
+        Map<Object, Object> stock = new HashMap<>();
+        stock.put("apple", 3);
+        Nova nova = new Nova();
+        nova.defineVal("stock", stock);
+        assertEquals(3, ((Number) nova.eval("stock[\"apple\"]")).intValue());
+        nova.eval("stock[\"pear\"] = 5");
+        assertEquals(5, stock.get("pear"));
+        assertSame(stock, nova.eval("stock"));
+    }
+
+    @Test
+    @DisplayName("脚本返回的列表是委托视图，再传回脚本取回原列表")
+    void scriptListReturnsView() {
+        NovaList list = new NovaList();
+        list.add(NovaInt.of(1));
+        list.add(NovaString.of("two"));
+        Object java = list.toJavaValue();
+        assertTrue(java instanceof NovaListView);
+        assertEquals(Arrays.asList(1, "two"), java);
+
+        @SuppressWarnings("unchecked")
+        List<Object> view = (List<Object>) java;
+        view.add(3.5);
+        assertEquals(3, list.size());
+        assertEquals(NovaDouble.of(3.5), list.get(2));
+        assertSame(list, AbstractNovaValue.fromJava(view));
+    }
+
+    @Test
+    @DisplayName("非随机访问宿主列表与嵌套集合")
+    void nestedAndLinkedLists() {
+        List<Object> inner = new LinkedList<>(Arrays.asList(1, 2));
+        List<Object> outer = new ArrayList<>();
+        outer.add(inner);
+        NovaList wrapped = (NovaList) AbstractNovaValue.fromJava(outer);
+        NovaList nested = (NovaList) wrapped.get(0);
+        nested.add(NovaInt.of(3));
+        assertEquals(Arrays.asList(1, 2, 3), inner);
+        int sum = 0;
+        for (NovaValue v : nested) sum += v.asInt();
+        assertEquals(6, sum);
+    }
+
+    @Test
+    @DisplayName("包装视图只在宿主列表支持随机访问时标记 RandomAccess")
+    void randomAccessFollowsHost() {
+        assertTrue(NovaList.wrap(new ArrayList<Object>()).getElements() instanceof RandomAccess);
+        assertFalse(NovaList.wrap(new LinkedList<Object>()).getElements() instanceof RandomAccess);
+    }
+
+    @Test
+    @DisplayName("深复制为显式选择，与原集合互不影响")
+    void deepCopyIsOptIn() {
+        List<Object> host = new ArrayList<>(Arrays.asList(1, 2));
+        NovaList copy = (NovaList) AbstractNovaValue.fromJavaCopy(host);
+        copy.add(NovaInt.of(3));
+        assertEquals(2, host.size());
+
+        NovaMap map = new NovaMap();
+        map.put(NovaString.of("xs"), copy);
+        Map<Object, Object> snapshot = map.toJavaCopy();
+        assertEquals(ArrayList.class, snapshot.get("xs").getClass());
+        copy.add(NovaInt.of(4));
+        assertEquals(3, ((List<?>) snapshot.get("xs")).size());
+    }
+}
@@ -0,0 +1,158 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Nova.fork / NovaPool")
+class NovaPoolTest {
+
+    private static Nova warmTemplate() {
+        Nova template = new Nova();
+        template.defineVal("rate", 2);
+        template.defineFunction("twice", x -> ((Number) x).intValue() * 2);
+        template.registerExtension(String.class, "shout", s -> ((String) s).toUpperCase() + "!");
+        template.eval("fun scale(x) = x * rate");
+        return template;
+    }
+
+    @Nested
+    @DisplayName("fork()")
+    class ForkTests {
+
+        @Test
+        @DisplayName("继承模板的值、宿主函数、扩展和脚本函数")
+        void inheritsTemplateState() {
+            Nova fork = warmTemplate().fork();
+            assertEquals(2, fork.get("rate"));
+            assertEquals(10, fork.eval("twice(5)"));
+            assertEquals("HI!", fork.eval("\"hi\".shout()"));
+            assertEquals(8, fork.eval("scale(4)"));
+            assertEquals(6, fork.call("scale", 3));
+        }
+
+        @Test
+        @DisplayName("复制后的定义互不可见")
+        void definitionsAreIsolated() {
+            Nova template = warmTemplate();
+            Nova fork = template.fork();
+            fork.defineVal("onlyInFork", 1);
+            fork.eval("fun forkOnly() = 42");
+            template.defineVal("onlyInTemplate", 2);
+
+            assertNull(template.get("onlyInFork"));
+            assertFalse(template.hasFunction("forkOnly"));
+            assertNull(fork.get("onlyInTemplate"));
+            assertEquals(42, fork.eval("forkOnly()"));
+        }
+
+        @Test
+        @DisplayName("顶层 var 状态按实例独立")
+        void topLevelVarsAreIsolated() {
+            Nova template = new Nova();
+            template.eval("var counter = 0");
+            Nova a = template.fork();
+            Nova b = template.fork();
+            a.eval("counter = counter + 5");
+            b.eval("counter = counter + 1");
+            assertEquals(5, a.eval("counter"));
+            assertEquals(1, b.eval("counter"));
+            assertEquals(0, template.eval("counter"));
+        }
+
+        @Test
+        @DisplayName("覆盖内置函数不影响模板")
+        void shadowingBuiltinIsIsolated() {
+            Nova template = new Nova();
+            Nova fork = template.fork();
+            fork.defineFunction("max", (a, b) -> "custom");
+            assertEquals("custom", fork.eval("max(1, 2)"));
+            assertEquals(2, template.eval("max(1, 2)"));
+        }
+
+        @Test
+        @DisplayName("类与 classOf 绑定到复制出的实例")
+        void classesWorkInFork() {
+            Nova fork = new Nova().fork();
+            fork.eval("class Point(val x: Int, val y: Int)");
+            assertEquals(3, fork.eval("Point(1, 2).x + Point(1, 2).y"));
+            assertEquals("Point", fork.eval("classOf(Point(1, 2)).name"));
+        }
+
+        @Test
+        @DisplayName("字节码编译继承宿主函数")
+        void bytecodeCompileUsesInheritedBindings() {
+            Nova fork = warmTemplate().fork();
+            assertEquals(14, fork.compileToBytecode("twice(7)", "fork.nova").run());
+        }
+    }
+
+    @Nested
+    @DisplayName("NovaPool")
+    class PoolTests {
+
+        @Test
+        @DisplayName("acquire 每次返回独立实例")
+        void acquireReturnsFreshInstances() {
+            NovaPool pool = new NovaPool(warmTemplate());
+            Nova a = pool.acquire();
+            Nova b = pool.acquire();
+            assertNotSame(a, b);
+            a.eval("val marker = 1");
+            assertNull(b.get("marker"));
+            assertEquals(8, b.eval("scale(4)"));
+        }
+
+        @Test
+        @DisplayName("创建后修改模板不影响池")
+        void snapshotIsDetachedFromTemplate() {
+            Nova template = warmTemplate();
+            NovaPool pool = new NovaPool(template);
+            template.defineVal("late", 1);
+            assertNull(pool.acquire().get("late"));
+        }
+
+        @Test
+        @DisplayName("local 在同一线程内复用，releaseLocal 后重建")
+        void localIsPerThread() {
+            NovaPool pool = new NovaPool(warmTemplate());
+            Nova first = pool.local();
+            first.eval("var hits = 1");
+            assertSame(first, pool.local());
+            assertEquals(1, pool.local().eval("hits"));
+            pool.releaseLocal();
+            assertNotSame(first, pool.local());
+            pool.releaseLocal();
+        }
+
+        @Test
+        @DisplayName("多线程并发执行互不干扰")
+        void concurrentExecution() throws Exception {
+            NovaPool pool = new NovaPool(warmTemplate());
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Object>> futures = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    final int n = i;
+                    futures.add(executor.submit((Callable<Object>) () -> pool.execute(nova -> {
+                        nova.defineVal("n", n);
+                        return nova.eval("var acc = 0\nfor (i in 0..<100) { acc = acc + scale(n) }\nacc + twice(n)");
+                    })));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    assertEquals(i * 200 + i * 2, futures.get(i).get(30, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
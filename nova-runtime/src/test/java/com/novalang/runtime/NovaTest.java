@@ -52,6 +52,33 @@ class NovaTest {
             assertEquals("Hello World", result);
         }
 
+        @Test
+        @DisplayName("实例编译多次执行复用降级结果，绑定变化立即生效")
+        void instanceCompileReusesPreparedMir() {
+            Nova nova = new Nova();
+            CompiledNova compiled = nova.compile("fun twice(n: Int) = n * 2\ntwice(x) + 1", "rule.nova");
+            for (int i = 0; i < 5; i++) {
+                compiled.set("x", i);
+                assertEquals(i * 2 + 1, compiled.run());
+            }
+        }
+
+        @Test
+        @DisplayName("宿主覆盖脚本函数或中途执行其他脚本后，重新准备模块")
+        void instanceCompileRepreparesAfterHostChanges() {
+            Nova nova = new Nova();
+            CompiledNova compiled = nova.compile("fun twice(n: Int) = n * 2\ntwice(x)", "rule.nova");
+            compiled.set("x", 3);
+            assertEquals(6, compiled.run());
+
+            nova.defineFunction("twice", (Object n) -> -1);
+            assertEquals(6, compiled.run());
+
+            nova.eval("fun other(n: Int) = n + 100\nother(1)");
+            compiled.set("x", 4);
+            assertEquals(8, compiled.run());
+        }
+
         @Test
         @DisplayName("绑定参数个数为奇数时抛异常")
         void runOddBindingsThrows() {
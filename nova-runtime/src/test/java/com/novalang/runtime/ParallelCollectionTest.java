@@ -0,0 +1,201 @@
+package com.novalang.runtime;
+
+import com.novalang.runtime.stdlib.ParallelOps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 并行集合操作测试：顺序保持、归约合并、异常传播与线程上下文传播，解释器与字节码双路径
+ */
+@DisplayName("并行集合操作")
+class ParallelCollectionTest {
+
+    private static Object interpret(String code) {
+        return new Nova().eval(code);
+    }
+
+    private static Object compile(String code) {
+        return new Nova().compileToBytecode(code, "parallel.nova").run();
+    }
+
+    /** 两条路径结果的字符串形式都等于 expected */
+    private static void assertBoth(String expected, String code) {
+        assertEquals(expected, String.valueOf(interpret(code)), "解释器");
+        assertEquals(expected, String.valueOf(compile(code)), "字节码");
+    }
+
+    @Nested
+    @DisplayName("结果与顺序")
+    class ResultTests {
+
+        @Test
+        @DisplayName("parallelMap / parallelFilter 保持原顺序")
+        void orderPreserved() {
+            assertBoth("true",
+                    "val xs = (1..500).toList()\n" +
+                    "xs.parallelMap { it * it } == xs.map { it * it }");
+            assertBoth("true",
+                    "val xs = (1..500).toList()\n" +
+                    "xs.parallelFilter { it % 7 == 0 } == xs.filter { it % 7 == 0 }");
+        }
+
+        @Test
+        @DisplayName("Range 与 Sequence 接收者")
+        void rangeAndSequence() {
+            assertBoth("[3, 6, 9]", "(1..10).parallelFilter { it % 3 == 0 }");
+            assertBoth("[2, 4, 6]", "(1..3).asSequence().parallelMap { it * 2 }");
+        }
+
+        @Test
+        @DisplayName("parallelReduce / parallelFold 按分块合并")
+        void reduceAndFold() {
+            assertBoth("125250", "(1..500).toList().parallelReduce { a, b -> a + b }");
+            assertBoth("5050", "(1..100).parallelFold(0) { a, b -> a + b }");
+            assertBoth("7",
+                    "listOf(\"a\", \"bb\", \"cc\", \"dd\").parallelFold(0, { acc, s -> acc + s.length() }, { x, y -> x + y })");
+        }
+
+        @Test
+        @DisplayName("parallelGroupBy 键按首次出现排序，组内保持顺序")
+        void groupBy() {
+            assertBoth("{1=[1, 4, 7, 10], 2=[2, 5, 8], 0=[3, 6, 9]}", "(1..10).toList().parallelGroupBy { it % 3 }");
+        }
+
+        @Test
+        @DisplayName("parallelForEach 处理每个元素一次")
+        void forEachVisitsAll() {
+            assertBoth("1000", "val c = AtomicInt(0)\n(1..1000).parallelForEach { c.incrementAndGet() }\nc.get()");
+        }
+
+        @Test
+        @DisplayName("lambda 调用脚本函数、读取闭包并保持对象身份")
+        void closuresAndObjects() {
+            assertBoth("[4, 7, 12, 19]", "fun sq(n: Int) = n * n\nval k = 3\n(1..4).toList().parallelMap { sq(it) + k }");
+            assertBoth("[1, 3]",
+                    "class P(val x: Int)\n" +
+                    "(1..3).toList().parallelMap { P(it) }.parallelFilter { it.x != 2 }.map { it.x }");
+        }
+
+        @Test
+        @DisplayName("空集合与单元素")
+        void emptyAndSingle() {
+            String empty = "val e = (1..10).toList().filter { it > 100 }\n";
+            assertBoth("[]", empty + "e.parallelMap { it }");
+            assertBoth("0", empty + "e.parallelFold(0) { a, b -> a + b }");
+            assertBoth("[10]", "listOf(5).parallelMap { it * 2 }");
+            assertThrows(Exception.class, () -> interpret(empty + "e.parallelReduce { a, b -> a + b }"));
+            assertThrows(Exception.class, () -> compile(empty + "e.parallelReduce { a, b -> a + b }"));
+        }
+    }
+
+    @Nested
+    @DisplayName("执行环境")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("worker 中的异常传播到调用方")
+        void errorPropagates() {
+            String code = "(1..200).toList().parallelMap { if (it == 137) error(\"boom\") else it }";
+            assertTrue(assertThrows(Exception.class, () -> interpret(code)).getMessage().contains("boom"));
+            assertTrue(assertThrows(Exception.class, () -> compile(code)).getMessage().contains("boom"));
+        }
+
+        @Test
+        @DisplayName("优先使用宿主异步执行器")
+        void usesHostAsyncExecutor() {
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            AtomicInteger submitted = new AtomicInteger();
+            SchedulerHolder.set(new NovaScheduler() {
+                @Override public java.util.concurrent.Executor mainExecutor() { return Runnable::run; }
+                @Override public java.util.concurrent.Executor asyncExecutor() {
+                    return task -> {
+                        submitted.incrementAndGet();
+                        pool.execute(task);
+                    };
+                }
+                @Override public boolean isMainThread() { return false; }
+                @Override public Cancellable scheduleLater(long delayMs, Runnable task) { return null; }
+                @Override public Cancellable scheduleRepeat(long delayMs, long periodMs, Runnable task) { return null; }
+            });
+            try {
+                assertBoth("40200", "(1..200).toList().parallelMap { it * 2 }.sum()");
+                assertTrue(submitted.get() > 0);
+            } finally {
+                SchedulerHolder.set(null);
+                pool.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("NovaScriptContext 传播到 worker 线程")
+        void scriptContextPropagates() {
+            Map<String, Object> bindings = new HashMap<>();
+            bindings.put("factor", 10);
+            NovaScriptContext.init(bindings);
+            try {
+                List<Object> items = new ArrayList<>();
+                for (int i = 1; i <= 100; i++) items.add(i);
+                Function1<Object, Object> scale = x -> (Integer) x * (Integer) NovaScriptContext.get("factor");
+                List<Object> result = ParallelOps.map(items, scale);
+                assertEquals(100, result.size());
+                assertEquals(10, result.get(0));
+                assertEquals(1000, result.get(99));
+            } finally {
+                NovaScriptContext.clear();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("执行预算")
+    class BudgetTests {
+
+        /** 64 个元素各循环 50000 次，合计 320 万次，超过 STRICT 的 100 万次上限 */
+        private static final String HEAVY =
+                "(1..64).parallelForEach {\n" +
+                "    var i = 0\n" +
+                "    while (i < 50000) { i = i + 1 }\n" +
+                "}\n" +
+                "\"done\"";
+
+        @Test
+        @DisplayName("STRICT 循环上限按全部分块合计，不会因分块而放大")
+        void strictLoopLimitTripsInsideParallelForEach() {
+            NovaSecurityPolicy strict = NovaSecurityPolicy.strict();
+            Exception interpreted = assertThrows(Exception.class, () -> new Nova(strict).eval(HEAVY));
+            assertTrue(interpreted.getMessage().contains("iterations"), interpreted.getMessage());
+            Exception compiled = assertThrows(Exception.class,
+                    () -> new Nova(strict).compileToBytecode(HEAVY, "parallel.nova").run());
+            assertTrue(compiled.getMessage().contains("iterations"), compiled.getMessage());
+        }
+
+        @Test
+        @DisplayName("并行区结束后剩余额度归还调用方")
+        void remainingBudgetReturnedToCaller() {
+            NovaSecurityPolicy policy = NovaSecurityPolicy.custom().maxLoopIterations(20000).build();
+            String within = "(1..10).toList().parallelForEach {\n" +
+                    "    var i = 0\n" +
+                    "    while (i < 1000) { i = i + 1 }\n" +
+                    "}\n" +
+                    "var j = 0\n" +
+                    "while (j < %d) { j = j + 1 }\n" +
+                    "j";
+            assertEquals(9000, new Nova(policy).eval(String.format(within, 9000)));
+            assertEquals(9000, new Nova(policy).compileToBytecode(String.format(within, 9000), "parallel.nova").run());
+            Exception ex = assertThrows(Exception.class, () -> new Nova(policy).eval(String.format(within, 11000)));
+            assertTrue(ex.getMessage().contains("iterations"), ex.getMessage());
+            assertEquals(0, AsyncTaskLimit.active());
+        }
+    }
+}
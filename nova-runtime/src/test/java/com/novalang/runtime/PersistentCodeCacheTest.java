@@ -0,0 +1,111 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("持久化编译缓存")
+class PersistentCodeCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static Map<String, byte[]> classes(String name, int size) {
+        Map<String, byte[]> classes = new HashMap<>();
+        byte[] code = new byte[size];
+        for (int i = 0; i < size; i++) code[i] = (byte) (i * 31 + name.length());
+        classes.put(name, code);
+        classes.put(name + "$Inner", new byte[]{1, 2, 3});
+        return classes;
+    }
+
+    @Test
+    @DisplayName("重新打开后按 key 读回字节码")
+    void survivesReopen() {
+        String key = PersistentCodeCache.key("1 + 2", "a.nova", false);
+        PersistentCodeCache.read(dir).put(key, classes("$Module", 100));
+
+        PersistentCodeCache reopened = PersistentCodeCache.read(dir);
+        Map<String, byte[]> loaded = reopened.get(key);
+        assertNotNull(loaded);
+        assertArrayEquals(classes("$Module", 100).get("$Module"), loaded.get("$Module"));
+        assertArrayEquals(new byte[]{1, 2, 3}, loaded.get("$Module$Inner"));
+        assertNull(reopened.get(PersistentCodeCache.key("1 + 2", "b.nova", false)));
+        assertNotEquals(key, PersistentCodeCache.key("1 + 2", "a.nova", true), "资源预算配置应区分 key");
+    }
+
+    @Test
+    @DisplayName("损坏的记录被忽略，截断的尾部不影响之前的记录与之后的追加")
+    void corruptionTolerated() throws Exception {
+        String first = PersistentCodeCache.key("first", "a.nova", false);
+        String second = PersistentCodeCache.key("second", "a.nova", false);
+        PersistentCodeCache cache = PersistentCodeCache.read(dir);
+        cache.put(first, classes("A", 64));
+        cache.put(second, classes("B", 64));
+
+        Path file = dir.resolve(PersistentCodeCache.FILE_NAME);
+        long length = Files.size(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(length - 10);  // 第二条记录写到一半
+        }
+        PersistentCodeCache reopened = PersistentCodeCache.read(dir);
+        assertNotNull(reopened.get(first));
+        assertNull(reopened.get(second));
+
+        String third = PersistentCodeCache.key("third", "a.nova", false);
+        reopened.put(third, classes("C", 8));
+        PersistentCodeCache again = PersistentCodeCache.read(dir);
+        assertNotNull(again.get(first));
+        assertNotNull(again.get(third));
+
+        // 篡改载荷：CRC 不符时视为未命中
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long last = raf.length() - 1;
+            raf.seek(last);
+            int b = raf.read();
+            raf.seek(last);
+            raf.write(b ^ 0x7f);
+        }
+        assertNull(PersistentCodeCache.read(dir).get(third));
+    }
+
+    @Test
+    @DisplayName("Nova 重启后复用磁盘上的字节码")
+    void novaReusesCacheAcrossInstances() {
+        String code = "fun sq(x: Int) = x * x\nsq(7) + 1";
+        assertEquals(50, new Nova().enableCompilationCache(dir).compileToBytecode(code, "sq.nova").run());
+        assertEquals(1, PersistentCodeCache.read(dir).size());
+
+        Nova restarted = new Nova().enableCompilationCache(dir);
+        assertEquals(50, restarted.compileToBytecode(code, "sq.nova").run());
+        assertEquals(1, PersistentCodeCache.read(dir).size());
+
+        restarted.clearCompilationCache();
+        assertEquals(0, PersistentCodeCache.read(dir).size());
+    }
+
+    @Test
+    @DisplayName("被导入的模块修改后不复用旧字节码")
+    void importedModuleChangeMisses() {
+        String main = "import \"lib.nova\"\ngreet()";
+        Nova first = new Nova().enableCompilationCache(dir);
+        first.compileToBytecode("fun greet() = \"v1\"", "lib.nova");
+        assertEquals("v1", first.compileToBytecode(main, "main.nova").run());
+
+        first.compileToBytecode("fun greet() = \"v2\"", "lib.nova");
+        assertEquals("v2", first.compileToBytecode(main, "main.nova").run());
+
+        Nova restarted = new Nova().enableCompilationCache(dir);
+        restarted.compileToBytecode("fun greet() = \"v3\"", "lib.nova");
+        assertEquals("v3", restarted.compileToBytecode(main, "main.nova").run());
+        restarted.compileToBytecode("fun greet() = \"v1\"", "lib.nova");
+        assertEquals("v1", restarted.compileToBytecode(main, "main.nova").run());
+    }
+}
@@ -0,0 +1,182 @@
+package com.novalang.runtime;
+
+import com.novalang.runtime.interpreter.Interpreter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NovaList 自适应存储测试：原始数组存储的选择、退化为通用存储以及语义与通用存储一致
+ */
+@DisplayName("NovaList 原始数组存储")
+class PrimitiveListTest {
+
+    private static NovaList ints(int... values) {
+        return NovaList.ofInts(values.clone(), values.length);
+    }
+
+    @Nested
+    @DisplayName("存储选择与退化")
+    class StorageTests {
+
+        @Test
+        @DisplayName("第一个元素决定存储类型")
+        void firstElementDecides() {
+            NovaList list = new NovaList();
+            assertEquals(NovaArray.ElementType.OBJECT, list.getStorageType());
+            list.add(NovaInt.of(1));
+            list.add(NovaInt.of(2));
+            assertEquals(NovaArray.ElementType.INT, list.getStorageType());
+
+            NovaList doubles = new NovaList();
+            doubles.add(NovaDouble.of(1.5));
+            assertEquals(NovaArray.ElementType.DOUBLE, doubles.getStorageType());
+
+            NovaList strings = new NovaList();
+            strings.add(NovaString.of("a"));
+            assertEquals(NovaArray.ElementType.OBJECT, strings.getStorageType());
+            assertNull(strings.getRawArray());
+        }
+
+        @Test
+        @DisplayName("由同类数值构造时使用原始存储")
+        void constructorScansValues() {
+            NovaList longs = new NovaList(Arrays.<NovaValue>asList(NovaLong.of(1L), NovaLong.of(2L)));
+            assertEquals(NovaArray.ElementType.LONG, longs.getStorageType());
+            NovaList mixed = new NovaList(Arrays.<NovaValue>asList(NovaInt.of(1), NovaDouble.of(2.0)));
+            assertEquals(NovaArray.ElementType.OBJECT, mixed.getStorageType());
+            assertEquals("[1, 2.0]", mixed.toString());
+        }
+
+        @Test
+        @DisplayName("插入不同类型元素时退化为通用存储并保留内容")
+        void generalizesOnMismatch() {
+            NovaList list = ints(1, 2, 3);
+            list.set(1, NovaString.of("x"));
+            assertEquals(NovaArray.ElementType.OBJECT, list.getStorageType());
+            assertEquals("[1, x, 3]", list.toString());
+            list.add(NovaInt.of(4));
+            assertEquals(NovaArray.ElementType.OBJECT, list.getStorageType());
+
+            NovaList doubles = ints(1, 2);
+            doubles.addAt(0, NovaDouble.of(0.5));
+            assertEquals("[0.5, 1, 2]", doubles.toString());
+        }
+
+        @Test
+        @DisplayName("扩容、插入、删除与负索引")
+        void mutation() {
+            NovaList list = new NovaList();
+            for (int i = 0; i < 100; i++) list.add(NovaInt.of(i));
+            list.addAt(0, NovaInt.of(-1));
+            assertEquals(101, list.size());
+            assertEquals(NovaInt.of(99), list.get(-1));
+            assertEquals(NovaInt.of(-1), list.removeAt(0));
+            assertTrue(list.remove(NovaInt.of(50)));
+            assertFalse(list.contains(NovaInt.of(50)));
+            assertEquals(99, list.size());
+            assertEquals(NovaArray.ElementType.INT, list.getStorageType());
+            assertThrows(NovaException.class, () -> list.get(99));
+        }
+
+        @Test
+        @DisplayName("getElements 视图与迭代器写穿到原列表")
+        void elementsViewIsLive() {
+            NovaList list = ints(1, 2, 3);
+            List<NovaValue> view = list.getElements();
+            view.add(NovaInt.of(4));
+            view.remove(0);
+            assertEquals("[2, 3, 4]", list.toString());
+            Iterator<NovaValue> it = list.iterator();
+            it.next();
+            it.remove();
+            assertEquals("[3, 4]", list.toString());
+            view.set(0, NovaString.of("s"));
+            assertEquals("[s, 4]", list.toString());
+            assertEquals(NovaArray.ElementType.OBJECT, list.getStorageType());
+        }
+
+        @Test
+        @DisplayName("equals / hashCode 与通用存储一致")
+        void equalityMatchesGeneric() {
+            NovaList primitive = ints(1, 2, 3);
+            NovaList generic = new NovaList();
+            generic.add(NovaString.of("tmp"));
+            generic.clear();
+            generic.add(NovaInt.of(1));
+            generic.add(NovaInt.of(2));
+            generic.add(NovaInt.of(3));
+            assertEquals(NovaArray.ElementType.OBJECT, generic.getStorageType());
+            assertTrue(primitive.equals((NovaValue) generic));
+            assertTrue(generic.equals((NovaValue) primitive));
+            assertEquals(generic.hashCode(), primitive.hashCode());
+        }
+
+        @Test
+        @DisplayName("sorted / reversed / slice / concat 保持原始存储")
+        void derivedListsStayPrimitive() {
+            NovaList list = ints(3, 1, 2);
+            assertEquals("[1, 2, 3]", list.sorted().toString());
+            assertEquals("[2, 1, 3]", list.reversed().toString());
+            assertEquals("[1, 2]", list.slice(1, 3).toString());
+            NovaList joined = list.concat(ints(9));
+            assertEquals("[3, 1, 2, 9]", joined.toString());
+            assertEquals(NovaArray.ElementType.INT, joined.getStorageType());
+            assertEquals(NovaArray.ElementType.INT, list.sorted().getStorageType());
+        }
+    }
+
+    @Nested
+    @DisplayName("脚本执行")
+    class ExecutionTests {
+
+        private Object interpret(String code) {
+            return new Nova().eval(code);
+        }
+
+        private Object compile(String code) {
+            return new Nova().compileToBytecode(code, "plist.nova").run();
+        }
+
+        private void assertBoth(String expected, String code) {
+            assertEquals(expected, String.valueOf(interpret(code)), "解释器");
+            assertEquals(expected, String.valueOf(compile(code)), "字节码");
+        }
+
+        @Test
+        @DisplayName("Range.toList 与 map 结果使用原始存储")
+        void rangeAndMapUsePrimitiveStorage() {
+            Interpreter interpreter = new Interpreter();
+            NovaValue range = interpreter.evalRepl("(1..5).toList()");
+            assertEquals(NovaArray.ElementType.INT, ((NovaList) range).getStorageType());
+            NovaValue mapped = interpreter.evalRepl("(1..5).toList().map { it * 0.5 }");
+            assertEquals(NovaArray.ElementType.DOUBLE, ((NovaList) mapped).getStorageType());
+        }
+
+        @Test
+        @DisplayName("索引循环读取原始元素")
+        void indexedLoop() {
+            assertBoth("5050", "val xs = (1..100).toList()\nvar s = 0\nfor (i in 0 until xs.size()) s += xs[i]\ns");
+            assertBoth("7.5", "val xs = [1.5, 2.5, 3.5]\nvar s = 0.0\nfor (i in 0 until xs.size()) s += xs[i]\ns");
+        }
+
+        @Test
+        @DisplayName("sum / average / max / min / sorted 与通用存储结果一致")
+        void aggregates() {
+            assertBoth("55", "(1..10).toList().sum()");
+            assertBoth("5.5", "(1..10).toList().average()");
+            assertBoth("4.0", "[1.5, 2.5].sum()");
+            assertBoth("9", "[3, 9, 1].max()");
+            assertBoth("-2.5", "[0.5, -2.5, 1.0].min()");
+            assertBoth("[1, 2, 3]", "[3, 1, 2].sorted()");
+            assertBoth("[3.0, 2.0, 1.0]", "[1.0, 3.0, 2.0].sortedDescending()");
+            assertBoth("[1, 2, a]", "val xs = [1, 2]\nxs.add(\"a\")\nxs");
+        }
+    }
+}
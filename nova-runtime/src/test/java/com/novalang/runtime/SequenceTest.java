@@ -0,0 +1,196 @@
+package com.novalang.runtime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 惰性序列测试：阶段融合、短路终端、无限源与 sequence { yield }，解释器与字节码双路径
+ */
+@DisplayName("Sequence 惰性序列")
+class SequenceTest {
+
+    private static Object interpret(String code) {
+        return new Nova().eval(code);
+    }
+
+    private static Object compile(String code) {
+        return new Nova().compileToBytecode(code, "sequence.nova").run();
+    }
+
+    /** 两条路径结果的字符串形式都等于 expected */
+    private static void assertBoth(String expected, String code) {
+        assertEquals(expected, String.valueOf(interpret(code)), "解释器");
+        assertEquals(expected, String.valueOf(compile(code)), "字节码");
+    }
+
+    @Nested
+    @DisplayName("融合与短路")
+    class FusionTests {
+
+        @Test
+        @DisplayName("take 之后不再计算后续元素")
+        void takeStopsUpstream() {
+            assertBoth("[2, 4, 6] 3",
+                    "var calls = 0\n" +
+                    "val r = (1..1000).asSequence().map { calls = calls + 1; it * 2 }.take(3).toList()\n" +
+                    "\"$r $calls\"");
+        }
+
+        @Test
+        @DisplayName("filter 与 map 逐元素交错执行")
+        void stagesInterleave() {
+            assertBoth("f1 m1 f2 f3 m3 ",
+                    "var log = \"\"\n" +
+                    "listOf(1, 2, 3).asSequence()\n" +
+                    "    .filter { log = log + \"f$it \"; it != 2 }\n" +
+                    "    .map { log = log + \"m$it \"; it }\n" +
+                    "    .toList()\n" +
+                    "log");
+        }
+
+        @Test
+        @DisplayName("first / any 找到结果即停止")
+        void shortCircuitTerminals() {
+            assertBoth("11", "generateSequence(1) { it + 1 }.first { it > 10 }");
+            assertBoth("true", "generateSequence(1) { it + 1 }.any { it == 50 }");
+            assertBoth("8", "generateSequence(1) { it + 1 }.find { it * it > 50 }");
+        }
+
+        @Test
+        @DisplayName("中间操作不触发计算，序列可重复遍历")
+        void lazyAndReusable() {
+            assertBoth("0 [2, 4, 6] 12 6",
+                    "var calls = 0\n" +
+                    "val s = listOf(1, 2, 3).asSequence().map { calls = calls + 1; it * 2 }\n" +
+                    "val before = calls\n" +
+                    "\"$before ${s.toList()} ${s.sum()} $calls\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("序列源")
+    class SourceTests {
+
+        @Test
+        @DisplayName("generateSequence 返回 null 时结束")
+        void generateUntilNull() {
+            assertBoth("[1, 2, 3, 4]", "generateSequence(1) { if (it < 4) it + 1 else null }.toList()");
+        }
+
+        @Test
+        @DisplayName("sequence { } 无限生产者配合 take")
+        void infiniteBuilder() {
+            assertBoth("[0, 3, 6, 9]",
+                    "sequence {\n" +
+                    "    var i = 0\n" +
+                    "    while (true) {\n" +
+                    "        yield(i)\n" +
+                    "        i = i + 1\n" +
+                    "    }\n" +
+                    "}.filter { it % 3 == 0 }.take(4).toList()");
+        }
+
+        @Test
+        @DisplayName("yieldAll 与 forEach 内 yield")
+        void yieldAllAndNestedYield() {
+            assertBoth("[0, 1, 2, 3]", "sequence { yield(0)\n yieldAll(listOf(1, 2))\n yield(3) }.toList()");
+            assertBoth("[2, 4]", "sequence { listOf(1, 2, 3).forEach { yield(it * 2) } }.take(2).toList()");
+        }
+
+        @Test
+        @DisplayName("嵌套 sequence { } 各自归属")
+        void nestedBuilders() {
+            assertBoth("[1, 10, 2, 20]",
+                    "sequence { for (i in 1..3) yieldAll(sequence { yield(i)\n yield(i * 10) }) }.take(4).toList()");
+        }
+
+        @Test
+        @DisplayName("sequence { } 之外调用 yield 报错")
+        void yieldOutsideBuilder() {
+            assertThrows(Exception.class, () -> interpret("yield(1)"));
+            assertThrows(Exception.class, () -> compile("yield(1)"));
+        }
+
+        @Test
+        @DisplayName("sequenceOf / Set / Range")
+        void otherSources() {
+            assertBoth("3", "sequenceOf(1, 2, 3).count()");
+            assertBoth("[4, 2]", "setOf(3, 1, 3).asSequence().map { it + 1 }.toList()");
+            assertBoth("40", "(1..10).asSequence().filter { it > 5 }.sum()");
+        }
+    }
+
+    @Nested
+    @DisplayName("操作")
+    class OperationTests {
+
+        @Test
+        @DisplayName("chunked / windowed 输出尾部")
+        void chunkedAndWindowed() {
+            assertBoth("[[1, 2, 3], [4, 5, 6], [7]]", "(1..7).asSequence().chunked(3).toList()");
+            assertBoth("[[1, 2, 3], [4]]", "(1..10).asSequence().takeWhile { it < 5 }.chunked(3).toList()");
+            assertBoth("[[1, 2], [3, 4]]", "(1..5).asSequence().windowed(2, 2).toList()");
+        }
+
+        @Test
+        @DisplayName("flatMap 展开 List 与 Sequence")
+        void flatMap() {
+            assertBoth("[1, -1, 2, -2]", "(1..2).asSequence().flatMap { listOf(it, -it) }.toList()");
+            assertBoth("[1, 1, 2]", "(1..5).asSequence().flatMap { sequenceOf(it, it) }.take(3).toList()");
+        }
+
+        @Test
+        @DisplayName("fold / reduce / count / all")
+        void aggregates() {
+            assertBoth("130", "(1..5).asSequence().map { it * 2 }.fold(100) { a, b -> a + b }");
+            assertBoth("120", "(1..5).asSequence().reduce { a, b -> a * b }");
+            assertBoth("3", "(1..10).asSequence().count { it % 3 == 0 }");
+            assertBoth("true", "(1..10).asSequence().all { it > 0 }");
+        }
+
+        @Test
+        @DisplayName("distinct / sorted / withIndex / joinToString")
+        void misc() {
+            assertBoth("[3, 1, 2]", "sequenceOf(3, 1, 3, 2, 1).distinct().toList()");
+            assertBoth("[1, 2, 3]", "sequenceOf(3, 1, 2).sorted().toList()");
+            assertBoth("[0, 1]", "sequenceOf(\"a\", \"b\").withIndex().map { it.first }.toList()");
+            assertBoth("a-b", "sequenceOf(\"a\", \"b\").joinToString(\"-\")");
+        }
+
+        @Test
+        @DisplayName("forEach 支持 break / continue")
+        void forEachLoopControl() {
+            assertBoth("6", "var s = 0\n(1..10).asSequence().forEach { if (it > 3) break\n s = s + it }\ns");
+            assertBoth("9", "var s = 0\n(1..6).asSequence().forEach { if (it % 2 == 0) continue\n s = s + it }\ns");
+            assertBoth("0a1b", "var s = \"\"\nsequenceOf(\"a\", \"b\").forEachIndexed { i, v -> s = s + i + v }\ns");
+        }
+
+        @Test
+        @DisplayName("for-in 按需拉取无限序列")
+        void forInPullsLazily() {
+            assertBoth("15", "var s = 0\nfor (x in generateSequence(1) { it + 1 }) { if (x > 5) break\n s = s + x }\ns");
+            assertBoth("12", "var s = 0\nfor (x in listOf(1, 2, 3).asSequence().map { it * 2 }) { s = s + x }\ns");
+        }
+
+        @Test
+        @DisplayName("元素保持对象身份")
+        void objectElements() {
+            assertBoth("[1, 3]",
+                    "class P(val x: Int)\n" +
+                    "(1..3).asSequence().map { P(it) }.filter { it.x != 2 }.toList().map { it.x }");
+            assertBoth("5", "class P(val x: Int)\nsequenceOf(P(1), P(5)).find { it.x > 2 }?.x");
+        }
+
+        @Test
+        @DisplayName("空序列 first / reduce 报错")
+        void emptyErrors() {
+            assertThrows(Exception.class, () -> interpret("emptySequence().first()"));
+            assertThrows(Exception.class, () -> compile("emptySequence().first()"));
+            assertThrows(Exception.class, () -> interpret("sequenceOf(1, 2).first { it > 5 }"));
+            assertThrows(Exception.class, () -> compile("sequenceOf(1, 2).first { it > 5 }"));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.novalang.runtime.codegen;
+
+import com.novalang.runtime.CompiledNova;
+import com.novalang.runtime.Nova;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 顶层函数类型化签名测试：Int/Long/Double/Boolean 参数和返回值使用 JVM 原始类型，
+ * long/double 局部变量使用原始槽位。覆盖解释器 + 编译器双路径及宿主调用。
+ */
+@DisplayName("原始类型函数签名")
+class PrimitiveSignatureCodegenTest {
+
+    private static Object interp(String code) {
+        return new Nova().eval(code);
+    }
+
+    private static Object compiled(String code) {
+        return new Nova().compileToBytecode(code, "test.nova").run();
+    }
+
+    private static void dual(String code, Object expected) {
+        assertEquals(expected, interp(code), "解释器");
+        assertEquals(expected, compiled(code), "编译器");
+    }
+
+    @Test
+    @DisplayName("Long 累加循环")
+    void longLoop() {
+        dual("fun sumTo(n: Long): Long {\n"
+                + "    var s = 0L\n"
+                + "    var i = 0L\n"
+                + "    while (i < n) { s = s + i; i = i + 1L }\n"
+                + "    return s\n"
+                + "}\n"
+                + "sumTo(100000L)", 4999950000L);
+    }
+
+    @Test
+    @DisplayName("Double 运算链")
+    void doubleChain() {
+        dual("fun area(r: Double): Double = r * r * 3.0\n"
+                + "area(2.0)", 12.0);
+    }
+
+    @Test
+    @DisplayName("混合参数：Int/Long/Double/Boolean/String")
+    void mixedParams() {
+        dual("fun mix(a: Int, b: Long, c: Double, neg: Boolean, label: String): String {\n"
+                + "    val total = a + b + c\n"
+                + "    return label + \"=\" + (if (neg) -total else total)\n"
+                + "}\n"
+                + "mix(1, 2L, 0.5, true, \"x\")", "x=-3.5");
+    }
+
+    @Test
+    @DisplayName("Int 与 Long 混合运算提升为 Long")
+    void intLongPromotion() {
+        dual("fun scale(n: Long, k: Int): Long = n * k + k\n"
+                + "scale(3000000000L, 2)", 6000000002L);
+    }
+
+    @Test
+    @DisplayName("Long 取模与取反")
+    void longNegate() {
+        dual("fun step(x: Long): Long {\n"
+                + "    var v = x * 16L\n"
+                + "    v = v % 7L + 1L\n"
+                + "    return -v\n"
+                + "}\n"
+                + "step(1L)", -3L);
+    }
+
+    @Test
+    @DisplayName("递归调用直接传递原始值")
+    void recursiveDouble() {
+        dual("fun pow(base: Double, n: Int): Double = if (n == 0) 1.0 else base * pow(base, n - 1)\n"
+                + "pow(1.5, 4)", 5.0625);
+    }
+
+    @Test
+    @DisplayName("Long 参数可装箱传给动态调用")
+    void longPassedToDynamic() {
+        dual("fun desc(n: Long): String = \"\" + n + \"/\" + listOf(n, n + 1L).size\n"
+                + "desc(7L)", "7/2");
+    }
+
+    @Test
+    @DisplayName("宿主调用类型化函数：参数自动转换，返回装箱值")
+    void hostCall() {
+        CompiledNova compiled = new Nova().compileToBytecode(
+                "fun sumTo(n: Long): Long {\n"
+                        + "    var s = 0L\n"
+                        + "    var i = 0L\n"
+                        + "    while (i < n) { s = s + i; i = i + 1L }\n"
+                        + "    return s\n"
+                        + "}\n"
+                        + "fun area(r: Double): Double = r * r\n"
+                        + "fun flag(b: Boolean): Boolean = !b\n",
+                "test.nova");
+        compiled.run();
+        assertEquals(45L, compiled.call("sumTo", 10L));
+        assertEquals(45L, compiled.call("sumTo", 10));
+        assertEquals(6.25, compiled.call("area", 2.5));
+        assertEquals(4.0, compiled.call("area", 2));
+        assertEquals(false, compiled.call("flag", true));
+    }
+}
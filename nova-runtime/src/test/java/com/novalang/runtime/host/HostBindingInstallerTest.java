@@ -53,4 +53,36 @@ class HostBindingInstallerTest {
         assertThat(nova.get("playerName")).isEqualTo("Nova");
         assertThat(nova.get("giveMoney")).isNotNull();
     }
+
+    @Test
+    @DisplayName("固定参数宿主函数按元数调用，不经过通用参数数组入口")
+    void fixedArityFunctionsUseSpecializedInvoker() {
+        HostBindingRegistry registry = HostBindingRegistry.builder()
+                .globalFunction("mul", function -> function
+                        .param("a", HostTypes.INT)
+                        .param("b", HostTypes.INT)
+                        .returns(HostTypes.INT)
+                        .invoke(new HostFunctionInvoker() {
+                            @Override
+                            public Object invoke(Object... args) {
+                                throw new AssertionError("generic entry should not be used");
+                            }
+
+                            @Override
+                            public Object invoke2(Object a0, Object a1) {
+                                return ((Number) a0).intValue() * ((Number) a1).intValue();
+                            }
+                        }))
+                .globalFunction("greet", function -> function
+                        .param("name", HostTypes.STRING)
+                        .returns(HostTypes.STRING)
+                        .invoke1(String.class, name -> "Hi " + name))
+                .build();
+
+        Nova nova = new Nova();
+        HostBindingInstaller.install(nova, registry);
+
+        assertThat(nova.eval("mul(6, 7)")).isEqualTo(42);
+        assertThat(nova.eval("greet(\"Nova\")")).isEqualTo("Hi Nova");
+    }
 }
@@ -489,4 +489,96 @@ class BinaryOpsIntegrationTest {
             assertEquals(4, eval("neg.y").asInt());
         }
     }
+
+    // ============ Long / Double 原始通道 ============
+
+    @Nested
+    @DisplayName("Long/Double 原始寄存器通道")
+    class RawWideLaneTests {
+
+        @Test
+        @DisplayName("Double 累加循环结果仍为 Double")
+        void testDoubleAccumulationLoop() {
+            NovaValue result = eval(
+                    "fun integrate(n: Int): Double {\n" +
+                    "    var x = 0.0\n" +
+                    "    var v = 1.5\n" +
+                    "    val dt = 0.25\n" +
+                    "    for (i in 0 until n) {\n" +
+                    "        v = v - 9.8 * dt\n" +
+                    "        x = x + v * dt\n" +
+                    "    }\n" +
+                    "    return x\n" +
+                    "}\n" +
+                    "integrate(100)");
+            double x = 0.0, v = 1.5;
+            for (int i = 0; i < 100; i++) {
+                v = v - 9.8 * 0.25;
+                x = x + v * 0.25;
+            }
+            assertTrue(result instanceof NovaDouble);
+            assertEquals(x, result.asDouble(), 0.0);
+        }
+
+        @Test
+        @DisplayName("Long 累加循环保持 Long 类型且不截断")
+        void testLongAccumulationLoop() {
+            NovaValue result = eval(
+                    "var acc = 1L\n" +
+                    "for (i in 0 until 40) { acc = acc * 3L + i }\n" +
+                    "acc");
+            long acc = 1L;
+            for (int i = 0; i < 40; i++) acc = acc * 3L + i;
+            assertTrue(result instanceof NovaLong);
+            assertEquals(acc, result.asLong());
+        }
+
+        @Test
+        @DisplayName("小 Long 值逃逸时不退化为 Int")
+        void testSmallLongStaysLong() {
+            NovaValue result = eval("val a = 2L\nval b = a + 3\nb");
+            assertTrue(result instanceof NovaLong);
+            assertEquals(5L, result.asLong());
+        }
+
+        @Test
+        @DisplayName("Double 与 Int 混合比较用于循环条件")
+        void testMixedCompareInBranch() {
+            NovaValue result = eval(
+                    "var t = 0.0\nvar steps = 0\n" +
+                    "while (t < 3) { t = t + 0.5\n steps = steps + 1 }\n" +
+                    "steps");
+            assertEquals(6, result.asInt());
+        }
+
+        @Test
+        @DisplayName("Double 相等比较")
+        void testDoubleEquality() {
+            assertTrue(eval("val a = 0.5 + 0.25\na == 0.75").asBoolean());
+            assertFalse(eval("val c = 1.5 * 2.0\nc != 3.0").asBoolean());
+        }
+
+        @Test
+        @DisplayName("Long 位运算与移位")
+        void testLongBitwise() {
+            assertEquals(1L << 40, eval("val one = 1L\none << 40").asLong());
+            assertEquals(240L, eval("val m = 255L\nm & 240L").asLong());
+        }
+
+        @Test
+        @DisplayName("Double 除零仍走通用错误路径")
+        void testDoubleDivideByZero() {
+            assertThrows(NovaRuntimeException.class, () -> eval("val d = 1.5\nval z = 0.0\nd / z"));
+        }
+
+        @Test
+        @DisplayName("Double 列表元素参与运算")
+        void testDoubleListIndexing() {
+            NovaValue result = eval(
+                    "val xs = [1.5, 2.5, 3.0]\nvar s = 0.0\n" +
+                    "for (i in 0 until xs.size()) { s = s + xs[i] }\n" +
+                    "s");
+            assertEquals(7.0, result.asDouble(), 0.0);
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.Nova;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 下标越界检查消除与只读循环的不变量外提测试
+ */
+@DisplayName("MIR 越界检查消除")
+class BoundsCheckEliminationTest {
+
+    private static final String CODE =
+            "fun untilSum(l: List<Int>): Int {\n  var s = 0\n  for (i in 0 until l.size) s += l[i]\n  return s\n}\n" +
+            "fun rangeSum(a: Array<Int>): Int {\n  var s = 0\n  for (i in 0..<a.size) s += a[i]\n  return s\n}\n" +
+            "fun inclusiveSum(l: List<Int>): Int {\n  var s = 0\n  for (i in 0..l.size - 1) s += l[i]\n  return s\n}\n" +
+            "fun whileSum(l: List<Int>): Int {\n  var s = 0\n  var i = 0\n  while (i < l.size) {\n    s += l[i]\n    i += 1\n  }\n  return s\n}\n" +
+            "fun countA(str: String): Int {\n  var n = 0\n  for (i in 0 until str.length) { if (\"\" + str[i] == \"a\") n += 1 }\n  return n\n}\n" +
+            // 以下不可证明
+            "fun pairs(l: List<Int>): Int {\n  var s = 0\n  for (i in 1 until l.size) s += l[i - 1]\n  return s\n}\n" +
+            "fun other(a: List<Int>, b: List<Int>): Int {\n  var s = 0\n  for (i in 0 until a.size) s += b[i]\n  return s\n}\n" +
+            "fun fromMinus(l: List<Int>): Int {\n  var s = 0\n  for (i in -1..<l.size) { if (i >= 0) s += l[i] }\n  return s\n}\n" +
+            "val l = [1, 2, 3, 4]\n" +
+            "val a = arrayOf(5, 6, 7)\n" +
+            "\"\" + untilSum(l) + \"/\" + rangeSum(a) + \"/\" + inclusiveSum(l) + \"/\" + whileSum(l)" +
+            " + \"/\" + countA(\"banana\") + \"/\" + pairs(l) + \"/\" + other(l, [9, 9, 9, 9, 9]) + \"/\" + fromMinus(l)";
+
+    private static final String EXPECTED = "10/18/10/10/3/6/36/10";
+
+    private static MirFunction function(MirModule module, String name) {
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals(name)) return f;
+        }
+        fail("未找到函数: " + name);
+        return null;
+    }
+
+    private static List<MirInst> ops(MirFunction f, MirOp op) {
+        List<MirInst> result = new ArrayList<>();
+        for (BasicBlock b : f.getBlocks()) {
+            for (MirInst inst : b.getInstructions()) {
+                if (inst.getOp() == op) result.add(inst);
+            }
+        }
+        return result;
+    }
+
+    private static boolean allInBounds(MirModule module, String name) {
+        List<MirInst> gets = ops(function(module, name), MirOp.INDEX_GET);
+        assertFalse(gets.isEmpty(), name);
+        for (MirInst inst : gets) {
+            if (!inst.inBounds) return false;
+        }
+        return true;
+    }
+
+    @Test
+    @DisplayName("归纳变量受 size/length 约束的下标被标记")
+    void provenAccesses() {
+        MirModule module = new Interpreter().precompileToMir(CODE);
+        assertTrue(allInBounds(module, "untilSum"));
+        assertTrue(allInBounds(module, "rangeSum"));
+        assertTrue(allInBounds(module, "inclusiveSum"));
+        assertTrue(allInBounds(module, "whileSum"));
+        assertTrue(allInBounds(module, "countA"));
+    }
+
+    @Test
+    @DisplayName("无法证明的下标保持检查")
+    void unprovenAccesses() {
+        MirModule module = new Interpreter().precompileToMir(CODE);
+        assertFalse(allInBounds(module, "pairs"));
+        assertFalse(allInBounds(module, "other"));
+        assertFalse(allInBounds(module, "fromMinus"));
+    }
+
+    @Test
+    @DisplayName("for (i in a until b) 降级为计数循环，不再创建区间与迭代器")
+    void untilLoweredToCountedLoop() {
+        MirModule module = new Interpreter().precompileToMir(CODE);
+        for (MirInst inst : ops(function(module, "untilSum"), MirOp.INVOKE_INTERFACE)) {
+            assertFalse(String.valueOf(inst.getExtra()).contains("Iterator"), inst.toString());
+        }
+        for (MirInst inst : ops(function(module, "untilSum"), MirOp.INVOKE_STATIC)) {
+            assertFalse(String.valueOf(inst.getExtra()).contains("until"), inst.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("只读循环的 size() 提出循环头，有副作用的循环不提")
+    void readOnlyLoopHoistsSize() {
+        String code = "fun w(l: List<Int>): Int {\n  var s = 0\n  var i = 0\n  while (i < l.size) {\n    s += l[i]\n    i += 1\n  }\n  return s\n}\n" +
+                "fun g(l: List<Int>): Int {\n  var i = 0\n  while (i < l.size) {\n    l.removeAt(0)\n  }\n  return i\n}\n" +
+                "w([1, 2]) + g([1, 2, 3])";
+        MirModule module = new Interpreter().precompileToMir(code);
+        assertTrue(sizeOutsideLoop(function(module, "w")));
+        assertFalse(sizeOutsideLoop(function(module, "g")));
+        assertEquals(3, new Interpreter().eval(code, "hoist.nova").asInt());
+        assertEquals(3, new Nova().compileToBytecode(code, "hoist.nova").run());
+    }
+
+    /** size() 所在块没有回边进入（即不在循环头） */
+    private static boolean sizeOutsideLoop(MirFunction f) {
+        for (BasicBlock b : f.getBlocks()) {
+            for (MirInst inst : b.getInstructions()) {
+                if ((inst.getOp() == MirOp.INVOKE_VIRTUAL || inst.getOp() == MirOp.INVOKE_INTERFACE)
+                        && String.valueOf(inst.getExtra()).contains("|size|")) {
+                    return b.getTerminator() instanceof MirTerminator.Goto;
+                }
+            }
+        }
+        fail("未找到 size()");
+        return false;
+    }
+
+    @Test
+    @DisplayName("解释执行与编译执行结果一致")
+    void semanticsPreserved() {
+        assertEquals(EXPECTED, new Interpreter().eval(CODE, "bce.nova").asString());
+        assertEquals(EXPECTED, String.valueOf(new Nova().compileToBytecode(CODE, "bce.nova").run()));
+    }
+
+    @Test
+    @DisplayName("循环内缩短列表仍然报越界")
+    void shrinkingListStillChecked() {
+        String code = "val l = [1, 2, 3, 4]\nvar s = 0\n" +
+                "for (i in 0 until l.size) {\n  l.removeAt(l.size - 1)\n  s += l[i]\n}\ns";
+        assertThrows(Exception.class, () -> new Interpreter().eval(code, "shrink.nova"));
+        assertThrows(Exception.class, () -> new Nova().compileToBytecode(code, "shrink.nova").run());
+    }
+}
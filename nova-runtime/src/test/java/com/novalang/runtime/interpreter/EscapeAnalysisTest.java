@@ -0,0 +1,129 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.NovaSecurityPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 逃逸分析 pass 测试：不逃逸的对象/Pair/Lambda/列表被拆成局部变量、逃逸的分配保留、语义不变
+ */
+@DisplayName("MIR 逃逸分析与标量替换")
+class EscapeAnalysisTest {
+
+    private static final String GEOMETRY =
+            "class Pt(val x: Int, val y: Int) {\n" +
+            "  fun plus(o: Pt) = Pt(x + o.x, y + o.y)\n" +
+            "}\n" +
+            "fun dist2(a: Pt, b: Pt): Int {\n" +
+            "  val dx = a.x - b.x\n" +
+            "  val dy = a.y - b.y\n" +
+            "  return dx * dx + dy * dy\n" +
+            "}\n" +
+            "fun geo(n: Int): Int {\n" +
+            "  var s = 0\n" +
+            "  for (i in 0..<n) {\n" +
+            "    val p = Pt(i, i + 1)\n" +
+            "    val q = Pt(i * 2, i)\n" +
+            "    val r = p + q\n" +
+            "    s = s + dist2(p, q) + r.x\n" +
+            "    val (a, b) = Pair(i, i + 2)\n" +
+            "    s = s + a + b\n" +
+            "    val f = { k: Int -> k + i }\n" +
+            "    s = s + f(1)\n" +
+            "  }\n" +
+            "  return s\n" +
+            "}\n" +
+            "geo(100)";
+
+    private static MirFunction function(Interpreter interp, String source, String name) {
+        MirModule module = interp.precompileToMir(source);
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals(name)) return f;
+        }
+        fail("未找到函数 " + name);
+        return null;
+    }
+
+    /** 函数中的分配指令数（NEW_OBJECT 与内置 Pair/Triple/listOf 调用） */
+    private static int allocations(MirFunction f) {
+        int count = 0;
+        for (BasicBlock b : f.getBlocks()) {
+            for (MirInst inst : b.getInstructions()) {
+                if (inst.getOp() == MirOp.NEW_OBJECT) count++;
+                if (inst.getOp() == MirOp.INVOKE_DYNAMIC && inst.getExtra() instanceof InvokeDynamicInfo) {
+                    String name = ((InvokeDynamicInfo) inst.getExtra()).methodName;
+                    if (name.equals("Pair") || name.equals("Triple") || name.equals("listOf")) count++;
+                }
+                if (inst.getOp() == MirOp.INVOKE_STATIC && String.valueOf(inst.getExtra()).contains("NovaPair|of|")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    @DisplayName("内联后的 Pt、Pair 与 Lambda 全部拆成局部变量")
+    void geometryLoopHasNoAllocations() {
+        assertEquals(0, allocations(function(new Interpreter(), GEOMETRY, "geo")));
+        assertEquals(358450, new Interpreter().eval(GEOMETRY, "geo.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("返回、传给真实调用或存入集合的对象保留分配")
+    void escapingObjectsKept() {
+        String code = "class Box(val v: Int)\n" +
+                "fun make(n: Int): Box = Box(n)\n" +
+                "fun keep(n: Int): Int {\n" +
+                "  val list = mutableListOf<Box>()\n" +
+                "  val b = Box(n)\n" +
+                "  list.add(b)\n" +
+                "  return list[0].v + make(n).v\n" +
+                "}\n" +
+                "keep(4)";
+        assertEquals(1, allocations(function(new Interpreter(), code, "make")));
+        assertEquals(1, allocations(function(new Interpreter(), code, "keep")));
+        assertEquals(8, new Interpreter().eval(code, "keep.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("可变字段写入、data class 解构与列表字面量")
+    void fieldWritesAndDestructuring() {
+        String code = "class Acc(var total: Int, var count: Int)\n" +
+                "@data class V(val x: Int, val y: Int)\n" +
+                "fun calc(n: Int): Int {\n" +
+                "  val acc = Acc(0, 0)\n" +
+                "  for (i in 1..n) {\n" +
+                "    acc.total = acc.total + i\n" +
+                "    acc.count = acc.count + 1\n" +
+                "  }\n" +
+                "  val (x, y) = V(n, 2)\n" +
+                "  val l = [n, 5]\n" +
+                "  val (a, b) = listOf(n, n * 2)\n" +
+                "  val t = Triple(1, 2, 3)\n" +
+                "  return acc.total * 100 + acc.count + x + y + l[1] + l.size + a + b + t.third\n" +
+                "}\n" +
+                "calc(10)";
+        assertEquals(0, allocations(function(new Interpreter(), code, "calc")));
+        assertEquals(5510 + 10 + 2 + 5 + 2 + 10 + 20 + 3, new Interpreter().eval(code, "calc.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("负下标与越界下标不改写")
+    void unsafeIndexesKept() {
+        assertThrows(Exception.class, () -> new Interpreter().eval(
+                "fun f(): Int { val l = [1, 2]\n return l[5] }\nf()", "oob.nova"));
+        assertThrows(Exception.class, () -> new Interpreter().eval(
+                "fun g(): Int { val l = [1, 2]\n return l[-1] }\ng()", "neg.nova"));
+    }
+
+    @Test
+    @DisplayName("限制分配次数时关闭标量替换")
+    void disabledUnderAllocationBudget() {
+        Interpreter limited = new Interpreter(NovaSecurityPolicy.custom().maxAllocations(1_000_000).build());
+        assertTrue(allocations(function(limited, GEOMETRY, "geo")) > 0);
+    }
+}
@@ -0,0 +1,234 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.runtime.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 执行预算测试：每次执行独立计数，覆盖循环/调用/分配/超时，解释器与字节码双路径
+ */
+class ExecutionBudgetTest {
+
+    private static final String LOOP_600 =
+            "var sum = 0\n" +
+            "var i = 0\n" +
+            "while (i < 600) {\n" +
+            "    sum = sum + i\n" +
+            "    i = i + 1\n" +
+            "}\n" +
+            "sum";
+
+    private static final String FIB_15 =
+            "fun fib(n: Int): Int = if (n <= 1) n else fib(n - 1) + fib(n - 2)\n" +
+            "fib(15)";
+
+    private static final String ALLOCATE_50 =
+            "class Box(val v: Int)\n" +
+            "var total = 0\n" +
+            "for (i in 0..<50) {\n" +
+            "    total = total + Box(i).v\n" +
+            "}\n" +
+            "total";
+
+    @AfterEach
+    void clearThreadBudget() {
+        ExecutionBudget.clear();
+    }
+
+    @Nested
+    @DisplayName("ExecutionBudget 计数")
+    class UnitTests {
+
+        @Test
+        @DisplayName("迭代上限精确：恰好等于上限通过，多一次拒绝")
+        void loopLimitIsExact() {
+            ExecutionBudget budget = new ExecutionBudget(NovaSecurityPolicy.custom()
+                    .maxLoopIterations(5000)
+                    .maxExecutionTime(60_000)
+                    .build());
+            for (int i = 0; i < 5000; i++) budget.tickLoop();
+            assertEquals(5000, budget.getLoopIterations());
+            NovaException ex = assertThrows(NovaException.class, budget::tickLoop);
+            assertTrue(ex.getMessage().contains("iterations"));
+        }
+
+        @Test
+        @DisplayName("调用与分配上限")
+        void callAndAllocationLimits() {
+            ExecutionBudget budget = new ExecutionBudget(NovaSecurityPolicy.custom()
+                    .maxCalls(3)
+                    .maxAllocations(2)
+                    .build());
+            budget.enterCall();
+            budget.enterCall();
+            budget.enterCall();
+            assertEquals(3, budget.getCalls());
+            assertTrue(assertThrows(NovaException.class, budget::enterCall).getMessage().contains("calls"));
+            budget.allocate();
+            budget.allocate();
+            assertEquals(2, budget.getAllocations());
+            assertTrue(assertThrows(NovaException.class, budget::allocate).getMessage().contains("allocations"));
+        }
+
+        @Test
+        @DisplayName("同一策略的两个预算互不消耗")
+        void budgetsAreIndependent() {
+            NovaSecurityPolicy policy = NovaSecurityPolicy.custom().maxLoopIterations(10).build();
+            ExecutionBudget a = new ExecutionBudget(policy);
+            ExecutionBudget b = new ExecutionBudget(policy);
+            for (int i = 0; i < 10; i++) a.tickLoop();
+            for (int i = 0; i < 10; i++) b.tickLoop();
+            assertThrows(NovaException.class, a::tickLoop);
+            assertEquals(10, b.getLoopIterations());
+        }
+
+        @Test
+        @DisplayName("UNRESTRICTED 或无限制时 active() 为 null")
+        void activeIsNullWhenUnlimited() {
+            ExecutionBudget.begin(NovaSecurityPolicy.unrestricted());
+            assertNull(ExecutionBudget.active());
+            assertNotNull(ExecutionBudget.current());
+            ExecutionBudget.begin(NovaSecurityPolicy.custom().build());
+            assertNull(ExecutionBudget.active());
+            ExecutionBudget.begin(NovaSecurityPolicy.custom().maxCalls(1).build());
+            assertNotNull(ExecutionBudget.active());
+        }
+
+        @Test
+        @DisplayName("子预算共享截止时间")
+        void childSharesDeadline() throws InterruptedException {
+            ExecutionBudget parent = new ExecutionBudget(NovaSecurityPolicy.custom().maxExecutionTime(20).build());
+            Thread.sleep(60);
+            ExecutionBudget child = parent.forChild();
+            assertThrows(NovaException.class, child::checkDeadline);
+        }
+    }
+
+    @Nested
+    @DisplayName("解释器")
+    class InterpreterTests {
+
+        @Test
+        @DisplayName("并发执行共用策略时各自计数")
+        void concurrentExecutionsDoNotShareBudget() throws Exception {
+            NovaSecurityPolicy policy = NovaSecurityPolicy.custom().maxLoopIterations(1000).build();
+            int threads = 4;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit((Callable<Integer>) () -> {
+                        Interpreter interp = new Interpreter(policy);
+                        start.await();
+                        int last = 0;
+                        for (int round = 0; round < 5; round++) {
+                            last = interp.eval(LOOP_600).asInt();
+                        }
+                        return last;
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> f : futures) {
+                    assertEquals(179700, f.get(30, TimeUnit.SECONDS).intValue());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("调用次数上限")
+        void callLimit() {
+            Interpreter ok = new Interpreter(NovaSecurityPolicy.custom().maxCalls(5000).build());
+            assertEquals(610, ok.eval(FIB_15).asInt());
+            Interpreter limited = new Interpreter(NovaSecurityPolicy.custom().maxCalls(100).build());
+            Exception ex = assertThrows(Exception.class, () -> limited.eval(FIB_15));
+            assertTrue(ex.getMessage().contains("calls"));
+        }
+
+        @Test
+        @DisplayName("分配次数上限")
+        void allocationLimit() {
+            Interpreter ok = new Interpreter(NovaSecurityPolicy.custom().maxAllocations(100).build());
+            assertEquals(1225, ok.eval(ALLOCATE_50).asInt());
+            Interpreter limited = new Interpreter(NovaSecurityPolicy.custom().maxAllocations(10).build());
+            Exception ex = assertThrows(Exception.class, () -> limited.eval(ALLOCATE_50));
+            assertTrue(ex.getMessage().contains("allocations"));
+        }
+
+        @Test
+        @DisplayName("无循环的深递归也受超时约束")
+        void timeoutCoversCalls() {
+            Interpreter interp = new Interpreter(NovaSecurityPolicy.custom().maxExecutionTime(50).build());
+            Exception ex = assertThrows(Exception.class, () -> interp.eval(
+                    "fun fib(n: Int): Int = if (n <= 1) n else fib(n - 1) + fib(n - 2)\n" +
+                    "fib(40)"));
+            assertTrue(ex.getMessage().contains("timeout"));
+        }
+    }
+
+    @Nested
+    @DisplayName("字节码")
+    class CompiledTests {
+
+        @Test
+        @DisplayName("每次 run 开始新的预算")
+        void eachRunGetsFreshBudget() {
+            Nova nova = new Nova(NovaSecurityPolicy.custom().maxLoopIterations(1000).build());
+            CompiledNova compiled = nova.compileToBytecode(LOOP_600, "budget.nova");
+            assertEquals(179700, compiled.run());
+            assertEquals(179700, compiled.run());
+        }
+
+        @Test
+        @DisplayName("循环上限")
+        void loopLimit() {
+            Nova nova = new Nova(NovaSecurityPolicy.custom().maxLoopIterations(100).build());
+            CompiledNova compiled = nova.compileToBytecode(LOOP_600, "budget.nova");
+            NovaException ex = assertThrows(NovaException.class, compiled::run);
+            assertTrue(ex.getMessage().contains("iterations"));
+        }
+
+        @Test
+        @DisplayName("调用次数上限")
+        void callLimit() {
+            Nova ok = new Nova(NovaSecurityPolicy.custom().maxCalls(5000).build());
+            assertEquals(610, ok.compileToBytecode(FIB_15, "budget.nova").run());
+            Nova limited = new Nova(NovaSecurityPolicy.custom().maxCalls(100).build());
+            CompiledNova compiled = limited.compileToBytecode(FIB_15, "budget.nova");
+            NovaException ex = assertThrows(NovaException.class, compiled::run);
+            assertTrue(ex.getMessage().contains("calls"));
+        }
+
+        @Test
+        @DisplayName("分配次数上限")
+        void allocationLimit() {
+            Nova ok = new Nova(NovaSecurityPolicy.custom().maxAllocations(100).build());
+            assertEquals(1225, ok.compileToBytecode(ALLOCATE_50, "budget.nova").run());
+            Nova limited = new Nova(NovaSecurityPolicy.custom().maxAllocations(10).build());
+            CompiledNova compiled = limited.compileToBytecode(ALLOCATE_50, "budget.nova");
+            NovaException ex = assertThrows(NovaException.class, compiled::run);
+            assertTrue(ex.getMessage().contains("allocations"));
+        }
+
+        @Test
+        @DisplayName("无限制策略下正常执行")
+        void unrestrictedRuns() {
+            assertEquals(179700, new Nova().compileToBytecode(LOOP_600, "budget.nova").run());
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package com.novalang.runtime.interpreter;
 
 import com.novalang.ir.mir.MirModule;
+import com.novalang.runtime.Nova;
+import com.novalang.runtime.NovaPool;
 import com.novalang.runtime.NovaValue;
+import com.novalang.runtime.interpreter.cache.CacheStats;
+import com.novalang.runtime.interpreter.cache.MemoCache;
+import com.novalang.runtime.interpreter.cache.SegmentedLruCache;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class InterpreterMemoizationTest {
 
@@ -42,4 +55,156 @@ class InterpreterMemoizationTest {
         NovaValue result = new Interpreter().executeMir(mir);
         assertEquals(ENCODED_RESULT, result.asInt());
     }
+
+    private static final String MEMO_ANNOTATION = "annotation class memoized(val maxSize: Int = 0, val ttl: Int = 0, val eviction: String = \"\")\n";
+
+    @Test
+    void memoStatsReportHitsAndSize() {
+        Nova nova = new Nova();
+        nova.eval(MEMO_ANNOTATION
+                + "@memoized fun square(s: String): Int = s.length * s.length\n"
+                + "square(\"ab\")\nsquare(\"ab\")\nsquare(\"abc\")");
+        CacheStats stats = nova.getMemoStats("square");
+        assertNotNull(stats);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getEstimatedSize());
+        assertEquals(MemoCache.defaultMaxSize(), stats.getMaximumSize());
+    }
+
+    @Test
+    void memoStatsNullForPlainOrUncalledFunctions() {
+        Nova nova = new Nova();
+        nova.eval(MEMO_ANNOTATION
+                + "fun plain(n: Int) = n\n"
+                + "@memoized fun lazy(n: Int) = n\n"
+                + "plain(1)");
+        assertNull(nova.getMemoStats("plain"));
+        assertNull(nova.getMemoStats("lazy"));
+        assertNull(nova.getMemoStats("missing"));
+    }
+
+    @Test
+    void denseIntPathCountsHits() {
+        Nova nova = new Nova();
+        nova.eval(MEMO_ANNOTATION
+                + "@memoized fun fib(n: Int): Int = if (n <= 1) n else fib(n - 1) + fib(n - 2)\n"
+                + "fib(30)\nfib(30)");
+        CacheStats stats = nova.getMemoStats("fib");
+        assertEquals(31, stats.getEstimatedSize());
+        assertTrue(stats.getHitCount() > 0);
+    }
+
+    @Test
+    void annotationMaxSizeBoundsLruCache() {
+        Nova nova = new Nova();
+        Object calls = nova.eval(MEMO_ANNOTATION
+                + "var calls = 0\n"
+                + "@memoized(maxSize = 2, eviction = \"lru\") fun f(s: String): String {\n"
+                + "  calls = calls + 1\n"
+                + "  return s + s\n"
+                + "}\n"
+                + "f(\"a\")\nf(\"b\")\nf(\"a\")\nf(\"c\")\nf(\"b\")\n"
+                + "calls");
+        // a、b 入缓存；a 命中后变为最近使用；c 挤出 b；再次调用 b 重新计算
+        assertEquals(4, calls);
+        CacheStats stats = nova.getMemoStats("f");
+        assertEquals(2, stats.getMaximumSize());
+        assertEquals(2, stats.getEstimatedSize());
+        assertTrue(stats.getEvictionCount() >= 2);
+    }
+
+    @Test
+    void annotationMaxSizeBoundsDenseIntKeys() {
+        Nova nova = new Nova();
+        nova.eval(MEMO_ANNOTATION
+                + "@memoized(maxSize = 100, eviction = \"lru\") fun sq(n: Int): Int = n * n\n"
+                + "for (i in 0..1124) { sq(i) }");
+        CacheStats stats = nova.getMemoStats("sq");
+        assertEquals(100, stats.getMaximumSize());
+        assertTrue(stats.getEstimatedSize() <= 100, "size " + stats.getEstimatedSize());
+        assertTrue(stats.getEvictionCount() > 0);
+    }
+
+    @Test
+    void annotationTtlExpiresEntries() {
+        Nova nova = new Nova();
+        nova.defineFunction("pause", ms -> {
+            try {
+                Thread.sleep(((Number) ms).longValue());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        nova.eval(MEMO_ANNOTATION
+                + "@memoized(ttl = 50, eviction = \"lru\") fun g(n: Int): Int = n * 2\n"
+                + "g(1)\ng(1)\npause(120)\ng(1)");
+        CacheStats stats = nova.getMemoStats("g");
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+    }
+
+    @Test
+    void unknownEvictionPolicyIsRejected() {
+        Nova nova = new Nova();
+        nova.eval(MEMO_ANNOTATION + "@memoized(eviction = \"fifo\") fun h(n: Int) = n");
+        assertThrows(NovaRuntimeException.class, () -> nova.eval("h(1)"));
+    }
+
+    @Test
+    void sharedMemoCacheIsThreadSafe() throws Exception {
+        Nova template = new Nova();
+        template.eval(MEMO_ANNOTATION
+                + "@memoized fun fib(n: Int): Long = if (n <= 1) n.toLong() else fib(n - 1) + fib(n - 2)\n"
+                + "@memoized fun label(s: String): String = s + \":\" + s.length");
+        NovaPool pool = new NovaPool(template);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final int n = 60 + (i % 20);
+                futures.add(executor.submit((Callable<Object>) () -> pool.execute(nova ->
+                        nova.eval("\"\" + fib(" + n + ") + label(\"k" + (n % 7) + "\")"))));
+            }
+            long[] fib = new long[80];
+            fib[1] = 1;
+            for (int k = 2; k < 80; k++) fib[k] = fib[k - 1] + fib[k - 2];
+            for (int i = 0; i < futures.size(); i++) {
+                int n = 60 + (i % 20);
+                assertEquals(fib[n] + "k" + (n % 7) + ":2", futures.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void segmentedLruCacheEvictsLeastRecentlyUsed() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertNull(cache.get("a"));
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+        assertEquals(Integer.valueOf(3), cache.computeIfAbsent("c", k -> 3));
+        assertEquals(1, cache.size());
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getEvictionCount());
+        assertEquals(1, stats.getLoadSuccessCount());
+    }
+
+    @Test
+    void memoCacheSystemPropertyDefaults() {
+        String previous = System.getProperty(MemoCache.EVICTION_PROPERTY);
+        try {
+            System.setProperty(MemoCache.EVICTION_PROPERTY, "LRU");
+            assertEquals(MemoCache.Eviction.LRU, MemoCache.withDefaults().getEviction());
+            System.setProperty(MemoCache.EVICTION_PROPERTY, "bogus");
+            assertEquals(MemoCache.Eviction.TINY_LFU, MemoCache.withDefaults().getEviction());
+        } finally {
+            if (previous == null) System.clearProperty(MemoCache.EVICTION_PROPERTY);
+            else System.setProperty(MemoCache.EVICTION_PROPERTY, previous);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.novalang.runtime.interpreter;
 
+import com.novalang.compiler.lexer.Lexer;
+import com.novalang.compiler.parser.Parser;
 import com.novalang.ir.mir.MirModule;
 import com.novalang.runtime.NovaValue;
+import com.novalang.runtime.NovaInt;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,4 +48,45 @@ class InterpreterPreparedMirTest {
         assertEquals(expected, interpreter.executePreparedMir(prepared).asInt());
         assertEquals(expected, interpreter.executePreparedMir(prepared).asInt());
     }
+
+    @Test
+    void preparedProgramLowersOnceAndRepreparesOnlyWhenInvalidated() {
+        String source = "fun inc(n: Int) = n + 1\n"
+                + "inc(x)";
+        Interpreter interpreter = new Interpreter();
+        PreparedProgram program = new PreparedProgram(source, "rule.nova",
+                new Parser(new Lexer(source, "rule.nova"), "rule.nova").parse());
+
+        for (int i = 0; i < 10; i++) {
+            interpreter.getGlobals().redefine("x", NovaInt.of(i), true);
+            assertEquals(i + 1, interpreter.eval(program).asInt());
+        }
+        assertEquals(1, program.lowerCount);
+        assertEquals(1, program.prepareCount);
+
+        interpreter.getGlobals().redefine("inc", NovaInt.of(0), false);
+        assertEquals(10, interpreter.eval(program).asInt());
+        assertEquals(2, program.prepareCount);
+
+        interpreter.eval("val unrelated = 1");
+        assertEquals(10, interpreter.eval(program).asInt());
+        assertEquals(3, program.prepareCount);
+        assertEquals(1, program.lowerCount);
+    }
+
+    @Test
+    void preparedProgramWithClassesStillSkipsLowering() {
+        String source = "class Box(val v: Int)\n"
+                + "Box(x).v * 2";
+        Interpreter interpreter = new Interpreter();
+        PreparedProgram program = new PreparedProgram(source, "box.nova",
+                new Parser(new Lexer(source, "box.nova"), "box.nova").parse());
+
+        for (int i = 0; i < 3; i++) {
+            interpreter.getGlobals().redefine("x", NovaInt.of(i), true);
+            assertEquals(i * 2, interpreter.eval(program).asInt());
+        }
+        assertEquals(1, program.lowerCount);
+        assertEquals(3, program.prepareCount);
+    }
 }
@@ -35,26 +35,38 @@ class InterpreterStringConcatOptimizationTest {
     }
 
     @Test
-    void executeMirHitsStringAccumFastPath() {
+    void linkedCodeReplacesLoopHeaderWithLoopPlan() {
+        MirFunction run = findRun(new Interpreter().precompileToMir(STRING_CONCAT_SOURCE));
+        LinkedCode linked = LinkedCode.of(run);
+        assertEquals(1, linked.loopPlans.length);
+        assertEquals(LinkedCode.LOOP_PLAN, linked.code[linked.blockPcs[linked.loopPlans[0].headerBlockId]],
+                "expected loop header to start with LOOP_PLAN");
+    }
+
+    @Test
+    void executeMirUsesLoopPlan() {
         Interpreter compiler = new Interpreter();
         MirModule mir = compiler.precompileToMir(STRING_CONCAT_SOURCE);
-        MirInterpreter.resetStringAccumLoopFastHits();
+        MirInterpreter.resetLoopPlanHits();
         NovaValue result = new Interpreter().executeMir(mir);
         assertEquals(16890, result.asInt());
-        assertTrue(MirInterpreter.getStringAccumLoopPlanHits() > 0,
-                "expected executeMir to resolve string accumulation plan");
-        assertTrue(MirInterpreter.getStringAccumLoopFastHits() > 0,
-                "expected executeMir to hit string accumulation fast path");
+        assertTrue(MirInterpreter.getLoopPlanHits() > 0,
+                "expected executeMir to dispatch LOOP_PLAN");
     }
 
     @Test
-    void evalHitsStringAccumFastPath() {
-        MirInterpreter.resetStringAccumLoopFastHits();
+    void evalUsesLoopPlan() {
+        MirInterpreter.resetLoopPlanHits();
         NovaValue result = new Interpreter().eval(STRING_CONCAT_SOURCE, "string_concat.nova");
         assertEquals(16890, result.asInt());
-        assertTrue(MirInterpreter.getStringAccumLoopPlanHits() > 0,
-                "expected eval to resolve string accumulation plan");
-        assertTrue(MirInterpreter.getStringAccumLoopFastHits() > 0,
-                "expected eval pipeline to hit string accumulation fast path");
+        assertTrue(MirInterpreter.getLoopPlanHits() > 0,
+                "expected eval pipeline to dispatch LOOP_PLAN");
+    }
+
+    private static MirFunction findRun(MirModule mir) {
+        for (MirFunction fn : mir.getTopLevelFunctions()) {
+            if ("run".equals(fn.getName())) return fn;
+        }
+        throw new AssertionError("run not found");
     }
 }
@@ -0,0 +1,86 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 链接形式测试：代码流布局（跳转偏移、调用站点预解析）与在其上执行的语义
+ */
+@DisplayName("链接形式 int[] 代码流")
+class LinkedCodeTest {
+
+    private static MirFunction function(String source, String name) {
+        MirModule module = new Interpreter().precompileToMir(source);
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals(name)) return f;
+        }
+        throw new AssertionError("函数不存在: " + name);
+    }
+
+    private static NovaValue eval(String code) {
+        return new Interpreter().eval(code, "linked.nova");
+    }
+
+    @Test
+    @DisplayName("跳转目标解析为块起始偏移，指令记录升序")
+    void branchTargetsResolved() {
+        MirFunction f = function("fun abs(x: Int): Int { if (x < 0) return -x\n return x }", "abs");
+        LinkedCode linked = LinkedCode.link(f);
+        for (BasicBlock b : f.getBlocks()) {
+            assertTrue(linked.blockPcs[b.getId()] >= 0);
+        }
+        for (int i = 1; i < linked.instPcs.length; i++) {
+            assertTrue(linked.instPcs[i] > linked.instPcs[i - 1]);
+        }
+        assertEquals(linked.insts.length, linked.instPcs.length);
+        assertSame(linked.insts[0], linked.instAt(linked.instPcs[0]));
+        assertNull(linked.instAt(linked.code.length - 1));
+    }
+
+    @Test
+    @DisplayName("调用站点在链接时预解析，块修改后链接形式失效")
+    void callSitesPreparsed() {
+        MirFunction f = function("fun twice(s: String): Int = s.length() * 2", "twice");
+        LinkedCode linked = LinkedCode.of(f);
+        boolean sawCall = false;
+        for (MirInst inst : linked.insts) {
+            if (inst.getOp() == MirOp.INVOKE_STATIC) {
+                assertTrue(inst.cache instanceof MirCallSite);
+                sawCall = true;
+            }
+        }
+        assertTrue(sawCall);
+        assertSame(linked, LinkedCode.of(f));
+        f.resetBlockArr();
+        assertNull(f.getLinkedCode());
+    }
+
+    @Test
+    @DisplayName("循环、long/double 常量与递归")
+    void loopsAndConstants() {
+        assertEquals(1499996500000L, eval("fun loop(n: Int): Long { var s = 0L\n var i = 0\n" +
+                "while (i < n) { if (i % 3 == 0) s += i else s -= 1\n i += 1 }\n return s }\nloop(3000000)").asLong());
+        assertEquals(6765, eval("fun fib(n: Int): Int = if (n < 2) n else fib(n - 1) + fib(n - 2)\nfib(20)").asInt());
+        assertEquals(7.5, eval("fun f(): Double { var d = 2.5\n d = d * 3.0\n return d }\nf()").asDouble(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("when 分派与 try/catch 跳转到处理块")
+    void switchAndTryCatch() {
+        assertEquals("two", eval("fun name(n: Int) = when (n) { 1 -> \"one\"\n 2 -> \"two\"\n else -> \"many\" }\nname(2)").asString());
+        assertEquals(-1, eval("fun safe(x: Int): Int { try { return 10 / x } catch (e: Exception) { return -1 } }\nsafe(0)").asInt());
+    }
+
+    @Test
+    @DisplayName("运行时错误附带出错指令的行号")
+    void errorCarriesLocation() {
+        NovaRuntimeException e = assertThrows(NovaRuntimeException.class,
+                () -> eval("fun f(xs: List<Int>): Int {\n    val a = 1\n    return xs[5] + a\n}\nf([1, 2])"));
+        assertNotNull(e.getLocation());
+        assertEquals(3, e.getLocation().getLine());
+    }
+}
@@ -0,0 +1,116 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.NovaLong;
+import com.novalang.runtime.NovaSecurityPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MIR 内联 pass 测试：哪些调用被展开、展开后语义不变、会出错的函数保留真实调用
+ */
+@DisplayName("MIR 函数内联")
+class MirInliningTest {
+
+    private static final String CALL_LOOP =
+            "fun noop(n: Int): Int = n + 1\n" +
+            "var s = 0\n" +
+            "for (i in 0..<1000) { s = s + noop(i) }\n" +
+            "s";
+
+    private static final String OBJECT_LOOP =
+            "class Pt(var x: Int, var y: Int) {\n" +
+            "  fun sum() = x + y\n" +
+            "}\n" +
+            "var total = 0\n" +
+            "for (i in 0..<100) {\n" +
+            "  val p = Pt(i, i * 2)\n" +
+            "  total = total + p.sum()\n" +
+            "}\n" +
+            "total";
+
+    /** main 中调用指定函数的指令数 */
+    private static int callsTo(Interpreter interp, String source, String name) {
+        MirModule module = interp.precompileToMir(source);
+        int count = 0;
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (!f.getName().equals("main")) continue;
+            for (BasicBlock b : f.getBlocks()) {
+                for (MirInst inst : b.getInstructions()) {
+                    if ((inst.getOp() == MirOp.INVOKE_STATIC || inst.getOp() == MirOp.INVOKE_VIRTUAL)
+                            && inst.getExtra() instanceof String
+                            && ((String) inst.getExtra()).contains("|" + name + "|")) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    @DisplayName("小的顶层函数与 final 类 getter 被展开")
+    void smallCalleesInlined() {
+        assertEquals(0, callsTo(new Interpreter(), CALL_LOOP, "noop"));
+        assertEquals(0, callsTo(new Interpreter(), OBJECT_LOOP, "sum"));
+        assertEquals(500500, new Interpreter().eval(CALL_LOOP, "call.nova").asInt());
+        assertEquals(14850, new Interpreter().eval(OBJECT_LOOP, "object.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("open 类方法、会抛错的函数与 try 内的调用保留为真实调用")
+    void ineligibleCalleesKept() {
+        assertEquals(1, callsTo(new Interpreter(),
+                "open class A { fun v() = 1 }\nval a = A()\na.v()", "v"));
+        assertEquals(1, callsTo(new Interpreter(),
+                "fun inv(x: Int): Int = 100 / x\ninv(4)", "inv"));
+        assertEquals(1, callsTo(new Interpreter(),
+                "fun check(x: Int): Int { if (x < 0) error(\"neg\")\n return x }\ncheck(1)", "check"));
+        assertEquals(1, callsTo(new Interpreter(),
+                "fun inc(x: Int): Int = x + 1\nvar r = 0\ntry { r = inc(1) } catch (e: Exception) { r = -1 }\nr", "inc"));
+    }
+
+    @Test
+    @DisplayName("分支与多返回点的函数体")
+    void branchesAndMultipleReturns() {
+        String code = "fun clamp(x: Int, lo: Int, hi: Int): Int {\n" +
+                "  if (x < lo) return lo\n" +
+                "  if (x > hi) return hi\n" +
+                "  return x\n" +
+                "}\n" +
+                "var s = 0\n" +
+                "for (i in -5..15) { s = s + clamp(i, 0, 10) }\n" +
+                "s";
+        assertEquals(0, callsTo(new Interpreter(), code, "clamp"));
+        assertEquals(105, new Interpreter().eval(code, "clamp.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("常量实参展开后溢出的 Int 运算仍提升为 Long")
+    void inlinedOverflowMatchesCall() {
+        String code = "fun g(x: Int): Any { return x * 100000 }\ng(50000)";
+        assertEquals(0, callsTo(new Interpreter(), code, "g"));
+        assertEquals(NovaLong.of(5000000000L), new Interpreter().eval(code, "ovf.nova"));
+    }
+
+    @Test
+    @DisplayName("对象操作数的运算可能走运算符重载，保留为真实调用")
+    void objectOperandsKept() {
+        String code = "class V(val n: Int) {\n" +
+                "  operator fun plus(o: V): V { if (o.n < 0) error(\"neg\")\n return V(n + o.n) }\n" +
+                "}\n" +
+                "fun add(a: Any, b: Any): Any = a + b\n" +
+                "(add(V(1), V(2)) as V).n";
+        assertEquals(1, callsTo(new Interpreter(), code, "add"));
+        assertEquals(3, new Interpreter().eval(code, "op.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("限制调用次数时关闭内联")
+    void disabledUnderCallBudget() {
+        Interpreter limited = new Interpreter(NovaSecurityPolicy.custom().maxCalls(1_000_000).build());
+        assertEquals(1, callsTo(limited, CALL_LOOP, "noop"));
+    }
+}
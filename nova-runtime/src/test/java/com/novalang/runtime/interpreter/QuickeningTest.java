@@ -0,0 +1,139 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 链接代码流的就地特化与超级指令：热点改写、守卫失败去特化
+ */
+@DisplayName("Quickening 与超级指令")
+class QuickeningTest {
+
+    private static final String SHAPES =
+            "interface Shape { fun area(): Int }\n" +
+            "class Sq(val s: Int) : Shape { fun area(): Int { var r = 0\n var i = 0\n" +
+            " while (i < s) { r = r + s\n i = i + 1 }\n return r } }\n" +
+            "class Rect(val w: Int, val h: Int) : Shape { fun area(): Int { var r = 0\n var i = 0\n" +
+            " while (i < w) { r = r + h\n i = i + 1 }\n return r } }\n" +
+            "fun total(a: Shape, n: Int): Int { var s = 0\n var i = 0\n" +
+            " while (i < n) { s = s + a.area()\n i = i + 1 }\n return s }\n";
+
+    private static MirModule module;
+
+    private static NovaValue run(String source) {
+        module = new Interpreter().precompileToMir(source);
+        return new Interpreter().executeMir(module);
+    }
+
+    private static LinkedCode linked(String name) {
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals(name)) {
+                assertTrue(f.getLinkedCode() instanceof LinkedCode, "函数未执行: " + name);
+                return (LinkedCode) f.getLinkedCode();
+            }
+        }
+        throw new AssertionError("函数不存在: " + name);
+    }
+
+    private static int countOps(LinkedCode linked, int... ops) {
+        int n = 0;
+        for (int pc : linked.instPcs) {
+            for (int op : ops) {
+                if (linked.code[pc] == op) n++;
+            }
+        }
+        return n;
+    }
+
+    @Test
+    @DisplayName("热点 Int 运算特化并融合为超级指令")
+    void hotIntLoopQuickensAndFuses() {
+        assertEquals(9900, run("fun sum(n: Int): Int { var s = 0\n var i = 0\n" +
+                "while (i < n) { s = s + i + i\n i = i + 1 }\n return s }\nsum(100)").asInt());
+        LinkedCode sum = linked("sum");
+        assertEquals(0, countOps(sum, LinkedCode.BINARY));
+        assertTrue(countOps(sum, LinkedCode.Q_ADD_II_ADD_II, LinkedCode.Q_ADD_II_GOTO) > 0);
+    }
+
+    @Test
+    @DisplayName("热点 Double 运算特化")
+    void hotDoubleLoopQuickens() {
+        assertEquals(150.0, run("fun dd(n: Int): Double { var s = 0.0\n var i = 0\n" +
+                "while (i < n) { s = s + 1.5\n i = i + 1 }\n return s }\ndd(100)").asDouble(), 1e-9);
+        assertEquals(1, countOps(linked("dd"), LinkedCode.Q_BINARY_DD));
+    }
+
+    @Test
+    @DisplayName("冷代码保持通用形式")
+    void coldCodeStaysGeneric() {
+        assertEquals(15, run("fun sum(n: Int): Int { var s = 0\n var i = 0\n" +
+                "while (i < n) { s = s + i\n i = i + 1 }\n return s }\nsum(6)").asInt());
+        assertEquals(0, countOps(linked("sum"), LinkedCode.Q_ADD_II, LinkedCode.Q_ADD_II_ADD_II,
+                LinkedCode.Q_ADD_II_GOTO));
+    }
+
+    @Test
+    @DisplayName("单态字段读取与虚调用特化，接收者类变化时去特化仍得到正确结果")
+    void monomorphicSitesQuickenAndDeopt() {
+        assertEquals(360, run(SHAPES + "total(Sq(3), 40)").asInt());
+        LinkedCode total = linked("total");
+        assertEquals(1, countOps(total, LinkedCode.Q_INVOKE_MONO));
+
+        assertEquals(760, run(SHAPES + "total(Sq(3), 40) + total(Rect(2, 5), 40)").asInt());
+        total = linked("total");
+        int site = -1;
+        for (int i = 0; i < total.insts.length; i++) {
+            if (total.insts[i].getOp() == MirOp.INVOKE_INTERFACE || total.insts[i].getOp() == MirOp.INVOKE_VIRTUAL) {
+                site = i;
+            }
+        }
+        assertTrue(site >= 0);
+        assertTrue(total.deopts[site] > 0, "接收者类变化应触发去特化");
+    }
+
+    @Test
+    @DisplayName("字段读取特化为按下标访问")
+    void fieldReadQuickens() {
+        assertEquals(600, run("class P(val x: Int)\n" +
+                "fun fld(p: P, n: Int): Int { var s = 0\n var i = 0\n" +
+                "while (i < n) { s = s + p.x * 2\n i = i + 1 }\n return s }\nfld(P(3), 100)").asInt());
+        assertEquals(1, countOps(linked("fld"), LinkedCode.Q_GET_FIELD_SLOT));
+    }
+
+    @Test
+    @DisplayName("去特化拆开超级指令，超过上限后不再特化")
+    void deoptRestoresGenericForm() {
+        String source = "fun sum(n: Int): Int { var s = 0\n var i = 0\n" +
+                "while (i < n) { s = s + i + i\n i = i + 1 }\n return s }\nsum(100)";
+        run(source);
+        LinkedCode sum = linked("sum");
+        int first = -1;
+        for (int i = 0; i < sum.insts.length; i++) {
+            if (sum.code[sum.instPcs[i]] == LinkedCode.Q_ADD_II_ADD_II) {
+                first = i;
+                break;
+            }
+        }
+        assertTrue(first >= 0);
+        int second = sum.instPcs[first + 1];
+        for (int k = 0; k <= Quickening.MAX_DEOPTS; k++) {
+            Quickening.deopt(sum, second);
+        }
+        assertEquals(LinkedCode.BINARY, sum.code[second]);
+        assertEquals(LinkedCode.Q_ADD_II, sum.code[sum.instPcs[first]]);
+        assertFalse(Quickening.hot(sum, first + 1));
+
+        // 同一链接形式上继续执行：去特化的记录走通用路径
+        MirFunction fn = null;
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals("sum")) fn = f;
+        }
+        assertSame(sum, LinkedCode.of(fn));
+        assertEquals(9900, new Interpreter().executeMir(module).asInt());
+        assertEquals(LinkedCode.BINARY, sum.code[second]);
+    }
+}
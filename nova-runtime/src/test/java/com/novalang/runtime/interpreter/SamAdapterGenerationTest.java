@@ -0,0 +1,101 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.runtime.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 生成式 SAM 适配器：每个接口生成一次实现类，按元数直接调用，无法生成时回退到 Proxy
+ */
+@DisplayName("生成式 SAM 适配器")
+class SamAdapterGenerationTest {
+
+    /** 非 public 接口：生成类无法访问，回退到 Proxy */
+    interface Hidden {
+        int apply(int x);
+    }
+
+    /** 四个参数超出按元数入口 */
+    public interface Quad {
+        Object apply(Object a, Object b, Object c, Object d);
+    }
+
+    @Test
+    @DisplayName("编译路径 FunctionN 适配为生成类，同一接口复用同一实现类")
+    @SuppressWarnings("unchecked")
+    void functionAdaptsToGeneratedClass() {
+        Function2<Object, Object, Object> cmp = (a, b) -> (Integer) a - (Integer) b;
+        Comparator<Object> c1 = (Comparator<Object>) SamAdapter.adapt(Comparator.class, cmp);
+        Comparator<Object> c2 = (Comparator<Object>) SamAdapter.adapt(Comparator.class, cmp);
+        assertFalse(Proxy.isProxyClass(c1.getClass()));
+        assertSame(c1.getClass(), c2.getClass());
+
+        List<Object> list = new ArrayList<>(Arrays.asList(5, 1, 3));
+        Collections.sort(list, c1);
+        assertEquals(Arrays.asList(1, 3, 5), list);
+        // 默认方法由接口直接继承
+        Collections.sort(list, c1.reversed());
+        assertEquals(Arrays.asList(5, 3, 1), list);
+    }
+
+    @Test
+    @DisplayName("基本类型参数装箱、返回值拆箱")
+    void primitiveSignature() {
+        Function2<Object, Object, Object> add = (a, b) -> (Integer) a + (Integer) b;
+        IntBinaryOperator op = (IntBinaryOperator) SamAdapter.adapt(IntBinaryOperator.class, add);
+        assertFalse(Proxy.isProxyClass(op.getClass()));
+        assertEquals(7, op.applyAsInt(3, 4));
+    }
+
+    @Test
+    @DisplayName("非 public 接口与超出元数的接口回退到 Proxy")
+    void fallsBackToProxy() {
+        Function1<Object, Object> inc = x -> (Integer) x + 1;
+        Hidden hidden = (Hidden) SamAdapter.adapt(Hidden.class, inc);
+        assertTrue(Proxy.isProxyClass(hidden.getClass()));
+        assertEquals(2, hidden.apply(1));
+
+        Quad quad = (Quad) SamAdapter.adapt(Quad.class, new NovaNativeFunction("quad", 4,
+                (ctx, args) -> NovaInt.of(args.size())));
+        assertTrue(Proxy.isProxyClass(quad.getClass()));
+        assertEquals(4, quad.apply(1, 2, 3, 4));
+    }
+
+    @Test
+    @DisplayName("解释路径 lambda 直接进入 MIR 帧")
+    @SuppressWarnings("unchecked")
+    void interpreterLambda() {
+        Interpreter interp = new Interpreter();
+        NovaCallable cmp = (NovaCallable) interp.eval("val f = { a, b -> b - a }\nf", "sam.nova");
+        assertTrue(cmp instanceof MirCallable);
+        Comparator<Object> c = (Comparator<Object>) SamProxyFactory.create(Comparator.class, cmp, interp);
+        assertFalse(Proxy.isProxyClass(c.getClass()));
+        List<Object> list = new ArrayList<>(Arrays.asList(1, 5, 3));
+        Collections.sort(list, c);
+        assertEquals(Arrays.asList(5, 3, 1), list);
+
+        AtomicInteger hits = new AtomicInteger();
+        interp.getGlobals().defineVal("hits", AbstractNovaValue.fromJava(hits));
+        Runnable r = (Runnable) SamProxyFactory.create(Runnable.class,
+                (NovaCallable) interp.eval("val r = { hits.incrementAndGet() }\nr", "sam.nova"), interp);
+        r.run();
+        r.run();
+        assertEquals(2, hits.get());
+
+        Supplier<Object> s = (Supplier<Object>) SamProxyFactory.create(Supplier.class,
+                (NovaCallable) interp.eval("val s = { \"ok\" }\ns", "sam.nova"), interp);
+        assertEquals("ok", s.get());
+    }
+}
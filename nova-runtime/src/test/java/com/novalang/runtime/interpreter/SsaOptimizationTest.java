@@ -0,0 +1,130 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.NovaLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SSA 上的稀疏条件常量传播与全局值编号测试：常量分支被折叠、重复判断被复用、语义不变
+ */
+@DisplayName("MIR SCCP / GVN")
+class SsaOptimizationTest {
+
+    private static MirFunction function(String source, String name) {
+        MirModule module = new Interpreter().precompileToMir(source);
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (f.getName().equals(name)) return f;
+        }
+        fail("未找到函数 " + name);
+        return null;
+    }
+
+    private static int count(MirFunction f, Class<?> terminator) {
+        int n = 0;
+        for (BasicBlock b : f.getBlocks()) {
+            if (terminator.isInstance(b.getTerminator())) n++;
+        }
+        return n;
+    }
+
+    private static int binaries(MirFunction f, BinaryOp op) {
+        int n = 0;
+        for (BasicBlock b : f.getBlocks()) {
+            for (MirInst inst : b.getInstructions()) {
+                if (inst.getOp() == MirOp.BINARY && inst.getExtra() == op) n++;
+            }
+        }
+        return n;
+    }
+
+    @Test
+    @DisplayName("经局部变量传递的常量使 when 折叠为单一返回")
+    void constantWhenFolded() {
+        String code = "fun kind(): String {\n" +
+                "  val n = 6\n" +
+                "  val m = n * 2\n" +
+                "  return when (m) {\n" +
+                "    10 -> \"five\"\n" +
+                "    12 -> \"six\"\n" +
+                "    else -> \"other\"\n" +
+                "  }\n" +
+                "}\n" +
+                "kind()";
+        MirFunction kind = function(code, "kind");
+        assertEquals(0, count(kind, MirTerminator.Switch.class));
+        assertEquals(0, count(kind, MirTerminator.Branch.class));
+        assertEquals("six", new Interpreter().eval(code, "kind.nova").asString());
+    }
+
+    @Test
+    @DisplayName("汇合点之后的重复比较复用先前结果")
+    void repeatedPredicateReused() {
+        String code = "fun fee(score: Int): Int {\n" +
+                "  var r = 0\n" +
+                "  if (score > 80) r = r + 10\n" +
+                "  if (score > 80) r = r + 5\n" +
+                "  return r\n" +
+                "}\n" +
+                "fee(90) * 100 + fee(10)";
+        MirFunction fee = function(code, "fee");
+        assertEquals(1, binaries(fee, BinaryOp.GT), "第二次 score > 80 应复用第一次的结果");
+        assertEquals(1500, new Interpreter().eval(code, "fee.nova").asInt());
+    }
+
+    @Test
+    @DisplayName("循环与 when 守卫在优化后结果不变")
+    void semanticsPreserved() {
+        String code = "fun grade(x: Int): String = when {\n" +
+                "  x >= 90 -> \"A\"\n" +
+                "  x >= 60 -> \"B\"\n" +
+                "  else -> \"C\"\n" +
+                "}\n" +
+                "var s = \"\"\n" +
+                "var total = 0\n" +
+                "for (i in 0..<100) {\n" +
+                "  val k = 3\n" +
+                "  if (k > 2) total = total + i else total = total - i\n" +
+                "}\n" +
+                "for (x in listOf(95, 70, 10)) { s = s + grade(x) }\n" +
+                "s + total";
+        assertEquals("ABC4950", new Interpreter().eval(code, "sem.nova").asString());
+    }
+
+    @Test
+    @DisplayName("除零与溢出不在编译期折叠")
+    void unsafeFoldsKept() {
+        assertEquals(NovaLong.of(2147483648L),
+                new Interpreter().eval("val a = 2147483647\nval b = a + 1\nb", "ovf.nova"));
+        assertThrows(Exception.class,
+                () -> new Interpreter().eval("fun d(): Int { val z = 0\n return 10 / z }\nd()", "div.nova"));
+    }
+
+    @Test
+    @DisplayName("溢出的 Int 乘法不折叠，解释器照常提升为 Long")
+    void overflowingMultiplyNotFolded() {
+        String code = "fun big(): Any {\n" +
+                "  val a = 50000\n" +
+                "  val b = a * 100000\n" +
+                "  return b\n" +
+                "}\n" +
+                "big()";
+        assertEquals(1, binaries(function(code, "big"), BinaryOp.MUL));
+        assertEquals(NovaLong.of(5000000000L), new Interpreter().eval(code, "mul.nova"));
+    }
+
+    @Test
+    @DisplayName("分支内溢出的 Int 加法不折叠")
+    void overflowingAddInBranchNotFolded() {
+        String code = "fun sum(): Any {\n" +
+                "  var s = 2000000000\n" +
+                "  if (s > 0) { s = s + 2000000000 }\n" +
+                "  return s\n" +
+                "}\n" +
+                "sum()";
+        assertEquals(1, binaries(function(code, "sum"), BinaryOp.ADD));
+        assertEquals(NovaLong.of(4000000000L), new Interpreter().eval(code, "add.nova"));
+    }
+}
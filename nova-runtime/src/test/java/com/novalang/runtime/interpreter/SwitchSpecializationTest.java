@@ -0,0 +1,86 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.ir.mir.*;
+import com.novalang.runtime.Nova;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Switch 跳转表特化测试：case 集合按稠密整数/稀疏整数/字符/枚举/字符串分类，
+ * 解释执行与编译执行结果一致
+ */
+@DisplayName("MIR Switch 跳转表")
+class SwitchSpecializationTest {
+
+    private static final String CODE =
+            "enum class Color { RED, GREEN, BLUE, GRAY }\n" +
+            "fun dense(x: Int): Int = when (x) {\n  1 -> 10\n  2 -> 20\n  3, 4 -> 30\n  else -> 0\n}\n" +
+            "fun sparse(x: Int): Int = when (x) {\n  1 -> 1\n  1000 -> 2\n  100000 -> 3\n  else -> 4\n}\n" +
+            "fun chars(c: Char): Int = when (c) {\n  'a' -> 1\n  'b' -> 2\n  'z' -> 3\n  else -> 0\n}\n" +
+            "fun strings(s: String): Int = when (s) {\n  \"x\" -> 1\n  \"Aa\" -> 2\n  \"BB\" -> 3\n  else -> 0\n}\n" +
+            "fun enums(c: Color): Int = when (c) {\n  Color.RED -> 1\n  Color.BLUE -> 3\n  Color.GRAY -> 4\n  else -> 9\n}\n" +
+            "var t = 0\n" +
+            "for (i in 0..<6) t = t * 3 + dense(i)\n" +
+            "\"\" + t + \"/\" + sparse(1000) + sparse(5) + sparse(100000)" +
+            " + \"/\" + chars('a') + chars('z') + chars('q')" +
+            " + \"/\" + strings(\"x\") + strings(\"Aa\") + strings(\"BB\") + strings(\"q\")" +
+            " + \"/\" + enums(Color.RED) + enums(Color.GREEN) + enums(Color.GRAY)";
+
+    private static final String EXPECTED = "1710/243/130/1230/194";
+
+    private static SwitchTable table(MirModule module, String name) {
+        for (MirFunction f : module.getTopLevelFunctions()) {
+            if (!f.getName().equals(name)) continue;
+            for (BasicBlock b : f.getBlocks()) {
+                if (b.getTerminator() instanceof MirTerminator.Switch) {
+                    return ((MirTerminator.Switch) b.getTerminator()).getTable();
+                }
+            }
+        }
+        fail("未找到 switch: " + name);
+        return null;
+    }
+
+    @Test
+    @DisplayName("case 集合按 key 种类分类")
+    void classification() {
+        MirModule module = new Interpreter().precompileToMir(CODE);
+        assertEquals(SwitchTable.Kind.DENSE_INT, table(module, "dense").kind);
+        assertEquals(SwitchTable.Kind.SPARSE_INT, table(module, "sparse").kind);
+        assertEquals(SwitchTable.Kind.CHAR, table(module, "chars").kind);
+        assertEquals(SwitchTable.Kind.STRING, table(module, "strings").kind);
+        SwitchTable enums = table(module, "enums");
+        assertEquals(SwitchTable.Kind.ENUM, enums.kind);
+        assertArrayEquals(new String[]{"RED", "GREEN", "BLUE", "GRAY"}, enums.enumNames);
+    }
+
+    @Test
+    @DisplayName("哈希冲突的字符串 key 仍由 equals 区分")
+    void hashCollision() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        MirModule module = new Interpreter().precompileToMir(CODE);
+        SwitchTable t = table(module, "strings");
+        assertNotEquals(t.defaultBlock, t.stringTarget("Aa"));
+        assertNotEquals(t.stringTarget("Aa"), t.stringTarget("BB"));
+        assertEquals(t.defaultBlock, t.stringTarget("Ab"));
+    }
+
+    @Test
+    @DisplayName("解释执行与编译执行结果一致")
+    void semanticsPreserved() {
+        assertEquals(EXPECTED, new Interpreter().eval(CODE, "switch.nova").asString());
+        assertEquals(EXPECTED, String.valueOf(new Nova().compileToBytecode(CODE, "switch.nova").run()));
+    }
+
+    @Test
+    @DisplayName("key 类型与 case 不符时走默认分支")
+    void mismatchedKeyFallsToDefault() {
+        String code = "fun f(x: Any?): String = when (x) {\n  1 -> \"one\"\n  2 -> \"two\"\n  else -> \"other\"\n}\n" +
+                "f(1) + f(1L) + f(\"1\") + f(null) + f(2)";
+        assertEquals("oneotherotherothertwo", new Interpreter().eval(code, "mix.nova").asString());
+        assertEquals("oneotherotherothertwo",
+                String.valueOf(new Nova().compileToBytecode(code, "mix.nova").run()));
+    }
+}
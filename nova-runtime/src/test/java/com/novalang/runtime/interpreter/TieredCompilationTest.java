@@ -0,0 +1,121 @@
+package com.novalang.runtime.interpreter;
+
+import com.novalang.runtime.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分层执行测试：热点纯函数晋升为字节码后结果不变，不满足条件的函数保持解释执行
+ */
+@DisplayName("分层执行")
+class TieredCompilationTest {
+
+    private static final String FIB =
+            "fun fib(n: Int): Int = if (n < 2) n else fib(n - 1) + fib(n - 2)\n";
+
+    private static Interpreter tiered(int threshold) {
+        Interpreter interp = new Interpreter();
+        assertTrue(interp.enableTieredCompilation(threshold));
+        return interp;
+    }
+
+    private static NovaValue call(Interpreter interp, String name, NovaValue... args) {
+        return ((NovaCallable) interp.getGlobals().tryGet(name)).call(interp, Arrays.asList(args));
+    }
+
+    @Test
+    @DisplayName("热点递归函数晋升后结果与解释执行一致")
+    void hotFunctionIsPromoted() throws Exception {
+        Interpreter interp = tiered(50);
+        NovaValue first = interp.eval(FIB + "var t = 0\nfor (k in 0 until 100) { t += fib(10) }\nt", "fib.nova");
+        assertEquals(5500, first.asInt());
+        interp.getTieredCompiler().awaitPendingCompilations();
+        assertEquals(1, interp.getTieredCompiler().getCompiledFunctionCount());
+
+        long before = interp.getTieredCompiler().getCompiledCallCount();
+        assertEquals(NovaInt.of(6765), call(interp, "fib", NovaInt.of(20)));
+        assertTrue(interp.getTieredCompiler().getCompiledCallCount() > before);
+    }
+
+    @Test
+    @DisplayName("循环回边计入热度：单次调用的长循环也会晋升")
+    void backEdgesCount() throws Exception {
+        Interpreter interp = tiered(10);
+        interp.eval("fun total(n: Int): Long {\n" +
+                "    var s = 0L\n" +
+                "    for (i in 0 until n) { s += i * 2 }\n" +
+                "    return s\n" +
+                "}\n" +
+                "total(1000)", "loop.nova");
+        interp.getTieredCompiler().awaitPendingCompilations();
+        assertEquals(1, interp.getTieredCompiler().getCompiledFunctionCount());
+        assertEquals(NovaLong.of(9999900000L), call(interp, "total", NovaInt.of(100000)));
+    }
+
+    @Test
+    @DisplayName("读取顶层变量的函数保持解释执行")
+    void impureFunctionStaysInterpreted() throws Exception {
+        Interpreter interp = tiered(5);
+        interp.eval("var base = 1\n" +
+                "fun add(x: Int) = x + base\n" +
+                "for (i in 0 until 20) { add(i) }\n" +
+                "base = 100\n" +
+                "add(1)", "impure.nova");
+        interp.getTieredCompiler().awaitPendingCompilations();
+        assertEquals(0, interp.getTieredCompiler().getCompiledFunctionCount());
+        assertEquals(101, call(interp, "add", NovaInt.of(1)).asInt());
+    }
+
+    @Test
+    @DisplayName("编译版本抛出异常时回到解释器报错")
+    void compiledFailureFallsBack() throws Exception {
+        Interpreter interp = tiered(5);
+        interp.eval("fun inv(x: Int): Int = 100 / x\nfor (i in 1..20) { inv(i) }", "div.nova");
+        interp.getTieredCompiler().awaitPendingCompilations();
+        assertEquals(1, interp.getTieredCompiler().getCompiledFunctionCount());
+        assertEquals(14, call(interp, "inv", NovaInt.of(7)).asInt());
+        assertThrows(NovaRuntimeException.class, () -> call(interp, "inv", NovaInt.of(0)));
+    }
+
+    @Test
+    @DisplayName("Int 溢出在晋升前后都提升为 Long")
+    void intOverflowMatchesInterpreter() throws Exception {
+        Interpreter interp = tiered(5);
+        interp.eval("fun f(x: Int) = x * 1000000\n" +
+                "fun g(x: Int) = (x * 1000000) / 1000000", "overflow.nova");
+        NovaValue before = call(interp, "f", NovaInt.of(5000));
+        assertEquals(NovaLong.of(5000000000L), before);
+        assertEquals(NovaInt.of(5000), call(interp, "g", NovaInt.of(5000)));
+        for (int i = 0; i < 20; i++) {
+            call(interp, "f", NovaInt.of(i));
+            call(interp, "g", NovaInt.of(i));
+        }
+        interp.getTieredCompiler().awaitPendingCompilations();
+        assertEquals(2, interp.getTieredCompiler().getCompiledFunctionCount());
+
+        long calls = interp.getTieredCompiler().getCompiledCallCount();
+        assertEquals(NovaInt.of(3000000), call(interp, "f", NovaInt.of(3)));
+        assertTrue(interp.getTieredCompiler().getCompiledCallCount() > calls);
+        assertEquals(before, call(interp, "f", NovaInt.of(5000)));
+        assertEquals(NovaInt.of(5000), call(interp, "g", NovaInt.of(5000)));
+    }
+
+    @Test
+    @DisplayName("安全策略设置上限时不开启")
+    void disabledUnderLimits() {
+        Interpreter interp = new Interpreter(NovaSecurityPolicy.custom().maxLoopIterations(1000).build());
+        assertFalse(interp.enableTieredCompilation());
+        assertNull(interp.getTieredCompiler());
+    }
+
+    @Test
+    @DisplayName("Nova 门面开启分层执行")
+    void novaFacade() {
+        Nova nova = new Nova().enableTieredCompilation(20);
+        assertEquals(832040, nova.eval(FIB + "var t = 0\nfor (k in 0 until 50) { t = fib(15) }\nfib(30)"));
+    }
+}